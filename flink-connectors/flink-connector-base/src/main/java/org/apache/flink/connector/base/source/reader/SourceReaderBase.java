@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -249,6 +250,12 @@ public abstract class SourceReaderBase<E, T, SplitT extends SourceSplit, SplitSt
         elementsQueue.notifyAvailable();
     }
 
+    @Override
+    public void pauseOrResumeSplits(
+            Collection<String> splitsToPause, Collection<String> splitsToResume) {
+        splitFetcherManager.pauseOrResumeSplits(splitsToPause, splitsToResume);
+    }
+
     @Override
     public void handleSourceEvents(SourceEvent sourceEvent) {
         LOG.info("Received unhandled source event: {}", sourceEvent);
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The task to pause or resume splits. Only the splits that are assigned to the fetcher are passed
+ * on to the {@link SplitReader}. If the split reader doesn't support pausing or resuming splits,
+ * the given handler is notified.
+ */
+@Internal
+class PauseOrResumeSplitsTask<SplitT extends SourceSplit> implements SplitFetcherTask {
+
+    private final SplitReader<?, SplitT> splitReader;
+    private final Collection<String> splitsToPause;
+    private final Collection<String> splitsToResume;
+    private final Map<String, SplitT> assignedSplits;
+    private final Runnable unsupportedHandler;
+
+    PauseOrResumeSplitsTask(
+            SplitReader<?, SplitT> splitReader,
+            Collection<String> splitsToPause,
+            Collection<String> splitsToResume,
+            Map<String, SplitT> assignedSplits,
+            Runnable unsupportedHandler) {
+        this.splitReader = splitReader;
+        this.splitsToPause = splitsToPause;
+        this.splitsToResume = splitsToResume;
+        this.assignedSplits = assignedSplits;
+        this.unsupportedHandler = unsupportedHandler;
+    }
+
+    @Override
+    public boolean run() {
+        final List<SplitT> pause = lookupAssignedSplits(splitsToPause);
+        final List<SplitT> resume = lookupAssignedSplits(splitsToResume);
+        if (pause.isEmpty() && resume.isEmpty()) {
+            return true;
+        }
+        try {
+            splitReader.pauseOrResumeSplits(pause, resume);
+        } catch (UnsupportedOperationException e) {
+            unsupportedHandler.run();
+        }
+        return true;
+    }
+
+    private List<SplitT> lookupAssignedSplits(Collection<String> splitIds) {
+        final List<SplitT> splits = new ArrayList<>();
+        for (String splitId : splitIds) {
+            final SplitT split = assignedSplits.get(splitId);
+            if (split != null) {
+                splits.add(split);
+            }
+        }
+        return splits;
+    }
+
+    @Override
+    public void wakeUp() {
+        // Do nothing.
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "PauseOrResumeSplitsTask: [pause: %s, resume: %s]", splitsToPause, splitsToResume);
+    }
+}
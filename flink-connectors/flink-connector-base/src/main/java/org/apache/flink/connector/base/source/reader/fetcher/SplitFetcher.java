@@ -67,6 +67,9 @@ public class SplitFetcher<E, SplitT extends SourceSplit> implements Runnable {
     @GuardedBy("lock")
     private volatile boolean isIdle;
 
+    /** Flag whether the split reader has thrown on pausing or resuming splits. */
+    private volatile boolean pausingSplitsUnsupported;
+
     SplitFetcher(
             int id,
             FutureCompletingBlockingQueue<RecordsWithSplitIds<E>> elementsQueue,
@@ -175,6 +178,44 @@ public class SplitFetcher<E, SplitT extends SourceSplit> implements Runnable {
         wakeUp(true);
     }
 
+    /**
+     * Pause or resume the given splits, if they are assigned to this split fetcher.
+     *
+     * @param splitsToPause the ids of the splits to pause.
+     * @param splitsToResume the ids of the splits to resume.
+     */
+    public void pauseOrResumeSplits(
+            Collection<String> splitsToPause, Collection<String> splitsToResume) {
+        enqueueTask(
+                new PauseOrResumeSplitsTask<>(
+                        splitReader,
+                        splitsToPause,
+                        splitsToResume,
+                        assignedSplits,
+                        this::onPausingSplitsUnsupported));
+        wakeUp(true);
+    }
+
+    /**
+     * Returns false if the split reader has thrown an {@link UnsupportedOperationException} when
+     * pausing or resuming splits, true otherwise.
+     */
+    public boolean isPausingSplitsSupported() {
+        return !pausingSplitsUnsupported;
+    }
+
+    private void onPausingSplitsUnsupported() {
+        if (!pausingSplitsUnsupported) {
+            LOG.warn(
+                    "The split reader {} does not support pausing or resuming splits. The splits "
+                            + "of split fetcher {} keep being read, their watermarks are only "
+                            + "aligned on the level of the source reader.",
+                    splitReader.getClass().getName(),
+                    id);
+            pausingSplitsUnsupported = true;
+        }
+    }
+
     public void enqueueTask(SplitFetcherTask task) {
         synchronized (lock) {
             taskQueue.offer(task);
@@ -181,6 +181,29 @@ public abstract class SplitFetcherManager<E, SplitT extends SourceSplit> {
         return splitFetcher;
     }
 
+    /**
+     * Pause or resume the given splits in the split fetchers they are assigned to.
+     *
+     * <p>The split readers pause or resume the splits asynchronously. Once a split reader has
+     * turned out not to support it, this method throws an {@link UnsupportedOperationException},
+     * so that the caller doesn't consider the splits paused.
+     *
+     * @param splitsToPause the ids of the splits to pause.
+     * @param splitsToResume the ids of the splits to resume.
+     */
+    public void pauseOrResumeSplits(
+            Collection<String> splitsToPause, Collection<String> splitsToResume) {
+        for (SplitFetcher<E, SplitT> fetcher : fetchers.values()) {
+            if (!fetcher.isPausingSplitsSupported()) {
+                throw new UnsupportedOperationException(
+                        "The split reader does not support pausing or resuming splits.");
+            }
+        }
+        for (SplitFetcher<E, SplitT> fetcher : fetchers.values()) {
+            fetcher.pauseOrResumeSplits(splitsToPause, splitsToResume);
+        }
+    }
+
     /**
      * Check and shutdown the fetchers that have completed their work.
      *
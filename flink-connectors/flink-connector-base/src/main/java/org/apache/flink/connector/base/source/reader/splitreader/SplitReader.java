@@ -23,6 +23,7 @@ import org.apache.flink.api.connector.source.SourceSplit;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * An interface used to read from splits. The implementation could either read from a single split
@@ -57,6 +58,23 @@ public interface SplitReader<E, SplitT extends SourceSplit> {
     /** Wake up the split reader in case the fetcher thread is blocking in {@link #fetch()}. */
     void wakeUp();
 
+    /**
+     * Pauses or resumes reading of individual splits. Paused splits must not be read from, until
+     * they are resumed again. This is used for aligning the watermarks of the splits, if watermark
+     * alignment is configured for the source.
+     *
+     * <p>The default implementation throws an {@link UnsupportedOperationException}, in which case
+     * watermarks are only aligned on the level of the whole source reader.
+     *
+     * @param splitsToPause the splits to pause
+     * @param splitsToResume the splits to resume
+     */
+    default void pauseOrResumeSplits(
+            Collection<SplitT> splitsToPause, Collection<SplitT> splitsToResume) {
+        throw new UnsupportedOperationException(
+                "This split reader does not support pausing or resuming splits.");
+    }
+
     /**
      * Close the split reader.
      *
@@ -26,14 +26,17 @@ import org.apache.flink.connector.base.source.reader.mocks.TestingSplitReader;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
 import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.core.testutils.CommonTestUtils;
 import org.apache.flink.core.testutils.OneShotLatch;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Queue;
 
@@ -73,6 +76,64 @@ public class SplitFetcherManagerTest {
         }
     }
 
+    @Test
+    public void testPauseOrResumeSplits() throws Exception {
+        final TestingSplitReader<Object, TestingSourceSplit> reader = new TestingSplitReader<>();
+        final SplitFetcherManager<Object, TestingSourceSplit> fetcherManager =
+                createFetcher("testSplit", new FutureCompletingBlockingQueue<>(), reader);
+        try {
+            fetcherManager.pauseOrResumeSplits(
+                    Collections.singletonList("testSplit"), Collections.emptyList());
+            CommonTestUtils.waitUtil(
+                    () -> reader.getPausedSplits().contains("testSplit"),
+                    Duration.ofSeconds(30),
+                    "The split was not paused.");
+
+            fetcherManager.pauseOrResumeSplits(
+                    Collections.emptyList(), Collections.singletonList("testSplit"));
+            CommonTestUtils.waitUtil(
+                    () -> reader.getPausedSplits().isEmpty(),
+                    Duration.ofSeconds(30),
+                    "The split was not resumed.");
+        } finally {
+            fetcherManager.close(20_000L);
+        }
+    }
+
+    @Test
+    public void testPauseOrResumeSplitsWithoutReaderSupport() throws Exception {
+        final TestingSplitReader<Object, TestingSourceSplit> reader =
+                new TestingSplitReader<Object, TestingSourceSplit>() {
+                    @Override
+                    public void pauseOrResumeSplits(
+                            Collection<TestingSourceSplit> splitsToPause,
+                            Collection<TestingSourceSplit> splitsToResume) {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+        final SplitFetcherManager<Object, TestingSourceSplit> fetcherManager =
+                createFetcher("testSplit", new FutureCompletingBlockingQueue<>(), reader);
+        try {
+            fetcherManager.pauseOrResumeSplits(
+                    Collections.singletonList("testSplit"), Collections.emptyList());
+            CommonTestUtils.waitUtil(
+                    () -> {
+                        try {
+                            fetcherManager.pauseOrResumeSplits(
+                                    Collections.singletonList("testSplit"),
+                                    Collections.emptyList());
+                            return false;
+                        } catch (UnsupportedOperationException e) {
+                            return true;
+                        }
+                    },
+                    Duration.ofSeconds(30),
+                    "The missing support for pausing splits was not reported.");
+        } finally {
+            fetcherManager.close(20_000L);
+        }
+    }
+
     // the final modifier is important so that '@SafeVarargs' is accepted on Java 8
     @SuppressWarnings("FinalPrivateMethod")
     @SafeVarargs
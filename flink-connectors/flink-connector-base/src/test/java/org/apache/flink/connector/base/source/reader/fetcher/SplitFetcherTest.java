@@ -25,6 +25,7 @@ import org.apache.flink.connector.base.source.reader.mocks.MockSplitReader;
 import org.apache.flink.connector.base.source.reader.mocks.TestingSourceSplit;
 import org.apache.flink.connector.base.source.reader.mocks.TestingSplitReader;
 import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
 import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
 import org.apache.flink.core.testutils.CheckedThread;
 import org.apache.flink.util.ExceptionUtils;
@@ -32,6 +33,7 @@ import org.apache.flink.util.ExceptionUtils;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
@@ -256,6 +258,54 @@ public class SplitFetcherTest {
         assertTrue(splitReader.isClosed());
     }
 
+    @Test
+    public void testPauseOrResumeAssignedSplits() {
+        final TestingSplitReader<Object, TestingSourceSplit> splitReader =
+                new TestingSplitReader<>();
+        final SplitFetcher<Object, TestingSourceSplit> fetcher =
+                createFetcherWithSplit("split", splitReader);
+
+        fetcher.pauseOrResumeSplits(Arrays.asList("split", "unknown"), Collections.emptyList());
+        while (splitReader.getPausedSplits().isEmpty()) {
+            fetcher.runOnce();
+        }
+        assertEquals(Collections.singleton("split"), splitReader.getPausedSplits());
+
+        fetcher.pauseOrResumeSplits(Collections.emptyList(), Collections.singletonList("split"));
+        while (!splitReader.getPausedSplits().isEmpty()) {
+            fetcher.runOnce();
+        }
+    }
+
+    @Test
+    public void testPauseOrResumeSplitsWithoutReaderSupport() {
+        final SplitFetcher<Object, TestingSourceSplit> fetcher =
+                createFetcherWithSplit(
+                        "split",
+                        new SplitReader<Object, TestingSourceSplit>() {
+                            @Override
+                            public RecordsWithSplitIds<Object> fetch() {
+                                return finishedSplitFetch("split");
+                            }
+
+                            @Override
+                            public void handleSplitsChanges(
+                                    SplitsChange<TestingSourceSplit> splitsChanges) {}
+
+                            @Override
+                            public void wakeUp() {}
+
+                            @Override
+                            public void close() {}
+                        });
+        assertTrue(fetcher.isPausingSplitsSupported());
+
+        fetcher.pauseOrResumeSplits(Collections.singletonList("split"), Collections.emptyList());
+        while (fetcher.isPausingSplitsSupported()) {
+            fetcher.runOnce();
+        }
+    }
+
     // ------------------------------------------------------------------------
     //  testing utils
     // ------------------------------------------------------------------------
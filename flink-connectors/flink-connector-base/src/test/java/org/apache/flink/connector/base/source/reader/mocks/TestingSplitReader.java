@@ -26,11 +26,15 @@ import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** A {@code SplitReader} that returns a pre-defined set of records (by split). */
 public class TestingSplitReader<E, SplitT extends SourceSplit> implements SplitReader<E, SplitT> {
 
     private final ArrayDeque<RecordsWithSplitIds<E>> fetches;
+    private final Set<String> pausedSplits = ConcurrentHashMap.newKeySet();
     private volatile boolean closed;
     private volatile boolean closeWithException;
 
@@ -62,6 +66,13 @@ public class TestingSplitReader<E, SplitT extends SourceSplit> implements SplitR
     @Override
     public void handleSplitsChanges(SplitsChange<SplitT> splitsChanges) {}
 
+    @Override
+    public void pauseOrResumeSplits(
+            Collection<SplitT> splitsToPause, Collection<SplitT> splitsToResume) {
+        splitsToResume.forEach(split -> pausedSplits.remove(split.splitId()));
+        splitsToPause.forEach(split -> pausedSplits.add(split.splitId()));
+    }
+
     @Override
     public void wakeUp() {
         synchronized (fetches) {
@@ -84,4 +95,8 @@ public class TestingSplitReader<E, SplitT extends SourceSplit> implements SplitR
     public boolean isClosed() {
         return closed;
     }
+
+    public Set<String> getPausedSplits() {
+        return pausedSplits;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src.enumerate;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+
+/**
+ * {@code FileEnumerator} that supports dynamic filtering. The {@link DynamicFilteringData} is set
+ * before the splits are enumerated, the enumerator only needs to produce the splits of the files
+ * that may contain rows accepted by the data.
+ */
+@Internal
+public interface DynamicFileEnumerator extends FileEnumerator {
+
+    /** Sets the dynamic filtering data, called at most once before the splits are enumerated. */
+    void setDynamicFilteringData(DynamicFilteringData data);
+
+    // ------------------------------------------------------------------------
+
+    /**
+     * Factory for the {@code DynamicFileEnumerator}. A file source whose enumerator factory is a
+     * {@code Provider} enumerates its splits lazily, after it received the dynamic filtering data.
+     */
+    @FunctionalInterface
+    interface Provider extends FileEnumerator.Provider {
+
+        @Override
+        DynamicFileEnumerator create();
+    }
+}
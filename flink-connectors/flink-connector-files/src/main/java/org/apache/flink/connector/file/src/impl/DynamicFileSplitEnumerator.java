@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src.impl;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.connector.file.src.FileSource;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.PendingSplitsCheckpoint;
+import org.apache.flink.connector.file.src.assigners.FileSplitAssigner;
+import org.apache.flink.connector.file.src.enumerate.DynamicFileEnumerator;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A SplitEnumerator implementation for bounded / batch {@link FileSource} input with dynamic
+ * filtering.
+ *
+ * <p>Other than the {@link StaticFileSplitEnumerator}, this enumerator enumerates the splits
+ * lazily: either when it receives the {@link DynamicFilteringEvent}, in which case only the splits accepted
+ * by the {@link DynamicFilteringData} are enumerated, or when a split is requested or the state is
+ * snapshot before the event arrived, in which case all splits are enumerated.
+ */
+@Internal
+public class DynamicFileSplitEnumerator
+        implements SplitEnumerator<FileSourceSplit, PendingSplitsCheckpoint<FileSourceSplit>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DynamicFileSplitEnumerator.class);
+
+    private final SplitEnumeratorContext<FileSourceSplit> context;
+
+    private final DynamicFileEnumerator.Provider fileEnumeratorFactory;
+
+    private final FileSplitAssigner.Provider splitAssignerFactory;
+
+    private final Path[] inputPaths;
+
+    /** The split assigner, created once the splits are enumerated. */
+    @Nullable private FileSplitAssigner splitAssigner;
+
+    // ------------------------------------------------------------------------
+
+    public DynamicFileSplitEnumerator(
+            SplitEnumeratorContext<FileSourceSplit> context,
+            DynamicFileEnumerator.Provider fileEnumeratorFactory,
+            FileSplitAssigner.Provider splitAssignerFactory,
+            Path[] inputPaths) {
+        this.context = checkNotNull(context);
+        this.fileEnumeratorFactory = checkNotNull(fileEnumeratorFactory);
+        this.splitAssignerFactory = checkNotNull(splitAssignerFactory);
+        this.inputPaths = checkNotNull(inputPaths);
+    }
+
+    @Override
+    public void start() {
+        // the splits are enumerated lazily
+    }
+
+    @Override
+    public void close() throws IOException {
+        // no resources to close
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        // this source is purely lazy-pull-based, nothing to do upon registration
+    }
+
+    @Override
+    public void handleSplitRequest(int subtask, @Nullable String hostname) {
+        if (!context.registeredReaders().containsKey(subtask)) {
+            // reader failed between sending the request and now. skip this request.
+            return;
+        }
+
+        if (splitAssigner == null) {
+            LOG.warn(
+                    "Received split request before the dynamic filtering data, "
+                            + "all the splits are enumerated.");
+            createSplitAssigner(null);
+        }
+
+        final Optional<FileSourceSplit> nextSplit = splitAssigner.getNext(hostname);
+        if (nextSplit.isPresent()) {
+            final FileSourceSplit split = nextSplit.get();
+            context.assignSplit(split, subtask);
+            LOG.info("Assigned split to subtask {} : {}", subtask, split);
+        } else {
+            context.signalNoMoreSplits(subtask);
+            LOG.info("No more splits available for subtask {}", subtask);
+        }
+    }
+
+    @Override
+    public void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {
+        if (!(sourceEvent instanceof DynamicFilteringEvent)) {
+            LOG.error("Received unrecognized event: {}", sourceEvent);
+            return;
+        }
+        if (splitAssigner != null) {
+            LOG.warn(
+                    "Received dynamic filtering data after the splits were enumerated, "
+                            + "the data is ignored.");
+            return;
+        }
+        createSplitAssigner(((DynamicFilteringEvent) sourceEvent).getData());
+    }
+
+    @Override
+    public void addSplitsBack(List<FileSourceSplit> splits, int subtaskId) {
+        LOG.debug("File Source Enumerator adds splits back: {}", splits);
+        checkNotNull(splitAssigner).addSplits(splits);
+    }
+
+    @Override
+    public PendingSplitsCheckpoint<FileSourceSplit> snapshotState(long checkpointId) {
+        if (splitAssigner == null) {
+            // a restored source does not wait for the dynamic filtering data again
+            createSplitAssigner(null);
+        }
+        return PendingSplitsCheckpoint.fromCollectionSnapshot(splitAssigner.remainingSplits());
+    }
+
+    private void createSplitAssigner(@Nullable DynamicFilteringData dynamicFilteringData) {
+        final DynamicFileEnumerator fileEnumerator = fileEnumeratorFactory.create();
+        if (dynamicFilteringData != null) {
+            fileEnumerator.setDynamicFilteringData(dynamicFilteringData);
+        }
+        final Collection<FileSourceSplit> splits;
+        try {
+            splits = fileEnumerator.enumerateSplits(inputPaths, context.currentParallelism());
+        } catch (IOException e) {
+            throw new FlinkRuntimeException("Could not enumerate file splits", e);
+        }
+        LOG.info(
+                "Enumerated {} splits with dynamic filtering data {}.",
+                splits.size(),
+                dynamicFilteringData);
+        splitAssigner = splitAssignerFactory.create(splits);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+
+import java.io.Serializable;
+
+/**
+ * A filter which is evaluated on the column vectors of a whole {@link VectorizedColumnBatch}
+ * instead of on single rows. It narrows a selection vector, i.e. the ids of the rows of the batch
+ * which are still selected, so that only the selected rows are handed out as {@link
+ * ColumnarRowData}.
+ *
+ * <p>A filter may keep rows which do not match the predicate it is created from, but must never
+ * drop a matching row. See {@link ColumnarBatchFilters} to create filters.
+ */
+@Internal
+@FunctionalInterface
+public interface ColumnarBatchFilter extends Serializable {
+
+    /**
+     * Filters the selected rows of the given batch.
+     *
+     * @param batch the batch to filter
+     * @param selected the ids of the selected rows in ascending order, the ids of the rows which
+     *     pass the filter are written back to the beginning of this array
+     * @param numSelected the number of selected rows
+     * @return the number of rows which pass the filter
+     */
+    int filter(VectorizedColumnBatch batch, int[] selected, int numSelected);
+}
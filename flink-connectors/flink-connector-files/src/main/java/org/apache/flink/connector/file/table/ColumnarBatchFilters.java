@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.columnar.vector.ByteColumnVector;
+import org.apache.flink.table.data.columnar.vector.ColumnVector;
+import org.apache.flink.table.data.columnar.vector.DoubleColumnVector;
+import org.apache.flink.table.data.columnar.vector.FloatColumnVector;
+import org.apache.flink.table.data.columnar.vector.IntColumnVector;
+import org.apache.flink.table.data.columnar.vector.LongColumnVector;
+import org.apache.flink.table.data.columnar.vector.ShortColumnVector;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.Expression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilities to create {@link ColumnarBatchFilter}s, e.g. from the filters pushed into a columnar
+ * format.
+ *
+ * <p>Comparisons of numeric and date columns with literals, {@code IS NULL}, {@code IS NOT NULL}
+ * and conjunctions of them are supported.
+ */
+@Internal
+public final class ColumnarBatchFilters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ColumnarBatchFilters.class);
+
+    private ColumnarBatchFilters() {}
+
+    /** A comparison of a column with a literal, i.e. {@code column <comparison> literal}. */
+    public enum Comparison {
+        EQUALS(false, true, false),
+        NOT_EQUALS(true, false, true),
+        LESS_THAN(true, false, false),
+        LESS_THAN_OR_EQUAL(true, true, false),
+        GREATER_THAN(false, false, true),
+        GREATER_THAN_OR_EQUAL(false, true, true);
+
+        private final boolean acceptLess;
+        private final boolean acceptEqual;
+        private final boolean acceptGreater;
+
+        Comparison(boolean acceptLess, boolean acceptEqual, boolean acceptGreater) {
+            this.acceptLess = acceptLess;
+            this.acceptEqual = acceptEqual;
+            this.acceptGreater = acceptGreater;
+        }
+
+        /** Returns the comparison with swapped operands, i.e. for {@code literal <op> column}. */
+        public Comparison reverse() {
+            switch (this) {
+                case LESS_THAN:
+                    return GREATER_THAN;
+                case LESS_THAN_OR_EQUAL:
+                    return GREATER_THAN_OR_EQUAL;
+                case GREATER_THAN:
+                    return LESS_THAN;
+                case GREATER_THAN_OR_EQUAL:
+                    return LESS_THAN_OR_EQUAL;
+                default:
+                    return this;
+            }
+        }
+    }
+
+    /**
+     * Converts the given conjunctive filters to a {@link ColumnarBatchFilter} on batches of the
+     * given row type. Filters which can not be converted are skipped, they must be evaluated on the
+     * produced rows anyway.
+     *
+     * @return the filter, or null if none of the filters can be converted
+     */
+    public static @Nullable ColumnarBatchFilter toColumnarBatchFilter(
+            List<ResolvedExpression> filters, RowType rowType) {
+        final List<ColumnarBatchFilter> converted = new ArrayList<>();
+        for (ResolvedExpression filter : filters) {
+            final ColumnarBatchFilter batchFilter = convert(filter, rowType);
+            if (batchFilter == null) {
+                LOG.debug("Unsupported filter [{}] cannot be evaluated on column vectors.", filter);
+            } else {
+                converted.add(batchFilter);
+            }
+        }
+        if (converted.isEmpty()) {
+            return null;
+        }
+        return converted.size() == 1 ? converted.get(0) : and(converted);
+    }
+
+    /** Returns a filter which keeps the rows passing all the given filters. */
+    public static ColumnarBatchFilter and(List<ColumnarBatchFilter> filters) {
+        final ColumnarBatchFilter[] filterArray = filters.toArray(new ColumnarBatchFilter[0]);
+        return (batch, selected, numSelected) -> {
+            for (ColumnarBatchFilter filter : filterArray) {
+                if (numSelected == 0) {
+                    break;
+                }
+                numSelected = filter.filter(batch, selected, numSelected);
+            }
+            return numSelected;
+        };
+    }
+
+    /** Returns a filter which keeps the rows whose given column is null. */
+    public static ColumnarBatchFilter isNull(int column) {
+        return new NullFilter(column, true);
+    }
+
+    /** Returns a filter which keeps the rows whose given column is not null. */
+    public static ColumnarBatchFilter isNotNull(int column) {
+        return new NullFilter(column, false);
+    }
+
+    /**
+     * Returns a filter which compares the given integral column, i.e. a TINYINT, SMALLINT, INT,
+     * BIGINT or DATE column, with the given literal. Null values never pass the filter.
+     */
+    public static ColumnarBatchFilter compareLong(int column, Comparison comparison, long literal) {
+        return new LongComparisonFilter(column, comparison, literal);
+    }
+
+    /**
+     * Returns a filter which compares the given FLOAT or DOUBLE column with the given literal. Null
+     * values never pass the filter.
+     */
+    public static ColumnarBatchFilter compareDouble(
+            int column, Comparison comparison, double literal) {
+        return new DoubleComparisonFilter(column, comparison, literal);
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private static @Nullable ColumnarBatchFilter convert(Expression expression, RowType rowType) {
+        if (!(expression instanceof CallExpression)) {
+            return null;
+        }
+        final CallExpression call = (CallExpression) expression;
+        final FunctionDefinition function = call.getFunctionDefinition();
+        final List<Expression> children = call.getChildren();
+        if (function == BuiltInFunctionDefinitions.AND) {
+            final List<ColumnarBatchFilter> filters = new ArrayList<>();
+            for (Expression child : children) {
+                final ColumnarBatchFilter filter = convert(child, rowType);
+                // skipping a conjunct only keeps more rows
+                if (filter != null) {
+                    filters.add(filter);
+                }
+            }
+            return filters.isEmpty() ? null : and(filters);
+        } else if (function == BuiltInFunctionDefinitions.IS_NULL
+                || function == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+            if (children.size() != 1) {
+                return null;
+            }
+            final int column = getColumn(children.get(0), rowType);
+            if (column < 0) {
+                return null;
+            }
+            return function == BuiltInFunctionDefinitions.IS_NULL
+                    ? isNull(column)
+                    : isNotNull(column);
+        }
+
+        final Comparison comparison = toComparison(function);
+        if (comparison == null || children.size() != 2) {
+            return null;
+        }
+        if (children.get(1) instanceof ValueLiteralExpression) {
+            return convertComparison(
+                    children.get(0), comparison, (ValueLiteralExpression) children.get(1), rowType);
+        } else if (children.get(0) instanceof ValueLiteralExpression) {
+            return convertComparison(
+                    children.get(1),
+                    comparison.reverse(),
+                    (ValueLiteralExpression) children.get(0),
+                    rowType);
+        } else {
+            return null;
+        }
+    }
+
+    private static @Nullable ColumnarBatchFilter convertComparison(
+            Expression field,
+            Comparison comparison,
+            ValueLiteralExpression literal,
+            RowType rowType) {
+        final int column = getColumn(field, rowType);
+        if (column < 0) {
+            return null;
+        }
+        final LogicalTypeRoot columnType = rowType.getTypeAt(column).getTypeRoot();
+        final LogicalType literalType = literal.getOutputDataType().getLogicalType();
+        switch (columnType) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                if (!isIntegral(literalType.getTypeRoot())) {
+                    return null;
+                }
+                return literal.getValueAs(Number.class)
+                        .map(value -> compareLong(column, comparison, value.longValue()))
+                        .orElse(null);
+            case DATE:
+                if (literalType.getTypeRoot() != LogicalTypeRoot.DATE) {
+                    return null;
+                }
+                return literal.getValueAs(LocalDate.class)
+                        .map(value -> compareLong(column, comparison, value.toEpochDay()))
+                        .orElse(null);
+            case FLOAT:
+            case DOUBLE:
+                if (!isIntegral(literalType.getTypeRoot())
+                        && literalType.getTypeRoot() != LogicalTypeRoot.FLOAT
+                        && literalType.getTypeRoot() != LogicalTypeRoot.DOUBLE) {
+                    return null;
+                }
+                return literal.getValueAs(Number.class)
+                        .map(value -> compareDouble(column, comparison, value.doubleValue()))
+                        .orElse(null);
+            default:
+                return null;
+        }
+    }
+
+    private static int getColumn(Expression expression, RowType rowType) {
+        if (!(expression instanceof FieldReferenceExpression)) {
+            return -1;
+        }
+        return rowType.getFieldIndex(((FieldReferenceExpression) expression).getName());
+    }
+
+    private static boolean isIntegral(LogicalTypeRoot typeRoot) {
+        return typeRoot == LogicalTypeRoot.TINYINT
+                || typeRoot == LogicalTypeRoot.SMALLINT
+                || typeRoot == LogicalTypeRoot.INTEGER
+                || typeRoot == LogicalTypeRoot.BIGINT;
+    }
+
+    private static @Nullable Comparison toComparison(FunctionDefinition function) {
+        if (function == BuiltInFunctionDefinitions.EQUALS) {
+            return Comparison.EQUALS;
+        } else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+            return Comparison.NOT_EQUALS;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return Comparison.LESS_THAN;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return Comparison.LESS_THAN_OR_EQUAL;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return Comparison.GREATER_THAN;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return Comparison.GREATER_THAN_OR_EQUAL;
+        } else {
+            return null;
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private static class NullFilter implements ColumnarBatchFilter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int column;
+        private final boolean keepNull;
+
+        private NullFilter(int column, boolean keepNull) {
+            this.column = column;
+            this.keepNull = keepNull;
+        }
+
+        @Override
+        public int filter(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            final ColumnVector vector = batch.columns[column];
+            int numPassed = 0;
+            for (int i = 0; i < numSelected; i++) {
+                final int row = selected[i];
+                if (vector.isNullAt(row) == keepNull) {
+                    selected[numPassed++] = row;
+                }
+            }
+            return numPassed;
+        }
+    }
+
+    private static class LongComparisonFilter implements ColumnarBatchFilter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int column;
+        private final Comparison comparison;
+        private final long literal;
+
+        private LongComparisonFilter(int column, Comparison comparison, long literal) {
+            this.column = column;
+            this.comparison = comparison;
+            this.literal = literal;
+        }
+
+        @Override
+        public int filter(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            // one loop per vector type, so that the value access is not dispatched per row
+            final ColumnVector vector = batch.columns[column];
+            int numPassed = 0;
+            if (vector instanceof LongColumnVector) {
+                final LongColumnVector longVector = (LongColumnVector) vector;
+                for (int i = 0; i < numSelected; i++) {
+                    final int row = selected[i];
+                    if (!longVector.isNullAt(row) && matches(longVector.getLong(row))) {
+                        selected[numPassed++] = row;
+                    }
+                }
+            } else if (vector instanceof IntColumnVector) {
+                final IntColumnVector intVector = (IntColumnVector) vector;
+                for (int i = 0; i < numSelected; i++) {
+                    final int row = selected[i];
+                    if (!intVector.isNullAt(row) && matches(intVector.getInt(row))) {
+                        selected[numPassed++] = row;
+                    }
+                }
+            } else if (vector instanceof ShortColumnVector) {
+                final ShortColumnVector shortVector = (ShortColumnVector) vector;
+                for (int i = 0; i < numSelected; i++) {
+                    final int row = selected[i];
+                    if (!shortVector.isNullAt(row) && matches(shortVector.getShort(row))) {
+                        selected[numPassed++] = row;
+                    }
+                }
+            } else if (vector instanceof ByteColumnVector) {
+                final ByteColumnVector byteVector = (ByteColumnVector) vector;
+                for (int i = 0; i < numSelected; i++) {
+                    final int row = selected[i];
+                    if (!byteVector.isNullAt(row) && matches(byteVector.getByte(row))) {
+                        selected[numPassed++] = row;
+                    }
+                }
+            } else {
+                // unknown vector, keep all the rows
+                return numSelected;
+            }
+            return numPassed;
+        }
+
+        private boolean matches(long value) {
+            if (value < literal) {
+                return comparison.acceptLess;
+            } else if (value > literal) {
+                return comparison.acceptGreater;
+            } else {
+                return comparison.acceptEqual;
+            }
+        }
+    }
+
+    private static class DoubleComparisonFilter implements ColumnarBatchFilter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int column;
+        private final Comparison comparison;
+        private final double literal;
+
+        private DoubleComparisonFilter(int column, Comparison comparison, double literal) {
+            this.column = column;
+            this.comparison = comparison;
+            this.literal = literal;
+        }
+
+        @Override
+        public int filter(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            // one loop per vector type, so that the value access is not dispatched per row
+            final ColumnVector vector = batch.columns[column];
+            int numPassed = 0;
+            if (vector instanceof DoubleColumnVector) {
+                final DoubleColumnVector doubleVector = (DoubleColumnVector) vector;
+                for (int i = 0; i < numSelected; i++) {
+                    final int row = selected[i];
+                    if (!doubleVector.isNullAt(row) && matches(doubleVector.getDouble(row))) {
+                        selected[numPassed++] = row;
+                    }
+                }
+            } else if (vector instanceof FloatColumnVector) {
+                final FloatColumnVector floatVector = (FloatColumnVector) vector;
+                for (int i = 0; i < numSelected; i++) {
+                    final int row = selected[i];
+                    if (!floatVector.isNullAt(row) && matches(floatVector.getFloat(row))) {
+                        selected[numPassed++] = row;
+                    }
+                }
+            } else {
+                // unknown vector, keep all the rows
+                return numSelected;
+            }
+            return numPassed;
+        }
+
+        private boolean matches(double value) {
+            if (value < literal) {
+                return comparison.acceptLess;
+            } else if (value > literal) {
+                return comparison.acceptGreater;
+            } else if (value == literal) {
+                return comparison.acceptEqual;
+            } else {
+                // NaN is only not equal to any value
+                return comparison == Comparison.NOT_EQUALS;
+            }
+        }
+    }
+}
@@ -42,6 +42,11 @@ public class ColumnarRowIterator extends RecyclableIterator<RowData> {
     private int num;
     private int pos;
 
+    // the ids of the rows to return, null if all the rows of the batch are returned
+    @Nullable private int[] selected;
+    private long offset;
+    private long recordSkipCount;
+
     public ColumnarRowIterator(ColumnarRowData rowData, @Nullable Runnable recycler) {
         super(recycler);
         this.rowData = rowData;
@@ -58,8 +63,27 @@ public class ColumnarRowIterator extends RecyclableIterator<RowData> {
 
     /** Set number rows in this batch and updates the position. */
     public void set(final int num, final long offset, final long recordSkipCount) {
+        set(num, null, offset, recordSkipCount);
+    }
+
+    /**
+     * Set the rows of this batch which are returned and updates the position. The position of a
+     * returned row still counts all the rows of the batch before it, so that it can be restored.
+     *
+     * @param num number of rows to return.
+     * @param selected the ids of the rows to return in ascending order, null to return the first
+     *     {@code num} rows of the batch.
+     */
+    public void set(
+            final int num,
+            @Nullable final int[] selected,
+            final long offset,
+            final long recordSkipCount) {
         this.num = num;
         this.pos = 0;
+        this.selected = selected;
+        this.offset = offset;
+        this.recordSkipCount = recordSkipCount;
         this.recordAndPosition.set(null, offset, recordSkipCount);
     }
 
@@ -67,8 +91,14 @@ public class ColumnarRowIterator extends RecyclableIterator<RowData> {
     @Override
     public RecordAndPosition<RowData> next() {
         if (pos < num) {
-            rowData.setRowId(pos++);
-            recordAndPosition.setNext(rowData);
+            if (selected == null) {
+                rowData.setRowId(pos++);
+                recordAndPosition.setNext(rowData);
+            } else {
+                final int rowId = selected[pos++];
+                rowData.setRowId(rowId);
+                recordAndPosition.set(rowData, offset, recordSkipCount + rowId + 1);
+            }
             return recordAndPosition;
         } else {
             return null;
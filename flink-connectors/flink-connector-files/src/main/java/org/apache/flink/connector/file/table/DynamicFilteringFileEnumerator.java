@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.enumerate.DynamicFileEnumerator;
+import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.utils.PartitionPathUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link DynamicFileEnumerator} of the {@link FileSystemTableSource}. It only enumerates the splits
+ * of the partitions whose values of the dynamic filtering partition keys are contained in the
+ * {@link DynamicFilteringData}, using the given {@link FileEnumerator} for the remaining
+ * partitions.
+ */
+@Internal
+public class DynamicFilteringFileEnumerator implements DynamicFileEnumerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DynamicFilteringFileEnumerator.class);
+
+    private final FileEnumerator enumerator;
+    private final List<String> dynamicFilterPartitionKeys;
+    private final List<DataType> dynamicFilterPartitionKeyTypes;
+    private final String defaultPartName;
+
+    @Nullable private DynamicFilteringData dynamicFilteringData;
+
+    private DynamicFilteringFileEnumerator(
+            FileEnumerator enumerator,
+            List<String> dynamicFilterPartitionKeys,
+            List<DataType> dynamicFilterPartitionKeyTypes,
+            String defaultPartName) {
+        this.enumerator = checkNotNull(enumerator);
+        this.dynamicFilterPartitionKeys = checkNotNull(dynamicFilterPartitionKeys);
+        this.dynamicFilterPartitionKeyTypes = checkNotNull(dynamicFilterPartitionKeyTypes);
+        this.defaultPartName = checkNotNull(defaultPartName);
+    }
+
+    @Override
+    public void setDynamicFilteringData(DynamicFilteringData data) {
+        this.dynamicFilteringData = data;
+    }
+
+    @Override
+    public Collection<FileSourceSplit> enumerateSplits(Path[] paths, int minDesiredSplits)
+            throws IOException {
+        if (dynamicFilteringData == null || !dynamicFilteringData.isFiltering()) {
+            return enumerator.enumerateSplits(paths, minDesiredSplits);
+        }
+
+        final List<Path> remainingPaths = new ArrayList<>();
+        for (Path path : paths) {
+            if (dynamicFilteringData.contains(toDynamicFilteringRow(path))) {
+                remainingPaths.add(path);
+            }
+        }
+        LOG.info(
+                "Dynamic filtering pruned {} out of {} partitions.",
+                paths.length - remainingPaths.size(),
+                paths.length);
+        if (remainingPaths.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return enumerator.enumerateSplits(remainingPaths.toArray(new Path[0]), minDesiredSplits);
+    }
+
+    private GenericRowData toDynamicFilteringRow(Path partitionPath) {
+        final Map<String, String> partitionSpec =
+                PartitionPathUtils.extractPartitionSpecFromPath(partitionPath);
+        final GenericRowData row = new GenericRowData(dynamicFilterPartitionKeys.size());
+        for (int i = 0; i < dynamicFilterPartitionKeys.size(); i++) {
+            final String key = dynamicFilterPartitionKeys.get(i);
+            checkArgument(
+                    partitionSpec.containsKey(key),
+                    "Partition key %s is not contained in partition path %s.",
+                    key,
+                    partitionPath);
+            final String value = partitionSpec.get(key);
+            row.setField(
+                    i,
+                    PartitionPathUtils.convertStringToInternalValue(
+                            defaultPartName.equals(value) ? null : value,
+                            dynamicFilterPartitionKeyTypes.get(i)));
+        }
+        return row;
+    }
+
+    // ------------------------------------------------------------------------
+
+    /** Factory for the {@link DynamicFilteringFileEnumerator}. */
+    public static class Provider implements DynamicFileEnumerator.Provider {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileEnumerator.Provider enumeratorFactory;
+        private final List<String> dynamicFilterPartitionKeys;
+        private final List<DataType> dynamicFilterPartitionKeyTypes;
+        private final String defaultPartName;
+
+        public Provider(
+                FileEnumerator.Provider enumeratorFactory,
+                List<String> dynamicFilterPartitionKeys,
+                List<DataType> dynamicFilterPartitionKeyTypes,
+                String defaultPartName) {
+            this.enumeratorFactory = checkNotNull(enumeratorFactory);
+            this.dynamicFilterPartitionKeys = checkNotNull(dynamicFilterPartitionKeys);
+            this.dynamicFilterPartitionKeyTypes = checkNotNull(dynamicFilterPartitionKeyTypes);
+            this.defaultPartName = checkNotNull(defaultPartName);
+        }
+
+        @Override
+        public DynamicFileEnumerator create() {
+            return new DynamicFilteringFileEnumerator(
+                    enumeratorFactory.create(),
+                    dynamicFilterPartitionKeys,
+                    dynamicFilterPartitionKeyTypes,
+                    defaultPartName);
+        }
+    }
+}
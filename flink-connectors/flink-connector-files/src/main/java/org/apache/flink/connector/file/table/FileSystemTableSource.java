@@ -43,6 +43,7 @@ import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
 import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicFiltering;
 import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsPartitionPushDown;
@@ -82,7 +83,8 @@ public class FileSystemTableSource extends AbstractFileSystemTable
                 SupportsLimitPushDown,
                 SupportsPartitionPushDown,
                 SupportsFilterPushDown,
-                SupportsReadingMetadata {
+                SupportsReadingMetadata,
+                SupportsDynamicFiltering {
 
     @Nullable private final DecodingFormat<BulkFormat<RowData, FileSourceSplit>> bulkReaderFormat;
     @Nullable private final DecodingFormat<DeserializationSchema<RowData>> deserializationFormat;
@@ -95,6 +97,7 @@ public class FileSystemTableSource extends AbstractFileSystemTable
     private int[][] projectFields;
     private List<String> metadataKeys;
     private DataType producedDataType;
+    private List<String> dynamicFilterPartitionKeys;
 
     public FileSystemTableSource(
             DynamicTableFactory.Context context,
@@ -272,7 +275,30 @@ public class FileSystemTableSource extends AbstractFileSystemTable
     }
 
     private SourceProvider createSourceProvider(BulkFormat<RowData, FileSourceSplit> bulkFormat) {
-        return SourceProvider.of(FileSource.forBulkFileFormat(bulkFormat, paths()).build());
+        final FileSource.FileSourceBuilder<RowData> builder =
+                FileSource.forBulkFileFormat(bulkFormat, paths());
+        if (dynamicFilterPartitionKeys != null) {
+            builder.setFileEnumerator(createDynamicFilteringFileEnumerator(bulkFormat));
+        }
+        return SourceProvider.of(builder.build());
+    }
+
+    private DynamicFilteringFileEnumerator.Provider createDynamicFilteringFileEnumerator(
+            BulkFormat<RowData, FileSourceSplit> bulkFormat) {
+        final DataType physicalDataType = schema.toPhysicalRowDataType();
+        final List<String> fieldNames = DataType.getFieldNames(physicalDataType);
+        final List<DataType> fieldTypes = DataType.getFieldDataTypes(physicalDataType);
+        final List<DataType> dynamicFilterPartitionKeyTypes =
+                dynamicFilterPartitionKeys.stream()
+                        .map(key -> fieldTypes.get(fieldNames.indexOf(key)))
+                        .collect(Collectors.toList());
+        return new DynamicFilteringFileEnumerator.Provider(
+                bulkFormat.isSplittable()
+                        ? FileSource.DEFAULT_SPLITTABLE_FILE_ENUMERATOR
+                        : FileSource.DEFAULT_NON_SPLITTABLE_FILE_ENUMERATOR,
+                new ArrayList<>(dynamicFilterPartitionKeys),
+                new ArrayList<>(dynamicFilterPartitionKeyTypes),
+                defaultPartName);
     }
 
     private Path[] paths() {
@@ -394,6 +420,24 @@ public class FileSystemTableSource extends AbstractFileSystemTable
         this.remainingPartitions = remainingPartitions;
     }
 
+    @Override
+    public List<String> listAcceptedFilterFields() {
+        // the legacy format factories do not read through the FileSource
+        return formatFactory == null ? new ArrayList<>(partitionKeys) : Collections.emptyList();
+    }
+
+    @Override
+    public void applyDynamicFiltering(List<String> candidateFilterFields) {
+        if (!partitionKeys.containsAll(candidateFilterFields)) {
+            throw new TableException(
+                    String.format(
+                            "Dynamic filtering is only supported on the partition keys %s, "
+                                    + "but got %s.",
+                            partitionKeys, candidateFilterFields));
+        }
+        this.dynamicFilterPartitionKeys = candidateFilterFields;
+    }
+
     @Override
     public boolean supportsNestedProjection() {
         return false;
@@ -411,6 +455,7 @@ public class FileSystemTableSource extends AbstractFileSystemTable
         source.projectFields = projectFields;
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
+        source.dynamicFilterPartitionKeys = dynamicFilterPartitionKeys;
         return source;
     }
 
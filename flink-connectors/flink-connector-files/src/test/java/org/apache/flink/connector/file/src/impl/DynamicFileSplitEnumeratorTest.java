@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src.impl;
+
+import org.apache.flink.api.java.typeutils.GenericTypeInfo;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.assigners.SimpleSplitAssigner;
+import org.apache.flink.connector.file.src.enumerate.DynamicFileEnumerator;
+import org.apache.flink.connector.testutils.source.reader.TestingSplitEnumeratorContext;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/** Unit tests for the {@link DynamicFileSplitEnumerator}. */
+public class DynamicFileSplitEnumeratorTest {
+
+    private static final Path[] PATHS =
+            new Path[] {new Path("/tmp/fact/p=1"), new Path("/tmp/fact/p=2")};
+
+    @Test
+    public void testEnumerateSplitsOnDynamicFilteringEvent() {
+        final TestingSplitEnumeratorContext<FileSourceSplit> context =
+                new TestingSplitEnumeratorContext<>(4);
+        final TestingDynamicFileEnumeratorProvider provider =
+                new TestingDynamicFileEnumeratorProvider();
+        final DynamicFileSplitEnumerator enumerator = createEnumerator(context, provider);
+        enumerator.start();
+        assertTrue(provider.receivedData.isEmpty());
+
+        final DynamicFilteringData data = createData(true);
+        enumerator.handleSourceEvent(0, new DynamicFilteringEvent(data));
+
+        assertEquals(1, provider.receivedData.size());
+        assertSame(data, provider.receivedData.get(0));
+        assertEquals(Collections.singletonList(PATHS[0]), paths(enumerator.snapshotState(1L).getSplits()));
+    }
+
+    @Test
+    public void testNonFilteringDataIsPassedToTheFileEnumerator() {
+        final TestingSplitEnumeratorContext<FileSourceSplit> context =
+                new TestingSplitEnumeratorContext<>(4);
+        final TestingDynamicFileEnumeratorProvider provider =
+                new TestingDynamicFileEnumeratorProvider();
+        final DynamicFileSplitEnumerator enumerator = createEnumerator(context, provider);
+
+        enumerator.handleSourceEvent(0, new DynamicFilteringEvent(createData(false)));
+
+        assertEquals(Arrays.asList(PATHS), paths(enumerator.snapshotState(1L).getSplits()));
+    }
+
+    @Test
+    public void testSplitRequestBeforeDynamicFilteringEvent() {
+        final TestingSplitEnumeratorContext<FileSourceSplit> context =
+                new TestingSplitEnumeratorContext<>(4);
+        final TestingDynamicFileEnumeratorProvider provider =
+                new TestingDynamicFileEnumeratorProvider();
+        final DynamicFileSplitEnumerator enumerator = createEnumerator(context, provider);
+
+        context.registerReader(3, "somehost");
+        enumerator.addReader(3);
+        enumerator.handleSplitRequest(3, "somehost");
+
+        // all the splits are enumerated without the data
+        assertEquals(1, provider.receivedData.size());
+        assertNull(provider.receivedData.get(0));
+        assertEquals(1, context.getSplitAssignments().get(3).getAssignedSplits().size());
+        assertEquals(1, enumerator.snapshotState(1L).getSplits().size());
+
+        // a late event is ignored
+        enumerator.handleSourceEvent(0, new DynamicFilteringEvent(createData(true)));
+        assertEquals(1, provider.receivedData.size());
+        assertEquals(1, enumerator.snapshotState(2L).getSplits().size());
+    }
+
+    @Test
+    public void testCheckpointBeforeDynamicFilteringEvent() {
+        final TestingSplitEnumeratorContext<FileSourceSplit> context =
+                new TestingSplitEnumeratorContext<>(4);
+        final TestingDynamicFileEnumeratorProvider provider =
+                new TestingDynamicFileEnumeratorProvider();
+        final DynamicFileSplitEnumerator enumerator = createEnumerator(context, provider);
+
+        assertEquals(Arrays.asList(PATHS), paths(enumerator.snapshotState(1L).getSplits()));
+        assertEquals(Collections.singletonList(null), provider.receivedData);
+    }
+
+    @Test
+    public void testSplitRequestForNonRegisteredReader() {
+        final TestingSplitEnumeratorContext<FileSourceSplit> context =
+                new TestingSplitEnumeratorContext<>(4);
+        final TestingDynamicFileEnumeratorProvider provider =
+                new TestingDynamicFileEnumeratorProvider();
+        final DynamicFileSplitEnumerator enumerator = createEnumerator(context, provider);
+
+        enumerator.handleSplitRequest(3, "somehost");
+
+        assertFalse(context.getSplitAssignments().containsKey(3));
+        assertTrue(provider.receivedData.isEmpty());
+    }
+
+    @Test
+    public void testNoMoreSplits() {
+        final TestingSplitEnumeratorContext<FileSourceSplit> context =
+                new TestingSplitEnumeratorContext<>(4);
+        final DynamicFileSplitEnumerator enumerator =
+                createEnumerator(context, new TestingDynamicFileEnumeratorProvider());
+        enumerator.handleSourceEvent(0, new DynamicFilteringEvent(createData(true)));
+
+        // first split assignment
+        context.registerReader(1, "somehost");
+        enumerator.addReader(1);
+        enumerator.handleSplitRequest(1, "somehost");
+
+        // second request has no more split
+        enumerator.handleSplitRequest(1, "somehost");
+
+        assertEquals(
+                Collections.singletonList(PATHS[0]),
+                paths(context.getSplitAssignments().get(1).getAssignedSplits()));
+        assertTrue(context.getSplitAssignments().get(1).hasReceivedNoMoreSplitsSignal());
+        assertThat(enumerator.snapshotState(1L).getSplits(), empty());
+    }
+
+    // ------------------------------------------------------------------------
+    //  test setup helpers
+    // ------------------------------------------------------------------------
+
+    private static DynamicFileSplitEnumerator createEnumerator(
+            TestingSplitEnumeratorContext<FileSourceSplit> context,
+            DynamicFileEnumerator.Provider provider) {
+        return new DynamicFileSplitEnumerator(context, provider, SimpleSplitAssigner::new, PATHS);
+    }
+
+    private static DynamicFilteringData createData(boolean isFiltering) {
+        // the data is only passed through, its rows are never deserialized
+        return new DynamicFilteringData(
+                new GenericTypeInfo<>(RowData.class),
+                RowType.of(new IntType()),
+                Collections.emptyList(),
+                isFiltering);
+    }
+
+    private static List<Path> paths(Collection<FileSourceSplit> splits) {
+        return splits.stream().map(FileSourceSplit::path).collect(Collectors.toList());
+    }
+
+    private static FileSourceSplit split(Path path) {
+        return new FileSourceSplit(path.toString(), path, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * A provider of file enumerators that create a split per path. With filtering data, only the
+     * split of the first path is created.
+     */
+    private static class TestingDynamicFileEnumeratorProvider
+            implements DynamicFileEnumerator.Provider {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<DynamicFilteringData> receivedData = new ArrayList<>();
+
+        @Override
+        public DynamicFileEnumerator create() {
+            return new DynamicFileEnumerator() {
+
+                private DynamicFilteringData data;
+
+                @Override
+                public void setDynamicFilteringData(DynamicFilteringData data) {
+                    this.data = data;
+                }
+
+                @Override
+                public List<FileSourceSplit> enumerateSplits(Path[] paths, int minDesiredSplits) {
+                    receivedData.add(data);
+                    if (data != null && data.isFiltering()) {
+                        return Collections.singletonList(split(paths[0]));
+                    }
+                    final List<FileSourceSplit> splits = new ArrayList<>();
+                    Arrays.stream(paths).forEach(path -> splits.add(split(path)));
+                    return splits;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.connector.file.src.util.RecordAndPosition;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.ColumnVector;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.data.columnar.vector.heap.HeapDoubleVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapIntVector;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.apache.flink.connector.file.table.ColumnarBatchFilters.Comparison.GREATER_THAN;
+import static org.apache.flink.connector.file.table.ColumnarBatchFilters.Comparison.LESS_THAN_OR_EQUAL;
+import static org.apache.flink.connector.file.table.ColumnarBatchFilters.Comparison.NOT_EQUALS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** Tests for {@link ColumnarBatchFilters} and the selection of {@link ColumnarRowIterator}. */
+public class ColumnarBatchFiltersTest {
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("a", DataTypes.INT()),
+                                    DataTypes.FIELD("b", DataTypes.DOUBLE()),
+                                    DataTypes.FIELD("c", DataTypes.STRING()))
+                            .getLogicalType();
+
+    @Test
+    public void testComparisons() {
+        // a = [0, 1, null, 3, 4, 5], b = [0.0, 0.5, 1.0, NaN, 2.0, 2.5]
+        VectorizedColumnBatch batch = createBatch();
+
+        assertArrayEquals(
+                new int[] {4, 5},
+                filter(batch, ColumnarBatchFilters.compareLong(0, GREATER_THAN, 3)));
+        assertArrayEquals(
+                new int[] {0, 1, 2},
+                filter(batch, ColumnarBatchFilters.compareDouble(1, LESS_THAN_OR_EQUAL, 1.0)));
+        // NaN is not equal to any value
+        assertArrayEquals(
+                new int[] {0, 1, 2, 3, 5},
+                filter(batch, ColumnarBatchFilters.compareDouble(1, NOT_EQUALS, 2.0)));
+        assertArrayEquals(new int[] {2}, filter(batch, ColumnarBatchFilters.isNull(0)));
+        assertArrayEquals(
+                new int[] {1, 3},
+                filter(
+                        batch,
+                        ColumnarBatchFilters.and(
+                                Arrays.asList(
+                                        ColumnarBatchFilters.isNotNull(0),
+                                        ColumnarBatchFilters.compareDouble(1, NOT_EQUALS, 0.0),
+                                        ColumnarBatchFilters.compareLong(0, NOT_EQUALS, 4),
+                                        ColumnarBatchFilters.compareLong(
+                                                0, LESS_THAN_OR_EQUAL, 3)))));
+    }
+
+    @Test
+    public void testConvertExpressions() {
+        VectorizedColumnBatch batch = createBatch();
+
+        // 3 < a, b >= 2 and c = 'x', which can not be converted
+        ColumnarBatchFilter filter =
+                ColumnarBatchFilters.toColumnarBatchFilter(
+                        Arrays.asList(
+                                call(
+                                        BuiltInFunctionDefinitions.LESS_THAN,
+                                        new ValueLiteralExpression(3),
+                                        field("a", DataTypes.INT(), 0)),
+                                call(
+                                        BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL,
+                                        field("b", DataTypes.DOUBLE(), 1),
+                                        new ValueLiteralExpression(2.0)),
+                                call(
+                                        BuiltInFunctionDefinitions.EQUALS,
+                                        field("c", DataTypes.STRING(), 2),
+                                        new ValueLiteralExpression("x"))),
+                        ROW_TYPE);
+        assertArrayEquals(new int[] {4, 5}, filter(batch, filter));
+
+        assertNull(
+                ColumnarBatchFilters.toColumnarBatchFilter(
+                        Collections.singletonList(
+                                call(
+                                        BuiltInFunctionDefinitions.EQUALS,
+                                        field("c", DataTypes.STRING(), 2),
+                                        new ValueLiteralExpression("x"))),
+                        ROW_TYPE));
+    }
+
+    @Test
+    public void testIteratorReturnsSelectedRows() {
+        VectorizedColumnBatch batch = createBatch();
+        int[] selected = new int[] {1, 4};
+        ColumnarRowIterator iterator = new ColumnarRowIterator(new ColumnarRowData(batch), null);
+        iterator.set(selected.length, selected, 0L, 10L);
+
+        RecordAndPosition<RowData> record = iterator.next();
+        assertEquals(1, record.getRecord().getInt(0));
+        assertEquals(12L, record.getRecordSkipCount());
+        record = iterator.next();
+        assertEquals(4, record.getRecord().getInt(0));
+        assertEquals(15L, record.getRecordSkipCount());
+        assertNull(iterator.next());
+    }
+
+    private static VectorizedColumnBatch createBatch() {
+        HeapIntVector a = new HeapIntVector(6);
+        HeapDoubleVector b = new HeapDoubleVector(6);
+        for (int i = 0; i < 6; i++) {
+            a.setInt(i, i);
+            b.setDouble(i, i * 0.5);
+        }
+        a.setNullAt(2);
+        b.setDouble(3, Double.NaN);
+        VectorizedColumnBatch batch = new VectorizedColumnBatch(new ColumnVector[] {a, b, null});
+        batch.setNumRows(6);
+        return batch;
+    }
+
+    private static int[] filter(VectorizedColumnBatch batch, ColumnarBatchFilter filter) {
+        int[] selected = new int[batch.getNumRows()];
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = i;
+        }
+        int numSelected = filter.filter(batch, selected, selected.length);
+        return Arrays.copyOf(selected, numSelected);
+    }
+
+    private static FieldReferenceExpression field(String name, DataType type, int index) {
+        return new FieldReferenceExpression(name, type, 0, index);
+    }
+
+    private static CallExpression call(
+            FunctionDefinition function, ResolvedExpression left, ResolvedExpression right) {
+        return new CallExpression(function, Arrays.asList(left, right), DataTypes.BOOLEAN());
+    }
+}
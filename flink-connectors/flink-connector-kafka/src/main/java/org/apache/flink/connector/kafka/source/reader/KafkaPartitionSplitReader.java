@@ -208,6 +208,15 @@ public class KafkaPartitionSplitReader
         consumer.wakeup();
     }
 
+    @Override
+    public void pauseOrResumeSplits(
+            Collection<KafkaPartitionSplit> splitsToPause,
+            Collection<KafkaPartitionSplit> splitsToResume) {
+        final Set<TopicPartition> assignment = consumer.assignment();
+        consumer.resume(assignedPartitions(splitsToResume, assignment));
+        consumer.pause(assignedPartitions(splitsToPause, assignment));
+    }
+
     @Override
     public void close() throws Exception {
         consumer.close();
@@ -215,6 +224,14 @@ public class KafkaPartitionSplitReader
 
     // ---------------
 
+    private static List<TopicPartition> assignedPartitions(
+            Collection<KafkaPartitionSplit> splits, Set<TopicPartition> assignment) {
+        return splits.stream()
+                .map(KafkaPartitionSplit::getTopicPartition)
+                .filter(assignment::contains)
+                .collect(Collectors.toList());
+    }
+
     public void notifyCheckpointComplete(
             Map<TopicPartition, OffsetAndMetadata> offsetsToCommit,
             OffsetCommitCallback offsetCommitCallback) {
@@ -253,6 +253,45 @@ public class KafkaPartitionSplitReaderTest {
         assertTrue(recordsWithSplitIds.finishedSplits().isEmpty());
     }
 
+    @Test
+    public void testPauseOrResumeSplits() throws Exception {
+        KafkaPartitionSplitReader reader = createReader();
+        final KafkaPartitionSplit pausedSplit =
+                new KafkaPartitionSplit(
+                        new TopicPartition(TOPIC1, 0),
+                        KafkaPartitionSplit.EARLIEST_OFFSET,
+                        KafkaPartitionSplit.NO_STOPPING_OFFSET);
+        final KafkaPartitionSplit readSplit =
+                new KafkaPartitionSplit(
+                        new TopicPartition(TOPIC2, 0),
+                        KafkaPartitionSplit.EARLIEST_OFFSET,
+                        KafkaPartitionSplit.NO_STOPPING_OFFSET);
+        final KafkaPartitionSplit unassignedSplit =
+                new KafkaPartitionSplit(
+                        new TopicPartition(TOPIC1, 1),
+                        KafkaPartitionSplit.EARLIEST_OFFSET,
+                        KafkaPartitionSplit.NO_STOPPING_OFFSET);
+        reader.handleSplitsChanges(new SplitsAddition<>(Arrays.asList(pausedSplit, readSplit)));
+
+        // Only the partitions of assigned splits are paused
+        reader.pauseOrResumeSplits(
+                Arrays.asList(pausedSplit, unassignedSplit), Collections.emptyList());
+        assertEquals(
+                Collections.singleton(pausedSplit.getTopicPartition()),
+                reader.consumer().paused());
+
+        // No records are fetched from the paused split
+        RecordsWithSplitIds<ConsumerRecord<byte[], byte[]>> recordsWithSplitIds = reader.fetch();
+        String splitId;
+        while ((splitId = recordsWithSplitIds.nextSplit()) != null) {
+            assertEquals(readSplit.splitId(), splitId);
+        }
+
+        reader.pauseOrResumeSplits(
+                Collections.emptyList(), Collections.singletonList(pausedSplit));
+        assertTrue(reader.consumer().paused().isEmpty());
+    }
+
     @Test
     public void testUsingCommittedOffsetsWithNoneOffsetResetStrategy() {
         final Properties props = new Properties();
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.api.common.eventtime;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/** Configuration parameters for watermark alignment, see {@link WatermarkStrategy}. */
+@PublicEvolving
+public final class WatermarkAlignmentParams implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final WatermarkAlignmentParams WATERMARK_ALIGNMENT_DISABLED =
+            new WatermarkAlignmentParams(Long.MAX_VALUE, "", 0);
+
+    private final long maxAllowedWatermarkDrift;
+    private final long updateInterval;
+    private final String watermarkGroup;
+
+    public WatermarkAlignmentParams(
+            long maxAllowedWatermarkDrift, String watermarkGroup, long updateInterval) {
+        this.maxAllowedWatermarkDrift = maxAllowedWatermarkDrift;
+        this.watermarkGroup = watermarkGroup;
+        this.updateInterval = updateInterval;
+    }
+
+    public boolean isEnabled() {
+        return maxAllowedWatermarkDrift < Long.MAX_VALUE;
+    }
+
+    /** Returns the name of the group of sources whose watermarks are aligned with each other. */
+    public String getWatermarkGroup() {
+        return watermarkGroup;
+    }
+
+    /**
+     * Returns the maximum drift in milliseconds by which the watermark of a source (or split) may
+     * be ahead of the minimal watermark of its group before it is paused.
+     */
+    public long getMaxAllowedWatermarkDrift() {
+        return maxAllowedWatermarkDrift;
+    }
+
+    /** Returns the interval in milliseconds in which the watermarks of a group are aligned. */
+    public long getUpdateInterval() {
+        return updateInterval;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        WatermarkAlignmentParams that = (WatermarkAlignmentParams) o;
+        return maxAllowedWatermarkDrift == that.maxAllowedWatermarkDrift
+                && updateInterval == that.updateInterval
+                && watermarkGroup.equals(that.watermarkGroup);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxAllowedWatermarkDrift, updateInterval, watermarkGroup);
+    }
+
+    @Override
+    public String toString() {
+        return "WatermarkAlignmentParams{"
+                + "maxAllowedWatermarkDrift="
+                + maxAllowedWatermarkDrift
+                + ", updateInterval="
+                + updateInterval
+                + ", watermarkGroup='"
+                + watermarkGroup
+                + '\''
+                + '}';
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.flink.api.common.eventtime;
 
 import org.apache.flink.annotation.Public;
+import org.apache.flink.annotation.PublicEvolving;
 
 import java.io.Serializable;
 import java.time.Duration;
@@ -138,6 +139,67 @@ public interface WatermarkStrategy<T>
         return new WatermarkStrategyWithIdleness<>(this, idleTimeout);
     }
 
+    /**
+     * Creates a new {@link WatermarkStrategy} that configures the maximum watermark drift from
+     * other sources/splits/partitions in the same watermark group. The group may contain
+     * completely independent sources (e.g. File and Kafka).
+     *
+     * <p>Once configured Flink will "pause" consuming from a source/split/partition that is ahead
+     * of the emitted watermark in the group by more than the maxAllowedWatermarkDrift. Idle
+     * sources do not hold back the watermark of the group.
+     *
+     * @param watermarkGroup A group of sources to align watermarks
+     * @param maxAllowedWatermarkDrift Maximal drift, before we pause consuming from the
+     *     source/split/partition
+     */
+    @PublicEvolving
+    default WatermarkStrategy<T> withWatermarkAlignment(
+            String watermarkGroup, Duration maxAllowedWatermarkDrift) {
+        return withWatermarkAlignment(
+                watermarkGroup, maxAllowedWatermarkDrift, Duration.ofMillis(1000));
+    }
+
+    /**
+     * Creates a new {@link WatermarkStrategy} that configures the maximum watermark drift from
+     * other sources/splits/partitions in the same watermark group.
+     *
+     * @param watermarkGroup A group of sources to align watermarks
+     * @param maxAllowedWatermarkDrift Maximal drift, before we pause consuming from the
+     *     source/split/partition
+     * @param updateInterval How often each source should announce its watermark and recompute
+     *     the minimal watermark of the group
+     * @see #withWatermarkAlignment(String, Duration)
+     */
+    @PublicEvolving
+    default WatermarkStrategy<T> withWatermarkAlignment(
+            String watermarkGroup, Duration maxAllowedWatermarkDrift, Duration updateInterval) {
+        checkNotNull(watermarkGroup, "watermarkGroup");
+        checkNotNull(maxAllowedWatermarkDrift, "maxAllowedWatermarkDrift");
+        checkNotNull(updateInterval, "updateInterval");
+        checkArgument(
+                !maxAllowedWatermarkDrift.isNegative(),
+                "maxAllowedWatermarkDrift must not be negative");
+        checkArgument(
+                !(updateInterval.isZero() || updateInterval.isNegative()),
+                "updateInterval must be greater than zero");
+        return new WatermarkStrategyWithAlignment<>(
+                this,
+                new WatermarkAlignmentParams(
+                        maxAllowedWatermarkDrift.toMillis(),
+                        watermarkGroup,
+                        updateInterval.toMillis()));
+    }
+
+    /**
+     * Provides configuration for watermark alignment of a maximum watermark of multiple
+     * sources/tasks/partitions in the same watermark group. The group may contain completely
+     * independent sources (e.g. File and Kafka).
+     */
+    @PublicEvolving
+    default WatermarkAlignmentParams getAlignmentParameters() {
+        return WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED;
+    }
+
     // ------------------------------------------------------------------------
     //  Convenience methods for common watermark strategies
     // ------------------------------------------------------------------------
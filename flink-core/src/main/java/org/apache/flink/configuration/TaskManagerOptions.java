@@ -699,6 +699,63 @@ public class TaskManagerOptions {
                             "Time we wait for the timers in milliseconds to finish all pending timer threads"
                                     + " when the stream task is cancelled.");
 
+    /**
+     * The maximum number of input invocations a stream task performs per iteration of its mailbox
+     * loop before checking the mailbox again.
+     */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER)
+    public static final ConfigOption<Integer> TASK_MAILBOX_MAX_INPUTS_PER_ITERATION =
+            ConfigOptions.key("task.mailbox.max-inputs-per-iteration")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The maximum number of times a stream task invokes its input processor"
+                                    + " within a single iteration of the mailbox loop. Values larger than 1"
+                                    + " amortize the per-iteration mailbox checks for high-rate pipelines."
+                                    + " A batch is cut short as soon as no more input is immediately available,"
+                                    + " the output is back pressured, or a mail is pending, so timers and"
+                                    + " checkpoints are not delayed by more than a single record.");
+
+    /**
+     * The maximum time a stream task spends processing input within a single iteration of its
+     * mailbox loop.
+     */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER)
+    public static final ConfigOption<Duration> TASK_MAILBOX_MAX_ITERATION_DURATION =
+            ConfigOptions.key("task.mailbox.max-iteration-duration")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(1))
+                    .withDescription(
+                            Description.builder()
+                                    .text(
+                                            "The maximum time a stream task spends processing input within a single"
+                                                    + " iteration of the mailbox loop when %s is larger than 1."
+                                                    + " A value of 0 disables the time budget.",
+                                            code("task.mailbox.max-inputs-per-iteration"))
+                                    .build());
+
+    /**
+     * The minimal event time advance between two watermarks that a stream task forwards from its
+     * network inputs.
+     */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER)
+    public static final ConfigOption<Duration> TASK_WATERMARK_COALESCING_INTERVAL =
+            ConfigOptions.key("task.watermark.coalescing-interval")
+                    .durationType()
+                    .defaultValue(Duration.ZERO)
+                    .withDescription(
+                            "The minimal event time advance between two watermarks that a stream task"
+                                    + " forwards from its network inputs. Watermarks of the input channels"
+                                    + " that advance the combined watermark by less than this interval are"
+                                    + " held back, which reduces the watermark processing cost for inputs"
+                                    + " with many channels. A held back watermark is forwarded with the next"
+                                    + " watermark that advances far enough, or when an input channel becomes"
+                                    + " idle. The final watermark at the end of the input is never held"
+                                    + " back. There is no processing time bound: if the input channels stop"
+                                    + " advancing their watermarks without becoming idle, a held back"
+                                    + " watermark is not forwarded until they advance again. A value of 0"
+                                    + " forwards every watermark.");
+
     // ------------------------------------------------------------------------
 
     /** Not intended to be instantiated. */
@@ -148,6 +148,28 @@ public class WatermarkStrategyTest {
                 instanceOf(WatermarksWithIdleness.class));
     }
 
+    @Test
+    public void testWithWatermarkAlignment() {
+        WatermarkStrategy<String> wmStrategy =
+                WatermarkStrategy.<String>forMonotonousTimestamps()
+                        .withWatermarkAlignment("group", Duration.ofSeconds(10))
+                        .withIdleness(Duration.ofMinutes(1))
+                        .withTimestampAssigner((event, timestamp) -> 42L);
+
+        // ensure that the closure can be cleaned
+        ClosureCleaner.clean(wmStrategy, ExecutionConfig.ClosureCleanerLevel.RECURSIVE, true);
+
+        assertThat(
+                wmStrategy.getAlignmentParameters(),
+                is(new WatermarkAlignmentParams(10_000L, "group", 1000L)));
+        assertThat(
+                wmStrategy.createWatermarkGenerator(generatorContext()),
+                instanceOf(WatermarksWithIdleness.class));
+        assertThat(
+                WatermarkStrategy.forMonotonousTimestamps().getAlignmentParameters().isEnabled(),
+                is(false));
+    }
+
     static class TestTimestampAssigner implements TimestampAssigner<Object>, Serializable {
 
         @Override
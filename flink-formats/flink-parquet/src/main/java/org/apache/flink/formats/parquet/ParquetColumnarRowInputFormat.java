@@ -20,7 +20,9 @@ package org.apache.flink.formats.parquet;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.util.CheckpointedPosition;
 import org.apache.flink.connector.file.src.util.Pool;
+import org.apache.flink.connector.file.table.ColumnarBatchFilter;
 import org.apache.flink.connector.file.table.ColumnarRowIterator;
 import org.apache.flink.connector.file.table.PartitionFieldExtractor;
 import org.apache.flink.core.fs.Path;
@@ -35,6 +37,8 @@ import org.apache.flink.table.types.logical.RowType;
 
 import org.apache.hadoop.conf.Configuration;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -51,6 +55,9 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
 
     private final TypeInformation<RowData> producedTypeInfo;
 
+    /** The filter evaluated on the column vectors of each batch, null if there is none. */
+    @Nullable private final ColumnarBatchFilter batchFilter;
+
     /** Constructor to create parquet format without extra fields. */
     ParquetColumnarRowInputFormat(
             Configuration hadoopConfig,
@@ -85,6 +92,33 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
             int batchSize,
             boolean isUtcTimestamp,
             boolean isCaseSensitive) {
+        this(
+                hadoopConfig,
+                projectedType,
+                producedTypeInfo,
+                batchFactory,
+                null,
+                batchSize,
+                isUtcTimestamp,
+                isCaseSensitive);
+    }
+
+    /**
+     * Constructor to create parquet format with extra fields created by {@link ColumnBatchFactory}
+     * and a filter which is evaluated on the column vectors of each batch before its rows are
+     * returned.
+     *
+     * @param batchFilter the filter on the batches created by the batch factory, may be null.
+     */
+    ParquetColumnarRowInputFormat(
+            Configuration hadoopConfig,
+            RowType projectedType,
+            TypeInformation<RowData> producedTypeInfo,
+            ColumnBatchFactory<SplitT> batchFactory,
+            @Nullable ColumnarBatchFilter batchFilter,
+            int batchSize,
+            boolean isUtcTimestamp,
+            boolean isCaseSensitive) {
         super(
                 new SerializableConfiguration(hadoopConfig),
                 projectedType,
@@ -93,6 +127,7 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
                 isUtcTimestamp,
                 isCaseSensitive);
         this.producedTypeInfo = producedTypeInfo;
+        this.batchFilter = batchFilter;
     }
 
     @Override
@@ -109,7 +144,7 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
             WritableColumnVector[] writableVectors,
             VectorizedColumnBatch columnarBatch,
             Pool.Recycler<ParquetReaderBatch<RowData>> recycler) {
-        return new ColumnarRowReaderBatch(writableVectors, columnarBatch, recycler);
+        return new ColumnarRowReaderBatch(writableVectors, columnarBatch, batchFilter, recycler);
     }
 
     @Override
@@ -120,19 +155,45 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
     private static class ColumnarRowReaderBatch extends ParquetReaderBatch<RowData> {
 
         private final ColumnarRowIterator result;
+        @Nullable private final ColumnarBatchFilter batchFilter;
+        private int[] selected = new int[0];
 
         private ColumnarRowReaderBatch(
                 WritableColumnVector[] writableVectors,
                 VectorizedColumnBatch columnarBatch,
+                @Nullable ColumnarBatchFilter batchFilter,
                 Pool.Recycler<ParquetReaderBatch<RowData>> recycler) {
             super(writableVectors, columnarBatch, recycler);
             this.result =
                     new ColumnarRowIterator(new ColumnarRowData(columnarBatch), this::recycle);
+            this.batchFilter = batchFilter;
         }
 
         @Override
         public RecordIterator<RowData> convertAndGetIterator(long rowsReturned) {
-            result.set(columnarBatch.getNumRows(), rowsReturned);
+            return convertAndGetIterator(rowsReturned, 0);
+        }
+
+        @Override
+        public RecordIterator<RowData> convertAndGetIterator(long rowsReturned, int rowsToSkip) {
+            final int numRows = columnarBatch.getNumRows();
+            if (batchFilter == null && rowsToSkip == 0) {
+                result.set(numRows, rowsReturned);
+                return result;
+            }
+
+            // select the rows after the skipped ones, and narrow them down by the filter
+            int numSelected = numRows - rowsToSkip;
+            if (selected.length < numSelected) {
+                selected = new int[numRows];
+            }
+            for (int i = 0; i < numSelected; i++) {
+                selected[i] = rowsToSkip + i;
+            }
+            if (batchFilter != null) {
+                numSelected = batchFilter.filter(columnarBatch, selected, numSelected);
+            }
+            result.set(numSelected, selected, CheckpointedPosition.NO_OFFSET, rowsReturned);
             return result;
         }
     }
@@ -151,6 +212,34 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
                     int batchSize,
                     boolean isUtcTimestamp,
                     boolean isCaseSensitive) {
+        return createPartitionedFormat(
+                hadoopConfig,
+                producedRowType,
+                producedTypeInfo,
+                partitionKeys,
+                extractor,
+                null,
+                batchSize,
+                isUtcTimestamp,
+                isCaseSensitive);
+    }
+
+    /**
+     * Create a partitioned {@link ParquetColumnarRowInputFormat}, the partition columns can be
+     * generated by {@link Path}. The given filter is evaluated on the column vectors of each batch
+     * of the produced row type, so that only the rows passing it are returned.
+     */
+    public static <SplitT extends FileSourceSplit>
+            ParquetColumnarRowInputFormat<SplitT> createPartitionedFormat(
+                    Configuration hadoopConfig,
+                    RowType producedRowType,
+                    TypeInformation<RowData> producedTypeInfo,
+                    List<String> partitionKeys,
+                    PartitionFieldExtractor<SplitT> extractor,
+                    @Nullable ColumnarBatchFilter batchFilter,
+                    int batchSize,
+                    boolean isUtcTimestamp,
+                    boolean isCaseSensitive) {
         // TODO FLINK-25113 all this partition keys code should be pruned from the parquet format,
         //  because now FileSystemTableSource uses FileInfoExtractorBulkFormat for reading partition
         //  keys.
@@ -186,6 +275,7 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit>
                 projectedRowType,
                 producedTypeInfo,
                 factory,
+                batchFilter,
                 batchSize,
                 isUtcTimestamp,
                 isCaseSensitive);
@@ -23,6 +23,7 @@ import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.connector.file.src.FileSourceSplit;
 import org.apache.flink.connector.file.src.reader.BulkFormat;
+import org.apache.flink.connector.file.table.ColumnarBatchFilters;
 import org.apache.flink.connector.file.table.factories.BulkReaderFormatFactory;
 import org.apache.flink.connector.file.table.factories.BulkWriterFormatFactory;
 import org.apache.flink.connector.file.table.format.BulkDecodingFormat;
@@ -35,6 +36,7 @@ import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.factories.DynamicTableFactory;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
@@ -43,6 +45,7 @@ import org.apache.hadoop.conf.Configuration;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
@@ -116,6 +119,7 @@ public class ParquetFileFormatFactory implements BulkReaderFormatFactory, BulkWr
                     BulkDecodingFormat<RowData> {
 
         private final ReadableConfig formatOptions;
+        private List<ResolvedExpression> filters = Collections.emptyList();
 
         public ParquetBulkDecodingFormat(ReadableConfig formatOptions) {
             this.formatOptions = formatOptions;
@@ -127,12 +131,17 @@ public class ParquetFileFormatFactory implements BulkReaderFormatFactory, BulkWr
                 DataType producedDataType,
                 int[][] projections) {
 
+            final RowType projectedType =
+                    (RowType) Projection.of(projections).project(producedDataType).getLogicalType();
             return ParquetColumnarRowInputFormat.createPartitionedFormat(
                     getParquetConfiguration(formatOptions),
-                    (RowType) Projection.of(projections).project(producedDataType).getLogicalType(),
+                    projectedType,
                     sourceContext.createTypeInformation(producedDataType),
                     Collections.emptyList(),
                     null,
+                    // the pushed filters are still evaluated on the produced rows, filtering the
+                    // batches only saves handing out the rows which do not pass them
+                    ColumnarBatchFilters.toColumnarBatchFilter(filters, projectedType),
                     VectorizedColumnBatch.DEFAULT_SIZE,
                     formatOptions.get(UTC_TIMEZONE),
                     true);
@@ -142,5 +151,10 @@ public class ParquetFileFormatFactory implements BulkReaderFormatFactory, BulkWr
         public ChangelogMode getChangelogMode() {
             return ChangelogMode.insertOnly();
         }
+
+        @Override
+        public void applyFilters(List<ResolvedExpression> filters) {
+            this.filters = filters;
+        }
     }
 }
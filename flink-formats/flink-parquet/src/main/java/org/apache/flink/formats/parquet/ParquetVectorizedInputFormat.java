@@ -360,12 +360,14 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
                 return null;
             }
 
-            final RecordIterator<T> records = batch.convertAndGetIterator(rowsReturnedBefore);
+            // the rows to skip after restoring are counted in rows of the file, which may differ
+            // from the records returned by the iterator if the batch filters its rows
+            final int rowsToSkip = (int) Math.min(recordsToSkip, batch.columnarBatch.getNumRows());
+            recordsToSkip -= rowsToSkip;
 
-            // this may leave an exhausted iterator, which is a valid result for this method
+            // this may return an exhausted iterator, which is a valid result for this method
             // and is not interpreted as end-of-input or anything
-            skipRecord(records);
-            return records;
+            return batch.convertAndGetIterator(rowsReturnedBefore, rowsToSkip);
         }
 
         /** Advances to the next batch of rows. Returns false if there are no more. */
@@ -449,12 +451,6 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
             }
         }
 
-        private void skipRecord(RecordIterator<T> records) {
-            while (recordsToSkip > 0 && records.next() != null) {
-                recordsToSkip--;
-            }
-        }
-
         @Override
         public void close() throws IOException {
             if (reader != null) {
@@ -506,5 +502,22 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
          */
         public abstract RecordIterator<T> convertAndGetIterator(long rowsReturned)
                 throws IOException;
+
+        /**
+         * Provides reading iterator after the records are written to the {@link #columnarBatch},
+         * which skips the first rows of the batch.
+         *
+         * @param rowsReturned The number of rows that have been returned before this batch.
+         * @param rowsToSkip The number of rows at the beginning of this batch to skip.
+         */
+        public RecordIterator<T> convertAndGetIterator(long rowsReturned, int rowsToSkip)
+                throws IOException {
+            final RecordIterator<T> records = convertAndGetIterator(rowsReturned);
+            int skipped = 0;
+            while (skipped < rowsToSkip && records.next() != null) {
+                skipped++;
+            }
+            return records;
+        }
     }
 }
@@ -21,6 +21,10 @@ package org.apache.flink.formats.parquet;
 import org.apache.flink.connector.file.src.FileSourceSplit;
 import org.apache.flink.connector.file.src.reader.BulkFormat;
 import org.apache.flink.connector.file.src.util.CheckpointedPosition;
+import org.apache.flink.connector.file.src.util.RecordAndPosition;
+import org.apache.flink.connector.file.table.ColumnarBatchFilter;
+import org.apache.flink.connector.file.table.ColumnarBatchFilters;
+import org.apache.flink.connector.file.table.ColumnarBatchFilters.Comparison;
 import org.apache.flink.connector.file.table.PartitionFieldExtractor;
 import org.apache.flink.core.fs.FileStatus;
 import org.apache.flink.core.fs.Path;
@@ -63,6 +67,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Random;
@@ -257,6 +262,83 @@ public class ParquetColumnarRowInputFormatTest {
                 });
     }
 
+    @Test
+    public void testFilterWithSelectionVectorAndRestore() throws IOException {
+        int number = 1000;
+        List<Row> records = new ArrayList<>(number);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            Integer v = i % 7 == 0 ? null : i;
+            records.add(newRow(v));
+            if (v != null && v >= 200 && v < 800) {
+                expected.add(v);
+            }
+        }
+
+        Path testPath =
+                createTempParquetFile(
+                        TEMPORARY_FOLDER.newFolder(), PARQUET_SCHEMA, records, rowGroupSize);
+
+        RowType rowType =
+                RowType.of(
+                        new LogicalType[] {new IntType(), new BigIntType()},
+                        new String[] {"f4", "f5"});
+        ColumnarBatchFilter filter =
+                ColumnarBatchFilters.and(
+                        Arrays.asList(
+                                ColumnarBatchFilters.isNotNull(0),
+                                ColumnarBatchFilters.compareLong(
+                                        0, Comparison.GREATER_THAN_OR_EQUAL, 200),
+                                ColumnarBatchFilters.compareLong(1, Comparison.LESS_THAN, 800)));
+        ParquetColumnarRowInputFormat<FileSourceSplit> format =
+                ParquetColumnarRowInputFormat.createPartitionedFormat(
+                        new Configuration(),
+                        rowType,
+                        InternalTypeInfo.of(rowType),
+                        Collections.emptyList(),
+                        null,
+                        filter,
+                        500,
+                        false,
+                        true);
+
+        // only the selected rows are returned, with the positions of the rows in the file
+        List<Integer> values = new ArrayList<>();
+        List<Long> positions = new ArrayList<>();
+        readWithPositions(
+                format.createReader(
+                        EMPTY_CONF,
+                        new FileSourceSplit("id", testPath, 0, Long.MAX_VALUE, 0, Long.MAX_VALUE)),
+                values,
+                positions);
+        assertEquals(expected, values);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i) + 1L, (long) positions.get(i));
+        }
+
+        // restoring from the position of a returned row continues with the next selected row
+        for (int restoreIndex : new int[] {0, 1, 99, expected.size() / 2, expected.size() - 1}) {
+            List<Integer> restoredValues = new ArrayList<>();
+            readWithPositions(
+                    format.restoreReader(
+                            EMPTY_CONF,
+                            new FileSourceSplit(
+                                    "id",
+                                    testPath,
+                                    0,
+                                    Long.MAX_VALUE,
+                                    0,
+                                    Long.MAX_VALUE,
+                                    new String[0],
+                                    new CheckpointedPosition(
+                                            CheckpointedPosition.NO_OFFSET,
+                                            positions.get(restoreIndex)))),
+                    restoredValues,
+                    new ArrayList<>());
+            assertEquals(expected.subList(restoreIndex + 1, expected.size()), restoredValues);
+        }
+    }
+
     @Test
     public void testProjectionReadUnknownField() throws IOException {
         int number = 1000;
@@ -503,6 +585,23 @@ public class ParquetColumnarRowInputFormatTest {
         return cnt.get();
     }
 
+    private static void readWithPositions(
+            BulkFormat.Reader<RowData> reader, List<Integer> values, List<Long> positions)
+            throws IOException {
+        BulkFormat.RecordIterator<RowData> batch;
+        while ((batch = reader.readBatch()) != null) {
+            RecordAndPosition<RowData> record;
+            while ((record = batch.next()) != null) {
+                RowData row = record.getRecord();
+                assertEquals(row.getInt(0), row.getLong(1));
+                values.add(row.getInt(0));
+                positions.add(record.getRecordSkipCount());
+            }
+            batch.releaseBatch();
+        }
+        reader.close();
+    }
+
     private Row newRow(Integer v) {
         if (v == null) {
             return new Row(PARQUET_SCHEMA.getFieldCount());
@@ -59,6 +59,8 @@ import org.apache.flink.runtime.jobgraph.IntermediateResultPartitionID;
 import org.apache.flink.runtime.jobgraph.JobVertex;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguration;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStore;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStoreImpl;
 import org.apache.flink.runtime.query.KvStateLocationRegistry;
 import org.apache.flink.runtime.scheduler.InternalFailuresListener;
 import org.apache.flink.runtime.scheduler.VertexParallelismInformation;
@@ -167,6 +169,9 @@ public class DefaultExecutionGraph implements ExecutionGraph, InternalExecutionG
     /** The classloader for the user code. Needed for calls into user code classes. */
     private final ClassLoader userClassLoader;
 
+    /** Information shared between the operator coordinators of this job. */
+    private final CoordinatorStore coordinatorStore = new CoordinatorStoreImpl();
+
     /** Registered KvState instances reported by the TaskManagers. */
     private final KvStateLocationRegistry kvStateLocationRegistry;
 
@@ -565,6 +570,11 @@ public class DefaultExecutionGraph implements ExecutionGraph, InternalExecutionG
         return this.userClassLoader;
     }
 
+    @Override
+    public CoordinatorStore getCoordinatorStore() {
+        return coordinatorStore;
+    }
+
     @Override
     public JobStatus getState() {
         return state;
@@ -27,6 +27,7 @@ import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.failover.flip1.partitionrelease.PartitionGroupReleaseStrategy;
 import org.apache.flink.runtime.io.network.partition.JobMasterPartitionTracker;
 import org.apache.flink.runtime.jobgraph.IntermediateResultPartitionID;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStore;
 import org.apache.flink.runtime.scheduler.strategy.ExecutionVertexID;
 import org.apache.flink.runtime.shuffle.ShuffleMaster;
 import org.apache.flink.types.Either;
@@ -45,6 +46,9 @@ public interface InternalExecutionGraphAccessor {
 
     ClassLoader getUserClassLoader();
 
+    /** Gets the store shared by all the operator coordinators of the job. */
+    CoordinatorStore getCoordinatorStore();
+
     JobID getJobID();
 
     BlobWriter getBlobWriter();
@@ -82,6 +82,12 @@ public class MetricNames {
             "estimatedTimeToConsumeBuffersMs";
     public static final String DEBLOATED_BUFFER_SIZE = "debloatedBufferSize";
 
+    public static final String MAILBOX_LOOP_ITERATIONS = "mailboxLoopIterations";
+    public static final String MAILBOX_LOOP_ITERATIONS_RATE =
+            MAILBOX_LOOP_ITERATIONS + SUFFIX_RATE;
+
+    public static final String NUM_AVOIDED_RECORD_COPIES = "numAvoidedRecordCopies";
+
     // FLIP-33 sink
     public static final String NUM_RECORDS_OUT_ERRORS = "numRecordsOutErrors";
     public static final String CURRENT_SEND_TIME = "currentSendTime";
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.operators.coordination;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/** Basic implementation of {@link CoordinatorStore}, backed by a {@link ConcurrentHashMap}. */
+public class CoordinatorStoreImpl implements CoordinatorStore {
+
+    private final ConcurrentMap<Object, Object> store = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean containsKey(Object key) {
+        return store.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return store.get(key);
+    }
+
+    @Override
+    public Object putIfAbsent(Object key, Object value) {
+        return store.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object computeIfPresent(
+            Object key, BiFunction<Object, Object, Object> remappingFunction) {
+        return store.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(Object key, BiFunction<Object, Object, Object> mappingFunction) {
+        return store.compute(key, mappingFunction);
+    }
+
+    @Override
+    public <R> R apply(Object key, Function<Object, R> consumer) {
+        final Object[] result = new Object[1];
+        store.compute(
+                key,
+                (k, v) -> {
+                    result[0] = consumer.apply(v);
+                    return v;
+                });
+        @SuppressWarnings("unchecked")
+        final R r = (R) result[0];
+        return r;
+    }
+}
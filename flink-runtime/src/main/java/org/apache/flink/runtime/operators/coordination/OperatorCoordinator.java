@@ -254,6 +254,12 @@ public interface OperatorCoordinator extends CheckpointListener, AutoCloseable {
          * JVM's classpath.
          */
         ClassLoader getUserCodeClassloader();
+
+        /**
+         * Gets the {@link CoordinatorStore} instance for sharing information between {@link
+         * OperatorCoordinator}s of the same job.
+         */
+        CoordinatorStore getCoordinatorStore();
     }
 
     // ------------------------------------------------------------------------
@@ -78,6 +78,13 @@ public class BitSet {
         return (current & (1 << (index & BYTE_INDEX_MASK))) != 0;
     }
 
+    /** Returns a copy of the bytes of the bit set. */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[byteLength];
+        memorySegment.get(offset, bytes, 0, byteLength);
+        return bytes;
+    }
+
     /** Number of bits */
     public int bitSize() {
         return bitLength;
@@ -19,6 +19,7 @@
 package org.apache.flink.runtime.operators.util;
 
 import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
 
@@ -43,6 +44,9 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  */
 public class BloomFilter {
 
+    /** The size of the number of hash functions and expected entries of a serialized filter. */
+    private static final int SERIALIZED_HEADER_SIZE = 8;
+
     protected BitSet bitSet;
     protected int expectedEntries;
     protected int numHashFunctions;
@@ -135,6 +139,62 @@ public class BloomFilter {
         this.bitSet.clear();
     }
 
+    /**
+     * Serializes the bloom filter, i.e. the number of hash functions, the expected entries and the
+     * bits, so that it can be sent to other tasks.
+     */
+    public static byte[] toBytes(BloomFilter filter) {
+        final byte[] bits = filter.bitSet.toBytes();
+        final byte[] bytes = new byte[SERIALIZED_HEADER_SIZE + bits.length];
+        final MemorySegment segment = MemorySegmentFactory.wrap(bytes);
+        segment.putInt(0, filter.numHashFunctions);
+        segment.putInt(4, filter.expectedEntries);
+        segment.put(SERIALIZED_HEADER_SIZE, bits, 0, bits.length);
+        return bytes;
+    }
+
+    /** Deserializes a bloom filter serialized by {@link #toBytes(BloomFilter)}. */
+    public static BloomFilter fromBytes(byte[] bytes) {
+        checkArgument(bytes.length > SERIALIZED_HEADER_SIZE, "Invalid serialized bloom filter.");
+        final MemorySegment segment = MemorySegmentFactory.wrap(bytes);
+        final BloomFilter filter =
+                new BloomFilter(segment.getInt(4), bytes.length - SERIALIZED_HEADER_SIZE);
+        filter.numHashFunctions = segment.getInt(0);
+        filter.setBitsLocation(segment, SERIALIZED_HEADER_SIZE);
+        return filter;
+    }
+
+    /**
+     * Merges the second serialized bloom filter into the first one, i.e. the result contains all
+     * the entries of both filters. Both filters must have been created with the same expected
+     * entries and byte size.
+     *
+     * @return the first serialized bloom filter, which contains the merged filter
+     */
+    public static byte[] mergeSerializedBloomFilters(byte[] first, byte[] second) {
+        checkArgument(
+                first.length == second.length,
+                "Cannot merge bloom filters of different sizes: %s and %s bytes.",
+                first.length,
+                second.length);
+        final MemorySegment firstSegment = MemorySegmentFactory.wrap(first);
+        final MemorySegment secondSegment = MemorySegmentFactory.wrap(second);
+        checkArgument(
+                firstSegment.getInt(0) == secondSegment.getInt(0)
+                        && firstSegment.getInt(4) == secondSegment.getInt(4),
+                "Cannot merge bloom filters with different hash functions or expected entries.");
+        int index = SERIALIZED_HEADER_SIZE;
+        while (index + 8 <= first.length) {
+            firstSegment.putLong(index, firstSegment.getLong(index) | secondSegment.getLong(index));
+            index += 8;
+        }
+        while (index < first.length) {
+            first[index] |= second[index];
+            index++;
+        }
+        return first;
+    }
+
     @Override
     public String toString() {
         StringBuilder output = new StringBuilder();
@@ -20,6 +20,7 @@ package org.apache.flink.runtime.source.coordinator;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.connector.source.ReaderInfo;
 import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.connector.source.SourceEvent;
@@ -28,11 +29,15 @@ import org.apache.flink.api.connector.source.SplitEnumerator;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
 import org.apache.flink.core.memory.DataInputViewStreamWrapper;
 import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStore;
 import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
 import org.apache.flink.runtime.source.event.RequestSplitEvent;
 import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.TemporaryClassLoaderContext;
@@ -48,7 +53,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
@@ -71,6 +78,17 @@ import static org.apache.flink.util.Preconditions.checkState;
  * org.apache.flink.api.connector.source.SplitEnumeratorContext SplitEnumeratorContxt} and shares it
  * with the enumerator. When the coordinator receives an action request from the Flink runtime, it
  * sets up the context, and calls corresponding method of the SplitEnumerator to take actions.
+ *
+ * <p>If watermark alignment is enabled, the coordinator collects the watermarks reported by its
+ * subtasks and publishes their minimum under the watermark group in the {@link CoordinatorStore}.
+ * Periodically, it announces the maximal watermark that its subtasks may emit, which is the minimal
+ * watermark of all sources in the group plus the allowed drift.
+ *
+ * <p>If a coordinator listening ID is set, the coordinator registers itself under that ID in the
+ * {@link CoordinatorStore}, so that other coordinators of the job can send it {@link
+ * SourceEventWrapper source events}, e.g. the dynamic filtering data that prunes the splits of the
+ * source. Such events are passed to the enumerator as if they were sent by subtask 0. An event sent
+ * before this coordinator started is kept in the store and handled once it starts.
  */
 @Internal
 public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
@@ -96,16 +114,56 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
     /** A flag marking whether the coordinator has started. */
     private boolean started;
 
+    /** The watermark alignment configuration of the source. */
+    private final WatermarkAlignmentParams watermarkAlignmentParams;
+    /** The last watermarks reported by the subtasks, only accessed in the coordinator thread. */
+    private final Map<Integer, Long> subtaskWatermarks = new HashMap<>();
+
+    /** The ID under which the coordinator listens to events from other coordinators, or null. */
+    @Nullable private final String coordinatorListeningID;
+
     public SourceCoordinator(
             String operatorName,
             ExecutorService coordinatorExecutor,
             Source<?, SplitT, EnumChkT> source,
             SourceCoordinatorContext<SplitT> context) {
+        this(
+                operatorName,
+                coordinatorExecutor,
+                source,
+                context,
+                WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED);
+    }
+
+    public SourceCoordinator(
+            String operatorName,
+            ExecutorService coordinatorExecutor,
+            Source<?, SplitT, EnumChkT> source,
+            SourceCoordinatorContext<SplitT> context,
+            WatermarkAlignmentParams watermarkAlignmentParams) {
+        this(
+                operatorName,
+                coordinatorExecutor,
+                source,
+                context,
+                watermarkAlignmentParams,
+                null);
+    }
+
+    public SourceCoordinator(
+            String operatorName,
+            ExecutorService coordinatorExecutor,
+            Source<?, SplitT, EnumChkT> source,
+            SourceCoordinatorContext<SplitT> context,
+            WatermarkAlignmentParams watermarkAlignmentParams,
+            @Nullable String coordinatorListeningID) {
         this.operatorName = operatorName;
         this.coordinatorExecutor = coordinatorExecutor;
         this.source = source;
         this.enumCheckpointSerializer = source.getEnumeratorCheckpointSerializer();
         this.context = context;
+        this.watermarkAlignmentParams = watermarkAlignmentParams;
+        this.coordinatorListeningID = coordinatorListeningID;
     }
 
     @Override
@@ -139,6 +197,21 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
         // We rely on the single-threaded coordinator executor to guarantee
         // the other methods are invoked after the enumerator has started.
         runInEventLoop(() -> enumerator.start(), "starting the SplitEnumerator.");
+
+        if (coordinatorListeningID != null) {
+            registerAsListener();
+        }
+
+        if (watermarkAlignmentParams.isEnabled()) {
+            LOG.info(
+                    "Starting schedule task for source {} to align watermarks in group {}.",
+                    operatorName,
+                    watermarkAlignmentParams.getWatermarkGroup());
+            context.schedulePeriodTask(
+                    this::announceCombinedWatermark,
+                    watermarkAlignmentParams.getUpdateInterval(),
+                    watermarkAlignmentParams.getUpdateInterval());
+        }
     }
 
     @Override
@@ -146,6 +219,16 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
         LOG.info("Closing SourceCoordinator for source {}.", operatorName);
         try {
             if (started) {
+                if (watermarkAlignmentParams.isEnabled()) {
+                    removeOperatorWatermark();
+                }
+                if (coordinatorListeningID != null) {
+                    context.getCoordinatorContext()
+                            .getCoordinatorStore()
+                            .computeIfPresent(
+                                    coordinatorListeningID,
+                                    (key, oldValue) -> oldValue == this ? null : oldValue);
+                }
                 context.close();
                 if (enumerator != null) {
                     enumerator.close();
@@ -189,6 +272,9 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
                                 subtask,
                                 registrationEvent.location());
                         handleReaderRegistrationEvent(registrationEvent);
+                    } else if (event instanceof ReportedWatermarkEvent) {
+                        handleReportedWatermark(
+                                subtask, ((ReportedWatermarkEvent) event).getWatermark());
                     } else {
                         throw new FlinkException("Unrecognized Operator Event: " + event);
                     }
@@ -208,6 +294,7 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
                             operatorName);
                     context.unregisterSourceReader(subtaskId);
                     context.subtaskNotReady(subtaskId);
+                    subtaskWatermarks.remove(subtaskId);
                 },
                 "handling subtask %d failure",
                 subtaskId);
@@ -360,6 +447,116 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT>
                 });
     }
 
+    // --------------------- Watermark alignment -----------------------
+
+    private void handleReportedWatermark(int subtask, long watermark) {
+        LOG.debug("New reported watermark={} from subtask={}", watermark, subtask);
+        subtaskWatermarks.put(subtask, watermark);
+    }
+
+    @VisibleForTesting
+    void announceCombinedWatermark() {
+        checkState(watermarkAlignmentParams.isEnabled());
+
+        final long maxAllowedWatermark = computeMaxAllowedWatermark();
+        final WatermarkAlignmentEvent event = new WatermarkAlignmentEvent(maxAllowedWatermark);
+        LOG.debug(
+                "Distributing maxAllowedWatermark={} of group={} to subtasks of source {}",
+                maxAllowedWatermark,
+                watermarkAlignmentParams.getWatermarkGroup(),
+                operatorName);
+        for (Integer subtask : context.registeredReaders().keySet()) {
+            context.sendEventToSourceOperatorIfReady(subtask, event);
+        }
+    }
+
+    /**
+     * Publishes the minimal watermark of the subtasks of this source to the watermark group and
+     * returns the minimal watermark of the whole group plus the maximal allowed drift. Sources that
+     * did not report a watermark yet do not hold back the group, idle subtasks report {@link
+     * Long#MAX_VALUE}.
+     */
+    @SuppressWarnings("unchecked")
+    private long computeMaxAllowedWatermark() {
+        final CoordinatorStore store = context.getCoordinatorContext().getCoordinatorStore();
+        final OperatorID operatorId = context.getCoordinatorContext().getOperatorId();
+        final long operatorWatermark =
+                subtaskWatermarks.values().stream()
+                        .mapToLong(Long::longValue)
+                        .min()
+                        .orElse(Long.MAX_VALUE);
+
+        final String group = watermarkAlignmentParams.getWatermarkGroup();
+        store.compute(
+                group,
+                (key, oldValue) -> {
+                    final Map<OperatorID, Long> watermarks =
+                            oldValue == null ? new HashMap<>() : (Map<OperatorID, Long>) oldValue;
+                    if (subtaskWatermarks.isEmpty()) {
+                        watermarks.remove(operatorId);
+                    } else {
+                        watermarks.put(operatorId, operatorWatermark);
+                    }
+                    return watermarks;
+                });
+        final long groupWatermark =
+                store.apply(
+                        group,
+                        value ->
+                                value == null
+                                        ? Long.MAX_VALUE
+                                        : ((Map<OperatorID, Long>) value)
+                                                .values().stream()
+                                                        .mapToLong(Long::longValue)
+                                                        .min()
+                                                        .orElse(Long.MAX_VALUE));
+
+        final long maxAllowedWatermark =
+                groupWatermark + watermarkAlignmentParams.getMaxAllowedWatermarkDrift();
+        // saturate on overflow, e.g. if all the sources in the group are idle
+        return maxAllowedWatermark < groupWatermark ? Long.MAX_VALUE : maxAllowedWatermark;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeOperatorWatermark() {
+        final CoordinatorStore store = context.getCoordinatorContext().getCoordinatorStore();
+        final OperatorID operatorId = context.getCoordinatorContext().getOperatorId();
+        store.computeIfPresent(
+                watermarkAlignmentParams.getWatermarkGroup(),
+                (key, oldValue) -> {
+                    final Map<OperatorID, Long> watermarks = (Map<OperatorID, Long>) oldValue;
+                    watermarks.remove(operatorId);
+                    return watermarks.isEmpty() ? null : watermarks;
+                });
+    }
+
+    // --------------------- Events from other coordinators -----------------------
+
+    private void registerAsListener() {
+        context.getCoordinatorContext()
+                .getCoordinatorStore()
+                .compute(
+                        coordinatorListeningID,
+                        (key, oldValue) -> {
+                            // the value is either the listening coordinator of a previous attempt
+                            // or an event that was sent before this coordinator started
+                            if (oldValue instanceof OperatorEvent) {
+                                LOG.info(
+                                        "Source {} handling event {} that was sent before it started.",
+                                        operatorName,
+                                        oldValue);
+                                handleEventFromOperator(0, (OperatorEvent) oldValue);
+                            } else {
+                                checkState(
+                                        oldValue == null || oldValue instanceof OperatorCoordinator,
+                                        "Unexpected value %s for coordinator listening ID %s.",
+                                        oldValue,
+                                        key);
+                            }
+                            return this;
+                        });
+    }
+
     // ---------------------------------------------------
     @VisibleForTesting
     SplitEnumerator<SplitT, EnumChkT> getEnumerator() {
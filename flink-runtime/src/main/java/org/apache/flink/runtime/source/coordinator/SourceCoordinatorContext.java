@@ -253,6 +253,27 @@ public class SourceCoordinatorContext<SplitT extends SourceSplit>
 
     // --------- Package private additional methods for the SourceCoordinator ------------
 
+    /**
+     * Periodically runs the given command in the coordinator thread, starting after the given
+     * initial delay.
+     */
+    void schedulePeriodTask(Runnable command, long initialDelay, long period) {
+        notifier.notifyReadyAsync(() -> null, (ignored, t) -> command.run(), initialDelay, period);
+    }
+
+    /**
+     * Sends the given event to the given subtask, if that subtask is ready to receive events.
+     * Returns false if the event was not sent.
+     */
+    boolean sendEventToSourceOperatorIfReady(int subtaskIndex, OperatorEvent event) {
+        final OperatorCoordinator.SubtaskGateway gateway = subtaskGateways[subtaskIndex];
+        if (gateway == null) {
+            return false;
+        }
+        gateway.sendEvent(event);
+        return true;
+    }
+
     void subtaskReady(OperatorCoordinator.SubtaskGateway gateway) {
         final int subtask = gateway.getSubtask();
         if (subtaskGateways[subtask] == null) {
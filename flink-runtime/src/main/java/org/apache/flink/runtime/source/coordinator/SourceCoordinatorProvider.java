@@ -19,6 +19,7 @@ limitations under the License.
 package org.apache.flink.runtime.source.coordinator;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.connector.source.SourceSplit;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
@@ -42,6 +43,8 @@ public class SourceCoordinatorProvider<SplitT extends SourceSplit>
     private final String operatorName;
     private final Source<?, SplitT, ?> source;
     private final int numWorkerThreads;
+    private final WatermarkAlignmentParams alignmentParams;
+    @Nullable private final String coordinatorListeningID;
 
     /**
      * Construct the {@link SourceCoordinatorProvider}.
@@ -59,10 +62,60 @@ public class SourceCoordinatorProvider<SplitT extends SourceSplit>
             OperatorID operatorID,
             Source<?, SplitT, ?> source,
             int numWorkerThreads) {
+        this(
+                operatorName,
+                operatorID,
+                source,
+                numWorkerThreads,
+                WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED);
+    }
+
+    /**
+     * Construct the {@link SourceCoordinatorProvider} for a source with watermark alignment.
+     *
+     * @param operatorName the name of the operator.
+     * @param operatorID the ID of the operator this coordinator corresponds to.
+     * @param source the Source that will be used for this coordinator.
+     * @param numWorkerThreads the number of threads the should provide to the SplitEnumerator for
+     *     doing async calls.
+     * @param alignmentParams the watermark alignment configuration of the source.
+     */
+    public SourceCoordinatorProvider(
+            String operatorName,
+            OperatorID operatorID,
+            Source<?, SplitT, ?> source,
+            int numWorkerThreads,
+            WatermarkAlignmentParams alignmentParams) {
+        this(operatorName, operatorID, source, numWorkerThreads, alignmentParams, null);
+    }
+
+    /**
+     * Construct the {@link SourceCoordinatorProvider}.
+     *
+     * @param operatorName the name of the operator.
+     * @param operatorID the ID of the operator this coordinator corresponds to.
+     * @param source the Source that will be used for this coordinator.
+     * @param numWorkerThreads the number of threads the should provide to the SplitEnumerator for
+     *     doing async calls.
+     * @param alignmentParams the watermark alignment configuration of the source.
+     * @param coordinatorListeningID the ID under which the coordinator listens to events sent by
+     *     other coordinators through the {@link
+     *     org.apache.flink.runtime.operators.coordination.CoordinatorStore}, or null if it does
+     *     not listen to such events.
+     */
+    public SourceCoordinatorProvider(
+            String operatorName,
+            OperatorID operatorID,
+            Source<?, SplitT, ?> source,
+            int numWorkerThreads,
+            WatermarkAlignmentParams alignmentParams,
+            @Nullable String coordinatorListeningID) {
         super(operatorID);
         this.operatorName = operatorName;
         this.source = source;
         this.numWorkerThreads = numWorkerThreads;
+        this.alignmentParams = alignmentParams;
+        this.coordinatorListeningID = coordinatorListeningID;
     }
 
     @Override
@@ -83,7 +136,12 @@ public class SourceCoordinatorProvider<SplitT extends SourceSplit>
                         context,
                         splitSerializer);
         return new SourceCoordinator<>(
-                operatorName, coordinatorExecutor, source, sourceCoordinatorContext);
+                operatorName,
+                coordinatorExecutor,
+                source,
+                sourceCoordinatorContext,
+                alignmentParams,
+                coordinatorListeningID);
     }
 
     /** A thread factory class that provides some helper methods. */
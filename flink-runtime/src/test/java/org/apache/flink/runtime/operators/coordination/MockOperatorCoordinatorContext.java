@@ -26,6 +26,7 @@ public class MockOperatorCoordinatorContext implements OperatorCoordinator.Conte
     private final OperatorID operatorID;
     private final ClassLoader userCodeClassLoader;
     private final int numSubtasks;
+    private final CoordinatorStore coordinatorStore;
 
     private boolean jobFailed;
     private Throwable jobFailureReason;
@@ -40,11 +41,20 @@ public class MockOperatorCoordinatorContext implements OperatorCoordinator.Conte
 
     public MockOperatorCoordinatorContext(
             OperatorID operatorID, int numSubtasks, ClassLoader userCodeClassLoader) {
+        this(operatorID, numSubtasks, userCodeClassLoader, new CoordinatorStoreImpl());
+    }
+
+    public MockOperatorCoordinatorContext(
+            OperatorID operatorID,
+            int numSubtasks,
+            ClassLoader userCodeClassLoader,
+            CoordinatorStore coordinatorStore) {
         this.operatorID = operatorID;
         this.numSubtasks = numSubtasks;
         this.jobFailed = false;
         this.jobFailureReason = null;
         this.userCodeClassLoader = userCodeClassLoader;
+        this.coordinatorStore = coordinatorStore;
     }
 
     @Override
@@ -68,6 +78,11 @@ public class MockOperatorCoordinatorContext implements OperatorCoordinator.Conte
         return userCodeClassLoader;
     }
 
+    @Override
+    public CoordinatorStore getCoordinatorStore() {
+        return coordinatorStore;
+    }
+
     // -------------------------------
 
     public boolean isJobFailed() {
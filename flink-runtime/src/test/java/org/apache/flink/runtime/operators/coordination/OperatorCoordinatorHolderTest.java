@@ -510,7 +510,8 @@ public class OperatorCoordinatorHolderTest extends TestLogger {
                         getClass().getClassLoader(),
                         3,
                         1775,
-                        eventTarget);
+                        eventTarget,
+                        new CoordinatorStoreImpl());
 
         holder.lazyInitialize(globalFailureHandler, mainThreadExecutor);
         holder.start();
@@ -168,4 +168,37 @@ public class BloomFilterTest {
         assertTrue(bloomFilter.testHash(val4));
         assertTrue(bloomFilter.testHash(val5));
     }
+
+    @Test
+    public void testSerializeAndMergeBloomFilters() {
+        final int byteSize = 128;
+        final BloomFilter first = new BloomFilter(INPUT_SIZE, byteSize);
+        first.setBitsLocation(MemorySegmentFactory.allocateUnpooledSegment(byteSize), 0);
+        final BloomFilter second = new BloomFilter(INPUT_SIZE, byteSize);
+        second.setBitsLocation(MemorySegmentFactory.allocateUnpooledSegment(byteSize), 0);
+        first.addHash("val1".hashCode());
+        second.addHash("val2".hashCode());
+
+        final BloomFilter deserialized = BloomFilter.fromBytes(BloomFilter.toBytes(first));
+        assertTrue(deserialized.testHash("val1".hashCode()));
+        assertFalse(deserialized.testHash("val2".hashCode()));
+
+        final BloomFilter merged =
+                BloomFilter.fromBytes(
+                        BloomFilter.mergeSerializedBloomFilters(
+                                BloomFilter.toBytes(first), BloomFilter.toBytes(second)));
+        assertTrue(merged.testHash("val1".hashCode()));
+        assertTrue(merged.testHash("val2".hashCode()));
+        assertFalse(merged.testHash("val3".hashCode()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeBloomFiltersOfDifferentSizes() {
+        final BloomFilter first = new BloomFilter(INPUT_SIZE, 128);
+        first.setBitsLocation(MemorySegmentFactory.allocateUnpooledSegment(128), 0);
+        final BloomFilter second = new BloomFilter(INPUT_SIZE, 256);
+        second.setBitsLocation(MemorySegmentFactory.allocateUnpooledSegment(256), 0);
+        BloomFilter.mergeSerializedBloomFilters(
+                BloomFilter.toBytes(first), BloomFilter.toBytes(second));
+    }
 }
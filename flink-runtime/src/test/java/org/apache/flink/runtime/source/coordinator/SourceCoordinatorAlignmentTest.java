@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.mocks.MockSourceSplit;
+import org.apache.flink.api.connector.source.mocks.MockSourceSplitSerializer;
+import org.apache.flink.api.connector.source.mocks.MockSplitEnumeratorCheckpointSerializer;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for the watermark alignment of the {@link SourceCoordinator}. */
+public class SourceCoordinatorAlignmentTest extends SourceCoordinatorTestBase {
+
+    private static final String WATERMARK_GROUP = "group1";
+    private static final long MAX_DRIFT = 1000L;
+
+    @Test
+    public void testAnnounceMinimalWatermarkOfSubtasks() throws Exception {
+        sourceReady();
+        for (int i = 0; i < NUM_SUBTASKS; i++) {
+            registerReader(i);
+        }
+
+        reportWatermark(0, 42L);
+        reportWatermark(1, 13L);
+        // an idle subtask does not hold back the others
+        reportWatermark(2, Long.MAX_VALUE);
+        announceCombinedWatermark();
+
+        assertLastAlignmentEvent(13L + MAX_DRIFT);
+    }
+
+    @Test
+    public void testAnnounceMinimalWatermarkOfGroup() throws Exception {
+        sourceReady();
+        for (int i = 0; i < NUM_SUBTASKS; i++) {
+            registerReader(i);
+        }
+
+        // another source of the same group is further behind
+        operatorCoordinatorContext
+                .getCoordinatorStore()
+                .putIfAbsent(WATERMARK_GROUP, otherSourceWatermark(5L));
+
+        reportWatermark(0, 42L);
+        reportWatermark(1, 13L);
+        reportWatermark(2, 20L);
+        announceCombinedWatermark();
+
+        assertLastAlignmentEvent(5L + MAX_DRIFT);
+    }
+
+    @Test
+    public void testAllSubtasksIdle() throws Exception {
+        sourceReady();
+        for (int i = 0; i < NUM_SUBTASKS; i++) {
+            registerReader(i);
+            reportWatermark(i, Long.MAX_VALUE);
+        }
+        announceCombinedWatermark();
+
+        assertLastAlignmentEvent(Long.MAX_VALUE);
+    }
+
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected SourceCoordinator<MockSourceSplit, Set<MockSourceSplit>> getNewSourceCoordinator() {
+        final Source<Integer, MockSourceSplit, Set<MockSourceSplit>> mockSource =
+                TestingSplitEnumerator.factorySource(
+                        new MockSourceSplitSerializer(),
+                        new MockSplitEnumeratorCheckpointSerializer());
+
+        // use a long update interval, the tests trigger the announcement explicitly
+        return new SourceCoordinator<>(
+                OPERATOR_NAME,
+                coordinatorExecutor,
+                mockSource,
+                getNewSourceCoordinatorContext(),
+                new WatermarkAlignmentParams(MAX_DRIFT, WATERMARK_GROUP, Long.MAX_VALUE / 2));
+    }
+
+    private void reportWatermark(int subtask, long watermark) {
+        sourceCoordinator.handleEventFromOperator(subtask, new ReportedWatermarkEvent(watermark));
+    }
+
+    private void announceCombinedWatermark() {
+        context.runInCoordinatorThread(sourceCoordinator::announceCombinedWatermark);
+        waitForCoordinatorToProcessActions();
+    }
+
+    private void assertLastAlignmentEvent(long expectedMaxWatermark) {
+        for (int i = 0; i < NUM_SUBTASKS; i++) {
+            final List<OperatorEvent> events = receivingTasks.getSentEventsForSubtask(i);
+            assertEquals(
+                    new WatermarkAlignmentEvent(expectedMaxWatermark),
+                    events.get(events.size() - 1));
+        }
+    }
+
+    private static Map<OperatorID, Long> otherSourceWatermark(long watermark) {
+        final Map<OperatorID, Long> watermarks = new HashMap<>();
+        watermarks.put(new OperatorID(), watermark);
+        return watermarks;
+    }
+}
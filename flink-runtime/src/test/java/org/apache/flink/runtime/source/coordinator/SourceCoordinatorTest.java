@@ -18,6 +18,7 @@
 
 package org.apache.flink.runtime.source.coordinator;
 
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.connector.source.Boundedness;
 import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.connector.source.SourceEvent;
@@ -33,6 +34,7 @@ import org.apache.flink.api.connector.source.mocks.MockSplitEnumeratorContext;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
 import org.apache.flink.core.memory.DataOutputSerializer;
 import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStore;
 import org.apache.flink.runtime.operators.coordination.MockOperatorCoordinatorContext;
 import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.source.event.SourceEventWrapper;
@@ -58,6 +60,7 @@ import static org.apache.flink.runtime.source.coordinator.CoordinatorTestUtils.v
 import static org.apache.flink.runtime.source.coordinator.CoordinatorTestUtils.verifyException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -66,6 +69,8 @@ import static org.junit.Assert.fail;
 @SuppressWarnings("serial")
 public class SourceCoordinatorTest extends SourceCoordinatorTestBase {
 
+    private static final String LISTENING_ID = "testListeningId";
+
     @Test
     public void testThrowExceptionWhenNotStarted() {
         // The following methods should only be invoked after the source coordinator has started.
@@ -125,6 +130,51 @@ public class SourceCoordinatorTest extends SourceCoordinatorTestBase {
         assertEquals(sourceEvent, getEnumerator().getHandledSourceEvent().get(0));
     }
 
+    @Test
+    public void testHandleSourceEventFromOtherCoordinator() throws Exception {
+        final SourceCoordinator<MockSourceSplit, Set<MockSourceSplit>> coordinator =
+                getNewListeningSourceCoordinator();
+        coordinator.start();
+        setAllReaderTasksReady(coordinator);
+
+        // another coordinator finds the listening coordinator in the store
+        final CoordinatorStore store = operatorCoordinatorContext.getCoordinatorStore();
+        assertSame(coordinator, store.get(LISTENING_ID));
+        final SourceEvent sourceEvent = new SourceEvent() {};
+        ((OperatorCoordinator) store.get(LISTENING_ID))
+                .handleEventFromOperator(0, new SourceEventWrapper(sourceEvent));
+        waitForCoordinatorToProcessActions();
+
+        assertEquals(
+                Collections.singletonList(sourceEvent),
+                ((TestingSplitEnumerator<MockSourceSplit>) coordinator.getEnumerator())
+                        .getHandledSourceEvent());
+
+        coordinator.close();
+        assertNull(store.get(LISTENING_ID));
+    }
+
+    @Test
+    public void testHandleSourceEventSentBeforeStart() throws Exception {
+        final SourceCoordinator<MockSourceSplit, Set<MockSourceSplit>> coordinator =
+                getNewListeningSourceCoordinator();
+
+        // the event is kept in the store until the listening coordinator starts
+        final CoordinatorStore store = operatorCoordinatorContext.getCoordinatorStore();
+        final SourceEvent sourceEvent = new SourceEvent() {};
+        store.putIfAbsent(LISTENING_ID, new SourceEventWrapper(sourceEvent));
+
+        coordinator.start();
+        waitForCoordinatorToProcessActions();
+
+        assertSame(coordinator, store.get(LISTENING_ID));
+        assertEquals(
+                Collections.singletonList(sourceEvent),
+                ((TestingSplitEnumerator<MockSourceSplit>) coordinator.getEnumerator())
+                        .getHandledSourceEvent());
+        coordinator.close();
+    }
+
     @Test
     public void testCheckpointCoordinatorAndRestore() throws Exception {
         sourceReady();
@@ -410,6 +460,21 @@ public class SourceCoordinatorTest extends SourceCoordinatorTestBase {
         }
     }
 
+    private SourceCoordinator<MockSourceSplit, Set<MockSourceSplit>>
+            getNewListeningSourceCoordinator() {
+        final Source<Integer, MockSourceSplit, Set<MockSourceSplit>> mockSource =
+                TestingSplitEnumerator.factorySource(
+                        new MockSourceSplitSerializer(),
+                        new MockSplitEnumeratorCheckpointSerializer());
+        return new SourceCoordinator<>(
+                OPERATOR_NAME,
+                coordinatorExecutor,
+                mockSource,
+                getNewSourceCoordinatorContext(),
+                WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED,
+                LISTENING_ID);
+    }
+
     private static byte[] createEmptyCheckpoint() throws Exception {
         return SourceCoordinator.writeCheckpointBytes(
                 Collections.emptySet(), new MockSplitEnumeratorCheckpointSerializer());
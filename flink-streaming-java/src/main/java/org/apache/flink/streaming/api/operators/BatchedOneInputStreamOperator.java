@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
+
+/**
+ * A {@link OneInputStreamOperator} that can additionally process a whole {@link StreamRecordBatch}
+ * at once. The runtime hands batches to such operators whenever several records are available
+ * without any other stream element (watermark, latency marker, ...) in between, and falls back to
+ * {@link #processElement} otherwise or for operators that do not implement this interface.
+ *
+ * <p>Processing a batch must be equivalent to processing its records one after the other. In
+ * contrast to {@link #processElement}, the caller does not set the key context, so implementations
+ * must call {@link #setKeyContextElement} for every record if they access keyed state. The batch
+ * may be modified in place and forwarded to the output with {@link
+ * BatchedOutput#collectBatch(Output, StreamRecordBatch)}, but must not be retained after the call
+ * returns. User functions may return the same mutable object for every call, so operators that
+ * produce new values must emit each result before invoking the function for the next record.
+ *
+ * @param <IN> The input type of the operator
+ * @param <OUT> The output type of the operator
+ */
+@Internal
+public interface BatchedOneInputStreamOperator<IN, OUT> extends OneInputStreamOperator<IN, OUT> {
+
+    /** Processes all records of the given batch. */
+    void processElements(StreamRecordBatch<IN> batch) throws Exception;
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
+
+/**
+ * An {@link Output} that can pass a whole {@link StreamRecordBatch} on at once, e.g. to a chained
+ * {@link BatchedOneInputStreamOperator}.
+ *
+ * @param <T> The type encapsulated with the stream records.
+ */
+@Internal
+public interface BatchedOutput<T> extends Output<StreamRecord<T>> {
+
+    /**
+     * Emits all records of the given batch. The content of the batch is undefined after this
+     * method returns.
+     */
+    void collectBatch(StreamRecordBatch<T> batch);
+
+    /**
+     * Emits all records of the given batch to the given output, at once if the output supports it
+     * and record by record otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void collectBatch(Output<StreamRecord<T>> output, StreamRecordBatch<T> batch) {
+        if (output instanceof BatchedOutput) {
+            ((BatchedOutput<T>) output).collectBatch(batch);
+        } else {
+            for (int i = 0; i < batch.size(); i++) {
+                output.collect(batch.get(i));
+            }
+        }
+    }
+}
@@ -22,11 +22,12 @@ import org.apache.flink.metrics.Counter;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.util.OutputTag;
 
 /** Wrapping {@link Output} that updates metrics on the number of emitted elements. */
-public class CountingOutput<OUT> implements Output<StreamRecord<OUT>> {
+public class CountingOutput<OUT> implements BatchedOutput<OUT> {
     private final Output<StreamRecord<OUT>> output;
     private final Counter numRecordsOut;
 
@@ -62,6 +63,12 @@ public class CountingOutput<OUT> implements Output<StreamRecord<OUT>> {
         output.collect(outputTag, record);
     }
 
+    @Override
+    public void collectBatch(StreamRecordBatch<OUT> batch) {
+        numRecordsOut.inc(batch.size());
+        BatchedOutput.collectBatch(output, batch);
+    }
+
     @Override
     public void close() {
         output.close();
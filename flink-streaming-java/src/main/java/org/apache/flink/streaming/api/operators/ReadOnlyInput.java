@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.ExecutionConfig;
+
+/**
+ * Declares that an operator (or the user function of {@link StreamMap}, {@link StreamFilter} and
+ * {@link StreamFlatMap}) neither modifies the input records it receives nor keeps references to
+ * them after the processing call returns.
+ *
+ * <p>If object reuse is disabled (see {@link ExecutionConfig#enableObjectReuse()}), records are
+ * deep-copied before being handed to a chained operator, to protect the operators of a chain from
+ * each other. This copy is skipped for operators whose input is read-only.
+ *
+ * <p><b>Important:</b> Declaring a read-only input for an operator or function that does modify or
+ * retain its input records leads to subtle data corruption.
+ */
+@PublicEvolving
+public interface ReadOnlyInput {
+
+    /** Returns whether the input records are treated as read-only. */
+    default boolean isInputReadOnly() {
+        return true;
+    }
+}
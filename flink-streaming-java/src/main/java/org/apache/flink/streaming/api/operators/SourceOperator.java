@@ -19,6 +19,7 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
@@ -42,12 +43,15 @@ import org.apache.flink.runtime.operators.coordination.OperatorEventHandler;
 import org.apache.flink.runtime.source.event.AddSplitEvent;
 import org.apache.flink.runtime.source.event.NoMoreSplitsEvent;
 import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
 import org.apache.flink.runtime.source.event.RequestSplitEvent;
 import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.operators.source.TimestampsAndWatermarks;
+import org.apache.flink.streaming.api.operators.source.TimestampsAndWatermarks.WatermarkUpdateListener;
 import org.apache.flink.streaming.api.operators.util.SimpleVersionedListState;
 import org.apache.flink.streaming.runtime.io.DataInputStatus;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput;
@@ -62,8 +66,16 @@ import org.apache.flink.util.function.FunctionWithException;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -76,11 +88,16 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * java.io.Serializable} interface from the StreamOperator, but is in fact NOT serializable. The
  * operator must only be instantiates in the StreamTask from its factory.
  *
+ * <p>If watermark alignment is configured in the {@link WatermarkStrategy}, the operator
+ * periodically reports its current watermark to the coordinator and stops reading, once its
+ * watermark is ahead of the maximal watermark announced by the coordinator. If the {@link
+ * SourceReader} supports it, the individual splits that are too far ahead are paused as well.
+ *
  * @param <OUT> The output type of the operator.
  */
 @Internal
 public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStreamOperator<OUT>
-        implements OperatorEventHandler, PushingAsyncDataInput<OUT> {
+        implements OperatorEventHandler, PushingAsyncDataInput<OUT>, WatermarkUpdateListener {
     private static final long serialVersionUID = 1405537676017904695L;
 
     // Package private for unit test.
@@ -146,6 +163,7 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
 
     private enum OperatingMode {
         READING,
+        WAITING_FOR_ALIGNMENT,
         OUTPUT_NOT_INITIALIZED,
         SOURCE_DRAINED,
         SOURCE_STOPPED,
@@ -156,6 +174,29 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
 
     private @Nullable LatencyMarkerEmitter<OUT> latencyMarerEmitter;
 
+    // ---- watermark alignment ----
+
+    private final WatermarkAlignmentParams alignmentParams;
+
+    private @Nullable ScheduledFuture<?> reportWatermarkHandle;
+
+    /** Completed once this operator may continue reading after waiting for alignment. */
+    private CompletableFuture<Void> waitingForAlignmentFuture =
+            CompletableFuture.completedFuture(null);
+
+    private long latestWatermark = Long.MIN_VALUE;
+
+    private boolean idle;
+
+    private long currentMaxDesiredWatermark = Long.MAX_VALUE;
+
+    private final Map<String, Long> splitCurrentWatermarks = new HashMap<>();
+
+    private final Set<String> currentlyPausedSplits = new HashSet<>();
+
+    /** Becomes false once the reader turned out to not support pausing individual splits. */
+    private boolean splitAlignmentSupported = true;
+
     public SourceOperator(
             FunctionWithException<SourceReaderContext, SourceReader<OUT, SplitT>, Exception>
                     readerFactory,
@@ -176,6 +217,7 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
         this.localHostname = checkNotNull(localHostname);
         this.emitProgressiveWatermarks = emitProgressiveWatermarks;
         this.operatingMode = OperatingMode.OUTPUT_NOT_INITIALIZED;
+        this.alignmentParams = watermarkStrategy.getAlignmentParameters();
     }
 
     @Override
@@ -303,6 +345,15 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
         sourceReader.start();
 
         eventTimeLogic.startPeriodicWatermarkEmits();
+
+        if (emitProgressiveWatermarks && alignmentParams.isEnabled()) {
+            reportWatermarkHandle =
+                    getProcessingTimeService()
+                            .scheduleWithFixedDelay(
+                                    this::emitLatestWatermark,
+                                    0,
+                                    alignmentParams.getUpdateInterval());
+        }
     }
 
     @Override
@@ -320,12 +371,17 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
         if (latencyMarerEmitter != null) {
             latencyMarerEmitter.close();
         }
+        if (reportWatermarkHandle != null) {
+            reportWatermarkHandle.cancel(false);
+            reportWatermarkHandle = null;
+        }
     }
 
     public CompletableFuture<Void> stop(StopMode mode) {
         switch (operatingMode) {
             case OUTPUT_NOT_INITIALIZED:
             case READING:
+            case WAITING_FOR_ALIGNMENT:
                 this.operatingMode =
                         mode == StopMode.DRAIN
                                 ? OperatingMode.SOURCE_DRAINED
@@ -369,11 +425,18 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
     private DataInputStatus emitNextNotReading(DataOutput<OUT> output) throws Exception {
         switch (operatingMode) {
             case OUTPUT_NOT_INITIALIZED:
-                currentMainOutput = eventTimeLogic.createMainOutput(output);
+                currentMainOutput =
+                        eventTimeLogic.createMainOutput(
+                                output,
+                                alignmentParams.isEnabled()
+                                        ? this
+                                        : WatermarkUpdateListener.NO_OP);
                 initializeLatencyMarkerEmitter(output);
                 lastInvokedOutput = output;
                 this.operatingMode = OperatingMode.READING;
                 return convertToInternalStatus(sourceReader.pollNext(currentMainOutput));
+            case WAITING_FOR_ALIGNMENT:
+                return DataInputStatus.NOTHING_AVAILABLE;
             case SOURCE_STOPPED:
                 this.operatingMode = OperatingMode.DATA_FINISHED;
                 sourceMetricGroup.idlingStarted();
@@ -440,6 +503,8 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
             case OUTPUT_NOT_INITIALIZED:
             case READING:
                 return availabilityHelper.update(sourceReader.isAvailable());
+            case WAITING_FOR_ALIGNMENT:
+                return availabilityHelper.update(waitingForAlignmentFuture);
             case SOURCE_STOPPED:
             case SOURCE_DRAINED:
             case DATA_FINISHED:
@@ -481,6 +546,10 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
             sourceReader.handleSourceEvents(((SourceEventWrapper) event).getSourceEvent());
         } else if (event instanceof NoMoreSplitsEvent) {
             sourceReader.notifyNoMoreSplits();
+        } else if (event instanceof WatermarkAlignmentEvent) {
+            updateMaxDesiredWatermark((WatermarkAlignmentEvent) event);
+            checkWatermarkAlignment();
+            checkSplitWatermarkAlignment();
         } else {
             throw new IllegalStateException("Received unexpected operator event " + event);
         }
@@ -492,6 +561,107 @@ public class SourceOperator<OUT, SplitT extends SourceSplit> extends AbstractStr
                         getRuntimeContext().getIndexOfThisSubtask(), localHostname));
     }
 
+    // --------------- watermark alignment ------------
+
+    @Override
+    public void updateIdle(boolean isIdle) {
+        this.idle = isIdle;
+        checkWatermarkAlignment();
+    }
+
+    @Override
+    public void updateCurrentEffectiveWatermark(long watermark) {
+        latestWatermark = watermark;
+        checkWatermarkAlignment();
+    }
+
+    @Override
+    public void updateCurrentSplitWatermark(String splitId, long watermark) {
+        splitCurrentWatermarks.put(splitId, watermark);
+        if (watermark > currentMaxDesiredWatermark && !currentlyPausedSplits.contains(splitId)) {
+            pauseOrResumeSplits(Collections.singletonList(splitId), Collections.emptyList());
+        }
+    }
+
+    @Override
+    public void splitReleased(String splitId) {
+        splitCurrentWatermarks.remove(splitId);
+        currentlyPausedSplits.remove(splitId);
+    }
+
+    private void emitLatestWatermark(long time) {
+        if (operatingMode == OperatingMode.OUTPUT_NOT_INITIALIZED
+                || (latestWatermark == Long.MIN_VALUE && !idle)) {
+            // nothing to report yet, do not hold back the other sources of the group
+            return;
+        }
+        operatorEventGateway.sendEventToCoordinator(
+                new ReportedWatermarkEvent(idle ? Long.MAX_VALUE : latestWatermark));
+    }
+
+    private void updateMaxDesiredWatermark(WatermarkAlignmentEvent event) {
+        currentMaxDesiredWatermark = event.getMaxWatermark();
+    }
+
+    /**
+     * Switches between {@link OperatingMode#READING} and {@link
+     * OperatingMode#WAITING_FOR_ALIGNMENT}, depending on whether the current watermark is ahead of
+     * the maximal desired watermark.
+     */
+    private void checkWatermarkAlignment() {
+        if (operatingMode == OperatingMode.READING) {
+            if (shouldWaitForAlignment()) {
+                operatingMode = OperatingMode.WAITING_FOR_ALIGNMENT;
+                waitingForAlignmentFuture = new CompletableFuture<>();
+                sourceMetricGroup.idlingStarted();
+            }
+        } else if (operatingMode == OperatingMode.WAITING_FOR_ALIGNMENT) {
+            if (!shouldWaitForAlignment()) {
+                operatingMode = OperatingMode.READING;
+                waitingForAlignmentFuture.complete(null);
+            }
+        }
+    }
+
+    private boolean shouldWaitForAlignment() {
+        return !idle && latestWatermark > currentMaxDesiredWatermark;
+    }
+
+    private void checkSplitWatermarkAlignment() {
+        final Collection<String> splitsToPause = new ArrayList<>();
+        final Collection<String> splitsToResume = new ArrayList<>();
+        splitCurrentWatermarks.forEach(
+                (splitId, splitWatermark) -> {
+                    if (splitWatermark > currentMaxDesiredWatermark) {
+                        if (!currentlyPausedSplits.contains(splitId)) {
+                            splitsToPause.add(splitId);
+                        }
+                    } else if (currentlyPausedSplits.contains(splitId)) {
+                        splitsToResume.add(splitId);
+                    }
+                });
+        pauseOrResumeSplits(splitsToPause, splitsToResume);
+    }
+
+    private void pauseOrResumeSplits(
+            Collection<String> splitsToPause, Collection<String> splitsToResume) {
+        if (!splitAlignmentSupported || (splitsToPause.isEmpty() && splitsToResume.isEmpty())) {
+            return;
+        }
+        try {
+            sourceReader.pauseOrResumeSplits(splitsToPause, splitsToResume);
+        } catch (UnsupportedOperationException e) {
+            LOG.info(
+                    "The source reader does not support pausing splits, watermarks are only aligned on the level of the whole reader.");
+            splitAlignmentSupported = false;
+            // the splits of earlier requests may not have been paused either
+            currentlyPausedSplits.clear();
+            return;
+        }
+        currentlyPausedSplits.addAll(splitsToPause);
+        currentlyPausedSplits.removeAll(splitsToResume);
+    }
+
     // --------------- methods for unit tests ------------
 
     @VisibleForTesting
@@ -34,6 +34,8 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeServiceAware;
 import org.apache.flink.util.function.FunctionWithException;
 
+import javax.annotation.Nullable;
+
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /** The Factory class for {@link SourceOperator}. */
@@ -54,6 +56,12 @@ public class SourceOperatorFactory<OUT> extends AbstractStreamOperatorFactory<OU
     /** The number of worker thread for the source coordinator. */
     private final int numCoordinatorWorkerThread;
 
+    /**
+     * The ID under which the source coordinator listens to events sent by other coordinators, or
+     * null if it does not listen to such events.
+     */
+    @Nullable private final String coordinatorListeningID;
+
     public SourceOperatorFactory(
             Source<OUT, ?, ?> source, WatermarkStrategy<OUT> watermarkStrategy) {
         this(source, watermarkStrategy, true /* emit progressive watermarks */, 1);
@@ -71,10 +79,25 @@ public class SourceOperatorFactory<OUT> extends AbstractStreamOperatorFactory<OU
             WatermarkStrategy<OUT> watermarkStrategy,
             boolean emitProgressiveWatermarks,
             int numCoordinatorWorkerThread) {
+        this(
+                source,
+                watermarkStrategy,
+                emitProgressiveWatermarks,
+                numCoordinatorWorkerThread,
+                null);
+    }
+
+    public SourceOperatorFactory(
+            Source<OUT, ?, ?> source,
+            WatermarkStrategy<OUT> watermarkStrategy,
+            boolean emitProgressiveWatermarks,
+            int numCoordinatorWorkerThread,
+            @Nullable String coordinatorListeningID) {
         this.source = checkNotNull(source);
         this.watermarkStrategy = checkNotNull(watermarkStrategy);
         this.emitProgressiveWatermarks = emitProgressiveWatermarks;
         this.numCoordinatorWorkerThread = numCoordinatorWorkerThread;
+        this.coordinatorListeningID = coordinatorListeningID;
     }
 
     public Boundedness getBoundedness() {
@@ -124,7 +147,12 @@ public class SourceOperatorFactory<OUT> extends AbstractStreamOperatorFactory<OU
     public OperatorCoordinator.Provider getCoordinatorProvider(
             String operatorName, OperatorID operatorID) {
         return new SourceCoordinatorProvider<>(
-                operatorName, operatorID, source, numCoordinatorWorkerThread);
+                operatorName,
+                operatorID,
+                source,
+                numCoordinatorWorkerThread,
+                watermarkStrategy.getAlignmentParameters(),
+                coordinatorListeningID);
     }
 
     @SuppressWarnings("rawtypes")
@@ -20,11 +20,12 @@ package org.apache.flink.streaming.api.operators;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 
 /** A {@link StreamOperator} for executing {@link FilterFunction FilterFunctions}. */
 @Internal
 public class StreamFilter<IN> extends AbstractUdfStreamOperator<IN, FilterFunction<IN>>
-        implements OneInputStreamOperator<IN, IN> {
+        implements BatchedOneInputStreamOperator<IN, IN>, ReadOnlyInput {
 
     private static final long serialVersionUID = 1L;
 
@@ -33,10 +34,32 @@ public class StreamFilter<IN> extends AbstractUdfStreamOperator<IN, FilterFuncti
         chainingStrategy = ChainingStrategy.ALWAYS;
     }
 
+    @Override
+    public boolean isInputReadOnly() {
+        return userFunction instanceof ReadOnlyInput
+                && ((ReadOnlyInput) userFunction).isInputReadOnly();
+    }
+
     @Override
     public void processElement(StreamRecord<IN> element) throws Exception {
         if (userFunction.filter(element.getValue())) {
             output.collect(element);
         }
     }
+
+    @Override
+    public void processElements(StreamRecordBatch<IN> batch) throws Exception {
+        int retained = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            StreamRecord<IN> element = batch.get(i);
+            setKeyContextElement(element);
+            if (userFunction.filter(element.getValue())) {
+                batch.set(retained++, element);
+            }
+        }
+        batch.truncate(retained);
+        if (!batch.isEmpty()) {
+            BatchedOutput.collectBatch(output, batch);
+        }
+    }
 }
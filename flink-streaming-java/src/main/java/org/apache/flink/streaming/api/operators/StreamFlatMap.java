@@ -24,7 +24,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 /** A {@link StreamOperator} for executing {@link FlatMapFunction FlatMapFunctions}. */
 @Internal
 public class StreamFlatMap<IN, OUT> extends AbstractUdfStreamOperator<OUT, FlatMapFunction<IN, OUT>>
-        implements OneInputStreamOperator<IN, OUT> {
+        implements OneInputStreamOperator<IN, OUT>, ReadOnlyInput {
 
     private static final long serialVersionUID = 1L;
 
@@ -41,6 +41,12 @@ public class StreamFlatMap<IN, OUT> extends AbstractUdfStreamOperator<OUT, FlatM
         collector = new TimestampedCollector<>(output);
     }
 
+    @Override
+    public boolean isInputReadOnly() {
+        return userFunction instanceof ReadOnlyInput
+                && ((ReadOnlyInput) userFunction).isInputReadOnly();
+    }
+
     @Override
     public void processElement(StreamRecord<IN> element) throws Exception {
         collector.setTimestamp(element);
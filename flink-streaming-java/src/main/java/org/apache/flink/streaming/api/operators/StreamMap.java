@@ -20,11 +20,12 @@ package org.apache.flink.streaming.api.operators;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 
 /** A {@link StreamOperator} for executing {@link MapFunction MapFunctions}. */
 @Internal
 public class StreamMap<IN, OUT> extends AbstractUdfStreamOperator<OUT, MapFunction<IN, OUT>>
-        implements OneInputStreamOperator<IN, OUT> {
+        implements BatchedOneInputStreamOperator<IN, OUT>, ReadOnlyInput {
 
     private static final long serialVersionUID = 1L;
 
@@ -33,8 +34,25 @@ public class StreamMap<IN, OUT> extends AbstractUdfStreamOperator<OUT, MapFuncti
         chainingStrategy = ChainingStrategy.ALWAYS;
     }
 
+    @Override
+    public boolean isInputReadOnly() {
+        return userFunction instanceof ReadOnlyInput
+                && ((ReadOnlyInput) userFunction).isInputReadOnly();
+    }
+
     @Override
     public void processElement(StreamRecord<IN> element) throws Exception {
         output.collect(element.replace(userFunction.map(element.getValue())));
     }
+
+    @Override
+    public void processElements(StreamRecordBatch<IN> batch) throws Exception {
+        // the function may return the same mutable object for every call, so each result is
+        // emitted before the next record is mapped instead of forwarding the mapped batch
+        for (int i = 0; i < batch.size(); i++) {
+            StreamRecord<IN> element = batch.get(i);
+            setKeyContextElement(element);
+            output.collect(element.replace(userFunction.map(element.getValue())));
+        }
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.flink.streaming.api.operators.source;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.eventtime.TimestampAssigner;
+import org.apache.flink.api.common.eventtime.Watermark;
 import org.apache.flink.api.common.eventtime.WatermarkGenerator;
 import org.apache.flink.api.common.eventtime.WatermarkGeneratorSupplier;
 import org.apache.flink.api.common.eventtime.WatermarkOutput;
@@ -89,7 +90,8 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
     // ------------------------------------------------------------------------
 
     @Override
-    public ReaderOutput<T> createMainOutput(PushingAsyncDataInput.DataOutput<T> output) {
+    public ReaderOutput<T> createMainOutput(
+            PushingAsyncDataInput.DataOutput<T> output, WatermarkUpdateListener watermarkCallback) {
         // At the moment, we assume only one output is ever created!
         // This assumption is strict, currently, because many of the classes in this implementation
         // do not
@@ -98,7 +100,8 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
                 currentMainOutput == null && currentPerSplitOutputs == null,
                 "already created a main output");
 
-        final WatermarkOutput watermarkOutput = new WatermarkToDataOutput(output);
+        final WatermarkOutput watermarkOutput =
+                new WatermarkToDataOutput(output, watermarkCallback);
         final WatermarkGenerator<T> watermarkGenerator =
                 watermarksFactory.createWatermarkGenerator(watermarksContext);
 
@@ -108,7 +111,8 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
                         watermarkOutput,
                         timestampAssigner,
                         watermarksFactory,
-                        watermarksContext);
+                        watermarksContext,
+                        watermarkCallback);
 
         currentMainOutput =
                 new StreamingReaderOutput<>(
@@ -199,15 +203,18 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
         private final TimestampAssigner<T> timestampAssigner;
         private final WatermarkGeneratorSupplier<T> watermarksFactory;
         private final WatermarkGeneratorSupplier.Context watermarkContext;
+        private final WatermarkUpdateListener watermarkCallback;
 
         private SplitLocalOutputs(
                 PushingAsyncDataInput.DataOutput<T> recordOutput,
                 WatermarkOutput watermarkOutput,
                 TimestampAssigner<T> timestampAssigner,
                 WatermarkGeneratorSupplier<T> watermarksFactory,
-                WatermarkGeneratorSupplier.Context watermarkContext) {
+                WatermarkGeneratorSupplier.Context watermarkContext,
+                WatermarkUpdateListener watermarkCallback) {
 
             this.recordOutput = recordOutput;
+            this.watermarkCallback = watermarkCallback;
             this.timestampAssigner = timestampAssigner;
             this.watermarksFactory = watermarksFactory;
             this.watermarkContext = watermarkContext;
@@ -224,8 +231,16 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
             }
 
             watermarkMultiplexer.registerNewOutput(splitId);
-            final WatermarkOutput onEventOutput = watermarkMultiplexer.getImmediateOutput(splitId);
-            final WatermarkOutput periodicOutput = watermarkMultiplexer.getDeferredOutput(splitId);
+            final WatermarkOutput onEventOutput =
+                    new SplitWatermarkOutput(
+                            splitId,
+                            watermarkMultiplexer.getImmediateOutput(splitId),
+                            watermarkCallback);
+            final WatermarkOutput periodicOutput =
+                    new SplitWatermarkOutput(
+                            splitId,
+                            watermarkMultiplexer.getDeferredOutput(splitId),
+                            watermarkCallback);
 
             final WatermarkGenerator<T> watermarks =
                     watermarksFactory.createWatermarkGenerator(watermarkContext);
@@ -245,6 +260,7 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
         void releaseOutputForSplit(String splitId) {
             localOutputs.remove(splitId);
             watermarkMultiplexer.unregisterOutput(splitId);
+            watermarkCallback.splitReleased(splitId);
         }
 
         void emitPeriodicWatermark() {
@@ -259,4 +275,38 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
             watermarkMultiplexer.onPeriodicEmit();
         }
     }
+
+    /**
+     * A {@link WatermarkOutput} of a single split that informs the {@link WatermarkUpdateListener}
+     * about the watermarks of that split.
+     */
+    private static final class SplitWatermarkOutput implements WatermarkOutput {
+
+        private final String splitId;
+        private final WatermarkOutput delegate;
+        private final WatermarkUpdateListener watermarkCallback;
+
+        SplitWatermarkOutput(
+                String splitId, WatermarkOutput delegate, WatermarkUpdateListener watermarkCallback) {
+            this.splitId = splitId;
+            this.delegate = delegate;
+            this.watermarkCallback = watermarkCallback;
+        }
+
+        @Override
+        public void emitWatermark(Watermark watermark) {
+            delegate.emitWatermark(watermark);
+            watermarkCallback.updateCurrentSplitWatermark(splitId, watermark.getTimestamp());
+        }
+
+        @Override
+        public void markIdle() {
+            delegate.markIdle();
+        }
+
+        @Override
+        public void markActive() {
+            delegate.markActive();
+        }
+    }
 }
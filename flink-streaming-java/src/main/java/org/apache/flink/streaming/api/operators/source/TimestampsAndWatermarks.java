@@ -42,11 +42,45 @@ import java.time.Duration;
 @Internal
 public interface TimestampsAndWatermarks<T> {
 
+    /** Lets the owner of the main output track the progress of watermarks, e.g. for alignment. */
+    interface WatermarkUpdateListener {
+
+        /** A listener that ignores all updates. */
+        WatermarkUpdateListener NO_OP =
+                new WatermarkUpdateListener() {
+                    @Override
+                    public void updateIdle(boolean isIdle) {}
+
+                    @Override
+                    public void updateCurrentEffectiveWatermark(long watermark) {}
+
+                    @Override
+                    public void updateCurrentSplitWatermark(String splitId, long watermark) {}
+
+                    @Override
+                    public void splitReleased(String splitId) {}
+                };
+
+        /** Notifies about changes to the idleness of the main output. */
+        void updateIdle(boolean isIdle);
+
+        /** Notifies about a new watermark emitted by the main output. */
+        void updateCurrentEffectiveWatermark(long watermark);
+
+        /** Notifies about a new watermark generated for the given split. */
+        void updateCurrentSplitWatermark(String splitId, long watermark);
+
+        /** Notifies that the output of the given split was released. */
+        void splitReleased(String splitId);
+    }
+
     /**
      * Creates the ReaderOutput for the source reader, than internally runs the timestamp extraction
-     * and watermark generation.
+     * and watermark generation. The given listener is informed about the emitted watermarks and
+     * idleness changes, on the reader level and for the individual splits.
      */
-    ReaderOutput<T> createMainOutput(PushingAsyncDataInput.DataOutput<T> output);
+    ReaderOutput<T> createMainOutput(
+            PushingAsyncDataInput.DataOutput<T> output, WatermarkUpdateListener watermarkCallback);
 
     /**
      * Starts emitting periodic watermarks, if this implementation produces watermarks, and if
@@ -35,12 +35,24 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 public final class WatermarkToDataOutput implements WatermarkOutput {
 
     private final PushingAsyncDataInput.DataOutput<?> output;
+    private final TimestampsAndWatermarks.WatermarkUpdateListener watermarkEmitted;
     private long maxWatermarkSoFar;
     private boolean isIdle;
 
     /** Creates a new WatermarkOutput against the given DataOutput. */
     public WatermarkToDataOutput(PushingAsyncDataInput.DataOutput<?> output) {
+        this(output, TimestampsAndWatermarks.WatermarkUpdateListener.NO_OP);
+    }
+
+    /**
+     * Creates a new WatermarkOutput against the given DataOutput, which informs the given listener
+     * about emitted watermarks and idleness changes.
+     */
+    public WatermarkToDataOutput(
+            PushingAsyncDataInput.DataOutput<?> output,
+            TimestampsAndWatermarks.WatermarkUpdateListener watermarkEmitted) {
         this.output = checkNotNull(output);
+        this.watermarkEmitted = checkNotNull(watermarkEmitted);
         this.maxWatermarkSoFar = Long.MIN_VALUE;
     }
 
@@ -58,6 +70,7 @@ public final class WatermarkToDataOutput implements WatermarkOutput {
 
             output.emitWatermark(
                     new org.apache.flink.streaming.api.watermark.Watermark(newWatermark));
+            watermarkEmitted.updateCurrentEffectiveWatermark(newWatermark);
         } catch (ExceptionInChainedOperatorException e) {
             throw e;
         } catch (Exception e) {
@@ -73,6 +86,7 @@ public final class WatermarkToDataOutput implements WatermarkOutput {
 
         try {
             output.emitWatermarkStatus(WatermarkStatus.IDLE);
+            watermarkEmitted.updateIdle(true);
             isIdle = true;
         } catch (ExceptionInChainedOperatorException e) {
             throw e;
@@ -98,6 +112,7 @@ public final class WatermarkToDataOutput implements WatermarkOutput {
         }
 
         output.emitWatermarkStatus(WatermarkStatus.ACTIVE);
+        watermarkEmitted.updateIdle(false);
         isIdle = false;
         return false;
     }
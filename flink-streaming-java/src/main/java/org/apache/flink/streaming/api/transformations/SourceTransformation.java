@@ -27,6 +27,8 @@ import org.apache.flink.api.connector.source.SourceSplit;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
 
+import javax.annotation.Nullable;
+
 import java.util.Collections;
 import java.util.List;
 
@@ -42,6 +44,12 @@ public class SourceTransformation<OUT, SplitT extends SourceSplit, EnumChkT>
 
     private ChainingStrategy chainingStrategy = ChainingStrategy.DEFAULT_CHAINING_STRATEGY;
 
+    /**
+     * The ID under which the source coordinator listens to events sent by other coordinators, or
+     * null if it does not listen to such events.
+     */
+    @Nullable private String coordinatorListeningID;
+
     /**
      * Creates a new {@code Transformation} with the given name, output type and parallelism.
      *
@@ -94,4 +102,13 @@ public class SourceTransformation<OUT, SplitT extends SourceSplit, EnumChkT>
     public ChainingStrategy getChainingStrategy() {
         return chainingStrategy;
     }
+
+    public void setCoordinatorListeningID(@Nullable String coordinatorListeningID) {
+        this.coordinatorListeningID = coordinatorListeningID;
+    }
+
+    @Nullable
+    public String getCoordinatorListeningID() {
+        return coordinatorListeningID;
+    }
 }
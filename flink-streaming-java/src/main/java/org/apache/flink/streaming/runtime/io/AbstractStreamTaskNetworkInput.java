@@ -30,6 +30,8 @@ import org.apache.flink.runtime.plugable.NonReusingDeserializationDelegate;
 import org.apache.flink.streaming.runtime.io.checkpointing.CheckpointedInputGate;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.watermarkstatus.StatusWatermarkValve;
 
 import java.io.IOException;
@@ -50,6 +52,10 @@ import static org.apache.flink.util.Preconditions.checkState;
 public abstract class AbstractStreamTaskNetworkInput<
                 T, R extends RecordDeserializer<DeserializationDelegate<StreamElement>>>
         implements StreamTaskInput<T> {
+
+    /** Maximum number of records handed to a {@link BatchedDataOutput} at once. */
+    private static final int RECORD_BATCH_SIZE = 128;
+
     protected final CheckpointedInputGate checkpointedInputGate;
     protected final DeserializationDelegate<StreamElement> deserializationDelegate;
     protected final TypeSerializer<T> inputSerializer;
@@ -61,6 +67,8 @@ public abstract class AbstractStreamTaskNetworkInput<
     protected final int inputIndex;
     private InputChannelInfo lastChannel = null;
     private R currentRecordDeserializer = null;
+    /** Lazily created batch, only used for {@link BatchedDataOutput BatchedDataOutputs}. */
+    private StreamRecordBatch<T> recordBatch = null;
 
     public AbstractStreamTaskNetworkInput(
             CheckpointedInputGate checkpointedInputGate,
@@ -102,7 +110,12 @@ public abstract class AbstractStreamTaskNetworkInput<
                 }
 
                 if (result.isFullRecord()) {
-                    processElement(deserializationDelegate.getInstance(), output);
+                    final StreamElement element = deserializationDelegate.getInstance();
+                    if (element.isRecord() && output instanceof BatchedDataOutput) {
+                        emitRecordBatch(element.asRecord(), (BatchedDataOutput<T>) output);
+                    } else {
+                        processElement(element, output);
+                    }
                     return DataInputStatus.MORE_AVAILABLE;
                 }
             }
@@ -129,6 +142,53 @@ public abstract class AbstractStreamTaskNetworkInput<
         }
     }
 
+    /**
+     * Emits the given record together with all following records that are fully contained in the
+     * current buffer as one batch. The batch ends at the first non-record element, which is emitted
+     * right after the batch to keep the order of the stream. Checkpoint barriers are never part of
+     * a buffer, so no record that follows a barrier ends up in a batch.
+     */
+    private void emitRecordBatch(StreamRecord<T> first, BatchedDataOutput<T> output)
+            throws Exception {
+        if (recordBatch == null) {
+            recordBatch = new StreamRecordBatch<>(RECORD_BATCH_SIZE);
+        }
+        recordBatch.add(first);
+
+        StreamElement nonRecord = null;
+        while (currentRecordDeserializer != null && !recordBatch.isFull()) {
+            RecordDeserializer.DeserializationResult result;
+            try {
+                result = currentRecordDeserializer.getNextRecord(deserializationDelegate);
+            } catch (IOException e) {
+                throw new IOException(
+                        String.format("Can't get next record for channel %s", lastChannel), e);
+            }
+            if (result.isBufferConsumed()) {
+                currentRecordDeserializer = null;
+            }
+            if (!result.isFullRecord()) {
+                break;
+            }
+
+            StreamElement element = deserializationDelegate.getInstance();
+            if (!element.isRecord()) {
+                nonRecord = element;
+                break;
+            }
+            recordBatch.add(element.asRecord());
+        }
+
+        try {
+            output.emitRecords(recordBatch);
+        } finally {
+            recordBatch.clear();
+        }
+        if (nonRecord != null) {
+            processElement(nonRecord, output);
+        }
+    }
+
     private void processElement(StreamElement recordOrMark, DataOutput<T> output) throws Exception {
         if (recordOrMark.isRecord()) {
             output.emitRecord(recordOrMark.asRecord());
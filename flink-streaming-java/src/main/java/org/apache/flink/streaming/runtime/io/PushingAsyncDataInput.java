@@ -23,6 +23,7 @@ import org.apache.flink.runtime.io.PullingAsyncDataInput;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 
 /**
@@ -56,4 +57,20 @@ public interface PushingAsyncDataInput<T> extends AvailabilityProvider {
 
         void emitLatencyMarker(LatencyMarker latencyMarker) throws Exception;
     }
+
+    /**
+     * A {@link DataOutput} that can additionally consume multiple consecutive records at once.
+     * Inputs may, but do not have to, use {@link #emitRecords(StreamRecordBatch)} for such
+     * outputs.
+     *
+     * @param <T> The type encapsulated with the stream record.
+     */
+    interface BatchedDataOutput<T> extends DataOutput<T> {
+
+        /**
+         * Emits all records of the given batch. The content of the batch is undefined after this
+         * method returns.
+         */
+        void emitRecords(StreamRecordBatch<T> batch) throws Exception;
+    }
 }
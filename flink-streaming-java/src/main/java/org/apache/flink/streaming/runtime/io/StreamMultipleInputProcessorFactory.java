@@ -83,7 +83,8 @@ public class StreamMultipleInputProcessorFactory {
             OperatorChain<?, ?> operatorChain,
             InflightDataRescalingDescriptor inflightDataRescalingDescriptor,
             Function<Integer, StreamPartitioner<?>> gatePartitioners,
-            TaskInfo taskInfo) {
+            TaskInfo taskInfo,
+            long watermarkCoalescingInterval) {
         checkNotNull(operatorChain);
 
         List<Input> operatorInputs = mainOperator.getInputs();
@@ -111,7 +112,8 @@ public class StreamMultipleInputProcessorFactory {
                                 ioManager,
                                 new StatusWatermarkValve(
                                         checkpointedInputGates[networkInput.getInputGateIndex()]
-                                                .getNumberOfInputChannels()),
+                                                .getNumberOfInputChannels(),
+                                        watermarkCoalescingInterval),
                                 i,
                                 inflightDataRescalingDescriptor,
                                 gatePartitioners,
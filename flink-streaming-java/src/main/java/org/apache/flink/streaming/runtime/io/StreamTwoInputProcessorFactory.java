@@ -75,7 +75,8 @@ public class StreamTwoInputProcessorFactory {
             Counter numRecordsIn,
             InflightDataRescalingDescriptor inflightDataRescalingDescriptor,
             Function<Integer, StreamPartitioner<?>> gatePartitioners,
-            TaskInfo taskInfo) {
+            TaskInfo taskInfo,
+            long watermarkCoalescingInterval) {
 
         checkNotNull(operatorChain);
 
@@ -87,7 +88,8 @@ public class StreamTwoInputProcessorFactory {
                         typeSerializer1,
                         ioManager,
                         new StatusWatermarkValve(
-                                checkpointedInputGates[0].getNumberOfInputChannels()),
+                                checkpointedInputGates[0].getNumberOfInputChannels(),
+                                watermarkCoalescingInterval),
                         0,
                         inflightDataRescalingDescriptor,
                         gatePartitioners,
@@ -99,7 +101,8 @@ public class StreamTwoInputProcessorFactory {
                         typeSerializer2,
                         ioManager,
                         new StatusWatermarkValve(
-                                checkpointedInputGates[1].getNumberOfInputChannels()),
+                                checkpointedInputGates[1].getNumberOfInputChannels(),
+                                watermarkCoalescingInterval),
                         1,
                         inflightDataRescalingDescriptor,
                         gatePartitioners,
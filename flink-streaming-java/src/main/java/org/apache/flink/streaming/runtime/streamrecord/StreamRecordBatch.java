@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.streaming.runtime.streamrecord;
+
+import org.apache.flink.annotation.Internal;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A reusable, bounded batch of {@link StreamRecord StreamRecords} that is handed through an
+ * operator chain at once instead of record by record.
+ *
+ * <p>Batches are owned by whoever created them and are reused after being handed over. Receivers
+ * may modify the batch in place (e.g. replace the values of the contained records or drop records),
+ * but must not keep a reference to the batch after the call returns. The content of a batch is
+ * undefined after it has been passed to an operator or output.
+ *
+ * @param <T> The type encapsulated with the stream records.
+ */
+@Internal
+public final class StreamRecordBatch<T> {
+
+    private final StreamRecord<T>[] records;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public StreamRecordBatch(int capacity) {
+        checkArgument(capacity > 0, "The capacity of a batch must be positive.");
+        this.records = new StreamRecord[capacity];
+    }
+
+    /** Returns the number of records in this batch. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Returns true if no further record can be added to this batch. */
+    public boolean isFull() {
+        return size == records.length;
+    }
+
+    public int capacity() {
+        return records.length;
+    }
+
+    /** Returns the record at the given position, which must be smaller than {@link #size()}. */
+    public StreamRecord<T> get(int index) {
+        return records[index];
+    }
+
+    /** Appends the given record to this batch. The batch must not be full. */
+    public void add(StreamRecord<T> record) {
+        records[size++] = record;
+    }
+
+    /** Replaces the record at the given position, which must be smaller than {@link #size()}. */
+    public void set(int index, StreamRecord<T> record) {
+        records[index] = record;
+    }
+
+    /**
+     * Drops all records at positions equal to or larger than the given size. Used for compacting a
+     * batch in place, e.g. after filtering.
+     */
+    public void truncate(int newSize) {
+        checkArgument(newSize >= 0 && newSize <= size, "Invalid size %s.", newSize);
+        for (int i = newSize; i < size; i++) {
+            records[i] = null;
+        }
+        size = newSize;
+    }
+
+    /** Removes all records from this batch. */
+    public void clear() {
+        truncate(0);
+    }
+}
@@ -22,12 +22,15 @@ import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.metrics.groups.OperatorIOMetricGroup;
 import org.apache.flink.metrics.groups.OperatorMetricGroup;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.BatchedOutput;
 import org.apache.flink.streaming.api.operators.Input;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.util.OutputTag;
 
@@ -36,7 +39,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
-class ChainingOutput<T> implements WatermarkGaugeExposingOutput<StreamRecord<T>> {
+class ChainingOutput<T>
+        implements WatermarkGaugeExposingOutput<StreamRecord<T>>, BatchedOutput<T> {
     private static final Logger LOG = LoggerFactory.getLogger(ChainingOutput.class);
 
     protected final Input<T> input;
@@ -87,6 +91,31 @@ class ChainingOutput<T> implements WatermarkGaugeExposingOutput<StreamRecord<T>>
         }
     }
 
+    @Override
+    public void collectBatch(StreamRecordBatch<T> batch) {
+        if (this.outputTag != null) {
+            // we are not responsible for emitting to the main output.
+            return;
+        }
+
+        pushBatchToOperator(batch);
+    }
+
+    protected void pushBatchToOperator(StreamRecordBatch<T> batch) {
+        if (input instanceof BatchedOneInputStreamOperator) {
+            try {
+                numRecordsIn.inc(batch.size());
+                ((BatchedOneInputStreamOperator<T, ?>) input).processElements(batch);
+            } catch (Exception e) {
+                throw new ExceptionInChainedOperatorException(e);
+            }
+        } else {
+            for (int i = 0; i < batch.size(); i++) {
+                pushToOperator(batch.get(i));
+            }
+        }
+    }
+
     protected <X> void pushToOperator(StreamRecord<X> record) {
         try {
             // we know that the given outputTag matches our OutputTag so the record
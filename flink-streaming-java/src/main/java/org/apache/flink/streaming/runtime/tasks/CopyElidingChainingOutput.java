@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.groups.OperatorMetricGroup;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.Input;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
+import org.apache.flink.util.OutputTag;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ChainingOutput} that is used instead of a {@link CopyingChainingOutput} when object
+ * reuse is disabled, but copying the records is not necessary, because the type is immutable or the
+ * input of the chained operator is read-only. It counts the copies that were avoided this way.
+ *
+ * <p>Only the value is shared: the chained operator receives a shallow copy of the {@link
+ * StreamRecord}, because operators such as a map replace the value of their input record in place,
+ * which must not modify the record that the upstream operator may still use.
+ */
+final class CopyElidingChainingOutput<T> extends ChainingOutput<T> {
+
+    private final Counter numAvoidedRecordCopies;
+
+    public CopyElidingChainingOutput(
+            Input<T> input,
+            OperatorMetricGroup operatorMetricGroup,
+            @Nullable OutputTag<T> outputTag,
+            Counter numAvoidedRecordCopies) {
+        super(input, operatorMetricGroup, outputTag);
+        this.numAvoidedRecordCopies = numAvoidedRecordCopies;
+    }
+
+    @Override
+    protected void pushBatchToOperator(StreamRecordBatch<T> batch) {
+        // the record by record fallback counts in pushToOperator
+        if (input instanceof BatchedOneInputStreamOperator) {
+            for (int i = 0; i < batch.size(); i++) {
+                StreamRecord<T> record = batch.get(i);
+                batch.set(i, record.copy(record.getValue()));
+            }
+            numAvoidedRecordCopies.inc(batch.size());
+        }
+        super.pushBatchToOperator(batch);
+    }
+
+    @Override
+    protected <X> void pushToOperator(StreamRecord<X> record) {
+        numAvoidedRecordCopies.inc();
+        super.pushToOperator(record.copy(record.getValue()));
+    }
+}
@@ -19,9 +19,11 @@ package org.apache.flink.streaming.runtime.tasks;
 
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.metrics.groups.OperatorMetricGroup;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.Input;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.util.OutputTag;
 
 import javax.annotation.Nullable;
@@ -68,6 +70,22 @@ final class CopyingChainingOutput<T> extends ChainingOutput<T> {
         pushToOperator(record);
     }
 
+    @Override
+    protected void pushBatchToOperator(StreamRecordBatch<T> batch) {
+        // the record by record fallback copies in pushToOperator
+        if (input instanceof BatchedOneInputStreamOperator) {
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    StreamRecord<T> record = batch.get(i);
+                    batch.set(i, record.copy(serializer.copy(record.getValue())));
+                }
+            } catch (Exception e) {
+                throw new ExceptionInChainedOperatorException(e);
+            }
+        }
+        super.pushBatchToOperator(batch);
+    }
+
     @Override
     protected <X> void pushToOperator(StreamRecord<X> record) {
         try {
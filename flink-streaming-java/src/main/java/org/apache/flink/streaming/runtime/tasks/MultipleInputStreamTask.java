@@ -175,7 +175,8 @@ public class MultipleInputStreamTask<OUT>
                         operatorChain,
                         getEnvironment().getTaskStateManager().getInputRescalingDescriptor(),
                         gatePartitioners,
-                        getEnvironment().getTaskInfo());
+                        getEnvironment().getTaskInfo(),
+                        getWatermarkCoalescingInterval());
     }
 
     protected Optional<CheckpointBarrierHandler> getCheckpointBarrierHandler() {
@@ -27,10 +27,12 @@ import org.apache.flink.runtime.execution.Environment;
 import org.apache.flink.runtime.io.network.partition.consumer.IndexedInputGate;
 import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.streaming.api.graph.StreamConfig;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.Input;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.sort.SortingDataInput;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.BatchedDataOutput;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
 import org.apache.flink.streaming.runtime.io.StreamOneInputProcessor;
 import org.apache.flink.streaming.runtime.io.StreamTaskInput;
@@ -42,6 +44,7 @@ import org.apache.flink.streaming.runtime.io.checkpointing.InputProcessorUtil;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.watermarkstatus.StatusWatermarkValve;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 
@@ -179,15 +182,20 @@ public class OneInputStreamTask<IN, OUT> extends StreamTask<OUT, OneInputStreamO
     }
 
     private DataOutput<IN> createDataOutput(Counter numRecordsIn) {
-        return new StreamTaskNetworkOutput<>(
-                operatorChain.getFinishedOnRestoreInputOrDefault(mainOperator),
-                inputWatermarkGauge,
-                numRecordsIn);
+        Input<IN> input = operatorChain.getFinishedOnRestoreInputOrDefault(mainOperator);
+        if (input instanceof BatchedOneInputStreamOperator) {
+            return new BatchedStreamTaskNetworkOutput<>(
+                    (BatchedOneInputStreamOperator<IN, ?>) input,
+                    inputWatermarkGauge,
+                    numRecordsIn);
+        }
+        return new StreamTaskNetworkOutput<>(input, inputWatermarkGauge, numRecordsIn);
     }
 
     private StreamTaskInput<IN> createTaskInput(CheckpointedInputGate inputGate) {
         int numberOfInputChannels = inputGate.getNumberOfInputChannels();
-        StatusWatermarkValve statusWatermarkValve = new StatusWatermarkValve(numberOfInputChannels);
+        StatusWatermarkValve statusWatermarkValve =
+                new StatusWatermarkValve(numberOfInputChannels, getWatermarkCoalescingInterval());
 
         TypeSerializer<IN> inSerializer =
                 configuration.getTypeSerializerIn1(getUserCodeClassLoader());
@@ -216,7 +224,7 @@ public class OneInputStreamTask<IN, OUT> extends StreamTask<OUT, OneInputStreamO
         private final Input<IN> operator;
 
         private final WatermarkGauge watermarkGauge;
-        private final Counter numRecordsIn;
+        protected final Counter numRecordsIn;
 
         private StreamTaskNetworkOutput(
                 Input<IN> operator, WatermarkGauge watermarkGauge, Counter numRecordsIn) {
@@ -249,4 +257,28 @@ public class OneInputStreamTask<IN, OUT> extends StreamTask<OUT, OneInputStreamO
             operator.processLatencyMarker(latencyMarker);
         }
     }
+
+    /**
+     * The network data output implementation that hands whole batches of records to a {@link
+     * BatchedOneInputStreamOperator}.
+     */
+    private static class BatchedStreamTaskNetworkOutput<IN> extends StreamTaskNetworkOutput<IN>
+            implements BatchedDataOutput<IN> {
+
+        private final BatchedOneInputStreamOperator<IN, ?> operator;
+
+        private BatchedStreamTaskNetworkOutput(
+                BatchedOneInputStreamOperator<IN, ?> operator,
+                WatermarkGauge watermarkGauge,
+                Counter numRecordsIn) {
+            super(operator, watermarkGauge, numRecordsIn);
+            this.operator = operator;
+        }
+
+        @Override
+        public void emitRecords(StreamRecordBatch<IN> batch) throws Exception {
+            numRecordsIn.inc(batch.size());
+            operator.processElements(batch);
+        }
+    }
 }
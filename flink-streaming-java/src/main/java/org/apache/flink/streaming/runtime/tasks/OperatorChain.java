@@ -47,6 +47,7 @@ import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.OperatorSnapshotFutures;
 import org.apache.flink.streaming.api.operators.Output;
+import org.apache.flink.streaming.api.operators.ReadOnlyInput;
 import org.apache.flink.streaming.api.operators.SourceOperator;
 import org.apache.flink.streaming.api.operators.StreamOperator;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
@@ -777,7 +778,18 @@ public abstract class OperatorChain<OUT, OP extends StreamOperator<OUT>>
         } else {
             TypeSerializer<IN> inSerializer =
                     operatorConfig.getTypeSerializerIn1(userCodeClassloader);
-            currentOperatorOutput = new CopyingChainingOutput<>(operator, inSerializer, outputTag);
+            if (isInputCopyRequired(operator, inSerializer)) {
+                currentOperatorOutput =
+                        new CopyingChainingOutput<>(operator, inSerializer, outputTag);
+            } else {
+                currentOperatorOutput =
+                        new CopyElidingChainingOutput<>(
+                                operator,
+                                operator.getMetricGroup(),
+                                outputTag,
+                                operator.getMetricGroup()
+                                        .counter(MetricNames.NUM_AVOIDED_RECORD_COPIES));
+            }
         }
 
         // wrap watermark gauges since registered metrics must be unique
@@ -789,6 +801,20 @@ public abstract class OperatorChain<OUT, OP extends StreamOperator<OUT>>
         return closer.register(currentOperatorOutput);
     }
 
+    /**
+     * Checks whether records need to be copied before being handed to the given chained operator if
+     * object reuse is disabled. Copies are only needed for mutable types that the operator may
+     * modify or retain.
+     */
+    private static boolean isInputCopyRequired(
+            OneInputStreamOperator<?, ?> operator, TypeSerializer<?> inSerializer) {
+        if (inSerializer.isImmutableType()) {
+            return false;
+        }
+        return !(operator instanceof ReadOnlyInput)
+                || !((ReadOnlyInput) operator).isInputReadOnly();
+    }
+
     /**
      * Links operator wrappers in forward topological order.
      *
@@ -27,6 +27,7 @@ import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.core.security.FlinkSecurityManager;
 import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MeterView;
 import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.runtime.checkpoint.CheckpointException;
 import org.apache.flink.runtime.checkpoint.CheckpointFailureReason;
@@ -58,6 +59,7 @@ import org.apache.flink.runtime.jobgraph.RestoreMode;
 import org.apache.flink.runtime.jobgraph.tasks.CheckpointableTask;
 import org.apache.flink.runtime.jobgraph.tasks.CoordinatedTask;
 import org.apache.flink.runtime.jobgraph.tasks.TaskInvokable;
+import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.runtime.metrics.groups.TaskIOMetricGroup;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.plugable.SerializationDelegate;
@@ -131,6 +133,9 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 
 import static org.apache.flink.configuration.TaskManagerOptions.BUFFER_DEBLOAT_PERIOD;
+import static org.apache.flink.configuration.TaskManagerOptions.TASK_MAILBOX_MAX_INPUTS_PER_ITERATION;
+import static org.apache.flink.configuration.TaskManagerOptions.TASK_MAILBOX_MAX_ITERATION_DURATION;
+import static org.apache.flink.configuration.TaskManagerOptions.TASK_WATERMARK_COALESCING_INTERVAL;
 import static org.apache.flink.util.ExceptionUtils.firstOrSuppressed;
 import static org.apache.flink.util.Preconditions.checkState;
 import static org.apache.flink.util.concurrent.FutureUtils.assertNoException;
@@ -291,6 +296,21 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 
     private final long bufferDebloatPeriod;
 
+    /**
+     * Maximum number of {@link StreamInputProcessor#processInput()} invocations per run of the
+     * mailbox default action.
+     */
+    private final int maxInputsPerIteration;
+
+    /** Time budget of a single run of the mailbox default action, 0 if unbounded. */
+    private final long maxIterationDurationNanos;
+
+    /** Minimal event time advance between two watermarks forwarded from the network inputs. */
+    private final long watermarkCoalescingInterval;
+
+    /** Number of runs of the mailbox default action, i.e. record processing loop iterations. */
+    private final Counter numMailboxLoopIterations;
+
     private final Environment environment;
 
     private final Object shouldInterruptOnCancelLock = new Object();
@@ -454,6 +474,24 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
             Configuration taskManagerConf = environment.getTaskManagerInfo().getConfiguration();
 
             this.bufferDebloatPeriod = taskManagerConf.get(BUFFER_DEBLOAT_PERIOD).toMillis();
+            this.maxInputsPerIteration = taskManagerConf.get(TASK_MAILBOX_MAX_INPUTS_PER_ITERATION);
+            Preconditions.checkArgument(
+                    maxInputsPerIteration > 0,
+                    "%s must be positive, but was %s.",
+                    TASK_MAILBOX_MAX_INPUTS_PER_ITERATION.key(),
+                    maxInputsPerIteration);
+            this.maxIterationDurationNanos =
+                    taskManagerConf.get(TASK_MAILBOX_MAX_ITERATION_DURATION).toNanos();
+            this.watermarkCoalescingInterval =
+                    taskManagerConf.get(TASK_WATERMARK_COALESCING_INTERVAL).toMillis();
+
+            this.numMailboxLoopIterations =
+                    environment.getMetricGroup().counter(MetricNames.MAILBOX_LOOP_ITERATIONS);
+            environment
+                    .getMetricGroup()
+                    .meter(
+                            MetricNames.MAILBOX_LOOP_ITERATIONS_RATE,
+                            new MeterView(numMailboxLoopIterations));
         } catch (Exception ex) {
             try {
                 resourceCloser.close();
@@ -513,12 +551,11 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
      * @throws Exception on any problems in the action.
      */
     protected void processInput(MailboxDefaultAction.Controller controller) throws Exception {
-        DataInputStatus status = inputProcessor.processInput();
+        numMailboxLoopIterations.inc();
+        DataInputStatus status = processInputBatch();
         switch (status) {
             case MORE_AVAILABLE:
-                if (recordWriter.isAvailable()
-                        && (changelogWriterAvailabilityProvider == null
-                                || changelogWriterAvailabilityProvider.isAvailable())) {
+                if (isOutputAvailable()) {
                     return;
                 }
                 break;
@@ -562,6 +599,41 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
                         new ResumeWrapper(controller.suspendDefaultAction(timer), timer)));
     }
 
+    /**
+     * Invokes the input processor up to {@link #maxInputsPerIteration} times. The batch ends early
+     * as soon as the input has no more data immediately available, the output is not available,
+     * a mail is pending, or the time budget of the iteration is exhausted. Checking for pending
+     * mails only reads the volatile flag of the mailbox, so this keeps the latency of mails bounded
+     * by a single invocation without paying for a full mailbox iteration per record.
+     */
+    private DataInputStatus processInputBatch() throws Exception {
+        DataInputStatus status = inputProcessor.processInput();
+        if (maxInputsPerIteration == 1) {
+            return status;
+        }
+
+        final long deadline =
+                maxIterationDurationNanos > 0 ? System.nanoTime() + maxIterationDurationNanos : 0L;
+        for (int processed = 1;
+                processed < maxInputsPerIteration
+                        && status == DataInputStatus.MORE_AVAILABLE
+                        && isOutputAvailable()
+                        && !mailboxProcessor.hasMail();
+                processed++) {
+            if (deadline != 0L && System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            status = inputProcessor.processInput();
+        }
+        return status;
+    }
+
+    private boolean isOutputAvailable() {
+        return recordWriter.isAvailable()
+                && (changelogWriterAvailabilityProvider == null
+                        || changelogWriterAvailabilityProvider.isAvailable());
+    }
+
     protected void endData(StopMode mode) throws Exception {
 
         if (mode == StopMode.DRAIN) {
@@ -923,6 +995,15 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
         }
     }
 
+    /**
+     * Returns the minimal event time advance between two watermarks that the network inputs
+     * forward, see {@link
+     * org.apache.flink.configuration.TaskManagerOptions#TASK_WATERMARK_COALESCING_INTERVAL}.
+     */
+    protected long getWatermarkCoalescingInterval() {
+        return watermarkCoalescingInterval;
+    }
+
     protected CompletableFuture<Void> getCompletionFuture() {
         return FutureUtils.completedVoidFuture();
     }
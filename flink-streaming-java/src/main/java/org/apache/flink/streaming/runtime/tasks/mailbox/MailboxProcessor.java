@@ -409,7 +409,10 @@ public class MailboxProcessor implements Closeable {
         return mailboxLoopRunning;
     }
 
-    @VisibleForTesting
+    /**
+     * Checks whether the mailbox has pending mails. Must be called from the mailbox thread. This
+     * is cheap enough to be called between records, as it does not acquire the mailbox lock.
+     */
     public boolean hasMail() {
         return mailbox.hasMail();
     }
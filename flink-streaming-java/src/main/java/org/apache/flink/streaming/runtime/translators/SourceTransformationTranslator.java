@@ -74,7 +74,9 @@ public class SourceTransformationTranslator<OUT, SplitT extends SourceSplit, Enu
                 new SourceOperatorFactory<>(
                         transformation.getSource(),
                         transformation.getWatermarkStrategy(),
-                        emitProgressiveWatermarks);
+                        emitProgressiveWatermarks,
+                        1,
+                        transformation.getCoordinatorListeningID());
 
         operatorFactory.setChainingStrategy(transformation.getChainingStrategy());
 
@@ -20,6 +20,8 @@ package org.apache.flink.streaming.runtime.watermarkstatus;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.state.heap.HeapPriorityQueue;
+import org.apache.flink.runtime.state.heap.HeapPriorityQueueElement;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
 import org.apache.flink.util.Preconditions;
@@ -33,6 +35,17 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  * channels that the valve needs to handle, as well as provide a implementation of {@link
  * DataOutput}, which is called by the valve only when it determines a new watermark or watermark
  * status can be propagated.
+ *
+ * <p>The watermark-aligned channels are kept in a min-heap ordered by their watermark, so that
+ * processing a watermark or a watermark status costs O(log n) for n input channels, instead of
+ * scanning all channels.
+ *
+ * <p>Optionally, the valve coalesces watermarks: a new overall watermark is only emitted once it
+ * advanced by at least the configured coalescing interval since the last emitted watermark. A held
+ * back watermark is emitted with the next watermark that advances far enough, or when an input
+ * channel becomes idle. The final {@link Watermark#MAX_WATERMARK} is never held back. Note that
+ * the valve has no notion of processing time: if the input channels stop advancing their
+ * watermarks without becoming idle, a held back watermark is not emitted until they advance again.
  */
 @Internal
 public class StatusWatermarkValve {
@@ -47,6 +60,18 @@ public class StatusWatermarkValve {
      */
     private final InputChannelStatus[] channelStatuses;
 
+    /** The watermark-aligned input channels, with the channel of the minimal watermark as head. */
+    private final HeapPriorityQueue<InputChannelStatus> alignedChannelStatuses;
+
+    /** The number of input channels with an active watermark status. */
+    private int numActiveChannels;
+
+    /**
+     * The minimal difference between two watermarks emitted from the valve, zero for emitting every
+     * new overall watermark.
+     */
+    private final long watermarkCoalescingInterval;
+
     /** The last watermark emitted from the valve. */
     private long lastOutputWatermark;
 
@@ -59,14 +84,32 @@ public class StatusWatermarkValve {
      * @param numInputChannels the number of input channels that this valve will need to handle
      */
     public StatusWatermarkValve(int numInputChannels) {
+        this(numInputChannels, 0L);
+    }
+
+    /**
+     * Returns a new {@code StatusWatermarkValve} that coalesces watermarks.
+     *
+     * @param numInputChannels the number of input channels that this valve will need to handle
+     * @param watermarkCoalescingInterval the minimal difference between two emitted watermarks,
+     *     zero to emit every new overall watermark
+     */
+    public StatusWatermarkValve(int numInputChannels, long watermarkCoalescingInterval) {
         checkArgument(numInputChannels > 0);
+        checkArgument(watermarkCoalescingInterval >= 0);
         this.channelStatuses = new InputChannelStatus[numInputChannels];
+        this.alignedChannelStatuses =
+                new HeapPriorityQueue<>(
+                        (left, right) -> Long.compare(left.watermark, right.watermark),
+                        numInputChannels);
         for (int i = 0; i < numInputChannels; i++) {
             channelStatuses[i] = new InputChannelStatus();
             channelStatuses[i].watermark = Long.MIN_VALUE;
             channelStatuses[i].watermarkStatus = WatermarkStatus.ACTIVE;
-            channelStatuses[i].isWatermarkAligned = true;
+            markWatermarkAligned(channelStatuses[i]);
         }
+        this.numActiveChannels = numInputChannels;
+        this.watermarkCoalescingInterval = watermarkCoalescingInterval;
 
         this.lastOutputWatermark = Long.MIN_VALUE;
         this.lastOutputWatermarkStatus = WatermarkStatus.ACTIVE;
@@ -94,15 +137,16 @@ public class StatusWatermarkValve {
             if (watermarkMillis > channelStatuses[channelIndex].watermark) {
                 channelStatuses[channelIndex].watermark = watermarkMillis;
 
-                // previously unaligned input channels are now aligned if its watermark has caught
-                // up
-                if (!channelStatuses[channelIndex].isWatermarkAligned
-                        && watermarkMillis >= lastOutputWatermark) {
-                    channelStatuses[channelIndex].isWatermarkAligned = true;
+                if (channelStatuses[channelIndex].isWatermarkAligned) {
+                    alignedChannelStatuses.adjustModifiedElement(channelStatuses[channelIndex]);
+                } else if (watermarkMillis >= lastOutputWatermark) {
+                    // previously unaligned input channels are now aligned if its watermark has
+                    // caught up
+                    markWatermarkAligned(channelStatuses[channelIndex]);
                 }
 
                 // now, attempt to find a new min watermark across all aligned channels
-                findAndOutputNewMinWatermarkAcrossAlignedChannels(output);
+                findAndOutputNewMinWatermarkAcrossAlignedChannels(output, true);
             }
         }
     }
@@ -126,13 +170,14 @@ public class StatusWatermarkValve {
         if (watermarkStatus.isIdle() && channelStatuses[channelIndex].watermarkStatus.isActive()) {
             // handle active -> idle toggle for the input channel
             channelStatuses[channelIndex].watermarkStatus = WatermarkStatus.IDLE;
+            numActiveChannels--;
 
             // the channel is now idle, therefore not aligned
-            channelStatuses[channelIndex].isWatermarkAligned = false;
+            markWatermarkUnaligned(channelStatuses[channelIndex]);
 
             // if all input channels of the valve are now idle, we need to output an idle stream
             // status from the valve (this also marks the valve as idle)
-            if (!InputChannelStatus.hasActiveChannels(channelStatuses)) {
+            if (numActiveChannels == 0) {
 
                 // now that all input channels are idle and no channels will continue to advance its
                 // watermark,
@@ -143,30 +188,34 @@ public class StatusWatermarkValve {
                 // the min watermark as channels individually become IDLE, here we only need to
                 // perform the flush
                 // if the watermark of the last active channel that just became idle is the current
-                // min watermark.
-                if (channelStatuses[channelIndex].watermark == lastOutputWatermark) {
+                // min watermark (or was held back from it by watermark coalescing).
+                if (channelStatuses[channelIndex].watermark >= lastOutputWatermark) {
                     findAndOutputMaxWatermarkAcrossAllChannels(output);
                 }
 
                 lastOutputWatermarkStatus = WatermarkStatus.IDLE;
                 output.emitWatermarkStatus(lastOutputWatermarkStatus);
-            } else if (channelStatuses[channelIndex].watermark == lastOutputWatermark) {
+            } else if (channelStatuses[channelIndex].watermark >= lastOutputWatermark
+                    || watermarkCoalescingInterval > 0) {
                 // if the watermark of the channel that just became idle equals the last output
                 // watermark (the previous overall min watermark), we may be able to find a new
-                // min watermark from the remaining aligned channels
-                findAndOutputNewMinWatermarkAcrossAlignedChannels(output);
+                // min watermark from the remaining aligned channels. A watermark that was held back
+                // by watermark coalescing is flushed, as the idle channel may have been the last
+                // one to advance it.
+                findAndOutputNewMinWatermarkAcrossAlignedChannels(output, false);
             }
         } else if (watermarkStatus.isActive()
                 && channelStatuses[channelIndex].watermarkStatus.isIdle()) {
             // handle idle -> active toggle for the input channel
             channelStatuses[channelIndex].watermarkStatus = WatermarkStatus.ACTIVE;
+            numActiveChannels++;
 
             // if the last watermark of the input channel, before it was marked idle, is still
             // larger than
             // the overall last output watermark of the valve, then we can set the channel to be
             // aligned already.
             if (channelStatuses[channelIndex].watermark >= lastOutputWatermark) {
-                channelStatuses[channelIndex].isWatermarkAligned = true;
+                markWatermarkAligned(channelStatuses[channelIndex]);
             }
 
             // if the valve was previously marked to be idle, mark it as active and output an active
@@ -179,28 +228,47 @@ public class StatusWatermarkValve {
         }
     }
 
-    private void findAndOutputNewMinWatermarkAcrossAlignedChannels(DataOutput<?> output)
-            throws Exception {
-        long newMinWatermark = Long.MAX_VALUE;
-        boolean hasAlignedChannels = false;
-
-        // determine new overall watermark by considering only watermark-aligned channels across all
-        // channels
-        for (InputChannelStatus channelStatus : channelStatuses) {
-            if (channelStatus.isWatermarkAligned) {
-                hasAlignedChannels = true;
-                newMinWatermark = Math.min(channelStatus.watermark, newMinWatermark);
-            }
-        }
+    private void findAndOutputNewMinWatermarkAcrossAlignedChannels(
+            DataOutput<?> output, boolean coalesce) throws Exception {
+        // the new overall watermark is the min watermark across all watermark-aligned channels
+        final InputChannelStatus minChannelStatus = alignedChannelStatuses.peek();
 
         // we acknowledge and output the new overall watermark if it really is aggregated
         // from some remaining aligned channel, and is also larger than the last output watermark
-        if (hasAlignedChannels && newMinWatermark > lastOutputWatermark) {
-            lastOutputWatermark = newMinWatermark;
+        if (minChannelStatus != null
+                && minChannelStatus.watermark > lastOutputWatermark
+                && !(coalesce && shouldCoalesce(minChannelStatus.watermark))) {
+            lastOutputWatermark = minChannelStatus.watermark;
             output.emitWatermark(new Watermark(lastOutputWatermark));
         }
     }
 
+    /** Checks whether the given new overall watermark is held back by watermark coalescing. */
+    private boolean shouldCoalesce(long newWatermark) {
+        if (watermarkCoalescingInterval == 0
+                || newWatermark == Long.MAX_VALUE
+                || lastOutputWatermark == Long.MIN_VALUE) {
+            return false;
+        }
+        final long advance = newWatermark - lastOutputWatermark;
+        // a negative difference means an overflow, i.e. the watermark advanced a lot
+        return advance >= 0 && advance < watermarkCoalescingInterval;
+    }
+
+    private void markWatermarkAligned(InputChannelStatus channelStatus) {
+        if (!channelStatus.isWatermarkAligned) {
+            channelStatus.isWatermarkAligned = true;
+            alignedChannelStatuses.add(channelStatus);
+        }
+    }
+
+    private void markWatermarkUnaligned(InputChannelStatus channelStatus) {
+        if (channelStatus.isWatermarkAligned) {
+            channelStatus.isWatermarkAligned = false;
+            alignedChannelStatuses.remove(channelStatus);
+        }
+    }
+
     private void findAndOutputMaxWatermarkAcrossAllChannels(DataOutput<?> output) throws Exception {
         long maxWatermark = Long.MIN_VALUE;
 
@@ -228,21 +296,22 @@ public class StatusWatermarkValve {
      * </ul>
      */
     @VisibleForTesting
-    protected static class InputChannelStatus {
+    protected static class InputChannelStatus implements HeapPriorityQueueElement {
         protected long watermark;
         protected WatermarkStatus watermarkStatus;
         protected boolean isWatermarkAligned;
 
-        /**
-         * Utility to check if at least one channel in a given array of input channels is active.
-         */
-        private static boolean hasActiveChannels(InputChannelStatus[] channelStatuses) {
-            for (InputChannelStatus status : channelStatuses) {
-                if (status.watermarkStatus.isActive()) {
-                    return true;
-                }
-            }
-            return false;
+        /** The index of this channel in the heap of aligned channels. */
+        private int heapIndex = HeapPriorityQueueElement.NOT_CONTAINED;
+
+        @Override
+        public int getInternalIndex() {
+            return heapIndex;
+        }
+
+        @Override
+        public void setInternalIndex(int newIndex) {
+            this.heapIndex = newIndex;
         }
     }
 
@@ -38,6 +38,9 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -131,14 +134,15 @@ public class StreamTestSingleInputGate<T> {
                                             0,
                                             0));
                         } else if (input != null && input.isStreamRecord()) {
-                            StreamElement inputElement = input.getStreamRecord();
-
-                            delegate.setInstance(inputElement);
-                            ByteBuffer serializedRecord =
-                                    RecordWriter.serializeRecord(dataOutputSerializer, delegate);
                             BufferBuilder bufferBuilder = createBufferBuilder(bufferSize);
                             BufferConsumer bufferConsumer = bufferBuilder.createBufferConsumer();
-                            bufferBuilder.appendAndCommit(serializedRecord);
+                            for (StreamElement inputElement : input.getStreamRecords()) {
+                                delegate.setInstance(inputElement);
+                                ByteBuffer serializedRecord =
+                                        RecordWriter.serializeRecord(
+                                                dataOutputSerializer, delegate);
+                                bufferBuilder.appendAndCommit(serializedRecord);
+                            }
                             bufferBuilder.finish();
                             bufferBuilder.close();
 
@@ -180,6 +184,15 @@ public class StreamTestSingleInputGate<T> {
         inputGate.notifyChannelNonEmpty(inputChannels[channel]);
     }
 
+    /** Sends all given elements to the channel in a single buffer, which must be large enough. */
+    public void sendElements(List<?> elements, int channel) {
+        synchronized (inputQueues[channel]) {
+            inputQueues[channel].add(InputValue.element(new ArrayList<>(elements)));
+            inputQueues[channel].notifyAll();
+        }
+        inputGate.notifyChannelNonEmpty(inputChannels[channel]);
+    }
+
     public void sendEvent(AbstractEvent event, int channel) {
         synchronized (inputQueues[channel]) {
             inputQueues[channel].add(InputValue.event(event));
@@ -251,8 +264,12 @@ public class StreamTestSingleInputGate<T> {
             return new InputValue<X>(event, false, false, true, false);
         }
 
-        public StreamElement getStreamRecord() {
-            return (StreamElement) elementOrEvent;
+        @SuppressWarnings("unchecked")
+        public List<StreamElement> getStreamRecords() {
+            if (elementOrEvent instanceof List) {
+                return (List<StreamElement>) elementOrEvent;
+            }
+            return Collections.singletonList((StreamElement) elementOrEvent);
         }
 
         public AbstractEvent getEvent() {
@@ -19,9 +19,11 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.api.common.functions.RichMapFunction;
+import org.apache.flink.api.java.tuple.Tuple1;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.streaming.util.TestHarnessUtil;
 
@@ -76,6 +78,70 @@ public class StreamMapTest {
                 "Output was not correct.", expectedOutput, testHarness.getOutput());
     }
 
+    @Test
+    public void testMapBatch() throws Exception {
+        StreamMap<Integer, String> operator = new StreamMap<>(new Map());
+
+        OneInputStreamOperatorTestHarness<Integer, String> testHarness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+
+        long initialTime = 0L;
+        ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+        testHarness.open();
+
+        StreamRecordBatch<Integer> batch = new StreamRecordBatch<>(4);
+        batch.add(new StreamRecord<>(1, initialTime + 1));
+        batch.add(new StreamRecord<>(2, initialTime + 2));
+        batch.add(new StreamRecord<>(3, initialTime + 3));
+        operator.processElements(batch);
+        testHarness.processWatermark(new Watermark(initialTime + 3));
+
+        expectedOutput.add(new StreamRecord<>("+2", initialTime + 1));
+        expectedOutput.add(new StreamRecord<>("+3", initialTime + 2));
+        expectedOutput.add(new StreamRecord<>("+4", initialTime + 3));
+        expectedOutput.add(new Watermark(initialTime + 3));
+
+        TestHarnessUtil.assertOutputEquals(
+                "Output was not correct.", expectedOutput, testHarness.getOutput());
+    }
+
+    @Test
+    public void testMapBatchWithReusedOutputObject() throws Exception {
+        StreamMap<Integer, Tuple1<Integer>> operator =
+                new StreamMap<>(
+                        new MapFunction<Integer, Tuple1<Integer>>() {
+                            private final Tuple1<Integer> reuse = new Tuple1<>();
+
+                            @Override
+                            public Tuple1<Integer> map(Integer value) {
+                                reuse.f0 = value * 10;
+                                return reuse;
+                            }
+                        });
+
+        OneInputStreamOperatorTestHarness<Integer, Tuple1<Integer>> testHarness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+
+        ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+        testHarness.open();
+
+        StreamRecordBatch<Integer> batch = new StreamRecordBatch<>(4);
+        batch.add(new StreamRecord<>(1, 1L));
+        batch.add(new StreamRecord<>(2, 2L));
+        batch.add(new StreamRecord<>(3, 3L));
+        operator.processElements(batch);
+
+        // every result must be emitted before the function overwrites it for the next record
+        expectedOutput.add(new StreamRecord<>(Tuple1.of(10), 1L));
+        expectedOutput.add(new StreamRecord<>(Tuple1.of(20), 2L));
+        expectedOutput.add(new StreamRecord<>(Tuple1.of(30), 3L));
+
+        TestHarnessUtil.assertOutputEquals(
+                "Output was not correct.", expectedOutput, testHarness.getOutput());
+    }
+
     @Test
     public void testOpenClose() throws Exception {
         StreamMap<String, String> operator =
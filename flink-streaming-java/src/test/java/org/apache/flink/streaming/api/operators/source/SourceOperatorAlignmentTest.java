@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.source;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.common.state.OperatorStateStore;
+import org.apache.flink.api.connector.source.ReaderOutput;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.mocks.MockSourceSplit;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.runtime.operators.coordination.MockOperatorEventGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
+import org.apache.flink.runtime.operators.testutils.MockInputSplitProvider;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+import org.apache.flink.runtime.state.StateInitializationContext;
+import org.apache.flink.runtime.state.StateInitializationContextImpl;
+import org.apache.flink.runtime.state.TestTaskStateManager;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.streaming.api.operators.SourceOperator;
+import org.apache.flink.streaming.runtime.io.DataInputStatus;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.SourceOperatorStreamTask;
+import org.apache.flink.streaming.runtime.tasks.StreamMockEnvironment;
+import org.apache.flink.streaming.runtime.tasks.TestProcessingTimeService;
+import org.apache.flink.streaming.util.MockOutput;
+import org.apache.flink.streaming.util.MockStreamConfig;
+
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the watermark alignment of the {@link SourceOperator}. */
+public class SourceOperatorAlignmentTest {
+
+    private static final long UPDATE_INTERVAL = 10L;
+
+    private final TestProcessingTimeService timeService = new TestProcessingTimeService();
+
+    private final MockOperatorEventGateway eventGateway = new MockOperatorEventGateway();
+
+    private final CollectingDataOutput<Integer> output = new CollectingDataOutput<>();
+
+    @Test
+    public void testWaitingForAlignment() throws Exception {
+        final AlignedSourceReader reader = new AlignedSourceReader(true);
+        reader.add(null, 100);
+        reader.add(null, 200);
+        final SourceOperator<Integer, MockSourceSplit> operator = createTestOperator(reader);
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(50));
+        operator.emitNext(output);
+
+        final CompletableFuture<?> waitingFuture = operator.getAvailableFuture();
+        assertFalse(waitingFuture.isDone());
+        assertEquals(DataInputStatus.NOTHING_AVAILABLE, operator.emitNext(output));
+        assertEquals(1, countRecords());
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(150));
+        assertTrue(waitingFuture.isDone());
+        assertTrue(operator.getAvailableFuture().isDone());
+
+        operator.emitNext(output);
+        assertEquals(2, countRecords());
+        assertFalse(operator.getAvailableFuture().isDone());
+    }
+
+    @Test
+    public void testReportingLatestWatermark() throws Exception {
+        final AlignedSourceReader reader = new AlignedSourceReader(true);
+        reader.add(null, 100);
+        final SourceOperator<Integer, MockSourceSplit> operator = createTestOperator(reader);
+
+        operator.emitNext(output);
+        timeService.setCurrentTime(UPDATE_INTERVAL);
+
+        final List<OperatorEvent> events = eventGateway.getEventsSent();
+        assertEquals(new ReportedWatermarkEvent(100), events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testPausingAndResumingSplits() throws Exception {
+        final AlignedSourceReader reader = new AlignedSourceReader(true);
+        reader.add("a", 100);
+        reader.add("b", 20);
+        final SourceOperator<Integer, MockSourceSplit> operator = createTestOperator(reader);
+
+        operator.emitNext(output);
+        operator.emitNext(output);
+        assertTrue(reader.pauseOrResumeCalls.isEmpty());
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(50));
+        assertEquals(
+                Collections.singletonList(
+                        Tuple2.of(Collections.singletonList("a"), Collections.emptyList())),
+                reader.pauseOrResumeCalls);
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(150));
+        assertEquals(
+                Arrays.asList(
+                        Tuple2.of(Collections.singletonList("a"), Collections.emptyList()),
+                        Tuple2.of(Collections.emptyList(), Collections.singletonList("a"))),
+                reader.pauseOrResumeCalls);
+    }
+
+    @Test
+    public void testPausingSplitAheadOfMaxDesiredWatermark() throws Exception {
+        final AlignedSourceReader reader = new AlignedSourceReader(true);
+        reader.add("a", 20);
+        reader.add("b", 100);
+        final SourceOperator<Integer, MockSourceSplit> operator = createTestOperator(reader);
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(50));
+        operator.emitNext(output);
+        operator.emitNext(output);
+
+        assertEquals(
+                Collections.singletonList(
+                        Tuple2.of(Collections.singletonList("b"), Collections.emptyList())),
+                reader.pauseOrResumeCalls);
+        // the combined watermark of the reader is still behind the max desired watermark
+        assertTrue(operator.getAvailableFuture().isDone());
+    }
+
+    @Test
+    public void testFallbackToReaderAlignmentWithoutSplitPausing() throws Exception {
+        final AlignedSourceReader reader = new AlignedSourceReader(false);
+        reader.add("a", 20);
+        reader.add("b", 100);
+        reader.add("a", 60);
+        final SourceOperator<Integer, MockSourceSplit> operator = createTestOperator(reader);
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(50));
+        operator.emitNext(output);
+        operator.emitNext(output);
+        assertEquals(1, reader.pauseOrResumeCalls.size());
+
+        operator.handleOperatorEvent(new WatermarkAlignmentEvent(40));
+        assertEquals(1, reader.pauseOrResumeCalls.size());
+        assertTrue(operator.getAvailableFuture().isDone());
+
+        operator.emitNext(output);
+        assertEquals(1, reader.pauseOrResumeCalls.size());
+        assertFalse(operator.getAvailableFuture().isDone());
+        assertEquals(DataInputStatus.NOTHING_AVAILABLE, operator.emitNext(output));
+    }
+
+    // ------------------------------------------------------------------------
+    //   test setup helpers
+    // ------------------------------------------------------------------------
+
+    private long countRecords() {
+        return output.events.stream().filter(e -> e instanceof StreamRecord).count();
+    }
+
+    private SourceOperator<Integer, MockSourceSplit> createTestOperator(
+            SourceReader<Integer, MockSourceSplit> reader) throws Exception {
+        timeService.setCurrentTime(0L);
+
+        final OperatorStateStore operatorStateStore =
+                new MemoryStateBackend()
+                        .createOperatorStateBackend(
+                                new MockEnvironmentBuilder().build(),
+                                "test-operator",
+                                Collections.emptyList(),
+                                new CloseableRegistry());
+
+        final StateInitializationContext stateContext =
+                new StateInitializationContextImpl(null, operatorStateStore, null, null, null);
+
+        final WatermarkStrategy<Integer> watermarkStrategy =
+                WatermarkStrategy.<Integer>forGenerator(
+                                ctx -> new OnEventTestWatermarkGenerator<>())
+                        .withTimestampAssigner((element, recordTimestamp) -> element)
+                        .withWatermarkAlignment(
+                                "group",
+                                Duration.ofMillis(10),
+                                Duration.ofMillis(UPDATE_INTERVAL));
+
+        final SourceOperator<Integer, MockSourceSplit> sourceOperator =
+                new TestingSourceOperator<>(
+                        reader, watermarkStrategy, timeService, eventGateway, 1, 5, true);
+
+        sourceOperator.setup(
+                new SourceOperatorStreamTask<Integer>(
+                        new StreamMockEnvironment(
+                                new Configuration(),
+                                new Configuration(),
+                                new ExecutionConfig(),
+                                1L,
+                                new MockInputSplitProvider(),
+                                1,
+                                new TestTaskStateManager())),
+                new MockStreamConfig(new Configuration(), 1),
+                new MockOutput<>(new ArrayList<>()));
+        sourceOperator.initializeState(stateContext);
+        sourceOperator.open();
+
+        return sourceOperator;
+    }
+
+    // ------------------------------------------------------------------------
+    //   test mocks
+    // ------------------------------------------------------------------------
+
+    /**
+     * A reader that emits one record per call, either through the main output or through the
+     * output of a split, and records the splits it is asked to pause and resume.
+     */
+    private static final class AlignedSourceReader
+            implements SourceReader<Integer, MockSourceSplit> {
+
+        private final Queue<Tuple2<String, Integer>> records = new ArrayDeque<>();
+
+        private final List<Tuple2<List<String>, List<String>>> pauseOrResumeCalls =
+                new ArrayList<>();
+
+        private final boolean supportsPausing;
+
+        AlignedSourceReader(boolean supportsPausing) {
+            this.supportsPausing = supportsPausing;
+        }
+
+        void add(@Nullable String splitId, int value) {
+            records.add(Tuple2.of(splitId, value));
+        }
+
+        @Override
+        public void start() {}
+
+        @Override
+        public InputStatus pollNext(ReaderOutput<Integer> output) {
+            final Tuple2<String, Integer> next = records.poll();
+            if (next == null) {
+                return InputStatus.NOTHING_AVAILABLE;
+            }
+            if (next.f0 == null) {
+                output.collect(next.f1);
+            } else {
+                output.createOutputForSplit(next.f0).collect(next.f1);
+            }
+            return records.isEmpty() ? InputStatus.NOTHING_AVAILABLE : InputStatus.MORE_AVAILABLE;
+        }
+
+        @Override
+        public List<MockSourceSplit> snapshotState(long checkpointId) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public CompletableFuture<Void> isAvailable() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void addSplits(List<MockSourceSplit> splits) {}
+
+        @Override
+        public void notifyNoMoreSplits() {}
+
+        @Override
+        public void pauseOrResumeSplits(
+                Collection<String> splitsToPause, Collection<String> splitsToResume) {
+            pauseOrResumeCalls.add(
+                    Tuple2.of(new ArrayList<>(splitsToPause), new ArrayList<>(splitsToResume)));
+            if (!supportsPausing) {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.flink.runtime.operators.testutils.DummyCheckpointInvokable;
 import org.apache.flink.runtime.plugable.DeserializationDelegate;
 import org.apache.flink.runtime.plugable.SerializationDelegate;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.BatchedDataOutput;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
 import org.apache.flink.streaming.runtime.io.checkpointing.CheckpointBarrierTracker;
 import org.apache.flink.streaming.runtime.io.checkpointing.CheckpointedInputGate;
@@ -52,6 +53,7 @@ import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.tasks.TestSubtaskCheckpointCoordinator;
 import org.apache.flink.streaming.runtime.watermarkstatus.StatusWatermarkValve;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
@@ -63,6 +65,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -125,6 +128,74 @@ public class StreamTaskNetworkInputTest {
         assertEquals(0, output.getNumberOfEmittedRecords());
     }
 
+    @Test
+    public void testEmitRecordBatchEndsAtNonRecordElement() throws Exception {
+        BufferOrEvent buffer;
+        try (BufferBuilder bufferBuilder =
+                BufferBuilderTestUtils.createEmptyBufferBuilder(PAGE_SIZE)) {
+            BufferConsumer bufferConsumer = bufferBuilder.createBufferConsumer();
+            serializeRecord(1L, bufferBuilder);
+            serializeRecord(2L, bufferBuilder);
+            serializeRecord(3L, bufferBuilder);
+            serializeElement(new Watermark(10L), bufferBuilder);
+            serializeRecord(4L, bufferBuilder);
+            buffer = new BufferOrEvent(bufferConsumer.build(), new InputChannelInfo(0, 0));
+        }
+
+        RecordingBatchedDataOutput<Long> output = new RecordingBatchedDataOutput<>();
+        StreamTaskNetworkInput<Long> input =
+                createStreamTaskNetworkInput(Collections.singletonList(buffer));
+
+        // the records in front of the watermark form one batch, the watermark follows it
+        assertHasNextElement(input, output);
+        assertEquals(Arrays.asList("[1, 2, 3]", "Watermark @ 10"), output.getEvents());
+
+        assertHasNextElement(input, output);
+        assertEquals(
+                Arrays.asList("[1, 2, 3]", "Watermark @ 10", "[4]"), output.getEvents());
+    }
+
+    @Test
+    public void testEmitRecordBatchIsBounded() throws Exception {
+        int numRecords = 200;
+        BufferOrEvent buffer;
+        try (BufferBuilder bufferBuilder =
+                BufferBuilderTestUtils.createEmptyBufferBuilder(numRecords * 16)) {
+            BufferConsumer bufferConsumer = bufferBuilder.createBufferConsumer();
+            for (long i = 0; i < numRecords; i++) {
+                serializeRecord(i, bufferBuilder);
+            }
+            buffer = new BufferOrEvent(bufferConsumer.build(), new InputChannelInfo(0, 0));
+        }
+
+        RecordingBatchedDataOutput<Long> output = new RecordingBatchedDataOutput<>();
+        StreamTaskNetworkInput<Long> input =
+                createStreamTaskNetworkInput(Collections.singletonList(buffer));
+
+        assertHasNextElement(input, output);
+        assertHasNextElement(input, output);
+        assertEquals(Arrays.asList(128, 72), output.getBatchSizes());
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < numRecords; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, output.getRecords());
+    }
+
+    @Test
+    public void testRecordsAreNotBatchedForNonBatchedOutput() throws Exception {
+        List<BufferOrEvent> buffers = Collections.singletonList(createDataBuffer());
+
+        VerifyRecordsDataOutput<Long> output = new VerifyRecordsDataOutput<>();
+        StreamTaskNetworkInput<Long> input = createStreamTaskNetworkInput(buffers);
+
+        // without batching, every call emits exactly one record
+        assertHasNextElement(input, output);
+        assertEquals(1, output.getNumberOfEmittedRecords());
+        assertHasNextElement(input, output);
+        assertEquals(2, output.getNumberOfEmittedRecords());
+    }
+
     private Map<InputChannelInfo, TestRecordDeserializer> createDeserializers(
             CheckpointableInput inputGate) {
         return inputGate.getChannelInfos().stream()
@@ -265,10 +336,15 @@ public class StreamTaskNetworkInputTest {
     }
 
     private void serializeRecord(long value, BufferBuilder bufferBuilder) throws IOException {
+        serializeElement(new StreamRecord<>(value), bufferBuilder);
+    }
+
+    private void serializeElement(StreamElement element, BufferBuilder bufferBuilder)
+            throws IOException {
         DataOutputSerializer serializer = new DataOutputSerializer(128);
         SerializationDelegate<StreamElement> serializationDelegate =
                 new SerializationDelegate<>(new StreamElementSerializer<>(LongSerializer.INSTANCE));
-        serializationDelegate.setInstance(new StreamRecord<>(value));
+        serializationDelegate.setInstance(element);
         ByteBuffer serializedRecord =
                 RecordWriter.serializeRecord(serializer, serializationDelegate);
         bufferBuilder.appendAndCommit(serializedRecord);
@@ -332,6 +408,47 @@ public class StreamTaskNetworkInputTest {
         }
     }
 
+    private static class RecordingBatchedDataOutput<T> extends NoOpDataOutput<T>
+            implements BatchedDataOutput<T> {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final List<T> records = new ArrayList<>();
+
+        @Override
+        public void emitRecord(StreamRecord<T> record) {
+            throw new AssertionError("Records must be emitted in batches.");
+        }
+
+        @Override
+        public void emitRecords(StreamRecordBatch<T> batch) {
+            List<T> values = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                values.add(batch.get(i).getValue());
+            }
+            events.add(values.toString());
+            batchSizes.add(batch.size());
+            records.addAll(values);
+        }
+
+        @Override
+        public void emitWatermark(Watermark watermark) {
+            events.add(watermark.toString());
+        }
+
+        List<String> getEvents() {
+            return events;
+        }
+
+        List<Integer> getBatchSizes() {
+            return batchSizes;
+        }
+
+        List<T> getRecords() {
+            return records;
+        }
+    }
+
     private static class TestStreamTaskNetworkInput
             extends AbstractStreamTaskNetworkInput<Long, TestRecordDeserializer> {
         public TestStreamTaskNetworkInput(
@@ -28,7 +28,9 @@ import org.apache.flink.api.common.time.Deadline;
 import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
 import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.api.common.typeutils.base.StringValueSerializer;
 import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.typeutils.ValueTypeInfo;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.Gauge;
@@ -58,13 +60,19 @@ import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.graph.StreamEdge;
 import org.apache.flink.streaming.api.graph.StreamNode;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.BatchedOneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.BatchedOutput;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.streaming.api.operators.StreamFilter;
 import org.apache.flink.streaming.api.operators.StreamMap;
 import org.apache.flink.streaming.api.operators.StreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.streaming.util.TestHarnessUtil;
+import org.apache.flink.types.StringValue;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.TestLogger;
 
@@ -804,6 +812,104 @@ public class OneInputStreamTaskTest extends TestLogger {
         testHarness.waitForTaskCompletion();
     }
 
+    @Test
+    public void testCopyElisionForImmutableTypes() throws Exception {
+        final OneInputStreamTaskTestHarness<String, String> testHarness =
+                new OneInputStreamTaskTestHarness<>(
+                        OneInputStreamTask::new,
+                        BasicTypeInfo.STRING_TYPE_INFO,
+                        BasicTypeInfo.STRING_TYPE_INFO);
+
+        OperatorID chainedOperatorId = new OperatorID();
+        testHarness
+                .setupOperatorChain(new OperatorID(), new DuplicatingOperator())
+                .chain(
+                        chainedOperatorId,
+                        new DuplicatingOperator(),
+                        BasicTypeInfo.STRING_TYPE_INFO.createSerializer(new ExecutionConfig()))
+                .finish();
+
+        InterceptingOperatorMetricGroup chainedOperatorMetricGroup =
+                new InterceptingOperatorMetricGroup();
+        InterceptingTaskMetricGroup taskMetricGroup =
+                new InterceptingTaskMetricGroup() {
+                    @Override
+                    public InternalOperatorMetricGroup getOrAddOperator(
+                            OperatorID id, String name) {
+                        if (id.equals(chainedOperatorId)) {
+                            return chainedOperatorMetricGroup;
+                        } else {
+                            return super.getOrAddOperator(id, name);
+                        }
+                    }
+                };
+
+        StreamMockEnvironment env =
+                new StreamMockEnvironment(
+                        testHarness.jobConfig,
+                        testHarness.taskConfig,
+                        testHarness.memorySize,
+                        new MockInputSplitProvider(),
+                        testHarness.bufferSize,
+                        new TestTaskStateManager()) {
+                    @Override
+                    public TaskMetricGroup getMetricGroup() {
+                        return taskMetricGroup;
+                    }
+                };
+
+        testHarness.invoke(env);
+        testHarness.waitForTaskRunning();
+
+        final int numRecords = 3;
+        for (int x = 0; x < numRecords; x++) {
+            testHarness.processElement(new StreamRecord<>("hello"));
+        }
+        testHarness.waitForInputProcessing();
+
+        // strings are immutable, so none of the records emitted by the head operator are copied
+        Counter numAvoidedRecordCopies =
+                (Counter) chainedOperatorMetricGroup.get(MetricNames.NUM_AVOIDED_RECORD_COPIES);
+        assertEquals(numRecords * 2, numAvoidedRecordCopies.getCount());
+        assertEquals(numRecords * 2 * 2, testHarness.getOutput().size());
+
+        testHarness.endInput();
+        testHarness.waitForTaskCompletion();
+    }
+
+    @Test
+    public void testCopyElisionDoesNotShareStreamRecords() throws Exception {
+        final OneInputStreamTaskTestHarness<String, String> testHarness =
+                new OneInputStreamTaskTestHarness<>(
+                        OneInputStreamTask::new,
+                        BasicTypeInfo.STRING_TYPE_INFO,
+                        BasicTypeInfo.STRING_TYPE_INFO);
+
+        // the map replaces the value of its input record, which the head operator emits twice
+        testHarness
+                .setupOperatorChain(new OperatorID(), new DuplicatingOperator())
+                .chain(
+                        new OperatorID(),
+                        new StreamMap<String, String>(value -> value + "!"),
+                        BasicTypeInfo.STRING_TYPE_INFO.createSerializer(new ExecutionConfig()))
+                .finish();
+
+        testHarness.invoke();
+        testHarness.waitForTaskRunning();
+
+        testHarness.processElement(new StreamRecord<>("hello", 1L));
+        testHarness.waitForInputProcessing();
+
+        ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+        expectedOutput.add(new StreamRecord<>("hello!", 1L));
+        expectedOutput.add(new StreamRecord<>("hello!", 1L));
+        TestHarnessUtil.assertOutputEquals(
+                "Output was not correct.", expectedOutput, testHarness.getOutput());
+
+        testHarness.endInput();
+        testHarness.waitForTaskCompletion();
+    }
+
     static class DuplicatingOperator extends AbstractStreamOperator<String>
             implements OneInputStreamOperator<String, String> {
         @Override
@@ -813,6 +919,122 @@ public class OneInputStreamTaskTest extends TestLogger {
         }
     }
 
+    @Test
+    public void testBatchedHeadOperatorReceivesRecordsOfOneBuffer() throws Exception {
+        final OneInputStreamTaskTestHarness<String, String> testHarness =
+                new OneInputStreamTaskTestHarness<>(
+                        OneInputStreamTask::new,
+                        BasicTypeInfo.STRING_TYPE_INFO,
+                        BasicTypeInfo.STRING_TYPE_INFO);
+
+        testHarness
+                .setupOperatorChain(new OperatorID(), new BatchSizeRecordingOperator())
+                .finishForSingletonOperatorChain(StringSerializer.INSTANCE);
+        BatchSizeRecordingOperator.BATCH_SIZES.clear();
+
+        testHarness.invoke();
+        testHarness.waitForTaskRunning();
+
+        testHarness.processElements(
+                Arrays.asList(
+                        new StreamRecord<>("a", 1L),
+                        new StreamRecord<>("b", 2L),
+                        new StreamRecord<>("c", 3L)));
+        testHarness.processElement(new Watermark(3L));
+        testHarness.processElements(
+                Arrays.asList(new StreamRecord<>("d", 4L), new StreamRecord<>("e", 5L)));
+        testHarness.waitForInputProcessing();
+
+        ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+        expectedOutput.add(new StreamRecord<>("a", 1L));
+        expectedOutput.add(new StreamRecord<>("b", 2L));
+        expectedOutput.add(new StreamRecord<>("c", 3L));
+        expectedOutput.add(new Watermark(3L));
+        expectedOutput.add(new StreamRecord<>("d", 4L));
+        expectedOutput.add(new StreamRecord<>("e", 5L));
+        TestHarnessUtil.assertOutputEquals(
+                "Output was not correct.", expectedOutput, testHarness.getOutput());
+        assertEquals(
+                Arrays.asList(3, 2), new ArrayList<>(BatchSizeRecordingOperator.BATCH_SIZES));
+
+        testHarness.endInput();
+        testHarness.waitForTaskCompletion();
+    }
+
+    /**
+     * The chained map function returns the same mutable object for every record, so the batch must
+     * not be mapped as a whole before its records are copied or serialized.
+     */
+    @Test
+    public void testBatchedChainWithReusedOutputObject() throws Exception {
+        final OneInputStreamTaskTestHarness<String, StringValue> testHarness =
+                new OneInputStreamTaskTestHarness<>(
+                        OneInputStreamTask::new,
+                        BasicTypeInfo.STRING_TYPE_INFO,
+                        ValueTypeInfo.STRING_VALUE_TYPE_INFO);
+
+        testHarness
+                .setupOperatorChain(new OperatorID(), new StreamFilter<String>(value -> true))
+                .chain(
+                        new OperatorID(),
+                        SimpleOperatorFactory.of(new StreamMap<>(new ReusingUpperCaseMapper())),
+                        StringSerializer.INSTANCE,
+                        StringValueSerializer.INSTANCE,
+                        false)
+                .finish();
+
+        testHarness.invoke();
+        testHarness.waitForTaskRunning();
+
+        testHarness.processElements(
+                Arrays.asList(
+                        new StreamRecord<>("a", 1L),
+                        new StreamRecord<>("b", 2L),
+                        new StreamRecord<>("c", 3L)));
+        testHarness.waitForInputProcessing();
+
+        ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+        expectedOutput.add(new StreamRecord<>(new StringValue("A"), 1L));
+        expectedOutput.add(new StreamRecord<>(new StringValue("B"), 2L));
+        expectedOutput.add(new StreamRecord<>(new StringValue("C"), 3L));
+        TestHarnessUtil.assertOutputEquals(
+                "Output was not correct.", expectedOutput, testHarness.getOutput());
+
+        testHarness.endInput();
+        testHarness.waitForTaskCompletion();
+    }
+
+    /** Forwards all records and remembers the sizes of the batches it received. */
+    private static class BatchSizeRecordingOperator extends AbstractStreamOperator<String>
+            implements BatchedOneInputStreamOperator<String, String> {
+
+        private static final ConcurrentLinkedQueue<Integer> BATCH_SIZES =
+                new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void processElement(StreamRecord<String> element) {
+            BATCH_SIZES.add(1);
+            output.collect(element);
+        }
+
+        @Override
+        public void processElements(StreamRecordBatch<String> batch) {
+            BATCH_SIZES.add(batch.size());
+            BatchedOutput.collectBatch(output, batch);
+        }
+    }
+
+    private static class ReusingUpperCaseMapper implements MapFunction<String, StringValue> {
+
+        private final StringValue reuse = new StringValue();
+
+        @Override
+        public StringValue map(String value) {
+            reuse.setValue(value.toUpperCase());
+            return reuse;
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testWatermarkMetrics() throws Exception {
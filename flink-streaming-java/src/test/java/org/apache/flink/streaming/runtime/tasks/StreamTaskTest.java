@@ -29,6 +29,7 @@ import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.core.fs.FSDataInputStream;
 import org.apache.flink.core.testutils.OneShotLatch;
+import org.apache.flink.metrics.Counter;
 import org.apache.flink.runtime.checkpoint.CheckpointException;
 import org.apache.flink.runtime.checkpoint.CheckpointMetaData;
 import org.apache.flink.runtime.checkpoint.CheckpointMetrics;
@@ -54,8 +55,10 @@ import org.apache.flink.runtime.io.network.partition.consumer.InputGate;
 import org.apache.flink.runtime.io.network.partition.consumer.TestInputChannel;
 import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobgraph.tasks.TaskInvokable;
+import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.runtime.metrics.TimerGauge;
 import org.apache.flink.runtime.metrics.groups.TaskIOMetricGroup;
+import org.apache.flink.runtime.metrics.util.InterceptingTaskMetricGroup;
 import org.apache.flink.runtime.operators.testutils.DummyEnvironment;
 import org.apache.flink.runtime.operators.testutils.ExpectedTestException;
 import org.apache.flink.runtime.operators.testutils.MockEnvironment;
@@ -179,6 +182,8 @@ import static org.apache.flink.configuration.TaskManagerOptions.BUFFER_DEBLOAT_P
 import static org.apache.flink.configuration.TaskManagerOptions.BUFFER_DEBLOAT_TARGET;
 import static org.apache.flink.configuration.TaskManagerOptions.BUFFER_DEBLOAT_THRESHOLD_PERCENTAGES;
 import static org.apache.flink.configuration.TaskManagerOptions.MEMORY_SEGMENT_SIZE;
+import static org.apache.flink.configuration.TaskManagerOptions.TASK_MAILBOX_MAX_INPUTS_PER_ITERATION;
+import static org.apache.flink.configuration.TaskManagerOptions.TASK_MAILBOX_MAX_ITERATION_DURATION;
 import static org.apache.flink.runtime.checkpoint.CheckpointFailureReason.UNKNOWN_TASK_CHECKPOINT_NOTIFICATION_FAILURE;
 import static org.apache.flink.runtime.checkpoint.StateObjectCollection.singleton;
 import static org.apache.flink.runtime.io.network.api.writer.RecordWriter.DEFAULT_OUTPUT_FLUSH_THREAD_NAME;
@@ -1282,6 +1287,43 @@ public class StreamTaskTest extends TestLogger {
         }
     }
 
+    @Test
+    public void testProcessInputInBatches() throws Exception {
+        final Configuration taskConfiguration = new Configuration();
+        new MockStreamConfig(taskConfiguration, 1);
+        final Configuration taskManagerConfiguration =
+                new Configuration()
+                        .set(TASK_MAILBOX_MAX_INPUTS_PER_ITERATION, 4)
+                        .set(TASK_MAILBOX_MAX_ITERATION_DURATION, Duration.ZERO);
+        final InterceptingTaskMetricGroup taskMetricGroup = new InterceptingTaskMetricGroup();
+
+        try (final MockEnvironment environment =
+                new MockEnvironmentBuilder()
+                        .setTaskConfiguration(taskConfiguration)
+                        .setTaskManagerRuntimeInfo(
+                                new TestingTaskManagerRuntimeInfo(taskManagerConfiguration))
+                        .setMetricGroup(taskMetricGroup)
+                        .build()) {
+            environment.addOutputs(
+                    singletonList(new AvailabilityTestResultPartitionWriter(true)));
+            final int numberOfProcessCalls = 10;
+            final AvailabilityTestInputProcessor inputProcessor =
+                    new AvailabilityTestInputProcessor(numberOfProcessCalls);
+            final StreamTask task =
+                    new MockStreamTaskBuilder(environment)
+                            .setStreamInputProcessor(inputProcessor)
+                            .build();
+
+            task.invoke();
+            assertEquals(numberOfProcessCalls, inputProcessor.currentNumProcessCalls);
+            // 10 invocations with at most 4 per iteration
+            assertEquals(
+                    3L,
+                    ((Counter) taskMetricGroup.get(MetricNames.MAILBOX_LOOP_ITERATIONS))
+                            .getCount());
+        }
+    }
+
     /**
      * In this weird construct, we are:
      *
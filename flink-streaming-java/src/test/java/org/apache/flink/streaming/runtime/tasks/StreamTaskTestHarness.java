@@ -408,6 +408,11 @@ public class StreamTaskTestHarness<OUT> {
         inputGates[0].sendElement(element, 0);
     }
 
+    /** Sends all elements in a single buffer to input gate 0 on channel 0. */
+    public void processElements(List<?> elements) {
+        inputGates[0].sendElements(elements, 0);
+    }
+
     /** Sends the element to the specified channel on the specified input gate. */
     public void processElement(Object element, int inputGate, int channel) {
         inputGates[inputGate].sendElement(element, channel);
@@ -26,6 +26,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
 import org.junit.Test;
 
+import java.util.Random;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -409,6 +410,96 @@ public class StatusWatermarkValveTest {
         assertEquals(null, valveOutput.popLastSeenOutput());
     }
 
+    /**
+     * Tests that the min watermark is correctly tracked across many channels that advance in
+     * arbitrary order, including channels toggling idleness.
+     */
+    @Test
+    public void testManyChannelsAdvancingInRandomOrder() throws Exception {
+        final int numChannels = 1000;
+        final Random random = new Random(42L);
+        StatusWatermarkOutput valveOutput = new StatusWatermarkOutput();
+        StatusWatermarkValve valve = new StatusWatermarkValve(numChannels);
+
+        final long[] channelWatermarks = new long[numChannels];
+        final boolean[] idle = new boolean[numChannels];
+        long lastWatermark = Long.MIN_VALUE;
+        for (int i = 0; i < 100_000; i++) {
+            final int channel = random.nextInt(numChannels);
+            if (random.nextInt(100) == 0) {
+                idle[channel] = !idle[channel];
+                valve.inputWatermarkStatus(
+                        idle[channel] ? WatermarkStatus.IDLE : WatermarkStatus.ACTIVE,
+                        channel,
+                        valveOutput);
+            } else if (!idle[channel]) {
+                channelWatermarks[channel] += random.nextInt(10);
+                valve.inputWatermark(new Watermark(channelWatermarks[channel]), channel, valveOutput);
+            }
+
+            StreamElement output;
+            while ((output = valveOutput.popLastSeenOutput()) != null) {
+                if (output.isWatermark()) {
+                    final long watermark = output.asWatermark().getTimestamp();
+                    assertTrue(watermark > lastWatermark);
+                    lastWatermark = watermark;
+                }
+            }
+
+            // the output watermark never overtakes an active channel that caught up with it
+            for (int c = 0; c < numChannels; c++) {
+                if (!idle[c] && valve.getInputChannelStatus(c).isWatermarkAligned) {
+                    assertTrue(channelWatermarks[c] >= lastWatermark);
+                }
+            }
+        }
+    }
+
+    /** Tests that watermarks are coalesced until they advanced by the coalescing interval. */
+    @Test
+    public void testWatermarkCoalescing() throws Exception {
+        StatusWatermarkOutput valveOutput = new StatusWatermarkOutput();
+        StatusWatermarkValve valve = new StatusWatermarkValve(2, 10L);
+
+        valve.inputWatermark(new Watermark(0), 0, valveOutput);
+        valve.inputWatermark(new Watermark(0), 1, valveOutput);
+        // the first watermark is always forwarded
+        assertEquals(new Watermark(0), valveOutput.popLastSeenOutput());
+        assertEquals(null, valveOutput.popLastSeenOutput());
+
+        valve.inputWatermark(new Watermark(5), 0, valveOutput);
+        valve.inputWatermark(new Watermark(7), 1, valveOutput);
+        assertEquals(null, valveOutput.popLastSeenOutput());
+
+        valve.inputWatermark(new Watermark(12), 0, valveOutput);
+        valve.inputWatermark(new Watermark(11), 1, valveOutput);
+        assertEquals(new Watermark(11), valveOutput.popLastSeenOutput());
+        assertEquals(null, valveOutput.popLastSeenOutput());
+
+        // channels becoming idle flush the held back watermark
+        valve.inputWatermark(new Watermark(15), 0, valveOutput);
+        valve.inputWatermark(new Watermark(13), 1, valveOutput);
+        assertEquals(null, valveOutput.popLastSeenOutput());
+        valve.inputWatermarkStatus(WatermarkStatus.IDLE, 0, valveOutput);
+        assertEquals(new Watermark(13), valveOutput.popLastSeenOutput());
+        assertEquals(null, valveOutput.popLastSeenOutput());
+        valve.inputWatermarkStatus(WatermarkStatus.IDLE, 1, valveOutput);
+        assertEquals(new Watermark(15), valveOutput.popLastSeenOutput());
+        assertEquals(WatermarkStatus.IDLE, valveOutput.popLastSeenOutput());
+        assertEquals(null, valveOutput.popLastSeenOutput());
+
+        // the final watermark is never held back
+        valve.inputWatermarkStatus(WatermarkStatus.ACTIVE, 0, valveOutput);
+        valve.inputWatermarkStatus(WatermarkStatus.ACTIVE, 1, valveOutput);
+        assertEquals(WatermarkStatus.ACTIVE, valveOutput.popLastSeenOutput());
+        valve.inputWatermark(new Watermark(16), 0, valveOutput);
+        valve.inputWatermark(Watermark.MAX_WATERMARK, 1, valveOutput);
+        assertEquals(null, valveOutput.popLastSeenOutput());
+        valve.inputWatermark(Watermark.MAX_WATERMARK, 0, valveOutput);
+        assertEquals(Watermark.MAX_WATERMARK, valveOutput.popLastSeenOutput());
+        assertEquals(null, valveOutput.popLastSeenOutput());
+    }
+
     private static class StatusWatermarkOutput implements PushingAsyncDataInput.DataOutput {
 
         private BlockingQueue<StreamElement> allOutputs = new LinkedBlockingQueue<>();
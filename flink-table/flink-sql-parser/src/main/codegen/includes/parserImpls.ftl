@@ -501,6 +501,40 @@ SqlRichDescribeTable SqlRichDescribeTable() :
     }
 }
 
+/**
+ * ANALYZE TABLE [[catalogName.] dataBasesName].tableName COMPUTE STATISTICS
+ * [FOR COLUMNS col1 [, col2, ...] | FOR ALL COLUMNS] sql call.
+ */
+SqlAnalyzeTable SqlAnalyzeTable() :
+{
+    SqlIdentifier tableName;
+    SqlIdentifier column;
+    List<SqlNode> columns = new ArrayList<SqlNode>();
+    boolean allColumns = false;
+    SqlParserPos pos;
+}
+{
+    <ANALYZE> <TABLE> { pos = getPos(); }
+    tableName = CompoundIdentifier()
+    <COMPUTE> <STATISTICS>
+    [
+        <FOR>
+        (
+            <ALL> <COLUMNS> { allColumns = true; }
+        |
+            <COLUMNS>
+            column = SimpleIdentifier() { columns.add(column); }
+            (
+                <COMMA> column = SimpleIdentifier() { columns.add(column); }
+            )*
+        )
+    ]
+    {
+        return new SqlAnalyzeTable(
+            pos, tableName, new SqlNodeList(columns, getPos()), allColumns);
+    }
+}
+
 SqlAlterTable SqlAlterTable() :
 {
     SqlParserPos startPos;
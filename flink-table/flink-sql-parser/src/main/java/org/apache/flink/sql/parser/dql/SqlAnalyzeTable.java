@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.dql;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.util.ImmutableNullableList;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ANALYZE TABLE [[catalogName.] dataBasesName].tableName COMPUTE STATISTICS [FOR COLUMNS col1 [,
+ * col2, ...] | FOR ALL COLUMNS] sql call.
+ */
+public class SqlAnalyzeTable extends SqlCall {
+
+    public static final SqlSpecialOperator OPERATOR =
+            new SqlSpecialOperator("ANALYZE TABLE", SqlKind.OTHER);
+
+    private final SqlIdentifier tableName;
+    private final SqlNodeList columns;
+    private final boolean allColumns;
+
+    public SqlAnalyzeTable(
+            SqlParserPos pos, SqlIdentifier tableName, SqlNodeList columns, boolean allColumns) {
+        super(pos);
+        this.tableName = requireNonNull(tableName, "tableName should not be null.");
+        this.columns = requireNonNull(columns, "columns should not be null.");
+        this.allColumns = allColumns;
+    }
+
+    public String[] fullTableName() {
+        return tableName.names.toArray(new String[0]);
+    }
+
+    /** Returns the names of the columns to analyze, empty if no column is analyzed. */
+    public String[] getColumnNames() {
+        return columns.getList().stream()
+                .map(column -> ((SqlIdentifier) column).getSimple())
+                .toArray(String[]::new);
+    }
+
+    public boolean isAllColumns() {
+        return allColumns;
+    }
+
+    @Override
+    public SqlOperator getOperator() {
+        return OPERATOR;
+    }
+
+    @Override
+    public List<SqlNode> getOperandList() {
+        return ImmutableNullableList.of(tableName, columns);
+    }
+
+    @Override
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.keyword("ANALYZE TABLE");
+        tableName.unparse(writer, leftPrec, rightPrec);
+        writer.keyword("COMPUTE STATISTICS");
+        if (allColumns) {
+            writer.keyword("FOR ALL COLUMNS");
+        } else if (columns.size() > 0) {
+            writer.keyword("FOR COLUMNS");
+            final SqlWriter.Frame frame = writer.startList("", "");
+            for (SqlNode column : columns) {
+                writer.sep(",");
+                column.unparse(writer, leftPrec, rightPrec);
+            }
+            writer.endList(frame);
+        }
+    }
+}
@@ -302,6 +302,26 @@ public class FlinkSqlParserImplTest extends SqlParserTest {
                 .fails("(?s).*Encountered \"\\)\" at line 1, column 26.\n.*");
     }
 
+    @Test
+    public void testAnalyzeTable() {
+        sql("analyze table tbl compute statistics").ok("ANALYZE TABLE `TBL` COMPUTE STATISTICS");
+        sql("analyze table catalog1.db1.tbl compute statistics")
+                .ok("ANALYZE TABLE `CATALOG1`.`DB1`.`TBL` COMPUTE STATISTICS");
+
+        sql("analyze table tbl compute statistics for columns a")
+                .ok("ANALYZE TABLE `TBL` COMPUTE STATISTICS FOR COLUMNS `A`");
+        sql("analyze table db1.tbl compute statistics for columns a, b")
+                .ok("ANALYZE TABLE `DB1`.`TBL` COMPUTE STATISTICS FOR COLUMNS `A`, `B`");
+
+        sql("analyze table tbl compute statistics for all columns")
+                .ok("ANALYZE TABLE `TBL` COMPUTE STATISTICS FOR ALL COLUMNS");
+
+        sql("analyze table tbl ^for^ columns a")
+                .fails("(?s).*Encountered \"for\" at line 1, column 19.\n.*");
+        sql("analyze table tbl compute statistics for columns ^(^a, b)")
+                .fails("(?s).*Encountered \"\\(\" at line 1, column 50.\n.*");
+    }
+
     @Test
     public void testCreateTable() {
         final String sql =
@@ -59,6 +59,30 @@ public class ExecutionConfigOptions {
                                     + "NOTE: Cleaning up state requires additional overhead for bookkeeping. "
                                     + "Default value is 0, which means that it will never clean up state.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Long> TABLE_EXEC_STATE_TTL_COMPACT_FILTER_QUERY_TIME =
+            key("table.exec.state.ttl.compact-filter.query-time-after-num-entries")
+                    .longType()
+                    .defaultValue(1000L)
+                    .withDescription(
+                            "The number of state entries the compaction filter of the RocksDB state "
+                                    + "backend processes before it updates the current timestamp to "
+                                    + "drop the expired state. Updating the timestamp more often drops "
+                                    + "more expired state at the cost of slower compactions. It applies "
+                                    + "to the state of regular joins and group aggregations with a "
+                                    + "time-to-live, and can be overridden per state in a compiled plan.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Integer> TABLE_EXEC_STATE_TTL_INCREMENTAL_CLEANUP_SIZE =
+            key("table.exec.state.ttl.incremental-cleanup.size")
+                    .intType()
+                    .defaultValue(5)
+                    .withDescription(
+                            "The number of state entries the heap state backend checks for "
+                                    + "expiration on every state access. It applies to the state of "
+                                    + "regular joins and group aggregations with a time-to-live, and can "
+                                    + "be overridden per state in a compiled plan.");
+
     // ------------------------------------------------------------------------
     //  Source Options
     // ------------------------------------------------------------------------
@@ -285,6 +309,21 @@ public class ExecutionConfigOptions {
                                     + " applied by a single operator in the task, the actual memory used depends on"
                                     + " the running environment.");
 
+    // ------------------------------------------------------------------------
+    //  Join Options
+    // ------------------------------------------------------------------------
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Boolean> TABLE_EXEC_HASH_JOIN_SORT_MERGE_FALLBACK_ENABLED =
+            key("table.exec.hash-join.sort-merge-fallback.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "If true, the spilled partitions of a hash join which can not be made "
+                                    + "memory resident by repartitioning, e.g. because of too many "
+                                    + "duplicate keys, are joined by sort merge join instead of "
+                                    + "failing the job.");
+
     // ------------------------------------------------------------------------
     //  Agg Options
     // ------------------------------------------------------------------------
@@ -297,6 +336,21 @@ public class ExecutionConfigOptions {
                     .withDescription(
                             "Sets the window elements buffer size limit used in group window agg operator.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Boolean> TABLE_EXEC_LOCAL_WINDOW_AGG_SPILL_ENABLED =
+            key("table.exec.local-window-agg.spill-enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If true, the local window aggregate spills its buffered records to "
+                                    + "local disk when the managed memory is full, and combines "
+                                    + "them when the windows fire or a checkpoint is taken. "
+                                    + "Otherwise the buffered records are combined and emitted "
+                                    + "to the global window aggregate whenever the memory is "
+                                    + "full. Spilling reduces the shuffled data of window "
+                                    + "aggregates on high cardinality keys at the cost of local "
+                                    + "disk I/O.");
+
     // ------------------------------------------------------------------------
     //  Async Lookup Options
     // ------------------------------------------------------------------------
@@ -315,6 +369,105 @@ public class ExecutionConfigOptions {
                     .withDescription(
                             "The async timeout for the asynchronous operation to complete.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Integer> TABLE_EXEC_ASYNC_LOOKUP_BATCH_SIZE =
+            key("table.exec.async-lookup.batch-size")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The maximum number of input rows whose keys are looked up together by an "
+                                    + "async lookup join, if the lookup function of the table implements "
+                                    + "AsyncBatchLookupFunction and all the lookup keys refer to input fields. "
+                                    + "The default value 1 disables batched lookups. The batch size should "
+                                    + "not exceed 'table.exec.async-lookup.buffer-capacity', as a batch can't "
+                                    + "contain more rows than the async operations in flight.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Duration> TABLE_EXEC_ASYNC_LOOKUP_BATCH_INTERVAL =
+            key("table.exec.async-lookup.batch-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(10))
+                    .withDescription(
+                            "The maximum time the first input row of a batch of an async lookup join "
+                                    + "waits for the batch to be full before the batch is looked up.");
+
+    // ------------------------------------------------------------------------
+    //  Lookup Cache Options
+    // ------------------------------------------------------------------------
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<LookupCacheStrategy> TABLE_EXEC_LOOKUP_CACHE =
+            key("table.exec.lookup.cache")
+                    .enumType(LookupCacheStrategy.class)
+                    .defaultValue(LookupCacheStrategy.NONE)
+                    .withDescription(
+                            "The cache of the rows looked up by the lookup joins. The cache is kept "
+                                    + "per subtask in front of the lookup function of the connector, "
+                                    + "so it applies to all lookup connectors. It should only be enabled "
+                                    + "if the lookup joins may return outdated rows of the dimension tables.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Long> TABLE_EXEC_LOOKUP_CACHE_MAX_KEYS =
+            key("table.exec.lookup.cache.max-keys")
+                    .longType()
+                    .defaultValue(10000L)
+                    .withDescription(
+                            "The maximum number of lookup keys cached per subtask by the PARTIAL "
+                                    + "lookup cache, the least recently used keys are evicted first.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Duration> TABLE_EXEC_LOOKUP_CACHE_EXPIRE_AFTER_WRITE =
+            key("table.exec.lookup.cache.expire-after-write")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The time after which the rows of a key are evicted from the PARTIAL "
+                                    + "lookup cache once they have been looked up. If not set, the rows "
+                                    + "don't expire after they have been looked up.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Duration> TABLE_EXEC_LOOKUP_CACHE_EXPIRE_AFTER_ACCESS =
+            key("table.exec.lookup.cache.expire-after-access")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The time after which the rows of a key are evicted from the PARTIAL "
+                                    + "lookup cache once they have been last accessed. If not set, the rows "
+                                    + "don't expire after they have been accessed.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Boolean> TABLE_EXEC_LOOKUP_CACHE_MISSING_KEY =
+            key("table.exec.lookup.cache.caching-missing-key")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether the PARTIAL lookup cache caches the keys which don't match "
+                                    + "any row of the dimension table.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Boolean> TABLE_EXEC_LOOKUP_KEY_SHUFFLE =
+            key("table.exec.lookup.key-shuffle")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the input rows of the lookup joins are hash partitioned by the "
+                                    + "lookup keys, instead of being forwarded to the lookup join. The "
+                                    + "subtasks then look up disjoint keys, which makes the lookup caches "
+                                    + "of the subtasks hold different keys. It only applies to lookup "
+                                    + "joins whose lookup keys contain an input field and whose input "
+                                    + "is insert-only.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Double> TABLE_EXEC_LOOKUP_KEY_SHUFFLE_HOT_KEY_RATIO =
+            key("table.exec.lookup.key-shuffle.hot-key-ratio")
+                    .doubleType()
+                    .defaultValue(0.1)
+                    .withDescription(
+                            "The fraction of the input rows above which a lookup key is considered "
+                                    + "hot when the input of the lookup joins is hash partitioned by the "
+                                    + "lookup keys. The rows of a hot key are distributed round-robin to "
+                                    + "all subtasks so that a skewed key doesn't overload a single "
+                                    + "subtask. The value 0 disables the detection of hot keys.");
+
     // ------------------------------------------------------------------------
     //  MiniBatch Options
     // ------------------------------------------------------------------------
@@ -354,6 +507,19 @@ public class ExecutionConfigOptions {
                                     + TABLE_EXEC_MINIBATCH_ENABLED.key()
                                     + " is set true, its value must be positive.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Boolean> TABLE_EXEC_MINIBATCH_JOIN_ENABLED =
+            key("table.exec.mini-batch.join.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Specifies whether to buffer the input records of regular streaming joins "
+                                    + "per join key within a mini-batch, folding the retractions of "
+                                    + "buffered records before they access the join state. It only "
+                                    + "takes effect if "
+                                    + TABLE_EXEC_MINIBATCH_ENABLED.key()
+                                    + " is set true.");
+
     // ------------------------------------------------------------------------
     //  Other Exec Options
     // ------------------------------------------------------------------------
@@ -368,6 +534,17 @@ public class ExecutionConfigOptions {
                                     + "\"SortMergeJoin\", \"HashAgg\", \"SortAgg\".\n"
                                     + "By default no operator is disabled.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Boolean> TABLE_EXEC_OPERATOR_FUSION_CODEGEN_ENABLED =
+            key("table.exec.operator-fusion-codegen.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If true, the code of adjacent operators is fused into a single "
+                                    + "generated operator where possible, so that the intermediate "
+                                    + "rows between them are never materialized. Currently a calc "
+                                    + "is fused into the local hash aggregate it feeds.");
+
     /** @deprecated Use {@link ExecutionOptions#BATCH_SHUFFLE_MODE} instead. */
     @Deprecated
     @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
@@ -496,6 +673,29 @@ public class ExecutionConfigOptions {
         FORCE
     }
 
+    /** The strategy to cache the rows looked up by the lookup joins. */
+    @PublicEvolving
+    public enum LookupCacheStrategy implements DescribedEnum {
+        NONE(text("The rows are looked up for every input row.")),
+        PARTIAL(
+                text(
+                        "The rows looked up for a key are cached up to a maximum number of keys, "
+                                + "the least recently used keys are evicted first and the rows may "
+                                + "expire after they have been looked up or accessed."));
+
+        private final InlineElement description;
+
+        LookupCacheStrategy(InlineElement description) {
+            this.description = description;
+        }
+
+        @Internal
+        @Override
+        public InlineElement getDescription() {
+            return description;
+        }
+    }
+
     /** Determine if CAST operates using the legacy behaviour or the new one. */
     @Deprecated
     public enum LegacyCastBehaviour implements DescribedEnum {
@@ -21,6 +21,7 @@ package org.apache.flink.table.api.config;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.annotation.docs.Documentation;
 import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.MemorySize;
 
 import static org.apache.flink.configuration.ConfigOptions.key;
 
@@ -116,6 +117,31 @@ public class OptimizerConfigOptions {
                     .defaultValue(false)
                     .withDescription("Enables join reorder in optimizer. Default is disabled.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Integer> TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD =
+            key("table.optimizer.bushy-join-reorder-threshold")
+                    .intType()
+                    .defaultValue(12)
+                    .withDescription(
+                            "The maximum number of joined tables for which the optimizer searches "
+                                    + "for the cheapest bushy join tree when join reorder is enabled "
+                                    + "(see 'table.optimizer.join-reorder-enabled'). As the search "
+                                    + "space grows exponentially with the number of tables, joins "
+                                    + "of more tables are reordered by a greedy heuristic instead.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Boolean> TABLE_OPTIMIZER_MULTI_JOIN_ENABLED =
+            key("table.optimizer.multi-join-enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "When it is true, the optimizer will merge a chain of regular inner "
+                                    + "joins whose inputs are all joined on the same key into a "
+                                    + "single multi-input join operator, which keeps one state per "
+                                    + "input instead of storing the intermediate join results. "
+                                    + "Note that the state of the merged operator is not "
+                                    + "compatible with the state of the separate join operators.");
+
     @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
     public static final ConfigOption<Boolean> TABLE_OPTIMIZER_MULTIPLE_INPUT_ENABLED =
             key("table.optimizer.multiple-input-enabled")
@@ -124,6 +150,90 @@ public class OptimizerConfigOptions {
                             "When it is true, the optimizer will merge the operators with pipelined shuffling "
                                     + "into a multiple input operator to reduce shuffling and improve performance. Default value is true.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Boolean> TABLE_OPTIMIZER_DYNAMIC_FILTERING_ENABLED =
+            key("table.optimizer.dynamic-filtering.enabled")
+                    .defaultValue(true)
+                    .withDescription(
+                            "When it is true, the optimizer will try to push the join key values of a filtered "
+                                    + "dimension table as dynamic filter into the scan of a partitioned fact table "
+                                    + "at runtime, so that the scan only reads the partitions that can be joined. "
+                                    + "The source of the fact table must support dynamic filtering. Default value is true.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Boolean> TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED =
+            key("table.optimizer.runtime-filter.enabled")
+                    .defaultValue(false)
+                    .withDescription(
+                            "When it is true, the optimizer will try to inject a runtime filter into the "
+                                    + "probe side of a hash join or sort merge join. The runtime filter is a "
+                                    + "bloom filter built from the join keys of the build side at runtime, which "
+                                    + "drops the probe side rows that cannot be joined before they are shuffled.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<MemorySize> TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_DATA_SIZE =
+            key("table.optimizer.runtime-filter.max-build-data-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("150 mb"))
+                    .withDescription(
+                            "The max estimated data size of the build side of a join to inject a runtime filter. "
+                                    + "The runtime filter is disabled at runtime if the actual data size exceeds it.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<MemorySize> TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE =
+            key("table.optimizer.runtime-filter.min-probe-data-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("10 gb"))
+                    .withDescription(
+                            "The min estimated data size of the probe side of a join to inject a runtime filter.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Boolean> TABLE_OPTIMIZER_SKEW_JOIN_ENABLED =
+            key("table.optimizer.skew-join.enabled")
+                    .defaultValue(false)
+                    .withDescription(
+                            "When it is true, the optimizer will rewrite a hash join or sort merge join to "
+                                    + "detect hot join keys of the larger input at runtime. The rows of a hot key "
+                                    + "are spread over several parallel instances of the join, and the rows of the "
+                                    + "other input with the same key are replicated to these instances.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Double> TABLE_OPTIMIZER_SKEW_JOIN_HOT_KEY_RATIO =
+            key("table.optimizer.skew-join.hot-key-ratio")
+                    .doubleType()
+                    .defaultValue(0.01)
+                    .withDescription(
+                            "The min fraction of the rows of the larger join input a join key must have to be "
+                                    + "considered hot.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Integer> TABLE_OPTIMIZER_SKEW_JOIN_SPLIT_FACTOR =
+            key("table.optimizer.skew-join.split-factor")
+                    .intType()
+                    .defaultValue(16)
+                    .withDescription(
+                            "The number of parts the rows of a hot join key are split into. The rows of the "
+                                    + "other join input with a hot key are replicated this many times.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<MemorySize> TABLE_OPTIMIZER_SKEW_JOIN_MIN_DATA_SIZE =
+            key("table.optimizer.skew-join.min-data-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("1 gb"))
+                    .withDescription(
+                            "The min estimated data size of the larger join input to detect hot join keys.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+    public static final ConfigOption<Integer> TABLE_OPTIMIZER_ANALYZE_HISTOGRAM_BUCKET_NUM =
+            key("table.optimizer.analyze.histogram-bucket-num")
+                    .intType()
+                    .defaultValue(64)
+                    .withDescription(
+                            "The number of buckets of the equi-depth histograms computed by ANALYZE TABLE "
+                                    + "for numeric and date columns, which are used to estimate the "
+                                    + "selectivity of range predicates. The histograms are not "
+                                    + "computed if the number is not positive.");
+
     @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
     public static final ConfigOption<Boolean> TABLE_OPTIMIZER_SIMPLIFY_OPERATOR_NAME_ENABLED =
             key("table.optimizer.simplify-operator-name-enabled")
@@ -135,6 +135,23 @@ public class TableConfigOptions {
                                     + "Java has a maximum method length of 64 KB. This setting allows for finer granularity if necessary. "
                                     + "Default value is 4000 instead of 64KB as by default JIT refuses to work on methods with more than 8K byte code.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<String> GENERATED_CODE_CACHE_DIR =
+            key("table.generated-code.cache-dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The directory in which the bytecode of the compiled generated classes is cached, "
+                                    + "e.g. a directory of a distributed file system which is shared by the jobs of a cluster. "
+                                    + "If set, the generated code of operators is only compiled if its bytecode can't be found in the directory, "
+                                    + "which saves the compilation time of jobs with identical operators. "
+                                    + "The cache is keyed by the generated code only, "
+                                    + "so the directory should only be shared by jobs with compatible user-defined classes, "
+                                    + "which then also share the compiled bytecode in the memory of each process. "
+                                    + "The cached classes are loaded into the processes of the jobs, "
+                                    + "so the directory must only be writable by trusted users. "
+                                    + "If not set, the generated code is compiled for each job.");
+
     @Documentation.ExcludeFromDocumentation(
             "This option is rarely used. The default value is good enough for almost all cases.")
     public static final ConfigOption<Integer> MAX_MEMBERS_GENERATED_CODE =
@@ -144,6 +161,17 @@ public class TableConfigOptions {
                     .withDescription(
                             "Specifies a threshold where class members of generated code will be grouped into arrays by types.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<Boolean> GENERATED_CODE_BYTECODE_PROJECTION_ENABLED =
+            key("table.generated-code.bytecode-projection.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "When it is true, the projections which only copy fields of atomic types, "
+                                    + "e.g. the key projections of joins and aggregations, are generated as bytecode directly "
+                                    + "instead of being compiled from Java code by Janino. "
+                                    + "This reduces the compilation time of wide projections when the tasks are initialized.");
+
     // ------------------------------------------------------------------------------------------
     // Enum option types
     // ------------------------------------------------------------------------------------------
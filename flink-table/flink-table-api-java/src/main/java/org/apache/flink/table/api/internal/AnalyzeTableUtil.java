@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.api.internal;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.api.TableEnvironment;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.catalog.Catalog;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ObjectPath;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBinary;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBoolean;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+import org.apache.flink.table.catalog.stats.Date;
+import org.apache.flink.table.operations.ddl.AnalyzeTableOperation;
+import org.apache.flink.table.plan.stats.EquiDepthHistogram;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.utils.EncodingUtils;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.CloseableIterator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ANALYZE TABLE statement Util.
+ *
+ * <p>The statistics are computed by a batch query over the table, which aggregates the row count
+ * and the statistics of all analyzed columns in parallel. The number of distinct values of a column
+ * is estimated by APPROX_COUNT_DISTINCT, which doesn't need to keep all values of the column. The
+ * equi-depth histograms of numeric and date columns are computed by a query per column, which
+ * numbers the sorted values and takes the max value of each bucket.
+ */
+@Internal
+public final class AnalyzeTableUtil {
+
+    private AnalyzeTableUtil() {}
+
+    /** Returns whether statistics can be computed for a column of the given type. */
+    public static boolean isSupportedType(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case DATE:
+            case CHAR:
+            case VARCHAR:
+            case BINARY:
+            case VARBINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static TableResultInternal analyzeTable(
+            TableEnvironment tableEnv,
+            Catalog catalog,
+            AnalyzeTableOperation operation,
+            int histogramBucketNum)
+            throws Exception {
+        final String tableName = operation.getTableIdentifier().asSerializableString();
+        final List<Column> columns = operation.getColumns();
+
+        final List<String> aggregates = new ArrayList<>();
+        aggregates.add("COUNT(1)");
+        for (Column column : columns) {
+            aggregates.addAll(getAggregates(column));
+        }
+        final Row result =
+                collectSingleRow(
+                        tableEnv,
+                        String.format(
+                                "SELECT %s FROM %s", String.join(", ", aggregates), tableName));
+        final long rowCount = (Long) result.getField(0);
+
+        final Map<String, CatalogColumnStatisticsDataBase> columnStatistics = new HashMap<>();
+        int pos = 1;
+        for (Column column : columns) {
+            final int aggregateNum = getAggregates(column).size();
+            final Object[] values = new Object[aggregateNum];
+            for (int i = 0; i < aggregateNum; i++) {
+                values[i] = result.getField(pos + i);
+            }
+            pos += aggregateNum;
+            columnStatistics.put(
+                    column.getName(),
+                    createColumnStatistics(
+                            tableEnv, tableName, column, rowCount, values, histogramBucketNum));
+        }
+
+        // keep the statistics that are not computed here, e.g. the file count
+        final ObjectPath tablePath = operation.getTableIdentifier().toObjectPath();
+        final CatalogTableStatistics oldTableStatistics = catalog.getTableStatistics(tablePath);
+        catalog.alterTableStatistics(
+                tablePath,
+                new CatalogTableStatistics(
+                        rowCount,
+                        oldTableStatistics.getFileCount(),
+                        oldTableStatistics.getTotalSize(),
+                        oldTableStatistics.getRawDataSize(),
+                        new HashMap<>(oldTableStatistics.getProperties())),
+                false);
+        if (!columnStatistics.isEmpty()) {
+            final Map<String, CatalogColumnStatisticsDataBase> allColumnStatistics =
+                    new HashMap<>(
+                            catalog.getTableColumnStatistics(tablePath)
+                                    .getColumnStatisticsData());
+            allColumnStatistics.putAll(columnStatistics);
+            catalog.alterTableColumnStatistics(
+                    tablePath, new CatalogColumnStatistics(allColumnStatistics), false);
+        }
+        return TableResultImpl.TABLE_RESULT_OK;
+    }
+
+    /** Returns the aggregates computing the statistics of the column, the non-null count first. */
+    private static List<String> getAggregates(Column column) {
+        final String name = EncodingUtils.escapeIdentifier(column.getName());
+        final String nonNullCount = String.format("COUNT(%s)", name);
+        switch (column.getDataType().getLogicalType().getTypeRoot()) {
+            case BOOLEAN:
+                return Arrays.asList(
+                        nonNullCount, String.format("COUNT(CASE WHEN %s THEN 1 END)", name));
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case DATE:
+                return Arrays.asList(
+                        nonNullCount,
+                        String.format("APPROX_COUNT_DISTINCT(%s)", name),
+                        String.format("MIN(%s)", name),
+                        String.format("MAX(%s)", name));
+            case CHAR:
+            case VARCHAR:
+                return Arrays.asList(
+                        nonNullCount,
+                        String.format("APPROX_COUNT_DISTINCT(%s)", name),
+                        String.format("MAX(CHAR_LENGTH(%s))", name),
+                        String.format("AVG(CAST(CHAR_LENGTH(%s) AS DOUBLE))", name));
+            case BINARY:
+            case VARBINARY:
+                return Collections.singletonList(nonNullCount);
+            default:
+                throw new TableException(
+                        String.format(
+                                "Column '%s' of type %s is not supported by ANALYZE TABLE.",
+                                column.getName(), column.getDataType()));
+        }
+    }
+
+    private static CatalogColumnStatisticsDataBase createColumnStatistics(
+            TableEnvironment tableEnv,
+            String tableName,
+            Column column,
+            long rowCount,
+            Object[] values,
+            int histogramBucketNum)
+            throws Exception {
+        final long nonNullCount = (Long) values[0];
+        final long nullCount = rowCount - nonNullCount;
+        switch (column.getDataType().getLogicalType().getTypeRoot()) {
+            case BOOLEAN:
+                final long trueCount = (Long) values[1];
+                return new CatalogColumnStatisticsDataBoolean(
+                        trueCount, nonNullCount - trueCount, nullCount);
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return new CatalogColumnStatisticsDataLong(
+                        values[2] == null ? null : ((Number) values[2]).longValue(),
+                        values[3] == null ? null : ((Number) values[3]).longValue(),
+                        (Long) values[1],
+                        nullCount,
+                        computeHistogram(
+                                tableEnv, tableName, column, nonNullCount, histogramBucketNum));
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+                return new CatalogColumnStatisticsDataDouble(
+                        values[2] == null ? null : ((Number) values[2]).doubleValue(),
+                        values[3] == null ? null : ((Number) values[3]).doubleValue(),
+                        (Long) values[1],
+                        nullCount,
+                        computeHistogram(
+                                tableEnv, tableName, column, nonNullCount, histogramBucketNum));
+            case DATE:
+                return new CatalogColumnStatisticsDataDate(
+                        values[2] == null ? null : new Date(((LocalDate) values[2]).toEpochDay()),
+                        values[3] == null ? null : new Date(((LocalDate) values[3]).toEpochDay()),
+                        (Long) values[1],
+                        nullCount,
+                        computeHistogram(
+                                tableEnv, tableName, column, nonNullCount, histogramBucketNum));
+            case CHAR:
+            case VARCHAR:
+                return new CatalogColumnStatisticsDataString(
+                        values[2] == null ? null : ((Number) values[2]).longValue(),
+                        (Double) values[3],
+                        (Long) values[1],
+                        nullCount);
+            case BINARY:
+            case VARBINARY:
+                return new CatalogColumnStatisticsDataBinary(null, null, nullCount);
+            default:
+                throw new TableException(
+                        String.format(
+                                "Column '%s' of type %s is not supported by ANALYZE TABLE.",
+                                column.getName(), column.getDataType()));
+        }
+    }
+
+    /**
+     * Computes the equi-depth histogram of the column and returns it as statistics properties. The
+     * sorted values are numbered and split into buckets of the same number of values.
+     */
+    private static Map<String, String> computeHistogram(
+            TableEnvironment tableEnv,
+            String tableName,
+            Column column,
+            long nonNullCount,
+            int histogramBucketNum)
+            throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        if (histogramBucketNum <= 0 || nonNullCount == 0) {
+            return properties;
+        }
+        final String name = EncodingUtils.escapeIdentifier(column.getName());
+        final String query =
+                String.format(
+                        "SELECT MIN(v), MAX(v) FROM ("
+                                + "SELECT %s AS v, ROW_NUMBER() OVER (ORDER BY %s) AS rn "
+                                + "FROM %s WHERE %s IS NOT NULL) "
+                                + "GROUP BY CAST(FLOOR(CAST(rn - 1 AS DOUBLE) * %d / %d) AS BIGINT)",
+                        name,
+                        name,
+                        tableName,
+                        name,
+                        histogramBucketNum,
+                        nonNullCount);
+        final List<double[]> buckets = new ArrayList<>();
+        try (CloseableIterator<Row> iterator = tableEnv.executeSql(query).collect()) {
+            while (iterator.hasNext()) {
+                final Row row = iterator.next();
+                buckets.add(new double[] {toDouble(row.getField(0)), toDouble(row.getField(1))});
+            }
+        }
+        buckets.sort((bucket1, bucket2) -> Double.compare(bucket1[0], bucket2[0]));
+        final double[] boundaries = new double[buckets.size() + 1];
+        boundaries[0] = buckets.get(0)[0];
+        for (int i = 0; i < buckets.size(); i++) {
+            boundaries[i + 1] = buckets.get(i)[1];
+        }
+        properties.put(
+                EquiDepthHistogram.STATISTICS_PROPERTY,
+                new EquiDepthHistogram(nonNullCount, boundaries).serialize());
+        return properties;
+    }
+
+    private static Row collectSingleRow(TableEnvironment tableEnv, String query) throws Exception {
+        try (CloseableIterator<Row> iterator = tableEnv.executeSql(query).collect()) {
+            return iterator.next();
+        }
+    }
+
+    /** Converts a value to the double representation of {@link EquiDepthHistogram}. */
+    private static double toDouble(Object value) {
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay();
+        }
+        return ((Number) value).doubleValue();
+    }
+}
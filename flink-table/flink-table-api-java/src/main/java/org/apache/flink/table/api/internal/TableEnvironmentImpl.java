@@ -122,6 +122,7 @@ import org.apache.flink.table.operations.ddl.AlterViewAsOperation;
 import org.apache.flink.table.operations.ddl.AlterViewOperation;
 import org.apache.flink.table.operations.ddl.AlterViewPropertiesOperation;
 import org.apache.flink.table.operations.ddl.AlterViewRenameOperation;
+import org.apache.flink.table.operations.ddl.AnalyzeTableOperation;
 import org.apache.flink.table.operations.ddl.CreateCatalogFunctionOperation;
 import org.apache.flink.table.operations.ddl.CreateCatalogOperation;
 import org.apache.flink.table.operations.ddl.CreateDatabaseOperation;
@@ -160,6 +161,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_ANALYZE_HISTOGRAM_BUCKET_NUM;
 import static org.apache.flink.table.api.config.TableConfigOptions.TABLE_DML_SYNC;
 
 /**
@@ -1149,6 +1151,8 @@ public class TableEnvironmentImpl implements TableEnvironmentInternal {
             catalogManager.setCurrentCatalog(useDatabaseOperation.getCatalogName());
             catalogManager.setCurrentDatabase(useDatabaseOperation.getDatabaseName());
             return TableResultImpl.TABLE_RESULT_OK;
+        } else if (operation instanceof AnalyzeTableOperation) {
+            return analyzeTable((AnalyzeTableOperation) operation);
         } else if (operation instanceof ShowCatalogsOperation) {
             return buildShowResult("catalog name", listCatalogs());
         } else if (operation instanceof ShowCreateTableOperation) {
@@ -1321,6 +1325,26 @@ public class TableEnvironmentImpl implements TableEnvironmentInternal {
         }
     }
 
+    private TableResultInternal analyzeTable(AnalyzeTableOperation operation) {
+        if (isStreamingMode) {
+            throw new TableException("ANALYZE TABLE is only supported in batch mode.");
+        }
+        String exMsg = getDDLOpExecuteErrorMsg(operation.asSummaryString());
+        try {
+            Catalog catalog =
+                    getCatalogOrThrowException(operation.getTableIdentifier().getCatalogName());
+            int histogramBucketNum =
+                    tableConfig
+                            .getConfiguration()
+                            .get(TABLE_OPTIMIZER_ANALYZE_HISTOGRAM_BUCKET_NUM);
+            return AnalyzeTableUtil.analyzeTable(this, catalog, operation, histogramBucketNum);
+        } catch (TableNotExistException e) {
+            throw new ValidationException(exMsg, e);
+        } catch (Exception e) {
+            throw new TableException(exMsg, e);
+        }
+    }
+
     private TableResultInternal createCatalog(CreateCatalogOperation operation) {
         String exMsg = getDDLOpExecuteErrorMsg(operation.asSummaryString());
         try {
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.operations.ddl;
+
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ObjectIdentifier;
+import org.apache.flink.table.operations.Operation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Operation to describe "ANALYZE TABLE [[catalogName.] dataBasesName].tableName COMPUTE STATISTICS
+ * [FOR COLUMNS col1 [, col2, ...] | FOR ALL COLUMNS]" statement.
+ */
+public class AnalyzeTableOperation implements Operation {
+
+    private final ObjectIdentifier tableIdentifier;
+    private final List<Column> columns;
+
+    public AnalyzeTableOperation(ObjectIdentifier tableIdentifier, List<Column> columns) {
+        this.tableIdentifier = tableIdentifier;
+        this.columns = columns;
+    }
+
+    public ObjectIdentifier getTableIdentifier() {
+        return tableIdentifier;
+    }
+
+    /** Returns the columns to compute the statistics for, empty if only the row count is needed. */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String asSummaryString() {
+        if (columns.isEmpty()) {
+            return String.format(
+                    "ANALYZE TABLE %s COMPUTE STATISTICS", tableIdentifier.asSummaryString());
+        }
+        return String.format(
+                "ANALYZE TABLE %s COMPUTE STATISTICS FOR COLUMNS %s",
+                tableIdentifier.asSummaryString(),
+                columns.stream().map(Column::getName).collect(Collectors.joining(", ")));
+    }
+}
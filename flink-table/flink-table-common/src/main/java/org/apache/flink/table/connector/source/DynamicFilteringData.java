@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The data of a dynamic filtering, i.e. the distinct values of the filter fields that are produced
+ * by the other side of a join. A source that supports dynamic filtering only needs to read the rows
+ * whose filter field values are {@link #contains contained} in the data.
+ *
+ * <p>If the data is not {@link #isFiltering() filtering}, e.g. because it was too large to be
+ * collected, the source must read all the data.
+ */
+@PublicEvolving
+public class DynamicFilteringData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TypeInformation<RowData> typeInfo;
+    private final RowType rowType;
+
+    /** The serialized distinct rows of the filter field values. */
+    private final List<byte[]> serializedData;
+
+    private final boolean isFiltering;
+
+    /** The deserialized rows grouped by the hash code of their values, built lazily. */
+    private transient volatile Map<Integer, List<RowData>> dataMap;
+
+    private transient RowData.FieldGetter[] fieldGetters;
+
+    public DynamicFilteringData(
+            TypeInformation<RowData> typeInfo,
+            RowType rowType,
+            List<byte[]> serializedData,
+            boolean isFiltering) {
+        this.typeInfo = checkNotNull(typeInfo);
+        this.rowType = checkNotNull(rowType);
+        this.serializedData = checkNotNull(serializedData);
+        this.isFiltering = isFiltering;
+    }
+
+    /** Returns whether the data filters the input, i.e. whether it was fully collected. */
+    public boolean isFiltering() {
+        return isFiltering;
+    }
+
+    /** Returns the type of the rows, i.e. the types of the filter fields. */
+    public RowType getRowType() {
+        return rowType;
+    }
+
+    /**
+     * Returns whether the data contains a row with the same field values as the given row. The row
+     * must have the same fields as the {@link #getRowType() row type}. Always returns true if the
+     * data is not filtering.
+     */
+    public boolean contains(RowData row) {
+        if (!isFiltering) {
+            return true;
+        }
+        checkArgument(
+                row.getArity() == rowType.getFieldCount(),
+                "The arity of the row %s does not match the dynamic filtering data type %s.",
+                row,
+                rowType);
+        buildDataMapIfNeeded();
+        final List<RowData> candidates = dataMap.get(hash(row));
+        if (candidates == null) {
+            return false;
+        }
+        for (RowData candidate : candidates) {
+            if (fieldsEqual(candidate, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void buildDataMapIfNeeded() {
+        if (dataMap != null) {
+            return;
+        }
+        synchronized (this) {
+            if (dataMap != null) {
+                return;
+            }
+            final RowData.FieldGetter[] getters = new RowData.FieldGetter[rowType.getFieldCount()];
+            for (int i = 0; i < getters.length; i++) {
+                getters[i] = RowData.createFieldGetter(rowType.getTypeAt(i), i);
+            }
+            fieldGetters = getters;
+
+            final TypeSerializer<RowData> serializer =
+                    typeInfo.createSerializer(new ExecutionConfig());
+            final Map<Integer, List<RowData>> map = new HashMap<>();
+            for (byte[] bytes : serializedData) {
+                final RowData row;
+                try {
+                    row = serializer.deserialize(new DataInputDeserializer(bytes));
+                } catch (IOException e) {
+                    throw new RuntimeException(
+                            "Failed to deserialize the dynamic filtering data.", e);
+                }
+                map.computeIfAbsent(hash(row), k -> new ArrayList<>()).add(row);
+            }
+            dataMap = map;
+        }
+    }
+
+    private int hash(RowData row) {
+        int hash = 0;
+        for (RowData.FieldGetter getter : fieldGetters) {
+            final Object value = getter.getFieldOrNull(row);
+            hash =
+                    31 * hash
+                            + (value instanceof byte[]
+                                    ? Arrays.hashCode((byte[]) value)
+                                    : Objects.hashCode(value));
+        }
+        return hash;
+    }
+
+    private boolean fieldsEqual(RowData first, RowData second) {
+        for (RowData.FieldGetter getter : fieldGetters) {
+            if (!Objects.deepEquals(getter.getFieldOrNull(first), getter.getFieldOrNull(second))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicFilteringData{"
+                + "rowType="
+                + rowType
+                + ", isFiltering="
+                + isFiltering
+                + ", size="
+                + serializedData.size()
+                + '}';
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.connector.source.abilities;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.table.connector.source.ScanTableSource;
+
+import java.util.List;
+
+/**
+ * Enables to push down the dynamic filtering into a {@link ScanTableSource}.
+ *
+ * <p>For a batch join of a fact table with a filtered dimension table, the values of the join keys
+ * are only known once the dimension side has been read. The planner can collect those values at
+ * runtime and send them as {@link DynamicFilteringData} to the source of the fact table, so that
+ * the source can skip the data that can never be joined, e.g. the partitions that do not match any
+ * value of the dimension side.
+ *
+ * <p>The planner first asks the source which fields it accepts for dynamic filtering, see {@link
+ * #listAcceptedFilterFields()}, and then applies the fields that are actually used as filter, see
+ * {@link #applyDynamicFiltering(List)}. At runtime, the {@link DynamicFilteringData} is delivered
+ * as a {@link DynamicFilteringEvent} to the split enumerator of the source, before any split is
+ * requested. The rows of the data contain the values of the applied fields in the given order.
+ *
+ * <p>The dynamic filtering is an optimization, the source may read more data than necessary, e.g.
+ * if the dynamic filtering data is too large to be collected. The planner still performs the join
+ * on all rows produced by the source.
+ */
+@PublicEvolving
+public interface SupportsDynamicFiltering {
+
+    /**
+     * Returns the fields that the source accepts as dynamic filtering fields, e.g. the partition
+     * keys. The planner only applies dynamic filtering on a subset of these fields.
+     */
+    List<String> listAcceptedFilterFields();
+
+    /**
+     * Applies the candidate fields to filter on. The fields are a non-empty subset of the fields
+     * returned by {@link #listAcceptedFilterFields()}, the rows of the {@link DynamicFilteringData}
+     * contain the values of these fields in the given order.
+     */
+    void applyDynamicFiltering(List<String> candidateFilterFields);
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.functions;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.table.data.RowData;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link AsyncTableFunction} of a lookup table source can implement this interface to look up
+ * the rows of many keys at once, e.g. by a single {@code IN} query or a multi-get of the external
+ * system, instead of one {@code eval} call per key.
+ *
+ * <p>If batched lookups are enabled by {@code table.exec.async-lookup.batch-size}, the keys of the
+ * input rows of an asynchronous lookup join are accumulated until the batch size is reached or the
+ * batch interval has passed, and are looked up by {@link #asyncLookupBatch(List)}. The results are
+ * handed back to the join of each input row, so that the ordered and unordered output modes of the
+ * asynchronous join are preserved.
+ *
+ * <p>The function is opened and closed like any other {@link AsyncTableFunction}.
+ *
+ * <p>Note: {@link #asyncLookupBatch(List)} is called by the task thread when a batch is full, and
+ * by a separate timer thread when a batch has waited for the batch interval. The calls are never
+ * concurrent, and each call happens-before the next one, so the function may keep unsynchronized
+ * state which is only accessed by these calls. Any state which is also accessed by the threads
+ * completing the returned futures, or by {@code eval} calls, must be thread-safe.
+ */
+@PublicEvolving
+public interface AsyncBatchLookupFunction {
+
+    /**
+     * Looks up the rows of a batch of keys asynchronously. It may be called by different threads,
+     * but never concurrently, see the class documentation.
+     *
+     * @param keyRows the distinct keys to look up, each key contains the lookup key fields in the
+     *     order of their indices in the table, using the internal data structures
+     * @return a future of the rows matching each key, in the order of the keys. An empty collection
+     *     means that a key doesn't match any row. The rows use the internal data structures of the
+     *     produced type of the table source and must not be reused.
+     */
+    CompletableFuture<List<Collection<RowData>>> asyncLookupBatch(List<RowData> keyRows);
+}
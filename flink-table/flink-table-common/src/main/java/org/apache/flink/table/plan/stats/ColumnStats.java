@@ -59,6 +59,9 @@ public final class ColumnStats {
     /** min value of column values, null if the value is unknown or not comparable. */
     private final Comparable<?> min;
 
+    /** equi-depth histogram of the column values, null if unknown. */
+    private final EquiDepthHistogram histogram;
+
     /**
      * Deprecated because Number type max/min is not well supported comparable type, e.g. {@link
      * java.util.Date}, {@link java.sql.Timestamp}. please use {@link ColumnStats.Builder} to
@@ -75,6 +78,7 @@ public final class ColumnStats {
         this.minValue = min;
         this.max = null;
         this.min = null;
+        this.histogram = null;
     }
 
     /**
@@ -88,13 +92,15 @@ public final class ColumnStats {
             Double avgLen,
             Integer maxLen,
             Comparable<?> max,
-            Comparable<?> min) {
+            Comparable<?> min,
+            EquiDepthHistogram histogram) {
         this.ndv = ndv;
         this.nullCount = nullCount;
         this.avgLen = avgLen;
         this.maxLen = maxLen;
         this.max = max;
         this.min = min;
+        this.histogram = histogram;
         this.maxValue = null;
         this.minValue = null;
     }
@@ -153,6 +159,15 @@ public final class ColumnStats {
         return min;
     }
 
+    /**
+     * Returns the equi-depth histogram of the column values, or null if unknown. The values are
+     * represented as doubles: numbers by their value, dates by the days since epoch, times by the
+     * milliseconds of the day and timestamps by the milliseconds since epoch.
+     */
+    public EquiDepthHistogram getHistogram() {
+        return histogram;
+    }
+
     public String toString() {
         List<String> columnStats = new ArrayList<>();
         if (ndv != null) {
@@ -179,6 +194,9 @@ public final class ColumnStats {
         if (minValue != null) {
             columnStats.add("min=" + minValue);
         }
+        if (histogram != null) {
+            columnStats.add("histogram=" + histogram);
+        }
         String columnStatsStr = String.join(", ", columnStats);
         return "ColumnStats(" + columnStatsStr + ")";
     }
@@ -199,13 +217,20 @@ public final class ColumnStats {
                     this.minValue);
         } else {
             return new ColumnStats(
-                    this.ndv, this.nullCount, this.avgLen, this.maxLen, this.max, this.min);
+                    this.ndv,
+                    this.nullCount,
+                    this.avgLen,
+                    this.maxLen,
+                    this.max,
+                    this.min,
+                    this.histogram);
         }
     }
 
     /**
      * Merges two column stats. When the stats are unknown, whatever the other are, we need return
-     * unknown stats. The unknown definition for column stats is null.
+     * unknown stats. The unknown definition for column stats is null. The histograms of the
+     * merged stats are unknown, because they cannot be combined.
      *
      * @param other The other column stats to merge.
      * @return The merged column stats.
@@ -241,7 +266,7 @@ public final class ColumnStats {
                         other.min);
 
         if (max != null || min != null) {
-            return new ColumnStats(ndv, nullCount, avgLen, maxLen, max, min);
+            return new ColumnStats(ndv, nullCount, avgLen, maxLen, max, min, null);
         } else {
             return new ColumnStats(ndv, nullCount, avgLen, maxLen, maxValue, minValue);
         }
@@ -263,12 +288,14 @@ public final class ColumnStats {
                 && Objects.equals(maxValue, that.maxValue)
                 && Objects.equals(max, that.max)
                 && Objects.equals(minValue, that.minValue)
-                && Objects.equals(min, that.min);
+                && Objects.equals(min, that.min)
+                && Objects.equals(histogram, that.histogram);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(ndv, nullCount, avgLen, maxLen, maxValue, max, minValue, min);
+        return Objects.hash(
+                ndv, nullCount, avgLen, maxLen, maxValue, max, minValue, min, histogram);
     }
 
     private static <T> T combineIfNonNull(BinaryOperator<T> op, T t1, T t2) {
@@ -286,6 +313,7 @@ public final class ColumnStats {
         private Integer maxLen = null;
         private Comparable<?> max;
         private Comparable<?> min;
+        private EquiDepthHistogram histogram;
 
         public static Builder builder() {
             return new Builder();
@@ -321,8 +349,13 @@ public final class ColumnStats {
             return this;
         }
 
+        public Builder setHistogram(EquiDepthHistogram histogram) {
+            this.histogram = histogram;
+            return this;
+        }
+
         public ColumnStats build() {
-            return new ColumnStats(ndv, nullCount, avgLen, maxLen, max, min);
+            return new ColumnStats(ndv, nullCount, avgLen, maxLen, max, min, histogram);
         }
     }
 }
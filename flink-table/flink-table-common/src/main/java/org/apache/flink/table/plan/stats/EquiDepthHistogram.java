@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.plan.stats;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Equi-depth histogram of the non-null values of a column, i.e. every bucket contains roughly the
+ * same number of values. The values of numeric, date, time and timestamp columns are represented
+ * as doubles, see {@link ColumnStats#getHistogram()}.
+ *
+ * <p>A histogram with n buckets is described by n + 1 ascending boundaries. The i-th bucket
+ * contains the values between the i-th (exclusive, except for the first bucket) and the (i + 1)-th
+ * boundary (inclusive). A frequent value might span several buckets, which then have the same
+ * lower and upper boundary.
+ */
+@PublicEvolving
+public final class EquiDepthHistogram {
+
+    /** Key of the serialized histogram in the properties of catalog column statistics. */
+    public static final String STATISTICS_PROPERTY = "equi-depth-histogram";
+
+    /** number of non-null values described by the histogram. */
+    private final long rowCount;
+
+    /** ascending boundaries of the buckets. */
+    private final double[] boundaries;
+
+    public EquiDepthHistogram(long rowCount, double[] boundaries) {
+        checkArgument(rowCount >= 0, "The row count must not be negative.");
+        checkArgument(boundaries.length >= 2, "A histogram needs at least one bucket.");
+        for (int i = 1; i < boundaries.length; i++) {
+            checkArgument(
+                    boundaries[i - 1] <= boundaries[i], "The boundaries must be ascending.");
+        }
+        this.rowCount = rowCount;
+        this.boundaries = boundaries;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getNumBuckets() {
+        return boundaries.length - 1;
+    }
+
+    public double[] getBoundaries() {
+        return boundaries;
+    }
+
+    /**
+     * Estimates the fraction of the non-null values that are less than or equal to the given
+     * value. Values are assumed to be uniformly distributed within a bucket.
+     */
+    public double estimateFractionLessThanOrEqual(double value) {
+        final int numBuckets = getNumBuckets();
+        if (value < boundaries[0]) {
+            return 0.0;
+        }
+        if (value >= boundaries[numBuckets]) {
+            return 1.0;
+        }
+        double buckets = 0.0;
+        for (int i = 0; i < numBuckets; i++) {
+            final double lower = boundaries[i];
+            final double upper = boundaries[i + 1];
+            if (upper <= value) {
+                buckets += 1.0;
+            } else {
+                if (lower < value) {
+                    buckets += (value - lower) / (upper - lower);
+                }
+                break;
+            }
+        }
+        return buckets / numBuckets;
+    }
+
+    /**
+     * Estimates the fraction of the non-null values that are equal to the given value, which is
+     * only known for values spanning at least a bucket.
+     *
+     * @return the estimated fraction, or null if the value is not frequent enough
+     */
+    public Double estimateFractionEqual(double value) {
+        int buckets = 0;
+        for (int i = 0; i < getNumBuckets(); i++) {
+            if (boundaries[i] == value && boundaries[i + 1] == value) {
+                buckets++;
+            }
+        }
+        return buckets == 0 ? null : (double) buckets / getNumBuckets();
+    }
+
+    /** Serializes the histogram into a string, e.g. to store it in a catalog. */
+    public String serialize() {
+        return rowCount
+                + ";"
+                + Arrays.stream(boundaries)
+                        .mapToObj(Double::toString)
+                        .collect(Collectors.joining(","));
+    }
+
+    /** Deserializes a histogram serialized by {@link #serialize()}. */
+    public static EquiDepthHistogram deserialize(String serialized) {
+        final int separator = serialized.indexOf(';');
+        checkArgument(separator > 0, "Invalid serialized histogram: %s", serialized);
+        final double[] boundaries =
+                Arrays.stream(serialized.substring(separator + 1).split(","))
+                        .mapToDouble(Double::parseDouble)
+                        .toArray();
+        return new EquiDepthHistogram(
+                Long.parseLong(serialized.substring(0, separator)), boundaries);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EquiDepthHistogram that = (EquiDepthHistogram) o;
+        return rowCount == that.rowCount && Arrays.equals(boundaries, that.boundaries);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(rowCount) + Arrays.hashCode(boundaries);
+    }
+
+    @Override
+    public String toString() {
+        return "EquiDepthHistogram(rowCount="
+                + rowCount
+                + ", boundaries="
+                + Arrays.toString(boundaries)
+                + ")";
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.plan.stats;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Test for {@link EquiDepthHistogram}. */
+public class EquiDepthHistogramTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testEstimateFractionLessThanOrEqual() {
+        // 4 buckets: (0, 10], (10, 20], (20, 20], (20, 100]
+        EquiDepthHistogram histogram =
+                new EquiDepthHistogram(400, new double[] {0, 10, 20, 20, 100});
+        Assert.assertEquals(0.0, histogram.estimateFractionLessThanOrEqual(-1), DELTA);
+        Assert.assertEquals(0.0, histogram.estimateFractionLessThanOrEqual(0), DELTA);
+        Assert.assertEquals(0.125, histogram.estimateFractionLessThanOrEqual(5), DELTA);
+        Assert.assertEquals(0.25, histogram.estimateFractionLessThanOrEqual(10), DELTA);
+        // the frequent value 20 spans a whole bucket
+        Assert.assertEquals(0.75, histogram.estimateFractionLessThanOrEqual(20), DELTA);
+        Assert.assertEquals(0.875, histogram.estimateFractionLessThanOrEqual(60), DELTA);
+        Assert.assertEquals(1.0, histogram.estimateFractionLessThanOrEqual(100), DELTA);
+        Assert.assertEquals(1.0, histogram.estimateFractionLessThanOrEqual(200), DELTA);
+    }
+
+    @Test
+    public void testEstimateFractionEqual() {
+        EquiDepthHistogram histogram =
+                new EquiDepthHistogram(400, new double[] {0, 10, 20, 20, 100});
+        Assert.assertEquals(0.25, histogram.estimateFractionEqual(20), DELTA);
+        Assert.assertNull(histogram.estimateFractionEqual(10));
+    }
+
+    @Test
+    public void testSerialization() {
+        EquiDepthHistogram histogram =
+                new EquiDepthHistogram(123, new double[] {-1.5, 0, 3.25, 1e20});
+        Assert.assertEquals(histogram, EquiDepthHistogram.deserialize(histogram.serialize()));
+    }
+
+    @Test
+    public void testColumnStatsWithHistogram() {
+        EquiDepthHistogram histogram = new EquiDepthHistogram(10, new double[] {1, 5, 10});
+        ColumnStats stats =
+                ColumnStats.Builder.builder()
+                        .setNdv(10L)
+                        .setMin(1)
+                        .setMax(10)
+                        .setHistogram(histogram)
+                        .build();
+        Assert.assertEquals(histogram, stats.copy().getHistogram());
+        Assert.assertEquals(stats, stats.copy());
+        // histograms cannot be merged
+        Assert.assertNull(stats.merge(stats).getHistogram());
+    }
+}
@@ -1033,6 +1033,10 @@ public class FlinkSqlOperatorTable extends ReflectiveSqlOperatorTable {
     public static final SqlAggFunction VAR_POP = SqlStdOperatorTable.VAR_POP;
     public static final SqlAggFunction VAR_SAMP = SqlStdOperatorTable.VAR_SAMP;
     public static final SqlAggFunction SINGLE_VALUE = SqlStdOperatorTable.SINGLE_VALUE;
+    public static final SqlAggFunction APPROX_COUNT_DISTINCT =
+            new SqlSketchCountDistinctAggFunction("APPROX_COUNT_DISTINCT", OperandTypes.ANY);
+    public static final SqlAggFunction BITMAP_COUNT_DISTINCT =
+            new SqlSketchCountDistinctAggFunction("BITMAP_COUNT_DISTINCT", OperandTypes.INTEGER);
 
     // ARRAY OPERATORS
     public static final SqlOperator ARRAY_VALUE_CONSTRUCTOR = new SqlArrayConstructor();
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.functions.sql;
+
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.ReturnTypes;
+import org.apache.calcite.sql.type.SqlOperandTypeChecker;
+
+/**
+ * Aggregate functions which count the distinct values of their argument by a sketch of the values,
+ * e.g. a HyperLogLog sketch or a bitmap, instead of a distinct map of all values like {@code
+ * COUNT(DISTINCT)}.
+ *
+ * <p>NOTE: The difference between this and {@link
+ * org.apache.calcite.sql.fun.SqlStdOperatorTable#APPROX_COUNT_DISTINCT} is that Calcite converts
+ * the latter to an exact {@code COUNT(DISTINCT)}.
+ */
+public class SqlSketchCountDistinctAggFunction extends SqlAggFunction {
+
+    public SqlSketchCountDistinctAggFunction(
+            String name, SqlOperandTypeChecker operandTypeChecker) {
+        super(
+                name,
+                null,
+                SqlKind.OTHER_FUNCTION,
+                ReturnTypes.BIGINT,
+                null,
+                operandTypeChecker,
+                SqlFunctionCategory.NUMERIC,
+                false,
+                false);
+    }
+}
@@ -57,6 +57,7 @@ import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 import org.apache.flink.sql.parser.dml.RichSqlInsert;
 import org.apache.flink.sql.parser.dml.SqlBeginStatementSet;
 import org.apache.flink.sql.parser.dml.SqlEndStatementSet;
+import org.apache.flink.sql.parser.dql.SqlAnalyzeTable;
 import org.apache.flink.sql.parser.dql.SqlLoadModule;
 import org.apache.flink.sql.parser.dql.SqlRichDescribeTable;
 import org.apache.flink.sql.parser.dql.SqlRichExplain;
@@ -78,6 +79,7 @@ import org.apache.flink.table.api.Schema;
 import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.api.internal.AnalyzeTableUtil;
 import org.apache.flink.table.catalog.Catalog;
 import org.apache.flink.table.catalog.CatalogBaseTable;
 import org.apache.flink.table.catalog.CatalogDatabase;
@@ -91,6 +93,7 @@ import org.apache.flink.table.catalog.CatalogPartitionSpec;
 import org.apache.flink.table.catalog.CatalogTable;
 import org.apache.flink.table.catalog.CatalogView;
 import org.apache.flink.table.catalog.CatalogViewImpl;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.FunctionLanguage;
 import org.apache.flink.table.catalog.ManagedTableListener;
 import org.apache.flink.table.catalog.ObjectIdentifier;
@@ -140,6 +143,7 @@ import org.apache.flink.table.operations.ddl.AlterTableRenameOperation;
 import org.apache.flink.table.operations.ddl.AlterViewAsOperation;
 import org.apache.flink.table.operations.ddl.AlterViewPropertiesOperation;
 import org.apache.flink.table.operations.ddl.AlterViewRenameOperation;
+import org.apache.flink.table.operations.ddl.AnalyzeTableOperation;
 import org.apache.flink.table.operations.ddl.CreateCatalogFunctionOperation;
 import org.apache.flink.table.operations.ddl.CreateCatalogOperation;
 import org.apache.flink.table.operations.ddl.CreateDatabaseOperation;
@@ -268,6 +272,8 @@ public class SqlToOperationConverter {
             return Optional.of(converter.convertShowTables((SqlShowTables) validated));
         } else if (validated instanceof SqlShowColumns) {
             return Optional.of(converter.convertShowColumns((SqlShowColumns) validated));
+        } else if (validated instanceof SqlAnalyzeTable) {
+            return Optional.of(converter.convertAnalyzeTable((SqlAnalyzeTable) validated));
         } else if (validated instanceof SqlCreateView) {
             return Optional.of(converter.convertCreateView((SqlCreateView) validated));
         } else if (validated instanceof SqlDropView) {
@@ -897,6 +903,56 @@ public class SqlToOperationConverter {
                 sqlShowColumns.getPreposition());
     }
 
+    /** Convert ANALYZE TABLE statement. */
+    private Operation convertAnalyzeTable(SqlAnalyzeTable sqlAnalyzeTable) {
+        UnresolvedIdentifier unresolvedIdentifier =
+                UnresolvedIdentifier.of(sqlAnalyzeTable.fullTableName());
+        ObjectIdentifier tableIdentifier = catalogManager.qualifyIdentifier(unresolvedIdentifier);
+        Optional<CatalogManager.TableLookupResult> optionalCatalogTable =
+                catalogManager.getTable(tableIdentifier);
+        if (!optionalCatalogTable.isPresent() || optionalCatalogTable.get().isTemporary()) {
+            throw new ValidationException(
+                    String.format(
+                            "Table %s doesn't exist or is a temporary table.", tableIdentifier));
+        }
+        if (optionalCatalogTable.get().getTable() instanceof CatalogView) {
+            throw new ValidationException("ANALYZE TABLE for a view is not allowed.");
+        }
+        ResolvedSchema schema = optionalCatalogTable.get().getResolvedSchema();
+
+        List<Column> columns = new ArrayList<>();
+        if (sqlAnalyzeTable.isAllColumns()) {
+            for (Column column : schema.getColumns()) {
+                if (column.isPhysical()
+                        && AnalyzeTableUtil.isSupportedType(
+                                column.getDataType().getLogicalType())) {
+                    columns.add(column);
+                }
+            }
+        } else {
+            for (String columnName : sqlAnalyzeTable.getColumnNames()) {
+                Optional<Column> optionalColumn = schema.getColumn(columnName);
+                if (!optionalColumn.isPresent()) {
+                    throw new ValidationException(
+                            String.format(
+                                    "Column %s does not exist in table %s.",
+                                    columnName, tableIdentifier));
+                }
+                Column column = optionalColumn.get();
+                if (!column.isPhysical()
+                        || !AnalyzeTableUtil.isSupportedType(
+                                column.getDataType().getLogicalType())) {
+                    throw new ValidationException(
+                            String.format(
+                                    "Column %s of type %s is not supported by ANALYZE TABLE.",
+                                    columnName, column.getDataType()));
+                }
+                columns.add(column);
+            }
+        }
+        return new AnalyzeTableOperation(tableIdentifier, columns);
+    }
+
     /** Convert SHOW CREATE TABLE statement. */
     private Operation convertShowCreateTable(SqlShowCreateTable sqlShowCreateTable) {
         UnresolvedIdentifier unresolvedIdentifier =
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec;
+
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.runtime.util.StateConfigUtil;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.apache.flink.table.api.config.ExecutionConfigOptions.TABLE_EXEC_STATE_TTL_COMPACT_FILTER_QUERY_TIME;
+import static org.apache.flink.table.api.config.ExecutionConfigOptions.TABLE_EXEC_STATE_TTL_INCREMENTAL_CLEANUP_SIZE;
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * StateMetadata describes a state of a stateful {@link ExecNode}: its time-to-live and how its
+ * expired entries are cleaned up.
+ *
+ * <p>The time-to-live of each state is taken from {@link
+ * ExecutionConfigOptions#IDLE_STATE_RETENTION} when the plan is created, and is kept in the
+ * compiled plan. It can be changed per state there, e.g. to let the state of one input of a join
+ * expire while the state of the other input is kept. The cleanup of the expired entries falls back
+ * to the configuration if it isn't set for the state.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class StateMetadata {
+    public static final String FIELD_NAME_STATE_INDEX = "index";
+    public static final String FIELD_NAME_STATE_TTL = "ttl";
+    public static final String FIELD_NAME_STATE_NAME = "name";
+    public static final String FIELD_NAME_COMPACT_FILTER_QUERY_TIME_AFTER_NUM_ENTRIES =
+            "compactFilterQueryTimeAfterNumEntries";
+    public static final String FIELD_NAME_INCREMENTAL_CLEANUP_SIZE = "incrementalCleanupSize";
+
+    /** The index of the state in the states of the node, e.g. the index of the input of a join. */
+    @JsonProperty(FIELD_NAME_STATE_INDEX)
+    private final int stateIndex;
+
+    /** The time-to-live of the state, zero means that the state never expires. */
+    @JsonProperty(FIELD_NAME_STATE_TTL)
+    private final Duration stateTtl;
+
+    @JsonProperty(FIELD_NAME_STATE_NAME)
+    private final String stateName;
+
+    /** Overrides the configured cleanup of the RocksDB compaction filter for this state. */
+    @JsonProperty(FIELD_NAME_COMPACT_FILTER_QUERY_TIME_AFTER_NUM_ENTRIES)
+    private final @Nullable Long compactFilterQueryTimeAfterNumEntries;
+
+    /** Overrides the configured incremental cleanup of the heap state backend for this state. */
+    @JsonProperty(FIELD_NAME_INCREMENTAL_CLEANUP_SIZE)
+    private final @Nullable Integer incrementalCleanupSize;
+
+    public StateMetadata(int stateIndex, Duration stateTtl, String stateName) {
+        this(stateIndex, stateTtl, stateName, null, null);
+    }
+
+    @JsonCreator
+    public StateMetadata(
+            @JsonProperty(FIELD_NAME_STATE_INDEX) int stateIndex,
+            @JsonProperty(FIELD_NAME_STATE_TTL) Duration stateTtl,
+            @JsonProperty(FIELD_NAME_STATE_NAME) String stateName,
+            @JsonProperty(FIELD_NAME_COMPACT_FILTER_QUERY_TIME_AFTER_NUM_ENTRIES) @Nullable
+                    Long compactFilterQueryTimeAfterNumEntries,
+            @JsonProperty(FIELD_NAME_INCREMENTAL_CLEANUP_SIZE) @Nullable
+                    Integer incrementalCleanupSize) {
+        checkArgument(stateIndex >= 0, "State index should start from 0.");
+        this.stateIndex = stateIndex;
+        this.stateTtl = checkNotNull(stateTtl, "State ttl should not be null.");
+        checkArgument(!stateTtl.isNegative(), "State ttl should not be negative.");
+        this.stateName = checkNotNull(stateName, "State name should not be null.");
+        checkArgument(
+                compactFilterQueryTimeAfterNumEntries == null
+                        || compactFilterQueryTimeAfterNumEntries > 0,
+                "The number of entries after which the compaction filter queries the time "
+                        + "should be positive.");
+        checkArgument(
+                incrementalCleanupSize == null || incrementalCleanupSize > 0,
+                "The incremental cleanup size should be positive.");
+        this.compactFilterQueryTimeAfterNumEntries = compactFilterQueryTimeAfterNumEntries;
+        this.incrementalCleanupSize = incrementalCleanupSize;
+    }
+
+    @JsonIgnore
+    public int getStateIndex() {
+        return stateIndex;
+    }
+
+    @JsonIgnore
+    public Duration getStateTtl() {
+        return stateTtl;
+    }
+
+    @JsonIgnore
+    public String getStateName() {
+        return stateName;
+    }
+
+    /**
+     * Creates the {@link StateTtlConfig} of the state. The cleanup which isn't set for the state is
+     * taken from the given configuration.
+     */
+    public StateTtlConfig createTtlConfig(ReadableConfig config) {
+        long queryTimeAfterNumEntries =
+                compactFilterQueryTimeAfterNumEntries != null
+                        ? compactFilterQueryTimeAfterNumEntries
+                        : config.get(TABLE_EXEC_STATE_TTL_COMPACT_FILTER_QUERY_TIME);
+        int cleanupSize =
+                incrementalCleanupSize != null
+                        ? incrementalCleanupSize
+                        : config.get(TABLE_EXEC_STATE_TTL_INCREMENTAL_CLEANUP_SIZE);
+        return StateConfigUtil.createTtlConfig(
+                stateTtl.toMillis(), queryTimeAfterNumEntries, cleanupSize);
+    }
+
+    /**
+     * Creates the metadata of the given states of a node, whose time-to-live is {@link
+     * ExecutionConfigOptions#IDLE_STATE_RETENTION}.
+     */
+    public static List<StateMetadata> getDefaultStateMetadata(
+            ReadableConfig config, String... stateNames) {
+        Duration ttl = config.get(ExecutionConfigOptions.IDLE_STATE_RETENTION);
+        List<StateMetadata> stateMetadataList = new ArrayList<>(stateNames.length);
+        for (int i = 0; i < stateNames.length; i++) {
+            stateMetadataList.add(new StateMetadata(i, ttl, stateNames[i]));
+        }
+        return stateMetadataList;
+    }
+
+    /**
+     * Creates the {@link StateTtlConfig}s of the states of a node, in the order of their indices.
+     * Without state metadata, e.g. in a plan compiled before the metadata has been introduced, all
+     * the states expire after {@link ExecutionConfigOptions#IDLE_STATE_RETENTION}.
+     */
+    public static List<StateTtlConfig> createTtlConfigs(
+            ExecNode<?> execNode,
+            @Nullable List<StateMetadata> stateMetadataList,
+            ReadableConfig config,
+            int numStates) {
+        List<StateTtlConfig> ttlConfigs = new ArrayList<>(numStates);
+        if (stateMetadataList == null || stateMetadataList.isEmpty()) {
+            StateTtlConfig ttlConfig =
+                    StateConfigUtil.createTtlConfig(
+                            config.get(ExecutionConfigOptions.IDLE_STATE_RETENTION).toMillis());
+            for (int i = 0; i < numStates; i++) {
+                ttlConfigs.add(ttlConfig);
+            }
+            return ttlConfigs;
+        }
+
+        if (stateMetadataList.size() != numStates) {
+            throw new TableException(
+                    String.format(
+                            "The compiled plan declares %s states for %s, but it has %s states.",
+                            stateMetadataList.size(), execNode.getDescription(), numStates));
+        }
+        StateTtlConfig[] ttlConfigsByIndex = new StateTtlConfig[numStates];
+        for (StateMetadata stateMetadata : stateMetadataList) {
+            int index = stateMetadata.getStateIndex();
+            if (index >= numStates || ttlConfigsByIndex[index] != null) {
+                throw new TableException(
+                        String.format(
+                                "The compiled plan declares an invalid or duplicate state index %s "
+                                        + "for %s, the indices should be 0 to %s.",
+                                index, execNode.getDescription(), numStates - 1));
+            }
+            ttlConfigsByIndex[index] = stateMetadata.createTtlConfig(config);
+        }
+        for (StateTtlConfig ttlConfig : ttlConfigsByIndex) {
+            ttlConfigs.add(ttlConfig);
+        }
+        return ttlConfigs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StateMetadata that = (StateMetadata) o;
+        return stateIndex == that.stateIndex
+                && stateTtl.equals(that.stateTtl)
+                && stateName.equals(that.stateName)
+                && Objects.equals(
+                        compactFilterQueryTimeAfterNumEntries,
+                        that.compactFilterQueryTimeAfterNumEntries)
+                && Objects.equals(incrementalCleanupSize, that.incrementalCleanupSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                stateIndex,
+                stateTtl,
+                stateName,
+                compactFilterQueryTimeAfterNumEntries,
+                incrementalCleanupSize);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.batch;
+
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.streaming.api.transformations.OneInputTransformation;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.runtime.operators.dynamicfiltering.DynamicFilteringDataCollectorOperatorFactory;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Batch {@link ExecNode} that collects the values of the dynamic filtering fields of its input and
+ * sends them to the sources of the {@link BatchExecTableSourceScan}s that applied dynamic
+ * filtering.
+ */
+public class BatchExecDynamicFilteringDataCollector extends ExecNodeBase<RowData>
+        implements BatchExecNode<RowData> {
+
+    /** The maximal size of the collected data, the sources read all the data if it is exceeded. */
+    private static final long DYNAMIC_FILTERING_DATA_THRESHOLD =
+            MemorySize.parse("8mb").getBytes();
+
+    private final int[] dynamicFilteringFieldIndices;
+
+    /**
+     * The IDs of the source coordinators that listen to the data, registered by the scans while
+     * they are translated.
+     */
+    private final Set<String> dynamicFilteringDataListenerIDs = new HashSet<>();
+
+    public BatchExecDynamicFilteringDataCollector(
+            int[] dynamicFilteringFieldIndices,
+            InputProperty inputProperty,
+            RowType outputType,
+            String description) {
+        super(Collections.singletonList(inputProperty), outputType, description);
+        this.dynamicFilteringFieldIndices = dynamicFilteringFieldIndices;
+    }
+
+    public void registerDynamicFilteringDataListenerID(String id) {
+        dynamicFilteringDataListenerIDs.add(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
+        final Transformation<RowData> inputTransform =
+                (Transformation<RowData>) getInputEdges().get(0).translateToPlan(planner);
+        final RowType outputType = (RowType) getOutputType();
+
+        // the listener IDs are passed by reference, as the scans may register after this node
+        // was translated
+        final DynamicFilteringDataCollectorOperatorFactory factory =
+                new DynamicFilteringDataCollectorOperatorFactory(
+                        outputType,
+                        dynamicFilteringFieldIndices,
+                        DYNAMIC_FILTERING_DATA_THRESHOLD,
+                        dynamicFilteringDataListenerIDs);
+
+        final OneInputTransformation<RowData, RowData> transform =
+                ExecNodeUtil.createOneInputTransformation(
+                        inputTransform,
+                        getOperatorName(planner.getTableConfig()),
+                        getOperatorDescription(planner.getTableConfig()),
+                        factory,
+                        InternalTypeInfo.of(outputType),
+                        1);
+        transform.setMaxParallelism(1);
+        return transform;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.batch;
+
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.streaming.api.transformations.OneInputTransformation;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.runtime.operators.join.skew.GlobalHotKeyDetectorOperator;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Collections;
+
+/**
+ * Batch {@link BatchExecNode} that merges the sketches of all {@link BatchExecLocalHotKeyDetector}s
+ * and emits the hot join keys.
+ */
+public class BatchExecGlobalHotKeyDetector extends ExecNodeBase<RowData>
+        implements BatchExecNode<RowData>, SingleTransformationTranslator<RowData> {
+
+    private final int keyArity;
+    private final double hotKeyRatio;
+
+    public BatchExecGlobalHotKeyDetector(
+            InputProperty inputProperty,
+            RowType outputType,
+            String description,
+            int keyArity,
+            double hotKeyRatio) {
+        super(Collections.singletonList(inputProperty), outputType, description);
+        this.keyArity = keyArity;
+        this.hotKeyRatio = hotKeyRatio;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
+        final Transformation<RowData> inputTransform =
+                (Transformation<RowData>) getInputEdges().get(0).translateToPlan(planner);
+
+        final OneInputTransformation<RowData, RowData> transform =
+                ExecNodeUtil.createOneInputTransformation(
+                        inputTransform,
+                        getOperatorName(planner.getTableConfig()),
+                        getOperatorDescription(planner.getTableConfig()),
+                        SimpleOperatorFactory.of(
+                                new GlobalHotKeyDetectorOperator(keyArity, hotKeyRatio)),
+                        InternalTypeInfo.of(getOutputType()),
+                        1);
+        transform.setMaxParallelism(1);
+        return transform;
+    }
+}
@@ -42,9 +42,15 @@ import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.logical.RowType;
 
 import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rex.RexNode;
+
+import javax.annotation.Nullable;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
 
 /** Batch {@link ExecNode} for hash-based aggregate operator. */
 public class BatchExecHashAggregate extends ExecNodeBase<RowData>
@@ -57,6 +63,11 @@ public class BatchExecHashAggregate extends ExecNodeBase<RowData>
     private final boolean isMerge;
     private final boolean isFinal;
 
+    // the projection and the filter of the calc which is evaluated by this aggregate, see
+    // fuseCalc()
+    private @Nullable List<RexNode> fusedCalcProjection;
+    private @Nullable RexNode fusedCalcCondition;
+
     public BatchExecHashAggregate(
             int[] grouping,
             int[] auxGrouping,
@@ -76,6 +87,41 @@ public class BatchExecHashAggregate extends ExecNodeBase<RowData>
         this.isFinal = isFinal;
     }
 
+    /**
+     * Returns whether the given calc, which must be the input of this node, can be evaluated by
+     * the generated operator of this node. Only the local phase of a grouped aggregate without
+     * auxiliary grouping and filter arguments supports it.
+     */
+    public boolean canFuseCalc(BatchExecCalc calc) {
+        return fusedCalcProjection == null
+                && getInputEdges().get(0).getSource() == calc
+                && !isMerge
+                && !isFinal
+                && grouping.length > 0
+                && auxGrouping.length == 0
+                && Arrays.stream(aggCalls).allMatch(call -> call.filterArg < 0);
+    }
+
+    /**
+     * Fuses the given calc into this node, i.e. the input of the calc becomes the input of this
+     * node and the projection and the filter of the calc are generated into the operator of this
+     * node.
+     */
+    public void fuseCalc(BatchExecCalc calc) {
+        checkArgument(canFuseCalc(calc), "The calc can not be fused into this aggregate.");
+        final ExecEdge calcInputEdge = calc.getInputEdges().get(0);
+        fusedCalcProjection = calc.getProjection();
+        fusedCalcCondition = calc.getCondition();
+        replaceInputEdge(
+                0,
+                ExecEdge.builder()
+                        .source(calcInputEdge.getSource())
+                        .target(this)
+                        .shuffle(calcInputEdge.getShuffle())
+                        .exchangeMode(calcInputEdge.getExchangeMode())
+                        .build());
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
@@ -83,7 +129,11 @@ public class BatchExecHashAggregate extends ExecNodeBase<RowData>
         final Transformation<RowData> inputTransform =
                 (Transformation<RowData>) inputEdge.translateToPlan(planner);
 
-        final RowType inputRowType = (RowType) inputEdge.getOutputType();
+        // if a calc is fused, the input of this node is the input of the calc
+        final RowType inputRowType =
+                fusedCalcProjection == null
+                        ? (RowType) inputEdge.getOutputType()
+                        : aggInputRowType;
         final RowType outputRowType = (RowType) getOutputType();
 
         final TableConfig config = planner.getTableConfig();
@@ -115,18 +165,24 @@ public class BatchExecHashAggregate extends ExecNodeBase<RowData>
                     config.getConfiguration()
                             .get(ExecutionConfigOptions.TABLE_EXEC_RESOURCE_HASH_AGG_MEMORY)
                             .getBytes();
-            generatedOperator =
+            final HashAggCodeGenerator hashAggCodeGenerator =
                     new HashAggCodeGenerator(
-                                    ctx,
-                                    planner.getRelBuilder(),
-                                    aggInfos,
-                                    inputRowType,
-                                    outputRowType,
-                                    grouping,
-                                    auxGrouping,
-                                    isMerge,
-                                    isFinal)
-                            .genWithKeys();
+                            ctx,
+                            planner.getRelBuilder(),
+                            aggInfos,
+                            inputRowType,
+                            outputRowType,
+                            grouping,
+                            auxGrouping,
+                            isMerge,
+                            isFinal);
+            generatedOperator =
+                    fusedCalcProjection == null
+                            ? hashAggCodeGenerator.genWithKeys()
+                            : hashAggCodeGenerator.genWithKeysFusedWithCalc(
+                                    (RowType) inputEdge.getOutputType(),
+                                    fusedCalcProjection,
+                                    fusedCalcCondition);
         }
 
         return ExecNodeUtil.createOneInputTransformation(
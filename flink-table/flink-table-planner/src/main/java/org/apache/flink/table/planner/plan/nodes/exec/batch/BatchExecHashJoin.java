@@ -27,19 +27,23 @@ import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.planner.codegen.CodeGeneratorContext;
 import org.apache.flink.table.planner.codegen.LongHashJoinGenerator;
 import org.apache.flink.table.planner.codegen.ProjectionCodeGenerator;
+import org.apache.flink.table.planner.codegen.sort.SortCodeGenerator;
 import org.apache.flink.table.planner.delegation.PlannerBase;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
 import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
 import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
 import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.SortSpec;
 import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
 import org.apache.flink.table.planner.plan.utils.JoinUtil;
+import org.apache.flink.table.planner.plan.utils.SortUtil;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
 import org.apache.flink.table.runtime.generated.GeneratedProjection;
 import org.apache.flink.table.runtime.operators.join.FlinkJoinType;
 import org.apache.flink.table.runtime.operators.join.HashJoinOperator;
 import org.apache.flink.table.runtime.operators.join.HashJoinType;
+import org.apache.flink.table.runtime.operators.join.SortMergeJoinFunction;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
@@ -189,6 +193,21 @@ public class BatchExecHashJoin extends ExecNodeBase<RowData>
                             reverseJoin,
                             condFunc);
         } else {
+            // the sort merge join is only code generated here, its classes are compiled lazily
+            // when the hash join falls back to it at runtime
+            SortMergeJoinFunction sortMergeJoinFunction = null;
+            if (config.getConfiguration()
+                    .get(ExecutionConfigOptions.TABLE_EXEC_HASH_JOIN_SORT_MERGE_FALLBACK_ENABLED)) {
+                sortMergeJoinFunction =
+                        newSortMergeJoinFunction(
+                                config,
+                                leftType,
+                                rightType,
+                                keyType,
+                                leftKeys,
+                                rightKeys,
+                                condFunc);
+            }
             operator =
                     SimpleOperatorFactory.of(
                             HashJoinOperator.newHashJoinOperator(
@@ -202,7 +221,8 @@ public class BatchExecHashJoin extends ExecNodeBase<RowData>
                                     buildRowSize,
                                     buildRowCount,
                                     probeRowCount,
-                                    keyType));
+                                    keyType,
+                                    sortMergeJoinFunction));
         }
 
         long managedMemory =
@@ -220,4 +240,58 @@ public class BatchExecHashJoin extends ExecNodeBase<RowData>
                 probeTransform.getParallelism(),
                 managedMemory);
     }
+
+    private SortMergeJoinFunction newSortMergeJoinFunction(
+            TableConfig config,
+            RowType leftType,
+            RowType rightType,
+            RowType keyType,
+            int[] leftKeys,
+            int[] rightKeys,
+            GeneratedJoinCondition condFunc) {
+        long externalBufferMemory =
+                config.getConfiguration()
+                        .get(ExecutionConfigOptions.TABLE_EXEC_RESOURCE_EXTERNAL_BUFFER_MEMORY)
+                        .getBytes();
+        long sortMemory =
+                config.getConfiguration()
+                        .get(ExecutionConfigOptions.TABLE_EXEC_RESOURCE_SORT_MEMORY)
+                        .getBytes();
+        int externalBufferNum = joinSpec.getJoinType() == FlinkJoinType.FULL ? 2 : 1;
+        long totalMemory = externalBufferMemory * externalBufferNum + sortMemory * 2;
+
+        SortCodeGenerator leftSortGen = newSortGen(config, leftKeys, leftType);
+        SortCodeGenerator rightSortGen = newSortGen(config, rightKeys, rightType);
+
+        int[] keyPositions = IntStream.range(0, leftKeys.length).toArray();
+        return new SortMergeJoinFunction(
+                1.0 * externalBufferMemory / totalMemory,
+                joinSpec.getJoinType(),
+                leftIsBuild,
+                condFunc,
+                ProjectionCodeGenerator.generateProjection(
+                        new CodeGeneratorContext(config),
+                        "SMJProjection",
+                        leftType,
+                        keyType,
+                        leftKeys),
+                ProjectionCodeGenerator.generateProjection(
+                        new CodeGeneratorContext(config),
+                        "SMJProjection",
+                        rightType,
+                        keyType,
+                        rightKeys),
+                leftSortGen.generateNormalizedKeyComputer("LeftComputer"),
+                leftSortGen.generateRecordComparator("LeftComparator"),
+                rightSortGen.generateNormalizedKeyComputer("RightComputer"),
+                rightSortGen.generateRecordComparator("RightComparator"),
+                newSortGen(config, keyPositions, keyType).generateRecordComparator("KeyComparator"),
+                joinSpec.getFilterNulls());
+    }
+
+    private SortCodeGenerator newSortGen(
+            TableConfig config, int[] originalKeys, RowType inputType) {
+        SortSpec sortSpec = SortUtil.getAscendingSortSpec(originalKeys);
+        return new SortCodeGenerator(config, inputType, sortSpec);
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.batch;
+
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.codegen.CodeGeneratorContext;
+import org.apache.flink.table.planner.codegen.ProjectionCodeGenerator;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.operators.runtimefilter.LocalRuntimeFilterBuilderOperator;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+/**
+ * Batch {@link BatchExecNode} that builds a bloom filter from the join keys of its input, which is
+ * the build side of a join.
+ */
+public class BatchExecLocalRuntimeFilterBuilder extends ExecNodeBase<RowData>
+        implements BatchExecNode<RowData>, SingleTransformationTranslator<RowData> {
+
+    private final int[] buildIndices;
+    private final int estimatedRowCount;
+    private final int maxRowCount;
+
+    public BatchExecLocalRuntimeFilterBuilder(
+            InputProperty inputProperty,
+            RowType outputType,
+            String description,
+            int[] buildIndices,
+            int estimatedRowCount,
+            int maxRowCount) {
+        super(Collections.singletonList(inputProperty), outputType, description);
+        this.buildIndices = buildIndices;
+        this.estimatedRowCount = estimatedRowCount;
+        this.maxRowCount = maxRowCount;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
+        final ExecEdge inputEdge = getInputEdges().get(0);
+        final Transformation<RowData> inputTransform =
+                (Transformation<RowData>) inputEdge.translateToPlan(planner);
+        final RowType inputType = (RowType) inputEdge.getOutputType();
+        final RowType keyType =
+                RowType.of(
+                        IntStream.of(buildIndices)
+                                .mapToObj(inputType::getTypeAt)
+                                .toArray(LogicalType[]::new));
+
+        final GeneratedProjection buildProjectionCode =
+                ProjectionCodeGenerator.generateProjection(
+                        new CodeGeneratorContext(planner.getTableConfig()),
+                        "RuntimeFilterProjection",
+                        inputType,
+                        keyType,
+                        buildIndices);
+
+        return ExecNodeUtil.createOneInputTransformation(
+                inputTransform,
+                getOperatorName(planner.getTableConfig()),
+                getOperatorDescription(planner.getTableConfig()),
+                SimpleOperatorFactory.of(
+                        new LocalRuntimeFilterBuilderOperator(
+                                buildProjectionCode, estimatedRowCount, maxRowCount)),
+                InternalTypeInfo.of(getOutputType()),
+                inputTransform.getParallelism());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.batch;
+
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.codegen.CodeGeneratorContext;
+import org.apache.flink.table.planner.codegen.ProjectionCodeGenerator;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.operators.runtimefilter.RuntimeFilterOperator;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Batch {@link BatchExecNode} that filters its second input, the probe side of a join, with the
+ * bloom filter produced by a {@link BatchExecGlobalRuntimeFilterBuilder} on its first input.
+ */
+public class BatchExecRuntimeFilter extends ExecNodeBase<RowData>
+        implements BatchExecNode<RowData>, SingleTransformationTranslator<RowData> {
+
+    private final int[] probeIndices;
+
+    public BatchExecRuntimeFilter(
+            InputProperty filterInputProperty,
+            InputProperty probeInputProperty,
+            RowType outputType,
+            String description,
+            int[] probeIndices) {
+        super(Arrays.asList(filterInputProperty, probeInputProperty), outputType, description);
+        this.probeIndices = probeIndices;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
+        final Transformation<RowData> filterInputTransform =
+                (Transformation<RowData>) getInputEdges().get(0).translateToPlan(planner);
+        final ExecEdge probeInputEdge = getInputEdges().get(1);
+        final Transformation<RowData> probeInputTransform =
+                (Transformation<RowData>) probeInputEdge.translateToPlan(planner);
+        final RowType probeType = (RowType) probeInputEdge.getOutputType();
+        final RowType keyType =
+                RowType.of(
+                        IntStream.of(probeIndices)
+                                .mapToObj(probeType::getTypeAt)
+                                .toArray(LogicalType[]::new));
+
+        final GeneratedProjection probeProjectionCode =
+                ProjectionCodeGenerator.generateProjection(
+                        new CodeGeneratorContext(planner.getTableConfig()),
+                        "RuntimeFilterProjection",
+                        probeType,
+                        keyType,
+                        probeIndices);
+
+        return ExecNodeUtil.createTwoInputTransformation(
+                filterInputTransform,
+                probeInputTransform,
+                getOperatorName(planner.getTableConfig()),
+                getOperatorDescription(planner.getTableConfig()),
+                SimpleOperatorFactory.of(new RuntimeFilterOperator(probeProjectionCode)),
+                InternalTypeInfo.of(getOutputType()),
+                probeInputTransform.getParallelism(),
+                0);
+    }
+}
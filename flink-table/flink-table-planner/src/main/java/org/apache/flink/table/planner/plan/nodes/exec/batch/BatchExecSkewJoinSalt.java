@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.batch;
+
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.codegen.CodeGeneratorContext;
+import org.apache.flink.table.planner.codegen.ProjectionCodeGenerator;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.operators.join.skew.SkewJoinSaltOperator;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Batch {@link BatchExecNode} that appends a salt column to its second input, a side of a join,
+ * based on the hot join keys produced by a {@link BatchExecGlobalHotKeyDetector} on its first
+ * input.
+ */
+public class BatchExecSkewJoinSalt extends ExecNodeBase<RowData>
+        implements BatchExecNode<RowData>, SingleTransformationTranslator<RowData> {
+
+    private final int[] keyIndices;
+    private final SkewJoinSaltOperator.Mode mode;
+    private final int splitFactor;
+
+    public BatchExecSkewJoinSalt(
+            InputProperty hotKeysInputProperty,
+            InputProperty inputProperty,
+            RowType outputType,
+            String description,
+            int[] keyIndices,
+            SkewJoinSaltOperator.Mode mode,
+            int splitFactor) {
+        super(Arrays.asList(hotKeysInputProperty, inputProperty), outputType, description);
+        this.keyIndices = keyIndices;
+        this.mode = mode;
+        this.splitFactor = splitFactor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
+        final Transformation<RowData> hotKeysInputTransform =
+                (Transformation<RowData>) getInputEdges().get(0).translateToPlan(planner);
+        final ExecEdge inputEdge = getInputEdges().get(1);
+        final Transformation<RowData> inputTransform =
+                (Transformation<RowData>) inputEdge.translateToPlan(planner);
+        final RowType inputType = (RowType) inputEdge.getOutputType();
+        final RowType keyType =
+                RowType.of(
+                        IntStream.of(keyIndices)
+                                .mapToObj(inputType::getTypeAt)
+                                .toArray(LogicalType[]::new));
+
+        final GeneratedProjection keyProjectionCode =
+                ProjectionCodeGenerator.generateProjection(
+                        new CodeGeneratorContext(planner.getTableConfig()),
+                        "HotKeyProjection",
+                        inputType,
+                        keyType,
+                        keyIndices);
+
+        return ExecNodeUtil.createTwoInputTransformation(
+                hotKeysInputTransform,
+                inputTransform,
+                getOperatorName(planner.getTableConfig()),
+                getOperatorDescription(planner.getTableConfig()),
+                SimpleOperatorFactory.of(
+                        new SkewJoinSaltOperator(
+                                keyProjectionCode, keyIndices.length, mode, splitFactor)),
+                InternalTypeInfo.of(getOutputType()),
+                inputTransform.getParallelism(),
+                0);
+    }
+}
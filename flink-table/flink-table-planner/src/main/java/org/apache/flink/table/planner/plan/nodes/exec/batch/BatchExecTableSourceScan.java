@@ -22,16 +22,31 @@ import org.apache.flink.api.common.io.InputFormat;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.source.InputFormatSourceFunction;
+import org.apache.flink.streaming.api.operators.ChainingStrategy;
+import org.apache.flink.streaming.api.transformations.MultipleInputTransformation;
+import org.apache.flink.streaming.api.transformations.PartitionTransformation;
+import org.apache.flink.streaming.api.transformations.SourceTransformation;
+import org.apache.flink.streaming.api.transformations.StreamExchangeMode;
+import org.apache.flink.streaming.runtime.partitioner.RebalancePartitioner;
+import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.planner.delegation.PlannerBase;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
 import org.apache.flink.table.planner.plan.nodes.exec.common.CommonExecTableSourceScan;
 import org.apache.flink.table.planner.plan.nodes.exec.spec.DynamicTableSourceSpec;
 import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.runtime.operators.dynamicfiltering.ExecutionOrderEnforcerOperator;
+import org.apache.flink.table.runtime.operators.dynamicfiltering.ExecutionOrderEnforcerOperatorFactory;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.logical.RowType;
 
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkState;
+
 /**
  * Batch {@link ExecNode} to read data from an external source defined by a bounded {@link
  * ScanTableSource}.
@@ -39,18 +54,90 @@ import org.apache.flink.table.types.logical.RowType;
 public class BatchExecTableSourceScan extends CommonExecTableSourceScan
         implements BatchExecNode<RowData> {
 
+    /**
+     * The ID under which the source coordinator listens to the dynamic filtering data, created once
+     * so that it is stable if the node is translated multiple times.
+     */
+    private final String dynamicFilteringDataListenerID = UUID.randomUUID().toString();
+
     public BatchExecTableSourceScan(
             DynamicTableSourceSpec tableSourceSpec, RowType outputType, String description) {
         super(tableSourceSpec, getNewNodeId(), outputType, description);
     }
 
+    /**
+     * Creates a scan whose source applied dynamic filtering. The input is the {@link
+     * BatchExecDynamicFilteringDataCollector} that produces the dynamic filtering data.
+     */
+    public BatchExecTableSourceScan(
+            DynamicTableSourceSpec tableSourceSpec,
+            InputProperty inputProperty,
+            RowType outputType,
+            String description) {
+        super(
+                tableSourceSpec,
+                getNewNodeId(),
+                Collections.singletonList(inputProperty),
+                outputType,
+                description);
+    }
+
     @Override
     protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
         final Transformation<RowData> transformation = super.translateToPlanInternal(planner);
         // the boundedness has been checked via the runtime provider already, so we can safely
         // declare all legacy transformations as bounded to make the stream graph generator happy
         ExecNodeUtil.makeLegacySourceTransformationsBounded(transformation);
-        return transformation;
+        if (getInputEdges().isEmpty()) {
+            return transformation;
+        }
+        return createDynamicFilteringTransformation(planner, transformation);
+    }
+
+    /**
+     * Connects the source with the dynamic filtering data collector. The source coordinator listens
+     * to the data of the collector, and the source is chained to an {@link
+     * ExecutionOrderEnforcerOperator} whose other input is the collector, connected via a blocking
+     * exchange, so that the source is only scheduled after the data was sent.
+     */
+    private Transformation<RowData> createDynamicFilteringTransformation(
+            PlannerBase planner, Transformation<RowData> sourceTransform) {
+        if (!(sourceTransform instanceof SourceTransformation)) {
+            throw new TableException(
+                    "Dynamic filtering is only supported for sources providing a "
+                            + "SourceProvider, but got "
+                            + sourceTransform
+                            + ". This is a bug, please file an issue.");
+        }
+        ((SourceTransformation<?, ?, ?>) sourceTransform)
+                .setCoordinatorListeningID(dynamicFilteringDataListenerID);
+
+        ExecNode<?> input = getInputEdges().get(0).getSource();
+        while (input instanceof BatchExecExchange) {
+            input = input.getInputEdges().get(0).getSource();
+        }
+        checkState(input instanceof BatchExecDynamicFilteringDataCollector);
+        ((BatchExecDynamicFilteringDataCollector) input)
+                .registerDynamicFilteringDataListenerID(dynamicFilteringDataListenerID);
+
+        @SuppressWarnings("unchecked")
+        final Transformation<RowData> collectorTransform =
+                (Transformation<RowData>) getInputEdges().get(0).translateToPlan(planner);
+        final PartitionTransformation<RowData> blockingCollectorTransform =
+                new PartitionTransformation<>(
+                        collectorTransform, new RebalancePartitioner<>(), StreamExchangeMode.BATCH);
+
+        final MultipleInputTransformation<RowData> enforcerTransform =
+                new MultipleInputTransformation<>(
+                        "OrderEnforcer",
+                        new ExecutionOrderEnforcerOperatorFactory<>(),
+                        sourceTransform.getOutputType(),
+                        sourceTransform.getParallelism());
+        enforcerTransform.setDescription(getOperatorDescription(planner.getTableConfig()));
+        enforcerTransform.addInput(blockingCollectorTransform);
+        enforcerTransform.addInput(sourceTransform);
+        enforcerTransform.setChainingStrategy(ChainingStrategy.HEAD_WITH_SOURCES);
+        return enforcerTransform;
     }
 
     @Override
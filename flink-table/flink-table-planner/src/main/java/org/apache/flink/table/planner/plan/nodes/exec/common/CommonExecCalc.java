@@ -80,6 +80,16 @@ public abstract class CommonExecCalc extends ExecNodeBase<RowData>
         this.retainHeader = retainHeader;
     }
 
+    @JsonIgnore
+    public List<RexNode> getProjection() {
+        return projection;
+    }
+
+    @JsonIgnore
+    public @Nullable RexNode getCondition() {
+        return condition;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
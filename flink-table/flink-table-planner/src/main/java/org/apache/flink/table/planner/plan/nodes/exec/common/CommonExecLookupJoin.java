@@ -22,6 +22,7 @@ import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
+import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.functions.ProcessFunction;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
@@ -29,6 +30,7 @@ import org.apache.flink.streaming.api.operators.ProcessOperator;
 import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperatorFactory;
+import org.apache.flink.streaming.api.transformations.PartitionTransformation;
 import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.api.config.ExecutionConfigOptions;
@@ -37,12 +39,14 @@ import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.conversion.DataStructureConverter;
 import org.apache.flink.table.data.conversion.DataStructureConverters;
+import org.apache.flink.table.functions.AsyncBatchLookupFunction;
 import org.apache.flink.table.functions.AsyncTableFunction;
 import org.apache.flink.table.functions.TableFunction;
 import org.apache.flink.table.functions.UserDefinedFunction;
 import org.apache.flink.table.functions.UserDefinedFunctionHelper;
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory;
 import org.apache.flink.table.planner.codegen.CodeGeneratorContext;
+import org.apache.flink.table.planner.codegen.HashCodeGenerator;
 import org.apache.flink.table.planner.codegen.LookupJoinCodeGenerator;
 import org.apache.flink.table.planner.delegation.PlannerBase;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
@@ -63,10 +67,15 @@ import org.apache.flink.table.runtime.generated.GeneratedCollector;
 import org.apache.flink.table.runtime.generated.GeneratedFunction;
 import org.apache.flink.table.runtime.generated.GeneratedResultFuture;
 import org.apache.flink.table.runtime.operators.join.FlinkJoinType;
+import org.apache.flink.table.runtime.operators.join.lookup.AsyncBatchLookupFetcher;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.GeneratedAsyncBatchLookupFetcher;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.LookupJoinCache;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.PartialLookupCache;
+import org.apache.flink.table.runtime.partitioner.LookupKeyHashPartitioner;
 import org.apache.flink.table.runtime.types.PlannerTypeUtils;
 import org.apache.flink.table.runtime.types.TypeInfoDataTypeConverter;
 import org.apache.flink.table.runtime.typeutils.InternalSerializers;
@@ -75,6 +84,7 @@ import org.apache.flink.table.sources.LookupableTableSource;
 import org.apache.flink.table.sources.TableSource;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.utils.DataTypeUtils;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -89,6 +99,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nullable;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -262,7 +273,10 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
         }
 
         Transformation<RowData> inputTransformation =
-                (Transformation<RowData>) inputEdge.translateToPlan(planner);
+                createInputTransformation(
+                        planner.getTableConfig(),
+                        (Transformation<RowData>) inputEdge.translateToPlan(planner),
+                        inputRowType);
         return ExecNodeUtil.createOneInputTransformation(
                 inputTransformation,
                 getOperatorName(planner.getTableConfig()),
@@ -329,18 +343,40 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
         DataTypeFactory dataTypeFactory =
                 ShortcutUtils.unwrapContext(relBuilder).getCatalogManager().getDataTypeFactory();
 
-        LookupJoinCodeGenerator.GeneratedTableFunctionWithDataType<AsyncFunction<RowData, Object>>
-                generatedFuncWithType =
-                        LookupJoinCodeGenerator.generateAsyncLookupFunction(
-                                config,
-                                dataTypeFactory,
-                                inputRowType,
-                                tableSourceRowType,
-                                resultRowType,
-                                allLookupKeys,
-                                LookupJoinUtil.getOrderedLookupKeys(allLookupKeys.keySet()),
-                                asyncLookupFunction,
-                                StringUtils.join(temporalTable.getQualifiedName(), "."));
+        int[] orderedLookupKeys = LookupJoinUtil.getOrderedLookupKeys(allLookupKeys.keySet());
+        GeneratedFunction<AsyncFunction<RowData, Object>> generatedFetcher;
+        DataStructureConverter<?, ?> fetcherConverter;
+        if (isBatchLookupEnabled(config, asyncLookupFunction, allLookupKeys)) {
+            generatedFetcher =
+                    generateBatchLookupFetcher(
+                            config,
+                            asyncLookupFunction,
+                            inputRowType,
+                            allLookupKeys,
+                            orderedLookupKeys,
+                            asyncBufferCapacity);
+            // the batched lookup function returns internal rows
+            fetcherConverter =
+                    DataStructureConverters.getConverter(
+                            DataTypeUtils.toInternalDataType(tableSourceRowType));
+        } else {
+            LookupJoinCodeGenerator.GeneratedTableFunctionWithDataType<
+                            AsyncFunction<RowData, Object>>
+                    generatedFuncWithType =
+                            LookupJoinCodeGenerator.generateAsyncLookupFunction(
+                                    config,
+                                    dataTypeFactory,
+                                    inputRowType,
+                                    tableSourceRowType,
+                                    resultRowType,
+                                    allLookupKeys,
+                                    orderedLookupKeys,
+                                    asyncLookupFunction,
+                                    StringUtils.join(temporalTable.getQualifiedName(), "."));
+            generatedFetcher = generatedFuncWithType.tableFunc();
+            fetcherConverter =
+                    DataStructureConverters.getConverter(generatedFuncWithType.dataType());
+        }
 
         RowType rightRowType =
                 Optional.ofNullable(temporalTableOutputType)
@@ -355,8 +391,6 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                         rightRowType,
                         JavaScalaConversionUtil.toScala(Optional.ofNullable(joinCondition)));
 
-        DataStructureConverter<?, ?> fetcherConverter =
-                DataStructureConverters.getConverter(generatedFuncWithType.dataType());
         AsyncFunction<RowData, RowData> asyncFunc;
         if (existCalcOnTemporalTable) {
             // a projection or filter after table source scan
@@ -369,23 +403,25 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                             tableSourceRowType);
             asyncFunc =
                     new AsyncLookupJoinWithCalcRunner(
-                            generatedFuncWithType.tableFunc(),
+                            generatedFetcher,
                             (DataStructureConverter<RowData, Object>) fetcherConverter,
                             generatedCalc,
                             generatedResultFuture,
                             InternalSerializers.create(rightRowType),
                             isLeftOuterJoin,
-                            asyncBufferCapacity);
+                            asyncBufferCapacity,
+                            createLookupJoinCache(config, inputRowType, tableSourceRowType));
         } else {
             // right type is the same as table source row type, because no calc after temporal table
             asyncFunc =
                     new AsyncLookupJoinRunner(
-                            generatedFuncWithType.tableFunc(),
+                            generatedFetcher,
                             (DataStructureConverter<RowData, Object>) fetcherConverter,
                             generatedResultFuture,
                             InternalSerializers.create(rightRowType),
                             isLeftOuterJoin,
-                            asyncBufferCapacity);
+                            asyncBufferCapacity,
+                            createLookupJoinCache(config, inputRowType, tableSourceRowType));
         }
 
         // force ORDERED output mode currently, optimize it to UNORDERED
@@ -394,6 +430,100 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                 asyncFunc, asyncTimeout, asyncBufferCapacity, AsyncDataStream.OutputMode.ORDERED);
     }
 
+    /**
+     * Spreads the rows of hot lookup keys over all subtasks if the input is hash partitioned by
+     * the lookup keys. The exchange in front of the lookup join partitions the rows by the hash of
+     * the lookup keys, which is replaced by a {@link LookupKeyHashPartitioner} that partitions the
+     * rows the same way, except for the hot keys.
+     */
+    @SuppressWarnings("unchecked")
+    private Transformation<RowData> createInputTransformation(
+            TableConfig config, Transformation<RowData> inputTransform, RowType inputRowType) {
+        InputProperty.RequiredDistribution requiredDistribution =
+                getInputProperties().get(0).getRequiredDistribution();
+        double hotKeyRatio =
+                config.getConfiguration()
+                        .get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_KEY_SHUFFLE_HOT_KEY_RATIO);
+        if (requiredDistribution.getType() != InputProperty.DistributionType.HASH
+                || !(inputTransform instanceof PartitionTransformation)
+                || hotKeyRatio <= 0) {
+            return inputTransform;
+        }
+        int[] keys = ((InputProperty.HashDistribution) requiredDistribution).getKeys();
+        String[] fieldNames =
+                Arrays.stream(keys)
+                        .mapToObj(i -> inputRowType.getFieldNames().get(i))
+                        .toArray(String[]::new);
+        LookupKeyHashPartitioner partitioner =
+                new LookupKeyHashPartitioner(
+                        HashCodeGenerator.generateRowHash(
+                                new CodeGeneratorContext(config),
+                                inputRowType,
+                                "LookupKeyHashPartitioner",
+                                keys),
+                        fieldNames,
+                        hotKeyRatio);
+        Transformation<RowData> exchangeInput =
+                (Transformation<RowData>) inputTransform.getInputs().get(0);
+        Transformation<RowData> transformation =
+                new PartitionTransformation<>(exchangeInput, partitioner);
+        transformation.setParallelism(inputTransform.getParallelism());
+        transformation.setOutputType(InternalTypeInfo.of(inputRowType));
+        return transformation;
+    }
+
+    private boolean isBatchLookupEnabled(
+            TableConfig config,
+            AsyncTableFunction<Object> asyncLookupFunction,
+            Map<Integer, LookupJoinUtil.LookupKey> allLookupKeys) {
+        return config.getConfiguration()
+                                .get(ExecutionConfigOptions.TABLE_EXEC_ASYNC_LOOKUP_BATCH_SIZE)
+                        > 1
+                && asyncLookupFunction instanceof AsyncBatchLookupFunction
+                // the keys of a batch are taken from the input rows only
+                && allLookupKeys.values().stream()
+                        .allMatch(key -> key instanceof LookupJoinUtil.FieldRefLookupKey);
+    }
+
+    /**
+     * Creates a fetcher which looks up the keys of many input rows at once by the {@link
+     * AsyncBatchLookupFunction}. It is wrapped into a {@link GeneratedAsyncBatchLookupFetcher}, so
+     * that it can be instantiated like the generated fetchers which invoke the lookup function for
+     * each input row.
+     */
+    private GeneratedFunction<AsyncFunction<RowData, Object>> generateBatchLookupFetcher(
+            TableConfig config,
+            AsyncTableFunction<Object> asyncLookupFunction,
+            RowType inputRowType,
+            Map<Integer, LookupJoinUtil.LookupKey> allLookupKeys,
+            int[] orderedLookupKeys,
+            int asyncBufferCapacity) {
+        int[] keyFields =
+                Arrays.stream(orderedLookupKeys)
+                        .map(
+                                key ->
+                                        ((LookupJoinUtil.FieldRefLookupKey) allLookupKeys.get(key))
+                                                .index)
+                        .toArray();
+        int batchSize =
+                Math.min(
+                        config.getConfiguration()
+                                .get(ExecutionConfigOptions.TABLE_EXEC_ASYNC_LOOKUP_BATCH_SIZE),
+                        asyncBufferCapacity);
+        long batchInterval =
+                config.getConfiguration()
+                        .get(ExecutionConfigOptions.TABLE_EXEC_ASYNC_LOOKUP_BATCH_INTERVAL)
+                        .toMillis();
+        AsyncBatchLookupFetcher fetcher =
+                new AsyncBatchLookupFetcher(
+                        asyncLookupFunction,
+                        inputRowType,
+                        keyFields,
+                        batchSize,
+                        Math.max(1L, batchInterval));
+        return new GeneratedAsyncBatchLookupFetcher(fetcher, config.getConfiguration());
+    }
+
     private StreamOperatorFactory<RowData> createSyncLookupJoin(
             RelOptTable temporalTable,
             TableConfig config,
@@ -455,7 +585,8 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                             generatedCalc,
                             generatedCollector,
                             isLeftOuterJoin,
-                            rightRowType.getFieldCount());
+                            rightRowType.getFieldCount(),
+                            createLookupJoinCache(config, inputRowType, tableSourceRowType));
         } else {
             // right type is the same as table source row type, because no calc after temporal table
             processFunc =
@@ -463,11 +594,47 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                             generatedFetcher,
                             generatedCollector,
                             isLeftOuterJoin,
-                            rightRowType.getFieldCount());
+                            rightRowType.getFieldCount(),
+                            createLookupJoinCache(config, inputRowType, tableSourceRowType));
         }
         return SimpleOperatorFactory.of(new ProcessOperator<>(processFunc));
     }
 
+    /**
+     * Creates the cache of the rows looked up from the temporal table, or returns null if the
+     * lookup cache is disabled. The rows are cached by the input fields of the lookup keys, since
+     * the constant lookup keys are the same for all the input rows.
+     */
+    @Nullable
+    private LookupJoinCache createLookupJoinCache(
+            TableConfig config, RowType inputRowType, RowType tableSourceRowType) {
+        ReadableConfig conf = config.getConfiguration();
+        if (conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE)
+                == ExecutionConfigOptions.LookupCacheStrategy.NONE) {
+            return null;
+        }
+        int[] keyFields =
+                lookupKeys.values().stream()
+                        .filter(key -> key instanceof LookupJoinUtil.FieldRefLookupKey)
+                        .mapToInt(key -> ((LookupJoinUtil.FieldRefLookupKey) key).index)
+                        .distinct()
+                        .sorted()
+                        .toArray();
+        PartialLookupCache cache =
+                new PartialLookupCache(
+                        conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE_MAX_KEYS),
+                        conf.getOptional(
+                                        ExecutionConfigOptions
+                                                .TABLE_EXEC_LOOKUP_CACHE_EXPIRE_AFTER_WRITE)
+                                .orElse(null),
+                        conf.getOptional(
+                                        ExecutionConfigOptions
+                                                .TABLE_EXEC_LOOKUP_CACHE_EXPIRE_AFTER_ACCESS)
+                                .orElse(null),
+                        conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE_MISSING_KEY));
+        return new LookupJoinCache(cache, inputRowType, keyFields, tableSourceRowType);
+    }
+
     // ----------------------------------------------------------------------------------------
     //                                       Validation
     // ----------------------------------------------------------------------------------------
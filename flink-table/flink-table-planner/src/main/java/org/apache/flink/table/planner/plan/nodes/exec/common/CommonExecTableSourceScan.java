@@ -39,6 +39,7 @@ import org.apache.flink.table.planner.connectors.TransformationScanProvider;
 import org.apache.flink.table.planner.delegation.PlannerBase;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
 import org.apache.flink.table.planner.plan.nodes.exec.MultipleTransformationTranslator;
 import org.apache.flink.table.planner.plan.nodes.exec.spec.DynamicTableSourceSpec;
 import org.apache.flink.table.runtime.connector.source.ScanRuntimeProviderContext;
@@ -49,6 +50,7 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Base {@link ExecNode} to read data from an external source defined by a {@link ScanTableSource}.
@@ -65,7 +67,16 @@ public abstract class CommonExecTableSourceScan extends ExecNodeBase<RowData>
             int id,
             LogicalType outputType,
             String description) {
-        super(id, Collections.emptyList(), outputType, description);
+        this(tableSourceSpec, id, Collections.emptyList(), outputType, description);
+    }
+
+    protected CommonExecTableSourceScan(
+            DynamicTableSourceSpec tableSourceSpec,
+            int id,
+            List<InputProperty> inputProperties,
+            LogicalType outputType,
+            String description) {
+        super(id, inputProperties, outputType, description);
         this.tableSourceSpec = tableSourceSpec;
     }
 
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.processor;
+
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeGraph;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecExchange;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecJoin;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecMultiJoin;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.visitor.AbstractExecNodeExactlyOnceVisitor;
+import org.apache.flink.table.runtime.operators.join.FlinkJoinType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link ExecNodeGraphProcessor} which merges a chain of regular INNER {@link StreamExecJoin}s
+ * into a single {@link StreamExecMultiJoin}, if the inputs of all the joins are joined on the same
+ * key, e.g. {@code A JOIN B ON A.k = B.k JOIN C ON B.k = C.k}.
+ *
+ * <p>The join keys of a join must refer to the join key of its left input join, so that all the
+ * inputs are partitioned by the same key and the state of the intermediate join result is not
+ * needed anymore.
+ *
+ * <p>NOTE: This processor can be only applied on {@link StreamExecNode} DAG.
+ */
+public class MultiJoinNodeCreationProcessor implements ExecNodeGraphProcessor {
+
+    @Override
+    public ExecNodeGraph process(ExecNodeGraph execGraph, ProcessorContext context) {
+        if (!execGraph.getRootNodes().stream().allMatch(r -> r instanceof StreamExecNode)) {
+            throw new TableException("Only StreamExecNode DAG are supported now.");
+        }
+
+        // count the consumers of each node, the result of a join which is consumed by several
+        // nodes (e.g. a reused sub-plan) is still needed and can not be merged
+        final Map<ExecNode<?>, Integer> numConsumers = new HashMap<>();
+        final List<ExecNode<?>> nodes = new ArrayList<>();
+        final AbstractExecNodeExactlyOnceVisitor visitor =
+                new AbstractExecNodeExactlyOnceVisitor() {
+                    @Override
+                    protected void visitNode(ExecNode<?> node) {
+                        for (ExecEdge edge : node.getInputEdges()) {
+                            numConsumers.merge(edge.getSource(), 1, Integer::sum);
+                        }
+                        visitInputs(node);
+                        // the inputs are visited before the node
+                        nodes.add(node);
+                    }
+                };
+        execGraph.getRootNodes().forEach(r -> r.accept(visitor));
+
+        final Map<ExecNode<?>, ExecNode<?>> replacements = new HashMap<>();
+        for (ExecNode<?> node : nodes) {
+            if (node instanceof StreamExecJoin) {
+                StreamExecMultiJoin multiJoin =
+                        tryMergeJoin((StreamExecJoin) node, numConsumers, replacements);
+                if (multiJoin != null) {
+                    replacements.put(node, multiJoin);
+                }
+            }
+        }
+        if (replacements.isEmpty()) {
+            return execGraph;
+        }
+
+        for (ExecNode<?> node : nodes) {
+            final List<ExecEdge> inputEdges = node.getInputEdges();
+            for (int i = 0; i < inputEdges.size(); i++) {
+                final ExecNode<?> replacement = replacements.get(inputEdges.get(i).getSource());
+                if (replacement != null) {
+                    node.replaceInputEdge(i, copyEdge(inputEdges.get(i), replacement, node));
+                }
+            }
+        }
+        return new ExecNodeGraph(
+                execGraph.getRootNodes().stream()
+                        .map(r -> replacements.getOrDefault(r, r))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Merges the join with the join of its left input, which may already be merged into a {@link
+     * StreamExecMultiJoin}. Returns null if they can not be merged.
+     */
+    private static StreamExecMultiJoin tryMergeJoin(
+            StreamExecJoin join,
+            Map<ExecNode<?>, Integer> numConsumers,
+            Map<ExecNode<?>, ExecNode<?>> replacements) {
+        final JoinSpec joinSpec = join.getJoinSpec();
+        if (joinSpec.getJoinType() != FlinkJoinType.INNER || joinSpec.getLeftKeys().length == 0) {
+            return null;
+        }
+        final ExecNode<?> exchange = join.getInputEdges().get(0).getSource();
+        if (!(exchange instanceof StreamExecExchange) || numConsumers.get(exchange) != 1) {
+            return null;
+        }
+        final ExecNode<?> originalInput = exchange.getInputEdges().get(0).getSource();
+        if (numConsumers.get(originalInput) != 1) {
+            return null;
+        }
+        final ExecNode<?> input = replacements.getOrDefault(originalInput, originalInput);
+
+        final List<JoinSpec> joinSpecs = new ArrayList<>();
+        final List<int[]> inputJoinKeys = new ArrayList<>();
+        final List<List<int[]>> inputUniqueKeys = new ArrayList<>();
+        if (input instanceof StreamExecJoin) {
+            final StreamExecJoin inputJoin = (StreamExecJoin) input;
+            final JoinSpec inputJoinSpec = inputJoin.getJoinSpec();
+            if (inputJoinSpec.getJoinType() != FlinkJoinType.INNER) {
+                return null;
+            }
+            joinSpecs.add(inputJoinSpec);
+            inputJoinKeys.add(inputJoinSpec.getLeftKeys());
+            inputJoinKeys.add(inputJoinSpec.getRightKeys());
+            inputUniqueKeys.add(inputJoin.getLeftUniqueKeys());
+            inputUniqueKeys.add(inputJoin.getRightUniqueKeys());
+        } else if (input instanceof StreamExecMultiJoin) {
+            final StreamExecMultiJoin inputMultiJoin = (StreamExecMultiJoin) input;
+            joinSpecs.addAll(inputMultiJoin.getJoinSpecs());
+            inputJoinKeys.addAll(inputMultiJoin.getInputJoinKeys());
+            inputUniqueKeys.addAll(inputMultiJoin.getInputUniqueKeys());
+        } else {
+            return null;
+        }
+
+        if (!isJoinedOnSameKey(joinSpec.getLeftKeys(), inputJoinKeys, input.getInputEdges())) {
+            return null;
+        }
+        joinSpecs.add(joinSpec);
+        inputJoinKeys.add(joinSpec.getRightKeys());
+        inputUniqueKeys.add(join.getRightUniqueKeys());
+
+        final List<InputProperty> inputProperties = new ArrayList<>(input.getInputProperties());
+        inputProperties.add(join.getInputProperties().get(1));
+        final StreamExecMultiJoin multiJoin =
+                new StreamExecMultiJoin(
+                        joinSpecs,
+                        inputJoinKeys,
+                        inputUniqueKeys,
+                        inputProperties,
+                        (RowType) join.getOutputType(),
+                        "MultiJoin(" + input.getDescription() + ", " + join.getDescription() + ")");
+
+        final List<ExecEdge> inputEdges = new ArrayList<>();
+        for (ExecEdge inputEdge : input.getInputEdges()) {
+            inputEdges.add(copyEdge(inputEdge, inputEdge.getSource(), multiJoin));
+        }
+        final ExecEdge rightEdge = join.getInputEdges().get(1);
+        inputEdges.add(copyEdge(rightEdge, rightEdge.getSource(), multiJoin));
+        multiJoin.setInputEdges(inputEdges);
+        return multiJoin;
+    }
+
+    /**
+     * Returns whether the given key of the joined row of the inputs refers to the join key of the
+     * inputs, i.e. every key field {@code p} is the key field {@code p} of one of the inputs.
+     */
+    private static boolean isJoinedOnSameKey(
+            int[] joinedRowKeys, List<int[]> inputJoinKeys, List<ExecEdge> inputEdges) {
+        if (joinedRowKeys.length != inputJoinKeys.get(0).length) {
+            return false;
+        }
+        for (int p = 0; p < joinedRowKeys.length; p++) {
+            boolean found = false;
+            int offset = 0;
+            for (int i = 0; i < inputEdges.size() && !found; i++) {
+                found = offset + inputJoinKeys.get(i)[p] == joinedRowKeys[p];
+                offset += ((RowType) inputEdges.get(i).getOutputType()).getFieldCount();
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ExecEdge copyEdge(ExecEdge edge, ExecNode<?> source, ExecNode<?> target) {
+        return ExecEdge.builder()
+                .source(source)
+                .target(target)
+                .shuffle(edge.getShuffle())
+                .exchangeMode(edge.getExchangeMode())
+                .build();
+    }
+}
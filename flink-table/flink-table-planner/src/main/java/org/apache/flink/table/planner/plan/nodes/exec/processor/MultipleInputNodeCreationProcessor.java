@@ -187,6 +187,11 @@ public class MultipleInputNodeCreationProcessor implements ExecNodeGraphProcesso
             // exchange cannot be a member of multiple input node
             return false;
         }
+        if (wrapper.execNode instanceof CommonExecTableSourceScan) {
+            // sources with dynamic filtering have an input, but they are chained with their own
+            // execution order enforcer
+            return false;
+        }
 
         return true;
     }
@@ -437,6 +442,10 @@ public class MultipleInputNodeCreationProcessor implements ExecNodeGraphProcesso
             StreamExecDataStreamScan scan = (StreamExecDataStreamScan) node;
             return scan.getDataStream().getTransformation() instanceof SourceTransformation;
         } else if (node instanceof CommonExecTableSourceScan) {
+            if (!node.getInputEdges().isEmpty()) {
+                // sources with dynamic filtering are chained with their execution order enforcer
+                return false;
+            }
             // translateToPlan will cache the transformation,
             // this is OK because sources do not have any input so the transformation will never
             // change.
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.processor;
+
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeGraph;
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecCalc;
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecHashAggregate;
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.visitor.AbstractExecNodeExactlyOnceVisitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ExecNodeGraphProcessor} which fuses adjacent {@link ExecNode}s into a single node whose
+ * generated operator does the work of all of them, so that the intermediate rows are never
+ * materialized. Currently a {@link BatchExecCalc} is fused into the local {@link
+ * BatchExecHashAggregate} it feeds.
+ *
+ * <p>NOTE: This processor can be only applied on {@link BatchExecNode} DAG.
+ */
+public class OperatorFusionCodegenProcessor implements ExecNodeGraphProcessor {
+
+    @Override
+    public ExecNodeGraph process(ExecNodeGraph execGraph, ProcessorContext context) {
+        if (!execGraph.getRootNodes().stream().allMatch(r -> r instanceof BatchExecNode)) {
+            throw new TableException("Only BatchExecNode DAG are supported now.");
+        }
+
+        // count the consumers of each node, a node which is consumed by several nodes (e.g. a
+        // reused sub-plan) can not be fused into one of them
+        final Map<ExecNode<?>, Integer> numConsumers = new HashMap<>();
+        final List<BatchExecHashAggregate> aggregates = new ArrayList<>();
+        final AbstractExecNodeExactlyOnceVisitor visitor =
+                new AbstractExecNodeExactlyOnceVisitor() {
+                    @Override
+                    protected void visitNode(ExecNode<?> node) {
+                        for (ExecEdge edge : node.getInputEdges()) {
+                            numConsumers.merge(edge.getSource(), 1, Integer::sum);
+                        }
+                        if (node instanceof BatchExecHashAggregate) {
+                            aggregates.add((BatchExecHashAggregate) node);
+                        }
+                        visitInputs(node);
+                    }
+                };
+        execGraph.getRootNodes().forEach(r -> r.accept(visitor));
+
+        for (BatchExecHashAggregate aggregate : aggregates) {
+            final ExecNode<?> input = aggregate.getInputEdges().get(0).getSource();
+            if (input instanceof BatchExecCalc
+                    && numConsumers.get(input) == 1
+                    && aggregate.canFuseCalc((BatchExecCalc) input)) {
+                aggregate.fuseCalc((BatchExecCalc) input);
+            }
+        }
+        return execGraph;
+    }
+}
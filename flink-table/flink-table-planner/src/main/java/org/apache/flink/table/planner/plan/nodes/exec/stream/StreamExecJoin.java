@@ -19,23 +19,29 @@
 
 package org.apache.flink.table.planner.plan.nodes.exec.stream;
 
+import org.apache.flink.api.common.state.StateTtlConfig;
 import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.api.transformations.TwoInputTransformation;
 import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.planner.delegation.PlannerBase;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
 import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
 import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.StateMetadata;
 import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
 import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
 import org.apache.flink.table.planner.plan.utils.JoinUtil;
 import org.apache.flink.table.planner.plan.utils.KeySelectorUtil;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
 import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountCoBundleTrigger;
 import org.apache.flink.table.runtime.operators.join.FlinkJoinType;
 import org.apache.flink.table.runtime.operators.join.stream.AbstractStreamingJoinOperator;
+import org.apache.flink.table.runtime.operators.join.stream.MiniBatchStreamingJoinOperator;
 import org.apache.flink.table.runtime.operators.join.stream.StreamingJoinOperator;
 import org.apache.flink.table.runtime.operators.join.stream.StreamingSemiAntiJoinOperator;
 import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
@@ -45,8 +51,11 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.shaded.guava30.com.google.common.collect.Lists;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -64,6 +73,10 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
     public static final String FIELD_NAME_JOIN_SPEC = "joinSpec";
     public static final String FIELD_NAME_LEFT_UNIQUE_KEYS = "leftUniqueKeys";
     public static final String FIELD_NAME_RIGHT_UNIQUE_KEYS = "rightUniqueKeys";
+    public static final String FIELD_NAME_STATE = "state";
+
+    public static final String LEFT_STATE_NAME = "leftState";
+    public static final String RIGHT_STATE_NAME = "rightState";
 
     @JsonProperty(FIELD_NAME_JOIN_SPEC)
     private final JoinSpec joinSpec;
@@ -74,7 +87,14 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
     @JsonProperty(FIELD_NAME_RIGHT_UNIQUE_KEYS)
     private final List<int[]> rightUniqueKeys;
 
+    /** The time-to-live of the records of the left (index 0) and right (index 1) input. */
+    @Nullable
+    @JsonProperty(FIELD_NAME_STATE)
+    @JsonInclude(value = JsonInclude.Include.NON_NULL)
+    private final List<StateMetadata> stateMetadataList;
+
     public StreamExecJoin(
+            ReadableConfig tableConfig,
             JoinSpec joinSpec,
             List<int[]> leftUniqueKeys,
             List<int[]> rightUniqueKeys,
@@ -86,6 +106,8 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
                 joinSpec,
                 leftUniqueKeys,
                 rightUniqueKeys,
+                StateMetadata.getDefaultStateMetadata(
+                        tableConfig, LEFT_STATE_NAME, RIGHT_STATE_NAME),
                 getNewNodeId(),
                 Lists.newArrayList(leftInputProperty, rightInputProperty),
                 outputType,
@@ -97,6 +119,7 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
             @JsonProperty(FIELD_NAME_JOIN_SPEC) JoinSpec joinSpec,
             @JsonProperty(FIELD_NAME_LEFT_UNIQUE_KEYS) List<int[]> leftUniqueKeys,
             @JsonProperty(FIELD_NAME_RIGHT_UNIQUE_KEYS) List<int[]> rightUniqueKeys,
+            @Nullable @JsonProperty(FIELD_NAME_STATE) List<StateMetadata> stateMetadataList,
             @JsonProperty(FIELD_NAME_ID) int id,
             @JsonProperty(FIELD_NAME_INPUT_PROPERTIES) List<InputProperty> inputProperties,
             @JsonProperty(FIELD_NAME_OUTPUT_TYPE) RowType outputType,
@@ -106,6 +129,19 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
         this.joinSpec = checkNotNull(joinSpec);
         this.leftUniqueKeys = leftUniqueKeys;
         this.rightUniqueKeys = rightUniqueKeys;
+        this.stateMetadataList = stateMetadataList;
+    }
+
+    public JoinSpec getJoinSpec() {
+        return joinSpec;
+    }
+
+    public List<int[]> getLeftUniqueKeys() {
+        return leftUniqueKeys;
+    }
+
+    public List<int[]> getRightUniqueKeys() {
+        return rightUniqueKeys;
     }
 
     @Override
@@ -138,7 +174,11 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
         GeneratedJoinCondition generatedCondition =
                 JoinUtil.generateConditionFunction(tableConfig, joinSpec, leftType, rightType);
 
-        long minRetentionTime = tableConfig.getMinIdleStateRetentionTime();
+        final List<StateTtlConfig> stateTtlConfigs =
+                StateMetadata.createTtlConfigs(
+                        this, stateMetadataList, tableConfig.getConfiguration(), 2);
+        final StateTtlConfig leftStateTtlConfig = stateTtlConfigs.get(0);
+        final StateTtlConfig rightStateTtlConfig = stateTtlConfigs.get(1);
 
         AbstractStreamingJoinOperator operator;
         FlinkJoinType joinType = joinSpec.getJoinType();
@@ -152,22 +192,53 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
                             leftInputSpec,
                             rightInputSpec,
                             joinSpec.getFilterNulls(),
-                            minRetentionTime);
+                            leftStateTtlConfig,
+                            rightStateTtlConfig);
         } else {
             boolean leftIsOuter = joinType == FlinkJoinType.LEFT || joinType == FlinkJoinType.FULL;
             boolean rightIsOuter =
                     joinType == FlinkJoinType.RIGHT || joinType == FlinkJoinType.FULL;
-            operator =
-                    new StreamingJoinOperator(
-                            leftTypeInfo,
-                            rightTypeInfo,
-                            generatedCondition,
-                            leftInputSpec,
-                            rightInputSpec,
-                            leftIsOuter,
-                            rightIsOuter,
-                            joinSpec.getFilterNulls(),
-                            minRetentionTime);
+            if (tableConfig
+                            .getConfiguration()
+                            .getBoolean(ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_ENABLED)
+                    && tableConfig
+                            .getConfiguration()
+                            .getBoolean(ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_JOIN_ENABLED)) {
+                long miniBatchSize =
+                        tableConfig
+                                .getConfiguration()
+                                .getLong(ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE);
+                checkArgument(
+                        miniBatchSize > 0,
+                        ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE.key()
+                                + " should be greater than 0.");
+                operator =
+                        new MiniBatchStreamingJoinOperator(
+                                leftTypeInfo,
+                                rightTypeInfo,
+                                generatedCondition,
+                                leftInputSpec,
+                                rightInputSpec,
+                                leftIsOuter,
+                                rightIsOuter,
+                                joinSpec.getFilterNulls(),
+                                leftStateTtlConfig,
+                                rightStateTtlConfig,
+                                new CountCoBundleTrigger<>(miniBatchSize));
+            } else {
+                operator =
+                        new StreamingJoinOperator(
+                                leftTypeInfo,
+                                rightTypeInfo,
+                                generatedCondition,
+                                leftInputSpec,
+                                rightInputSpec,
+                                leftIsOuter,
+                                rightIsOuter,
+                                joinSpec.getFilterNulls(),
+                                leftStateTtlConfig,
+                                rightStateTtlConfig);
+            }
         }
 
         final RowType returnType = (RowType) getOutputType();
@@ -22,6 +22,7 @@ import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
 import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.planner.codegen.CodeGeneratorContext;
 import org.apache.flink.table.planner.codegen.agg.AggsHandlerCodeGenerator;
@@ -39,6 +40,7 @@ import org.apache.flink.table.runtime.generated.GeneratedNamespaceAggsHandleFunc
 import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
 import org.apache.flink.table.runtime.operators.aggregate.window.LocalSlicingWindowAggOperator;
 import org.apache.flink.table.runtime.operators.aggregate.window.buffers.RecordsWindowBuffer;
+import org.apache.flink.table.runtime.operators.aggregate.window.buffers.SpillableRecordsWindowBuffer;
 import org.apache.flink.table.runtime.operators.aggregate.window.buffers.WindowBuffer;
 import org.apache.flink.table.runtime.operators.aggregate.window.combines.LocalAggCombiner;
 import org.apache.flink.table.runtime.operators.window.slicing.SliceAssigner;
@@ -146,9 +148,17 @@ public class StreamExecLocalWindowAggregate extends StreamExecWindowAggregateBas
                 (PagedTypeSerializer<RowData>) selector.getProducedType().toSerializer();
         AbstractRowDataSerializer<RowData> valueSer = new RowDataSerializer(inputRowType);
 
-        WindowBuffer.LocalFactory bufferFactory =
-                new RecordsWindowBuffer.LocalFactory(
-                        keySer, valueSer, new LocalAggCombiner.Factory(generatedAggsHandler));
+        final LocalAggCombiner.Factory combinerFactory =
+                new LocalAggCombiner.Factory(generatedAggsHandler);
+        final WindowBuffer.LocalFactory bufferFactory;
+        if (config.getConfiguration()
+                .get(ExecutionConfigOptions.TABLE_EXEC_LOCAL_WINDOW_AGG_SPILL_ENABLED)) {
+            bufferFactory =
+                    new SpillableRecordsWindowBuffer.LocalFactory(
+                            keySer, valueSer, combinerFactory);
+        } else {
+            bufferFactory = new RecordsWindowBuffer.LocalFactory(keySer, valueSer, combinerFactory);
+        }
 
         final OneInputStreamOperator<RowData, RowData> localAggOperator =
                 new LocalSlicingWindowAggOperator(
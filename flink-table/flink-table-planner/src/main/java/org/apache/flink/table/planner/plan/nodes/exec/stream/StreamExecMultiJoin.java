@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.stream;
+
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.streaming.api.transformations.KeyedMultipleInputTransformation;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
+import org.apache.flink.table.planner.plan.utils.JoinUtil;
+import org.apache.flink.table.planner.plan.utils.KeySelectorUtil;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.join.stream.StreamingMultiJoinOperatorFactory;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link StreamExecNode} for a chain of regular INNER joins whose inputs are all joined on the
+ * same key. It is created from several {@link StreamExecJoin}s by the {@code
+ * MultiJoinNodeCreationProcessor}.
+ *
+ * <p>The inputs are joined in their order: the join spec {@code i} joins the joined row of the
+ * inputs {@code 0} to {@code i} with the input {@code i + 1}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StreamExecMultiJoin extends ExecNodeBase<RowData>
+        implements StreamExecNode<RowData>, SingleTransformationTranslator<RowData> {
+    public static final String FIELD_NAME_JOIN_SPECS = "joinSpecs";
+    public static final String FIELD_NAME_INPUT_JOIN_KEYS = "inputJoinKeys";
+    public static final String FIELD_NAME_INPUT_UNIQUE_KEYS = "inputUniqueKeys";
+
+    @JsonProperty(FIELD_NAME_JOIN_SPECS)
+    private final List<JoinSpec> joinSpecs;
+
+    @JsonProperty(FIELD_NAME_INPUT_JOIN_KEYS)
+    private final List<int[]> inputJoinKeys;
+
+    @JsonProperty(FIELD_NAME_INPUT_UNIQUE_KEYS)
+    private final List<List<int[]>> inputUniqueKeys;
+
+    public StreamExecMultiJoin(
+            List<JoinSpec> joinSpecs,
+            List<int[]> inputJoinKeys,
+            List<List<int[]>> inputUniqueKeys,
+            List<InputProperty> inputProperties,
+            RowType outputType,
+            String description) {
+        this(
+                joinSpecs,
+                inputJoinKeys,
+                inputUniqueKeys,
+                getNewNodeId(),
+                inputProperties,
+                outputType,
+                description);
+    }
+
+    @JsonCreator
+    public StreamExecMultiJoin(
+            @JsonProperty(FIELD_NAME_JOIN_SPECS) List<JoinSpec> joinSpecs,
+            @JsonProperty(FIELD_NAME_INPUT_JOIN_KEYS) List<int[]> inputJoinKeys,
+            @JsonProperty(FIELD_NAME_INPUT_UNIQUE_KEYS) List<List<int[]>> inputUniqueKeys,
+            @JsonProperty(FIELD_NAME_ID) int id,
+            @JsonProperty(FIELD_NAME_INPUT_PROPERTIES) List<InputProperty> inputProperties,
+            @JsonProperty(FIELD_NAME_OUTPUT_TYPE) RowType outputType,
+            @JsonProperty(FIELD_NAME_DESCRIPTION) String description) {
+        super(id, inputProperties, outputType, description);
+        checkArgument(inputProperties.size() > 2);
+        this.joinSpecs = checkNotNull(joinSpecs);
+        this.inputJoinKeys = checkNotNull(inputJoinKeys);
+        this.inputUniqueKeys = checkNotNull(inputUniqueKeys);
+        checkArgument(joinSpecs.size() == inputProperties.size() - 1);
+        checkArgument(inputJoinKeys.size() == inputProperties.size());
+        checkArgument(inputUniqueKeys.size() == inputProperties.size());
+    }
+
+    public List<JoinSpec> getJoinSpecs() {
+        return joinSpecs;
+    }
+
+    public List<int[]> getInputJoinKeys() {
+        return inputJoinKeys;
+    }
+
+    public List<List<int[]>> getInputUniqueKeys() {
+        return inputUniqueKeys;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Transformation<RowData> translateToPlanInternal(PlannerBase planner) {
+        final TableConfig tableConfig = planner.getTableConfig();
+        final List<ExecEdge> inputEdges = getInputEdges();
+        final int numInputs = inputEdges.size();
+
+        final List<Transformation<RowData>> inputTransforms = new ArrayList<>(numInputs);
+        final List<InternalTypeInfo<RowData>> inputTypeInfos = new ArrayList<>(numInputs);
+        final List<JoinInputSideSpec> inputSideSpecs = new ArrayList<>(numInputs);
+        final List<RowDataKeySelector> keySelectors = new ArrayList<>(numInputs);
+        for (int i = 0; i < numInputs; i++) {
+            final ExecEdge inputEdge = inputEdges.get(i);
+            inputTransforms.add((Transformation<RowData>) inputEdge.translateToPlan(planner));
+            final InternalTypeInfo<RowData> typeInfo =
+                    InternalTypeInfo.of((RowType) inputEdge.getOutputType());
+            inputTypeInfos.add(typeInfo);
+            inputSideSpecs.add(
+                    JoinUtil.analyzeJoinInput(
+                            typeInfo, inputJoinKeys.get(i), inputUniqueKeys.get(i)));
+            keySelectors.add(KeySelectorUtil.getRowDataSelector(inputJoinKeys.get(i), typeInfo));
+        }
+
+        // the condition i is applied to the joined row of the inputs 0 to i and the input i + 1
+        final List<GeneratedJoinCondition> joinConditions = new ArrayList<>(numInputs - 1);
+        final List<boolean[]> filterNullKeys = new ArrayList<>(numInputs - 1);
+        final List<LogicalType> joinedFieldTypes =
+                new ArrayList<>(((RowType) inputEdges.get(0).getOutputType()).getChildren());
+        for (int i = 0; i < numInputs - 1; i++) {
+            final RowType rightType = (RowType) inputEdges.get(i + 1).getOutputType();
+            final RowType joinedType = RowType.of(joinedFieldTypes.toArray(new LogicalType[0]));
+            joinConditions.add(
+                    JoinUtil.generateConditionFunction(
+                            tableConfig, joinSpecs.get(i), joinedType, rightType));
+            filterNullKeys.add(joinSpecs.get(i).getFilterNulls());
+            joinedFieldTypes.addAll(rightType.getChildren());
+        }
+
+        final StreamingMultiJoinOperatorFactory operatorFactory =
+                new StreamingMultiJoinOperatorFactory(
+                        inputTypeInfos,
+                        inputSideSpecs,
+                        joinConditions,
+                        filterNullKeys,
+                        tableConfig.getMinIdleStateRetentionTime());
+
+        final KeyedMultipleInputTransformation<RowData> transform =
+                new KeyedMultipleInputTransformation<>(
+                        getOperatorName(tableConfig),
+                        operatorFactory,
+                        InternalTypeInfo.of(getOutputType()),
+                        inputTransforms.get(0).getParallelism(),
+                        keySelectors.get(0).getProducedType());
+        for (int i = 0; i < numInputs; i++) {
+            transform.addInput(inputTransforms.get(i), keySelectors.get(i));
+        }
+        transform.setDescription(getOperatorDescription(tableConfig));
+        return transform;
+    }
+}
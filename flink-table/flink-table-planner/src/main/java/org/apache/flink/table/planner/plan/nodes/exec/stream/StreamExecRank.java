@@ -52,8 +52,10 @@ import org.apache.flink.table.runtime.operators.rank.ComparableRecordComparator;
 import org.apache.flink.table.runtime.operators.rank.FastTop1Function;
 import org.apache.flink.table.runtime.operators.rank.RankRange;
 import org.apache.flink.table.runtime.operators.rank.RankType;
+import org.apache.flink.table.runtime.operators.rank.RetractableSortedStateTopNFunction;
 import org.apache.flink.table.runtime.operators.rank.RetractableTopNFunction;
 import org.apache.flink.table.runtime.operators.rank.UpdatableTopNFunction;
+import org.apache.flink.table.runtime.typeutils.BinaryComparableRowDataSerializer;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.runtime.typeutils.TypeCheckUtils;
 import org.apache.flink.table.runtime.util.StateConfigUtil;
@@ -64,6 +66,7 @@ import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCre
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
@@ -86,6 +89,21 @@ public class StreamExecRank extends ExecNodeBase<RowData>
                             "TopN operator has a cache which caches partial state contents to reduce"
                                     + " state access. Cache size is the number of records in each TopN task.");
 
+    // It is a experimental config, will may be removed later.
+    @Experimental
+    public static final ConfigOption<Boolean> TABLE_EXEC_TOPN_SORTED_STATE_ENABLED =
+            ConfigOptions.key("table.exec.topn.sorted-state.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "When it is true, the TopN operator of an updating input keeps its records"
+                                    + " in a map state ordered by the sort key, so that updating the TopN only"
+                                    + " reads the records up to the rank end instead of maintaining a sorted map"
+                                    + " of all the sort keys. This requires the RocksDB state backend, whose map"
+                                    + " states are iterated in the order of the keys, the job fails on the heap"
+                                    + " state backends. It is only applied if all"
+                                    + " the sort keys are of primitive, string, binary, decimal or temporal types.");
+
     public static final String FIELD_NAME_RANK_TYPE = "rankType";
     public static final String FIELD_NAME_PARTITION_SPEC = "partition";
     public static final String FIELD_NAME_SORT_SPEC = "orderBy";
@@ -293,24 +311,45 @@ public class StreamExecRank extends ExecNodeBase<RowData>
                                     .toArray(LogicalType[]::new));
             GeneratedRecordEqualiser generatedEqualiser =
                     equaliserCodeGen.generateRecordEqualiser("RankValueEqualiser");
-            ComparableRecordComparator comparator =
-                    new ComparableRecordComparator(
-                            sortKeyComparator,
-                            sortKeyPositions,
-                            sortSpec.getFieldTypes(inputType),
-                            sortSpec.getAscendingOrders(),
-                            sortSpec.getNullsIsLast());
-            processFunction =
-                    new RetractableTopNFunction(
-                            ttlConfig,
-                            inputRowTypeInfo,
-                            comparator,
-                            sortKeySelector,
-                            rankType,
-                            rankRange,
-                            generatedEqualiser,
-                            generateUpdateBefore,
-                            outputRankNumber);
+            LogicalType[] sortKeyTypes = sortSpec.getFieldTypes(inputType);
+            if (tableConfig.getConfiguration().get(TABLE_EXEC_TOPN_SORTED_STATE_ENABLED)
+                    && Arrays.stream(sortKeyTypes)
+                            .allMatch(BinaryComparableRowDataSerializer::isSupported)) {
+                processFunction =
+                        new RetractableSortedStateTopNFunction(
+                                ttlConfig,
+                                inputRowTypeInfo,
+                                sortKeyComparator,
+                                sortKeySelector,
+                                new BinaryComparableRowDataSerializer(
+                                        sortKeyTypes,
+                                        sortSpec.getAscendingOrders(),
+                                        sortSpec.getNullsIsLast()),
+                                rankType,
+                                rankRange,
+                                generatedEqualiser,
+                                generateUpdateBefore,
+                                outputRankNumber);
+            } else {
+                ComparableRecordComparator comparator =
+                        new ComparableRecordComparator(
+                                sortKeyComparator,
+                                sortKeyPositions,
+                                sortKeyTypes,
+                                sortSpec.getAscendingOrders(),
+                                sortSpec.getNullsIsLast());
+                processFunction =
+                        new RetractableTopNFunction(
+                                ttlConfig,
+                                inputRowTypeInfo,
+                                comparator,
+                                sortKeySelector,
+                                rankType,
+                                rankRange,
+                                generatedEqualiser,
+                                generateUpdateBefore,
+                                outputRankNumber);
+            }
         } else {
             throw new TableException(
                     String.format("rank strategy:%s is not supported.", rankStrategy));
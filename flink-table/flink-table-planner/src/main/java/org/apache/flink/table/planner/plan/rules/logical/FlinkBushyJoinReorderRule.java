@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.logical;
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.utils.ShortcutUtils;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.rules.CoreRules;
+import org.apache.calcite.rel.rules.LoptMultiJoin;
+import org.apache.calcite.rel.rules.MultiJoin;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.tools.RelBuilder;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD;
+
+/**
+ * Planner rule that finds an approximately optimal bushy join order for a {@link MultiJoin} of
+ * inner joins by dynamic programming.
+ *
+ * <p>The rule enumerates the join trees level by level: the plans of level k join k inputs, and
+ * are built by joining a plan of level i with a disjoint plan of level k - i, as long as a join
+ * condition connects them. Cartesian products are only considered for a level if no connected
+ * plan exists. For every set of inputs, only the cheapest plan is kept, where the cost of a plan
+ * is the sum of the estimated row counts of all its joins. The row counts are estimated by the
+ * metadata handlers, i.e. based on the row count and NDV statistics of the inputs.
+ *
+ * <p>As the number of plans grows exponentially with the number of inputs, the rule falls back to
+ * {@link CoreRules#MULTI_JOIN_OPTIMIZE}, a greedy heuristic building left-deep trees, if the
+ * number of inputs exceeds {@link
+ * OptimizerConfigOptions#TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD}, or if the {@link
+ * MultiJoin} contains outer joins.
+ */
+public class FlinkBushyJoinReorderRule extends RelOptRule {
+
+    public static final FlinkBushyJoinReorderRule INSTANCE = new FlinkBushyJoinReorderRule();
+
+    public FlinkBushyJoinReorderRule() {
+        super(operand(MultiJoin.class, any()), "FlinkBushyJoinReorderRule");
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        final MultiJoin multiJoin = call.rel(0);
+        final int threshold =
+                ShortcutUtils.unwrapContext(call.getPlanner())
+                        .getTableConfig()
+                        .getConfiguration()
+                        .getInteger(TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD);
+        if (multiJoin.getInputs().size() > threshold || !isInnerJoinsOnly(multiJoin)) {
+            CoreRules.MULTI_JOIN_OPTIMIZE.onMatch(call);
+            return;
+        }
+
+        final LoptMultiJoin loptMultiJoin = new LoptMultiJoin(multiJoin);
+        final RelBuilder relBuilder = call.builder();
+        final RelMetadataQuery mq = call.getMetadataQuery();
+        final int numFactors = loptMultiJoin.getNumJoinFactors();
+
+        // the join filters referencing at most one factor are applied on top of the join tree
+        final List<RexNode> joinFilters = new ArrayList<>();
+        final List<ImmutableBitSet> joinFilterFactors = new ArrayList<>();
+        final List<RexNode> remainingFilters = new ArrayList<>();
+        for (RexNode filter : loptMultiJoin.getJoinFilters()) {
+            final ImmutableBitSet factors = loptMultiJoin.getFactorsRefByJoinFilter(filter);
+            if (factors.cardinality() > 1) {
+                joinFilters.add(filter);
+                joinFilterFactors.add(factors);
+            } else {
+                remainingFilters.add(filter);
+            }
+        }
+
+        final List<Map<ImmutableBitSet, JoinPlan>> levels = new ArrayList<>();
+        final Map<ImmutableBitSet, JoinPlan> firstLevel = new HashMap<>();
+        for (int i = 0; i < numFactors; i++) {
+            final RelNode factor = loptMultiJoin.getJoinFactor(i);
+            firstLevel.put(
+                    ImmutableBitSet.of(i),
+                    new JoinPlan(factor, ImmutableBitSet.of(i), Collections.singletonList(i), 0.0));
+        }
+        levels.add(firstLevel);
+
+        for (int level = 2; level <= numFactors; level++) {
+            Map<ImmutableBitSet, JoinPlan> plans =
+                    enumeratePlans(
+                            levels,
+                            level,
+                            false,
+                            loptMultiJoin,
+                            joinFilters,
+                            joinFilterFactors,
+                            relBuilder,
+                            mq);
+            if (plans.isEmpty()) {
+                plans =
+                        enumeratePlans(
+                                levels,
+                                level,
+                                true,
+                                loptMultiJoin,
+                                joinFilters,
+                                joinFilterFactors,
+                                relBuilder,
+                                mq);
+            }
+            levels.add(plans);
+        }
+
+        final JoinPlan bestPlan = levels.get(numFactors - 1).values().iterator().next();
+        final int[] fieldMapping = createFieldMapping(loptMultiJoin, bestPlan.factorOrder);
+        relBuilder.push(bestPlan.rel);
+
+        final RexNode postJoinFilter = multiJoin.getPostJoinFilter();
+        if (postJoinFilter != null) {
+            remainingFilters.add(postJoinFilter);
+        }
+        if (!remainingFilters.isEmpty()) {
+            relBuilder.filter(
+                    shiftFilter(
+                            RexUtil.composeConjunction(
+                                    multiJoin.getCluster().getRexBuilder(), remainingFilters),
+                            fieldMapping));
+        }
+
+        // restore the field order of the multi join
+        final List<RexNode> projects = new ArrayList<>();
+        for (int i = 0; i < fieldMapping.length; i++) {
+            projects.add(relBuilder.field(fieldMapping[i]));
+        }
+        relBuilder.project(projects, multiJoin.getRowType().getFieldNames(), true);
+        call.transformTo(relBuilder.build());
+    }
+
+    private static boolean isInnerJoinsOnly(MultiJoin multiJoin) {
+        if (multiJoin.isFullOuterJoin()) {
+            return false;
+        }
+        for (int i = 0; i < multiJoin.getInputs().size(); i++) {
+            if (multiJoin.getJoinTypes().get(i) != JoinRelType.INNER
+                    || multiJoin.getOuterJoinConditions().get(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cheapest plans of the given level, joining the plans of the lower levels. If
+     * cartesian products are not allowed, only plans connected by a join filter are joined.
+     *
+     * <p>The row count of a join does not depend on the order in which its factors are joined. It
+     * is therefore estimated only once per set of factors, and only the join of the cheapest pair
+     * of plans is built for every set.
+     */
+    private static Map<ImmutableBitSet, JoinPlan> enumeratePlans(
+            List<Map<ImmutableBitSet, JoinPlan>> levels,
+            int level,
+            boolean allowCartesianProducts,
+            LoptMultiJoin loptMultiJoin,
+            List<RexNode> joinFilters,
+            List<ImmutableBitSet> joinFilterFactors,
+            RelBuilder relBuilder,
+            RelMetadataQuery mq) {
+        final Map<ImmutableBitSet, Double> rowCounts = new HashMap<>();
+        final Map<ImmutableBitSet, JoinCandidate> candidates = new HashMap<>();
+        for (int leftLevel = 1; leftLevel <= level / 2; leftLevel++) {
+            final int rightLevel = level - leftLevel;
+            for (JoinPlan left : levels.get(leftLevel - 1).values()) {
+                for (JoinPlan right : levels.get(rightLevel - 1).values()) {
+                    if (left.factors.intersects(right.factors)) {
+                        continue;
+                    }
+                    if (leftLevel == rightLevel
+                            && left.factors.nextSetBit(0) > right.factors.nextSetBit(0)) {
+                        // the same pair with swapped inputs has the same cost
+                        continue;
+                    }
+                    final ImmutableBitSet factors = left.factors.union(right.factors);
+                    final List<RexNode> conditions = new ArrayList<>();
+                    for (int i = 0; i < joinFilters.size(); i++) {
+                        final ImmutableBitSet filterFactors = joinFilterFactors.get(i);
+                        if (factors.contains(filterFactors)
+                                && !left.factors.contains(filterFactors)
+                                && !right.factors.contains(filterFactors)) {
+                            conditions.add(joinFilters.get(i));
+                        }
+                    }
+                    if (conditions.isEmpty() && !allowCartesianProducts) {
+                        continue;
+                    }
+                    RelNode join = null;
+                    Double rowCount = rowCounts.get(factors);
+                    if (rowCount == null) {
+                        join = createJoin(left, right, conditions, loptMultiJoin, relBuilder);
+                        rowCount = mq.getRowCount(join);
+                        rowCount = rowCount == null ? Double.MAX_VALUE : rowCount;
+                        rowCounts.put(factors, rowCount);
+                    }
+                    final double cost = rowCount + left.cost + right.cost;
+                    final JoinCandidate candidate = candidates.get(factors);
+                    if (candidate == null || cost < candidate.cost) {
+                        candidates.put(
+                                factors, new JoinCandidate(left, right, conditions, join, cost));
+                    }
+                }
+            }
+        }
+
+        final Map<ImmutableBitSet, JoinPlan> plans = new HashMap<>();
+        candidates.forEach(
+                (factors, candidate) -> {
+                    final RelNode join =
+                            candidate.join != null
+                                    ? candidate.join
+                                    : createJoin(
+                                            candidate.left,
+                                            candidate.right,
+                                            candidate.conditions,
+                                            loptMultiJoin,
+                                            relBuilder);
+                    final List<Integer> factorOrder = new ArrayList<>(candidate.left.factorOrder);
+                    factorOrder.addAll(candidate.right.factorOrder);
+                    plans.put(factors, new JoinPlan(join, factors, factorOrder, candidate.cost));
+                });
+        return plans;
+    }
+
+    private static RelNode createJoin(
+            JoinPlan left,
+            JoinPlan right,
+            List<RexNode> conditions,
+            LoptMultiJoin loptMultiJoin,
+            RelBuilder relBuilder) {
+        final List<Integer> factorOrder = new ArrayList<>(left.factorOrder);
+        factorOrder.addAll(right.factorOrder);
+        final RexBuilder rexBuilder = left.rel.getCluster().getRexBuilder();
+        final RexNode condition =
+                shiftFilter(
+                        RexUtil.composeConjunction(rexBuilder, conditions),
+                        createFieldMapping(loptMultiJoin, factorOrder));
+        return relBuilder
+                .push(left.rel)
+                .push(right.rel)
+                .join(JoinRelType.INNER, condition)
+                .build();
+    }
+
+    /**
+     * Returns the mapping from the fields of the multi join to the fields of a join tree, whose
+     * factors are ordered as given. The fields of factors not in the tree are mapped to -1.
+     */
+    private static int[] createFieldMapping(
+            LoptMultiJoin loptMultiJoin, List<Integer> factorOrder) {
+        final int[] fieldMapping = new int[loptMultiJoin.getNumTotalFields()];
+        Arrays.fill(fieldMapping, -1);
+        int offset = 0;
+        for (int factor : factorOrder) {
+            final int start = loptMultiJoin.getJoinStart(factor);
+            final int numFields = loptMultiJoin.getNumFieldsInJoinFactor(factor);
+            for (int i = 0; i < numFields; i++) {
+                fieldMapping[start + i] = offset + i;
+            }
+            offset += numFields;
+        }
+        return fieldMapping;
+    }
+
+    private static RexNode shiftFilter(RexNode filter, int[] fieldMapping) {
+        return filter.accept(
+                new RexShuttle() {
+                    @Override
+                    public RexNode visitInputRef(RexInputRef inputRef) {
+                        return new RexInputRef(
+                                fieldMapping[inputRef.getIndex()], inputRef.getType());
+                    }
+                });
+    }
+
+    /** A pair of plans to join, whose join is only built if it is the cheapest one. */
+    private static class JoinCandidate {
+        private final JoinPlan left;
+        private final JoinPlan right;
+        private final List<RexNode> conditions;
+        /** the join of the pair, if it was already built to estimate the row count. */
+        private final RelNode join;
+        private final double cost;
+
+        private JoinCandidate(
+                JoinPlan left,
+                JoinPlan right,
+                List<RexNode> conditions,
+                RelNode join,
+                double cost) {
+            this.left = left;
+            this.right = right;
+            this.conditions = conditions;
+            this.join = join;
+            this.cost = cost;
+        }
+    }
+
+    /** The cheapest join tree of a set of factors of the multi join. */
+    private static class JoinPlan {
+        private final RelNode rel;
+        private final ImmutableBitSet factors;
+        /** the factors in the order of their fields in the output of the join tree. */
+        private final List<Integer> factorOrder;
+        /** sum of the row counts of all joins of the join tree. */
+        private final double cost;
+
+        private JoinPlan(
+                RelNode rel, ImmutableBitSet factors, List<Integer> factorOrder, double cost) {
+            this.rel = rel;
+            this.factors = factors;
+            this.factorOrder = factorOrder;
+            this.cost = cost;
+        }
+    }
+}
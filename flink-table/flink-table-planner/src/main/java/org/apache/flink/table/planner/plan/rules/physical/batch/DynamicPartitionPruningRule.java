@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.batch;
+
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.connector.source.abilities.SupportsDynamicFiltering;
+import org.apache.flink.table.planner.plan.abilities.source.FilterPushDownSpec;
+import org.apache.flink.table.planner.plan.abilities.source.PartitionPushDownSpec;
+import org.apache.flink.table.planner.plan.abilities.source.SourceAbilitySpec;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalCalc;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalDynamicFilteringDataCollector;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalDynamicFilteringTableSourceScan;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalExchange;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalHashJoin;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalJoinBase;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalSortMergeJoin;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalTableSourceScan;
+import org.apache.flink.table.planner.plan.schema.TableSourceTable;
+import org.apache.flink.table.planner.plan.trait.FlinkRelDistribution;
+import org.apache.flink.table.planner.utils.ShortcutUtils;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.hep.HepRelVertex;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexProgram;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+import org.apache.calcite.sql.validate.SqlValidatorUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Planner rule that applies dynamic partition pruning to a batch hash join or sort merge join of a
+ * filtered dimension table with a fact table whose source supports {@link
+ * SupportsDynamicFiltering}. The {@link
+ * OptimizerConfigOptions#TABLE_OPTIMIZER_DYNAMIC_FILTERING_ENABLED} need to be true.
+ *
+ * <p>Suppose we have the original physical plan:
+ *
+ * <pre>{@code
+ * BatchPhysicalHashJoin (dim.id = fact.part_key, build side is dim)
+ * :- BatchPhysicalExchange
+ * :  +- BatchPhysicalCalc (with filter)
+ * :     +- BatchPhysicalTableSourceScan (dim)
+ * +- BatchPhysicalExchange
+ *    +- BatchPhysicalTableSourceScan (fact, partitioned by part_key)
+ * }</pre>
+ *
+ * <p>This physical plan will be rewritten to:
+ *
+ * <pre>{@code
+ * BatchPhysicalHashJoin (dim.id = fact.part_key, build side is dim)
+ * :- BatchPhysicalExchange
+ * :  +- BatchPhysicalCalc (with filter, reused)
+ * :     +- BatchPhysicalTableSourceScan (dim)
+ * +- BatchPhysicalExchange
+ *    +- BatchPhysicalDynamicFilteringTableSourceScan (fact, dynamic filtering on part_key)
+ *       +- BatchPhysicalDynamicFilteringDataCollector (id)
+ *          +- BatchPhysicalCalc (with filter, reused)
+ * }</pre>
+ *
+ * <p>At runtime, the collector collects the distinct join keys of the dimension side and sends them
+ * to the source of the fact table before it enumerates its splits, so that the source only reads
+ * the partitions that can be joined.
+ *
+ * <p>The rule only applies if:
+ *
+ * <ul>
+ *   <li>the join is an equi-join that does not preserve the rows of the fact side, i.e. an inner
+ *       join, a semi join with the fact table on the left or an outer join that only preserves
+ *       the dimension side.
+ *   <li>the fact side is a scan, optionally below a calc and an exchange, and the join keys are
+ *       fields of the scan accepted by the source, e.g. the partition keys.
+ *   <li>the dimension side contains a filter, otherwise all partitions are likely to be joined.
+ *   <li>the dimension side is the build side of a hash join, so that it is read before the fact
+ *       side anyway.
+ * </ul>
+ */
+public class DynamicPartitionPruningRule extends RelOptRule {
+
+    public static final DynamicPartitionPruningRule INSTANCE = new DynamicPartitionPruningRule();
+
+    public DynamicPartitionPruningRule() {
+        super(operand(BatchPhysicalJoinBase.class, any()), "DynamicPartitionPruningRule");
+    }
+
+    @Override
+    public boolean matches(RelOptRuleCall call) {
+        final BatchPhysicalJoinBase join = call.rel(0);
+        final TableConfig tableConfig =
+                ShortcutUtils.unwrapContext(call.getPlanner()).getTableConfig();
+        if (!tableConfig
+                .getConfiguration()
+                .getBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_FILTERING_ENABLED)) {
+            return false;
+        }
+        return (join instanceof BatchPhysicalHashJoin
+                        || join instanceof BatchPhysicalSortMergeJoin)
+                && join.joinSpec().getLeftKeys().length > 0;
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        final BatchPhysicalJoinBase join = call.rel(0);
+        // try the right side as fact side first, it is the probe side by default
+        RelNode newJoin = tryApply(join, false);
+        if (newJoin == null) {
+            newJoin = tryApply(join, true);
+        }
+        if (newJoin != null) {
+            call.transformTo(newJoin);
+        }
+    }
+
+    /** Returns the rewritten join if the dynamic partition pruning applies, null otherwise. */
+    private static RelNode tryApply(BatchPhysicalJoinBase join, boolean factInLeft) {
+        if (!isFactSidePrunable(join, factInLeft)) {
+            return null;
+        }
+        final RelNode dimSide = unwrap(factInLeft ? join.getRight() : join.getLeft());
+        final RelNode factSide = unwrap(factInLeft ? join.getLeft() : join.getRight());
+        if (!containsFilter(dimSide)) {
+            return null;
+        }
+
+        // the fact side is Exchange? -> Calc? -> Scan
+        final List<RelNode> factPath = new ArrayList<>();
+        RelNode current = factSide;
+        if (current instanceof BatchPhysicalExchange) {
+            factPath.add(current);
+            current = unwrap(current.getInput(0));
+        }
+        if (current instanceof BatchPhysicalCalc) {
+            factPath.add(current);
+            current = unwrap(current.getInput(0));
+        }
+        if (!(current instanceof BatchPhysicalTableSourceScan)
+                || current instanceof BatchPhysicalDynamicFilteringTableSourceScan) {
+            return null;
+        }
+        final BatchPhysicalTableSourceScan factScan = (BatchPhysicalTableSourceScan) current;
+        final TableSourceTable tableSourceTable = factScan.tableSourceTable();
+        if (!(tableSourceTable.tableSource() instanceof SupportsDynamicFiltering)) {
+            return null;
+        }
+        final List<String> acceptedFields =
+                ((SupportsDynamicFiltering) tableSourceTable.tableSource())
+                        .listAcceptedFilterFields();
+
+        final JoinSpec joinSpec = join.joinSpec();
+        final int[] dimKeys = factInLeft ? joinSpec.getRightKeys() : joinSpec.getLeftKeys();
+        final int[] factKeys = factInLeft ? joinSpec.getLeftKeys() : joinSpec.getRightKeys();
+        final RelNode factScanParent =
+                factPath.isEmpty() ? null : factPath.get(factPath.size() - 1);
+        final BatchPhysicalCalc factCalc =
+                factScanParent instanceof BatchPhysicalCalc
+                        ? (BatchPhysicalCalc) factScanParent
+                        : null;
+
+        final List<Integer> dynamicFilteringDimIndices = new ArrayList<>();
+        final List<Integer> dynamicFilteringFactIndices = new ArrayList<>();
+        final List<String> dynamicFilteringFields = new ArrayList<>();
+        final List<RelDataTypeField> factScanFields = factScan.getRowType().getFieldList();
+        final List<RelDataTypeField> dimFields = dimSide.getRowType().getFieldList();
+        final RelDataTypeFactory typeFactory = join.getCluster().getTypeFactory();
+        for (int i = 0; i < factKeys.length; i++) {
+            final int factScanIndex =
+                    factCalc == null ? factKeys[i] : getInputRefIndex(factCalc, factKeys[i]);
+            if (factScanIndex < 0) {
+                continue;
+            }
+            final RelDataTypeField factField = factScanFields.get(factScanIndex);
+            final RelDataTypeField dimField = dimFields.get(dimKeys[i]);
+            // the values are compared by their internal data, e.g. the hash code of a decimal
+            // depends on its scale, so the types must be equal apart from the nullability
+            if (!acceptedFields.contains(factField.getName())
+                    || dynamicFilteringFields.contains(factField.getName())
+                    || !SqlTypeUtil.equalSansNullability(
+                            typeFactory, dimField.getType(), factField.getType())) {
+                continue;
+            }
+            dynamicFilteringDimIndices.add(dimKeys[i]);
+            dynamicFilteringFactIndices.add(factScanIndex);
+            dynamicFilteringFields.add(factField.getName());
+        }
+        if (dynamicFilteringFields.isEmpty()) {
+            return null;
+        }
+
+        final BatchPhysicalDynamicFilteringDataCollector collector =
+                createDynamicFilteringDataCollector(dimSide, dynamicFilteringDimIndices);
+        final DynamicTableSource newTableSource = tableSourceTable.tableSource().copy();
+        ((SupportsDynamicFiltering) newTableSource).applyDynamicFiltering(dynamicFilteringFields);
+        final TableSourceTable newTableSourceTable =
+                tableSourceTable.copy(
+                        newTableSource, tableSourceTable.getStatistic(), new SourceAbilitySpec[0]);
+        RelNode newFactSide =
+                new BatchPhysicalDynamicFilteringTableSourceScan(
+                        factScan.getCluster(),
+                        factScan.getTraitSet(),
+                        factScan.getHints(),
+                        newTableSourceTable,
+                        collector,
+                        dynamicFilteringFactIndices.stream().mapToInt(i -> i).toArray());
+        for (int i = factPath.size() - 1; i >= 0; i--) {
+            final RelNode rel = factPath.get(i);
+            newFactSide = rel.copy(rel.getTraitSet(), Collections.singletonList(newFactSide));
+        }
+
+        final List<RelNode> newInputs =
+                factInLeft
+                        ? Arrays.asList(newFactSide, join.getRight())
+                        : Arrays.asList(join.getLeft(), newFactSide);
+        return join.copy(join.getTraitSet(), newInputs);
+    }
+
+    /**
+     * Returns whether the rows of the fact side that do not match the dimension side can be
+     * skipped, and whether the dimension side is read first.
+     */
+    private static boolean isFactSidePrunable(BatchPhysicalJoinBase join, boolean factInLeft) {
+        if (join instanceof BatchPhysicalHashJoin
+                && ((BatchPhysicalHashJoin) join).leftIsBuild() == factInLeft) {
+            return false;
+        }
+        switch (join.joinSpec().getJoinType()) {
+            case INNER:
+                return true;
+            case SEMI:
+            case RIGHT:
+                return factInLeft;
+            case LEFT:
+                return !factInLeft;
+            default:
+                return false;
+        }
+    }
+
+    /** Returns whether the dimension side filters its input. */
+    private static boolean containsFilter(RelNode rel) {
+        if (rel instanceof BatchPhysicalCalc
+                && ((BatchPhysicalCalc) rel).getProgram().getCondition() != null) {
+            return true;
+        }
+        if (rel instanceof BatchPhysicalTableSourceScan) {
+            final TableSourceTable table = ((BatchPhysicalTableSourceScan) rel).tableSourceTable();
+            return Arrays.stream(table.abilitySpecs())
+                    .anyMatch(
+                            spec ->
+                                    spec instanceof FilterPushDownSpec
+                                            || spec instanceof PartitionPushDownSpec);
+        }
+        for (RelNode input : rel.getInputs()) {
+            if (containsFilter(unwrap(input))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the index of the input field the calc projects to the given field, or -1. */
+    private static int getInputRefIndex(BatchPhysicalCalc calc, int outputIndex) {
+        final RexProgram program = calc.getProgram();
+        final RexNode expr = program.expandLocalRef(program.getProjectList().get(outputIndex));
+        return expr instanceof RexInputRef ? ((RexInputRef) expr).getIndex() : -1;
+    }
+
+    private static BatchPhysicalDynamicFilteringDataCollector createDynamicFilteringDataCollector(
+            RelNode dimSide, List<Integer> dynamicFilteringDimIndices) {
+        // the collector does not need the shuffle of the dimension side
+        final RelNode input =
+                dimSide instanceof BatchPhysicalExchange ? unwrap(dimSide.getInput(0)) : dimSide;
+        final List<RelDataTypeField> fields = input.getRowType().getFieldList();
+        final List<String> fieldNames = new ArrayList<>();
+        final List<RelDataType> fieldTypes = new ArrayList<>();
+        for (int index : dynamicFilteringDimIndices) {
+            fieldNames.add(fields.get(index).getName());
+            fieldTypes.add(fields.get(index).getType());
+        }
+        final RelDataTypeFactory typeFactory = input.getCluster().getTypeFactory();
+        final RelDataType outputType =
+                typeFactory.createStructType(
+                        fieldTypes, SqlValidatorUtil.uniquify(fieldNames, false));
+        return new BatchPhysicalDynamicFilteringDataCollector(
+                input.getCluster(),
+                input.getTraitSet()
+                        .replace(FlinkRelDistribution.ANY())
+                        .replace(RelCollations.EMPTY),
+                input,
+                outputType,
+                dynamicFilteringDimIndices.stream().mapToInt(i -> i).toArray());
+    }
+
+    private static RelNode unwrap(RelNode rel) {
+        return rel instanceof HepRelVertex ? ((HepRelVertex) rel).getCurrentRel() : rel;
+    }
+}
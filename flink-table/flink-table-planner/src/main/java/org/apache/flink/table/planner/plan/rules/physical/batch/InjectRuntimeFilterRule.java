@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.batch;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalCalc;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalExchange;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalGlobalRuntimeFilterBuilder;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalHashJoin;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalJoinBase;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalLocalRuntimeFilterBuilder;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalRuntimeFilter;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalSortMergeJoin;
+import org.apache.flink.table.planner.plan.trait.FlinkRelDistribution;
+import org.apache.flink.table.planner.utils.ShortcutUtils;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.hep.HepRelVertex;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexProgram;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_DATA_SIZE;
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE;
+
+/**
+ * Planner rule that injects a runtime filter into the probe side of a batch hash join or sort merge
+ * join. The {@link OptimizerConfigOptions#TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED} need to be true.
+ *
+ * <p>Suppose we have the original physical plan:
+ *
+ * <pre>{@code
+ * BatchPhysicalHashJoin (build side is left)
+ * :- BatchPhysicalExchange (hash)
+ * :  +- BatchPhysicalCalc (small, filtered build side)
+ * :     +- BatchPhysicalTableSourceScan
+ * +- BatchPhysicalExchange (hash)
+ *    +- BatchPhysicalTableSourceScan (large probe side)
+ * }</pre>
+ *
+ * <p>This physical plan will be rewritten to:
+ *
+ * <pre>{@code
+ * BatchPhysicalHashJoin (build side is left)
+ * :- BatchPhysicalExchange (hash)
+ * :  +- BatchPhysicalCalc (reused)
+ * :     +- BatchPhysicalTableSourceScan
+ * +- BatchPhysicalExchange (hash)
+ *    +- BatchPhysicalRuntimeFilter
+ *       :- BatchPhysicalExchange (broadcast)
+ *       :  +- BatchPhysicalGlobalRuntimeFilterBuilder
+ *       :     +- BatchPhysicalExchange (singleton)
+ *       :        +- BatchPhysicalLocalRuntimeFilterBuilder
+ *       :           +- BatchPhysicalCalc (reused)
+ *       +- BatchPhysicalTableSourceScan
+ * }</pre>
+ *
+ * <p>At runtime, the join keys of the build side are summarized into a bloom filter, which drops
+ * the rows of the probe side that cannot be joined before they are shuffled. The runtime filter is
+ * pushed down through the exchanges and calcs of the probe side, as long as the join keys are
+ * forwarded.
+ *
+ * <p>The rule only applies if the join does not preserve the rows of the probe side, if the
+ * estimated data size of the build side does not exceed {@link
+ * OptimizerConfigOptions#TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_DATA_SIZE}, and if the estimated
+ * data size of the probe side is at least {@link
+ * OptimizerConfigOptions#TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE}. The bloom filter is
+ * sized from the estimated row count of the build side.
+ */
+public class InjectRuntimeFilterRule extends RelOptRule {
+
+    public static final InjectRuntimeFilterRule INSTANCE = new InjectRuntimeFilterRule();
+
+    public InjectRuntimeFilterRule() {
+        super(operand(BatchPhysicalJoinBase.class, any()), "InjectRuntimeFilterRule");
+    }
+
+    @Override
+    public boolean matches(RelOptRuleCall call) {
+        final BatchPhysicalJoinBase join = call.rel(0);
+        final Configuration config =
+                ShortcutUtils.unwrapContext(call.getPlanner())
+                        .getTableConfig()
+                        .getConfiguration();
+        if (!config.getBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED)) {
+            return false;
+        }
+        return (join instanceof BatchPhysicalHashJoin
+                        || join instanceof BatchPhysicalSortMergeJoin)
+                && join.joinSpec().getLeftKeys().length > 0;
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        final BatchPhysicalJoinBase join = call.rel(0);
+        final Configuration config =
+                ShortcutUtils.unwrapContext(call.getPlanner())
+                        .getTableConfig()
+                        .getConfiguration();
+        final RelMetadataQuery mq = join.getCluster().getMetadataQuery();
+
+        final boolean leftIsBuild;
+        if (join instanceof BatchPhysicalHashJoin) {
+            leftIsBuild = ((BatchPhysicalHashJoin) join).leftIsBuild();
+        } else {
+            final Double leftSize = estimateDataSize(mq, join.getLeft());
+            final Double rightSize = estimateDataSize(mq, join.getRight());
+            if (leftSize == null || rightSize == null) {
+                return;
+            }
+            leftIsBuild = leftSize <= rightSize;
+        }
+        if (!isProbeSideFilterable(join, leftIsBuild)) {
+            return;
+        }
+
+        final RelNode buildSide = unwrap(leftIsBuild ? join.getLeft() : join.getRight());
+        final RelNode probeSide = unwrap(leftIsBuild ? join.getRight() : join.getLeft());
+        final Double buildRowCount = mq.getRowCount(buildSide);
+        final Double buildSize = estimateDataSize(mq, buildSide);
+        final Double probeSize = estimateDataSize(mq, probeSide);
+        final long maxBuildSize =
+                config.get(TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_DATA_SIZE).getBytes();
+        final long minProbeSize =
+                config.get(TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE).getBytes();
+        if (buildRowCount == null
+                || buildSize == null
+                || probeSize == null
+                || buildSize > maxBuildSize
+                || probeSize < minProbeSize) {
+            return;
+        }
+
+        // only keys of the same types produce the same binary representation on both sides
+        final JoinSpec joinSpec = join.joinSpec();
+        final int[] buildKeys = leftIsBuild ? joinSpec.getLeftKeys() : joinSpec.getRightKeys();
+        final int[] probeKeys = leftIsBuild ? joinSpec.getRightKeys() : joinSpec.getLeftKeys();
+        final List<Integer> filterBuildKeys = new ArrayList<>();
+        final List<Integer> filterProbeKeys = new ArrayList<>();
+        for (int i = 0; i < buildKeys.length; i++) {
+            final RelDataType buildKeyType =
+                    buildSide.getRowType().getFieldList().get(buildKeys[i]).getType();
+            final RelDataType probeKeyType =
+                    probeSide.getRowType().getFieldList().get(probeKeys[i]).getType();
+            if (SqlTypeUtil.equalSansNullability(
+                    join.getCluster().getTypeFactory(), buildKeyType, probeKeyType)) {
+                filterBuildKeys.add(buildKeys[i]);
+                filterProbeKeys.add(probeKeys[i]);
+            }
+        }
+        if (filterBuildKeys.isEmpty()) {
+            return;
+        }
+
+        // push the runtime filter down the probe side as long as the keys are forwarded
+        final List<RelNode> probePath = new ArrayList<>();
+        int[] probeIndices = filterProbeKeys.stream().mapToInt(i -> i).toArray();
+        RelNode filterTarget = probeSide;
+        while (true) {
+            if (filterTarget instanceof BatchPhysicalExchange) {
+                probePath.add(filterTarget);
+                filterTarget = unwrap(filterTarget.getInput(0));
+            } else if (filterTarget instanceof BatchPhysicalCalc) {
+                final int[] inputIndices =
+                        getInputRefIndices((BatchPhysicalCalc) filterTarget, probeIndices);
+                if (inputIndices == null) {
+                    break;
+                }
+                probePath.add(filterTarget);
+                probeIndices = inputIndices;
+                filterTarget = unwrap(filterTarget.getInput(0));
+            } else {
+                break;
+            }
+        }
+        if (filterTarget instanceof BatchPhysicalRuntimeFilter) {
+            // the runtime filter was already injected
+            return;
+        }
+
+        final double averageRowSize = Math.max(mq.getAverageRowSize(buildSide), 1.0);
+        final int maxRowCount = (int) Math.min(maxBuildSize / averageRowSize, Integer.MAX_VALUE);
+        final int estimatedRowCount =
+                (int) Math.max(Math.min(buildRowCount, (double) maxRowCount), 1.0);
+        final RelNode newFilterTarget =
+                createRuntimeFilter(
+                        buildSide,
+                        filterTarget,
+                        filterBuildKeys.stream().mapToInt(i -> i).toArray(),
+                        probeIndices,
+                        estimatedRowCount,
+                        maxRowCount);
+
+        RelNode newProbeSide = newFilterTarget;
+        for (int i = probePath.size() - 1; i >= 0; i--) {
+            final RelNode rel = probePath.get(i);
+            newProbeSide = rel.copy(rel.getTraitSet(), Collections.singletonList(newProbeSide));
+        }
+        final List<RelNode> newInputs =
+                leftIsBuild
+                        ? Arrays.asList(join.getLeft(), newProbeSide)
+                        : Arrays.asList(newProbeSide, join.getRight());
+        call.transformTo(join.copy(join.getTraitSet(), newInputs));
+    }
+
+    /** Returns whether the probe side rows that do not match the build side can be dropped. */
+    private static boolean isProbeSideFilterable(BatchPhysicalJoinBase join, boolean leftIsBuild) {
+        switch (join.joinSpec().getJoinType()) {
+            case INNER:
+            case SEMI:
+                // the rows of the right side of a semi join are only used for matching
+                return true;
+            case RIGHT:
+                return !leftIsBuild;
+            case LEFT:
+                return leftIsBuild;
+            default:
+                return false;
+        }
+    }
+
+    private static RelNode createRuntimeFilter(
+            RelNode buildSide,
+            RelNode probeSide,
+            int[] buildIndices,
+            int[] probeIndices,
+            int estimatedRowCount,
+            int maxRowCount) {
+        // build the bloom filter before the build side is shuffled
+        final RelNode buildInput =
+                buildSide instanceof BatchPhysicalExchange
+                        ? unwrap(buildSide.getInput(0))
+                        : buildSide;
+        final BatchPhysicalLocalRuntimeFilterBuilder localBuilder =
+                new BatchPhysicalLocalRuntimeFilterBuilder(
+                        buildInput.getCluster(),
+                        buildInput.getTraitSet()
+                                .replace(FlinkRelDistribution.ANY())
+                                .replace(RelCollations.EMPTY),
+                        buildInput,
+                        buildIndices,
+                        estimatedRowCount,
+                        maxRowCount);
+        final BatchPhysicalExchange singletonExchange =
+                new BatchPhysicalExchange(
+                        localBuilder.getCluster(),
+                        localBuilder.getTraitSet().replace(FlinkRelDistribution.SINGLETON()),
+                        localBuilder,
+                        FlinkRelDistribution.SINGLETON());
+        final BatchPhysicalGlobalRuntimeFilterBuilder globalBuilder =
+                new BatchPhysicalGlobalRuntimeFilterBuilder(
+                        singletonExchange.getCluster(),
+                        singletonExchange.getTraitSet(),
+                        singletonExchange,
+                        maxRowCount);
+        final BatchPhysicalExchange broadcastExchange =
+                new BatchPhysicalExchange(
+                        globalBuilder.getCluster(),
+                        globalBuilder
+                                .getTraitSet()
+                                .replace(FlinkRelDistribution.BROADCAST_DISTRIBUTED()),
+                        globalBuilder,
+                        FlinkRelDistribution.BROADCAST_DISTRIBUTED());
+        return new BatchPhysicalRuntimeFilter(
+                probeSide.getCluster(),
+                probeSide.getTraitSet(),
+                broadcastExchange,
+                probeSide,
+                probeIndices);
+    }
+
+    /** Returns the input fields the calc forwards to the given fields, or null. */
+    private static int[] getInputRefIndices(BatchPhysicalCalc calc, int[] outputIndices) {
+        final RexProgram program = calc.getProgram();
+        final int[] inputIndices = new int[outputIndices.length];
+        for (int i = 0; i < outputIndices.length; i++) {
+            final RexNode expr =
+                    program.expandLocalRef(program.getProjectList().get(outputIndices[i]));
+            if (!(expr instanceof RexInputRef)) {
+                return null;
+            }
+            inputIndices[i] = ((RexInputRef) expr).getIndex();
+        }
+        return inputIndices;
+    }
+
+    private static Double estimateDataSize(RelMetadataQuery mq, RelNode rel) {
+        final Double rowCount = mq.getRowCount(rel);
+        final Double averageRowSize = mq.getAverageRowSize(rel);
+        return rowCount == null || averageRowSize == null ? null : rowCount * averageRowSize;
+    }
+
+    private static RelNode unwrap(RelNode rel) {
+        return rel instanceof HepRelVertex ? ((HepRelVertex) rel).getCurrentRel() : rel;
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.batch;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.JoinSpec;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalCalc;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalExchange;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalGlobalHotKeyDetector;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalHashJoin;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalJoinBase;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalLocalHotKeyDetector;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalSkewJoinSalt;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalSortMergeJoin;
+import org.apache.flink.table.planner.plan.trait.FlinkRelDistribution;
+import org.apache.flink.table.planner.plan.trait.FlinkRelDistributionTraitDef;
+import org.apache.flink.table.planner.utils.ShortcutUtils;
+import org.apache.flink.table.runtime.operators.join.skew.SkewJoinSaltOperator;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.hep.HepRelVertex;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelDistribution;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexProgram;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_HOT_KEY_RATIO;
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_MIN_DATA_SIZE;
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_SPLIT_FACTOR;
+
+/**
+ * Planner rule that splits the hot join keys of a shuffled batch hash join or sort merge join over
+ * several parallel join instances. The {@link
+ * OptimizerConfigOptions#TABLE_OPTIMIZER_SKEW_JOIN_ENABLED} need to be true.
+ *
+ * <p>Suppose we have the original physical plan:
+ *
+ * <pre>{@code
+ * BatchPhysicalHashJoin
+ * :- BatchPhysicalExchange (hash[a])
+ * :  +- BatchPhysicalTableSourceScan (large, skewed side)
+ * +- BatchPhysicalExchange (hash[b])
+ *    +- BatchPhysicalTableSourceScan
+ * }</pre>
+ *
+ * <p>This physical plan will be rewritten to:
+ *
+ * <pre>{@code
+ * BatchPhysicalCalc (removes the salts)
+ * +- BatchPhysicalHashJoin (a = b AND salt = salt0)
+ *    :- BatchPhysicalExchange (hash[a, salt])
+ *    :  +- BatchPhysicalSkewJoinSalt (split)
+ *    :     :- BatchPhysicalExchange (broadcast)
+ *    :     :  +- BatchPhysicalGlobalHotKeyDetector
+ *    :     :     +- BatchPhysicalExchange (singleton)
+ *    :     :        +- BatchPhysicalLocalHotKeyDetector
+ *    :     :           +- BatchPhysicalTableSourceScan (reused)
+ *    :     +- BatchPhysicalTableSourceScan (reused)
+ *    +- BatchPhysicalExchange (hash[b, salt0])
+ *       +- BatchPhysicalSkewJoinSalt (replicate)
+ *          :- (reused hot keys)
+ *          +- BatchPhysicalTableSourceScan
+ * }</pre>
+ *
+ * <p>At runtime, the most frequent join keys of the skewed side are detected with a heavy hitter
+ * sketch before the side is shuffled. The rows of these hot keys are spread over {@link
+ * OptimizerConfigOptions#TABLE_OPTIMIZER_SKEW_JOIN_SPLIT_FACTOR} salts on the skewed side, and the
+ * matching rows of the other side are replicated to all of them. All other rows get the same salt,
+ * so that they are shuffled as before.
+ *
+ * <p>The skewed side is the side with the larger estimated data size, which must be at least
+ * {@link OptimizerConfigOptions#TABLE_OPTIMIZER_SKEW_JOIN_MIN_DATA_SIZE}. The rule only applies if
+ * the join does not preserve the rows of the replicated side.
+ */
+public class SkewJoinRule extends RelOptRule {
+
+    public static final SkewJoinRule INSTANCE = new SkewJoinRule();
+
+    public SkewJoinRule() {
+        super(operand(BatchPhysicalJoinBase.class, any()), "SkewJoinRule");
+    }
+
+    @Override
+    public boolean matches(RelOptRuleCall call) {
+        final BatchPhysicalJoinBase join = call.rel(0);
+        final Configuration config =
+                ShortcutUtils.unwrapContext(call.getPlanner())
+                        .getTableConfig()
+                        .getConfiguration();
+        if (!config.getBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_ENABLED)) {
+            return false;
+        }
+        final boolean isShuffledJoin =
+                (join instanceof BatchPhysicalHashJoin
+                                && !((BatchPhysicalHashJoin) join).isBroadcast())
+                        || join instanceof BatchPhysicalSortMergeJoin;
+        return isShuffledJoin
+                && join.joinSpec().getLeftKeys().length > 0
+                && join.getTraitSet().getCollation().getFieldCollations().isEmpty()
+                && unwrap(join.getLeft()) instanceof BatchPhysicalExchange
+                && unwrap(join.getRight()) instanceof BatchPhysicalExchange;
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        final BatchPhysicalJoinBase join = call.rel(0);
+        final Configuration config =
+                ShortcutUtils.unwrapContext(call.getPlanner())
+                        .getTableConfig()
+                        .getConfiguration();
+        final RelMetadataQuery mq = join.getCluster().getMetadataQuery();
+
+        final RelNode leftInput = unwrap(unwrap(join.getLeft()).getInput(0));
+        final RelNode rightInput = unwrap(unwrap(join.getRight()).getInput(0));
+        if (leftInput instanceof BatchPhysicalSkewJoinSalt
+                || rightInput instanceof BatchPhysicalSkewJoinSalt) {
+            // the hot keys were already split
+            return;
+        }
+        final Double leftSize = estimateDataSize(mq, leftInput);
+        final Double rightSize = estimateDataSize(mq, rightInput);
+        if (leftSize == null || rightSize == null) {
+            return;
+        }
+        final boolean leftIsSkewed = leftSize >= rightSize;
+        final double skewedSize = leftIsSkewed ? leftSize : rightSize;
+        if (skewedSize < config.get(TABLE_OPTIMIZER_SKEW_JOIN_MIN_DATA_SIZE).getBytes()
+                || !isReplicable(join, leftIsSkewed)) {
+            return;
+        }
+
+        // only keys of the same types produce the same binary representation on both sides
+        final JoinSpec joinSpec = join.joinSpec();
+        final int[] leftKeys = joinSpec.getLeftKeys();
+        final int[] rightKeys = joinSpec.getRightKeys();
+        for (int i = 0; i < leftKeys.length; i++) {
+            final RelDataType leftKeyType =
+                    leftInput.getRowType().getFieldList().get(leftKeys[i]).getType();
+            final RelDataType rightKeyType =
+                    rightInput.getRowType().getFieldList().get(rightKeys[i]).getType();
+            if (!SqlTypeUtil.equalSansNullability(
+                    join.getCluster().getTypeFactory(), leftKeyType, rightKeyType)) {
+                return;
+            }
+        }
+
+        final double hotKeyRatio = config.get(TABLE_OPTIMIZER_SKEW_JOIN_HOT_KEY_RATIO);
+        final int splitFactor = config.get(TABLE_OPTIMIZER_SKEW_JOIN_SPLIT_FACTOR);
+        final RelNode hotKeys =
+                createHotKeyDetector(
+                        leftIsSkewed ? leftInput : rightInput,
+                        leftIsSkewed ? leftKeys : rightKeys,
+                        hotKeyRatio);
+        final RelNode newLeft =
+                createSaltedInput(
+                        hotKeys,
+                        leftInput,
+                        leftKeys,
+                        leftIsSkewed
+                                ? SkewJoinSaltOperator.Mode.SPLIT
+                                : SkewJoinSaltOperator.Mode.REPLICATE,
+                        splitFactor);
+        final RelNode newRight =
+                createSaltedInput(
+                        hotKeys,
+                        rightInput,
+                        rightKeys,
+                        leftIsSkewed
+                                ? SkewJoinSaltOperator.Mode.REPLICATE
+                                : SkewJoinSaltOperator.Mode.SPLIT,
+                        splitFactor);
+
+        // join on the salts as well, the salt of the left side is the last left field
+        final int leftFieldCount = leftInput.getRowType().getFieldCount();
+        final int rightFieldCount = rightInput.getRowType().getFieldCount();
+        final RexBuilder rexBuilder = join.getCluster().getRexBuilder();
+        final RexNode shiftedCondition =
+                join.getCondition()
+                        .accept(
+                                new RexShuttle() {
+                                    @Override
+                                    public RexNode visitInputRef(RexInputRef inputRef) {
+                                        if (inputRef.getIndex() < leftFieldCount) {
+                                            return inputRef;
+                                        }
+                                        return new RexInputRef(
+                                                inputRef.getIndex() + 1, inputRef.getType());
+                                    }
+                                });
+        final RelDataTypeField leftSalt = newLeft.getRowType().getFieldList().get(leftFieldCount);
+        final RelDataTypeField rightSalt =
+                newRight.getRowType().getFieldList().get(rightFieldCount);
+        final RexNode newCondition =
+                rexBuilder.makeCall(
+                        SqlStdOperatorTable.AND,
+                        shiftedCondition,
+                        rexBuilder.makeCall(
+                                SqlStdOperatorTable.EQUALS,
+                                new RexInputRef(leftFieldCount, leftSalt.getType()),
+                                new RexInputRef(
+                                        leftFieldCount + 1 + rightFieldCount,
+                                        rightSalt.getType())));
+        final Join newJoin =
+                join.copy(
+                        join.getTraitSet()
+                                .replace(FlinkRelDistribution.ANY())
+                                .replace(RelCollations.EMPTY),
+                        newCondition,
+                        newLeft,
+                        newRight,
+                        join.getJoinType(),
+                        join.isSemiJoinDone());
+
+        // remove the salts, semi and anti joins only output the left fields
+        final List<Integer> projects = new ArrayList<>();
+        IntStream.range(0, leftFieldCount).forEach(projects::add);
+        if (join.getJoinType().projectsRight()) {
+            IntStream.range(leftFieldCount + 1, leftFieldCount + 1 + rightFieldCount)
+                    .forEach(projects::add);
+        }
+        final List<RexNode> projectExprs = new ArrayList<>();
+        for (int index : projects) {
+            projectExprs.add(
+                    new RexInputRef(
+                            index, newJoin.getRowType().getFieldList().get(index).getType()));
+        }
+        final RexProgram program =
+                RexProgram.create(
+                        newJoin.getRowType(),
+                        projectExprs,
+                        null,
+                        join.getRowType(),
+                        rexBuilder);
+        RelNode result =
+                new BatchPhysicalCalc(
+                        join.getCluster(),
+                        newJoin.getTraitSet(),
+                        newJoin,
+                        program,
+                        join.getRowType());
+
+        // the salted join is not distributed by the join keys anymore
+        final FlinkRelDistribution distribution =
+                join.getTraitSet().getTrait(FlinkRelDistributionTraitDef.INSTANCE());
+        if (distribution != null
+                && distribution.getType() == RelDistribution.Type.HASH_DISTRIBUTED) {
+            result =
+                    new BatchPhysicalExchange(
+                            result.getCluster(),
+                            result.getTraitSet().replace(distribution),
+                            result,
+                            distribution);
+        }
+        call.transformTo(result);
+    }
+
+    /** Returns whether the rows of the non skewed side may be replicated. */
+    private static boolean isReplicable(BatchPhysicalJoinBase join, boolean leftIsSkewed) {
+        switch (join.joinSpec().getJoinType()) {
+            case INNER:
+                return true;
+            case LEFT:
+            case SEMI:
+            case ANTI:
+                return leftIsSkewed;
+            case RIGHT:
+                return !leftIsSkewed;
+            default:
+                return false;
+        }
+    }
+
+    private static RelNode createHotKeyDetector(
+            RelNode input, int[] keyIndices, double hotKeyRatio) {
+        final BatchPhysicalLocalHotKeyDetector localDetector =
+                new BatchPhysicalLocalHotKeyDetector(
+                        input.getCluster(),
+                        input.getTraitSet()
+                                .replace(FlinkRelDistribution.ANY())
+                                .replace(RelCollations.EMPTY),
+                        input,
+                        keyIndices,
+                        hotKeyRatio);
+        final BatchPhysicalExchange singletonExchange =
+                new BatchPhysicalExchange(
+                        localDetector.getCluster(),
+                        localDetector.getTraitSet().replace(FlinkRelDistribution.SINGLETON()),
+                        localDetector,
+                        FlinkRelDistribution.SINGLETON());
+        final BatchPhysicalGlobalHotKeyDetector globalDetector =
+                new BatchPhysicalGlobalHotKeyDetector(
+                        singletonExchange.getCluster(),
+                        singletonExchange.getTraitSet(),
+                        singletonExchange,
+                        keyIndices.length,
+                        hotKeyRatio);
+        return new BatchPhysicalExchange(
+                globalDetector.getCluster(),
+                globalDetector.getTraitSet().replace(FlinkRelDistribution.BROADCAST_DISTRIBUTED()),
+                globalDetector,
+                FlinkRelDistribution.BROADCAST_DISTRIBUTED());
+    }
+
+    private static RelNode createSaltedInput(
+            RelNode hotKeys,
+            RelNode input,
+            int[] keyIndices,
+            SkewJoinSaltOperator.Mode mode,
+            int splitFactor) {
+        final BatchPhysicalSkewJoinSalt salt =
+                new BatchPhysicalSkewJoinSalt(
+                        input.getCluster(),
+                        input.getTraitSet()
+                                .replace(FlinkRelDistribution.ANY())
+                                .replace(RelCollations.EMPTY),
+                        hotKeys,
+                        input,
+                        keyIndices,
+                        mode,
+                        splitFactor);
+        final int[] saltedKeys = Arrays.copyOf(keyIndices, keyIndices.length + 1);
+        saltedKeys[keyIndices.length] = input.getRowType().getFieldCount();
+        final FlinkRelDistribution distribution = FlinkRelDistribution.hash(saltedKeys, true);
+        return new BatchPhysicalExchange(
+                salt.getCluster(), salt.getTraitSet().replace(distribution), salt, distribution);
+    }
+
+    private static Double estimateDataSize(RelMetadataQuery mq, RelNode rel) {
+        final Double rowCount = mq.getRowCount(rel);
+        final Double averageRowSize = mq.getAverageRowSize(rel);
+        return rowCount == null || averageRowSize == null ? null : rowCount * averageRowSize;
+    }
+
+    private static RelNode unwrap(RelNode rel) {
+        return rel instanceof HepRelVertex ? ((HepRelVertex) rel).getCurrentRel() : rel;
+    }
+}
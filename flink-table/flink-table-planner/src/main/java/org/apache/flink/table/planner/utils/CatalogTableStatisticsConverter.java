@@ -30,6 +30,7 @@ import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
 import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
 import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
 import org.apache.flink.table.plan.stats.ColumnStats;
+import org.apache.flink.table.plan.stats.EquiDepthHistogram;
 import org.apache.flink.table.plan.stats.TableStats;
 
 import org.apache.calcite.avatica.util.DateTimeUtils;
@@ -146,6 +147,16 @@ public class CatalogTableStatisticsConverter {
                     "Unsupported CatalogColumnStatisticsDataBase: "
                             + columnStatisticsData.getClass().getCanonicalName());
         }
+        EquiDepthHistogram histogram = null;
+        if (columnStatisticsData.getProperties() != null) {
+            String serializedHistogram =
+                    columnStatisticsData
+                            .getProperties()
+                            .get(EquiDepthHistogram.STATISTICS_PROPERTY);
+            if (serializedHistogram != null) {
+                histogram = EquiDepthHistogram.deserialize(serializedHistogram);
+            }
+        }
         return ColumnStats.Builder.builder()
                 .setNdv(ndv)
                 .setNullCount(nullCount)
@@ -153,6 +164,7 @@ public class CatalogTableStatisticsConverter {
                 .setMaxLen(maxLen)
                 .setMax(max)
                 .setMin(min)
+                .setHistogram(histogram)
                 .build();
     }
 }
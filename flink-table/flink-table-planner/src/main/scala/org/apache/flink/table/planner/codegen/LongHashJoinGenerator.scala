@@ -95,12 +95,14 @@ object LongHashJoinGenerator {
 
   def genProjection(conf: TableConfig, types: Array[LogicalType]): GeneratedProjection = {
     val rowType = RowType.of(types: _*)
+    // the projection code is inlined into the hash table class, so it must be Java code
     ProjectionCodeGenerator.generateProjection(
       CodeGeneratorContext.apply(conf),
       "Projection",
       rowType,
       rowType,
-      types.indices.toArray)
+      types.indices.toArray,
+      allowBytecode = false)
   }
 
   def gen(
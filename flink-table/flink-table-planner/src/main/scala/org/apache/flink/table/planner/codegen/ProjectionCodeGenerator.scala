@@ -18,12 +18,13 @@
 
 package org.apache.flink.table.planner.codegen
 
+import org.apache.flink.table.api.config.TableConfigOptions
 import org.apache.flink.table.data.RowData
 import org.apache.flink.table.data.binary.BinaryRowData
 import org.apache.flink.table.planner.codegen.CodeGenUtils._
 import org.apache.flink.table.planner.codegen.GenerateUtils.generateRecordStatement
 import org.apache.flink.table.planner.codegen.GeneratedExpression.{NEVER_NULL, NO_CODE}
-import org.apache.flink.table.runtime.generated.{GeneratedProjection, Projection}
+import org.apache.flink.table.runtime.generated.{BytecodeProjectionGenerator, GeneratedBytecodeProjection, GeneratedProjection, Projection}
 import org.apache.flink.table.types.logical.RowType
 
 /**
@@ -77,6 +78,9 @@ object ProjectionCodeGenerator {
     * @param reusedOutRecord If objects or variables can be reused, they will be added a reusable
     * output record to the member area of the generated class. If not they will be as temp
     * variables.
+    * @param allowBytecode If the projection may be generated as bytecode directly. Callers that
+    * inline the code of the returned projection into another class must pass false, as a bytecode
+    * projection has no Java code.
     * @return
     */
   def generateProjection(
@@ -89,10 +93,21 @@ object ProjectionCodeGenerator {
       inputTerm: String = DEFAULT_INPUT1_TERM,
       outRecordTerm: String = DEFAULT_OUT_RECORD_TERM,
       outRecordWriterTerm: String = DEFAULT_OUT_RECORD_WRITER_TERM,
-      reusedOutRecord: Boolean = true): GeneratedProjection = {
+      reusedOutRecord: Boolean = true,
+      allowBytecode: Boolean = true): GeneratedProjection = {
     val className = newName(name)
     val baseClass = classOf[Projection[_, _]]
 
+    val conf = ctx.tableConfig.getConfiguration
+    if (allowBytecode &&
+        conf.get(TableConfigOptions.GENERATED_CODE_BYTECODE_PROJECTION_ENABLED) &&
+        outClass == classOf[BinaryRowData] &&
+        reusedOutRecord &&
+        BytecodeProjectionGenerator.isSupported(inType, outType, inputMapping)) {
+      // field projections are generated as bytecode directly, without compiling Java code
+      return new GeneratedBytecodeProjection(className, inType, inputMapping, conf)
+    }
+
     val expression = generateProjectionExpression(
       ctx, inType, outType, inputMapping, outClass,
       inputTerm, outRecordTerm, outRecordWriterTerm, reusedOutRecord)
@@ -117,8 +132,7 @@ object ProjectionCodeGenerator {
          |}
         """.stripMargin
 
-    new GeneratedProjection(
-      className, code, ctx.references.toArray, ctx.tableConfig.getConfiguration)
+    new GeneratedProjection(className, code, ctx.references.toArray, conf)
   }
 
   /**
@@ -23,7 +23,7 @@ import org.apache.flink.table.data.binary.BinaryRowData
 import org.apache.flink.table.data.utils.JoinedRowData
 import org.apache.flink.table.data.{GenericRowData, RowData}
 import org.apache.flink.table.functions.AggregateFunction
-import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, ProjectionCodeGenerator}
+import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, ExprCodeGenerator, GeneratedExpression, GenerateUtils, ProjectionCodeGenerator}
 import org.apache.flink.table.planner.functions.aggfunctions.DeclarativeAggregateFunction
 import org.apache.flink.table.planner.plan.utils.{AggregateInfo, AggregateInfoList}
 import org.apache.flink.table.runtime.generated.GeneratedOperator
@@ -31,8 +31,12 @@ import org.apache.flink.table.runtime.operators.TableStreamOperator
 import org.apache.flink.table.runtime.operators.aggregate.BytesHashMapSpillMemorySegmentPool
 import org.apache.flink.table.runtime.util.collections.binary.BytesMap
 import org.apache.flink.table.types.logical.{LogicalType, RowType}
+
+import org.apache.calcite.rex.RexNode
 import org.apache.calcite.tools.RelBuilder
 
+import scala.collection.JavaConversions._
+
 /**
   * Operator code generator for HashAggregation, Only deal with [[DeclarativeAggregateFunction]]
   * and aggregateBuffers should be update(e.g.: setInt) in [[BinaryRowData]].
@@ -66,24 +70,72 @@ class HashAggCodeGenerator(
   private lazy val aggBufferRowType = RowType.of(aggBufferTypes.flatten, aggBufferNames.flatten)
 
   def genWithKeys(): GeneratedOperator[OneInputStreamOperator[RowData, RowData]] = {
-    val inputTerm = CodeGenUtils.DEFAULT_INPUT1_TERM
+    genWithKeys(None)
+  }
+
+  /**
+    * Generates a local hash aggregate operator which evaluates the projection and the filter of
+    * the preceding calc itself. The calc output is never materialized into a row, the aggregate
+    * reads the projected fields from the local variables of the calc expressions.
+    *
+    * @param calcInputType the input type of the calc, i.e. the input type of the operator
+    * @param projection the projection of the calc, its result type is the input type of the
+    *                   aggregate
+    * @param condition the filter condition of the calc, may be null
+    */
+  def genWithKeysFusedWithCalc(
+      calcInputType: RowType,
+      projection: java.util.List[RexNode],
+      condition: RexNode): GeneratedOperator[OneInputStreamOperator[RowData, RowData]] = {
+    require(!isMerge && !isFinal && auxGrouping.isEmpty,
+      "Only local hash aggregate without auxiliary grouping can be fused with calc.")
+    require(aggInfos.forall(_.agg.filterArg < 0),
+      "Hash aggregate with filter arguments can not be fused with calc.")
+    genWithKeys(Some((calcInputType, projection.toSeq, Option(condition))))
+  }
+
+  private def genWithKeys(fusedCalc: Option[(RowType, Seq[RexNode], Option[RexNode])])
+    : GeneratedOperator[OneInputStreamOperator[RowData, RowData]] = {
+    // if the calc is fused, the aggregate reads from the calc output which is not materialized
+    val inputTerm = if (fusedCalc.isEmpty) {
+      CodeGenUtils.DEFAULT_INPUT1_TERM
+    } else {
+      CodeGenUtils.newName("calcOut")
+    }
     val className = if (isFinal) "HashAggregateWithKeys" else "LocalHashAggregateWithKeys"
 
     // add logger
     val logTerm = CodeGenUtils.newName("LOG")
     ctx.addReusableLogger(logTerm, className)
 
+    // gen code to evaluate the fused calc, the projected fields are registered as the
+    // input unboxing expressions of the calc output
+    val calcCondition = fusedCalc.flatMap { case (calcInputType, projection, condition) =>
+      genFusedCalc(calcInputType, projection, condition, inputTerm)
+    }
+
     // gen code to do group key projection from input
     val currentKeyTerm = CodeGenUtils.newName("currentKey")
     val currentKeyWriterTerm = CodeGenUtils.newName("currentKeyWriter")
-    val keyProjectionCode = ProjectionCodeGenerator.generateProjectionExpression(
-      ctx,
-      inputType,
-      groupKeyRowType,
-      grouping,
-      inputTerm = inputTerm,
-      outRecordTerm = currentKeyTerm,
-      outRecordWriterTerm = currentKeyWriterTerm).code
+    val keyProjectionCode = if (fusedCalc.isEmpty) {
+      ProjectionCodeGenerator.generateProjectionExpression(
+        ctx,
+        inputType,
+        groupKeyRowType,
+        grouping,
+        inputTerm = inputTerm,
+        outRecordTerm = currentKeyTerm,
+        outRecordWriterTerm = currentKeyWriterTerm).code
+    } else {
+      val keyExprs = grouping.map(idx =>
+        GenerateUtils.generateInputAccess(ctx, inputType, inputTerm, idx, nullableInput = false))
+      new ExprCodeGenerator(ctx, false).generateResultExpression(
+        keyExprs,
+        groupKeyRowType,
+        classOf[BinaryRowData],
+        outRow = currentKeyTerm,
+        outRowWriter = Some(currentKeyWriterTerm)).code
+    }
 
     // gen code to create groupKey, aggBuffer Type array
     // it will be used in BytesHashMap and BufferedKVExternalSorter if enable fallback
@@ -169,7 +221,7 @@ class HashAggCodeGenerator(
       ""
     }
 
-    val processCode =
+    val aggregateCode =
       s"""
          | // input field access for group key projection and aggregate buffer update
          |${ctx.reuseInputUnboxingCode(inputTerm)}
@@ -195,6 +247,29 @@ class HashAggCodeGenerator(
          |${aggregate.code}
          |""".stripMargin.trim
 
+    val processCode = if (fusedCalc.isEmpty) {
+      aggregateCode
+    } else {
+      val calcInputUnboxingCode = ctx.reuseInputUnboxingCode(CodeGenUtils.DEFAULT_INPUT1_TERM)
+      calcCondition match {
+        case Some(condition) =>
+          s"""
+             | // input field access for calc
+             |$calcInputUnboxingCode
+             |${condition.code}
+             |if (${condition.resultTerm}) {
+             |  $aggregateCode
+             |}
+             |""".stripMargin.trim
+        case None =>
+          s"""
+             | // input field access for calc
+             |$calcInputUnboxingCode
+             |$aggregateCode
+             |""".stripMargin.trim
+      }
+    }
+
     val endInputCode = if (isFinal) {
       val memPoolTypeTerm = classOf[BytesHashMapSpillMemorySegmentPool].getName
       s"""
@@ -223,6 +298,27 @@ class HashAggCodeGenerator(
       classOf[TableStreamOperator[RowData]].getCanonicalName,
       processCode,
       endInputCode,
-      inputType)
+      fusedCalc.map(_._1).getOrElse(inputType))
+  }
+
+  /**
+    * Generates the projection of the fused calc and registers the projected fields as the input
+    * unboxing expressions of the given calc output term, so that the key projection and the
+    * aggregate buffer update can access them like any other input field.
+    *
+    * @return the filter condition of the calc, if any
+    */
+  private def genFusedCalc(
+      calcInputType: RowType,
+      projection: Seq[RexNode],
+      condition: Option[RexNode],
+      calcOutputTerm: String): Option[GeneratedExpression] = {
+    val exprGenerator = new ExprCodeGenerator(ctx, false)
+      .bindInput(calcInputType, inputTerm = CodeGenUtils.DEFAULT_INPUT1_TERM)
+    projection.zipWithIndex.foreach { case (rexNode, index) =>
+      ctx.addReusableInputUnboxingExprs(
+        calcOutputTerm, index, exprGenerator.generateExpression(rexNode))
+    }
+    condition.map(exprGenerator.generateExpression)
   }
 }
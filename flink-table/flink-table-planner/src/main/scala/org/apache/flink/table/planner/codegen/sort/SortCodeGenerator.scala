@@ -25,8 +25,9 @@ import org.apache.flink.table.planner.codegen.CodeGenUtils.{ROW_DATA, SEGMENT, n
 import org.apache.flink.table.planner.codegen.Indenter.toISC
 import org.apache.flink.table.planner.plan.nodes.exec.spec.SortSpec
 import org.apache.flink.table.runtime.generated.{GeneratedNormalizedKeyComputer, GeneratedRecordComparator, NormalizedKeyComputer, RecordComparator}
-import org.apache.flink.table.runtime.operators.sort.SortUtil
+import org.apache.flink.table.runtime.operators.sort.{BinaryComparableNormalizedKeyComputer, SortUtil}
 import org.apache.flink.table.runtime.types.PlannerTypeUtils
+import org.apache.flink.table.runtime.typeutils.BinaryComparableRowDataSerializer
 import org.apache.flink.table.types.logical.LogicalTypeRoot._
 import org.apache.flink.table.types.logical.{DecimalType, LogicalType, RowType, TimestampType}
 
@@ -46,6 +47,12 @@ class SortCodeGenerator(
 
   private val MAX_NORMALIZED_KEY_LEN = 16
 
+  /**
+    * The maximum length of a normalized key which consists of the binary comparable sort keys,
+    * see [[BinaryComparableRowDataSerializer]].
+    */
+  private val MAX_BINARY_COMPARABLE_KEY_LEN = 32
+
   private val SORT_UTIL = classOf[SortUtil].getCanonicalName
 
   /** Chunks for long, int, short, byte */
@@ -129,6 +136,16 @@ class SortCodeGenerator(
 
     val (keyFullyDetermines, numKeyBytes) = getKeyFullyDeterminesAndBytes
 
+    if (!keyFullyDetermines) {
+      // the binary comparable sort keys fully determine the order, no matter whether the sort
+      // keys are too long for the code generated normalized keys or have different orders
+      val binaryComparableKeySerializer = createBinaryComparableKeySerializer()
+      if (binaryComparableKeySerializer.isDefined) {
+        return generateBinaryComparableNormalizedKeyComputer(
+          className, binaryComparableKeySerializer.get)
+      }
+    }
+
     val putKeys = generatePutNormalizedKeys(numKeyBytes)
 
     val chunks = calculateChunks(numKeyBytes)
@@ -186,6 +203,47 @@ class SortCodeGenerator(
     new GeneratedNormalizedKeyComputer(className, code, conf.getConfiguration)
   }
 
+  /**
+    * Creates the serializer of binary comparable sort keys if the sort keys are supported and their
+    * serialized bytes are short enough to be used as normalized keys.
+    */
+  private def createBinaryComparableKeySerializer(): Option[BinaryComparableRowDataSerializer] = {
+    val keyTypes = sortSpec.getFieldIndices.map(input.getTypeAt)
+    if (!keyTypes.forall(BinaryComparableRowDataSerializer.isSupported)) {
+      return None
+    }
+    val serializer = new BinaryComparableRowDataSerializer(
+      keyTypes, sortSpec.getAscendingOrders, sortSpec.getNullsIsLast)
+    val maxLength = serializer.getMaxSerializedLength
+    if (maxLength > 0 && maxLength <= MAX_BINARY_COMPARABLE_KEY_LEN) {
+      Some(serializer)
+    } else {
+      None
+    }
+  }
+
+  private def generateBinaryComparableNormalizedKeyComputer(
+      className: String,
+      keySerializer: BinaryComparableRowDataSerializer): GeneratedNormalizedKeyComputer = {
+    val baseClass = classOf[BinaryComparableNormalizedKeyComputer]
+    val serializerClass = classOf[BinaryComparableRowDataSerializer]
+    val code =
+      j"""
+      public class $className extends ${baseClass.getCanonicalName} {
+
+        public $className(Object[] references) {
+          super((${serializerClass.getCanonicalName}) references[0], (int[]) references[1]);
+        }
+      }
+    """.stripMargin
+
+    new GeneratedNormalizedKeyComputer(
+      className,
+      code,
+      Array[AnyRef](keySerializer, sortSpec.getFieldIndices),
+      conf.getConfiguration)
+  }
+
   def generatePutNormalizedKeys(numKeyBytes: Int): mutable.ArrayBuffer[String] = {
     /* Example generated code, for int:
     if (record.isNullAt(0)) {
@@ -18,7 +18,9 @@
 
 package org.apache.flink.table.planner.plan.metadata
 
+import org.apache.flink.table.plan.stats.EquiDepthHistogram
 import org.apache.flink.table.planner.plan.metadata.SelectivityEstimator._
+import org.apache.flink.table.planner.plan.schema.FlinkPreparingTableBase
 import org.apache.flink.table.planner.plan.stats._
 import org.apache.flink.table.planner.plan.utils.{FlinkRelOptUtil, FlinkRexUtil}
 import org.apache.flink.table.planner.{JArrayList, JDouble, JHashMap, JHashSet}
@@ -26,6 +28,7 @@ import org.apache.flink.table.planner.{JArrayList, JDouble, JHashMap, JHashSet}
 import org.apache.calcite.avatica.util.DateTimeUtils
 import org.apache.calcite.plan.{RelOptPredicateList, RelOptUtil}
 import org.apache.calcite.rel.RelNode
+import org.apache.calcite.rel.core.TableScan
 import org.apache.calcite.rel.`type`.{RelDataType, RelDataTypeFamily}
 import org.apache.calcite.rel.metadata.RelMdUtil
 import org.apache.calcite.rex._
@@ -43,9 +46,9 @@ import scala.collection.JavaConversions._
   * referred to [[org.apache.calcite.rel.metadata.RelMdUtil.guessSelectivity]].
   *
   * <p><strong>NOTES:</strong>
-  * In current stage, we don't have advanced statistics such as sketches or histograms,
-  * we have to assume uniform distribution.
-  * We should update estimation methods in the future if advanced statistics is ready.
+  * Comparisons of a column of a TableScan with a literal are estimated by the equi-depth
+  * histogram of the column if the table statistics contain it, e.g. after ANALYZE TABLE.
+  * Otherwise, we have to assume uniform distribution between the min and max values.
   *
   * <p>Part of the code is referred from Apache Spark.
   *
@@ -518,6 +521,16 @@ class SelectivityEstimator(rel: RelNode, mq: FlinkRelMetadataQuery)
     if (literal.isNull) {
       return estimateIsNull(inputRef)
     }
+    if (canConvertToNumericType(inputRef.getType)) {
+      // a frequent value spans whole buckets of the histogram
+      val frequentValueSelectivity = getHistogram(inputRef).flatMap { histogram =>
+        Option(histogram.estimateFractionEqual(literalToDouble(literal)))
+          .map(_.doubleValue() * getNonNullRatio(histogram))
+      }
+      if (frequentValueSelectivity.isDefined) {
+        return frequentValueSelectivity
+      }
+    }
     val columnInterval = mq.getColumnInterval(rel, inputRef.getIndex)
     if (columnInterval == null) {
       return defaultEqualsSelectivity
@@ -581,6 +594,10 @@ class SelectivityEstimator(rel: RelNode, mq: FlinkRelMetadataQuery)
       op: SqlOperator,
       inputRef: RexInputRef,
       literal: RexLiteral): Option[Double] = {
+    val histogram = getHistogram(inputRef)
+    if (histogram.isDefined) {
+      return Some(estimateNumericComparison(op, histogram.get, literalToDouble(literal)))
+    }
     val columnInterval = mq.getColumnInterval(rel, inputRef.getIndex)
     if (columnInterval == null) {
       return defaultComparisonSelectivity
@@ -677,6 +694,60 @@ class SelectivityEstimator(rel: RelNode, mq: FlinkRelMetadataQuery)
     }
   }
 
+  /**
+    * Returns a percentage of rows meeting a binary numeric comparison expression
+    * based on the equi-depth histogram of the column.
+    *
+    * @param op        a binary comparison operator, including <, <=, >, >=
+    * @param histogram the histogram of the column
+    * @param literal   the literal value as double
+    * @return a double value to show the percentage of rows meeting a given condition.
+    */
+  private def estimateNumericComparison(
+      op: SqlOperator,
+      histogram: EquiDepthHistogram,
+      literal: Double): Double = {
+    val lessThanOrEqual = histogram.estimateFractionLessThanOrEqual(literal)
+    val equal = Option(histogram.estimateFractionEqual(literal)).map(_.doubleValue()).getOrElse(0.0)
+    val fraction = op match {
+      case LESS_THAN => lessThanOrEqual - equal
+      case LESS_THAN_OR_EQUAL => lessThanOrEqual
+      case GREATER_THAN => 1.0 - lessThanOrEqual
+      case GREATER_THAN_OR_EQUAL => 1.0 - lessThanOrEqual + equal
+    }
+    fraction * getNonNullRatio(histogram)
+  }
+
+  /**
+    * Returns the equi-depth histogram of the given column,
+    * which is only known for the columns of a TableScan.
+    */
+  private def getHistogram(inputRef: RexInputRef): Option[EquiDepthHistogram] = {
+    rel match {
+      case scan: TableScan =>
+        scan.getTable match {
+          case table: FlinkPreparingTableBase =>
+            val fieldName = table.getRowType.getFieldNames.get(inputRef.getIndex)
+            Option(table.getStatistic.getColumnStats(fieldName))
+              .flatMap(colStats => Option(colStats.getHistogram))
+          case _ => None
+        }
+      case _ => None
+    }
+  }
+
+  /**
+    * Returns the ratio of the rows described by the histogram, i.e. the non-null rows.
+    */
+  private def getNonNullRatio(histogram: EquiDepthHistogram): Double = {
+    val rowCount = mq.getRowCount(rel)
+    if (rowCount == null || rowCount <= 0) {
+      1.0
+    } else {
+      Math.min(histogram.getRowCount / rowCount, 1.0)
+    }
+  }
+
   /**
     * Returns a percentage of rows meeting a binary comparison expression containing two columns.
     * In SQL queries, we also see predicate expressions involving two columns
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecTableSourceScan
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
+import org.apache.flink.table.planner.plan.schema.TableSourceTable
+import org.apache.flink.table.planner.plan.utils.RelExplainUtil
+
+import org.apache.calcite.plan.{RelOptCluster, RelTraitSet}
+import org.apache.calcite.rel.hint.RelHint
+import org.apache.calcite.rel.{RelNode, RelWriter}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Batch physical RelNode to read data from a [[BatchPhysicalTableSourceScan]] whose source
+  * applied dynamic filtering. The input is the [[BatchPhysicalDynamicFilteringDataCollector]]
+  * that collects the dynamic filtering data, the source only starts to read once the collector
+  * finished.
+  */
+class BatchPhysicalDynamicFilteringTableSourceScan(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    hints: util.List[RelHint],
+    tableSourceTable: TableSourceTable,
+    var input: RelNode,
+    val dynamicFilteringFieldIndices: Array[Int])
+  extends BatchPhysicalTableSourceScan(cluster, traitSet, hints, tableSourceTable) {
+
+  override def getInputs: util.List[RelNode] = util.Collections.singletonList(input)
+
+  override def replaceInput(ordinalInParent: Int, p: RelNode): Unit = {
+    assert(ordinalInParent == 0)
+    this.input = p
+    recomputeDigest()
+  }
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchPhysicalDynamicFilteringTableSourceScan(
+      cluster, traitSet, getHints, tableSourceTable, inputs.get(0), dynamicFilteringFieldIndices)
+  }
+
+  override def copy(
+      traitSet: RelTraitSet,
+      tableSourceTable: TableSourceTable): BatchPhysicalTableSourceScan = {
+    new BatchPhysicalDynamicFilteringTableSourceScan(
+      cluster, traitSet, getHints, tableSourceTable, input, dynamicFilteringFieldIndices)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    // the input must be explained before the terms of the scan
+    pw.input("input", input)
+      .item("table", getTable.getQualifiedName)
+      .item("fields", getRowType.getFieldNames.mkString(", "))
+      .itemIf("hints", RelExplainUtil.hintsToString(getHints), !getHints.isEmpty)
+      .item(
+        "dynamicFilteringFields",
+        dynamicFilteringFieldIndices.map(getRowType.getFieldNames.get(_)).mkString(", "))
+  }
+
+  override def translateToExecNode(): ExecNode[_] = {
+    new BatchExecTableSourceScan(
+      createTableSourceSpec(),
+      InputProperty.builder().damBehavior(InputProperty.DamBehavior.BLOCKING).build(),
+      FlinkTypeFactory.toLogicalRowType(getRowType),
+      getRelDetailedDescription)
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecGlobalHotKeyDetector
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
+
+import org.apache.calcite.plan.{RelOptCluster, RelOptCost, RelOptPlanner, RelTraitSet}
+import org.apache.calcite.rel.metadata.RelMetadataQuery
+import org.apache.calcite.rel.{RelNode, RelWriter, SingleRel}
+
+import java.util
+
+/**
+  * Batch physical RelNode that merges the sketches of all [[BatchPhysicalLocalHotKeyDetector]]s
+  * and emits the hot join keys.
+  */
+class BatchPhysicalGlobalHotKeyDetector(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    inputRel: RelNode,
+    val keyArity: Int,
+    val hotKeyRatio: Double)
+  extends SingleRel(cluster, traitSet, inputRel)
+  with BatchPhysicalRel {
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchPhysicalGlobalHotKeyDetector(
+      cluster, traitSet, inputs.get(0), keyArity, hotKeyRatio)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    super.explainTerms(pw).item("hotKeyRatio", hotKeyRatio)
+  }
+
+  override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
+    // the skew join is rewritten after the cost based optimization
+    planner.getCostFactory.makeTinyCost()
+  }
+
+  override def translateToExecNode(): ExecNode[_] = {
+    new BatchExecGlobalHotKeyDetector(
+      InputProperty.DEFAULT,
+      FlinkTypeFactory.toLogicalRowType(getRowType),
+      getRelDetailedDescription,
+      keyArity,
+      hotKeyRatio)
+  }
+}
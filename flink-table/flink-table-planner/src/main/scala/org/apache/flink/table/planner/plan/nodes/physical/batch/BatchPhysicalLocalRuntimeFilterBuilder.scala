@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecLocalRuntimeFilterBuilder
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
+import org.apache.flink.table.runtime.operators.runtimefilter.RuntimeFilterUtils
+
+import org.apache.calcite.plan.{RelOptCluster, RelOptCost, RelOptPlanner, RelTraitSet}
+import org.apache.calcite.rel.`type`.RelDataType
+import org.apache.calcite.rel.metadata.RelMetadataQuery
+import org.apache.calcite.rel.{RelNode, RelWriter, SingleRel}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Batch physical RelNode that builds a bloom filter from the join keys of the build side of a
+  * join. The bloom filters of all parallel instances are merged by a
+  * [[BatchPhysicalGlobalRuntimeFilterBuilder]].
+  */
+class BatchPhysicalLocalRuntimeFilterBuilder(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    inputRel: RelNode,
+    val buildIndices: Array[Int],
+    val estimatedRowCount: Int,
+    val maxRowCount: Int)
+  extends SingleRel(cluster, traitSet, inputRel)
+  with BatchPhysicalRel {
+
+  override def deriveRowType(): RelDataType = {
+    cluster.getTypeFactory.asInstanceOf[FlinkTypeFactory]
+      .buildRelNodeRowType(RuntimeFilterUtils.OUTPUT_TYPE)
+  }
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchPhysicalLocalRuntimeFilterBuilder(
+      cluster, traitSet, inputs.get(0), buildIndices, estimatedRowCount, maxRowCount)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    val inputFieldNames = getInput.getRowType.getFieldNames
+    super.explainTerms(pw)
+      .item("select", buildIndices.map(inputFieldNames(_)).mkString(", "))
+      .item("estimatedRowCount", estimatedRowCount)
+      .item("maxRowCount", maxRowCount)
+  }
+
+  override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
+    // the runtime filter is injected after the cost based optimization
+    planner.getCostFactory.makeTinyCost()
+  }
+
+  override def translateToExecNode(): ExecNode[_] = {
+    new BatchExecLocalRuntimeFilterBuilder(
+      InputProperty.DEFAULT,
+      FlinkTypeFactory.toLogicalRowType(getRowType),
+      getRelDetailedDescription,
+      buildIndices,
+      estimatedRowCount,
+      maxRowCount)
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecRuntimeFilter
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
+
+import org.apache.calcite.plan.{RelOptCluster, RelOptCost, RelOptPlanner, RelTraitSet}
+import org.apache.calcite.rel.`type`.RelDataType
+import org.apache.calcite.rel.metadata.RelMetadataQuery
+import org.apache.calcite.rel.{BiRel, RelNode, RelWriter}
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Batch physical RelNode that filters the probe side of a join (the right input) with the bloom
+  * filter built from the build side of the join (the left input, produced by a
+  * [[BatchPhysicalGlobalRuntimeFilterBuilder]]). It reads the bloom filter before the probe side.
+  */
+class BatchPhysicalRuntimeFilter(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    filterRel: RelNode,
+    probeRel: RelNode,
+    val probeIndices: Array[Int])
+  extends BiRel(cluster, traitSet, filterRel, probeRel)
+  with BatchPhysicalRel {
+
+  override def deriveRowType(): RelDataType = right.getRowType
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchPhysicalRuntimeFilter(cluster, traitSet, inputs.get(0), inputs.get(1), probeIndices)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    val probeFieldNames = right.getRowType.getFieldNames
+    super.explainTerms(pw)
+      .item("select", probeIndices.map(probeFieldNames(_)).mkString(", "))
+  }
+
+  override def estimateRowCount(mq: RelMetadataQuery): Double = mq.getRowCount(right)
+
+  override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
+    // the runtime filter is injected after the cost based optimization
+    planner.getCostFactory.makeTinyCost()
+  }
+
+  override def translateToExecNode(): ExecNode[_] = {
+    // the bloom filter must be completely read before the probe side
+    val filterInputProperty = InputProperty.builder()
+      .damBehavior(InputProperty.DamBehavior.BLOCKING)
+      .priority(0)
+      .build()
+    val probeInputProperty = InputProperty.builder()
+      .damBehavior(InputProperty.DamBehavior.PIPELINED)
+      .priority(1)
+      .build()
+    new BatchExecRuntimeFilter(
+      filterInputProperty,
+      probeInputProperty,
+      FlinkTypeFactory.toLogicalRowType(getRowType),
+      getRelDetailedDescription,
+      probeIndices)
+  }
+}
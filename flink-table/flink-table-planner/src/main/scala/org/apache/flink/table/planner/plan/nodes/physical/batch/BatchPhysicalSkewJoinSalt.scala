@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.physical.batch
+
+import org.apache.flink.table.planner.calcite.FlinkTypeFactory
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecSkewJoinSalt
+import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
+import org.apache.flink.table.runtime.operators.join.skew.SkewJoinSaltOperator
+
+import org.apache.calcite.plan.{RelOptCluster, RelOptCost, RelOptPlanner, RelTraitSet}
+import org.apache.calcite.rel.`type`.RelDataType
+import org.apache.calcite.rel.metadata.RelMetadataQuery
+import org.apache.calcite.rel.{BiRel, RelNode, RelWriter}
+import org.apache.calcite.sql.`type`.SqlTypeName
+import org.apache.calcite.sql.validate.SqlValidatorUtil
+
+import java.util
+
+import scala.collection.JavaConversions._
+
+/**
+  * Batch physical RelNode that appends a salt column to a side of a join (the right input), based
+  * on the hot join keys produced by a [[BatchPhysicalGlobalHotKeyDetector]] (the left input). It
+  * reads the hot keys before the join side.
+  *
+  * <p>The rows of a hot key are split over all salts on the skewed side, and replicated to all
+  * salts on the other side. All other rows get the salt 0.
+  */
+class BatchPhysicalSkewJoinSalt(
+    cluster: RelOptCluster,
+    traitSet: RelTraitSet,
+    hotKeysRel: RelNode,
+    inputRel: RelNode,
+    val keyIndices: Array[Int],
+    val mode: SkewJoinSaltOperator.Mode,
+    val splitFactor: Int)
+  extends BiRel(cluster, traitSet, hotKeysRel, inputRel)
+  with BatchPhysicalRel {
+
+  override def deriveRowType(): RelDataType = {
+    val typeFactory = cluster.getTypeFactory
+    val inputFieldNames = right.getRowType.getFieldNames
+    val saltFieldName = SqlValidatorUtil.uniquify(
+      "salt", new util.HashSet[String](inputFieldNames), SqlValidatorUtil.EXPR_SUGGESTER)
+    typeFactory.builder()
+      .addAll(right.getRowType.getFieldList)
+      .add(saltFieldName, typeFactory.createSqlType(SqlTypeName.INTEGER))
+      .build()
+  }
+
+  override def copy(traitSet: RelTraitSet, inputs: util.List[RelNode]): RelNode = {
+    new BatchPhysicalSkewJoinSalt(
+      cluster, traitSet, inputs.get(0), inputs.get(1), keyIndices, mode, splitFactor)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    val inputFieldNames = right.getRowType.getFieldNames
+    super.explainTerms(pw)
+      .item("select", keyIndices.map(inputFieldNames(_)).mkString(", "))
+      .item("mode", mode)
+      .item("splitFactor", splitFactor)
+  }
+
+  override def estimateRowCount(mq: RelMetadataQuery): Double = mq.getRowCount(right)
+
+  override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
+    // the skew join is rewritten after the cost based optimization
+    planner.getCostFactory.makeTinyCost()
+  }
+
+  override def translateToExecNode(): ExecNode[_] = {
+    // the hot keys must be completely read before the join side
+    val hotKeysInputProperty = InputProperty.builder()
+      .damBehavior(InputProperty.DamBehavior.BLOCKING)
+      .priority(0)
+      .build()
+    val inputProperty = InputProperty.builder()
+      .damBehavior(InputProperty.DamBehavior.PIPELINED)
+      .priority(1)
+      .build()
+    new BatchExecSkewJoinSalt(
+      hotKeysInputProperty,
+      inputProperty,
+      FlinkTypeFactory.toLogicalRowType(getRowType),
+      getRelDetailedDescription,
+      keyIndices,
+      mode,
+      splitFactor)
+  }
+}
@@ -67,6 +67,13 @@ class BatchPhysicalTableSourceScan(
   }
 
   override def translateToExecNode(): ExecNode[_] = {
+    new BatchExecTableSourceScan(
+      createTableSourceSpec(),
+      FlinkTypeFactory.toLogicalRowType(getRowType),
+      getRelDetailedDescription)
+  }
+
+  protected def createTableSourceSpec(): DynamicTableSourceSpec = {
     val tableSourceSpec = new DynamicTableSourceSpec(
       tableSourceTable.tableIdentifier,
       tableSourceTable.catalogTable,
@@ -74,10 +81,6 @@ class BatchPhysicalTableSourceScan(
     tableSourceSpec.setTableSource(tableSourceTable.tableSource)
     val tableConfig = FlinkRelOptUtil.getTableConfigFromContext(this)
     tableSourceSpec.setReadableConfig(tableConfig.getConfiguration)
-
-    new BatchExecTableSourceScan(
-      tableSourceSpec,
-      FlinkTypeFactory.toLogicalRowType(getRowType),
-      getRelDetailedDescription)
+    tableSourceSpec
   }
 }
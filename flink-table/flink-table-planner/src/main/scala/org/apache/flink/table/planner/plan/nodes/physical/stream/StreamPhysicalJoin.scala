@@ -24,7 +24,7 @@ import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecJoin
 import org.apache.flink.table.planner.plan.nodes.physical.common.CommonPhysicalJoin
-import org.apache.flink.table.planner.plan.utils.JoinUtil
+import org.apache.flink.table.planner.plan.utils.{FlinkRelOptUtil, JoinUtil}
 
 import org.apache.calcite.plan._
 import org.apache.calcite.rel.core.{Exchange, Join, JoinRelType}
@@ -126,6 +126,7 @@ class StreamPhysicalJoin(
 
   override def translateToExecNode(): ExecNode[_] = {
     new StreamExecJoin(
+        FlinkRelOptUtil.getTableConfigFromContext(this).getConfiguration,
         joinSpec,
         getUniqueKeys(left, joinSpec.getLeftKeys),
         getUniqueKeys(right, joinSpec.getRightKeys),
@@ -22,11 +22,12 @@ import org.apache.flink.table.planner.plan.nodes.exec.spec.TemporalTableSourceSp
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLookupJoin
 import org.apache.flink.table.planner.plan.nodes.exec.{ExecNode, InputProperty}
 import org.apache.flink.table.planner.plan.nodes.physical.common.CommonPhysicalLookupJoin
+import org.apache.flink.table.planner.plan.utils.LookupJoinUtil.FieldRefLookupKey
 import org.apache.flink.table.planner.plan.utils.{FlinkRelOptUtil, FlinkRexUtil, JoinTypeUtil}
 import org.apache.flink.table.planner.utils.JavaScalaConversionUtil
 
 import org.apache.calcite.plan.{RelOptCluster, RelOptTable, RelTraitSet}
-import org.apache.calcite.rel.RelNode
+import org.apache.calcite.rel.{RelDistribution, RelNode}
 import org.apache.calcite.rel.core.{JoinInfo, JoinRelType}
 import org.apache.calcite.rex.RexProgram
 
@@ -83,9 +84,41 @@ class StreamPhysicalLookupJoin(
       allLookupKeys.map(item => (Int.box(item._1), item._2)).asJava,
       projectionOnTemporalTable,
       filterOnTemporalTable,
-      InputProperty.DEFAULT,
+      getInputProperty,
       FlinkTypeFactory.toLogicalRowType(getRowType),
       getRelDetailedDescription)
   }
 
+  /**
+    * The input fields of the lookup keys, by which the input is hash partitioned if enabled by
+    * 'table.exec.lookup.key-shuffle'.
+    */
+  def lookupKeyFields: Array[Int] = allLookupKeys.values
+    .collect { case key: FieldRefLookupKey => key.index }
+    .toArray
+    .distinct
+    .sorted
+
+  /**
+    * Requires the input to be hash distributed by the input fields of the lookup keys if the
+    * [[org.apache.flink.table.planner.plan.rules.physical.stream.LookupJoinKeyShuffleRule]]
+    * shuffled it, so that the exec node can spread the rows of hot keys.
+    */
+  private def getInputProperty: InputProperty = {
+    val keyFields = lookupKeyFields
+    val isKeyShuffled = keyFields.nonEmpty && (getInput match {
+      case exchange: StreamPhysicalExchange =>
+        exchange.getDistribution.getType == RelDistribution.Type.HASH_DISTRIBUTED &&
+          exchange.getDistribution.getKeys.asScala.map(_.intValue()) == keyFields.toSeq
+      case _ => false
+    })
+    if (isKeyShuffled) {
+      InputProperty.builder()
+        .requiredDistribution(InputProperty.hashDistribution(keyFields))
+        .build()
+    } else {
+      InputProperty.DEFAULT
+    }
+  }
+
 }
@@ -247,7 +247,7 @@ object FlinkBatchRuleSets {
     // equi-join predicates transfer
     RewriteMultiJoinConditionRule.INSTANCE,
     // join reorder
-    CoreRules.MULTI_JOIN_OPTIMIZE
+    FlinkBushyJoinReorderRule.INSTANCE
   )
 
   /**
@@ -464,6 +464,9 @@ object FlinkBatchRuleSets {
     PushLocalSortAggIntoScanRule.INSTANCE,
     PushLocalSortAggWithSortIntoScanRule.INSTANCE,
     PushLocalSortAggWithCalcIntoScanRule.INSTANCE,
-    PushLocalSortAggWithSortAndCalcIntoScanRule.INSTANCE
+    PushLocalSortAggWithSortAndCalcIntoScanRule.INSTANCE,
+    DynamicPartitionPruningRule.INSTANCE,
+    InjectRuntimeFilterRule.INSTANCE,
+    SkewJoinRule.INSTANCE
   )
 }
@@ -506,7 +506,9 @@ object FlinkStreamRuleSets {
     // optimize window agg rule
     TwoStageOptimizedWindowAggregateRule.INSTANCE,
     // optimize ChangelogNormalize
-    PushFilterPastChangelogNormalizeRule.INSTANCE
+    PushFilterPastChangelogNormalizeRule.INSTANCE,
+    // shuffle the input of lookup joins by the lookup keys
+    LookupJoinKeyShuffleRule.INSTANCE
   )
 
 }
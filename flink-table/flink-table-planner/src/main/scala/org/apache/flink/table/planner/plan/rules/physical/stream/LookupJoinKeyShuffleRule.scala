@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.stream
+
+import org.apache.flink.table.api.config.ExecutionConfigOptions
+import org.apache.flink.table.planner.calcite.FlinkContext
+import org.apache.flink.table.planner.plan.`trait`.{FlinkRelDistribution, FlinkRelDistributionTraitDef}
+import org.apache.flink.table.planner.plan.nodes.FlinkConventions
+import org.apache.flink.table.planner.plan.nodes.physical.stream.{StreamPhysicalLookupJoin, StreamPhysicalRel}
+import org.apache.flink.table.planner.plan.rules.physical.FlinkExpandConversionRule.satisfyDistribution
+import org.apache.flink.table.planner.plan.utils.ChangelogPlanUtils
+
+import org.apache.calcite.plan.RelOptRule.{any, operand}
+import org.apache.calcite.plan.{RelOptRule, RelOptRuleCall}
+import org.apache.calcite.rel.RelNode
+
+import java.util.Collections
+
+/**
+  * Rule that hash partitions the input of a [[StreamPhysicalLookupJoin]] by the input fields of
+  * its lookup keys if [[ExecutionConfigOptions.TABLE_EXEC_LOOKUP_KEY_SHUFFLE]] is enabled, so that
+  * each subtask looks up, and caches, its own share of the keys:
+  * {{{
+  *   StreamPhysicalLookupJoin
+  *   +- StreamPhysicalExchange(distribution=[hash[lookup key fields]])
+  *      +- input
+  * }}}
+  *
+  * <p>The input is only shuffled if it is insert-only, as the changes of an updated row may
+  * have different lookup keys and must not be reordered. The rule is therefore applied after
+  * the changelog mode inference.
+  */
+class LookupJoinKeyShuffleRule extends RelOptRule(
+  operand(classOf[StreamPhysicalLookupJoin],
+    operand(classOf[RelNode], any)),
+  "LookupJoinKeyShuffleRule") {
+
+  override def matches(call: RelOptRuleCall): Boolean = {
+    val tableConfig = call.getPlanner.getContext.unwrap(classOf[FlinkContext]).getTableConfig
+    val join: StreamPhysicalLookupJoin = call.rel(0)
+    val input: RelNode = call.rel(1)
+    val keyFields = join.lookupKeyFields
+
+    tableConfig.getConfiguration.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_KEY_SHUFFLE) &&
+      keyFields.nonEmpty &&
+      ChangelogPlanUtils.isInsertOnly(input.asInstanceOf[StreamPhysicalRel]) &&
+      !input.getTraitSet.getTrait(FlinkRelDistributionTraitDef.INSTANCE)
+        .satisfies(createDistribution(keyFields))
+  }
+
+  override def onMatch(call: RelOptRuleCall): Unit = {
+    val join: StreamPhysicalLookupJoin = call.rel(0)
+    val input: RelNode = call.rel(1)
+    val newInput = satisfyDistribution(
+      FlinkConventions.STREAM_PHYSICAL, input, createDistribution(join.lookupKeyFields))
+    call.transformTo(join.copy(join.getTraitSet, Collections.singletonList(newInput)))
+  }
+
+  private def createDistribution(keys: Array[Int]): FlinkRelDistribution = {
+    val fields = new java.util.ArrayList[Integer]()
+    keys.foreach(fields.add(_))
+    FlinkRelDistribution.hash(fields)
+  }
+}
+
+object LookupJoinKeyShuffleRule {
+  val INSTANCE: RelOptRule = new LookupJoinKeyShuffleRule
+}
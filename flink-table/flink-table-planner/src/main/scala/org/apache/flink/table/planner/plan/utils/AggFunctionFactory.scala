@@ -23,9 +23,9 @@ import org.apache.flink.table.planner.functions.aggfunctions.SingleValueAggFunct
 import org.apache.flink.table.planner.functions.aggfunctions.SumWithRetractAggFunction._
 import org.apache.flink.table.planner.functions.aggfunctions._
 import org.apache.flink.table.planner.functions.bridging.BridgingSqlAggFunction
-import org.apache.flink.table.planner.functions.sql.{SqlFirstLastValueAggFunction, SqlListAggFunction}
+import org.apache.flink.table.planner.functions.sql.{FlinkSqlOperatorTable, SqlFirstLastValueAggFunction, SqlListAggFunction, SqlSketchCountDistinctAggFunction}
 import org.apache.flink.table.planner.functions.utils.AggSqlFunction
-import org.apache.flink.table.runtime.functions.aggregate.{BuiltInAggregateFunction, CollectAggFunction, FirstValueAggFunction, FirstValueWithRetractAggFunction, JsonArrayAggFunction, JsonObjectAggFunction, LagAggFunction, LastValueAggFunction, LastValueWithRetractAggFunction, ListAggWithRetractAggFunction, ListAggWsWithRetractAggFunction, MaxWithRetractAggFunction, MinWithRetractAggFunction}
+import org.apache.flink.table.runtime.functions.aggregate.{ApproxCountDistinctAggFunction, BitmapCountDistinctAggFunction, BuiltInAggregateFunction, CollectAggFunction, FirstValueAggFunction, FirstValueWithRetractAggFunction, JsonArrayAggFunction, JsonObjectAggFunction, LagAggFunction, LastValueAggFunction, LastValueWithRetractAggFunction, ListAggWithRetractAggFunction, ListAggWsWithRetractAggFunction, MaxWithRetractAggFunction, MinWithRetractAggFunction}
 import org.apache.flink.table.types.logical.LogicalTypeRoot._
 import org.apache.flink.table.types.logical._
 
@@ -128,6 +128,9 @@ class AggFunctionFactory(
         val onNull = fn.asInstanceOf[SqlJsonArrayAggAggFunction].getNullClause
         new JsonArrayAggFunction(argTypes, onNull == SqlJsonConstructorNullClause.ABSENT_ON_NULL)
 
+      case a: SqlSketchCountDistinctAggFunction =>
+        createSketchCountDistinctAggFunction(a, argTypes, index)
+
       case udagg: AggSqlFunction =>
         // Can not touch the literals, Calcite make them in previous RelNode.
         // In here, all inputs are input refs.
@@ -291,6 +294,23 @@ class AggFunctionFactory(
     }
   }
 
+  private def createSketchCountDistinctAggFunction(
+      func: SqlSketchCountDistinctAggFunction,
+      argTypes: Array[LogicalType],
+      index: Int): UserDefinedFunction = {
+    // the sketches can not forget a value, so they don't support retraction
+    if (aggCallNeedRetractions(index)) {
+      throw new TableException(
+        s"${func.getName} with retraction is not supported in stream mode.")
+    }
+
+    if (func.getName == FlinkSqlOperatorTable.APPROX_COUNT_DISTINCT.getName) {
+      new ApproxCountDistinctAggFunction(argTypes(0))
+    } else {
+      new BitmapCountDistinctAggFunction(argTypes(0))
+    }
+  }
+
   private def createStreamLeadLagAggFunction(
       func: SqlLeadLagAggFunction,
       argTypes: Array[LogicalType],
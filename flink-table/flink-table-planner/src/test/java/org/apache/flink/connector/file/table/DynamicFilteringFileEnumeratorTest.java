@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.enumerate.DynamicFileEnumerator;
+import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link DynamicFilteringFileEnumerator}. */
+public class DynamicFilteringFileEnumeratorTest {
+
+    private static final String DEFAULT_PART_NAME = "__DEFAULT_PARTITION__";
+
+    private static final RowType ROW_TYPE =
+            (RowType) DataTypes.ROW(DataTypes.FIELD("b", DataTypes.INT())).getLogicalType();
+
+    private static final Path[] PATHS =
+            new Path[] {
+                new Path("/tmp/fact/a=x/b=1"),
+                new Path("/tmp/fact/a=x/b=2"),
+                new Path("/tmp/fact/a=y/b=3"),
+                new Path("/tmp/fact/a=y/b=" + DEFAULT_PART_NAME)
+            };
+
+    @Test
+    public void testEnumerateWithoutDynamicFilteringData() throws IOException {
+        final DynamicFileEnumerator enumerator = createEnumerator();
+
+        assertEquals(Arrays.asList(PATHS), enumeratePaths(enumerator));
+    }
+
+    @Test
+    public void testPrunePartitions() throws IOException {
+        final DynamicFileEnumerator enumerator = createEnumerator();
+        enumerator.setDynamicFilteringData(createData(true, 1, 3, 4));
+
+        assertEquals(Arrays.asList(PATHS[0], PATHS[2]), enumeratePaths(enumerator));
+    }
+
+    @Test
+    public void testPruneAllPartitions() throws IOException {
+        final DynamicFileEnumerator enumerator = createEnumerator();
+        enumerator.setDynamicFilteringData(createData(true, 4));
+
+        assertEquals(Collections.emptyList(), enumeratePaths(enumerator));
+    }
+
+    @Test
+    public void testDefaultPartitionName() throws IOException {
+        // the default partition holds the rows whose partition key is null
+        final DynamicFileEnumerator enumerator = createEnumerator();
+        enumerator.setDynamicFilteringData(createData(true, 2, null));
+
+        assertEquals(Arrays.asList(PATHS[1], PATHS[3]), enumeratePaths(enumerator));
+    }
+
+    @Test
+    public void testNonFilteringData() throws IOException {
+        // the data is not filtering if the collector exceeded its size threshold
+        final DynamicFileEnumerator enumerator = createEnumerator();
+        enumerator.setDynamicFilteringData(createData(false, 1));
+
+        assertEquals(Arrays.asList(PATHS), enumeratePaths(enumerator));
+    }
+
+    @Test
+    public void testMultiplePartitionKeys() throws IOException {
+        final DynamicFileEnumerator enumerator =
+                new DynamicFilteringFileEnumerator.Provider(
+                                DynamicFilteringFileEnumeratorTest::createSplitPerPath,
+                                Arrays.asList("a", "b"),
+                                Arrays.asList(DataTypes.STRING(), DataTypes.INT()),
+                                DEFAULT_PART_NAME)
+                        .create();
+        final RowType rowType =
+                (RowType)
+                        DataTypes.ROW(
+                                        DataTypes.FIELD("a", DataTypes.STRING()),
+                                        DataTypes.FIELD("b", DataTypes.INT()))
+                                .getLogicalType();
+        enumerator.setDynamicFilteringData(
+                createData(
+                        rowType,
+                        true,
+                        GenericRowData.of(StringData.fromString("x"), 2),
+                        GenericRowData.of(StringData.fromString("x"), 3)));
+
+        assertEquals(Collections.singletonList(PATHS[1]), enumeratePaths(enumerator));
+    }
+
+    // ------------------------------------------------------------------------
+
+    private static DynamicFileEnumerator createEnumerator() {
+        return new DynamicFilteringFileEnumerator.Provider(
+                        DynamicFilteringFileEnumeratorTest::createSplitPerPath,
+                        Collections.singletonList("b"),
+                        Collections.singletonList(DataTypes.INT()),
+                        DEFAULT_PART_NAME)
+                .create();
+    }
+
+    private static List<Path> enumeratePaths(DynamicFileEnumerator enumerator)
+            throws IOException {
+        return enumerator.enumerateSplits(PATHS, 1).stream()
+                .map(FileSourceSplit::path)
+                .collect(Collectors.toList());
+    }
+
+    private static DynamicFilteringData createData(boolean isFiltering, Integer... values)
+            throws IOException {
+        final RowData[] rows =
+                Arrays.stream(values).map(GenericRowData::of).toArray(RowData[]::new);
+        return createData(ROW_TYPE, isFiltering, rows);
+    }
+
+    private static DynamicFilteringData createData(
+            RowType rowType, boolean isFiltering, RowData... rows) throws IOException {
+        final RowDataSerializer serializer = new RowDataSerializer(rowType);
+        final List<byte[]> serializedData = new ArrayList<>();
+        for (RowData row : rows) {
+            final DataOutputSerializer out = new DataOutputSerializer(64);
+            serializer.serialize(row, out);
+            serializedData.add(out.getCopyOfBuffer());
+        }
+        return new DynamicFilteringData(
+                InternalTypeInfo.of(rowType), rowType, serializedData, isFiltering);
+    }
+
+    /** A file enumerator that creates one split per given path, without listing any files. */
+    private static FileEnumerator createSplitPerPath() {
+        return (paths, minDesiredSplits) ->
+                Arrays.stream(paths)
+                        .map(path -> new FileSourceSplit(path.toString(), path, 0, 0, 0, 0))
+                        .collect(Collectors.toList());
+    }
+}
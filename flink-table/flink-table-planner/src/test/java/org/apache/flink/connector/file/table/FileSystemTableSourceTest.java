@@ -18,17 +18,61 @@
 
 package org.apache.flink.connector.file.table;
 
+import org.apache.flink.api.connector.source.ReaderInfo;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.mocks.MockSplitEnumeratorContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.file.src.FileSource;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.PendingSplitsCheckpoint;
+import org.apache.flink.connector.file.src.impl.DynamicFileSplitEnumerator;
+import org.apache.flink.connector.file.src.impl.StaticFileSplitEnumerator;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.Schema;
 import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.api.TableEnvironment;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.catalog.CatalogTable;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ResolvedCatalogTable;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.factories.FactoryUtil;
+import org.apache.flink.table.factories.utils.FactoryMocks;
 import org.apache.flink.table.planner.utils.StreamTableTestUtil;
 import org.apache.flink.table.planner.utils.TableTestBase;
+import org.apache.flink.table.runtime.connector.source.ScanRuntimeProviderContext;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.RowType;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /** Test for {@link FileSystemTableSource}. */
 public class FileSystemTableSourceTest extends TableTestBase {
 
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private StreamTableTestUtil util;
 
     @Before
@@ -80,4 +124,110 @@ public class FileSystemTableSourceTest extends TableTestBase {
         util.verifyRelPlanInsert(
                 "insert into MySink(a, b, c) select a, b, filemeta from MyTableWithMeta");
     }
+
+    @Test
+    public void testListAcceptedFilterFields() throws Exception {
+        final FileSystemTableSource source = createPartitionedSource();
+
+        assertEquals(Collections.singletonList("b"), source.listAcceptedFilterFields());
+    }
+
+    @Test(expected = TableException.class)
+    public void testApplyDynamicFilteringOnNonPartitionKey() throws Exception {
+        createPartitionedSource().applyDynamicFiltering(Collections.singletonList("a"));
+    }
+
+    @Test
+    public void testEnumeratorWithoutDynamicFiltering() throws Exception {
+        final FileSystemTableSource source = createPartitionedSource();
+
+        assertTrue(createEnumerator(source) instanceof StaticFileSplitEnumerator);
+    }
+
+    @Test
+    public void testApplyDynamicFiltering() throws Exception {
+        final FileSystemTableSource source = createPartitionedSource();
+        source.applyDynamicFiltering(Collections.singletonList("b"));
+        // the copy of the source keeps the dynamic filtering
+        final FileSystemTableSource copy = (FileSystemTableSource) source.copy();
+
+        final MockSplitEnumeratorContext<FileSourceSplit> context =
+                new MockSplitEnumeratorContext<>(1);
+        final SplitEnumerator<FileSourceSplit, PendingSplitsCheckpoint<FileSourceSplit>>
+                enumerator = createEnumerator(copy, context);
+        assertTrue(enumerator instanceof DynamicFileSplitEnumerator);
+
+        final RowType rowType =
+                (RowType) DataTypes.ROW(DataTypes.FIELD("b", DataTypes.INT())).getLogicalType();
+        final DataOutputSerializer out = new DataOutputSerializer(16);
+        new RowDataSerializer(rowType).serialize(GenericRowData.of(2), out);
+        enumerator.handleSourceEvent(
+                0,
+                new DynamicFilteringEvent(
+                        new DynamicFilteringData(
+                                InternalTypeInfo.of(rowType),
+                                rowType,
+                                Collections.singletonList(out.getCopyOfBuffer()),
+                                true)));
+
+        context.registerReader(new ReaderInfo(0, "localhost"));
+        enumerator.handleSplitRequest(0, "localhost");
+        enumerator.handleSplitRequest(0, "localhost");
+
+        final List<String> assignedPartitions =
+                context.getSplitsAssignmentSequence().stream()
+                        .flatMap(assignment -> assignment.assignment().get(0).stream())
+                        .map(split -> split.path().getParent().getName())
+                        .collect(Collectors.toList());
+        assertEquals(Collections.singletonList("b=2"), assignedPartitions);
+    }
+
+    private FileSystemTableSource createPartitionedSource() throws Exception {
+        final File path = temporaryFolder.newFolder();
+        for (String partition : Arrays.asList("b=1", "b=2", "b=3")) {
+            final File partitionPath = new File(path, partition);
+            assertTrue(partitionPath.mkdirs());
+            Files.write(new File(partitionPath, "data.csv").toPath(), "1,x\n".getBytes());
+        }
+
+        final ResolvedSchema schema =
+                ResolvedSchema.of(
+                        Column.physical("a", DataTypes.BIGINT()),
+                        Column.physical("c", DataTypes.STRING()),
+                        Column.physical("b", DataTypes.INT()));
+        final Map<String, String> options = new HashMap<>();
+        options.put(FactoryUtil.CONNECTOR.key(), "filesystem");
+        options.put("format", "testcsv");
+        options.put("path", new Path(path.toURI()).toString());
+        return (FileSystemTableSource)
+                FactoryUtil.createDynamicTableSource(
+                        null,
+                        FactoryMocks.IDENTIFIER,
+                        new ResolvedCatalogTable(
+                                CatalogTable.of(
+                                        Schema.newBuilder().fromResolvedSchema(schema).build(),
+                                        "partitioned source",
+                                        Collections.singletonList("b"),
+                                        options),
+                                schema),
+                        new Configuration(),
+                        getClass().getClassLoader(),
+                        false);
+    }
+
+    private static SplitEnumerator<FileSourceSplit, PendingSplitsCheckpoint<FileSourceSplit>>
+            createEnumerator(FileSystemTableSource source) throws Exception {
+        return createEnumerator(source, new MockSplitEnumeratorContext<>(1));
+    }
+
+    private static SplitEnumerator<FileSourceSplit, PendingSplitsCheckpoint<FileSourceSplit>>
+            createEnumerator(
+                    FileSystemTableSource source,
+                    MockSplitEnumeratorContext<FileSourceSplit> context)
+                    throws Exception {
+        final SourceProvider provider =
+                (SourceProvider)
+                        source.getScanRuntimeProvider(ScanRuntimeProviderContext.INSTANCE);
+        return ((FileSource<?>) provider.createSource()).createEnumerator(context);
+    }
 }
@@ -20,12 +20,16 @@ package org.apache.flink.table.planner.codegen;
 
 import org.apache.flink.api.common.functions.AbstractRichFunction;
 import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.TableConfigOptions;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedBytecodeProjection;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
 import org.apache.flink.table.runtime.generated.JoinCondition;
 import org.apache.flink.table.runtime.operators.join.HashJoinType;
 import org.apache.flink.table.runtime.operators.join.Int2HashJoinOperatorTest;
 import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
 import org.junit.Assert;
@@ -53,6 +57,19 @@ public class LongHashJoinGeneratorTest extends Int2HashJoinOperatorTest {
                         MyJoinCondition.class.getCanonicalName(), "", new Object[0]));
     }
 
+    @Test
+    public void testProjectionCodeWithBytecodeProjectionEnabled() {
+        TableConfig config = new TableConfig();
+        config.getConfiguration()
+                .set(TableConfigOptions.GENERATED_CODE_BYTECODE_PROJECTION_ENABLED, true);
+        GeneratedProjection projection =
+                LongHashJoinGenerator.genProjection(
+                        config, new LogicalType[] {new IntType(), new IntType()});
+        // the projection is inlined into the hash table, so it needs Java code
+        Assert.assertFalse(projection instanceof GeneratedBytecodeProjection);
+        Assert.assertTrue(projection.getCode().contains(projection.getClassName()));
+    }
+
     @Test
     @Override
     public void testBuildLeftSemiJoin() throws Exception {}
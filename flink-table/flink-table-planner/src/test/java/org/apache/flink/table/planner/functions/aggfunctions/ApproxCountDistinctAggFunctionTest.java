@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.functions.aggfunctions;
+
+import org.apache.flink.table.functions.AggregateFunction;
+import org.apache.flink.table.runtime.functions.aggregate.ApproxCountDistinctAggFunction;
+import org.apache.flink.table.runtime.functions.aggregate.ApproxCountDistinctAggFunction.ApproxCountDistinctAccumulator;
+import org.apache.flink.table.types.logical.BigIntType;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** Test case for built-in APPROX_COUNT_DISTINCT aggregate function. */
+public final class ApproxCountDistinctAggFunctionTest
+        extends AggFunctionTestBase<Long, ApproxCountDistinctAccumulator> {
+
+    /** The relative error allowed for the estimates, twice the standard error of the sketch. */
+    private static final double RELATIVE_ERROR = 0.02;
+
+    @Override
+    protected List<List<Long>> getInputValueSets() {
+        return Arrays.asList(
+                Arrays.asList(1L, 2L, null, 3L, 2L, 1L, null, 4L, 5L),
+                Arrays.asList(null, null, null),
+                Arrays.asList(-1L, 0L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L),
+                Arrays.asList(7L, 7L, 7L, 7L),
+                sequence(10000, 2),
+                sequence(100000, 1));
+    }
+
+    @Override
+    protected List<Long> getExpectedResults() {
+        return Arrays.asList(5L, 0L, 4L, 1L, 10000L, 100000L);
+    }
+
+    @Override
+    protected AggregateFunction<Long, ApproxCountDistinctAccumulator> getAggregator() {
+        return new ApproxCountDistinctAggFunction<>(new BigIntType());
+    }
+
+    @Override
+    protected Class<?> getAccClass() {
+        return ApproxCountDistinctAccumulator.class;
+    }
+
+    @Override
+    protected Method getAccumulateFunc() throws NoSuchMethodException {
+        return getAggregator().getClass().getMethod("accumulate", getAccClass(), Object.class);
+    }
+
+    @Override
+    protected <E> void validateResult(E expected, E result) {
+        if (expected instanceof Long) {
+            long expectedCount = (Long) expected;
+            assertEquals(expectedCount, (Long) result, expectedCount * RELATIVE_ERROR);
+        } else {
+            super.validateResult(expected, result);
+        }
+    }
+
+    /** Returns the values 0 until numDistinct, each repeated the given number of times. */
+    private static List<Long> sequence(int numDistinct, int repetitions) {
+        List<Long> values = new ArrayList<>(numDistinct * repetitions);
+        for (int r = 0; r < repetitions; r++) {
+            for (long i = 0; i < numDistinct; i++) {
+                values.add(i);
+            }
+        }
+        return values;
+    }
+}
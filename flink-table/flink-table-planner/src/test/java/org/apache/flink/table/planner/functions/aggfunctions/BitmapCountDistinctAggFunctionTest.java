@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.functions.aggfunctions;
+
+import org.apache.flink.table.api.dataview.MapView;
+import org.apache.flink.table.functions.AggregateFunction;
+import org.apache.flink.table.runtime.functions.aggregate.BitmapCountDistinctAggFunction;
+import org.apache.flink.table.runtime.functions.aggregate.BitmapCountDistinctAggFunction.BitmapCountDistinctAccumulator;
+import org.apache.flink.table.types.logical.BigIntType;
+
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/** Test case for built-in BITMAP_COUNT_DISTINCT aggregate function. */
+public final class BitmapCountDistinctAggFunctionTest
+        extends AggFunctionTestBase<Long, BitmapCountDistinctAccumulator> {
+
+    @Override
+    protected List<List<Long>> getInputValueSets() {
+        return Arrays.asList(
+                Arrays.asList(1L, 2L, null, 3L, 2L, 1L, null, 4L, 5L),
+                Arrays.asList(null, null, null),
+                // values of different containers, including the negative ones
+                Arrays.asList(
+                        -1L,
+                        0L,
+                        1L << 16,
+                        (1L << 16) - 1,
+                        Long.MIN_VALUE,
+                        Long.MAX_VALUE,
+                        -(1L << 16),
+                        0L,
+                        Long.MIN_VALUE,
+                        -1L),
+                Arrays.asList(7L, 7L, 7L, 7L),
+                sequence(100000, 2));
+    }
+
+    @Override
+    protected List<Long> getExpectedResults() {
+        return Arrays.asList(5L, 0L, 7L, 1L, 100000L);
+    }
+
+    @Override
+    protected AggregateFunction<Long, BitmapCountDistinctAccumulator> getAggregator() {
+        return new BitmapCountDistinctAggFunction(new BigIntType());
+    }
+
+    @Override
+    protected Class<?> getAccClass() {
+        return BitmapCountDistinctAccumulator.class;
+    }
+
+    @Override
+    protected Method getAccumulateFunc() throws NoSuchMethodException {
+        return getAggregator().getClass().getMethod("accumulate", getAccClass(), Number.class);
+    }
+
+    @Test
+    public void testContainersInMapView() throws Exception {
+        BitmapCountDistinctAccumulator acc =
+                accumulateValues(Arrays.asList(1L, 2L, 1L << 16, (1L << 16) + 1, -1L));
+        MapView<Long, byte[]> containers = acc.containers;
+        // a container per distinct value of the high bits
+        List<Long> keys = new ArrayList<>();
+        containers.keys().forEach(keys::add);
+        Collections.sort(keys);
+        assertEquals(Arrays.asList(-1L, 0L, 1L), keys);
+        assertEquals(5L, (long) getAggregator().getValue(acc));
+    }
+
+    @Test
+    public void testMergeDoesNotModifyOtherAccumulators() throws Exception {
+        BitmapCountDistinctAggFunction aggregator =
+                new BitmapCountDistinctAggFunction(new BigIntType());
+        BitmapCountDistinctAccumulator other = accumulateValues(Arrays.asList(1L, 2L, 3L));
+        byte[] container = other.containers.get(0L).clone();
+
+        // the accumulator of a slice may be merged into several windows
+        BitmapCountDistinctAccumulator first = accumulateValues(Arrays.asList(3L, 4L));
+        aggregator.merge(first, Collections.singletonList(other));
+        BitmapCountDistinctAccumulator second = aggregator.createAccumulator();
+        aggregator.merge(second, Collections.singletonList(other));
+        aggregator.accumulate(second, 5L);
+
+        assertEquals(4L, (long) aggregator.getValue(first));
+        assertEquals(4L, (long) aggregator.getValue(second));
+        assertEquals(3L, (long) aggregator.getValue(other));
+        assertArrayEquals(container, other.containers.get(0L));
+    }
+
+    /** Returns the values 0 until numDistinct, each repeated the given number of times. */
+    private static List<Long> sequence(int numDistinct, int repetitions) {
+        List<Long> values = new ArrayList<>(numDistinct * repetitions);
+        for (int r = 0; r < repetitions; r++) {
+            for (long i = 0; i < numDistinct; i++) {
+                values.add(i);
+            }
+        }
+        return values;
+    }
+}
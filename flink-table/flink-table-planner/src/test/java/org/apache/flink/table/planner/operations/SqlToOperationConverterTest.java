@@ -36,6 +36,7 @@ import org.apache.flink.table.catalog.CatalogFunctionImpl;
 import org.apache.flink.table.catalog.CatalogManager;
 import org.apache.flink.table.catalog.CatalogTable;
 import org.apache.flink.table.catalog.CatalogTableImpl;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.FunctionCatalog;
 import org.apache.flink.table.catalog.GenericInMemoryCatalog;
 import org.apache.flink.table.catalog.ObjectIdentifier;
@@ -70,6 +71,7 @@ import org.apache.flink.table.operations.ddl.AlterTableCompactOperation;
 import org.apache.flink.table.operations.ddl.AlterTableDropConstraintOperation;
 import org.apache.flink.table.operations.ddl.AlterTableOptionsOperation;
 import org.apache.flink.table.operations.ddl.AlterTableRenameOperation;
+import org.apache.flink.table.operations.ddl.AnalyzeTableOperation;
 import org.apache.flink.table.operations.ddl.CreateDatabaseOperation;
 import org.apache.flink.table.operations.ddl.CreateTableOperation;
 import org.apache.flink.table.operations.ddl.CreateViewOperation;
@@ -1337,6 +1339,69 @@ public class SqlToOperationConverterTest {
                 .hasMessage("Table `cat1`.`db1`.`tb2` doesn't exist or is a temporary table.");
     }
 
+    @Test
+    public void testAnalyzeTable() throws Exception {
+        prepareTableForAnalyze();
+        Operation operation = parse("analyze table tb1 compute statistics", SqlDialect.DEFAULT);
+        assertThat(operation).isInstanceOf(AnalyzeTableOperation.class);
+        AnalyzeTableOperation analyzeTableOperation = (AnalyzeTableOperation) operation;
+        assertThat(analyzeTableOperation.getTableIdentifier())
+                .isEqualTo(ObjectIdentifier.of("cat1", "db1", "tb1"));
+        assertThat(analyzeTableOperation.getColumns()).isEmpty();
+        assertThat(analyzeTableOperation.asSummaryString())
+                .isEqualTo("ANALYZE TABLE cat1.db1.tb1 COMPUTE STATISTICS");
+
+        operation =
+                parse("analyze table tb1 compute statistics for columns c, a", SqlDialect.DEFAULT);
+        assertThat(getAnalyzedColumnNames(operation)).containsExactly("c", "a");
+        assertThat(operation.asSummaryString())
+                .isEqualTo("ANALYZE TABLE cat1.db1.tb1 COMPUTE STATISTICS FOR COLUMNS c, a");
+    }
+
+    @Test
+    public void testAnalyzeTableForAllColumns() throws Exception {
+        prepareTableForAnalyze();
+        // the metadata column and the column of an unsupported type are skipped
+        Operation operation =
+                parse("analyze table tb1 compute statistics for all columns", SqlDialect.DEFAULT);
+        assertThat(getAnalyzedColumnNames(operation)).containsExactly("a", "b", "c", "e");
+    }
+
+    @Test
+    public void testAnalyzeTableWithInvalidColumns() throws Exception {
+        prepareTableForAnalyze();
+        assertThatThrownBy(
+                        () ->
+                                parse(
+                                        "analyze table tb1 compute statistics for columns x",
+                                        SqlDialect.DEFAULT))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Column x does not exist in table `cat1`.`db1`.`tb1`.");
+        assertThatThrownBy(
+                        () ->
+                                parse(
+                                        "analyze table tb1 compute statistics for columns d",
+                                        SqlDialect.DEFAULT))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Column d of type TIMESTAMP(3) is not supported by ANALYZE TABLE.");
+        assertThatThrownBy(
+                        () ->
+                                parse(
+                                        "analyze table tb1 compute statistics for columns m",
+                                        SqlDialect.DEFAULT))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Column m of type INT is not supported by ANALYZE TABLE.");
+    }
+
+    @Test
+    public void testAnalyzeNonExistingTable() throws Exception {
+        prepareTableForAnalyze();
+        assertThatThrownBy(
+                        () -> parse("analyze table tb2 compute statistics", SqlDialect.DEFAULT))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Table `cat1`.`db1`.`tb2` doesn't exist or is a temporary table.");
+    }
+
     @Test
     public void testAlterTableCompactPartition() throws Exception {
         prepareManagedTable(true);
@@ -1658,6 +1723,34 @@ public class SqlToOperationConverterTest {
         catalog.createTable(tablePath, catalogTable, true);
     }
 
+    private void prepareTableForAnalyze() throws Exception {
+        Catalog catalog = new GenericInMemoryCatalog("default", "default");
+        catalogManager.registerCatalog("cat1", catalog);
+        catalog.createDatabase("db1", new CatalogDatabaseImpl(new HashMap<>(), null), true);
+        Schema schema =
+                Schema.newBuilder()
+                        .column("a", DataTypes.INT())
+                        .column("b", DataTypes.STRING())
+                        .column("c", DataTypes.DOUBLE())
+                        .column("d", DataTypes.TIMESTAMP(3))
+                        .column("e", DataTypes.DATE())
+                        .columnByMetadata("m", DataTypes.INT())
+                        .build();
+        Map<String, String> options = new HashMap<>();
+        options.put("connector", "dummy");
+        CatalogTable catalogTable =
+                CatalogTable.of(schema, "tb1", Collections.emptyList(), options);
+        catalogManager.setCurrentCatalog("cat1");
+        catalogManager.setCurrentDatabase("db1");
+        catalog.createTable(new ObjectPath("db1", "tb1"), catalogTable, true);
+    }
+
+    private static List<String> getAnalyzedColumnNames(Operation operation) {
+        assertThat(operation).isInstanceOf(AnalyzeTableOperation.class);
+        return ((AnalyzeTableOperation) operation)
+                .getColumns().stream().map(Column::getName).collect(Collectors.toList());
+    }
+
     private FlinkPlannerImpl getPlannerBySqlDialect(SqlDialect sqlDialect) {
         tableConfig.setSqlDialect(sqlDialect);
         return plannerContext.createFlinkPlanner(
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec;
+
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.operators.KeyedProcessOperator;
+import org.apache.flink.streaming.api.transformations.OneInputTransformation;
+import org.apache.flink.table.api.EnvironmentSettings;
+import org.apache.flink.table.api.TableEnvironment;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.internal.TableEnvironmentImpl;
+import org.apache.flink.table.planner.plan.nodes.exec.serde.JsonSerdeUtil;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecGroupAggregate;
+import org.apache.flink.table.runtime.operators.aggregate.GroupAggFunction;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.table.api.config.ExecutionConfigOptions.TABLE_EXEC_STATE_TTL_COMPACT_FILTER_QUERY_TIME;
+import static org.apache.flink.table.api.config.ExecutionConfigOptions.TABLE_EXEC_STATE_TTL_INCREMENTAL_CLEANUP_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link StateMetadata}. */
+public class StateMetadataTest {
+
+    @Rule public ExpectedException thrown = ExpectedException.none();
+
+    private final ObjectMapper mapper = JsonSerdeUtil.getObjectMapper();
+
+    private final ExecNode<?> execNode = new TestingBatchExecNode("TestingNode");
+
+    @Test
+    public void testStateMetadataSerde() throws Exception {
+        List<StateMetadata> stateMetadataList =
+                Arrays.asList(
+                        new StateMetadata(0, Duration.ofHours(1), "leftState"),
+                        new StateMetadata(1, Duration.ofMinutes(10), "rightState", 100L, 3));
+
+        String json = mapper.writeValueAsString(stateMetadataList);
+        List<StateMetadata> actual =
+                mapper.readValue(json, new TypeReference<List<StateMetadata>>() {});
+        assertEquals(stateMetadataList, actual);
+
+        // the cleanup overrides are only written if they are set
+        String jsonWithoutOverrides = mapper.writeValueAsString(stateMetadataList.get(0));
+        assertFalse(
+                jsonWithoutOverrides.contains(
+                        StateMetadata.FIELD_NAME_COMPACT_FILTER_QUERY_TIME_AFTER_NUM_ENTRIES));
+        assertFalse(
+                jsonWithoutOverrides.contains(StateMetadata.FIELD_NAME_INCREMENTAL_CLEANUP_SIZE));
+    }
+
+    @Test
+    public void testCreateTtlConfigsWithoutStateMetadata() {
+        Configuration config = new Configuration();
+        config.set(ExecutionConfigOptions.IDLE_STATE_RETENTION, Duration.ofHours(1));
+
+        for (List<StateMetadata> stateMetadataList :
+                Arrays.asList(null, Collections.<StateMetadata>emptyList())) {
+            List<StateTtlConfig> ttlConfigs =
+                    StateMetadata.createTtlConfigs(execNode, stateMetadataList, config, 2);
+            assertEquals(2, ttlConfigs.size());
+            for (StateTtlConfig ttlConfig : ttlConfigs) {
+                assertEquals(Time.hours(1), ttlConfig.getTtl());
+            }
+        }
+    }
+
+    @Test
+    public void testCreateTtlConfigsWithCleanupOverrides() {
+        Configuration config = new Configuration();
+        config.set(ExecutionConfigOptions.IDLE_STATE_RETENTION, Duration.ofDays(1));
+        config.set(TABLE_EXEC_STATE_TTL_COMPACT_FILTER_QUERY_TIME, 500L);
+        config.set(TABLE_EXEC_STATE_TTL_INCREMENTAL_CLEANUP_SIZE, 7);
+
+        // the configs are ordered by the indices of the states
+        List<StateTtlConfig> ttlConfigs =
+                StateMetadata.createTtlConfigs(
+                        execNode,
+                        Arrays.asList(
+                                new StateMetadata(1, Duration.ofMinutes(10), "rightState", 100L, 3),
+                                new StateMetadata(0, Duration.ofHours(1), "leftState"),
+                                new StateMetadata(2, Duration.ZERO, "neverExpires")),
+                        config,
+                        3);
+
+        assertTtlConfig(ttlConfigs.get(0), Time.hours(1), 500L, 7);
+        assertTtlConfig(ttlConfigs.get(1), Time.minutes(10), 100L, 3);
+        assertFalse(ttlConfigs.get(2).isEnabled());
+    }
+
+    @Test
+    public void testCreateTtlConfigsWithWrongNumberOfStates() {
+        thrown.expect(TableException.class);
+        thrown.expectMessage(
+                "The compiled plan declares 1 states for TestingNode, but it has 2 states.");
+        StateMetadata.createTtlConfigs(
+                execNode,
+                Collections.singletonList(new StateMetadata(0, Duration.ofHours(1), "state")),
+                new Configuration(),
+                2);
+    }
+
+    @Test
+    public void testCreateTtlConfigsWithDuplicateIndex() {
+        thrown.expect(TableException.class);
+        thrown.expectMessage(
+                "The compiled plan declares an invalid or duplicate state index 0 for "
+                        + "TestingNode, the indices should be 0 to 1.");
+        StateMetadata.createTtlConfigs(
+                execNode,
+                Arrays.asList(
+                        new StateMetadata(0, Duration.ofHours(1), "leftState"),
+                        new StateMetadata(0, Duration.ofHours(1), "rightState")),
+                new Configuration(),
+                2);
+    }
+
+    @Test
+    public void testCreateTtlConfigsWithOutOfRangeIndex() {
+        thrown.expect(TableException.class);
+        thrown.expectMessage(
+                "The compiled plan declares an invalid or duplicate state index 2 for "
+                        + "TestingNode, the indices should be 0 to 1.");
+        StateMetadata.createTtlConfigs(
+                execNode,
+                Arrays.asList(
+                        new StateMetadata(0, Duration.ofHours(1), "leftState"),
+                        new StateMetadata(2, Duration.ofHours(1), "rightState")),
+                new Configuration(),
+                2);
+    }
+
+    @Test
+    public void testGroupAggregateTtlFromPlan() throws Exception {
+        TableEnvironmentImpl tEnv = createTableEnvironment();
+        tEnv.getConfig().setIdleStateRetention(Duration.ofHours(1));
+        ObjectNode plan = compileGroupAggregate(tEnv);
+
+        // the state metadata is compiled from the configuration
+        JsonNode groupAggregate = getGroupAggregate(plan);
+        List<StateMetadata> compiledStateMetadata =
+                mapper.readerFor(new TypeReference<List<StateMetadata>>() {})
+                        .readValue(groupAggregate.get(StreamExecGroupAggregate.FIELD_NAME_STATE));
+        assertEquals(
+                Collections.singletonList(
+                        new StateMetadata(
+                                0, Duration.ofHours(1), StreamExecGroupAggregate.STATE_NAME)),
+                compiledStateMetadata);
+
+        // the time-to-live and the cleanup edited in the plan take precedence over the
+        // configuration
+        ((ObjectNode) groupAggregate)
+                .set(
+                        StreamExecGroupAggregate.FIELD_NAME_STATE,
+                        mapper.valueToTree(
+                                Collections.singletonList(
+                                        new StateMetadata(
+                                                0,
+                                                Duration.ofMinutes(10),
+                                                StreamExecGroupAggregate.STATE_NAME,
+                                                100L,
+                                                3))));
+        tEnv.getConfig().setIdleStateRetention(Duration.ofDays(1));
+        StateTtlConfig ttlConfig = translateGroupAggregateTtlConfig(tEnv, plan);
+        assertTtlConfig(ttlConfig, Time.minutes(10), 100L, 3);
+    }
+
+    @Test
+    public void testGroupAggregateTtlFromConfigWithoutStateMetadata() throws Exception {
+        TableEnvironmentImpl tEnv = createTableEnvironment();
+        ObjectNode plan = compileGroupAggregate(tEnv);
+
+        // a plan compiled before the state metadata has been introduced
+        ((ObjectNode) getGroupAggregate(plan)).remove(StreamExecGroupAggregate.FIELD_NAME_STATE);
+        tEnv.getConfig().setIdleStateRetention(Duration.ofHours(2));
+        StateTtlConfig ttlConfig = translateGroupAggregateTtlConfig(tEnv, plan);
+        assertEquals(Time.hours(2), ttlConfig.getTtl());
+    }
+
+    // ------------------------------------------------------------------------
+
+    private static void assertTtlConfig(
+            StateTtlConfig ttlConfig,
+            Time expectedTtl,
+            long expectedQueryTimeAfterNumEntries,
+            int expectedCleanupSize) {
+        assertTrue(ttlConfig.isEnabled());
+        assertEquals(expectedTtl, ttlConfig.getTtl());
+        StateTtlConfig.CleanupStrategies cleanupStrategies = ttlConfig.getCleanupStrategies();
+        assertEquals(
+                expectedQueryTimeAfterNumEntries,
+                cleanupStrategies
+                        .getRocksdbCompactFilterCleanupStrategy()
+                        .getQueryTimeAfterNumEntries());
+        assertEquals(
+                expectedCleanupSize,
+                cleanupStrategies.getIncrementalCleanupStrategy().getCleanupSize());
+    }
+
+    private static TableEnvironmentImpl createTableEnvironment() {
+        TableEnvironmentImpl tEnv =
+                (TableEnvironmentImpl)
+                        TableEnvironment.create(EnvironmentSettings.inStreamingMode());
+        tEnv.executeSql(
+                "CREATE TABLE MyTable (\n"
+                        + "  a BIGINT,\n"
+                        + "  b INT\n"
+                        + ") WITH (\n"
+                        + "  'connector' = 'values'\n"
+                        + ")");
+        tEnv.executeSql(
+                "CREATE TABLE MySink (\n"
+                        + "  b INT,\n"
+                        + "  cnt BIGINT\n"
+                        + ") WITH (\n"
+                        + "  'connector' = 'values',\n"
+                        + "  'sink-insert-only' = 'false'\n"
+                        + ")");
+        return tEnv;
+    }
+
+    private ObjectNode compileGroupAggregate(TableEnvironmentImpl tEnv) throws Exception {
+        String jsonPlan =
+                tEnv.getJsonPlan("INSERT INTO MySink SELECT b, COUNT(a) FROM MyTable GROUP BY b");
+        return (ObjectNode) mapper.readTree(jsonPlan);
+    }
+
+    private static JsonNode getGroupAggregate(ObjectNode plan) {
+        for (JsonNode node : plan.get("nodes")) {
+            if (StreamExecGroupAggregate.class.getName().equals(node.get("class").asText())) {
+                return node;
+            }
+        }
+        throw new AssertionError("The plan has no group aggregate.");
+    }
+
+    private StateTtlConfig translateGroupAggregateTtlConfig(
+            TableEnvironmentImpl tEnv, ObjectNode plan) throws Exception {
+        List<Transformation<?>> transformations =
+                tEnv.getPlanner().translateJsonPlan(mapper.writeValueAsString(plan));
+        List<Transformation<?>> allTransformations = new ArrayList<>();
+        transformations.forEach(t -> allTransformations.addAll(t.getTransitivePredecessors()));
+        for (Transformation<?> transformation : allTransformations) {
+            if (transformation instanceof OneInputTransformation
+                    && ((OneInputTransformation<?, ?>) transformation).getOperator()
+                            instanceof KeyedProcessOperator) {
+                Object function =
+                        ((KeyedProcessOperator<?, ?, ?>)
+                                        ((OneInputTransformation<?, ?>) transformation)
+                                                .getOperator())
+                                .getUserFunction();
+                if (function instanceof GroupAggFunction) {
+                    Field field = GroupAggFunction.class.getDeclaredField("ttlConfig");
+                    field.setAccessible(true);
+                    StateTtlConfig ttlConfig = (StateTtlConfig) field.get(function);
+                    assertNotNull(ttlConfig);
+                    return ttlConfig;
+                }
+            }
+        }
+        throw new AssertionError("The plan has no group aggregate operator.");
+    }
+}
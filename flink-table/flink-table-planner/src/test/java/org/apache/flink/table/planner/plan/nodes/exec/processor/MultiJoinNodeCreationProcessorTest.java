@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.processor;
+
+import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeGraph;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecJoin;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecMultiJoin;
+import org.apache.flink.table.planner.plan.nodes.exec.visitor.AbstractExecNodeExactlyOnceVisitor;
+import org.apache.flink.table.planner.utils.StreamTableTestUtil;
+import org.apache.flink.table.planner.utils.TableTestBase;
+import org.apache.flink.table.planner.utils.TableTestUtil;
+
+import org.apache.calcite.rel.RelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.planner.utils.JavaScalaConversionUtil.toScala;
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link MultiJoinNodeCreationProcessor}. */
+public class MultiJoinNodeCreationProcessorTest extends TableTestBase {
+
+    private final StreamTableTestUtil util = streamTestUtil(new TableConfig());
+
+    @Before
+    public void before() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_MULTI_JOIN_ENABLED, true);
+        for (String name : new String[] {"A", "B", "C", "D"}) {
+            final String prefix = name.toLowerCase();
+            util.tableEnv()
+                    .executeSql(
+                            "CREATE TABLE "
+                                    + name
+                                    + " (\n"
+                                    + "  "
+                                    + prefix
+                                    + "1 INT,\n"
+                                    + "  "
+                                    + prefix
+                                    + "2 BIGINT,\n"
+                                    + "  "
+                                    + prefix
+                                    + "3 STRING\n"
+                                    + ") WITH (\n"
+                                    + "  'connector' = 'values'\n"
+                                    + ")");
+        }
+    }
+
+    @Test
+    public void testMergeJoinsOnSameKey() {
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a1 = c1");
+        assertMerged(nodes, 3);
+    }
+
+    @Test
+    public void testMergeJoinsOnKeyOfAnyInput() {
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON b1 = c1 JOIN D ON c1 = d1");
+        assertMerged(nodes, 4);
+    }
+
+    @Test
+    public void testMergeJoinsOnSameCompositeKey() {
+        final List<ExecNode<?>> nodes =
+                process(
+                        "SELECT * FROM A JOIN B ON a1 = b1 AND a2 = b2 "
+                                + "JOIN C ON a1 = c1 AND b2 = c2");
+        assertMerged(nodes, 3);
+    }
+
+    @Test
+    public void testJoinsNotMergedIfDisabled() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_MULTI_JOIN_ENABLED, false);
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a1 = c1");
+        assertNotMerged(nodes, 2);
+    }
+
+    @Test
+    public void testJoinsOnDifferentKeysNotMerged() {
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON a2 = c2");
+        assertNotMerged(nodes, 2);
+    }
+
+    @Test
+    public void testJoinsOnPartOfKeyNotMerged() {
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A JOIN B ON a1 = b1 AND a2 = b2 JOIN C ON a1 = c1");
+        assertNotMerged(nodes, 2);
+    }
+
+    @Test
+    public void testOuterJoinNotMerged() {
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A JOIN B ON a1 = b1 LEFT JOIN C ON a1 = c1");
+        assertNotMerged(nodes, 2);
+    }
+
+    @Test
+    public void testJoinWithOuterInputJoinNotMerged() {
+        final List<ExecNode<?>> nodes =
+                process("SELECT * FROM A LEFT JOIN B ON a1 = b1 JOIN C ON a1 = c1");
+        assertNotMerged(nodes, 2);
+    }
+
+    @Test
+    public void testJoinWithSeveralConsumersNotMerged() {
+        final List<ExecNode<?>> nodes =
+                process(
+                        "WITH V AS (SELECT * FROM A JOIN B ON a1 = b1)\n"
+                                + "SELECT * FROM V JOIN C ON a1 = c1\n"
+                                + "UNION ALL\n"
+                                + "SELECT * FROM V JOIN D ON a1 = d1");
+        assertNotMerged(nodes, 3);
+    }
+
+    // ------------------------------------------------------------------------
+
+    private List<ExecNode<?>> process(String sql) {
+        final Table table = util.tableEnv().sqlQuery(sql);
+        final RelNode optimizedRel = util.getPlanner().optimize(TableTestUtil.toRelNode(table));
+        // reuses the common sub-plans and applies the processors enabled by the config
+        final ExecNodeGraph processedGraph =
+                util.getPlanner()
+                        .translateToExecNodeGraph(
+                                toScala(Collections.singletonList(optimizedRel)));
+
+        final List<ExecNode<?>> nodes = new ArrayList<>();
+        final AbstractExecNodeExactlyOnceVisitor visitor =
+                new AbstractExecNodeExactlyOnceVisitor() {
+                    @Override
+                    protected void visitNode(ExecNode<?> node) {
+                        nodes.add(node);
+                        visitInputs(node);
+                    }
+                };
+        processedGraph.getRootNodes().forEach(r -> r.accept(visitor));
+        return nodes;
+    }
+
+    private static void assertMerged(List<ExecNode<?>> nodes, int expectedNumInputs) {
+        assertEquals(0, nodesOfType(nodes, StreamExecJoin.class).size());
+        final List<StreamExecMultiJoin> multiJoins = nodesOfType(nodes, StreamExecMultiJoin.class);
+        assertEquals(1, multiJoins.size());
+        assertEquals(expectedNumInputs, multiJoins.get(0).getInputEdges().size());
+        assertEquals(expectedNumInputs - 1, multiJoins.get(0).getJoinSpecs().size());
+    }
+
+    private static void assertNotMerged(List<ExecNode<?>> nodes, int expectedNumJoins) {
+        assertEquals(expectedNumJoins, nodesOfType(nodes, StreamExecJoin.class).size());
+        assertEquals(0, nodesOfType(nodes, StreamExecMultiJoin.class).size());
+    }
+
+    private static <T> List<T> nodesOfType(List<ExecNode<?>> nodes, Class<T> type) {
+        return nodes.stream().filter(type::isInstance).map(type::cast).collect(Collectors.toList());
+    }
+}
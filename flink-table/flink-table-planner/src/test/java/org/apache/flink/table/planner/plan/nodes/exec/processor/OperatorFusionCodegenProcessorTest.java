@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.processor;
+
+import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeGraph;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeGraphGenerator;
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecCalc;
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecHashAggregate;
+import org.apache.flink.table.planner.plan.nodes.exec.batch.BatchExecTableSourceScan;
+import org.apache.flink.table.planner.plan.nodes.exec.visitor.AbstractExecNodeExactlyOnceVisitor;
+import org.apache.flink.table.planner.plan.nodes.physical.FlinkPhysicalRel;
+import org.apache.flink.table.planner.utils.BatchTableTestUtil;
+import org.apache.flink.table.planner.utils.TableTestBase;
+import org.apache.flink.table.planner.utils.TableTestUtil;
+
+import org.apache.calcite.rel.RelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link OperatorFusionCodegenProcessor}. */
+public class OperatorFusionCodegenProcessorTest extends TableTestBase {
+
+    private final BatchTableTestUtil util = batchTestUtil(new TableConfig());
+
+    @Before
+    public void before() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setString(ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "SortAgg");
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setString(OptimizerConfigOptions.TABLE_OPTIMIZER_AGG_PHASE_STRATEGY, "TWO_PHASE");
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE T (\n"
+                                + "  a INT,\n"
+                                + "  b BIGINT,\n"
+                                + "  c INT,\n"
+                                + "  d STRING\n"
+                                + ") WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+    }
+
+    @Test
+    public void testFuseCalcWithFilter() {
+        final List<ExecNode<?>> nodes =
+                fuse("SELECT a, SUM(b), MAX(c) FROM T WHERE c > 10 GROUP BY a");
+        assertFused(nodes);
+    }
+
+    @Test
+    public void testFuseCalcWithProjection() {
+        final List<ExecNode<?>> nodes =
+                fuse("SELECT a + 1, SUM(b * 2), MIN(CHAR_LENGTH(d)) FROM T GROUP BY a + 1");
+        assertFused(nodes);
+    }
+
+    @Test
+    public void testCalcNotFusedIntoAggregateWithFilterArgument() {
+        final List<ExecNode<?>> nodes =
+                fuse("SELECT a, COUNT(*) FILTER (WHERE c > 10) FROM T GROUP BY a");
+        assertNotFused(nodes, 1);
+    }
+
+    @Test
+    public void testCalcNotFusedIntoAggregateWithoutGrouping() {
+        final List<ExecNode<?>> nodes = fuse("SELECT SUM(b) FROM T WHERE c > 10");
+        assertNotFused(nodes, 1);
+    }
+
+    @Test
+    public void testCalcNotFusedIntoOnePhaseAggregate() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setString(OptimizerConfigOptions.TABLE_OPTIMIZER_AGG_PHASE_STRATEGY, "ONE_PHASE");
+        final List<ExecNode<?>> nodes = fuse("SELECT a, SUM(b) FROM T WHERE c > 10 GROUP BY a");
+        assertNotFused(nodes, 1);
+    }
+
+    @Test
+    public void testCalcWithSeveralConsumersNotFused() {
+        final List<ExecNode<?>> nodes =
+                fuse(
+                        "WITH V AS (SELECT a, b * 2 AS b2 FROM T WHERE c > 10)\n"
+                                + "SELECT a, SUM(b2) FROM V GROUP BY a\n"
+                                + "UNION ALL\n"
+                                + "SELECT a, MAX(b2) FROM V GROUP BY a");
+        assertNotFused(nodes, 1);
+    }
+
+    // ------------------------------------------------------------------------
+
+    private List<ExecNode<?>> fuse(String sql) {
+        final Table table = util.tableEnv().sqlQuery(sql);
+        final RelNode relNode = TableTestUtil.toRelNode(table);
+        final FlinkPhysicalRel optimizedRel =
+                (FlinkPhysicalRel) util.getPlanner().optimize(relNode);
+        final ExecNodeGraph execGraph =
+                new ExecNodeGraphGenerator().generate(Collections.singletonList(optimizedRel));
+        final ExecNodeGraph processedGraph =
+                new OperatorFusionCodegenProcessor()
+                        .process(execGraph, new ProcessorContext(util.getPlanner()));
+
+        final List<ExecNode<?>> nodes = new ArrayList<>();
+        final AbstractExecNodeExactlyOnceVisitor visitor =
+                new AbstractExecNodeExactlyOnceVisitor() {
+                    @Override
+                    protected void visitNode(ExecNode<?> node) {
+                        nodes.add(node);
+                        visitInputs(node);
+                    }
+                };
+        processedGraph.getRootNodes().forEach(r -> r.accept(visitor));
+        return nodes;
+    }
+
+    private static void assertFused(List<ExecNode<?>> nodes) {
+        assertEquals(0, nodesOfType(nodes, BatchExecCalc.class).size());
+        // the local aggregate reads directly from the source
+        assertTrue(
+                nodesOfType(nodes, BatchExecHashAggregate.class).stream()
+                        .anyMatch(
+                                agg ->
+                                        agg.getInputEdges().get(0).getSource()
+                                                instanceof BatchExecTableSourceScan));
+    }
+
+    private static void assertNotFused(List<ExecNode<?>> nodes, int expectedNumCalcs) {
+        assertEquals(expectedNumCalcs, nodesOfType(nodes, BatchExecCalc.class).size());
+        assertTrue(
+                nodesOfType(nodes, BatchExecHashAggregate.class).stream()
+                        .noneMatch(
+                                agg ->
+                                        agg.getInputEdges().get(0).getSource()
+                                                instanceof BatchExecTableSourceScan));
+    }
+
+    private static <T> List<T> nodesOfType(List<ExecNode<?>> nodes, Class<T> type) {
+        return nodes.stream().filter(type::isInstance).map(type::cast).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.logical;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.plan.stats.ColumnStats;
+import org.apache.flink.table.plan.stats.TableStats;
+import org.apache.flink.table.planner.plan.stats.FlinkStatistic;
+import org.apache.flink.table.planner.plan.utils.FlinkRelOptUtil;
+import org.apache.flink.table.planner.utils.BatchTableTestUtil;
+import org.apache.flink.table.planner.utils.TableTestBase;
+import org.apache.flink.table.planner.utils.TableTestUtil;
+
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.sql.SqlExplainLevel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.table.api.config.OptimizerConfigOptions.TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link FlinkBushyJoinReorderRule}. */
+public class FlinkBushyJoinReorderRuleTest extends TableTestBase {
+
+    /**
+     * A chain of joins, where joining A with B and C with D is selective, but joining B with C is
+     * not. Every left-deep tree has to join B with C before A or D, so only the bushy tree (A join
+     * B) join (C join D) avoids the large intermediate result.
+     */
+    private static final String CHAIN_QUERY =
+            "SELECT * FROM A, B, C, D WHERE a1 = b1 AND b2 = c1 AND c2 = d1";
+
+    private final BatchTableTestUtil util = batchTestUtil(new TableConfig());
+
+    @Before
+    public void before() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_JOIN_REORDER_ENABLED, true);
+
+        addTable("A", 1_000_000L, "a1", 1_000_000L, "a2", 1_000_000L);
+        addTable("B", 100L, "b1", 100L, "b2", 1L);
+        addTable("C", 100L, "c1", 1L, "c2", 100L);
+        addTable("D", 1_000_000L, "d1", 1_000_000L, "d2", 1_000_000L);
+    }
+
+    @Test
+    public void testBushyJoinTree() {
+        final List<Join> joins = collectJoins(optimize(CHAIN_QUERY));
+        assertEquals(3, joins.size());
+        // the top join joins the results of the two selective joins
+        assertTrue(isBushy(joins.get(0)));
+    }
+
+    @Test
+    public void testCartesianProduct() {
+        // no join condition connects D with the other tables
+        final List<Join> joins =
+                collectJoins(optimize("SELECT * FROM A, B, C, D WHERE a1 = b1 AND b2 = c1"));
+        assertEquals(3, joins.size());
+        // the cartesian product is only built once no connected plans are left
+        assertTrue(joins.get(0).getCondition().isAlwaysTrue());
+        for (Join join : joins.subList(1, joins.size())) {
+            assertFalse(join.getCondition().isAlwaysTrue());
+        }
+    }
+
+    @Test
+    public void testFallbackAboveThreshold() {
+        final String bushyPlan = explain(CHAIN_QUERY);
+
+        setThreshold(3);
+        final RelNode plan = optimize(CHAIN_QUERY);
+        assertNotEquals(bushyPlan, explain(plan));
+        assertEquals(explainWithFallback(CHAIN_QUERY), explain(plan));
+    }
+
+    @Test
+    public void testFallbackWithLeftOuterJoin() {
+        final String sql =
+                "SELECT * FROM A JOIN B ON a1 = b1 JOIN C ON b2 = c1 LEFT JOIN D ON c2 = d1";
+        assertEquals(explainWithFallback(sql), explain(sql));
+    }
+
+    @Test
+    public void testFallbackWithFullOuterJoin() {
+        final String sql = "SELECT * FROM A FULL JOIN B ON a1 = b1";
+        assertEquals(explainWithFallback(sql), explain(sql));
+    }
+
+    // ------------------------------------------------------------------------
+
+    private void addTable(
+            String name, long rowCount, String key1, long ndv1, String key2, long ndv2) {
+        final Map<String, ColumnStats> columnStats = new HashMap<>();
+        columnStats.put(key1, new ColumnStats(ndv1, 0L, 8.0, 8, null, null));
+        columnStats.put(key2, new ColumnStats(ndv2, 0L, 8.0, 8, null, null));
+        util.addTableSource(
+                name,
+                new TypeInformation<?>[] {Types.LONG, Types.LONG, Types.STRING},
+                new String[] {key1, key2, name.toLowerCase() + "3"},
+                FlinkStatistic.builder()
+                        .tableStats(new TableStats(rowCount, columnStats))
+                        .build());
+    }
+
+    private void setThreshold(int threshold) {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setInteger(TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD, threshold);
+    }
+
+    private RelNode optimize(String sql) {
+        final RelNode relNode = TableTestUtil.toRelNode(util.tableEnv().sqlQuery(sql));
+        return util.getPlanner().optimize(relNode);
+    }
+
+    private String explain(String sql) {
+        return explain(optimize(sql));
+    }
+
+    private static String explain(RelNode rel) {
+        return FlinkRelOptUtil.toString(
+                rel, SqlExplainLevel.DIGEST_ATTRIBUTES, false, false, false);
+    }
+
+    /** Returns the plan of the greedy heuristic the rule falls back to. */
+    private String explainWithFallback(String sql) {
+        final int threshold =
+                util.tableEnv()
+                        .getConfig()
+                        .getConfiguration()
+                        .getInteger(TABLE_OPTIMIZER_BUSHY_JOIN_REORDER_THRESHOLD);
+        setThreshold(0);
+        try {
+            return explain(sql);
+        } finally {
+            setThreshold(threshold);
+        }
+    }
+
+    /** Returns the joins of the plan in pre-order. */
+    private static List<Join> collectJoins(RelNode rel) {
+        final List<Join> joins = new ArrayList<>();
+        collectJoins(rel, joins);
+        return joins;
+    }
+
+    private static void collectJoins(RelNode rel, List<Join> joins) {
+        if (rel instanceof Join) {
+            joins.add((Join) rel);
+        }
+        for (RelNode input : rel.getInputs()) {
+            collectJoins(input, joins);
+        }
+    }
+
+    private static boolean isBushy(Join join) {
+        return !collectJoins(join.getLeft()).isEmpty() && !collectJoins(join.getRight()).isEmpty();
+    }
+}
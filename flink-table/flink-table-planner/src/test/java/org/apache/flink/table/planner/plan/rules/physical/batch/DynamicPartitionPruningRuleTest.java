@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.batch;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.planner.utils.BatchTableTestUtil;
+import org.apache.flink.table.planner.utils.TableTestBase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link DynamicPartitionPruningRule}. */
+public class DynamicPartitionPruningRuleTest extends TableTestBase {
+
+    private final BatchTableTestUtil util = batchTestUtil(new TableConfig());
+
+    @Before
+    public void before() {
+        final Configuration config = util.tableEnv().getConfig().getConfiguration();
+        config.setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_FILTERING_ENABLED, true);
+        config.setLong(OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1);
+        config.setString(
+                ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+                "NestedLoopJoin,SortMergeJoin");
+
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE fact_part (\n"
+                                + "  id BIGINT,\n"
+                                + "  name STRING,\n"
+                                + "  amount BIGINT,\n"
+                                + "  price DECIMAL(10, 2),\n"
+                                + "  fact_date_sk BIGINT\n"
+                                + ") PARTITIONED BY (fact_date_sk) WITH (\n"
+                                + "  'connector' = 'filesystem',\n"
+                                + "  'format' = 'testcsv',\n"
+                                + "  'path' = '/tmp/fact_part'\n"
+                                + ")");
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE fact_name_part (\n"
+                                + "  id BIGINT,\n"
+                                + "  amount BIGINT,\n"
+                                + "  name STRING\n"
+                                + ") PARTITIONED BY (name) WITH (\n"
+                                + "  'connector' = 'filesystem',\n"
+                                + "  'format' = 'testcsv',\n"
+                                + "  'path' = '/tmp/fact_name_part'\n"
+                                + ")");
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE fact_values (\n"
+                                + "  id BIGINT,\n"
+                                + "  name STRING,\n"
+                                + "  amount BIGINT,\n"
+                                + "  fact_date_sk BIGINT\n"
+                                + ") WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE dim (\n"
+                                + "  id BIGINT NOT NULL,\n"
+                                + "  male BOOLEAN,\n"
+                                + "  amount BIGINT,\n"
+                                + "  name VARCHAR(10),\n"
+                                + "  dim_date_sk BIGINT\n"
+                                + ") WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+    }
+
+    @Test
+    public void testFactSideOnRight() {
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN fact_part ON dim_date_sk = fact_date_sk WHERE male = true");
+    }
+
+    @Test
+    public void testFactSideOnLeft() {
+        util.verifyRelPlan(
+                "SELECT * FROM fact_part JOIN dim ON fact_date_sk = dim_date_sk WHERE male = true");
+    }
+
+    @Test
+    public void testFactSideWithCalc() {
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN (\n"
+                        + "  SELECT fact_date_sk, amount + 1 AS amount FROM fact_part WHERE id > 10\n"
+                        + ") f ON dim_date_sk = fact_date_sk WHERE male = true");
+    }
+
+    @Test
+    public void testSemiJoin() {
+        util.verifyRelPlan(
+                "SELECT * FROM fact_part WHERE fact_date_sk IN "
+                        + "(SELECT dim_date_sk FROM dim WHERE male = true)");
+    }
+
+    @Test
+    public void testLeftJoinPreservingFactSide() {
+        util.verifyRelPlan(
+                "SELECT * FROM fact_part LEFT JOIN "
+                        + "(SELECT * FROM dim WHERE male = true) d ON fact_date_sk = dim_date_sk");
+    }
+
+    @Test
+    public void testDimSideWithoutFilter() {
+        util.verifyRelPlan("SELECT * FROM dim JOIN fact_part ON dim_date_sk = fact_date_sk");
+    }
+
+    @Test
+    public void testJoinOnNonPartitionKey() {
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN fact_part ON dim.amount = fact_part.amount "
+                        + "WHERE male = true");
+    }
+
+    @Test
+    public void testJoinKeyWithDifferentNullability() {
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN fact_part ON dim.id = fact_date_sk WHERE male = true");
+    }
+
+    @Test
+    public void testJoinKeyWithCast() {
+        // the collector collects the values of the dimension key cast to the partition key type
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN fact_name_part ON dim.name = fact_name_part.name "
+                        + "WHERE male = true");
+    }
+
+    @Test
+    public void testUnsupportedSource() {
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN fact_values ON dim_date_sk = fact_date_sk "
+                        + "WHERE male = true");
+    }
+
+    @Test
+    public void testDynamicFilteringDisabled() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_DYNAMIC_FILTERING_ENABLED, false);
+        util.verifyRelPlan(
+                "SELECT * FROM dim JOIN fact_part ON dim_date_sk = fact_date_sk WHERE male = true");
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.batch;
+
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.catalog.Catalog;
+import org.apache.flink.table.catalog.ObjectPath;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+import org.apache.flink.table.planner.utils.BatchTableTestUtil;
+import org.apache.flink.table.planner.utils.TableTestBase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link InjectRuntimeFilterRule}. */
+public class InjectRuntimeFilterRuleTest extends TableTestBase {
+
+    private final BatchTableTestUtil util = batchTestUtil(new TableConfig());
+
+    @Before
+    public void setup() throws Exception {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, true);
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .set(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE,
+                        MemorySize.parse("100 mb"));
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setLong(OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1L);
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setString(
+                        ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+                        "NestedLoopJoin,SortMergeJoin");
+
+        createTable("fact", 100_000_000L, "a INT, b BIGINT, c STRING, p DECIMAL(12, 2)");
+        createTable("dim", 10_000L, "d INT NOT NULL, e BIGINT, f STRING, q DECIMAL(10, 2)");
+    }
+
+    @Test
+    public void testInnerJoinWithRightBuildSide() {
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON a = d WHERE e > 10");
+    }
+
+    @Test
+    public void testInnerJoinWithLeftBuildSide() {
+        util.verifyRelPlan("SELECT * FROM dim JOIN fact ON a = d WHERE e > 10");
+    }
+
+    @Test
+    public void testInnerJoinWithMultipleKeys() {
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON a = d AND b = e");
+    }
+
+    @Test
+    public void testSortMergeJoin() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setString(
+                        ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+                        "NestedLoopJoin,HashJoin");
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON a = d");
+    }
+
+    @Test
+    public void testSemiJoinWithRightBuildSide() {
+        util.verifyRelPlan("SELECT * FROM fact WHERE a IN (SELECT d FROM dim WHERE e > 10)");
+    }
+
+    @Test
+    public void testSemiJoinWithLeftBuildSide() {
+        util.verifyRelPlan("SELECT * FROM dim WHERE d IN (SELECT a FROM fact)");
+    }
+
+    @Test
+    public void testLeftJoinPreservingProbeSide() {
+        // the rows of the probe side are preserved and can not be filtered
+        util.verifyRelPlan("SELECT * FROM fact LEFT JOIN dim ON a = d");
+    }
+
+    @Test
+    public void testLeftJoinPreservingBuildSide() {
+        util.verifyRelPlan("SELECT * FROM dim LEFT JOIN fact ON a = d");
+    }
+
+    @Test
+    public void testPushDownThroughForwardingCalc() {
+        util.verifyRelPlan(
+                "SELECT * FROM (SELECT a, c FROM fact WHERE b > 10) JOIN dim ON a = d");
+    }
+
+    @Test
+    public void testNoPushDownThroughNonForwardingCalc() {
+        util.verifyRelPlan(
+                "SELECT * FROM (SELECT a + 1 AS a1, c FROM fact) JOIN dim ON a1 = d");
+    }
+
+    @Test
+    public void testJoinKeyWithDifferentTypes() {
+        // the planner casts the build side key, so the filter is built from the cast key
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON p = q");
+    }
+
+    @Test
+    public void testBuildSideExceedsMaxDataSize() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .set(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MAX_BUILD_DATA_SIZE,
+                        MemorySize.parse("1 kb"));
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON a = d");
+    }
+
+    @Test
+    public void testProbeSideBelowMinDataSize() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .set(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE,
+                        MemorySize.parse("100 gb"));
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON a = d");
+    }
+
+    @Test
+    public void testRuntimeFilterDisabled() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, false);
+        util.verifyRelPlan("SELECT * FROM fact JOIN dim ON a = d");
+    }
+
+    // ------------------------------------------------------------------------
+
+    private void createTable(String name, long rowCount, String columns) throws Exception {
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE "
+                                + name
+                                + " ("
+                                + columns
+                                + ") WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+        final Catalog catalog =
+                util.tableEnv().getCatalog(util.tableEnv().getCurrentCatalog()).get();
+        catalog.alterTableStatistics(
+                new ObjectPath(util.tableEnv().getCurrentDatabase(), name),
+                new CatalogTableStatistics(rowCount, 1, 1L, 1L),
+                false);
+    }
+}
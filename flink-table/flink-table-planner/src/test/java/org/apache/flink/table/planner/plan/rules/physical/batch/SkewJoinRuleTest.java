@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.rules.physical.batch;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.plan.stats.TableStats;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchPhysicalSkewJoinSalt;
+import org.apache.flink.table.planner.plan.stats.FlinkStatistic;
+import org.apache.flink.table.planner.utils.BatchTableTestUtil;
+import org.apache.flink.table.planner.utils.TableTestBase;
+import org.apache.flink.table.planner.utils.TableTestUtil;
+import org.apache.flink.table.runtime.operators.join.skew.SkewJoinSaltOperator;
+
+import org.apache.calcite.rel.RelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link SkewJoinRule}. */
+public class SkewJoinRuleTest extends TableTestBase {
+
+    private final BatchTableTestUtil util = batchTestUtil(new TableConfig());
+
+    @Before
+    public void before() {
+        final Configuration config = util.tableEnv().getConfig().getConfiguration();
+        config.setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_ENABLED, true);
+        config.set(
+                OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_MIN_DATA_SIZE,
+                MemorySize.parse("100 mb"));
+        config.setLong(OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1);
+        config.setString(
+                ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+                "NestedLoopJoin,SortMergeJoin");
+
+        // the big table exceeds the min data size, the other ones do not
+        addTable("big", 100_000_000L, "a", "b", "c");
+        addTable("medium", 1_000_000L, "d", "e", "f");
+        addTable("small", 1_000L, "g", "h", "i");
+    }
+
+    @Test
+    public void testInnerJoinWithLeftSkewed() {
+        assertSplit(optimize("SELECT * FROM big JOIN medium ON a = d"), "a", "d");
+    }
+
+    @Test
+    public void testInnerJoinWithRightSkewed() {
+        assertSplit(optimize("SELECT * FROM medium JOIN big ON d = a"), "a", "d");
+    }
+
+    @Test
+    public void testSortMergeJoin() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setString(
+                        ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+                        "NestedLoopJoin,HashJoin");
+        assertSplit(optimize("SELECT * FROM big JOIN medium ON a = d"), "a", "d");
+    }
+
+    @Test
+    public void testMultipleJoinKeys() {
+        final List<BatchPhysicalSkewJoinSalt> salts =
+                optimize("SELECT * FROM big JOIN medium ON a = d AND c = f");
+        assertSplit(salts, "a", "d");
+        for (BatchPhysicalSkewJoinSalt salt : salts) {
+            assertEquals(2, salt.keyIndices().length);
+        }
+    }
+
+    @Test
+    public void testLeftJoinWithLeftSkewed() {
+        assertSplit(optimize("SELECT * FROM big LEFT JOIN medium ON a = d"), "a", "d");
+    }
+
+    @Test
+    public void testLeftJoinWithRightSkewed() {
+        // the rows of the left side must not be replicated, they would be preserved several times
+        assertNotSplit(optimize("SELECT * FROM medium LEFT JOIN big ON d = a"));
+    }
+
+    @Test
+    public void testRightJoinWithRightSkewed() {
+        assertSplit(optimize("SELECT * FROM medium RIGHT JOIN big ON d = a"), "a", "d");
+    }
+
+    @Test
+    public void testRightJoinWithLeftSkewed() {
+        assertNotSplit(optimize("SELECT * FROM big RIGHT JOIN medium ON a = d"));
+    }
+
+    @Test
+    public void testFullJoin() {
+        assertNotSplit(optimize("SELECT * FROM big FULL JOIN medium ON a = d"));
+    }
+
+    @Test
+    public void testSemiJoin() {
+        assertSplit(
+                optimize(
+                        "SELECT * FROM big WHERE EXISTS "
+                                + "(SELECT * FROM medium WHERE a = d AND e > 10)"),
+                "a",
+                "d");
+    }
+
+    @Test
+    public void testAntiJoin() {
+        assertSplit(
+                optimize(
+                        "SELECT * FROM big WHERE NOT EXISTS "
+                                + "(SELECT * FROM medium WHERE a = d AND e > 10)"),
+                "a",
+                "d");
+    }
+
+    @Test
+    public void testNoSkewDetectionBelowMinDataSize() {
+        assertNotSplit(optimize("SELECT * FROM medium JOIN small ON d = g"));
+    }
+
+    @Test
+    public void testSkewDetectionAboveMinDataSize() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .set(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_MIN_DATA_SIZE,
+                        MemorySize.parse("1 kb"));
+        assertSplit(optimize("SELECT * FROM medium JOIN small ON d = g"), "d", "g");
+    }
+
+    @Test
+    public void testSkewJoinDisabled() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_ENABLED, false);
+        assertNotSplit(optimize("SELECT * FROM big JOIN medium ON a = d"));
+    }
+
+    @Test
+    public void testBroadcastJoin() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setLong(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD,
+                        1_000_000_000L);
+        // the small side is not shuffled, so there are no hot keys to split
+        assertNotSplit(optimize("SELECT * FROM big JOIN small ON a = g"));
+    }
+
+    @Test
+    public void testSplitFactor() {
+        util.tableEnv()
+                .getConfig()
+                .getConfiguration()
+                .setInteger(OptimizerConfigOptions.TABLE_OPTIMIZER_SKEW_JOIN_SPLIT_FACTOR, 4);
+        for (BatchPhysicalSkewJoinSalt salt :
+                optimize("SELECT * FROM big JOIN medium ON a = d")) {
+            assertEquals(4, salt.splitFactor());
+        }
+    }
+
+    // ------------------------------------------------------------------------
+
+    private void addTable(String name, long rowCount, String... fields) {
+        util.addTableSource(
+                name,
+                new TypeInformation<?>[] {Types.INT, Types.LONG, Types.STRING},
+                fields,
+                FlinkStatistic.builder().tableStats(new TableStats(rowCount)).build());
+    }
+
+    private List<BatchPhysicalSkewJoinSalt> optimize(String sql) {
+        final RelNode relNode = TableTestUtil.toRelNode(util.tableEnv().sqlQuery(sql));
+        final List<BatchPhysicalSkewJoinSalt> salts = new ArrayList<>();
+        collectSalts(util.getPlanner().optimize(relNode), salts);
+        return salts;
+    }
+
+    private static void collectSalts(RelNode rel, List<BatchPhysicalSkewJoinSalt> salts) {
+        if (rel instanceof BatchPhysicalSkewJoinSalt) {
+            salts.add((BatchPhysicalSkewJoinSalt) rel);
+        }
+        for (RelNode input : rel.getInputs()) {
+            collectSalts(input, salts);
+        }
+    }
+
+    /**
+     * Asserts that the rows of the hot keys are split on the side of the skewed key and replicated
+     * on the side of the other key.
+     */
+    private static void assertSplit(
+            List<BatchPhysicalSkewJoinSalt> salts, String skewedKey, String replicatedKey) {
+        assertEquals(2, salts.size());
+        for (BatchPhysicalSkewJoinSalt salt : salts) {
+            final String key =
+                    salt.getRight().getRowType().getFieldNames().get(salt.keyIndices()[0]);
+            if (key.equals(skewedKey)) {
+                assertEquals(SkewJoinSaltOperator.Mode.SPLIT, salt.mode());
+            } else {
+                assertEquals(replicatedKey, key);
+                assertEquals(SkewJoinSaltOperator.Mode.REPLICATE, salt.mode());
+            }
+        }
+        assertTrue(salts.get(0).mode() != salts.get(1).mode());
+    }
+
+    private static void assertNotSplit(List<BatchPhysicalSkewJoinSalt> salts) {
+        assertTrue(salts.isEmpty());
+    }
+}
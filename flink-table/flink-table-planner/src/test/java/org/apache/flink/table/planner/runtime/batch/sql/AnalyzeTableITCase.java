@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.batch.sql;
+
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.catalog.Catalog;
+import org.apache.flink.table.catalog.ObjectPath;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBoolean;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.plan.stats.EquiDepthHistogram;
+import org.apache.flink.table.planner.factories.TestValuesTableFactory;
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase;
+import org.apache.flink.types.Row;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** IT case for the ANALYZE TABLE statement. */
+public class AnalyzeTableITCase extends BatchTestBase {
+
+    private Catalog catalog;
+    private ObjectPath tablePath;
+
+    @Before
+    public void before() {
+        super.before();
+        tEnv().getConfig()
+                .getConfiguration()
+                .setInteger(OptimizerConfigOptions.TABLE_OPTIMIZER_ANALYZE_HISTOGRAM_BUCKET_NUM, 2);
+
+        List<Row> data =
+                Arrays.asList(
+                        Row.of(1, "a", 1.0, LocalDate.of(2022, 1, 1), true, ts(1)),
+                        Row.of(2, "bb", 2.0, LocalDate.of(2022, 1, 2), false, ts(2)),
+                        Row.of(2, "ccc", 3.0, null, true, ts(3)),
+                        Row.of(null, null, null, null, null, null),
+                        Row.of(3, "bb", 4.0, LocalDate.of(2022, 1, 3), null, ts(4)),
+                        Row.of(4, "a", null, LocalDate.of(2022, 1, 4), true, ts(5)));
+        String dataId = TestValuesTableFactory.registerData(data);
+        tEnv().executeSql(
+                        "CREATE TABLE MyTable (\n"
+                                + "  a INT,\n"
+                                + "  b STRING,\n"
+                                + "  c DOUBLE,\n"
+                                + "  d DATE,\n"
+                                + "  e BOOLEAN,\n"
+                                + "  f TIMESTAMP(3)\n"
+                                + ") WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'data-id' = '"
+                                + dataId
+                                + "',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+
+        catalog = tEnv().getCatalog(tEnv().getCurrentCatalog()).get();
+        tablePath = new ObjectPath(tEnv().getCurrentDatabase(), "MyTable");
+    }
+
+    @Test
+    public void testAnalyzeRowCount() throws Exception {
+        tEnv().executeSql("ANALYZE TABLE MyTable COMPUTE STATISTICS").await();
+
+        assertThat(catalog.getTableStatistics(tablePath).getRowCount()).isEqualTo(6L);
+        assertThat(getColumnStatistics()).isEmpty();
+    }
+
+    @Test
+    public void testAnalyzeColumns() throws Exception {
+        tEnv().executeSql("ANALYZE TABLE MyTable COMPUTE STATISTICS FOR COLUMNS a, b").await();
+
+        assertThat(catalog.getTableStatistics(tablePath).getRowCount()).isEqualTo(6L);
+        Map<String, CatalogColumnStatisticsDataBase> columnStatistics = getColumnStatistics();
+        assertThat(columnStatistics).containsOnlyKeys("a", "b");
+        assertIntColumn(columnStatistics.get("a"));
+        assertStringColumn(columnStatistics.get("b"));
+
+        // the statistics of other columns are kept when analyzing further columns
+        tEnv().executeSql("ANALYZE TABLE MyTable COMPUTE STATISTICS FOR COLUMNS e").await();
+        assertThat(getColumnStatistics()).containsOnlyKeys("a", "b", "e");
+    }
+
+    @Test
+    public void testAnalyzeAllColumns() throws Exception {
+        tEnv().executeSql("ANALYZE TABLE MyTable COMPUTE STATISTICS FOR ALL COLUMNS").await();
+
+        assertThat(catalog.getTableStatistics(tablePath).getRowCount()).isEqualTo(6L);
+        // the timestamp column is not supported
+        Map<String, CatalogColumnStatisticsDataBase> columnStatistics = getColumnStatistics();
+        assertThat(columnStatistics).containsOnlyKeys("a", "b", "c", "d", "e");
+        assertIntColumn(columnStatistics.get("a"));
+        assertStringColumn(columnStatistics.get("b"));
+
+        CatalogColumnStatisticsDataDouble c =
+                (CatalogColumnStatisticsDataDouble) columnStatistics.get("c");
+        assertThat(c.getMin()).isEqualTo(1.0);
+        assertThat(c.getMax()).isEqualTo(4.0);
+        assertThat(c.getNdv()).isEqualTo(4L);
+        assertThat(c.getNullCount()).isEqualTo(2L);
+        assertThat(getHistogram(c)).isEqualTo(new EquiDepthHistogram(4, new double[] {1, 2, 4}));
+
+        CatalogColumnStatisticsDataDate d =
+                (CatalogColumnStatisticsDataDate) columnStatistics.get("d");
+        assertThat(d.getMin().getDaysSinceEpoch())
+                .isEqualTo(LocalDate.of(2022, 1, 1).toEpochDay());
+        assertThat(d.getMax().getDaysSinceEpoch())
+                .isEqualTo(LocalDate.of(2022, 1, 4).toEpochDay());
+        assertThat(d.getNdv()).isEqualTo(4L);
+        assertThat(d.getNullCount()).isEqualTo(2L);
+
+        CatalogColumnStatisticsDataBoolean e =
+                (CatalogColumnStatisticsDataBoolean) columnStatistics.get("e");
+        assertThat(e.getTrueCount()).isEqualTo(3L);
+        assertThat(e.getFalseCount()).isEqualTo(1L);
+        assertThat(e.getNullCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void testAnalyzeEmptyTable() throws Exception {
+        tEnv().executeSql(
+                        "CREATE TABLE EmptyTable (a INT) WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+        tEnv().executeSql("ANALYZE TABLE EmptyTable COMPUTE STATISTICS FOR ALL COLUMNS").await();
+
+        ObjectPath emptyTablePath = new ObjectPath(tEnv().getCurrentDatabase(), "EmptyTable");
+        assertThat(catalog.getTableStatistics(emptyTablePath).getRowCount()).isEqualTo(0L);
+        CatalogColumnStatisticsDataLong a =
+                (CatalogColumnStatisticsDataLong)
+                        catalog.getTableColumnStatistics(emptyTablePath)
+                                .getColumnStatisticsData()
+                                .get("a");
+        assertThat(a.getMin()).isNull();
+        assertThat(a.getMax()).isNull();
+        assertThat(a.getNullCount()).isEqualTo(0L);
+        assertThat(getHistogram(a)).isNull();
+    }
+
+    private Map<String, CatalogColumnStatisticsDataBase> getColumnStatistics() throws Exception {
+        return catalog.getTableColumnStatistics(tablePath).getColumnStatisticsData();
+    }
+
+    private static void assertIntColumn(CatalogColumnStatisticsDataBase statistics) {
+        CatalogColumnStatisticsDataLong a = (CatalogColumnStatisticsDataLong) statistics;
+        assertThat(a.getMin()).isEqualTo(1L);
+        assertThat(a.getMax()).isEqualTo(4L);
+        assertThat(a.getNdv()).isEqualTo(4L);
+        assertThat(a.getNullCount()).isEqualTo(1L);
+        // the sorted values 1, 2, 2, 3, 4 are split into the buckets [1, 2] and (2, 4]
+        assertThat(getHistogram(a)).isEqualTo(new EquiDepthHistogram(5, new double[] {1, 2, 4}));
+    }
+
+    private static void assertStringColumn(CatalogColumnStatisticsDataBase statistics) {
+        CatalogColumnStatisticsDataString b = (CatalogColumnStatisticsDataString) statistics;
+        assertThat(b.getMaxLength()).isEqualTo(3L);
+        assertThat(b.getAvgLength()).isEqualTo(1.8);
+        assertThat(b.getNdv()).isEqualTo(3L);
+        assertThat(b.getNullCount()).isEqualTo(1L);
+    }
+
+    private static EquiDepthHistogram getHistogram(CatalogColumnStatisticsDataBase statistics) {
+        String histogram = statistics.getProperties().get(EquiDepthHistogram.STATISTICS_PROPERTY);
+        return histogram == null ? null : EquiDepthHistogram.deserialize(histogram);
+    }
+
+    private static LocalDateTime ts(int second) {
+        return LocalDateTime.of(2022, 1, 1, 0, 0, second);
+    }
+}
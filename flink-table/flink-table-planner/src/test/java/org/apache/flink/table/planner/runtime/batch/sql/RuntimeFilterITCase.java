@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.batch.sql;
+
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
+import org.apache.flink.table.api.config.OptimizerConfigOptions;
+import org.apache.flink.table.catalog.Catalog;
+import org.apache.flink.table.catalog.ObjectPath;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+import org.apache.flink.table.planner.factories.TestValuesTableFactory;
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.CollectionUtil;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** IT case for the runtime filters injected into batch joins. */
+public class RuntimeFilterITCase extends BatchTestBase {
+
+    @Before
+    public void before() {
+        super.before();
+        tEnv().getConfig()
+                .getConfiguration()
+                .setBoolean(OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_ENABLED, true);
+        tEnv().getConfig()
+                .getConfiguration()
+                .set(
+                        OptimizerConfigOptions.TABLE_OPTIMIZER_RUNTIME_FILTER_MIN_PROBE_DATA_SIZE,
+                        MemorySize.parse("1 kb"));
+        tEnv().getConfig()
+                .getConfiguration()
+                .setLong(OptimizerConfigOptions.TABLE_OPTIMIZER_BROADCAST_JOIN_THRESHOLD, -1L);
+        tEnv().getConfig()
+                .getConfiguration()
+                .setString(
+                        ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS,
+                        "NestedLoopJoin,SortMergeJoin");
+
+        final List<Row> factData = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            factData.add(Row.of(i % 100, (long) i, "fact" + i));
+        }
+        factData.add(Row.of(null, 1000L, "fact1000"));
+        createTable("fact", "a INT, b BIGINT, c STRING", factData, 1_000_000L);
+        createTable(
+                "dim",
+                "d INT, e STRING",
+                Arrays.asList(
+                        Row.of(1, "dim1"),
+                        Row.of(42, "dim42"),
+                        Row.of(200, "dim200"),
+                        Row.of(null, "dimNull")),
+                4L);
+    }
+
+    @Test
+    public void testInnerJoin() {
+        final String sql = "SELECT c, e FROM fact JOIN dim ON a = d WHERE b < 300";
+        assertThat(tEnv().explainSql(sql)).contains("RuntimeFilter");
+        assertThat(query(sql))
+                .containsExactlyInAnyOrder(
+                        "+I[fact1, dim1]",
+                        "+I[fact101, dim1]",
+                        "+I[fact201, dim1]",
+                        "+I[fact42, dim42]",
+                        "+I[fact142, dim42]",
+                        "+I[fact242, dim42]");
+    }
+
+    @Test
+    public void testSemiJoin() {
+        final String sql = "SELECT c FROM fact WHERE a IN (SELECT d FROM dim) AND b < 300";
+        assertThat(tEnv().explainSql(sql)).contains("RuntimeFilter");
+        assertThat(query(sql))
+                .containsExactlyInAnyOrder(
+                        "+I[fact1]", "+I[fact101]", "+I[fact201]",
+                        "+I[fact42]", "+I[fact142]", "+I[fact242]");
+    }
+
+    @Test
+    public void testLeftJoinPreservingBuildSide() {
+        final String sql =
+                "SELECT e, COUNT(c) FROM dim LEFT JOIN fact ON a = d AND b < 300 GROUP BY e";
+        assertThat(tEnv().explainSql(sql)).contains("RuntimeFilter");
+        assertThat(query(sql))
+                .containsExactlyInAnyOrder(
+                        "+I[dim1, 3]", "+I[dim42, 3]", "+I[dim200, 0]", "+I[dimNull, 0]");
+    }
+
+    // ------------------------------------------------------------------------
+
+    private void createTable(String name, String columns, List<Row> data, long rowCount) {
+        tEnv().executeSql(
+                        "CREATE TABLE "
+                                + name
+                                + " ("
+                                + columns
+                                + ") WITH (\n"
+                                + "  'connector' = 'values',\n"
+                                + "  'data-id' = '"
+                                + TestValuesTableFactory.registerData(data)
+                                + "',\n"
+                                + "  'bounded' = 'true'\n"
+                                + ")");
+        try {
+            final Catalog catalog = tEnv().getCatalog(tEnv().getCurrentCatalog()).get();
+            catalog.alterTableStatistics(
+                    new ObjectPath(tEnv().getCurrentDatabase(), name),
+                    new CatalogTableStatistics(rowCount, 1, 1L, 1L),
+                    false);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<String> query(String sql) {
+        final List<String> result = new ArrayList<>();
+        CollectionUtil.iteratorToList(tEnv().executeSql(sql).collect())
+                .forEach(row -> result.add(row.toString()));
+        return result;
+    }
+}
@@ -62,6 +62,36 @@ class AggregateTest extends TableTestBase {
     util.verifyExecPlan("SELECT b, COUNT(a, c) FROM MyTable GROUP BY b")
   }
 
+  @Test
+  def testSketchCountDistinct(): Unit = {
+    util.verifyExecPlan(
+      "SELECT b, APPROX_COUNT_DISTINCT(c), BITMAP_COUNT_DISTINCT(a) FROM MyTable GROUP BY b")
+  }
+
+  @Test
+  def testApproxCountDistinctOnRetractingInput(): Unit = {
+    thrown.expect(classOf[TableException])
+    thrown.expectMessage(
+      "APPROX_COUNT_DISTINCT with retraction is not supported in stream mode")
+    util.verifyExecPlan(
+      """
+        |SELECT APPROX_COUNT_DISTINCT(cnt)
+        |FROM (SELECT b, COUNT(a) AS cnt FROM MyTable GROUP BY b)
+        |""".stripMargin)
+  }
+
+  @Test
+  def testBitmapCountDistinctOnRetractingInput(): Unit = {
+    thrown.expect(classOf[TableException])
+    thrown.expectMessage(
+      "BITMAP_COUNT_DISTINCT with retraction is not supported in stream mode")
+    util.verifyExecPlan(
+      """
+        |SELECT BITMAP_COUNT_DISTINCT(cnt)
+        |FROM (SELECT b, COUNT(a) AS cnt FROM MyTable GROUP BY b)
+        |""".stripMargin)
+  }
+
   @Test
   def testAggWithMiniBatch(): Unit = {
     util.tableEnv.getConfig.getConfiguration.setBoolean(
@@ -24,6 +24,7 @@ import org.apache.flink.core.testutils.FlinkMatchers.containsMessage
 import org.apache.flink.streaming.api.datastream.DataStream
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment
 import org.apache.flink.table.api._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
 import org.apache.flink.table.api.internal.TableEnvironmentInternal
 import org.apache.flink.table.data.RowData
 import org.apache.flink.table.descriptors.ConnectorDescriptorValidator.CONNECTOR_TYPE
@@ -539,6 +540,54 @@ class LookupJoinTest(legacyTableSource: Boolean) extends TableTestBase with Seri
     util.verifyExecPlan(sql)
   }
 
+  @Test
+  def testJoinTemporalTableWithKeyShuffle(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_KEY_SHUFFLE, true)
+    val sql =
+      """
+        |SELECT * FROM MyTable AS T
+        |JOIN LookupTable FOR SYSTEM_TIME AS OF T.proctime AS D
+        |ON T.a = D.id AND T.b = D.name
+      """.stripMargin
+
+    util.verifyExecPlan(sql)
+  }
+
+  @Test
+  def testJoinTemporalTableWithKeyShuffleOnConstantKey(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_KEY_SHUFFLE, true)
+    // the lookup key doesn't refer to an input field, so the input is not shuffled
+    val sql =
+      """
+        |SELECT * FROM MyTable AS T
+        |JOIN LookupTable FOR SYSTEM_TIME AS OF T.proctime AS D
+        |ON T.b = concat(D.name, '!') AND D.age = 11
+      """.stripMargin
+
+    util.verifyExecPlan(sql)
+  }
+
+  @Test
+  def testJoinTemporalTableWithKeyShuffleOnUpdatingInput(): Unit = {
+    util.tableEnv.getConfig.getConfiguration.setBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_KEY_SHUFFLE, true)
+    // the changes of a row must not be reordered, so the updating input is not shuffled
+    val sql =
+      """
+        |SELECT T.* FROM (
+        |  SELECT b, a, sum(c) c, sum(d) d, PROCTIME() as proc
+        |  FROM T1
+        |  GROUP BY a, b
+        |) AS T
+        |JOIN LookupTable FOR SYSTEM_TIME AS OF T.proc AS D
+        |ON T.b = D.name
+      """.stripMargin
+
+    util.verifyExecPlan(sql)
+  }
+
     // ==========================================================================================
 
   private def createLookupTable(tableName: String, lookupFunction: UserDefinedFunction): Unit = {
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.runtime.batch.sql.agg
+
+import org.apache.flink.api.java.typeutils.RowTypeInfo
+import org.apache.flink.table.api.Types
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase.row
+
+import org.junit.Assert.assertFalse
+import org.junit.{Before, Test}
+
+/**
+  * Tests that a calc fused into a local hash aggregate (see
+  * [[ExecutionConfigOptions.TABLE_EXEC_OPERATOR_FUSION_CODEGEN_ENABLED]]) produces the same
+  * results as the unfused plan.
+  */
+class OperatorFusionCodegenITCase extends BatchTestBase {
+
+  @Before
+  override def before(): Unit = {
+    super.before()
+    tEnv.getConfig.getConfiguration.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "SortAgg")
+    tEnv.getConfig.getConfiguration.setString(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_AGG_PHASE_STRATEGY, "TWO_PHASE")
+    registerCollection("T",
+      Seq(row(1, 1L, 1, "Hi"),
+        row(2, 2L, 2, "Hello"),
+        row(2, null, 3, "Hello"),
+        row(3, 4L, null, null),
+        row(null, 5L, 5, "Hello world"),
+        row(null, null, null, null),
+        row(1, 7L, 7, "Hi"),
+        row(3, 8L, 8, "Hello world")),
+      new RowTypeInfo(Types.INT, Types.LONG, Types.INT, Types.STRING),
+      "a, b, c, d",
+      Array(true, true, true, true))
+  }
+
+  @Test
+  def testCalcWithFilter(): Unit = {
+    checkFusedResult("SELECT a, SUM(b), COUNT(c), MAX(b) FROM T WHERE c > 1 GROUP BY a")
+  }
+
+  @Test
+  def testCalcWithProjection(): Unit = {
+    checkFusedResult(
+      "SELECT a + 1, SUM(b * 2), MIN(c + 1), COUNT(*) FROM T GROUP BY a + 1")
+  }
+
+  @Test
+  def testCalcWithFilterAndProjection(): Unit = {
+    checkFusedResult(
+      "SELECT d, AVG(b), MAX(c * 2) FROM T WHERE b IS NOT NULL OR c IS NULL GROUP BY d")
+  }
+
+  @Test
+  def testCalcWithFilterOnNullableFunction(): Unit = {
+    checkFusedResult(
+      "SELECT CHAR_LENGTH(d), SUM(a), COUNT(b) FROM T WHERE d LIKE 'H%' GROUP BY CHAR_LENGTH(d)")
+  }
+
+  @Test
+  def testCalcFilteringAllRows(): Unit = {
+    setFusionEnabled(true)
+    checkResult("SELECT a, SUM(b) FROM T WHERE c > 100 GROUP BY a", Seq())
+  }
+
+  private def setFusionEnabled(enabled: Boolean): Unit = {
+    tEnv.getConfig.getConfiguration.setBoolean(
+      ExecutionConfigOptions.TABLE_EXEC_OPERATOR_FUSION_CODEGEN_ENABLED, enabled)
+  }
+
+  /** Checks that the query returns the same rows with and without operator fusion. */
+  private def checkFusedResult(sqlQuery: String): Unit = {
+    setFusionEnabled(false)
+    val expected = executeQuery(sqlQuery)
+    assertFalse(expected.isEmpty)
+
+    setFusionEnabled(true)
+    checkResult(sqlQuery, expected)
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.flink.api.common.typeinfo.{BasicArrayTypeInfo, PrimitiveArrayT
 import org.apache.flink.api.java.typeutils.{MapTypeInfo, ObjectArrayTypeInfo, RowTypeInfo, TupleTypeInfo, TypeExtractor}
 import org.apache.flink.api.scala._
 import org.apache.flink.table.api.Types
+import org.apache.flink.table.api.config.OptimizerConfigOptions
 import org.apache.flink.table.api.config.ExecutionConfigOptions.{TABLE_EXEC_DISABLED_OPERATORS, TABLE_EXEC_RESOURCE_DEFAULT_PARALLELISM}
 import org.apache.flink.table.functions.AggregateFunction
 import org.apache.flink.table.planner.{JInt, JLong}
@@ -210,6 +211,30 @@ class SortAggITCase
         row(3, 81)))
   }
 
+  @Test
+  def testSketchCountDistinctWithTwoPhases(): Unit = {
+    tEnv.getConfig.getConfiguration.setString(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_AGG_PHASE_STRATEGY, "TWO_PHASE")
+    checkResult(
+      "SELECT b, APPROX_COUNT_DISTINCT(c), BITMAP_COUNT_DISTINCT(a) FROM Table3 GROUP BY b",
+      Seq(
+        row(1, 1, 1),
+        row(2, 2, 2),
+        row(3, 3, 3),
+        row(4, 4, 4),
+        row(5, 5, 5),
+        row(6, 6, 6)
+      )
+    )
+    checkResult(
+      "SELECT APPROX_COUNT_DISTINCT(b), BITMAP_COUNT_DISTINCT(b), " +
+        "APPROX_COUNT_DISTINCT(c), BITMAP_COUNT_DISTINCT(a) FROM Table3",
+      Seq(
+        row(6, 6, 21, 21)
+      )
+    )
+  }
+
   @Test
   def testMaxString(): Unit = {
     checkResult(
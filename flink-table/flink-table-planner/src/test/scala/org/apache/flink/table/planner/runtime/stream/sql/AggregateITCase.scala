@@ -331,6 +331,46 @@ class AggregateITCase(
     assertEquals(expected.sorted, sink.getRetractResults.sorted)
   }
 
+  @Test
+  def testSketchCountDistinct(): Unit = {
+    val data = new mutable.MutableList[(Int, Long, String)]
+    data.+=((1, 1L, "A"))
+    data.+=((1, 1L, "A"))
+    data.+=((2, 2L, "B"))
+    data.+=((3, 2L, "B"))
+    data.+=((4, 3L, null))
+    data.+=((5, 3L, "C"))
+    data.+=((5, 3L, "C"))
+    data.+=((7, 4L, "B"))
+    data.+=((8, 4L, "A"))
+    data.+=((-9, 4L, "D"))
+    data.+=((100000, 4L, "E"))
+    data.+=((11, 5L, "A"))
+    data.+=((11, 5L, "B"))
+
+    val t = failingDataSource(data).toTable(tEnv, 'a, 'b, 'c)
+    tEnv.registerTable("T", t)
+
+    val sql =
+      """
+        |SELECT
+        |  b,
+        |  COUNT(DISTINCT c),
+        |  APPROX_COUNT_DISTINCT(c),
+        |  COUNT(DISTINCT a),
+        |  BITMAP_COUNT_DISTINCT(a)
+        |FROM T
+        |GROUP BY b
+      """.stripMargin
+
+    val sink = new TestingRetractSink
+    tEnv.sqlQuery(sql).toRetractStream[Row].addSink(sink).setParallelism(1)
+    env.execute()
+
+    val expected = List("1,1,1,1,1", "2,1,1,2,2", "3,1,1,2,2", "4,4,4,4,4", "5,2,2,1,1")
+    assertEquals(expected.sorted, sink.getRetractResults.sorted)
+  }
+
   @Test
   def testDistinctAggregateMoreThan64(): Unit = {
     // this case is used to cover DistinctAggCodeGen#LongArrayValueWithoutRetractionGenerator
@@ -20,6 +20,9 @@ package org.apache.flink.table.planner.runtime.stream.sql
 import org.apache.flink.api.scala._
 import org.apache.flink.table.api.{TableSchema, Types}
 import org.apache.flink.table.api.bridge.scala._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
+import org.apache.flink.table.data.{GenericRowData, RowData, StringData}
+import org.apache.flink.table.functions.{AsyncBatchLookupFunction, AsyncTableFunction}
 import org.apache.flink.table.planner.factories.TestValuesTableFactory
 import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.{HEAP_BACKEND, ROCKSDB_BACKEND, StateBackendMode}
 import org.apache.flink.table.planner.runtime.utils.UserDefinedFunctionTestUtils._
@@ -29,10 +32,12 @@ import org.apache.flink.util.ExceptionUtils
 import org.junit.Assert.{assertEquals, assertTrue, fail}
 import org.junit.runner.RunWith
 import org.junit.runners.Parameterized
-import org.junit.{After, Before, Test}
+import org.junit.{After, Assume, Before, Test}
 
-import java.lang.{Boolean => JBoolean}
-import java.util.{Collection => JCollection}
+import java.lang.{Boolean => JBoolean, Long => JLong}
+import java.util.{Collection => JCollection, Collections => JCollections, List => JList}
+import java.util.concurrent.{CompletableFuture, ConcurrentHashMap}
+import java.util.concurrent.atomic.AtomicInteger
 
 import scala.collection.JavaConversions._
 
@@ -294,6 +299,85 @@ class AsyncLookupJoinITCase(legacyTableSource: Boolean, backend: StateBackendMod
     assertEquals(expected.sorted, sink.getAppendResults.sorted)
   }
 
+  @Test
+  def testAsyncJoinTemporalTableWithBatchedLookup(): Unit = {
+    Assume.assumeFalse(legacyTableSource)
+    tEnv.getConfig.getConfiguration.setInteger(
+      ExecutionConfigOptions.TABLE_EXEC_ASYNC_LOOKUP_BATCH_SIZE, 3)
+    tEnv.executeSql(
+      s"""
+         |CREATE TABLE batch_user_table (
+         |  `age` INT,
+         |  `id` BIGINT,
+         |  `name` STRING
+         |) WITH (
+         |  'connector' = 'values',
+         |  'lookup-function-class' = '${classOf[TestingBatchLookupFunction].getName}'
+         |)
+         |""".stripMargin)
+    TestingBatchLookupFunction.BATCH_COUNTER.set(0)
+
+    val sql = "SELECT T.id, T.len, D.name, D.age FROM src AS T LEFT JOIN batch_user_table " +
+      "for system_time as of T.proctime AS D ON T.id = D.id"
+
+    val sink = new TestingAppendSink
+    tEnv.sqlQuery(sql).toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = Seq(
+      "1,12,Julian,11",
+      "2,15,Jark,22",
+      "3,15,Fabian,33",
+      "8,11,null,null",
+      "9,12,null,null")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+    // the keys are only looked up in batches, the function fails on single lookups
+    assertTrue(TestingBatchLookupFunction.BATCH_COUNTER.get() > 0)
+  }
+
+  @Test
+  def testAsyncJoinTemporalTableWithPartialCache(): Unit = {
+    Assume.assumeFalse(legacyTableSource)
+    // the rows are cached per subtask
+    env.setParallelism(1)
+    tEnv.getConfig.getConfiguration.set(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE,
+      ExecutionConfigOptions.LookupCacheStrategy.PARTIAL)
+    createScanTable("repeated_src", data ++ data)
+    tEnv.executeSql(
+      s"""
+         |CREATE TABLE counting_user_table (
+         |  `age` INT,
+         |  `id` BIGINT,
+         |  `name` STRING
+         |) WITH (
+         |  'connector' = 'values',
+         |  'lookup-function-class' = '${classOf[AsyncCountingLookupFunction].getName}'
+         |)
+         |""".stripMargin)
+    AsyncCountingLookupFunction.LOOKUP_COUNTS.clear()
+
+    val sql = "SELECT T.id, T.len, D.name FROM repeated_src AS T JOIN counting_user_table " +
+      "for system_time as of T.proctime AS D ON T.id = D.id"
+
+    val sink = new TestingAppendSink
+    tEnv.sqlQuery(sql).toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = Seq(
+      "1,12,Julian",
+      "1,12,Julian",
+      "2,15,Jark",
+      "2,15,Jark",
+      "3,15,Fabian",
+      "3,15,Fabian")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+    // every key, including the keys without a match, is looked up only once
+    assertEquals(
+      Map(1L -> 1, 2L -> 1, 3L -> 1, 8L -> 1, 9L -> 1),
+      AsyncCountingLookupFunction.LOOKUP_COUNTS.toMap.mapValues(_.get()))
+  }
+
   @Test
   def testExceptionThrownFromAsyncJoinTemporalTable(): Unit = {
     tEnv.registerFunction("errorFunc", TestExceptionThrown)
@@ -330,3 +414,51 @@ object AsyncLookupJoinITCase {
     )
   }
 }
+
+/** An async lookup function of the user table which counts the lookups of each key. */
+class AsyncCountingLookupFunction extends AsyncTableFunction[RowData] {
+
+  def eval(resultFuture: CompletableFuture[JCollection[RowData]], id: JLong): Unit = {
+    AsyncCountingLookupFunction.LOOKUP_COUNTS
+      .computeIfAbsent(id, _ => new AtomicInteger())
+      .incrementAndGet()
+    TestingBatchLookupFunction.USERS.get(id) match {
+      case Some(user) => resultFuture.complete(JCollections.singletonList(user))
+      case None => resultFuture.complete(JCollections.emptyList[RowData]())
+    }
+  }
+}
+
+object AsyncCountingLookupFunction {
+  val LOOKUP_COUNTS = new ConcurrentHashMap[JLong, AtomicInteger]()
+}
+
+/** An async lookup function of the user table which only looks up batches of keys. */
+class TestingBatchLookupFunction extends AsyncTableFunction[RowData]
+  with AsyncBatchLookupFunction {
+
+  def eval(resultFuture: CompletableFuture[JCollection[RowData]], id: JLong): Unit = {
+    throw new UnsupportedOperationException("The keys must be looked up in batches.")
+  }
+
+  override def asyncLookupBatch(
+      keyRows: JList[RowData]): CompletableFuture[JList[JCollection[RowData]]] = {
+    TestingBatchLookupFunction.BATCH_COUNTER.incrementAndGet()
+    val results: JList[JCollection[RowData]] = keyRows.map { key =>
+      TestingBatchLookupFunction.USERS.get(key.getLong(0)) match {
+        case Some(user) => JCollections.singletonList(user)
+        case None => JCollections.emptyList[RowData]()
+      }
+    }
+    CompletableFuture.completedFuture(results)
+  }
+}
+
+object TestingBatchLookupFunction {
+  val BATCH_COUNTER = new AtomicInteger()
+
+  val USERS: Map[Long, RowData] = Map(
+    1L -> GenericRowData.of(Int.box(11), Long.box(1L), StringData.fromString("Julian")),
+    2L -> GenericRowData.of(Int.box(22), Long.box(2L), StringData.fromString("Jark")),
+    3L -> GenericRowData.of(Int.box(33), Long.box(3L), StringData.fromString("Fabian")))
+}
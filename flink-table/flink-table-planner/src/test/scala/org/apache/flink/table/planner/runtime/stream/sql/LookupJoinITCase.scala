@@ -20,6 +20,9 @@ package org.apache.flink.table.planner.runtime.stream.sql
 import org.apache.flink.api.scala._
 import org.apache.flink.table.api._
 import org.apache.flink.table.api.bridge.scala._
+import org.apache.flink.table.api.config.ExecutionConfigOptions
+import org.apache.flink.table.data.{GenericRowData, RowData, StringData}
+import org.apache.flink.table.functions.TableFunction
 import org.apache.flink.table.planner.factories.TestValuesTableFactory
 import org.apache.flink.table.planner.runtime.utils.UserDefinedFunctionTestUtils.TestAddWithOpen
 import org.apache.flink.table.planner.runtime.utils.{InMemoryLookupableTableSource, StreamingTestBase, TestingAppendSink}
@@ -28,11 +31,13 @@ import org.apache.flink.types.Row
 import org.junit.Assert.{assertEquals, assertTrue}
 import org.junit.runner.RunWith
 import org.junit.runners.Parameterized
-import org.junit.{After, Before, Test}
+import org.junit.{After, Assume, Before, Test}
 
-import java.lang.{Boolean => JBoolean}
+import java.lang.{Boolean => JBoolean, Long => JLong}
 import java.time.LocalDateTime
 import java.util.{Collection => JCollection}
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 
 import scala.collection.JavaConversions._
 
@@ -513,6 +518,49 @@ class LookupJoinITCase(legacyTableSource: Boolean) extends StreamingTestBase {
     assertEquals(expected.sorted, sink.getAppendResults.sorted)
   }
 
+  @Test
+  def testJoinTemporalTableWithPartialCache(): Unit = {
+    Assume.assumeFalse(legacyTableSource)
+    // the rows are cached per subtask
+    env.setParallelism(1)
+    tEnv.getConfig.getConfiguration.set(
+      ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE,
+      ExecutionConfigOptions.LookupCacheStrategy.PARTIAL)
+    createScanTable("repeated_src", data ++ data)
+    tEnv.executeSql(
+      s"""
+         |CREATE TABLE counting_user_table (
+         |  `age` INT,
+         |  `id` BIGINT,
+         |  `name` STRING
+         |) WITH (
+         |  'connector' = 'values',
+         |  'lookup-function-class' = '${classOf[CountingLookupFunction].getName}'
+         |)
+         |""".stripMargin)
+    CountingLookupFunction.LOOKUP_COUNTS.clear()
+
+    val sql = "SELECT T.id, T.len, D.name FROM repeated_src AS T JOIN counting_user_table " +
+      "for system_time as of T.proctime AS D ON T.id = D.id"
+
+    val sink = new TestingAppendSink
+    tEnv.sqlQuery(sql).toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = Seq(
+      "1,12,Julian",
+      "1,12,Julian",
+      "2,15,Jark",
+      "2,15,Jark",
+      "3,15,Fabian",
+      "3,15,Fabian")
+    assertEquals(expected.sorted, sink.getAppendResults.sorted)
+    // every key, including the keys without a match, is looked up only once
+    assertEquals(
+      Map(1L -> 1, 2L -> 1, 3L -> 1, 8L -> 1, 9L -> 1),
+      CountingLookupFunction.LOOKUP_COUNTS.toMap.mapValues(_.get()))
+  }
+
   @Test
   def testCurrentDateInJoinCondition(): Unit = {
     val id1 = TestValuesTableFactory.registerData(
@@ -571,3 +619,23 @@ object LookupJoinITCase {
     Seq[Array[AnyRef]](Array(JBoolean.TRUE), Array(JBoolean.FALSE))
   }
 }
+
+/** A lookup function of the user table which counts the lookups of each key. */
+class CountingLookupFunction extends TableFunction[RowData] {
+
+  def eval(id: JLong): Unit = {
+    CountingLookupFunction.LOOKUP_COUNTS
+      .computeIfAbsent(id, _ => new AtomicInteger())
+      .incrementAndGet()
+    CountingLookupFunction.USERS.get(id).foreach(collect)
+  }
+}
+
+object CountingLookupFunction {
+  val LOOKUP_COUNTS = new ConcurrentHashMap[JLong, AtomicInteger]()
+
+  val USERS: Map[Long, RowData] = Map(
+    1L -> GenericRowData.of(Int.box(11), Long.box(1L), StringData.fromString("Julian")),
+    2L -> GenericRowData.of(Int.box(22), Long.box(2L), StringData.fromString("Jark")),
+    3L -> GenericRowData.of(Int.box(33), Long.box(3L), StringData.fromString("Fabian")))
+}
@@ -25,10 +25,12 @@ import org.apache.flink.table.api._
 import org.apache.flink.table.api.bridge.scala._
 import org.apache.flink.table.api.internal.TableEnvironmentInternal
 import org.apache.flink.table.planner.factories.TestValuesTableFactory
-import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.StateBackendMode
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecRank
+import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.{HEAP_BACKEND, StateBackendMode}
 import org.apache.flink.table.planner.runtime.utils._
 import org.apache.flink.table.runtime.types.TypeInfoDataTypeConverter.fromDataTypeToTypeInfo
 import org.apache.flink.types.Row
+import org.apache.flink.util.ExceptionUtils
 
 import org.junit.Assert._
 import org.junit._
@@ -464,6 +466,66 @@ class RankITCase(mode: StateBackendMode) extends StreamingWithStateTestBase(mode
     assertEquals(expected.sorted, sink.getRetractResults.sorted)
   }
 
+  @Test
+  def testTopNWithGroupByAndRetractOnSortedState(): Unit = {
+    tEnv.getConfig.getConfiguration.setBoolean(
+      StreamExecRank.TABLE_EXEC_TOPN_SORTED_STATE_ENABLED, true)
+    val data = List(
+      ("book", 1, 11),
+      ("book", 2, 19),
+      ("book", 4, 13),
+      ("book", 1, 11),
+      ("fruit", 4, 33),
+      ("fruit", 5, 12),
+      ("fruit", 3, 44),
+      ("fruit", 5, 22))
+
+    val ds = if (mode == HEAP_BACKEND) {
+      // the job fails when the TopN is opened, before the failing source could fail
+      env.fromCollection(data).toTable(tEnv, 'category, 'shopId, 'num)
+    } else {
+      failingDataSource(data).toTable(tEnv, 'category, 'shopId, 'num)
+    }
+    tEnv.registerTable("T", ds)
+
+    val sql =
+      """
+        |SELECT *
+        |FROM (
+        |  SELECT category, shopId, num, cnt,
+        |      ROW_NUMBER() OVER (PARTITION BY category ORDER BY num DESC, cnt ASC) as rank_num
+        |  FROM (
+        |     SELECT category, shopId, sum(num) as num, count(num) as cnt
+        |     FROM T
+        |     GROUP BY category, shopId
+        |  ))
+        |WHERE rank_num <= 2
+      """.stripMargin
+
+    val sink = new TestingRetractSink
+    tEnv.sqlQuery(sql).toRetractStream[Row].addSink(sink).setParallelism(1)
+    if (mode == HEAP_BACKEND) {
+      // the heap state backend doesn't iterate the map states in the order of the keys
+      try {
+        env.execute()
+        fail("The sorted state TopN should fail on the heap state backend.")
+      } catch {
+        case e: Exception =>
+          assertTrue(ExceptionUtils.findThrowableWithMessage(
+            e, "requires the RocksDB state backend").isPresent)
+      }
+      return
+    }
+    env.execute()
+
+    val expected = List(
+      "book,1,22,2,1",
+      "book,2,19,1,2",
+      "fruit,3,44,1,1",
+      "fruit,5,34,2,2")
+    assertEquals(expected.sorted, sink.getRetractResults.sorted)
+  }
+
   @Test
   def testTopNthWithGroupByAndRetract(): Unit = {
     val data = List(
@@ -236,6 +236,42 @@ class WindowAggregateITCase(
     assertEquals(expected.sorted.mkString("\n"), sink.getAppendResults.sorted.mkString("\n"))
   }
 
+  @Test
+  def testEventTimeHopWindowWithSketchCountDistinct(): Unit = {
+    // the accumulator of a slice is merged into the two windows it belongs to
+    val sql =
+      """
+        |SELECT
+        |  `name`,
+        |  window_start,
+        |  window_end,
+        |  COUNT(DISTINCT `string`),
+        |  APPROX_COUNT_DISTINCT(`string`),
+        |  BITMAP_COUNT_DISTINCT(`int`)
+        |FROM TABLE(
+        |   HOP(TABLE T1, DESCRIPTOR(rowtime), INTERVAL '5' SECOND, INTERVAL '10' SECOND))
+        |GROUP BY `name`, window_start, window_end
+      """.stripMargin
+
+    val sink = new TestingAppendSink
+    tEnv.sqlQuery(sql).toAppendStream[Row].addSink(sink)
+    env.execute()
+
+    val expected = Seq(
+      "a,2020-10-09T23:59:55,2020-10-10T00:00:05,2,2,3",
+      "a,2020-10-10T00:00,2020-10-10T00:00:10,3,3,4",
+      "a,2020-10-10T00:00:05,2020-10-10T00:00:15,1,1,1",
+      "b,2020-10-10T00:00,2020-10-10T00:00:10,2,2,2",
+      "b,2020-10-10T00:00:05,2020-10-10T00:00:15,2,2,2",
+      "b,2020-10-10T00:00:10,2020-10-10T00:00:20,1,1,1",
+      "b,2020-10-10T00:00:15,2020-10-10T00:00:25,1,1,1",
+      "b,2020-10-10T00:00:25,2020-10-10T00:00:35,1,1,1",
+      "b,2020-10-10T00:00:30,2020-10-10T00:00:40,1,1,1",
+      "null,2020-10-10T00:00:25,2020-10-10T00:00:35,0,0,1",
+      "null,2020-10-10T00:00:30,2020-10-10T00:00:40,0,0,1")
+    assertEquals(expected.sorted.mkString("\n"), sink.getAppendResults.sorted.mkString("\n"))
+  }
+
   @Test
   def testCascadeEventTimeTumbleWindowWithOffset(): Unit = {
     val sql =
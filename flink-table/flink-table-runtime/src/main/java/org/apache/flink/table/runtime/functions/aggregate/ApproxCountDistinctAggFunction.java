@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions.aggregate;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.runtime.functions.aggregate.sketch.HyperLogLog;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.table.types.utils.DataTypeUtils.toInternalDataType;
+
+/**
+ * Built-in APPROX_COUNT_DISTINCT aggregate function. It estimates the number of distinct values by
+ * a {@link HyperLogLog} sketch, so its accumulator has a bounded size of a few kilobytes and can be
+ * merged, e.g. in two-phase and window aggregations.
+ */
+@Internal
+public final class ApproxCountDistinctAggFunction<T>
+        extends BuiltInAggregateFunction<
+                Long, ApproxCountDistinctAggFunction.ApproxCountDistinctAccumulator> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient DataType valueDataType;
+
+    public ApproxCountDistinctAggFunction(LogicalType valueType) {
+        this.valueDataType = toInternalDataType(valueType);
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Planning
+    // --------------------------------------------------------------------------------------------
+
+    @Override
+    public List<DataType> getArgumentDataTypes() {
+        return Collections.singletonList(valueDataType);
+    }
+
+    @Override
+    public DataType getAccumulatorDataType() {
+        return DataTypes.STRUCTURED(
+                ApproxCountDistinctAccumulator.class,
+                DataTypes.FIELD("sketch", DataTypes.BYTES().notNull()));
+    }
+
+    @Override
+    public DataType getOutputDataType() {
+        return DataTypes.BIGINT().notNull();
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Runtime
+    // --------------------------------------------------------------------------------------------
+
+    /** Accumulator for APPROX_COUNT_DISTINCT. */
+    public static class ApproxCountDistinctAccumulator {
+        public byte[] sketch;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ApproxCountDistinctAccumulator that = (ApproxCountDistinctAccumulator) o;
+            return Arrays.equals(sketch, that.sketch);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(sketch);
+        }
+    }
+
+    @Override
+    public ApproxCountDistinctAccumulator createAccumulator() {
+        final ApproxCountDistinctAccumulator acc = new ApproxCountDistinctAccumulator();
+        acc.sketch = HyperLogLog.newSketch();
+        return acc;
+    }
+
+    public void resetAccumulator(ApproxCountDistinctAccumulator acc) {
+        acc.sketch = HyperLogLog.newSketch();
+    }
+
+    public void accumulate(ApproxCountDistinctAccumulator acc, T value) {
+        if (value != null) {
+            acc.sketch = HyperLogLog.add(acc.sketch, HyperLogLog.hash(value));
+        }
+    }
+
+    public void merge(
+            ApproxCountDistinctAccumulator acc, Iterable<ApproxCountDistinctAccumulator> its) {
+        for (ApproxCountDistinctAccumulator other : its) {
+            acc.sketch = HyperLogLog.merge(acc.sketch, other.sketch);
+        }
+    }
+
+    @Override
+    public Long getValue(ApproxCountDistinctAccumulator acc) {
+        return HyperLogLog.estimate(acc.sketch);
+    }
+}
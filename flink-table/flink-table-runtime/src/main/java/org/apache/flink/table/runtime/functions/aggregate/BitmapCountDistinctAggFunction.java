@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions.aggregate;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.dataview.MapView;
+import org.apache.flink.table.runtime.functions.aggregate.sketch.BitmapContainer;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.flink.table.types.utils.DataTypeUtils.toInternalDataType;
+
+/**
+ * Built-in BITMAP_COUNT_DISTINCT aggregate function. It counts the distinct values of an integer
+ * argument exactly by a roaring bitmap, whose {@link BitmapContainer containers} are stored in a
+ * {@link MapView} keyed by the high bits of the values. A value therefore takes at most 2 bytes of
+ * state, and much less for dense domains like ids, and an update only touches a single container.
+ */
+@Internal
+public final class BitmapCountDistinctAggFunction
+        extends BuiltInAggregateFunction<
+                Long, BitmapCountDistinctAggFunction.BitmapCountDistinctAccumulator> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient DataType valueDataType;
+
+    public BitmapCountDistinctAggFunction(LogicalType valueType) {
+        this.valueDataType = toInternalDataType(valueType);
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Planning
+    // --------------------------------------------------------------------------------------------
+
+    @Override
+    public List<DataType> getArgumentDataTypes() {
+        return Collections.singletonList(valueDataType);
+    }
+
+    @Override
+    public DataType getAccumulatorDataType() {
+        return DataTypes.STRUCTURED(
+                BitmapCountDistinctAccumulator.class,
+                DataTypes.FIELD(
+                        "containers",
+                        MapView.newMapViewDataType(
+                                DataTypes.BIGINT().notNull(), DataTypes.BYTES().notNull())),
+                DataTypes.FIELD("count", DataTypes.BIGINT().notNull()));
+    }
+
+    @Override
+    public DataType getOutputDataType() {
+        return DataTypes.BIGINT().notNull();
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Runtime
+    // --------------------------------------------------------------------------------------------
+
+    /** Accumulator for BITMAP_COUNT_DISTINCT. */
+    public static class BitmapCountDistinctAccumulator {
+        public MapView<Long, byte[]> containers;
+        public long count;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BitmapCountDistinctAccumulator that = (BitmapCountDistinctAccumulator) o;
+            return count == that.count && Objects.equals(containers, that.containers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(containers, count);
+        }
+    }
+
+    @Override
+    public BitmapCountDistinctAccumulator createAccumulator() {
+        final BitmapCountDistinctAccumulator acc = new BitmapCountDistinctAccumulator();
+        acc.containers = new MapView<>();
+        acc.count = 0L;
+        return acc;
+    }
+
+    public void resetAccumulator(BitmapCountDistinctAccumulator acc) {
+        acc.containers.clear();
+        acc.count = 0L;
+    }
+
+    public void accumulate(BitmapCountDistinctAccumulator acc, Number value) throws Exception {
+        if (value != null) {
+            long longValue = value.longValue();
+            long high = longValue >> BitmapContainer.NUM_LOW_BITS;
+            int low = BitmapContainer.lowBits(longValue);
+            byte[] container = acc.containers.get(high);
+            if (container == null) {
+                container = BitmapContainer.newContainer();
+            }
+            if (!BitmapContainer.contains(container, low)) {
+                acc.containers.put(high, BitmapContainer.add(container, low));
+                acc.count++;
+            }
+        }
+    }
+
+    public void merge(
+            BitmapCountDistinctAccumulator acc, Iterable<BitmapCountDistinctAccumulator> its)
+            throws Exception {
+        for (BitmapCountDistinctAccumulator other : its) {
+            for (Map.Entry<Long, byte[]> entry : other.containers.entries()) {
+                byte[] container = acc.containers.get(entry.getKey());
+                byte[] merged;
+                if (container == null) {
+                    // copy the container, the other accumulator may be used again, e.g. the
+                    // accumulator of a slice is merged into several windows
+                    merged = entry.getValue().clone();
+                    acc.count += BitmapContainer.cardinality(merged);
+                } else {
+                    long cardinality = BitmapContainer.cardinality(container);
+                    merged = BitmapContainer.union(container, entry.getValue());
+                    acc.count += BitmapContainer.cardinality(merged) - cardinality;
+                }
+                acc.containers.put(entry.getKey(), merged);
+            }
+        }
+    }
+
+    @Override
+    public Long getValue(BitmapCountDistinctAccumulator acc) {
+        return acc.count;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions.aggregate.sketch;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.Arrays;
+
+/**
+ * Utilities for the containers of a roaring bitmap, which are stored in plain byte arrays, so that
+ * they can be used as values of data views.
+ *
+ * <p>A roaring bitmap splits the values into chunks by their high bits, and stores the low 16 bits
+ * of the values of each chunk in a container. A container with at most {@link
+ * #MAX_ARRAY_CARDINALITY} values is an array container, which contains the sorted values as 2 byte
+ * unsigned integers. Otherwise, it is a bitmap container of {@link #BITMAP_SIZE_IN_BYTES} bytes.
+ */
+@Internal
+public final class BitmapContainer {
+
+    /** The number of low bits of a value which are stored in a container. */
+    public static final int NUM_LOW_BITS = 16;
+
+    /** The maximum cardinality of an array container, it is smaller than a bitmap container. */
+    static final int MAX_ARRAY_CARDINALITY = 4095;
+
+    static final int BITMAP_SIZE_IN_BYTES = (1 << NUM_LOW_BITS) / Byte.SIZE;
+
+    private static final int LOW_BITS_MASK = (1 << NUM_LOW_BITS) - 1;
+
+    private BitmapContainer() {}
+
+    /** Creates an empty container. */
+    public static byte[] newContainer() {
+        return new byte[0];
+    }
+
+    /** Returns the low bits of the value which are stored in a container. */
+    public static int lowBits(long value) {
+        return (int) (value & LOW_BITS_MASK);
+    }
+
+    /** Returns whether the container contains the given low bits. */
+    public static boolean contains(byte[] container, int low) {
+        if (isBitmap(container)) {
+            return (container[low >>> 3] & (1 << (low & 7))) != 0;
+        }
+        return binarySearch(container, low) >= 0;
+    }
+
+    /**
+     * Adds the low bits, which must not be contained yet, to the container.
+     *
+     * @return the container containing the low bits, it is either the given container which has
+     *     been updated in place or a new one
+     */
+    public static byte[] add(byte[] container, int low) {
+        if (isBitmap(container)) {
+            container[low >>> 3] |= (byte) (1 << (low & 7));
+            return container;
+        }
+        int cardinality = container.length / 2;
+        if (cardinality == MAX_ARRAY_CARDINALITY) {
+            byte[] bitmap = toBitmap(container);
+            bitmap[low >>> 3] |= (byte) (1 << (low & 7));
+            return bitmap;
+        }
+        int insertOffset = (-binarySearch(container, low) - 1) * 2;
+        byte[] array = new byte[container.length + 2];
+        System.arraycopy(container, 0, array, 0, insertOffset);
+        putShort(array, insertOffset, low);
+        System.arraycopy(
+                container, insertOffset, array, insertOffset + 2, container.length - insertOffset);
+        return array;
+    }
+
+    /** Returns the number of values in the container. */
+    public static int cardinality(byte[] container) {
+        if (isBitmap(container)) {
+            int cardinality = 0;
+            for (byte b : container) {
+                cardinality += Integer.bitCount(b & 0xFF);
+            }
+            return cardinality;
+        }
+        return container.length / 2;
+    }
+
+    /**
+     * Returns the union of the two containers.
+     *
+     * @return the union, it is either the first container which has been updated in place or a
+     *     new one
+     */
+    public static byte[] union(byte[] container, byte[] other) {
+        if (isBitmap(container) || isBitmap(other)) {
+            byte[] bitmap = isBitmap(container) ? container : toBitmap(container);
+            if (isBitmap(other)) {
+                for (int i = 0; i < BITMAP_SIZE_IN_BYTES; i++) {
+                    bitmap[i] |= other[i];
+                }
+            } else {
+                for (int offset = 0; offset < other.length; offset += 2) {
+                    int low = getShort(other, offset);
+                    bitmap[low >>> 3] |= (byte) (1 << (low & 7));
+                }
+            }
+            return bitmap;
+        }
+
+        // merge two sorted arrays
+        byte[] merged = new byte[container.length + other.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < container.length || j < other.length) {
+            int value;
+            if (j >= other.length) {
+                value = getShort(container, i);
+                i += 2;
+            } else if (i >= container.length) {
+                value = getShort(other, j);
+                j += 2;
+            } else {
+                int left = getShort(container, i);
+                int right = getShort(other, j);
+                value = Math.min(left, right);
+                if (left <= right) {
+                    i += 2;
+                }
+                if (right <= left) {
+                    j += 2;
+                }
+            }
+            putShort(merged, k, value);
+            k += 2;
+        }
+        merged = k == merged.length ? merged : Arrays.copyOf(merged, k);
+        return k / 2 > MAX_ARRAY_CARDINALITY ? toBitmap(merged) : merged;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private static boolean isBitmap(byte[] container) {
+        return container.length == BITMAP_SIZE_IN_BYTES;
+    }
+
+    private static byte[] toBitmap(byte[] array) {
+        byte[] bitmap = new byte[BITMAP_SIZE_IN_BYTES];
+        for (int offset = 0; offset < array.length; offset += 2) {
+            int low = getShort(array, offset);
+            bitmap[low >>> 3] |= (byte) (1 << (low & 7));
+        }
+        return bitmap;
+    }
+
+    /** Same contract as {@link Arrays#binarySearch(int[], int)} on the values of the array. */
+    private static int binarySearch(byte[] array, int low) {
+        int from = 0;
+        int to = array.length / 2 - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int midValue = getShort(array, mid * 2);
+            if (midValue < low) {
+                from = mid + 1;
+            } else if (midValue > low) {
+                to = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(from + 1);
+    }
+
+    private static int getShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static void putShort(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 8);
+        bytes[offset + 1] = (byte) value;
+    }
+}
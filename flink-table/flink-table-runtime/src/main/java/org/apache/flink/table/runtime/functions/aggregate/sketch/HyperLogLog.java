@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions.aggregate.sketch;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.runtime.util.MurmurHashUtil;
+
+import java.util.Arrays;
+
+/**
+ * Utilities to build, merge and estimate HyperLogLog sketches which are stored in plain byte
+ * arrays, so that they can be used as mergeable accumulators of aggregate functions.
+ *
+ * <p>Like HyperLogLog++, the sketch uses 64-bit hashes, so no large range correction is needed,
+ * and starts with a sparse representation, so that the sketch of a small set is small as well. A
+ * sparse sketch consists of a header byte and the sorted (register index, register value) pairs of
+ * the non-empty registers, each encoded in an int. Once it holds more than {@link
+ * #MAX_SPARSE_REGISTERS} registers, it is converted to a dense sketch which consists of a header
+ * byte and one byte for each of the {@link #NUM_REGISTERS} registers.
+ *
+ * <p>The relative standard error of the estimate is about {@code 1.04 / sqrt(NUM_REGISTERS)}, i.e.
+ * 0.81%. Small cardinalities are estimated by linear counting and are nearly exact.
+ */
+@Internal
+public final class HyperLogLog {
+
+    /** The number of bits of the hash used as register index. */
+    static final int PRECISION = 14;
+
+    static final int NUM_REGISTERS = 1 << PRECISION;
+
+    /** The maximum number of registers of a sparse sketch, it is a quarter of the dense size. */
+    static final int MAX_SPARSE_REGISTERS = NUM_REGISTERS / 16;
+
+    private static final byte SPARSE = 0;
+    private static final byte DENSE = 1;
+    private static final int HEADER_SIZE = 1;
+    private static final int SPARSE_ENTRY_SIZE = 4;
+    private static final int DENSE_SIZE = HEADER_SIZE + NUM_REGISTERS;
+
+    private static final double ALPHA_MM =
+            0.7213 / (1 + 1.079 / NUM_REGISTERS) * NUM_REGISTERS * NUM_REGISTERS;
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private HyperLogLog() {}
+
+    /** Creates an empty sketch. */
+    public static byte[] newSketch() {
+        return new byte[] {SPARSE};
+    }
+
+    /**
+     * Adds the given 64-bit hash to the sketch.
+     *
+     * @return the sketch containing the hash, it is either the given sketch which has been updated
+     *     in place or a new one
+     */
+    public static byte[] add(byte[] sketch, long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // the number of leading zeros of the remaining bits plus one, at most 64 - PRECISION + 1
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        return setRegister(sketch, index, rank);
+    }
+
+    /**
+     * Merges the second sketch into the first one.
+     *
+     * @return the merged sketch, it is either the first sketch which has been updated in place or
+     *     a new one
+     */
+    public static byte[] merge(byte[] sketch, byte[] other) {
+        if (other[0] == DENSE) {
+            if (sketch[0] == SPARSE) {
+                byte[] merged = Arrays.copyOf(other, DENSE_SIZE);
+                mergeSparseIntoDense(sketch, merged);
+                return merged;
+            }
+            for (int i = HEADER_SIZE; i < DENSE_SIZE; i++) {
+                if (other[i] > sketch[i]) {
+                    sketch[i] = other[i];
+                }
+            }
+            return sketch;
+        }
+        byte[] merged = sketch;
+        for (int offset = HEADER_SIZE; offset < other.length; offset += SPARSE_ENTRY_SIZE) {
+            int entry = getInt(other, offset);
+            merged = setRegister(merged, entry >>> 8, entry & 0xFF);
+        }
+        return merged;
+    }
+
+    /** Returns the estimated number of distinct hashes added to the sketch. */
+    public static long estimate(byte[] sketch) {
+        if (sketch[0] == SPARSE) {
+            int numEmptyRegisters = NUM_REGISTERS - numSparseRegisters(sketch);
+            return Math.round(linearCounting(numEmptyRegisters));
+        }
+        double sum = 0;
+        int numEmptyRegisters = 0;
+        for (int i = HEADER_SIZE; i < DENSE_SIZE; i++) {
+            sum += 1.0 / (1L << sketch[i]);
+            if (sketch[i] == 0) {
+                numEmptyRegisters++;
+            }
+        }
+        double estimate = ALPHA_MM / sum;
+        if (estimate <= 2.5 * NUM_REGISTERS && numEmptyRegisters > 0) {
+            estimate = linearCounting(numEmptyRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns the 64-bit hash of a value of internal data structure. Atomic values are hashed by
+     * content, other values by {@link Object#hashCode()}.
+     */
+    public static long hash(Object value) {
+        if (value instanceof StringData) {
+            return hashBytes(((StringData) value).toBytes());
+        } else if (value instanceof byte[]) {
+            return hashBytes((byte[]) value);
+        } else if (value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte) {
+            return hashLong(((Number) value).longValue());
+        } else if (value instanceof Float || value instanceof Double) {
+            double doubleValue = ((Number) value).doubleValue();
+            // normalize -0.0 to 0.0, NaN is normalized by doubleToLongBits
+            return hashLong(Double.doubleToLongBits(doubleValue == 0.0 ? 0.0 : doubleValue));
+        } else if (value instanceof Boolean) {
+            return hashLong((Boolean) value ? 1L : 0L);
+        } else if (value instanceof DecimalData) {
+            DecimalData decimal = (DecimalData) value;
+            return decimal.isCompact()
+                    ? hashLong(decimal.toUnscaledLong())
+                    : hashBytes(decimal.toUnscaledBytes());
+        } else if (value instanceof TimestampData) {
+            TimestampData timestamp = (TimestampData) value;
+            return hashLong(
+                    hashLong(timestamp.getMillisecond()) ^ timestamp.getNanoOfMillisecond());
+        } else {
+            return hashLong(value.hashCode());
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private static byte[] setRegister(byte[] sketch, int index, int rank) {
+        if (sketch[0] == DENSE) {
+            if (rank > sketch[HEADER_SIZE + index]) {
+                sketch[HEADER_SIZE + index] = (byte) rank;
+            }
+            return sketch;
+        }
+
+        int numRegisters = numSparseRegisters(sketch);
+        int low = 0;
+        int high = numRegisters - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = HEADER_SIZE + mid * SPARSE_ENTRY_SIZE;
+            int entry = getInt(sketch, offset);
+            int midIndex = entry >>> 8;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                if (rank > (entry & 0xFF)) {
+                    putInt(sketch, offset, (index << 8) | rank);
+                }
+                return sketch;
+            }
+        }
+
+        if (numRegisters == MAX_SPARSE_REGISTERS) {
+            byte[] dense = new byte[DENSE_SIZE];
+            dense[0] = DENSE;
+            mergeSparseIntoDense(sketch, dense);
+            dense[HEADER_SIZE + index] = (byte) rank;
+            return dense;
+        }
+        int insertOffset = HEADER_SIZE + low * SPARSE_ENTRY_SIZE;
+        byte[] sparse = new byte[sketch.length + SPARSE_ENTRY_SIZE];
+        System.arraycopy(sketch, 0, sparse, 0, insertOffset);
+        putInt(sparse, insertOffset, (index << 8) | rank);
+        System.arraycopy(
+                sketch,
+                insertOffset,
+                sparse,
+                insertOffset + SPARSE_ENTRY_SIZE,
+                sketch.length - insertOffset);
+        return sparse;
+    }
+
+    /** Sets the registers of the sparse sketch to the dense sketch if they are larger. */
+    private static void mergeSparseIntoDense(byte[] sparse, byte[] dense) {
+        for (int offset = HEADER_SIZE; offset < sparse.length; offset += SPARSE_ENTRY_SIZE) {
+            int entry = getInt(sparse, offset);
+            int index = HEADER_SIZE + (entry >>> 8);
+            byte rank = (byte) (entry & 0xFF);
+            if (rank > dense[index]) {
+                dense[index] = rank;
+            }
+        }
+    }
+
+    private static int numSparseRegisters(byte[] sketch) {
+        return (sketch.length - HEADER_SIZE) / SPARSE_ENTRY_SIZE;
+    }
+
+    private static double linearCounting(int numEmptyRegisters) {
+        return NUM_REGISTERS * Math.log((double) NUM_REGISTERS / numEmptyRegisters);
+    }
+
+    private static long hashLong(long value) {
+        return MurmurHashUtil.fmix(value ^ SEED);
+    }
+
+    /** A 64-bit variant of the murmur3 hash which processes 8 bytes at a time. */
+    private static long hashBytes(byte[] bytes) {
+        long h = SEED;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long k = 0;
+            for (int j = 7; j >= 0; j--) {
+                k = (k << 8) | (bytes[i + j] & 0xFF);
+            }
+            h ^= mixK(k);
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        if (i < bytes.length) {
+            long k = 0;
+            for (int j = bytes.length - 1; j >= i; j--) {
+                k = (k << 8) | (bytes[j] & 0xFF);
+            }
+            h ^= mixK(k);
+        }
+        return MurmurHashUtil.fmix(h ^ bytes.length);
+    }
+
+    private static long mixK(long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        return k * C2;
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+                | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
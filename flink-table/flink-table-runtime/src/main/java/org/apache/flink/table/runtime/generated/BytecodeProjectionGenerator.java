@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.generated;
+
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeChecks;
+
+import org.apache.flink.shaded.asm7.org.objectweb.asm.ClassWriter;
+import org.apache.flink.shaded.asm7.org.objectweb.asm.Label;
+import org.apache.flink.shaded.asm7.org.objectweb.asm.MethodVisitor;
+import org.apache.flink.shaded.asm7.org.objectweb.asm.Opcodes;
+import org.apache.flink.shaded.asm7.org.objectweb.asm.Type;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Generates the bytecode of a {@link Projection} which copies fields of a {@link RowData} into a
+ * reused {@link BinaryRowData} directly, i.e. without generating Java code and compiling it with
+ * Janino.
+ *
+ * <p>The generated class is equivalent to the Java code of the planner's projection code generator
+ * for a field projection: each output field is read from the input row by a typed getter and
+ * written by the {@link BinaryRowWriter}. The fields are copied by several private methods of at
+ * most {@code fieldsPerMethod} fields each, so that the methods of wide projections stay small
+ * enough to be compiled by the JIT.
+ */
+public final class BytecodeProjectionGenerator {
+
+    /** The default number of fields copied by each generated method. */
+    public static final int DEFAULT_FIELDS_PER_METHOD = 64;
+
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String PROJECTION = Type.getInternalName(Projection.class);
+    private static final String ROW_DATA = Type.getInternalName(RowData.class);
+    private static final String BINARY_ROW = Type.getInternalName(BinaryRowData.class);
+    private static final String WRITER = Type.getInternalName(BinaryRowWriter.class);
+
+    private static final String ROW_DATA_DESC = Type.getDescriptor(RowData.class);
+    private static final String BINARY_ROW_DESC = Type.getDescriptor(BinaryRowData.class);
+    private static final String WRITER_DESC = Type.getDescriptor(BinaryRowWriter.class);
+
+    private static final String WRITE_DECIMAL_DESC =
+            "(ILorg/apache/flink/table/data/DecimalData;I)V";
+    private static final String WRITE_TIMESTAMP_DESC =
+            "(ILorg/apache/flink/table/data/TimestampData;I)V";
+
+    private static final String OUT_FIELD = "out";
+    private static final String OUT_WRITER_FIELD = "outWriter";
+
+    private BytecodeProjectionGenerator() {}
+
+    /**
+     * Returns whether a field projection from the input type to the output type is supported, i.e.
+     * each output field is an input field of the same type (ignoring nullability) and all the
+     * types are atomic types which are written by the {@link BinaryRowWriter} directly.
+     */
+    public static boolean isSupported(RowType inputType, RowType outputType, int[] inputMapping) {
+        if (outputType.getFieldCount() != inputMapping.length) {
+            return false;
+        }
+        for (int i = 0; i < inputMapping.length; i++) {
+            int index = inputMapping[i];
+            if (index < 0 || index >= inputType.getFieldCount()) {
+                return false;
+            }
+            LogicalType inputFieldType = inputType.getTypeAt(index);
+            if (!isSupported(inputFieldType)
+                    || !inputFieldType.copy(true).equals(outputType.getTypeAt(i).copy(true))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupported(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+            case BOOLEAN:
+            case BINARY:
+            case VARBINARY:
+            case DECIMAL:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+            case FLOAT:
+            case DOUBLE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Generates the bytecode of a projection class.
+     *
+     * @param className the name of the generated class, without package
+     * @param inputType the type of the input rows
+     * @param inputMapping the input field index of each output field
+     * @param fieldsPerMethod the maximum number of fields copied by a generated method
+     * @return the bytecode of the class
+     */
+    public static byte[] generate(
+            String className, RowType inputType, int[] inputMapping, int fieldsPerMethod) {
+        checkArgument(fieldsPerMethod > 0, "The fields per method must be positive.");
+        ClassWriter cw =
+                new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+                    @Override
+                    protected String getCommonSuperClass(String type1, String type2) {
+                        // the frames only merge identical types, avoid loading any class
+                        return OBJECT;
+                    }
+                };
+        cw.visit(
+                Opcodes.V1_8,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                className,
+                null,
+                OBJECT,
+                new String[] {PROJECTION});
+        cw.visitField(
+                        Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                        OUT_FIELD,
+                        BINARY_ROW_DESC,
+                        null,
+                        null)
+                .visitEnd();
+        cw.visitField(
+                        Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                        OUT_WRITER_FIELD,
+                        WRITER_DESC,
+                        null,
+                        null)
+                .visitEnd();
+
+        generateConstructor(cw, className, inputMapping.length);
+        int numMethods = (inputMapping.length + fieldsPerMethod - 1) / fieldsPerMethod;
+        generateApply(cw, className, numMethods);
+        for (int m = 0; m < numMethods; m++) {
+            int from = m * fieldsPerMethod;
+            int to = Math.min(from + fieldsPerMethod, inputMapping.length);
+            generateProject(cw, className, m, inputType, inputMapping, from, to);
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /** Generates the constructor which is invoked with the references like a compiled class. */
+    private static void generateConstructor(ClassWriter cw, String className, int arity) {
+        MethodVisitor mv =
+                cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+
+        // out = new BinaryRowData(arity)
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitTypeInsn(Opcodes.NEW, BINARY_ROW);
+        mv.visitInsn(Opcodes.DUP);
+        pushInt(mv, arity);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, BINARY_ROW, "<init>", "(I)V", false);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, className, OUT_FIELD, BINARY_ROW_DESC);
+
+        // outWriter = new BinaryRowWriter(out)
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitTypeInsn(Opcodes.NEW, WRITER);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, className, OUT_FIELD, BINARY_ROW_DESC);
+        mv.visitMethodInsn(
+                Opcodes.INVOKESPECIAL, WRITER, "<init>", "(" + BINARY_ROW_DESC + ")V", false);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, className, OUT_WRITER_FIELD, WRITER_DESC);
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /** Generates the erased {@code apply} method which resets, fills and completes the row. */
+    private static void generateApply(ClassWriter cw, String className, int numMethods) {
+        MethodVisitor mv =
+                cw.visitMethod(
+                        Opcodes.ACC_PUBLIC,
+                        "apply",
+                        "(" + ROW_DATA_DESC + ")" + ROW_DATA_DESC,
+                        null,
+                        null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, className, OUT_WRITER_FIELD, WRITER_DESC);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, WRITER, "reset", "()V", false);
+        for (int m = 0; m < numMethods; m++) {
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitMethodInsn(
+                    Opcodes.INVOKESPECIAL,
+                    className,
+                    projectMethodName(m),
+                    "(" + ROW_DATA_DESC + ")V",
+                    false);
+        }
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, className, OUT_WRITER_FIELD, WRITER_DESC);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, WRITER, "complete", "()V", false);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, className, OUT_FIELD, BINARY_ROW_DESC);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /** Generates a method which copies the output fields {@code [from, to)}. */
+    private static void generateProject(
+            ClassWriter cw,
+            String className,
+            int method,
+            RowType inputType,
+            int[] inputMapping,
+            int from,
+            int to) {
+        MethodVisitor mv =
+                cw.visitMethod(
+                        Opcodes.ACC_PRIVATE,
+                        projectMethodName(method),
+                        "(" + ROW_DATA_DESC + ")V",
+                        null,
+                        null);
+        mv.visitCode();
+        // local 1 is the input row, local 2 the writer
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, className, OUT_WRITER_FIELD, WRITER_DESC);
+        mv.visitVarInsn(Opcodes.ASTORE, 2);
+        for (int pos = from; pos < to; pos++) {
+            int index = inputMapping[pos];
+            LogicalType type = inputType.getTypeAt(index);
+            Label end = new Label();
+            if (type.isNullable()) {
+                Label notNull = new Label();
+                mv.visitVarInsn(Opcodes.ALOAD, 1);
+                pushInt(mv, index);
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, ROW_DATA, "isNullAt", "(I)Z", true);
+                mv.visitJumpInsn(Opcodes.IFEQ, notNull);
+                writeNull(mv, pos, type);
+                mv.visitJumpInsn(Opcodes.GOTO, end);
+                mv.visitLabel(notNull);
+            }
+            writeField(mv, pos, index, type);
+            mv.visitLabel(end);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void writeNull(MethodVisitor mv, int pos, LogicalType type) {
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        pushInt(mv, pos);
+        int precision;
+        switch (type.getTypeRoot()) {
+            case DECIMAL:
+                precision = LogicalTypeChecks.getPrecision(type);
+                if (!DecimalData.isCompact(precision)) {
+                    // the variable length part must be reserved for a later update
+                    mv.visitInsn(Opcodes.ACONST_NULL);
+                    pushInt(mv, precision);
+                    invokeWriter(mv, "writeDecimal", WRITE_DECIMAL_DESC);
+                    return;
+                }
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                precision = LogicalTypeChecks.getPrecision(type);
+                if (!TimestampData.isCompact(precision)) {
+                    mv.visitInsn(Opcodes.ACONST_NULL);
+                    pushInt(mv, precision);
+                    invokeWriter(mv, "writeTimestamp", WRITE_TIMESTAMP_DESC);
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        invokeWriter(mv, "setNullAt", "(I)V");
+    }
+
+    private static void writeField(MethodVisitor mv, int pos, int index, LogicalType type) {
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        pushInt(mv, pos);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        pushInt(mv, index);
+        int precision;
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+                invokeGetter(mv, "getString", "(I)Lorg/apache/flink/table/data/StringData;");
+                invokeWriter(mv, "writeString", "(ILorg/apache/flink/table/data/StringData;)V");
+                break;
+            case BOOLEAN:
+                invokeGetter(mv, "getBoolean", "(I)Z");
+                invokeWriter(mv, "writeBoolean", "(IZ)V");
+                break;
+            case BINARY:
+            case VARBINARY:
+                invokeGetter(mv, "getBinary", "(I)[B");
+                invokeWriter(mv, "writeBinary", "(I[B)V");
+                break;
+            case DECIMAL:
+                precision = LogicalTypeChecks.getPrecision(type);
+                pushInt(mv, precision);
+                pushInt(mv, LogicalTypeChecks.getScale(type));
+                invokeGetter(mv, "getDecimal", "(III)Lorg/apache/flink/table/data/DecimalData;");
+                pushInt(mv, precision);
+                invokeWriter(mv, "writeDecimal", WRITE_DECIMAL_DESC);
+                break;
+            case TINYINT:
+                invokeGetter(mv, "getByte", "(I)B");
+                invokeWriter(mv, "writeByte", "(IB)V");
+                break;
+            case SMALLINT:
+                invokeGetter(mv, "getShort", "(I)S");
+                invokeWriter(mv, "writeShort", "(IS)V");
+                break;
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+                invokeGetter(mv, "getInt", "(I)I");
+                invokeWriter(mv, "writeInt", "(II)V");
+                break;
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+                invokeGetter(mv, "getLong", "(I)J");
+                invokeWriter(mv, "writeLong", "(IJ)V");
+                break;
+            case FLOAT:
+                invokeGetter(mv, "getFloat", "(I)F");
+                invokeWriter(mv, "writeFloat", "(IF)V");
+                break;
+            case DOUBLE:
+                invokeGetter(mv, "getDouble", "(I)D");
+                invokeWriter(mv, "writeDouble", "(ID)V");
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                precision = LogicalTypeChecks.getPrecision(type);
+                pushInt(mv, precision);
+                invokeGetter(mv, "getTimestamp", "(II)Lorg/apache/flink/table/data/TimestampData;");
+                pushInt(mv, precision);
+                invokeWriter(mv, "writeTimestamp", WRITE_TIMESTAMP_DESC);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + type);
+        }
+    }
+
+    private static void invokeGetter(MethodVisitor mv, String name, String descriptor) {
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, ROW_DATA, name, descriptor, true);
+    }
+
+    private static void invokeWriter(MethodVisitor mv, String name, String descriptor) {
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, WRITER, name, descriptor, false);
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private static String projectMethodName(int method) {
+        return "project$" + method;
+    }
+}
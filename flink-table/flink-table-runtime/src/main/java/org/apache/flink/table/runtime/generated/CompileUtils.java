@@ -19,19 +19,39 @@
 package org.apache.flink.table.runtime.generated;
 
 import org.apache.flink.api.common.InvalidProgramException;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
 import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.StringUtils;
 
 import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
 import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
 
 import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.ClassLoaderIClassLoader;
 import org.codehaus.janino.ExpressionEvaluator;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -53,6 +73,26 @@ public final class CompileUtils {
                     .maximumSize(100) // estimated cache size
                     .build();
 
+    /**
+     * Cache of the bytecode of the compiled classes, keyed by the SHA-256 digest of the code. In
+     * contrast to the {@link #COMPILED_CACHE}, the bytecode is shared by all class loaders, e.g. by
+     * the tasks of different jobs in the same process, so that the same code is compiled only once.
+     *
+     * <p>As the bytecode is compiled against the classes of the first class loader, e.g. the
+     * user-defined classes of another job, it is only shared if a bytecode cache directory is
+     * configured, i.e. if the jobs sharing the cache are known to have compatible classes.
+     */
+    protected static final Cache<String, Map<String, byte[]>> COMPILED_BYTECODE_CACHE =
+            CacheBuilder.newBuilder()
+                    .maximumWeight(64 * 1024 * 1024) // 64 MB of bytecode
+                    .<String, Map<String, byte[]>>weigher(
+                            (digest, classes) ->
+                                    classes.values().stream().mapToInt(c -> c.length).sum())
+                    .build();
+
+    /** The suffix of the files of the bytecode cache directory. */
+    private static final String BYTECODE_FILE_SUFFIX = ".bytecode";
+
     protected static final Cache<ExpressionEntry, ExpressionEvaluator> COMPILED_EXPRESSION_CACHE =
             CacheBuilder.newBuilder()
                     .maximumSize(100) // estimated cache size
@@ -67,8 +107,29 @@ public final class CompileUtils {
      * @param <T> the class type
      * @return the compiled class
      */
-    @SuppressWarnings("unchecked")
     public static <T> Class<T> compile(ClassLoader cl, String name, String code) {
+        return compile(cl, name, code, null);
+    }
+
+    /**
+     * Compiles a generated code to a Class. The bytecode of the class is looked up in the given
+     * cache directory before the code is compiled, and is written to it after the code has been
+     * compiled, so that it can be reused by other processes, e.g. the tasks of another job.
+     *
+     * <p>The classes of the cache directory are loaded into the process, so the directory must only
+     * be writable by trusted users. The cache files are verified against the digest of the code
+     * and of the bytecode, which detects corrupted or misplaced files, but not manipulated ones.
+     *
+     * @param cl the ClassLoader used to load the class
+     * @param name the class name
+     * @param code the generated code
+     * @param bytecodeCacheDir the directory of the bytecode cache, or null if there is no cache
+     * @param <T> the class type
+     * @return the compiled class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<T> compile(
+            ClassLoader cl, String name, String code, @Nullable String bytecodeCacheDir) {
         try {
             Cache<ClassLoader, Class> compiledClasses =
                     COMPILED_CACHE.get(
@@ -81,32 +142,192 @@ public final class CompileUtils {
                                             .weakKeys()
                                             .softValues()
                                             .build());
-            return compiledClasses.get(cl, () -> doCompile(cl, name, code));
+            return compiledClasses.get(
+                    cl,
+                    () -> {
+                        checkNotNull(cl, "Classloader must not be null.");
+                        if (bytecodeCacheDir == null) {
+                            return loadClass(cl, name, doCompile(cl, name, code));
+                        }
+                        String digest = digest(code);
+                        Map<String, byte[]> bytecode =
+                                COMPILED_BYTECODE_CACHE.get(
+                                        digest,
+                                        () ->
+                                                getBytecode(
+                                                        cl, name, code, digest, bytecodeCacheDir));
+                        return loadClass(cl, name, bytecode);
+                    });
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads a class from bytecode which was generated directly, i.e. without compiling Java code.
+     * The class is cached by its bytecode and the ClassLoader like a compiled class.
+     *
+     * @param cl the ClassLoader used to load the class
+     * @param name the class name
+     * @param bytecode the bytecode of the class
+     * @param <T> the class type
+     * @return the loaded class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<T> defineClass(ClassLoader cl, String name, byte[] bytecode) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            String key = name + "#" + StringUtils.byteToHexString(messageDigest.digest(bytecode));
+            Cache<ClassLoader, Class> definedClasses =
+                    COMPILED_CACHE.get(
+                            key,
+                            () ->
+                                    CacheBuilder.newBuilder()
+                                            .maximumSize(5)
+                                            .weakKeys()
+                                            .softValues()
+                                            .build());
+            return definedClasses.get(
+                    cl,
+                    () -> {
+                        checkNotNull(cl, "Classloader must not be null.");
+                        Map<String, byte[]> classes = new HashMap<>();
+                        classes.put(name, bytecode);
+                        return loadClass(cl, name, classes);
+                    });
         } catch (Exception e) {
             throw new FlinkRuntimeException(e.getMessage(), e);
         }
     }
 
-    private static <T> Class<T> doCompile(ClassLoader cl, String name, String code) {
-        checkNotNull(cl, "Classloader must not be null.");
+    private static Map<String, byte[]> getBytecode(
+            ClassLoader cl, String name, String code, String digest, String bytecodeCacheDir) {
+        Path path = new Path(bytecodeCacheDir, digest + BYTECODE_FILE_SUFFIX);
+        Map<String, byte[]> bytecode = readBytecode(path, digest);
+        if (bytecode == null) {
+            bytecode = doCompile(cl, name, code);
+            writeBytecode(path, digest, bytecode);
+        }
+        return bytecode;
+    }
+
+    /** Compiles the code to the bytecode of its classes, keyed by the class names. */
+    private static Map<String, byte[]> doCompile(ClassLoader cl, String name, String code) {
         CODE_LOG.debug("Compiling: {} \n\n Code:\n{}", name, code);
-        SimpleCompiler compiler = new SimpleCompiler();
-        compiler.setParentClassLoader(cl);
+        // the same defaults as the SimpleCompiler
+        boolean debug = Boolean.getBoolean("org.codehaus.janino.source_debugging.enable");
         try {
-            compiler.cook(code);
+            Java.CompilationUnit unit =
+                    new Parser(new Scanner(null, new StringReader(code))).parseCompilationUnit();
+            ClassFile[] classFiles =
+                    new UnitCompiler(unit, new ClassLoaderIClassLoader(cl))
+                            .compileUnit(debug, debug, debug);
+            Map<String, byte[]> bytecode = new HashMap<>();
+            for (ClassFile classFile : classFiles) {
+                bytecode.put(classFile.getThisClassName(), classFile.toByteArray());
+            }
+            return bytecode;
         } catch (Throwable t) {
             System.out.println(addLineNumber(code));
             throw new InvalidProgramException(
                     "Table program cannot be compiled. This is a bug. Please file an issue.", t);
         }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> loadClass(
+            ClassLoader cl, String name, Map<String, byte[]> bytecode) {
+        SimpleCompiler compiler = new SimpleCompiler();
+        compiler.setParentClassLoader(cl);
+        compiler.cook(bytecode);
         try {
-            //noinspection unchecked
             return (Class<T>) compiler.getClassLoader().loadClass(name);
         } catch (ClassNotFoundException e) {
             throw new RuntimeException("Can not load class " + name, e);
         }
     }
 
+    private static String digest(String code) throws Exception {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        return StringUtils.byteToHexString(
+                messageDigest.digest(code.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Returns the SHA-256 digest of the bytecode, covering the class names and their bytes. */
+    private static String digest(Map<String, byte[]> bytecode) throws Exception {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        for (Map.Entry<String, byte[]> entry : new TreeMap<>(bytecode).entrySet()) {
+            messageDigest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update(entry.getValue());
+        }
+        return StringUtils.byteToHexString(messageDigest.digest());
+    }
+
+    /**
+     * Reads the bytecode of a cache file, returns null if it can't be read, or if it doesn't
+     * belong to the code of the given digest or doesn't match its own recorded digest.
+     */
+    @Nullable
+    private static Map<String, byte[]> readBytecode(Path path, String codeDigest) {
+        try {
+            FileSystem fs = path.getFileSystem();
+            if (!fs.exists(path)) {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(fs.open(path))) {
+                if (!codeDigest.equals(in.readUTF())) {
+                    CODE_LOG.warn("Ignoring the cached bytecode of another code in {}.", path);
+                    return null;
+                }
+                String bytecodeDigest = in.readUTF();
+                int numClasses = in.readInt();
+                Map<String, byte[]> bytecode = new HashMap<>(numClasses);
+                for (int i = 0; i < numClasses; i++) {
+                    String className = in.readUTF();
+                    byte[] classBytes = new byte[in.readInt()];
+                    in.readFully(classBytes);
+                    bytecode.put(className, classBytes);
+                }
+                if (!bytecodeDigest.equals(digest(bytecode))) {
+                    CODE_LOG.warn("Ignoring the corrupted cached bytecode in {}.", path);
+                    return null;
+                }
+                return bytecode;
+            }
+        } catch (Exception e) {
+            CODE_LOG.warn("Failed to read the cached bytecode from {}.", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the bytecode to a cache file, preceded by the digests of the code and of the
+     * bytecode. The file is written to a temporary file first and renamed afterwards, so that
+     * concurrent readers never see a partially written file.
+     */
+    private static void writeBytecode(Path path, String codeDigest, Map<String, byte[]> bytecode) {
+        Path tmpPath = new Path(path.getParent(), path.getName() + "." + UUID.randomUUID());
+        try {
+            FileSystem fs = path.getFileSystem();
+            try (DataOutputStream out =
+                    new DataOutputStream(fs.create(tmpPath, FileSystem.WriteMode.OVERWRITE))) {
+                out.writeUTF(codeDigest);
+                out.writeUTF(digest(bytecode));
+                out.writeInt(bytecode.size());
+                for (Map.Entry<String, byte[]> entry : bytecode.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            if (!fs.rename(tmpPath, path)) {
+                fs.delete(tmpPath, false);
+            }
+        } catch (Exception e) {
+            CODE_LOG.warn("Failed to write the compiled bytecode to {}.", path, e);
+        }
+    }
+
     /**
      * To output more information when an error occurs. Generally, when cook fails, it shows which
      * line is wrong. This line number starts at 1.
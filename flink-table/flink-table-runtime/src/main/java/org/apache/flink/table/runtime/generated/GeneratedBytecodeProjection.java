@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.generated;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.types.logical.RowType;
+
+/**
+ * A {@link GeneratedProjection} of a field projection whose class is generated as bytecode by the
+ * {@link BytecodeProjectionGenerator} instead of being compiled from Java code by Janino, which
+ * avoids the compilation costs of wide projections when the tasks are initialized.
+ */
+public class GeneratedBytecodeProjection extends GeneratedProjection {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RowType inputType;
+    private final int[] inputMapping;
+
+    private transient Class<Projection> definedClass;
+
+    /**
+     * Creates a GeneratedBytecodeProjection.
+     *
+     * @param className class name of the generated Function.
+     * @param inputType type of the input rows.
+     * @param inputMapping input field index of each output field.
+     * @param conf configuration when generating Function.
+     */
+    public GeneratedBytecodeProjection(
+            String className, RowType inputType, int[] inputMapping, Configuration conf) {
+        super(className, "", new Object[0], conf);
+        this.inputType = inputType;
+        this.inputMapping = inputMapping;
+    }
+
+    @Override
+    public Class<Projection> compile(ClassLoader classLoader) {
+        if (definedClass == null) {
+            byte[] bytecode =
+                    BytecodeProjectionGenerator.generate(
+                            getClassName(),
+                            inputType,
+                            inputMapping,
+                            BytecodeProjectionGenerator.DEFAULT_FIELDS_PER_METHOD);
+            definedClass = CompileUtils.defineClass(classLoader, getClassName(), bytecode);
+        }
+        return definedClass;
+    }
+}
@@ -25,6 +25,8 @@ import org.apache.flink.table.codesplit.JavaCodeSplitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -41,6 +43,7 @@ public abstract class GeneratedClass<T> implements Serializable {
     private final String code;
     private final String splitCode;
     private final Object[] references;
+    @Nullable private final String bytecodeCacheDir;
 
     private transient Class<T> compiledClass;
 
@@ -60,6 +63,7 @@ public abstract class GeneratedClass<T> implements Serializable {
                                 conf.getInteger(TableConfigOptions.MAX_LENGTH_GENERATED_CODE),
                                 conf.getInteger(TableConfigOptions.MAX_MEMBERS_GENERATED_CODE));
         this.references = references;
+        this.bytecodeCacheDir = conf.get(TableConfigOptions.GENERATED_CODE_CACHE_DIR);
     }
 
     /** Create a new instance of this generated class. */
@@ -95,11 +99,13 @@ public abstract class GeneratedClass<T> implements Serializable {
             // cache the compiled class
             try {
                 // first try to compile the split code
-                compiledClass = CompileUtils.compile(classLoader, className, splitCode);
+                compiledClass =
+                        CompileUtils.compile(classLoader, className, splitCode, bytecodeCacheDir);
             } catch (Throwable t) {
                 // compile the original code as fallback
                 LOG.warn("Failed to compile split code, falling back to original code", t);
-                compiledClass = CompileUtils.compile(classLoader, className, code);
+                compiledClass =
+                        CompileUtils.compile(classLoader, className, code, bytecodeCacheDir);
             }
         }
         return compiledClass;
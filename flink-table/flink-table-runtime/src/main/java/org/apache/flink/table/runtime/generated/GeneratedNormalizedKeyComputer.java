@@ -41,4 +41,17 @@ public class GeneratedNormalizedKeyComputer extends GeneratedClass<NormalizedKey
     public GeneratedNormalizedKeyComputer(String className, String code, Configuration conf) {
         super(className, code, new Object[0], conf);
     }
+
+    /**
+     * Creates a GeneratedNormalizedKeyComputer.
+     *
+     * @param className class name of the generated class.
+     * @param code code of the generated class.
+     * @param references referenced objects of the generated class.
+     * @param conf configuration when generating the generated class.
+     */
+    public GeneratedNormalizedKeyComputer(
+            String className, String code, Object[] references, Configuration conf) {
+        super(className, code, references, conf);
+    }
 }
@@ -22,7 +22,9 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.runtime.io.disk.ChannelReaderInputViewIterator;
+import org.apache.flink.runtime.io.disk.iomanager.AbstractChannelReaderInputView;
 import org.apache.flink.runtime.io.disk.iomanager.ChannelReaderInputView;
+import org.apache.flink.runtime.io.disk.iomanager.HeaderlessChannelReaderInputView;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.operators.util.BitSet;
@@ -104,6 +106,18 @@ public class BinaryHashTable extends BaseHybridHashTable {
     /** The partitions that have been spilled previously and are pending to be processed. */
     private final ArrayList<BinaryHashPartition> partitionsPending;
 
+    /**
+     * The spilled partitions that exceeded the maximum recursion depth and are left to a sort merge
+     * join, only used if the sort merge join fallback is enabled.
+     */
+    private final ArrayList<BinaryHashPartition> partitionsPendingForSMJ;
+
+    /**
+     * Whether spilled partitions exceeding the maximum recursion depth are left to a sort merge
+     * join instead of failing the join.
+     */
+    private final boolean sortMergeJoinFallbackEnabled;
+
     private final JoinCondition condFunc;
 
     private final boolean reverseJoin;
@@ -154,6 +168,46 @@ public class BinaryHashTable extends BaseHybridHashTable {
             boolean reverseJoin,
             boolean[] filterNulls,
             boolean tryDistinctBuildRow) {
+        this(
+                conf,
+                owner,
+                buildSideSerializer,
+                probeSideSerializer,
+                buildSideProjection,
+                probeSideProjection,
+                memManager,
+                reservedMemorySize,
+                ioManager,
+                avgRecordLen,
+                buildRowCount,
+                useBloomFilters,
+                type,
+                condFunc,
+                reverseJoin,
+                filterNulls,
+                tryDistinctBuildRow,
+                false);
+    }
+
+    public BinaryHashTable(
+            Configuration conf,
+            Object owner,
+            AbstractRowDataSerializer buildSideSerializer,
+            AbstractRowDataSerializer probeSideSerializer,
+            Projection<RowData, BinaryRowData> buildSideProjection,
+            Projection<RowData, BinaryRowData> probeSideProjection,
+            MemoryManager memManager,
+            long reservedMemorySize,
+            IOManager ioManager,
+            int avgRecordLen,
+            long buildRowCount,
+            boolean useBloomFilters,
+            HashJoinType type,
+            JoinCondition condFunc,
+            boolean reverseJoin,
+            boolean[] filterNulls,
+            boolean tryDistinctBuildRow,
+            boolean sortMergeJoinFallbackEnabled) {
         super(
                 conf,
                 owner,
@@ -193,6 +247,8 @@ public class BinaryHashTable extends BaseHybridHashTable {
 
         this.partitionsBeingBuilt = new ArrayList<>();
         this.partitionsPending = new ArrayList<>();
+        this.partitionsPendingForSMJ = new ArrayList<>();
+        this.sortMergeJoinFallbackEnabled = sortMergeJoinFallbackEnabled;
 
         createPartitions(initPartitionFanOut, 0);
     }
@@ -368,6 +424,24 @@ public class BinaryHashTable extends BaseHybridHashTable {
             this.currentSpilledProbeSide = null;
         }
 
+        if (sortMergeJoinFallbackEnabled) {
+            // the partitions that can not be repartitioned anymore are joined by sort merge join
+            // after all the other partitions have been processed
+            while (!this.partitionsPending.isEmpty()) {
+                final BinaryHashPartition p = this.partitionsPending.get(0);
+                if (p.probeSideRecordCounter == 0
+                        || p.getRecursionLevel() + 1 <= MAX_RECURSION_DEPTH) {
+                    break;
+                }
+                LOG.info(
+                        String.format(
+                                "Spilled partition [%d] exceeded the maximum recursion depth, "
+                                        + "it will be joined by sort merge join.",
+                                p.getPartitionNumber()));
+                this.partitionsPendingForSMJ.add(this.partitionsPending.remove(0));
+            }
+        }
+
         if (this.partitionsPending.isEmpty()) {
             // no more data
             return false;
@@ -604,6 +678,52 @@ public class BinaryHashTable extends BaseHybridHashTable {
         }
     }
 
+    /**
+     * Returns the spilled partitions which exceeded the maximum recursion depth and have to be
+     * joined by sort merge join. Only valid after {@link #nextMatching()} returned false.
+     */
+    public List<BinaryHashPartition> getPartitionsPendingForSMJ() {
+        return this.partitionsPendingForSMJ;
+    }
+
+    /** Returns an iterator over the spilled build side rows of the given partition. */
+    public RowIterator<BinaryRowData> getSpilledPartitionBuildSideIter(BinaryHashPartition p)
+            throws IOException {
+        HeaderlessChannelReaderInputView inView =
+                createInputView(
+                        p.getBuildSideChannel().getChannelID(),
+                        p.getBuildSideBlockCount(),
+                        p.getLastSegmentLimit());
+        return new WrappedRowIterator<>(
+                new BinaryRowChannelInputViewIterator(inView, this.binaryBuildSideSerializer),
+                binaryBuildSideSerializer.createInstance());
+    }
+
+    /** Returns an iterator over the spilled probe side rows of the given partition. */
+    public ProbeIterator getSpilledPartitionProbeSideIter(BinaryHashPartition p)
+            throws IOException {
+        ChannelWithMeta channelWithMeta =
+                new ChannelWithMeta(
+                        p.probeSideBuffer.getChannel().getChannelID(),
+                        p.probeSideBuffer.getBlockCount(),
+                        p.probeNumBytesInLastSeg);
+        AbstractChannelReaderInputView inView =
+                FileChannelUtil.createInputView(
+                        ioManager,
+                        channelWithMeta,
+                        new ArrayList<>(),
+                        compressionEnable,
+                        compressionCodecFactory,
+                        compressionBlockSize,
+                        segmentSize);
+        ProbeIterator probeIter = new ProbeIterator(binaryProbeSideSerializer.createInstance());
+        probeIter.set(
+                new ChannelReaderInputViewIterator<>(
+                        inView, new ArrayList<>(), this.binaryProbeSideSerializer));
+        probeIter.setReuse(binaryProbeSideSerializer.createInstance());
+        return probeIter;
+    }
+
     /**
      * This method clears all partitions currently residing (partially) in memory. It releases all
      * memory and deletes all spilled partitions.
@@ -630,6 +750,10 @@ public class BinaryHashTable extends BaseHybridHashTable {
         for (final BinaryHashPartition p : this.partitionsPending) {
             p.clearAllMemory(this.internalPool);
         }
+        for (final BinaryHashPartition p : this.partitionsPendingForSMJ) {
+            p.clearAllMemory(this.internalPool);
+        }
+        this.partitionsPendingForSMJ.clear();
     }
 
     /**
@@ -59,8 +59,8 @@ public class GroupAggFunction extends KeyedProcessFunction<RowData, RowData, Row
     /** Whether this operator will generate UPDATE_BEFORE messages. */
     private final boolean generateUpdateBefore;
 
-    /** State idle retention time which unit is MILLISECONDS. */
-    private final long stateRetentionTime;
+    /** The time-to-live of the accumulator state. */
+    private final StateTtlConfig ttlConfig;
 
     /** Reused output row. */
     private transient JoinedRowData resultRow = null;
@@ -93,19 +93,46 @@ public class GroupAggFunction extends KeyedProcessFunction<RowData, RowData, Row
             int indexOfCountStar,
             boolean generateUpdateBefore,
             long stateRetentionTime) {
+        this(
+                genAggsHandler,
+                genRecordEqualiser,
+                accTypes,
+                indexOfCountStar,
+                generateUpdateBefore,
+                createTtlConfig(stateRetentionTime));
+    }
+
+    /**
+     * Creates a {@link GroupAggFunction}.
+     *
+     * @param genAggsHandler The code generated function used to handle aggregates.
+     * @param genRecordEqualiser The code generated equaliser used to equal RowData.
+     * @param accTypes The accumulator types.
+     * @param indexOfCountStar The index of COUNT(*) in the aggregates. -1 when the input doesn't
+     *     contain COUNT(*), i.e. doesn't contain retraction messages. We make sure there is a
+     *     COUNT(*) if input stream contains retraction.
+     * @param generateUpdateBefore Whether this operator will generate UPDATE_BEFORE messages.
+     * @param ttlConfig The time-to-live of the accumulator state.
+     */
+    public GroupAggFunction(
+            GeneratedAggsHandleFunction genAggsHandler,
+            GeneratedRecordEqualiser genRecordEqualiser,
+            LogicalType[] accTypes,
+            int indexOfCountStar,
+            boolean generateUpdateBefore,
+            StateTtlConfig ttlConfig) {
         this.genAggsHandler = genAggsHandler;
         this.genRecordEqualiser = genRecordEqualiser;
         this.accTypes = accTypes;
         this.recordCounter = RecordCounter.of(indexOfCountStar);
         this.generateUpdateBefore = generateUpdateBefore;
-        this.stateRetentionTime = stateRetentionTime;
+        this.ttlConfig = ttlConfig;
     }
 
     @Override
     public void open(Configuration parameters) throws Exception {
         super.open(parameters);
         // instantiate function
-        StateTtlConfig ttlConfig = createTtlConfig(stateRetentionTime);
         function = genAggsHandler.newInstance(getRuntimeContext().getUserCodeClassLoader());
         function.open(new PerKeyStateDataViewStore(getRuntimeContext(), ttlConfig));
         // instantiate equaliser
@@ -167,7 +194,7 @@ public class GroupAggFunction extends KeyedProcessFunction<RowData, RowData, Row
 
             // if this was not the first row and we have to emit retractions
             if (!firstRow) {
-                if (stateRetentionTime <= 0 && equaliser.equals(prevAggValue, newAggValue)) {
+                if (!ttlConfig.isEnabled() && equaliser.equals(prevAggValue, newAggValue)) {
                     // newRow is the same as before and state cleaning is not enabled.
                     // We do not emit retraction and acc message.
                     // If state cleaning is enabled, we have to emit messages to prevent too early
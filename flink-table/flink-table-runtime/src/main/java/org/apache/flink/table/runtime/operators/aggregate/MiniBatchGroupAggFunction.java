@@ -77,8 +77,8 @@ public class MiniBatchGroupAggFunction
     /** Whether this operator will generate UPDATE_BEFORE messages. */
     private final boolean generateUpdateBefore;
 
-    /** State idle retention time which unit is MILLISECONDS. */
-    private final long stateRetentionTime;
+    /** The time-to-live of the accumulator state. */
+    private final StateTtlConfig ttlConfig;
 
     /** Reused output row. */
     private transient JoinedRowData resultRow = new JoinedRowData();
@@ -116,20 +116,50 @@ public class MiniBatchGroupAggFunction
             int indexOfCountStar,
             boolean generateUpdateBefore,
             long stateRetentionTime) {
+        this(
+                genAggsHandler,
+                genRecordEqualiser,
+                accTypes,
+                inputType,
+                indexOfCountStar,
+                generateUpdateBefore,
+                createTtlConfig(stateRetentionTime));
+    }
+
+    /**
+     * Creates a {@link MiniBatchGroupAggFunction}.
+     *
+     * @param genAggsHandler The code generated function used to handle aggregates.
+     * @param genRecordEqualiser The code generated equaliser used to equal RowData.
+     * @param accTypes The accumulator types.
+     * @param inputType The input row type.
+     * @param indexOfCountStar The index of COUNT(*) in the aggregates. -1 when the input doesn't
+     *     contain COUNT(*), i.e. doesn't contain retraction messages. We make sure there is a
+     *     COUNT(*) if input stream contains retraction.
+     * @param generateUpdateBefore Whether this operator will generate UPDATE_BEFORE messages.
+     * @param ttlConfig The time-to-live of the accumulator state.
+     */
+    public MiniBatchGroupAggFunction(
+            GeneratedAggsHandleFunction genAggsHandler,
+            GeneratedRecordEqualiser genRecordEqualiser,
+            LogicalType[] accTypes,
+            RowType inputType,
+            int indexOfCountStar,
+            boolean generateUpdateBefore,
+            StateTtlConfig ttlConfig) {
         this.genAggsHandler = genAggsHandler;
         this.genRecordEqualiser = genRecordEqualiser;
         this.recordCounter = RecordCounter.of(indexOfCountStar);
         this.accTypes = accTypes;
         this.inputType = inputType;
         this.generateUpdateBefore = generateUpdateBefore;
-        this.stateRetentionTime = stateRetentionTime;
+        this.ttlConfig = ttlConfig;
     }
 
     @Override
     public void open(ExecutionContext ctx) throws Exception {
         super.open(ctx);
         // instantiate function
-        StateTtlConfig ttlConfig = createTtlConfig(stateRetentionTime);
         function = genAggsHandler.newInstance(ctx.getRuntimeContext().getUserCodeClassLoader());
         function.open(new PerKeyStateDataViewStore(ctx.getRuntimeContext(), ttlConfig));
         // instantiate equaliser
@@ -100,6 +100,7 @@ public class LocalSlicingWindowAggOperator extends AbstractStreamOperator<RowDat
                         getContainingTask(),
                         getContainingTask().getEnvironment().getMemoryManager(),
                         computeMemorySize(),
+                        getContainingTask().getEnvironment().getIOManager(),
                         getRuntimeContext(),
                         collector,
                         shiftTimezone);
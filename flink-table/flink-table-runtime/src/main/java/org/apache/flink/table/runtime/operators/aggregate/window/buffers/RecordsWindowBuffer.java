@@ -19,6 +19,7 @@
 package org.apache.flink.table.runtime.operators.aggregate.window.buffers;
 
 import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.state.KeyedStateBackend;
 import org.apache.flink.table.data.RowData;
@@ -196,6 +197,7 @@ public final class RecordsWindowBuffer implements WindowBuffer {
                 Object operatorOwner,
                 MemoryManager memoryManager,
                 long memorySize,
+                IOManager ioManager,
                 RuntimeContext runtimeContext,
                 Collector<RowData> collector,
                 ZoneId shiftTimeZone)
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.aggregate.window.buffers;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.runtime.io.disk.iomanager.AbstractChannelReaderInputView;
+import org.apache.flink.runtime.io.disk.iomanager.AbstractChannelWriterOutputView;
+import org.apache.flink.runtime.io.disk.iomanager.FileIOChannel;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.io.ChannelWithMeta;
+import org.apache.flink.table.runtime.operators.window.combines.RecordsCombiner;
+import org.apache.flink.table.runtime.typeutils.AbstractRowDataSerializer;
+import org.apache.flink.table.runtime.typeutils.PagedTypeSerializer;
+import org.apache.flink.table.runtime.typeutils.WindowKeySerializer;
+import org.apache.flink.table.runtime.util.FileChannelUtil;
+import org.apache.flink.table.runtime.util.KeyValueIterator;
+import org.apache.flink.table.runtime.util.WindowKey;
+import org.apache.flink.table.runtime.util.collections.binary.BytesMap.LookupInfo;
+import org.apache.flink.table.runtime.util.collections.binary.WindowBytesMultiMap;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.MathUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.TimeWindowUtil.isWindowFired;
+
+/**
+ * An implementation of {@link WindowBuffer} for local window aggregation that buffers input
+ * elements in a {@link WindowBytesMultiMap}. Different from {@link RecordsWindowBuffer}, it doesn't
+ * combine the buffered elements to the output when the map is full, but spills them to local disk
+ * instead. This allows the local combiner to see many more elements of the same window key before
+ * emitting a result for it.
+ *
+ * <p>The spilled elements are hash partitioned by window key. When flushing, the partitions are
+ * read back one by one into the (now empty) map and combined, so every window key is emitted at
+ * most once per flush as long as a single partition fits into memory. If a partition doesn't fit,
+ * the map is combined to the output whenever it is full, just like {@link RecordsWindowBuffer}.
+ */
+public final class SpillableRecordsWindowBuffer implements WindowBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillableRecordsWindowBuffer.class);
+
+    /** The number of hash partitions the buffered elements are spilled to. */
+    static final int NUM_SPILL_PARTITIONS = 16;
+
+    private final RecordsCombiner combineFunction;
+    private final WindowBytesMultiMap recordsBuffer;
+    private final WindowKeySerializer windowKeySerializer;
+    private final WindowKey reuseWindowKey;
+    private final AbstractRowDataSerializer<RowData> recordSerializer;
+    private final ZoneId shiftTimeZone;
+    private final IOManager ioManager;
+    private final FileIOChannel.Enumerator enumerator;
+    private final int pageSize;
+
+    /** The spill files of the current flush cycle, null if nothing has been spilled. */
+    private AbstractChannelWriterOutputView[] spillOutputs;
+
+    /** The number of elements spilled to each partition in the current flush cycle. */
+    private long[] numSpilledElements;
+
+    private long minSliceEnd = Long.MAX_VALUE;
+    private long numSpillFiles;
+    private long spillInBytes;
+
+    public SpillableRecordsWindowBuffer(
+            Object operatorOwner,
+            MemoryManager memoryManager,
+            long memorySize,
+            IOManager ioManager,
+            RecordsCombiner combineFunction,
+            PagedTypeSerializer<RowData> keySer,
+            AbstractRowDataSerializer<RowData> inputSer,
+            ZoneId shiftTimeZone) {
+        this.combineFunction = combineFunction;
+        this.recordsBuffer =
+                new WindowBytesMultiMap(
+                        operatorOwner, memoryManager, memorySize, keySer, inputSer.getArity());
+        this.windowKeySerializer = new WindowKeySerializer(keySer);
+        this.reuseWindowKey = windowKeySerializer.createInstance();
+        this.recordSerializer = inputSer;
+        this.shiftTimeZone = shiftTimeZone;
+        this.ioManager = ioManager;
+        this.enumerator = ioManager.createChannelEnumerator();
+        this.pageSize = memoryManager.getPageSize();
+    }
+
+    @Override
+    public void addElement(RowData key, long sliceEnd, RowData element) throws Exception {
+        // track the lowest trigger time, spilled elements are also taken into account because
+        // they are flushed together with the in-memory elements
+        minSliceEnd = Math.min(sliceEnd, minSliceEnd);
+
+        reuseWindowKey.replace(sliceEnd, key);
+        LookupInfo<WindowKey, Iterator<RowData>> lookup = recordsBuffer.lookup(reuseWindowKey);
+        try {
+            recordsBuffer.append(lookup, recordSerializer.toBinaryRow(element));
+        } catch (EOFException e) {
+            // buffer is full, spill it to disk instead of flushing it to output
+            spill();
+            // remember to add the input element again
+            addElement(key, sliceEnd, element);
+        }
+    }
+
+    @Override
+    public void advanceProgress(long progress) throws Exception {
+        if (isWindowFired(minSliceEnd, progress, shiftTimeZone)) {
+            // there should be some window to be fired, flush buffer to output first
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() throws Exception {
+        if (spillOutputs == null) {
+            combineBuffer();
+        } else {
+            // spill the remaining elements as well, so that all elements of a window key
+            // are located in the same partition
+            spill();
+            List<ChannelWithMeta> channels = closeSpillOutputs();
+            for (int partition = 0; partition < NUM_SPILL_PARTITIONS; partition++) {
+                combinePartition(channels.get(partition), numSpilledElements[partition]);
+            }
+            numSpilledElements = null;
+        }
+        // reset trigger time
+        minSliceEnd = Long.MAX_VALUE;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (spillOutputs != null) {
+            for (AbstractChannelWriterOutputView output : spillOutputs) {
+                output.close();
+                output.getChannel().deleteChannel();
+            }
+            spillOutputs = null;
+        }
+        recordsBuffer.free();
+        combineFunction.close();
+    }
+
+    /** Returns the number of spill files written by this buffer. */
+    public long getNumSpillFiles() {
+        return numSpillFiles;
+    }
+
+    /** Returns the number of bytes spilled by this buffer. */
+    public long getSpillInBytes() {
+        return spillInBytes;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private void combineBuffer() throws Exception {
+        if (recordsBuffer.getNumKeys() > 0) {
+            KeyValueIterator<WindowKey, Iterator<RowData>> entryIterator =
+                    recordsBuffer.getEntryIterator(false);
+            while (entryIterator.advanceNext()) {
+                combineFunction.combine(entryIterator.getKey(), entryIterator.getValue());
+            }
+            recordsBuffer.reset();
+        }
+    }
+
+    private void spill() throws IOException {
+        if (spillOutputs == null) {
+            spillOutputs = new AbstractChannelWriterOutputView[NUM_SPILL_PARTITIONS];
+            numSpilledElements = new long[NUM_SPILL_PARTITIONS];
+            for (int partition = 0; partition < NUM_SPILL_PARTITIONS; partition++) {
+                spillOutputs[partition] =
+                        FileChannelUtil.createOutputView(
+                                ioManager, enumerator.next(), false, null, 0, pageSize);
+                numSpillFiles++;
+            }
+        }
+
+        long numElements = recordsBuffer.getNumElements();
+        KeyValueIterator<WindowKey, Iterator<RowData>> entryIterator =
+                recordsBuffer.getEntryIterator(false);
+        while (entryIterator.advanceNext()) {
+            WindowKey windowKey = entryIterator.getKey();
+            int partition = MathUtils.murmurHash(windowKey.hashCode()) % NUM_SPILL_PARTITIONS;
+            AbstractChannelWriterOutputView output = spillOutputs[partition];
+            Iterator<RowData> records = entryIterator.getValue();
+            while (records.hasNext()) {
+                windowKeySerializer.serialize(windowKey, output);
+                recordSerializer.serialize(records.next(), output);
+                numSpilledElements[partition]++;
+            }
+        }
+        recordsBuffer.reset();
+        LOG.info("Window buffer is full, spilled {} elements to disk.", numElements);
+    }
+
+    private List<ChannelWithMeta> closeSpillOutputs() throws IOException {
+        List<ChannelWithMeta> channels = new ArrayList<>(NUM_SPILL_PARTITIONS);
+        for (AbstractChannelWriterOutputView output : spillOutputs) {
+            spillInBytes += output.getNumBytes();
+            int bytesInLastBlock = output.close();
+            channels.add(
+                    new ChannelWithMeta(
+                            output.getChannel().getChannelID(),
+                            output.getBlockCount(),
+                            bytesInLastBlock));
+        }
+        spillOutputs = null;
+        return channels;
+    }
+
+    private void combinePartition(ChannelWithMeta channel, long numElements) throws Exception {
+        List<FileIOChannel> openChannels = new ArrayList<>(1);
+        AbstractChannelReaderInputView input =
+                FileChannelUtil.createInputView(
+                        ioManager, channel, openChannels, false, null, 0, pageSize);
+        try {
+            WindowKey windowKey = windowKeySerializer.createInstance();
+            RowData record = recordSerializer.createInstance();
+            for (long i = 0; i < numElements; i++) {
+                windowKey = windowKeySerializer.deserialize(windowKey, input);
+                record = recordSerializer.deserialize(record, input);
+                LookupInfo<WindowKey, Iterator<RowData>> lookup =
+                        recordsBuffer.lookup(windowKey);
+                try {
+                    recordsBuffer.append(lookup, recordSerializer.toBinaryRow(record));
+                } catch (EOFException e) {
+                    // the partition doesn't fit into memory, flush the buffer to output
+                    combineBuffer();
+                    lookup = recordsBuffer.lookup(windowKey);
+                    recordsBuffer.append(lookup, recordSerializer.toBinaryRow(record));
+                }
+            }
+            combineBuffer();
+        } finally {
+            for (FileIOChannel openChannel : openChannels) {
+                openChannel.closeAndDelete();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------
+    // Factory
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * Factory to create {@link SpillableRecordsWindowBuffer} with {@link
+     * RecordsCombiner.LocalFactory}.
+     */
+    public static final class LocalFactory implements WindowBuffer.LocalFactory {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PagedTypeSerializer<RowData> keySer;
+        private final AbstractRowDataSerializer<RowData> inputSer;
+        private final RecordsCombiner.LocalFactory localFactory;
+
+        public LocalFactory(
+                PagedTypeSerializer<RowData> keySer,
+                AbstractRowDataSerializer<RowData> inputSer,
+                RecordsCombiner.LocalFactory localFactory) {
+            this.keySer = keySer;
+            this.inputSer = inputSer;
+            this.localFactory = localFactory;
+        }
+
+        @Override
+        public WindowBuffer create(
+                Object operatorOwner,
+                MemoryManager memoryManager,
+                long memorySize,
+                IOManager ioManager,
+                RuntimeContext runtimeContext,
+                Collector<RowData> collector,
+                ZoneId shiftTimeZone)
+                throws Exception {
+            RecordsCombiner combiner =
+                    localFactory.createRecordsCombiner(runtimeContext, collector);
+            return new SpillableRecordsWindowBuffer(
+                    operatorOwner,
+                    memoryManager,
+                    memorySize,
+                    ioManager,
+                    combiner,
+                    keySer,
+                    inputSer,
+                    shiftTimeZone);
+        }
+    }
+}
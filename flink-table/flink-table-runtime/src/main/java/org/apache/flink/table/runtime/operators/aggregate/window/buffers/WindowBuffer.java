@@ -20,6 +20,7 @@ package org.apache.flink.table.runtime.operators.aggregate.window.buffers;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.state.KeyedStateBackend;
 import org.apache.flink.table.data.RowData;
@@ -120,6 +121,8 @@ public interface WindowBuffer {
          * @param operatorOwner the owner of the operator
          * @param memoryManager the manager that governs memory by Flink framework
          * @param memorySize the managed memory size can be used by this operator
+         * @param ioManager the manager to create spill files in local directories
+         * @param runtimeContext the current {@link RuntimeContext}
          * @param collector collector to emit records
          * @param shiftTimeZone the shit timezone of the window
          * @throws IOException thrown if the buffer can't be opened
@@ -128,6 +131,7 @@ public interface WindowBuffer {
                 Object operatorOwner,
                 MemoryManager memoryManager,
                 long memorySize,
+                IOManager ioManager,
                 RuntimeContext runtimeContext,
                 Collector<RowData> collector,
                 ZoneId shiftTimeZone)
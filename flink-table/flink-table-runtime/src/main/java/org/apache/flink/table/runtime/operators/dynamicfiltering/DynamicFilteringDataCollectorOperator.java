@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.dynamicfiltering;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Operator to collect and deduplicate the values of the dynamic filtering fields of its input and
+ * to send them as {@link DynamicFilteringData} to the {@link
+ * DynamicFilteringDataCollectorOperatorCoordinator} once the input ended. The operator does not
+ * emit any records.
+ *
+ * <p>If the size of the collected values exceeds the threshold, the operator stops collecting and
+ * sends a non-filtering {@link DynamicFilteringData}, i.e. the sources read all the data.
+ */
+public class DynamicFilteringDataCollectorOperator extends AbstractStreamOperator<RowData>
+        implements OneInputStreamOperator<RowData, RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(DynamicFilteringDataCollectorOperator.class);
+
+    private final RowType dynamicFilteringFieldType;
+    private final int[] dynamicFilteringFieldIndices;
+    private final long threshold;
+    private final OperatorEventGateway operatorEventGateway;
+
+    private transient RowData.FieldGetter[] fieldGetters;
+    private transient TypeSerializer<RowData> serializer;
+    private transient DataOutputSerializer outputView;
+    private transient Set<ByteBuffer> buffer;
+    private transient long currentSize;
+    private transient boolean exceedThreshold;
+
+    public DynamicFilteringDataCollectorOperator(
+            RowType dynamicFilteringFieldType,
+            int[] dynamicFilteringFieldIndices,
+            long threshold,
+            OperatorEventGateway operatorEventGateway) {
+        checkArgument(
+                dynamicFilteringFieldType.getFieldCount() == dynamicFilteringFieldIndices.length,
+                "The dynamic filtering field type does not match the field indices.");
+        this.dynamicFilteringFieldType = dynamicFilteringFieldType;
+        this.dynamicFilteringFieldIndices = dynamicFilteringFieldIndices;
+        this.threshold = threshold;
+        this.operatorEventGateway = checkNotNull(operatorEventGateway);
+    }
+
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.fieldGetters = new RowData.FieldGetter[dynamicFilteringFieldIndices.length];
+        for (int i = 0; i < dynamicFilteringFieldIndices.length; i++) {
+            fieldGetters[i] =
+                    RowData.createFieldGetter(
+                            dynamicFilteringFieldType.getTypeAt(i),
+                            dynamicFilteringFieldIndices[i]);
+        }
+        this.serializer =
+                InternalTypeInfo.of(dynamicFilteringFieldType)
+                        .createSerializer(getExecutionConfig());
+        this.outputView = new DataOutputSerializer(64);
+        this.buffer = new HashSet<>();
+        this.currentSize = 0L;
+        this.exceedThreshold = false;
+    }
+
+    @Override
+    public void processElement(StreamRecord<RowData> element) throws Exception {
+        if (exceedThreshold) {
+            return;
+        }
+
+        final RowData value = element.getValue();
+        final GenericRowData projected = new GenericRowData(fieldGetters.length);
+        for (int i = 0; i < fieldGetters.length; i++) {
+            projected.setField(i, fieldGetters[i].getFieldOrNull(value));
+        }
+
+        outputView.clear();
+        serializer.serialize(projected, outputView);
+        final byte[] bytes = outputView.getCopyOfBuffer();
+        if (buffer.add(ByteBuffer.wrap(bytes))) {
+            currentSize += bytes.length;
+            if (currentSize > threshold) {
+                LOG.info(
+                        "Collected dynamic filtering data exceeds the threshold of {} bytes, "
+                                + "the sources will read all the data.",
+                        threshold);
+                exceedThreshold = true;
+                buffer.clear();
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws Exception {
+        super.finish();
+        final DynamicFilteringData data;
+        if (exceedThreshold) {
+            data =
+                    new DynamicFilteringData(
+                            InternalTypeInfo.of(dynamicFilteringFieldType),
+                            dynamicFilteringFieldType,
+                            new ArrayList<>(),
+                            false);
+        } else {
+            final List<byte[]> serializedData = new ArrayList<>(buffer.size());
+            for (ByteBuffer bytes : buffer) {
+                serializedData.add(bytes.array());
+            }
+            data =
+                    new DynamicFilteringData(
+                            InternalTypeInfo.of(dynamicFilteringFieldType),
+                            dynamicFilteringFieldType,
+                            serializedData,
+                            true);
+        }
+        LOG.info("Sending dynamic filtering data {}.", data);
+        operatorEventGateway.sendEventToCoordinator(
+                new SourceEventWrapper(new DynamicFilteringEvent(data)));
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+}
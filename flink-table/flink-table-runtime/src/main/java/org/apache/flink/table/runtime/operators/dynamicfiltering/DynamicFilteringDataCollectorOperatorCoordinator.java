@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.dynamicfiltering;
+
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStore;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link OperatorCoordinator} of the {@link DynamicFilteringDataCollectorOperator}. It forwards
+ * the received {@link DynamicFilteringEvent} to the source coordinators that listen under the
+ * dynamic filtering data listener IDs in the {@link CoordinatorStore}.
+ *
+ * <p>A listener that did not start yet finds the event in the store once it starts. The events are
+ * forwarded synchronously, so that a source coordinator handles the event before the split
+ * requests of its readers, which are only scheduled after the collector finished.
+ */
+public class DynamicFilteringDataCollectorOperatorCoordinator implements OperatorCoordinator {
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(DynamicFilteringDataCollectorOperatorCoordinator.class);
+
+    private final CoordinatorStore coordinatorStore;
+    private final Set<String> dynamicFilteringDataListenerIDs;
+
+    public DynamicFilteringDataCollectorOperatorCoordinator(
+            Context context, Set<String> dynamicFilteringDataListenerIDs) {
+        this.coordinatorStore = checkNotNull(context.getCoordinatorStore());
+        this.dynamicFilteringDataListenerIDs = checkNotNull(dynamicFilteringDataListenerIDs);
+    }
+
+    @Override
+    public void start() throws Exception {}
+
+    @Override
+    public void close() throws Exception {}
+
+    @Override
+    public void handleEventFromOperator(int subtask, OperatorEvent event) throws Exception {
+        checkArgument(
+                event instanceof SourceEventWrapper
+                        && ((SourceEventWrapper) event).getSourceEvent()
+                                instanceof DynamicFilteringEvent,
+                "Unexpected event %s.",
+                event);
+
+        for (String listenerID : dynamicFilteringDataListenerIDs) {
+            LOG.info("Forwarding dynamic filtering data to listener {}.", listenerID);
+            coordinatorStore.compute(
+                    listenerID,
+                    (key, oldValue) -> {
+                        if (oldValue instanceof OperatorCoordinator) {
+                            try {
+                                ((OperatorCoordinator) oldValue).handleEventFromOperator(0, event);
+                            } catch (Exception e) {
+                                throw new FlinkRuntimeException(
+                                        "Failed to forward the dynamic filtering data.", e);
+                            }
+                            return oldValue;
+                        }
+                        // the listener did not start yet, it handles the event once it starts
+                        return event;
+                    });
+        }
+    }
+
+    @Override
+    public void checkpointCoordinator(long checkpointId, CompletableFuture<byte[]> resultFuture)
+            throws Exception {
+        resultFuture.complete(new byte[0]);
+    }
+
+    @Override
+    public void notifyCheckpointComplete(long checkpointId) {}
+
+    @Override
+    public void resetToCheckpoint(long checkpointId, @Nullable byte[] checkpointData)
+            throws Exception {}
+
+    @Override
+    public void subtaskFailed(int subtask, @Nullable Throwable reason) {}
+
+    @Override
+    public void subtaskReset(int subtask, long checkpointId) {}
+
+    @Override
+    public void subtaskReady(int subtask, SubtaskGateway gateway) {}
+
+    /** Provider for {@link DynamicFilteringDataCollectorOperatorCoordinator}. */
+    public static class Provider implements OperatorCoordinator.Provider {
+
+        private static final long serialVersionUID = 1L;
+
+        private final OperatorID operatorID;
+        private final Set<String> dynamicFilteringDataListenerIDs;
+
+        public Provider(OperatorID operatorID, Set<String> dynamicFilteringDataListenerIDs) {
+            this.operatorID = checkNotNull(operatorID);
+            // copy the IDs, they are final once the coordinator provider is created
+            this.dynamicFilteringDataListenerIDs = new HashSet<>(dynamicFilteringDataListenerIDs);
+        }
+
+        @Override
+        public OperatorID getOperatorId() {
+            return operatorID;
+        }
+
+        @Override
+        public OperatorCoordinator create(Context context) {
+            return new DynamicFilteringDataCollectorOperatorCoordinator(
+                    context, dynamicFilteringDataListenerIDs);
+        }
+    }
+}
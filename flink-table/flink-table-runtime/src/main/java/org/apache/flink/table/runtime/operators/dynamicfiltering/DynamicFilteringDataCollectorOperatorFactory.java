@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.dynamicfiltering;
+
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperatorFactory;
+import org.apache.flink.streaming.api.operators.CoordinatedOperatorFactory;
+import org.apache.flink.streaming.api.operators.StreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperatorParameters;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/** The factory class for {@link DynamicFilteringDataCollectorOperator}. */
+public class DynamicFilteringDataCollectorOperatorFactory
+        extends AbstractStreamOperatorFactory<RowData>
+        implements CoordinatedOperatorFactory<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The IDs under which the source coordinators listen to the dynamic filtering data. The set may
+     * still be extended after the factory was created, as long as the job graph is not built yet.
+     */
+    private final Set<String> dynamicFilteringDataListenerIDs;
+
+    private final RowType dynamicFilteringFieldType;
+    private final int[] dynamicFilteringFieldIndices;
+    private final long threshold;
+
+    public DynamicFilteringDataCollectorOperatorFactory(
+            RowType dynamicFilteringFieldType,
+            int[] dynamicFilteringFieldIndices,
+            long threshold,
+            Set<String> dynamicFilteringDataListenerIDs) {
+        this.dynamicFilteringFieldType = checkNotNull(dynamicFilteringFieldType);
+        this.dynamicFilteringFieldIndices = checkNotNull(dynamicFilteringFieldIndices);
+        this.threshold = threshold;
+        this.dynamicFilteringDataListenerIDs = checkNotNull(dynamicFilteringDataListenerIDs);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends StreamOperator<RowData>> T createStreamOperator(
+            StreamOperatorParameters<RowData> parameters) {
+        final OperatorID operatorId = parameters.getStreamConfig().getOperatorID();
+        final OperatorEventGateway operatorEventGateway =
+                parameters.getOperatorEventDispatcher().getOperatorEventGateway(operatorId);
+        final DynamicFilteringDataCollectorOperator operator =
+                new DynamicFilteringDataCollectorOperator(
+                        dynamicFilteringFieldType,
+                        dynamicFilteringFieldIndices,
+                        threshold,
+                        operatorEventGateway);
+        operator.setup(
+                parameters.getContainingTask(),
+                parameters.getStreamConfig(),
+                parameters.getOutput());
+        return (T) operator;
+    }
+
+    @Override
+    public OperatorCoordinator.Provider getCoordinatorProvider(
+            String operatorName, OperatorID operatorID) {
+        return new DynamicFilteringDataCollectorOperatorCoordinator.Provider(
+                operatorID, dynamicFilteringDataListenerIDs);
+    }
+
+    @Override
+    public Class<? extends StreamOperator> getStreamOperatorClass(ClassLoader classLoader) {
+        return DynamicFilteringDataCollectorOperator.class;
+    }
+}
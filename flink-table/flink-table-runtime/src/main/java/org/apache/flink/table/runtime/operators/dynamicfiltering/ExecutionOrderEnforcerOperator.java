@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.dynamicfiltering;
+
+import org.apache.flink.streaming.api.operators.AbstractInput;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperatorV2;
+import org.apache.flink.streaming.api.operators.Input;
+import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperatorParameters;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Operator that enforces the execution order of a source with dynamic filtering and the {@link
+ * DynamicFilteringDataCollectorOperator} that produces its filtering data.
+ *
+ * <p>The first input is connected to the collector via a blocking exchange and never receives
+ * records, the second input is the source, which is chained to this operator, and is forwarded
+ * as-is. As the source is part of the same task, it is only scheduled after the collector finished
+ * and sent the dynamic filtering data.
+ */
+public class ExecutionOrderEnforcerOperator<IN> extends AbstractStreamOperatorV2<IN>
+        implements MultipleInputStreamOperator<IN> {
+
+    public ExecutionOrderEnforcerOperator(StreamOperatorParameters<IN> parameters) {
+        super(parameters, 2);
+    }
+
+    @Override
+    public List<Input> getInputs() {
+        return Arrays.asList(
+                new AbstractInput<Object, IN>(this, 1) {
+                    @Override
+                    public void processElement(StreamRecord<Object> element) {
+                        // the dynamic filtering data collector emits no records
+                    }
+                },
+                new AbstractInput<IN, IN>(this, 2) {
+                    @Override
+                    public void processElement(StreamRecord<IN> element) {
+                        output.collect(element);
+                    }
+                });
+    }
+}
@@ -32,7 +32,9 @@ import org.apache.flink.table.data.utils.JoinedRowData;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
 import org.apache.flink.table.runtime.generated.GeneratedProjection;
 import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.hashtable.BinaryHashPartition;
 import org.apache.flink.table.runtime.hashtable.BinaryHashTable;
+import org.apache.flink.table.runtime.hashtable.ProbeIterator;
 import org.apache.flink.table.runtime.operators.TableStreamOperator;
 import org.apache.flink.table.runtime.typeutils.AbstractRowDataSerializer;
 import org.apache.flink.table.runtime.util.RowIterator;
@@ -43,7 +45,10 @@ import org.apache.flink.util.Collector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
+import java.util.List;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 import static org.apache.flink.util.Preconditions.checkState;
@@ -67,6 +72,8 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
     private final HashJoinType type;
 
     private transient BinaryHashTable table;
+    private transient AbstractRowDataSerializer buildSerializer;
+    private transient AbstractRowDataSerializer probeSerializer;
     transient Collector<RowData> collector;
 
     transient RowData buildSideNullRow;
@@ -87,10 +94,10 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
 
         ClassLoader cl = getContainingTask().getUserCodeClassLoader();
 
-        final AbstractRowDataSerializer buildSerializer =
+        this.buildSerializer =
                 (AbstractRowDataSerializer)
                         getOperatorConfig().getTypeSerializerIn1(getUserCodeClassloader());
-        final AbstractRowDataSerializer probeSerializer =
+        this.probeSerializer =
                 (AbstractRowDataSerializer)
                         getOperatorConfig().getTypeSerializerIn2(getUserCodeClassloader());
 
@@ -124,7 +131,8 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
                         condition,
                         reverseJoinFunction,
                         parameter.filterNullKeys,
-                        parameter.tryDistinctBuildRow);
+                        parameter.tryDistinctBuildRow,
+                        parameter.sortMergeJoinFunction != null);
 
         this.collector = new StreamRecordCollector<>(output);
 
@@ -177,10 +185,64 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
                     joinWithNextKey();
                 }
                 LOG.info("Finish rebuild phase.");
+                if (!this.table.getPartitionsPendingForSMJ().isEmpty()) {
+                    fallbackSMJProcessPartition();
+                }
                 break;
         }
     }
 
+    /**
+     * Joins the spilled partitions which could not be joined by hash because they exceeded the
+     * maximum recursion depth, e.g. because of too many duplicate keys. The sort merge join takes
+     * over the memory which is not used by the hash table anymore.
+     */
+    private void fallbackSMJProcessPartition() throws Exception {
+        List<BinaryHashPartition> partitions = this.table.getPartitionsPendingForSMJ();
+        LOG.info(
+                "Fallback to sort merge join to process {} spilled partitions.",
+                partitions.size());
+
+        this.table.freeCurrent();
+        SortMergeJoinFunction sortMergeJoinFunction = parameter.sortMergeJoinFunction;
+        // the sort merge join is based on the left and right input instead of build and probe
+        sortMergeJoinFunction.open(
+                getContainingTask(),
+                reverseJoinFunction ? probeSerializer : buildSerializer,
+                reverseJoinFunction ? buildSerializer : probeSerializer,
+                computeMemorySize() - this.table.getUsedMemoryInBytes(),
+                getRuntimeContext(),
+                collector);
+
+        for (BinaryHashPartition p : partitions) {
+            RowIterator<BinaryRowData> buildIter = this.table.getSpilledPartitionBuildSideIter(p);
+            while (buildIter.advanceNext()) {
+                if (reverseJoinFunction) {
+                    sortMergeJoinFunction.processElement2(buildIter.getRow());
+                } else {
+                    sortMergeJoinFunction.processElement1(buildIter.getRow());
+                }
+            }
+
+            ProbeIterator probeIter = this.table.getSpilledPartitionProbeSideIter(p);
+            BinaryRowData probeRow;
+            while ((probeRow = probeIter.next()) != null) {
+                if (reverseJoinFunction) {
+                    sortMergeJoinFunction.processElement1(probeRow);
+                } else {
+                    sortMergeJoinFunction.processElement2(probeRow);
+                }
+            }
+        }
+
+        // the spilled files are not needed anymore
+        closeHashTable();
+
+        sortMergeJoinFunction.endInput(1);
+        sortMergeJoinFunction.endInput(2);
+        LOG.info("Finish sort merge join for the spilled partitions.");
+    }
+
     private void joinWithNextKey() throws Exception {
         // we have a next record, get the iterators to the probe and build side values
         join(table.getBuildSideIterator(), table.getCurrentProbeRow());
@@ -214,12 +276,19 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
     @Override
     public void close() throws Exception {
         super.close();
+        closeHashTable();
+        condition.close();
+        if (parameter.sortMergeJoinFunction != null) {
+            parameter.sortMergeJoinFunction.close();
+        }
+    }
+
+    private void closeHashTable() {
         if (this.table != null) {
             this.table.close();
             this.table.free();
             this.table = null;
         }
-        condition.close();
     }
 
     public static HashJoinOperator newHashJoinOperator(
@@ -234,6 +303,42 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
             long buildRowCount,
             long probeRowCount,
             RowType keyType) {
+        return newHashJoinOperator(
+                type,
+                condFuncCode,
+                reverseJoinFunction,
+                filterNullKeys,
+                buildProjectionCode,
+                probeProjectionCode,
+                tryDistinctBuildRow,
+                buildRowSize,
+                buildRowCount,
+                probeRowCount,
+                keyType,
+                null);
+    }
+
+    /**
+     * Creates a hash join operator.
+     *
+     * @param sortMergeJoinFunction if not null, the spilled partitions which exceed the maximum
+     *     recursion depth of the hash table are joined by this sort merge join instead of failing
+     *     the job. Its left and right input are the left and right input of the join, not the build
+     *     and probe side.
+     */
+    public static HashJoinOperator newHashJoinOperator(
+            HashJoinType type,
+            GeneratedJoinCondition condFuncCode,
+            boolean reverseJoinFunction,
+            boolean[] filterNullKeys,
+            GeneratedProjection buildProjectionCode,
+            GeneratedProjection probeProjectionCode,
+            boolean tryDistinctBuildRow,
+            int buildRowSize,
+            long buildRowCount,
+            long probeRowCount,
+            RowType keyType,
+            @Nullable SortMergeJoinFunction sortMergeJoinFunction) {
         HashJoinParameter parameter =
                 new HashJoinParameter(
                         type,
@@ -246,7 +351,8 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
                         buildRowSize,
                         buildRowCount,
                         probeRowCount,
-                        keyType);
+                        keyType,
+                        sortMergeJoinFunction);
         switch (type) {
             case INNER:
                 return new InnerHashJoinOperator(parameter);
@@ -280,6 +386,7 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
         long buildRowCount;
         long probeRowCount;
         RowType keyType;
+        @Nullable SortMergeJoinFunction sortMergeJoinFunction;
 
         HashJoinParameter(
                 HashJoinType type,
@@ -292,7 +399,8 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
                 int buildRowSize,
                 long buildRowCount,
                 long probeRowCount,
-                RowType keyType) {
+                RowType keyType,
+                @Nullable SortMergeJoinFunction sortMergeJoinFunction) {
             this.type = type;
             this.condFuncCode = condFuncCode;
             this.reverseJoinFunction = reverseJoinFunction;
@@ -304,6 +412,7 @@ public abstract class HashJoinOperator extends TableStreamOperator<RowData>
             this.buildRowCount = buildRowCount;
             this.probeRowCount = probeRowCount;
             this.keyType = keyType;
+            this.sortMergeJoinFunction = sortMergeJoinFunction;
         }
     }
 
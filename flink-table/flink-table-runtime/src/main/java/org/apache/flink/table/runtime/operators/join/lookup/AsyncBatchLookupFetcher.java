@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup;
+
+import org.apache.flink.api.common.functions.AbstractRichFunction;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncBatchLookupFunction;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The fetcher of an asynchronous lookup join whose lookup function is an {@link
+ * AsyncBatchLookupFunction}. It is used by the {@link AsyncLookupJoinRunner} in place of the
+ * generated fetcher which invokes the lookup function once per input row.
+ *
+ * <p>The keys of the input rows are accumulated together with their {@link ResultFuture}s until
+ * the batch size is reached or the oldest key has waited for the batch interval. The distinct keys
+ * of a batch are looked up by one call of the lookup function, and the result of each key completes
+ * the futures of all the input rows with this key. The futures are completed independently of each
+ * other, so the output mode of the async operator is preserved.
+ *
+ * <p>Full batches are looked up by the task thread and expired batches by the batch timer thread.
+ * The calls of the lookup function are serialized, so the lookup function needn't be thread-safe.
+ */
+public class AsyncBatchLookupFetcher extends AbstractRichFunction
+        implements AsyncFunction<RowData, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AsyncTableFunction<?> lookupFunction;
+    private final RowType inputType;
+    private final int[] keyFields;
+    private final int maxBatchSize;
+    private final long batchIntervalMillis;
+
+    private transient AsyncBatchLookupFunction batchFunction;
+    private transient RowData.FieldGetter[] keyFieldGetters;
+    private transient RowDataSerializer keySerializer;
+    private transient ScheduledExecutorService batchTimer;
+
+    /** Guards the current batch, which is also flushed by the batch timer. */
+    private transient Object lock;
+
+    /**
+     * Serializes the calls of the lookup function by the task thread and the batch timer. It is
+     * not the {@link #lock} of the current batch, so that the next batch can be accumulated while
+     * a batch is looked up.
+     */
+    private transient Object lookupLock;
+
+    private transient List<RowData> batchKeys;
+    private transient List<ResultFuture<Object>> batchFutures;
+    private transient long batchStartMillis;
+
+    /**
+     * Creates an AsyncBatchLookupFetcher.
+     *
+     * @param lookupFunction the lookup function, which must implement {@link
+     *     AsyncBatchLookupFunction}
+     * @param inputType the type of the input rows of the lookup join
+     * @param keyFields the input fields of the lookup keys, in the order of the table fields
+     * @param maxBatchSize the maximum number of input rows of a batch
+     * @param batchIntervalMillis the maximum time the first input row of a batch waits
+     */
+    public AsyncBatchLookupFetcher(
+            AsyncTableFunction<?> lookupFunction,
+            RowType inputType,
+            int[] keyFields,
+            int maxBatchSize,
+            long batchIntervalMillis) {
+        checkArgument(
+                lookupFunction instanceof AsyncBatchLookupFunction,
+                "The lookup function must implement AsyncBatchLookupFunction.");
+        checkArgument(maxBatchSize > 0, "The batch size must be positive.");
+        checkArgument(batchIntervalMillis > 0, "The batch interval must be positive.");
+        this.lookupFunction = lookupFunction;
+        this.inputType = checkNotNull(inputType);
+        this.keyFields = checkNotNull(keyFields);
+        this.maxBatchSize = maxBatchSize;
+        this.batchIntervalMillis = batchIntervalMillis;
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        lookupFunction.open(new FunctionContext(getRuntimeContext()));
+        this.batchFunction = (AsyncBatchLookupFunction) lookupFunction;
+
+        LogicalType[] keyTypes = new LogicalType[keyFields.length];
+        this.keyFieldGetters = new RowData.FieldGetter[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            keyTypes[i] = inputType.getTypeAt(keyFields[i]);
+            keyFieldGetters[i] = RowData.createFieldGetter(keyTypes[i], keyFields[i]);
+        }
+        this.keySerializer = new RowDataSerializer(keyTypes);
+
+        this.lock = new Object();
+        this.lookupLock = new Object();
+        this.batchKeys = new ArrayList<>(maxBatchSize);
+        this.batchFutures = new ArrayList<>(maxBatchSize);
+        this.batchTimer =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ExecutorThreadFactory("async-lookup-batch-timer"));
+        batchTimer.scheduleWithFixedDelay(
+                this::flushExpiredBatch,
+                batchIntervalMillis,
+                batchIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void asyncInvoke(RowData input, ResultFuture<Object> resultFuture) {
+        GenericRowData key = new GenericRowData(keyFieldGetters.length);
+        for (int i = 0; i < keyFieldGetters.length; i++) {
+            key.setField(i, keyFieldGetters[i].getFieldOrNull(input));
+        }
+        // the input row may be reused, the key is kept until the batch is looked up
+        RowData copiedKey = keySerializer.toBinaryRow(key).copy();
+
+        List<RowData> fullKeys = null;
+        List<ResultFuture<Object>> fullFutures = null;
+        synchronized (lock) {
+            if (batchKeys.isEmpty()) {
+                batchStartMillis = System.currentTimeMillis();
+            }
+            batchKeys.add(copiedKey);
+            batchFutures.add(resultFuture);
+            if (batchKeys.size() >= maxBatchSize) {
+                fullKeys = batchKeys;
+                fullFutures = batchFutures;
+                resetBatch();
+            }
+        }
+        if (fullKeys != null) {
+            lookupBatch(fullKeys, fullFutures);
+        }
+    }
+
+    private void flushExpiredBatch() {
+        List<RowData> expiredKeys = null;
+        List<ResultFuture<Object>> expiredFutures = null;
+        synchronized (lock) {
+            if (!batchKeys.isEmpty()
+                    && System.currentTimeMillis() - batchStartMillis >= batchIntervalMillis) {
+                expiredKeys = batchKeys;
+                expiredFutures = batchFutures;
+                resetBatch();
+            }
+        }
+        if (expiredKeys != null) {
+            lookupBatch(expiredKeys, expiredFutures);
+        }
+    }
+
+    private void resetBatch() {
+        this.batchKeys = new ArrayList<>(maxBatchSize);
+        this.batchFutures = new ArrayList<>(maxBatchSize);
+    }
+
+    private void lookupBatch(List<RowData> keys, List<ResultFuture<Object>> futures) {
+        // the input rows with the same key are joined with the same looked up rows
+        Map<RowData, List<ResultFuture<Object>>> futuresByKey = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            futuresByKey.computeIfAbsent(keys.get(i), k -> new ArrayList<>()).add(futures.get(i));
+        }
+        List<RowData> distinctKeys = new ArrayList<>(futuresByKey.keySet());
+
+        try {
+            CompletableFuture<List<Collection<RowData>>> lookupFuture;
+            synchronized (lookupLock) {
+                lookupFuture = batchFunction.asyncLookupBatch(distinctKeys);
+            }
+            lookupFuture.whenComplete(
+                    (results, error) -> {
+                        Throwable failure = error;
+                        if (failure == null
+                                && (results == null || results.size() != distinctKeys.size())) {
+                            failure =
+                                    new IllegalStateException(
+                                            "The batched lookup didn't return a result "
+                                                    + "for each of the "
+                                                    + distinctKeys.size()
+                                                    + " keys.");
+                        }
+                        if (failure != null) {
+                            for (ResultFuture<Object> future : futures) {
+                                future.completeExceptionally(failure);
+                            }
+                            return;
+                        }
+                        for (int i = 0; i < distinctKeys.size(); i++) {
+                            complete(futuresByKey.get(distinctKeys.get(i)), results.get(i));
+                        }
+                    });
+        } catch (Throwable t) {
+            for (ResultFuture<Object> future : futures) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void complete(List<ResultFuture<Object>> futures, Collection<RowData> rows) {
+        for (ResultFuture<Object> future : futures) {
+            future.complete((Collection) rows);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (batchTimer != null) {
+            batchTimer.shutdownNow();
+        }
+        lookupFunction.close();
+    }
+}
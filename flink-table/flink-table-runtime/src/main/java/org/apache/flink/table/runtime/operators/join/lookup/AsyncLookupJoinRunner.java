@@ -31,8 +31,11 @@ import org.apache.flink.table.data.utils.JoinedRowData;
 import org.apache.flink.table.runtime.collector.TableFunctionResultFuture;
 import org.apache.flink.table.runtime.generated.GeneratedFunction;
 import org.apache.flink.table.runtime.generated.GeneratedResultFuture;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.LookupJoinCache;
 import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -49,6 +52,7 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
     private final GeneratedResultFuture<TableFunctionResultFuture<RowData>> generatedResultFuture;
     private final boolean isLeftOuterJoin;
     private final int asyncBufferCapacity;
+    @Nullable private final LookupJoinCache cache;
 
     private transient AsyncFunction<RowData, Object> fetcher;
 
@@ -73,12 +77,31 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
             RowDataSerializer rightRowSerializer,
             boolean isLeftOuterJoin,
             int asyncBufferCapacity) {
+        this(
+                generatedFetcher,
+                fetcherConverter,
+                generatedResultFuture,
+                rightRowSerializer,
+                isLeftOuterJoin,
+                asyncBufferCapacity,
+                null);
+    }
+
+    public AsyncLookupJoinRunner(
+            GeneratedFunction<AsyncFunction<RowData, Object>> generatedFetcher,
+            DataStructureConverter<RowData, Object> fetcherConverter,
+            GeneratedResultFuture<TableFunctionResultFuture<RowData>> generatedResultFuture,
+            RowDataSerializer rightRowSerializer,
+            boolean isLeftOuterJoin,
+            int asyncBufferCapacity,
+            @Nullable LookupJoinCache cache) {
         this.generatedFetcher = generatedFetcher;
         this.fetcherConverter = fetcherConverter;
         this.generatedResultFuture = generatedResultFuture;
         this.rightRowSerializer = rightRowSerializer;
         this.isLeftOuterJoin = isLeftOuterJoin;
         this.asyncBufferCapacity = asyncBufferCapacity;
+        this.cache = cache;
     }
 
     @Override
@@ -92,6 +115,9 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
         generatedResultFuture.compile(getRuntimeContext().getUserCodeClassLoader());
 
         fetcherConverter.open(getRuntimeContext().getUserCodeClassLoader());
+        if (cache != null) {
+            cache.open(getRuntimeContext());
+        }
 
         // asyncBufferCapacity + 1 as the queue size in order to avoid
         // blocking on the queue when taking a collector.
@@ -104,7 +130,8 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
                             createFetcherResultFuture(parameters),
                             fetcherConverter,
                             isLeftOuterJoin,
-                            rightRowSerializer.getArity());
+                            rightRowSerializer.getArity(),
+                            cache);
             // add will throw exception immediately if the queue is full which should never happen
             resultFutureBuffer.add(rf);
             allResultFutures.add(rf);
@@ -117,6 +144,16 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
         // the input row is copied when object reuse in AsyncWaitOperator
         outResultFuture.reset(input, resultFuture);
 
+        if (cache != null) {
+            RowData key = cache.getKey(input);
+            Collection<RowData> cachedRows = cache.getIfPresent(key);
+            if (cachedRows != null) {
+                outResultFuture.completeWithLookupRows(cachedRows);
+                return;
+            }
+            outResultFuture.cacheLookupRows(key, System.nanoTime());
+        }
+
         // fetcher has copied the input field when object reuse is enabled
         fetcher.asyncInvoke(input, outResultFuture);
     }
@@ -141,6 +178,9 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
                 rf.close();
             }
         }
+        if (cache != null) {
+            cache.close();
+        }
     }
 
     @VisibleForTesting
@@ -171,6 +211,12 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
         private final TableFunctionResultFuture<RowData> joinConditionResultFuture;
         private final DataStructureConverter<RowData, Object> resultConverter;
         private final boolean isLeftOuterJoin;
+        @Nullable private final LookupJoinCache cache;
+        /**
+         * The serializer to copy the looked up rows into the cache. The future is completed by the
+         * threads of the lookup function, so it can't share the serializer of the cache.
+         */
+        @Nullable private final RowDataSerializer lookupRowSerializer;
 
         private final DelegateResultFuture delegate;
         private final GenericRowData nullRow;
@@ -178,16 +224,24 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
         private RowData leftRow;
         private ResultFuture<RowData> realOutput;
 
+        /** The cache key of the rows to be looked up, or null if they aren't cached. */
+        @Nullable private RowData cacheKey;
+
+        private long loadStartNanos;
+
         private JoinedRowResultFuture(
                 BlockingQueue<JoinedRowResultFuture> resultFutureBuffer,
                 TableFunctionResultFuture<RowData> joinConditionResultFuture,
                 DataStructureConverter<RowData, Object> resultConverter,
                 boolean isLeftOuterJoin,
-                int rightArity) {
+                int rightArity,
+                @Nullable LookupJoinCache cache) {
             this.resultFutureBuffer = resultFutureBuffer;
             this.joinConditionResultFuture = joinConditionResultFuture;
             this.resultConverter = resultConverter;
             this.isLeftOuterJoin = isLeftOuterJoin;
+            this.cache = cache;
+            this.lookupRowSerializer = cache == null ? null : cache.duplicateLookupRowSerializer();
             this.delegate = new DelegateResultFuture();
             this.nullRow = new GenericRowData(rightArity);
         }
@@ -198,6 +252,13 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
             joinConditionResultFuture.setInput(row);
             joinConditionResultFuture.setResultFuture(delegate);
             delegate.reset();
+            this.cacheKey = null;
+        }
+
+        /** Caches the looked up rows under the given key when the lookup is completed. */
+        public void cacheLookupRows(RowData key, long loadStartNanos) {
+            this.cacheKey = key;
+            this.loadStartNanos = loadStartNanos;
         }
 
         @Override
@@ -213,6 +274,18 @@ public class AsyncLookupJoinRunner extends RichAsyncFunction<RowData, RowData> {
                 }
             }
 
+            if (cacheKey != null && rowDataCollection != null) {
+                List<RowData> cachedRows = new ArrayList<>(rowDataCollection.size());
+                for (RowData row : rowDataCollection) {
+                    cachedRows.add(lookupRowSerializer.copy(row));
+                }
+                cache.put(cacheKey, cachedRows, loadStartNanos);
+            }
+            completeWithLookupRows(rowDataCollection);
+        }
+
+        /** Completes the lookup with the internal rows looked up from the dimension table. */
+        public void completeWithLookupRows(Collection<RowData> rowDataCollection) {
             // call condition collector first,
             // the filtered result will be routed to the delegateCollector
             try {
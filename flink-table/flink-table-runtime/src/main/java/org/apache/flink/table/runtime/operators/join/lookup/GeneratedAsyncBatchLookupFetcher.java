@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedFunction;
+import org.apache.flink.util.InstantiationUtil;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link GeneratedFunction} of an {@link AsyncBatchLookupFetcher}. The fetcher is not generated
+ * code, so it is passed to the {@link AsyncLookupJoinRunner} like the generated fetchers without
+ * being compiled by Janino. Each new instance is a copy of the given fetcher.
+ */
+public class GeneratedAsyncBatchLookupFetcher
+        extends GeneratedFunction<AsyncFunction<RowData, Object>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AsyncBatchLookupFetcher fetcher;
+
+    /**
+     * Creates a GeneratedAsyncBatchLookupFetcher.
+     *
+     * @param fetcher the fetcher to copy for each new instance.
+     * @param conf configuration when generating Function.
+     */
+    public GeneratedAsyncBatchLookupFetcher(AsyncBatchLookupFetcher fetcher, Configuration conf) {
+        super(AsyncBatchLookupFetcher.class.getName(), "", new Object[0], conf);
+        this.fetcher = checkNotNull(fetcher);
+    }
+
+    @Override
+    public AsyncFunction<RowData, Object> newInstance(ClassLoader classLoader) {
+        try {
+            // the lookup function is user code, so it is copied by the user code class loader
+            return InstantiationUtil.clone(fetcher, classLoader);
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "Could not instantiate the fetcher '" + getClassName() + "'", e);
+        }
+    }
+
+    @Override
+    public AsyncFunction<RowData, Object> newInstance(ClassLoader classLoader, Object... args) {
+        throw new UnsupportedOperationException(
+                "The fetcher '" + getClassName() + "' has no constructor arguments.");
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Class<AsyncFunction<RowData, Object>> compile(ClassLoader classLoader) {
+        return (Class) AsyncBatchLookupFetcher.class;
+    }
+}
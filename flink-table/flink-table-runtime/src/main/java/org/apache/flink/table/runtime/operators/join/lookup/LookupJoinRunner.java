@@ -28,8 +28,15 @@ import org.apache.flink.table.data.utils.JoinedRowData;
 import org.apache.flink.table.runtime.collector.TableFunctionCollector;
 import org.apache.flink.table.runtime.generated.GeneratedCollector;
 import org.apache.flink.table.runtime.generated.GeneratedFunction;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.LookupJoinCache;
 import org.apache.flink.util.Collector;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /** The join runner to lookup the dimension table. */
 public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
     private static final long serialVersionUID = -4521543015709964733L;
@@ -38,21 +45,33 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
     private final GeneratedCollector<TableFunctionCollector<RowData>> generatedCollector;
     private final boolean isLeftOuterJoin;
     private final int tableFieldsCount;
+    @Nullable private final LookupJoinCache cache;
 
     private transient FlatMapFunction<RowData, RowData> fetcher;
     protected transient TableFunctionCollector<RowData> collector;
     private transient GenericRowData nullRow;
     private transient JoinedRowData outRow;
+    private transient CachingCollector cachingCollector;
 
     public LookupJoinRunner(
             GeneratedFunction<FlatMapFunction<RowData, RowData>> generatedFetcher,
             GeneratedCollector<TableFunctionCollector<RowData>> generatedCollector,
             boolean isLeftOuterJoin,
             int tableFieldsCount) {
+        this(generatedFetcher, generatedCollector, isLeftOuterJoin, tableFieldsCount, null);
+    }
+
+    public LookupJoinRunner(
+            GeneratedFunction<FlatMapFunction<RowData, RowData>> generatedFetcher,
+            GeneratedCollector<TableFunctionCollector<RowData>> generatedCollector,
+            boolean isLeftOuterJoin,
+            int tableFieldsCount,
+            @Nullable LookupJoinCache cache) {
         this.generatedFetcher = generatedFetcher;
         this.generatedCollector = generatedCollector;
         this.isLeftOuterJoin = isLeftOuterJoin;
         this.tableFieldsCount = tableFieldsCount;
+        this.cache = cache;
     }
 
     @Override
@@ -69,6 +88,10 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
 
         this.nullRow = new GenericRowData(tableFieldsCount);
         this.outRow = new JoinedRowData();
+        if (cache != null) {
+            cache.open(getRuntimeContext());
+            this.cachingCollector = new CachingCollector();
+        }
     }
 
     @Override
@@ -77,8 +100,12 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
         collector.setInput(in);
         collector.reset();
 
-        // fetcher has copied the input field when object reuse is enabled
-        fetcher.flatMap(in, getFetcherCollector());
+        if (cache == null) {
+            // fetcher has copied the input field when object reuse is enabled
+            fetcher.flatMap(in, getFetcherCollector());
+        } else {
+            lookupWithCache(in);
+        }
 
         if (isLeftOuterJoin && !collector.isCollected()) {
             outRow.replace(in, nullRow);
@@ -87,6 +114,22 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
         }
     }
 
+    private void lookupWithCache(RowData in) throws Exception {
+        RowData key = cache.getKey(in);
+        Collection<RowData> cachedRows = cache.getIfPresent(key);
+        if (cachedRows != null) {
+            Collector<RowData> fetcherCollector = getFetcherCollector();
+            for (RowData row : cachedRows) {
+                fetcherCollector.collect(row);
+            }
+        } else {
+            long loadStartNanos = System.nanoTime();
+            cachingCollector.reset(getFetcherCollector());
+            fetcher.flatMap(in, cachingCollector);
+            cache.put(key, cachingCollector.rows, loadStartNanos);
+        }
+    }
+
     public Collector<RowData> getFetcherCollector() {
         return collector;
     }
@@ -100,5 +143,31 @@ public class LookupJoinRunner extends ProcessFunction<RowData, RowData> {
         if (collector != null) {
             FunctionUtils.closeFunction(collector);
         }
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /** Copies the looked up rows for the cache and forwards them to the fetcher collector. */
+    private final class CachingCollector implements Collector<RowData> {
+
+        private Collector<RowData> delegate;
+        private List<RowData> rows;
+
+        private void reset(Collector<RowData> delegate) {
+            this.delegate = delegate;
+            this.rows = new ArrayList<>();
+        }
+
+        @Override
+        public void collect(RowData record) {
+            rows.add(cache.copy(record));
+            delegate.collect(record);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
     }
 }
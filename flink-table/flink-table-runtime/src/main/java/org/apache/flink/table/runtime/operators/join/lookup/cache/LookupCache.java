@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.RowData;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * A cache of the rows looked up from a dimension table by a lookup join, keyed by the lookup key.
+ *
+ * <p>The cache is created when the lookup join is translated, serialized with the join runner and
+ * opened by each subtask, i.e. every subtask caches the rows looked up by itself. The cached rows
+ * are the rows returned by the lookup function, before any calc or join condition is applied, so
+ * that a cache is independent of the lookup connector.
+ */
+public interface LookupCache extends Serializable {
+
+    /**
+     * Opens the cache of a subtask.
+     *
+     * @param metricGroup the metric group of the cache to register additional metrics
+     */
+    void open(MetricGroup metricGroup) throws Exception;
+
+    /**
+     * Returns the cached rows of the key, or null if the key is not cached. An empty collection
+     * means that the key has been looked up without a match.
+     */
+    @Nullable
+    Collection<RowData> getIfPresent(RowData key);
+
+    /** Caches the rows looked up for the key. Both the key and the rows must not be reused. */
+    void put(RowData key, Collection<RowData> rows);
+
+    /** Returns the number of cached keys. */
+    long size();
+
+    /** Closes the cache and releases the cached rows. */
+    void close() throws Exception;
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Connects a {@link LookupCache} to a lookup join runner: extracts the cache keys of the input
+ * rows, copies the looked up rows into the cache and reports the metrics of the cache of a subtask.
+ *
+ * <p>The cache key of an input row consists of the input fields which the lookup keys refer to,
+ * since the constant lookup keys are the same for all the input rows.
+ */
+public class LookupJoinCache implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String LOOKUP_CACHE_METRIC_GROUP = "lookupCache";
+    public static final String HIT_COUNT_METRIC_NAME = "hitCount";
+    public static final String MISS_COUNT_METRIC_NAME = "missCount";
+    public static final String HIT_RATE_METRIC_NAME = "hitRate";
+    public static final String NUM_CACHED_KEYS_METRIC_NAME = "numCachedKeys";
+    public static final String LATEST_LOAD_TIME_METRIC_NAME = "latestLoadTime";
+
+    private final LookupCache cache;
+    private final RowType inputType;
+    private final int[] keyFields;
+    private final RowType lookupRowType;
+
+    private transient RowData.FieldGetter[] keyFieldGetters;
+    private transient RowDataSerializer keySerializer;
+    private transient RowDataSerializer lookupRowSerializer;
+
+    private transient Counter hitCounter;
+    private transient Counter missCounter;
+    /** The time in milliseconds of the latest lookup of a key which was not cached. */
+    private transient volatile long latestLoadTime;
+
+    /**
+     * Creates a LookupJoinCache.
+     *
+     * @param cache the cache of the looked up rows
+     * @param inputType the type of the input rows of the lookup join
+     * @param keyFields the input fields which the lookup keys refer to
+     * @param lookupRowType the type of the rows returned by the lookup function
+     */
+    public LookupJoinCache(
+            LookupCache cache, RowType inputType, int[] keyFields, RowType lookupRowType) {
+        this.cache = checkNotNull(cache);
+        this.inputType = checkNotNull(inputType);
+        this.keyFields = checkNotNull(keyFields);
+        this.lookupRowType = checkNotNull(lookupRowType);
+    }
+
+    public void open(RuntimeContext runtimeContext) throws Exception {
+        LogicalType[] keyTypes = new LogicalType[keyFields.length];
+        this.keyFieldGetters = new RowData.FieldGetter[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            keyTypes[i] = inputType.getTypeAt(keyFields[i]);
+            keyFieldGetters[i] = RowData.createFieldGetter(keyTypes[i], keyFields[i]);
+        }
+        this.keySerializer = new RowDataSerializer(keyTypes);
+        this.lookupRowSerializer = new RowDataSerializer(lookupRowType);
+
+        MetricGroup metricGroup =
+                runtimeContext.getMetricGroup().addGroup(LOOKUP_CACHE_METRIC_GROUP);
+        this.hitCounter = metricGroup.counter(HIT_COUNT_METRIC_NAME);
+        this.missCounter = metricGroup.counter(MISS_COUNT_METRIC_NAME);
+        metricGroup.<Double, Gauge<Double>>gauge(HIT_RATE_METRIC_NAME, this::getHitRate);
+        metricGroup.<Long, Gauge<Long>>gauge(NUM_CACHED_KEYS_METRIC_NAME, cache::size);
+        metricGroup.<Long, Gauge<Long>>gauge(LATEST_LOAD_TIME_METRIC_NAME, () -> latestLoadTime);
+        cache.open(metricGroup);
+    }
+
+    /** Returns the cache key of an input row, which may be kept after the input row is reused. */
+    public RowData getKey(RowData input) {
+        GenericRowData key = new GenericRowData(keyFieldGetters.length);
+        for (int i = 0; i < keyFieldGetters.length; i++) {
+            key.setField(i, keyFieldGetters[i].getFieldOrNull(input));
+        }
+        return keySerializer.toBinaryRow(key).copy();
+    }
+
+    /** Returns the cached rows of the key, or null if the key has to be looked up. */
+    @Nullable
+    public Collection<RowData> getIfPresent(RowData key) {
+        Collection<RowData> rows = cache.getIfPresent(key);
+        if (rows != null) {
+            hitCounter.inc();
+        } else {
+            missCounter.inc();
+        }
+        return rows;
+    }
+
+    /**
+     * Copies a looked up row so that it can be cached although the lookup function reuses it. As
+     * the serializer is not thread-safe, it must only be called by the task thread. The threads
+     * which complete asynchronous lookups copy the rows with a {@link
+     * #duplicateLookupRowSerializer() duplicated serializer} instead.
+     */
+    public RowData copy(RowData row) {
+        return lookupRowSerializer.copy(row);
+    }
+
+    /**
+     * Returns a new serializer of the looked up rows, to copy them in another thread than the task
+     * thread. A serializer must not be used by several threads at the same time.
+     */
+    public RowDataSerializer duplicateLookupRowSerializer() {
+        return (RowDataSerializer) lookupRowSerializer.duplicate();
+    }
+
+    /**
+     * Caches the copied rows of a key which have been looked up since the given {@link
+     * System#nanoTime()}.
+     */
+    public void put(RowData key, Collection<RowData> copiedRows, long loadStartNanos) {
+        latestLoadTime = (System.nanoTime() - loadStartNanos) / 1_000_000;
+        cache.put(key, copiedRows);
+    }
+
+    public void close() throws Exception {
+        cache.close();
+    }
+
+    private double getHitRate() {
+        long hitCount = hitCounter.getCount();
+        long totalCount = hitCount + missCounter.getCount();
+        return totalCount == 0 ? 0.0 : (double) hitCount / totalCount;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.RowData;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A {@link LookupCache} which caches the rows of a bounded number of keys. The least recently used
+ * keys are evicted first, and the rows of a key may expire a certain time after they have been
+ * looked up or last accessed.
+ */
+public class PartialLookupCache implements LookupCache {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long maxKeys;
+    @Nullable private final Duration expireAfterWrite;
+    @Nullable private final Duration expireAfterAccess;
+    private final boolean cacheMissingKey;
+
+    private transient Cache<RowData, Collection<RowData>> cache;
+
+    /**
+     * Creates a PartialLookupCache.
+     *
+     * @param maxKeys the maximum number of cached keys
+     * @param expireAfterWrite the time after which the rows of a key expire once they have been
+     *     looked up, or null if they don't expire after write
+     * @param expireAfterAccess the time after which the rows of a key expire once they have been
+     *     last accessed, or null if they don't expire after access
+     * @param cacheMissingKey whether to cache the keys which don't match any row
+     */
+    public PartialLookupCache(
+            long maxKeys,
+            @Nullable Duration expireAfterWrite,
+            @Nullable Duration expireAfterAccess,
+            boolean cacheMissingKey) {
+        checkArgument(maxKeys > 0, "The maximum number of cached keys must be positive.");
+        this.maxKeys = maxKeys;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAfterAccess = expireAfterAccess;
+        this.cacheMissingKey = cacheMissingKey;
+    }
+
+    @Override
+    public void open(MetricGroup metricGroup) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxKeys);
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+        this.cache = builder.build();
+    }
+
+    @Nullable
+    @Override
+    public Collection<RowData> getIfPresent(RowData key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(RowData key, Collection<RowData> rows) {
+        if (cacheMissingKey || !rows.isEmpty()) {
+            cache.put(key, rows);
+        }
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public void close() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.skew;
+
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.util.StreamRecordCollector;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Global hot key detector operator, which merges the sketches of all {@link
+ * LocalHotKeyDetectorOperator}s and emits the keys whose frequency is at least the hot key ratio
+ * of all rows. It must run with parallelism 1.
+ */
+public class GlobalHotKeyDetectorOperator extends TableStreamOperator<RowData>
+        implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(GlobalHotKeyDetectorOperator.class);
+
+    private final int keyArity;
+    private final double hotKeyRatio;
+    private final int capacity;
+
+    private transient HeavyHitterSketch globalSketch;
+    private transient Collector<RowData> collector;
+
+    public GlobalHotKeyDetectorOperator(int keyArity, double hotKeyRatio) {
+        checkArgument(
+                hotKeyRatio > 0 && hotKeyRatio <= 1, "The hot key ratio must be in (0, 1].");
+        this.keyArity = keyArity;
+        this.hotKeyRatio = hotKeyRatio;
+        this.capacity = HeavyHitterSketch.capacityForRatio(hotKeyRatio);
+    }
+
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.globalSketch = new HeavyHitterSketch(keyArity, capacity);
+        this.collector = new StreamRecordCollector<>(output);
+    }
+
+    @Override
+    public void processElement(StreamRecord<RowData> element) throws Exception {
+        globalSketch.merge(SkewJoinUtils.readSketch(element.getValue(), keyArity, capacity));
+    }
+
+    @Override
+    public void endInput() throws Exception {
+        globalSketch.retainHotKeys(hotKeyRatio);
+        LOG.info(
+                "Detected {} hot keys in {} rows of the skewed join input.",
+                globalSketch.size(),
+                globalSketch.getNumRows());
+        collector.collect(SkewJoinUtils.createOutputRow(globalSketch));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.skew;
+
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A Misra-Gries sketch which finds the most frequent keys of a stream with a bounded number of
+ * counters. Every key whose frequency exceeds {@code numRows / (capacity + 1)} is contained in the
+ * sketch, and the count of a key is underestimated by at most {@code numRows / (capacity + 1)}.
+ *
+ * <p>Sketches built from different parts of a stream can be merged by summing the counts, which
+ * keeps the error bound of the merged stream.
+ */
+public class HeavyHitterSketch {
+
+    private final int capacity;
+    private final BinaryRowDataSerializer keySerializer;
+    private final Map<BinaryRowData, long[]> counters;
+
+    private long numRows;
+
+    public HeavyHitterSketch(int keyArity, int capacity) {
+        checkArgument(capacity > 0, "The capacity must be positive.");
+        this.capacity = capacity;
+        this.keySerializer = new BinaryRowDataSerializer(keyArity);
+        this.counters = new HashMap<>();
+        this.numRows = 0;
+    }
+
+    /**
+     * Returns the capacity which is needed to find all keys whose frequency is at least the given
+     * ratio of all rows, with an error of at most half of the ratio.
+     */
+    public static int capacityForRatio(double hotKeyRatio) {
+        checkArgument(
+                hotKeyRatio > 0 && hotKeyRatio <= 1, "The hot key ratio must be in (0, 1].");
+        return (int) Math.ceil(2 / hotKeyRatio);
+    }
+
+    /** Adds a key to the sketch. The key is copied if it is kept. */
+    public void add(BinaryRowData key) {
+        numRows++;
+        final long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0]++;
+        } else if (counters.size() < capacity) {
+            counters.put(keySerializer.copy(key), new long[] {1});
+        } else {
+            // the new key and one occurrence of every tracked key cancel each other out
+            decrementAll(1);
+        }
+    }
+
+    /** Merges the other sketch into this sketch. */
+    public void merge(HeavyHitterSketch other) {
+        numRows += other.numRows;
+        for (Map.Entry<BinaryRowData, long[]> entry : other.counters.entrySet()) {
+            final long[] counter = counters.get(entry.getKey());
+            if (counter != null) {
+                counter[0] += entry.getValue()[0];
+            } else {
+                counters.put(entry.getKey(), new long[] {entry.getValue()[0]});
+            }
+        }
+        if (counters.size() > capacity) {
+            // subtract the (capacity + 1)-th largest count to restore the capacity
+            final long[] counts =
+                    counters.values().stream().mapToLong(c -> c[0]).sorted().toArray();
+            decrementAll(counts[counts.length - capacity - 1]);
+        }
+    }
+
+    /** Removes all keys whose estimated count is below the given ratio of all rows. */
+    public void retainHotKeys(double hotKeyRatio) {
+        final double minCount = hotKeyRatio * numRows;
+        counters.values().removeIf(counter -> counter[0] < minCount);
+    }
+
+    /** Returns whether the sketch contains the given key. */
+    public boolean contains(BinaryRowData key) {
+        return counters.containsKey(key);
+    }
+
+    /** Returns the estimated count of the given key, 0 if the key is not contained. */
+    public long getCount(BinaryRowData key) {
+        final long[] counter = counters.get(key);
+        return counter == null ? 0 : counter[0];
+    }
+
+    /** Returns the number of keys in the sketch. */
+    public int size() {
+        return counters.size();
+    }
+
+    /** Returns the number of rows the sketch was built from. */
+    public long getNumRows() {
+        return numRows;
+    }
+
+    private void decrementAll(long delta) {
+        final Iterator<long[]> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            final long[] counter = iterator.next();
+            counter[0] -= delta;
+            if (counter[0] <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Serializes the sketch, so that it can be sent to other tasks. */
+    public static byte[] toBytes(HeavyHitterSketch sketch) throws IOException {
+        final DataOutputSerializer out = new DataOutputSerializer(64);
+        out.writeLong(sketch.numRows);
+        out.writeInt(sketch.counters.size());
+        for (Map.Entry<BinaryRowData, long[]> entry : sketch.counters.entrySet()) {
+            out.writeLong(entry.getValue()[0]);
+            sketch.keySerializer.serialize(entry.getKey(), out);
+        }
+        return out.getCopyOfBuffer();
+    }
+
+    /** Deserializes a sketch serialized by {@link #toBytes(HeavyHitterSketch)}. */
+    public static HeavyHitterSketch fromBytes(byte[] bytes, int keyArity, int capacity)
+            throws IOException {
+        final HeavyHitterSketch sketch = new HeavyHitterSketch(keyArity, capacity);
+        final DataInputDeserializer in = new DataInputDeserializer(bytes);
+        sketch.numRows = in.readLong();
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            final long count = in.readLong();
+            sketch.counters.put(sketch.keySerializer.deserialize(in), new long[] {count});
+        }
+        return sketch;
+    }
+}
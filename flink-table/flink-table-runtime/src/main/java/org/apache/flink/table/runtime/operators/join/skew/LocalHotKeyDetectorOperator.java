@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.skew;
+
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.util.StreamRecordCollector;
+import org.apache.flink.util.Collector;
+
+/**
+ * Local hot key detector operator, which builds a {@link HeavyHitterSketch} from the join keys of
+ * the rows of one parallel instance of the skewed side of a join. The local sketches are merged by
+ * the {@link GlobalHotKeyDetectorOperator}.
+ */
+public class LocalHotKeyDetectorOperator extends TableStreamOperator<RowData>
+        implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+    private static final long serialVersionUID = 1L;
+
+    private GeneratedProjection keyProjectionCode;
+    private final int keyArity;
+    private final int capacity;
+
+    private transient Projection<RowData, BinaryRowData> keyProjection;
+    private transient HeavyHitterSketch sketch;
+    private transient Collector<RowData> collector;
+
+    public LocalHotKeyDetectorOperator(
+            GeneratedProjection keyProjectionCode, int keyArity, double hotKeyRatio) {
+        this.keyProjectionCode = keyProjectionCode;
+        this.keyArity = keyArity;
+        this.capacity = HeavyHitterSketch.capacityForRatio(hotKeyRatio);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.keyProjection = keyProjectionCode.newInstance(getUserCodeClassloader());
+        this.sketch = new HeavyHitterSketch(keyArity, capacity);
+        this.collector = new StreamRecordCollector<>(output);
+        this.keyProjectionCode = null;
+    }
+
+    @Override
+    public void processElement(StreamRecord<RowData> element) throws Exception {
+        sketch.add(keyProjection.apply(element.getValue()));
+    }
+
+    @Override
+    public void endInput() throws Exception {
+        collector.collect(SkewJoinUtils.createOutputRow(sketch));
+    }
+}
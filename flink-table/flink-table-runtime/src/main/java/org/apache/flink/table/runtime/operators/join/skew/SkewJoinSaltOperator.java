@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.skew;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.streaming.api.operators.BoundedMultiInput;
+import org.apache.flink.streaming.api.operators.InputSelectable;
+import org.apache.flink.streaming.api.operators.InputSelection;
+import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.util.StreamRecordCollector;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Skew join salt operator, which appends a salt column to the rows of one side of a join. The join
+ * keys are extended by the salt column, so that the rows of a hot key are spread over several
+ * parallel instances of the join.
+ *
+ * <p>On the skewed side ({@link Mode#SPLIT}), the rows of a hot key get salts from 0 to {@code
+ * splitFactor - 1} in round robin. On the other side ({@link Mode#REPLICATE}), the rows of a hot
+ * key are emitted once for every salt. All other rows get the salt 0.
+ *
+ * <p>The first input is the single row produced by the {@link GlobalHotKeyDetectorOperator}, the
+ * second input is the side of the join. The operator reads the first input before the second one.
+ */
+public class SkewJoinSaltOperator extends TableStreamOperator<RowData>
+        implements TwoInputStreamOperator<RowData, RowData, RowData>,
+                InputSelectable,
+                BoundedMultiInput {
+
+    private static final long serialVersionUID = 1L;
+
+    /** How the rows of the hot keys are salted. */
+    public enum Mode {
+        /** Spreads the rows of the hot keys over all salts. */
+        SPLIT,
+        /** Replicates the rows of the hot keys to all salts. */
+        REPLICATE
+    }
+
+    private GeneratedProjection keyProjectionCode;
+    private final int keyArity;
+    private final Mode mode;
+    private final int splitFactor;
+
+    private transient Projection<RowData, BinaryRowData> keyProjection;
+    private transient HeavyHitterSketch hotKeys;
+    private transient boolean hotKeysInputEnded;
+    private transient int nextSalt;
+    private transient GenericRowData saltRow;
+    private transient JoinedRowData outRow;
+    private transient StreamRecordCollector<RowData> collector;
+    private transient Counter numHotKeyRows;
+
+    public SkewJoinSaltOperator(
+            GeneratedProjection keyProjectionCode, int keyArity, Mode mode, int splitFactor) {
+        checkArgument(splitFactor > 1, "The split factor must be greater than 1.");
+        this.keyProjectionCode = keyProjectionCode;
+        this.keyArity = keyArity;
+        this.mode = mode;
+        this.splitFactor = splitFactor;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.keyProjection = keyProjectionCode.newInstance(getUserCodeClassloader());
+        this.hotKeys = null;
+        this.hotKeysInputEnded = false;
+        // start at different salts, so that small inputs are spread as well
+        this.nextSalt = getRuntimeContext().getIndexOfThisSubtask() % splitFactor;
+        this.saltRow = new GenericRowData(1);
+        this.outRow = new JoinedRowData();
+        this.collector = new StreamRecordCollector<>(output);
+        this.numHotKeyRows = getMetricGroup().counter("numHotKeyRows");
+        this.keyProjectionCode = null;
+    }
+
+    @Override
+    public void processElement1(StreamRecord<RowData> element) throws Exception {
+        checkState(hotKeys == null, "The hot keys must only be received once.");
+        hotKeys = SkewJoinUtils.readSketch(element.getValue(), keyArity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void processElement2(StreamRecord<RowData> element) throws Exception {
+        checkState(hotKeysInputEnded, "The hot keys must be received before the join input.");
+        final RowData row = element.getValue();
+        if (hotKeys.size() == 0 || !hotKeys.contains(keyProjection.apply(row))) {
+            collect(row, 0);
+            return;
+        }
+        numHotKeyRows.inc();
+        if (mode == Mode.SPLIT) {
+            collect(row, nextSalt);
+            nextSalt = (nextSalt + 1) % splitFactor;
+        } else {
+            for (int salt = 0; salt < splitFactor; salt++) {
+                collect(row, salt);
+            }
+        }
+    }
+
+    private void collect(RowData row, int salt) {
+        saltRow.setField(0, salt);
+        outRow.setRowKind(row.getRowKind());
+        collector.collect(outRow.replace(row, saltRow));
+    }
+
+    @Override
+    public InputSelection nextSelection() {
+        return hotKeysInputEnded ? InputSelection.SECOND : InputSelection.FIRST;
+    }
+
+    @Override
+    public void endInput(int inputId) throws Exception {
+        if (inputId == 1) {
+            checkState(hotKeys != null, "The hot keys were not received.");
+            hotKeysInputEnded = true;
+        }
+    }
+}
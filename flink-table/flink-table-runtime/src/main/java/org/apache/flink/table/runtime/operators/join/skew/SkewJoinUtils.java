@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.skew;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+
+import java.io.IOException;
+
+/**
+ * Utilities for the skew join operators.
+ *
+ * <p>The hot key detectors emit a single row of {@link #OUTPUT_TYPE}, which contains a serialized
+ * {@link HeavyHitterSketch} of the join keys. The sketch emitted by the {@link
+ * GlobalHotKeyDetectorOperator} only contains the hot keys.
+ */
+public final class SkewJoinUtils {
+
+    /** The output type of the hot key detectors. */
+    public static final RowType OUTPUT_TYPE =
+            RowType.of(
+                    new LogicalType[] {new VarBinaryType(false, VarBinaryType.MAX_LENGTH)},
+                    new String[] {"serializedSketch"});
+
+    /** Creates an output row of the hot key detectors. */
+    public static RowData createOutputRow(HeavyHitterSketch sketch) throws IOException {
+        return GenericRowData.of((Object) HeavyHitterSketch.toBytes(sketch));
+    }
+
+    /** Reads the sketch from an output row of the hot key detectors. */
+    public static HeavyHitterSketch readSketch(RowData row, int keyArity, int capacity)
+            throws IOException {
+        return HeavyHitterSketch.fromBytes(row.getBinary(0), keyArity, capacity);
+    }
+
+    private SkewJoinUtils() {}
+}
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTriggerCallback;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CoBundleTrigger;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.flink.table.runtime.util.StateConfigUtil.createTtlConfig;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Streaming unbounded Join operator which buffers the input records of both sides per join key
+ * within a mini-batch, and supports INNER/LEFT/RIGHT/FULL JOIN.
+ *
+ * <p>A retraction message folds the buffered accumulate message of the same record of the same
+ * side (and vice versa), e.g. an insert which is deleted again or a -U/+U pair which doesn't change
+ * the record. Such records are never joined and never touch the states. When the bundle is
+ * finished, the remaining records are joined key by key, first the records of the left side and
+ * then the records of the right side, so that the states of a key are accessed while they are
+ * still cached by the state backend.
+ *
+ * <p>The joined result is eventually the same as the result of {@link StreamingJoinOperator}, but
+ * the changelog may contain fewer messages.
+ */
+public class MiniBatchStreamingJoinOperator extends StreamingJoinOperator
+        implements BundleTriggerCallback {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CoBundleTrigger<RowData, RowData> coBundleTrigger;
+
+    private transient TypeSerializer<Object> keySerializer;
+    private transient RowDataSerializer leftSerializer;
+    private transient RowDataSerializer rightSerializer;
+
+    /** The buffered records of both sides per join key, in the order of the first access. */
+    private transient Map<Object, BundledRecords> bundle;
+
+    private transient StreamRecord<RowData> reuseRecord;
+
+    public MiniBatchStreamingJoinOperator(
+            InternalTypeInfo<RowData> leftType,
+            InternalTypeInfo<RowData> rightType,
+            GeneratedJoinCondition generatedJoinCondition,
+            JoinInputSideSpec leftInputSideSpec,
+            JoinInputSideSpec rightInputSideSpec,
+            boolean leftIsOuter,
+            boolean rightIsOuter,
+            boolean[] filterNullKeys,
+            long stateRetentionTime,
+            CoBundleTrigger<RowData, RowData> coBundleTrigger) {
+        this(
+                leftType,
+                rightType,
+                generatedJoinCondition,
+                leftInputSideSpec,
+                rightInputSideSpec,
+                leftIsOuter,
+                rightIsOuter,
+                filterNullKeys,
+                createTtlConfig(stateRetentionTime),
+                createTtlConfig(stateRetentionTime),
+                coBundleTrigger);
+    }
+
+    public MiniBatchStreamingJoinOperator(
+            InternalTypeInfo<RowData> leftType,
+            InternalTypeInfo<RowData> rightType,
+            GeneratedJoinCondition generatedJoinCondition,
+            JoinInputSideSpec leftInputSideSpec,
+            JoinInputSideSpec rightInputSideSpec,
+            boolean leftIsOuter,
+            boolean rightIsOuter,
+            boolean[] filterNullKeys,
+            StateTtlConfig leftStateTtlConfig,
+            StateTtlConfig rightStateTtlConfig,
+            CoBundleTrigger<RowData, RowData> coBundleTrigger) {
+        super(
+                leftType,
+                rightType,
+                generatedJoinCondition,
+                leftInputSideSpec,
+                rightInputSideSpec,
+                leftIsOuter,
+                rightIsOuter,
+                filterNullKeys,
+                leftStateTtlConfig,
+                rightStateTtlConfig);
+        this.coBundleTrigger = checkNotNull(coBundleTrigger, "coBundleTrigger is null");
+    }
+
+    @Override
+    public void open() throws Exception {
+        super.open();
+
+        this.keySerializer = getKeyedStateBackend().getKeySerializer();
+        this.leftSerializer = leftType.toRowSerializer();
+        this.rightSerializer = rightType.toRowSerializer();
+        this.bundle = new LinkedHashMap<>();
+        this.reuseRecord = new StreamRecord<>(null);
+
+        coBundleTrigger.registerCallback(this);
+        coBundleTrigger.reset();
+        LOG.info("MiniBatchStreamingJoinOperator's trigger info: " + coBundleTrigger.explain());
+    }
+
+    @Override
+    public void processElement1(StreamRecord<RowData> element) throws Exception {
+        RowData input = element.getValue();
+        getBundledRecords().addLeft(leftSerializer.toBinaryRow(input).copy());
+        coBundleTrigger.onElement1(input);
+    }
+
+    @Override
+    public void processElement2(StreamRecord<RowData> element) throws Exception {
+        RowData input = element.getValue();
+        getBundledRecords().addRight(rightSerializer.toBinaryRow(input).copy());
+        coBundleTrigger.onElement2(input);
+    }
+
+    @Override
+    public void finishBundle() throws Exception {
+        if (bundle != null && !bundle.isEmpty()) {
+            for (Map.Entry<Object, BundledRecords> entry : bundle.entrySet()) {
+                setCurrentKey(entry.getKey());
+                BundledRecords records = entry.getValue();
+                for (RowData left : records.leftRecords) {
+                    super.processElement1(reuseRecord.replace(left));
+                }
+                for (RowData right : records.rightRecords) {
+                    super.processElement2(reuseRecord.replace(right));
+                }
+            }
+            bundle.clear();
+        }
+        coBundleTrigger.reset();
+    }
+
+    @Override
+    public void processWatermark(Watermark mark) throws Exception {
+        finishBundle();
+        super.processWatermark(mark);
+    }
+
+    @Override
+    public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+        finishBundle();
+    }
+
+    @Override
+    public void finish() throws Exception {
+        finishBundle();
+        super.finish();
+    }
+
+    private BundledRecords getBundledRecords() {
+        Object currentKey = getCurrentKey();
+        BundledRecords records = bundle.get(currentKey);
+        if (records == null) {
+            records = new BundledRecords();
+            bundle.put(keySerializer.copy(currentKey), records);
+        }
+        return records;
+    }
+
+    // -------------------------------------------------------------------------------------
+
+    /** The buffered records of both sides of a join key, copied into {@link BinaryRowData}s. */
+    private static final class BundledRecords {
+        private final FoldingBuffer leftRecords = new FoldingBuffer();
+        private final FoldingBuffer rightRecords = new FoldingBuffer();
+
+        void addLeft(BinaryRowData row) {
+            leftRecords.add(row);
+        }
+
+        void addRight(BinaryRowData row) {
+            rightRecords.add(row);
+        }
+    }
+
+    /**
+     * The buffered records of one side of a join key in arrival order, where a record folds the
+     * latest buffered record with the same fields and the opposite kind of message.
+     *
+     * <p>The records are indexed by their fields, so that folding a record costs a hash lookup
+     * instead of a scan of the buffer. As a record with the opposite kind of message is always
+     * folded, the buffered records with the same fields are either all accumulate messages or all
+     * retraction messages, so only the latest one has to be looked at.
+     */
+    private static final class FoldingBuffer implements Iterable<RowData> {
+
+        /** The buffered records in arrival order, null if a record has been folded. */
+        private final List<BinaryRowData> records = new ArrayList<>();
+
+        /** The positions of the buffered records in {@link #records} by their fields. */
+        private final Map<RecordFields, Deque<Integer>> positions = new HashMap<>();
+
+        void add(BinaryRowData row) {
+            RecordFields fields = new RecordFields(row);
+            Deque<Integer> buffered = positions.get(fields);
+            if (buffered == null) {
+                buffered = new ArrayDeque<>();
+                positions.put(fields, buffered);
+            } else if (RowDataUtil.isAccumulateMsg(records.get(buffered.peekLast()))
+                    != RowDataUtil.isAccumulateMsg(row)) {
+                records.set(buffered.pollLast(), null);
+                if (buffered.isEmpty()) {
+                    positions.remove(fields);
+                }
+                return;
+            }
+            buffered.addLast(records.size());
+            records.add(row);
+        }
+
+        @Override
+        public Iterator<RowData> iterator() {
+            return records.stream().filter(Objects::nonNull).map(RowData.class::cast).iterator();
+        }
+    }
+
+    /** The fields of a buffered record, i.e. its identity regardless of the {@link RowKind}. */
+    private static final class RecordFields {
+        private final BinaryRowData row;
+        private final int hashCode;
+
+        RecordFields(BinaryRowData row) {
+            this.row = row;
+            RowKind kind = row.getRowKind();
+            row.setRowKind(RowKind.INSERT);
+            this.hashCode = row.hashCode();
+            row.setRowKind(kind);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RecordFields)) {
+                return false;
+            }
+            RecordFields that = (RecordFields) o;
+            return hashCode == that.hashCode && equalsIgnoreRowKind(row, that.row);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static boolean equalsIgnoreRowKind(BinaryRowData first, BinaryRowData second) {
+            RowKind firstKind = first.getRowKind();
+            RowKind secondKind = second.getRowKind();
+            first.setRowKind(RowKind.INSERT);
+            second.setRowKind(RowKind.INSERT);
+            boolean equals = first.equals(second);
+            first.setRowKind(firstKind);
+            second.setRowKind(secondKind);
+            return equals;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.runtime.operators.join.stream;
 
+import org.apache.flink.api.common.state.StateTtlConfig;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -32,6 +33,8 @@ import org.apache.flink.table.runtime.operators.join.stream.state.OuterJoinRecor
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.types.RowKind;
 
+import static org.apache.flink.table.runtime.util.StateConfigUtil.createTtlConfig;
+
 /** Streaming unbounded Join operator which supports INNER/LEFT/RIGHT/FULL JOIN. */
 public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
 
@@ -61,6 +64,30 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
             boolean rightIsOuter,
             boolean[] filterNullKeys,
             long stateRetentionTime) {
+        this(
+                leftType,
+                rightType,
+                generatedJoinCondition,
+                leftInputSideSpec,
+                rightInputSideSpec,
+                leftIsOuter,
+                rightIsOuter,
+                filterNullKeys,
+                createTtlConfig(stateRetentionTime),
+                createTtlConfig(stateRetentionTime));
+    }
+
+    public StreamingJoinOperator(
+            InternalTypeInfo<RowData> leftType,
+            InternalTypeInfo<RowData> rightType,
+            GeneratedJoinCondition generatedJoinCondition,
+            JoinInputSideSpec leftInputSideSpec,
+            JoinInputSideSpec rightInputSideSpec,
+            boolean leftIsOuter,
+            boolean rightIsOuter,
+            boolean[] filterNullKeys,
+            StateTtlConfig leftStateTtlConfig,
+            StateTtlConfig rightStateTtlConfig) {
         super(
                 leftType,
                 rightType,
@@ -68,7 +95,8 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
                 leftInputSideSpec,
                 rightInputSideSpec,
                 filterNullKeys,
-                stateRetentionTime);
+                leftStateTtlConfig,
+                rightStateTtlConfig);
         this.leftIsOuter = leftIsOuter;
         this.rightIsOuter = rightIsOuter;
     }
@@ -89,7 +117,7 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
                             "left-records",
                             leftInputSideSpec,
                             leftType,
-                            stateRetentionTime);
+                            leftStateTtlConfig);
         } else {
             this.leftRecordStateView =
                     JoinRecordStateViews.create(
@@ -97,7 +125,7 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
                             "left-records",
                             leftInputSideSpec,
                             leftType,
-                            stateRetentionTime);
+                            leftStateTtlConfig);
         }
 
         if (rightIsOuter) {
@@ -107,7 +135,7 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
                             "right-records",
                             rightInputSideSpec,
                             rightType,
-                            stateRetentionTime);
+                            rightStateTtlConfig);
         } else {
             this.rightRecordStateView =
                     JoinRecordStateViews.create(
@@ -115,7 +143,7 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
                             "right-records",
                             rightInputSideSpec,
                             rightType,
-                            stateRetentionTime);
+                            rightStateTtlConfig);
         }
     }
 
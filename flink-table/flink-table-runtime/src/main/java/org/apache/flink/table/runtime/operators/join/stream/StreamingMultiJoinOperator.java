@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.operators.AbstractInput;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperatorV2;
+import org.apache.flink.streaming.api.operators.Input;
+import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperatorParameters;
+import org.apache.flink.streaming.api.operators.TimestampedCollector;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.operators.join.JoinConditionWithNullFilters;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateView;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateViews;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Streaming unbounded INNER Join operator of more than two inputs which are all joined on the same
+ * key, e.g. {@code A JOIN B ON A.k = B.k JOIN C ON B.k = C.k}.
+ *
+ * <p>A chain of binary {@link StreamingJoinOperator}s keeps the records of every intermediate join
+ * result in the state of the next join. This operator instead keeps exactly one state per input,
+ * and joins an arriving record with the records of all the other inputs of the same key.
+ *
+ * <p>The inputs are joined in their order: the join condition {@code i} is applied to the joined
+ * row of the inputs {@code 0} to {@code i} and a record of input {@code i + 1}. The RowKind of the
+ * arriving record is forwarded to the joined records, like in an inner {@link
+ * StreamingJoinOperator}.
+ */
+public class StreamingMultiJoinOperator extends AbstractStreamOperatorV2<RowData>
+        implements MultipleInputStreamOperator<RowData> {
+
+    private static final String RECORDS_STATE_NAME_PREFIX = "input-records-";
+
+    private final List<InternalTypeInfo<RowData>> inputTypes;
+    private final List<JoinInputSideSpec> inputSideSpecs;
+    private final List<GeneratedJoinCondition> generatedJoinConditions;
+    private final List<boolean[]> filterNullKeys;
+    private final long stateRetentionTime;
+    private final int numInputs;
+
+    private transient JoinConditionWithNullFilters[] joinConditions;
+    private transient JoinRecordStateView[] recordStateViews;
+    private transient JoinedRowData[] joinedRows;
+    private transient List<List<RowData>> associatedRecords;
+    private transient TimestampedCollector<RowData> collector;
+
+    public StreamingMultiJoinOperator(
+            StreamOperatorParameters<RowData> parameters,
+            List<InternalTypeInfo<RowData>> inputTypes,
+            List<JoinInputSideSpec> inputSideSpecs,
+            List<GeneratedJoinCondition> generatedJoinConditions,
+            List<boolean[]> filterNullKeys,
+            long stateRetentionTime) {
+        super(parameters, inputTypes.size());
+        checkArgument(inputTypes.size() > 2, "A multi join requires more than two inputs.");
+        checkArgument(
+                inputSideSpecs.size() == inputTypes.size()
+                        && generatedJoinConditions.size() == inputTypes.size() - 1
+                        && filterNullKeys.size() == inputTypes.size() - 1);
+        this.inputTypes = inputTypes;
+        this.inputSideSpecs = inputSideSpecs;
+        this.generatedJoinConditions = generatedJoinConditions;
+        this.filterNullKeys = filterNullKeys;
+        this.stateRetentionTime = stateRetentionTime;
+        this.numInputs = inputTypes.size();
+    }
+
+    @Override
+    public void open() throws Exception {
+        super.open();
+
+        this.joinConditions = new JoinConditionWithNullFilters[numInputs - 1];
+        for (int i = 0; i < numInputs - 1; i++) {
+            JoinCondition condition =
+                    generatedJoinConditions
+                            .get(i)
+                            .newInstance(getRuntimeContext().getUserCodeClassLoader());
+            JoinConditionWithNullFilters conditionWithNullFilters =
+                    new JoinConditionWithNullFilters(condition, filterNullKeys.get(i), this);
+            conditionWithNullFilters.setRuntimeContext(getRuntimeContext());
+            conditionWithNullFilters.open(new Configuration());
+            joinConditions[i] = conditionWithNullFilters;
+        }
+
+        this.recordStateViews = new JoinRecordStateView[numInputs];
+        this.associatedRecords = new ArrayList<>(numInputs);
+        for (int i = 0; i < numInputs; i++) {
+            recordStateViews[i] =
+                    JoinRecordStateViews.create(
+                            getRuntimeContext(),
+                            RECORDS_STATE_NAME_PREFIX + i,
+                            inputSideSpecs.get(i),
+                            inputTypes.get(i),
+                            stateRetentionTime);
+            associatedRecords.add(new ArrayList<>());
+        }
+
+        this.joinedRows = new JoinedRowData[numInputs];
+        for (int i = 1; i < numInputs; i++) {
+            joinedRows[i] = new JoinedRowData();
+        }
+        this.collector = new TimestampedCollector<>(output);
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (joinConditions != null) {
+            for (JoinConditionWithNullFilters condition : joinConditions) {
+                if (condition != null) {
+                    condition.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Input> getInputs() {
+        List<Input> inputs = new ArrayList<>(numInputs);
+        for (int i = 0; i < numInputs; i++) {
+            inputs.add(new JoinInput(this, i + 1));
+        }
+        return inputs;
+    }
+
+    /**
+     * Processes a record of the given input: updates the state of the input, and outputs the
+     * joined records of the record and the records of all the other inputs.
+     */
+    private void processElement(RowData input, int inputIndex) throws Exception {
+        boolean isAccumulateMsg = RowDataUtil.isAccumulateMsg(input);
+        RowKind inputRowKind = input.getRowKind();
+        input.setRowKind(RowKind.INSERT); // erase RowKind for later state updating
+
+        if (isAccumulateMsg) {
+            recordStateViews[inputIndex].addRecord(input);
+        } else {
+            recordStateViews[inputIndex].retractRecord(input);
+        }
+
+        // read the records of every other input once, an inner join is empty if one of them is
+        for (int i = 0; i < numInputs; i++) {
+            List<RowData> records = associatedRecords.get(i);
+            records.clear();
+            if (i == inputIndex) {
+                records.add(input);
+            } else {
+                for (RowData record : recordStateViews[i].getRecords()) {
+                    records.add(record);
+                }
+                if (records.isEmpty()) {
+                    return;
+                }
+            }
+        }
+
+        for (RowData first : associatedRecords.get(0)) {
+            join(1, first, inputRowKind);
+        }
+    }
+
+    private void join(int inputIndex, RowData joined, RowKind outputRowKind) {
+        if (inputIndex == numInputs) {
+            joined.setRowKind(outputRowKind);
+            collector.collect(joined);
+            return;
+        }
+        JoinCondition condition = joinConditions[inputIndex - 1];
+        for (RowData record : associatedRecords.get(inputIndex)) {
+            if (condition.apply(joined, record)) {
+                join(inputIndex + 1, joinedRows[inputIndex].replace(joined, record), outputRowKind);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------------------
+
+    /** The {@link Input} of the records of one side of the join. */
+    private class JoinInput extends AbstractInput<RowData, RowData> {
+
+        private JoinInput(AbstractStreamOperatorV2<RowData> owner, int inputId) {
+            super(owner, inputId);
+        }
+
+        @Override
+        public void processElement(StreamRecord<RowData> element) throws Exception {
+            StreamingMultiJoinOperator.this.processElement(element.getValue(), inputId - 1);
+        }
+    }
+}
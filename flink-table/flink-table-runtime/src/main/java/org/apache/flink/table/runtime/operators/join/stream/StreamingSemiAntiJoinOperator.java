@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.runtime.operators.join.stream;
 
+import org.apache.flink.api.common.state.StateTtlConfig;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.util.RowDataUtil;
@@ -30,6 +31,8 @@ import org.apache.flink.table.runtime.operators.join.stream.state.OuterJoinRecor
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.types.RowKind;
 
+import static org.apache.flink.table.runtime.util.StateConfigUtil.createTtlConfig;
+
 /** Streaming unbounded Join operator which supports SEMI/ANTI JOIN. */
 public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator {
 
@@ -52,6 +55,28 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
             JoinInputSideSpec rightInputSideSpec,
             boolean[] filterNullKeys,
             long stateRetentionTime) {
+        this(
+                isAntiJoin,
+                leftType,
+                rightType,
+                generatedJoinCondition,
+                leftInputSideSpec,
+                rightInputSideSpec,
+                filterNullKeys,
+                createTtlConfig(stateRetentionTime),
+                createTtlConfig(stateRetentionTime));
+    }
+
+    public StreamingSemiAntiJoinOperator(
+            boolean isAntiJoin,
+            InternalTypeInfo<RowData> leftType,
+            InternalTypeInfo<RowData> rightType,
+            GeneratedJoinCondition generatedJoinCondition,
+            JoinInputSideSpec leftInputSideSpec,
+            JoinInputSideSpec rightInputSideSpec,
+            boolean[] filterNullKeys,
+            StateTtlConfig leftStateTtlConfig,
+            StateTtlConfig rightStateTtlConfig) {
         super(
                 leftType,
                 rightType,
@@ -59,7 +84,8 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
                 leftInputSideSpec,
                 rightInputSideSpec,
                 filterNullKeys,
-                stateRetentionTime);
+                leftStateTtlConfig,
+                rightStateTtlConfig);
         this.isAntiJoin = isAntiJoin;
     }
 
@@ -73,7 +99,7 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
                         LEFT_RECORDS_STATE_NAME,
                         leftInputSideSpec,
                         leftType,
-                        stateRetentionTime);
+                        leftStateTtlConfig);
 
         this.rightRecordStateView =
                 JoinRecordStateViews.create(
@@ -81,7 +107,7 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
                         RIGHT_RECORDS_STATE_NAME,
                         rightInputSideSpec,
                         rightType,
-                        stateRetentionTime);
+                        rightStateTtlConfig);
     }
 
     /**
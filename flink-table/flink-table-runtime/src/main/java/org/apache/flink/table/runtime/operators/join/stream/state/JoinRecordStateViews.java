@@ -48,7 +48,19 @@ public final class JoinRecordStateViews {
             JoinInputSideSpec inputSideSpec,
             InternalTypeInfo<RowData> recordType,
             long retentionTime) {
-        StateTtlConfig ttlConfig = createTtlConfig(retentionTime);
+        return create(ctx, stateName, inputSideSpec, recordType, createTtlConfig(retentionTime));
+    }
+
+    /**
+     * Creates a {@link JoinRecordStateView} depends on {@link JoinInputSideSpec}, whose state
+     * expires as configured by the given {@link StateTtlConfig}.
+     */
+    public static JoinRecordStateView create(
+            RuntimeContext ctx,
+            String stateName,
+            JoinInputSideSpec inputSideSpec,
+            InternalTypeInfo<RowData> recordType,
+            StateTtlConfig ttlConfig) {
         if (inputSideSpec.hasUniqueKey()) {
             if (inputSideSpec.joinKeyContainsUniqueKey()) {
                 return new JoinKeyContainsUniqueKey(ctx, stateName, recordType, ttlConfig);
@@ -50,7 +50,19 @@ public final class OuterJoinRecordStateViews {
             JoinInputSideSpec inputSideSpec,
             InternalTypeInfo<RowData> recordType,
             long retentionTime) {
-        StateTtlConfig ttlConfig = createTtlConfig(retentionTime);
+        return create(ctx, stateName, inputSideSpec, recordType, createTtlConfig(retentionTime));
+    }
+
+    /**
+     * Creates a {@link OuterJoinRecordStateView} depends on {@link JoinInputSideSpec}, whose state
+     * expires as configured by the given {@link StateTtlConfig}.
+     */
+    public static OuterJoinRecordStateView create(
+            RuntimeContext ctx,
+            String stateName,
+            JoinInputSideSpec inputSideSpec,
+            InternalTypeInfo<RowData> recordType,
+            StateTtlConfig ttlConfig) {
         if (inputSideSpec.hasUniqueKey()) {
             if (inputSideSpec.joinKeyContainsUniqueKey()) {
                 return new OuterJoinRecordStateViews.JoinKeyContainsUniqueKey(
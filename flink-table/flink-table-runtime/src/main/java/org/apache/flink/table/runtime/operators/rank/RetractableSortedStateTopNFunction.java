@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.typeutils.base.ListSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.state.KeyedStateBackend;
+import org.apache.flink.runtime.state.TestableKeyedStateBackend;
+import org.apache.flink.runtime.state.heap.HeapKeyedStateBackend;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.sorted.state.BatchExecutionKeyedStateBackend;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
+import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.typeutils.BinaryComparableRowDataSerializer;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A TopN function could handle updating stream. In contrast to {@link RetractableTopNFunction},
+ * the records are stored in a map state keyed by the sort key, whose entries are iterated in the
+ * order of the sort keys. Hence there is no need to maintain a sorted map of all the sort keys,
+ * and the emitted updates only read the entries up to the rank end.
+ *
+ * <p>The sort keys are serialized with a {@link BinaryComparableRowDataSerializer}, so that state
+ * backends which iterate the map state in the order of the serialized keys, i.e. the RocksDB state
+ * backend, iterate it in the order of the sort keys. The function fails when it is opened on the
+ * heap state backends, which iterate the map state in hash order. As a safeguard for other state
+ * backends, the function also fails if it encounters an entry of the map state out of the order of
+ * the sort keys, but this doesn't detect all unordered iterations, as the iteration stops at the
+ * rank end.
+ *
+ * <p>Input stream can contain any change kind: INSERT, DELETE, UPDATE_BEFORE and UPDATE_AFTER.
+ */
+public class RetractableSortedStateTopNFunction extends AbstractTopNFunction {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(RetractableSortedStateTopNFunction.class);
+
+    // Message to indicate the state is cleared because of ttl restriction. The message could be
+    // used to output to log.
+    private static final String STATE_CLEARED_WARN_MSG =
+            "The state is cleared because of state ttl. "
+                    + "This will result in incorrect result. You can increase the state ttl to avoid this.";
+
+    private static final String UNSORTED_STATE_MSG =
+            "The map state is not iterated in the order of the sort keys. "
+                    + "The sorted state TopN requires a state backend which iterates map states "
+                    + "in the order of the serialized keys, e.g. the RocksDB state backend.";
+
+    private static final String UNSORTED_STATE_BACKEND_MSG =
+            "'table.exec.topn.sorted-state.enabled' requires the RocksDB state backend, whose map "
+                    + "states are iterated in the order of the keys. Other state backends would "
+                    + "produce wrong TopN results.";
+
+    private final BinaryComparableRowDataSerializer sortKeySerializer;
+
+    // a map state stores mapping from sort key to records list, iterated in sort key order
+    private transient MapState<RowData, List<RowData>> dataState;
+
+    // The util to compare two RowData equals to each other.
+    private GeneratedRecordEqualiser generatedEqualiser;
+    private RecordEqualiser equaliser;
+
+    public RetractableSortedStateTopNFunction(
+            StateTtlConfig ttlConfig,
+            InternalTypeInfo<RowData> inputRowType,
+            GeneratedRecordComparator generatedSortKeyComparator,
+            RowDataKeySelector sortKeySelector,
+            BinaryComparableRowDataSerializer sortKeySerializer,
+            RankType rankType,
+            RankRange rankRange,
+            GeneratedRecordEqualiser generatedEqualiser,
+            boolean generateUpdateBefore,
+            boolean outputRankNumber) {
+        super(
+                ttlConfig,
+                inputRowType,
+                generatedSortKeyComparator,
+                sortKeySelector,
+                rankType,
+                rankRange,
+                generateUpdateBefore,
+                outputRankNumber);
+        this.sortKeySerializer = sortKeySerializer;
+        this.generatedEqualiser = generatedEqualiser;
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+
+        if (keyContext instanceof AbstractStreamOperator
+                && !isSortedStateBackend(
+                        ((AbstractStreamOperator<?>) keyContext).getKeyedStateBackend())) {
+            throw new TableException(UNSORTED_STATE_BACKEND_MSG);
+        }
+
+        // compile equaliser
+        equaliser = generatedEqualiser.newInstance(getRuntimeContext().getUserCodeClassLoader());
+        generatedEqualiser = null;
+
+        MapStateDescriptor<RowData, List<RowData>> mapStateDescriptor =
+                new MapStateDescriptor<>(
+                        "sorted-data-state",
+                        sortKeySerializer,
+                        new ListSerializer<>(inputRowType.createSerializer(new ExecutionConfig())));
+        if (ttlConfig.isEnabled()) {
+            mapStateDescriptor.enableTimeToLive(ttlConfig);
+        }
+        dataState = getRuntimeContext().getMapState(mapStateDescriptor);
+    }
+
+    /**
+     * Returns whether the keyed state backend may iterate map states in the order of the serialized
+     * keys. The heap state backends and the state backend of the batch execution mode iterate them
+     * in hash order, also if they are wrapped by another state backend like the changelog state
+     * backend.
+     */
+    private static boolean isSortedStateBackend(KeyedStateBackend<?> stateBackend) {
+        KeyedStateBackend<?> backend = stateBackend;
+        if (backend instanceof TestableKeyedStateBackend) {
+            backend = ((TestableKeyedStateBackend<?>) backend).getDelegatedKeyedStateBackend(true);
+        }
+        return !(backend instanceof HeapKeyedStateBackend
+                || backend instanceof BatchExecutionKeyedStateBackend);
+    }
+
+    @Override
+    public void processElement(RowData input, Context ctx, Collector<RowData> out)
+            throws Exception {
+        initRankEnd(input);
+        RowData sortKey = sortKeySelector.getKey(input);
+        boolean isAccumulate = RowDataUtil.isAccumulateMsg(input);
+        input.setRowKind(RowKind.INSERT); // erase row kind for further state accessing
+        List<RowData> inputs = dataState.get(sortKey);
+        if (isAccumulate) {
+            // update data state
+            if (inputs == null) {
+                // the sort key is never seen
+                inputs = new ArrayList<>();
+            }
+            inputs.add(input);
+            dataState.put(sortKey, inputs);
+
+            // emit
+            if (outputRankNumber || hasOffset()) {
+                // the without-number-algorithm can't handle topN with offset,
+                // so use the with-number-algorithm to handle offset
+                emitRecordsWithRowNumber(sortKey, input, out);
+            } else {
+                emitRecordsWithoutRowNumber(sortKey, input, out);
+            }
+        } else {
+            int index = inputs == null ? -1 : indexOf(inputs, input);
+            if (index < 0) {
+                LOG.warn(STATE_CLEARED_WARN_MSG);
+                return;
+            }
+
+            // emit updates first
+            if (outputRankNumber || hasOffset()) {
+                // the without-number-algorithm can't handle topN with offset,
+                // so use the with-number-algorithm to handle offset
+                retractRecordWithRowNumber(sortKey, input, out);
+            } else {
+                retractRecordWithoutRowNumber(sortKey, input, out);
+            }
+
+            // and then update data state
+            inputs.remove(index);
+            if (inputs.isEmpty()) {
+                dataState.remove(sortKey);
+            } else {
+                dataState.put(sortKey, inputs);
+            }
+        }
+    }
+
+    private int indexOf(List<RowData> inputs, RowData input) {
+        for (int i = 0; i < inputs.size(); i++) {
+            if (equaliser.equals(inputs.get(i), input)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the entries of the data state in the order of the sort keys. */
+    private Iterator<Map.Entry<RowData, List<RowData>>> sortedEntries() throws Exception {
+        Iterator<Map.Entry<RowData, List<RowData>>> iterator = dataState.iterator();
+        if (iterator == null) {
+            return Collections.emptyIterator();
+        }
+        return new Iterator<Map.Entry<RowData, List<RowData>>>() {
+            private RowData previousKey;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Map.Entry<RowData, List<RowData>> next() {
+                Map.Entry<RowData, List<RowData>> entry = iterator.next();
+                if (previousKey != null
+                        && sortKeyComparator.compare(previousKey, entry.getKey()) > 0) {
+                    throw new IllegalStateException(UNSORTED_STATE_MSG);
+                }
+                previousKey = entry.getKey();
+                return entry;
+            }
+        };
+    }
+
+    // ------------- ROW_NUMBER-------------------------------
+
+    private void emitRecordsWithRowNumber(
+            RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+        Iterator<Map.Entry<RowData, List<RowData>>> iterator = sortedEntries();
+        long currentRank = 0L;
+        RowData currentRow = null;
+        boolean findsSortKey = false;
+        while (iterator.hasNext() && isInRankEnd(currentRank)) {
+            Map.Entry<RowData, List<RowData>> entry = iterator.next();
+            List<RowData> inputs = entry.getValue();
+            if (!findsSortKey && sortKeyComparator.compare(entry.getKey(), sortKey) == 0) {
+                currentRank += inputs.size();
+                currentRow = inputRow;
+                findsSortKey = true;
+            } else if (findsSortKey) {
+                int i = 0;
+                while (i < inputs.size() && isInRankEnd(currentRank)) {
+                    RowData prevRow = inputs.get(i);
+                    collectUpdateBefore(out, prevRow, currentRank);
+                    collectUpdateAfter(out, currentRow, currentRank);
+                    currentRow = prevRow;
+                    currentRank += 1;
+                    i++;
+                }
+            } else {
+                currentRank += inputs.size();
+            }
+        }
+        if (isInRankEnd(currentRank)) {
+            // there is no enough elements in Top-N, emit INSERT message for the new record.
+            collectInsert(out, currentRow, currentRank);
+        }
+    }
+
+    private void emitRecordsWithoutRowNumber(
+            RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+        Iterator<Map.Entry<RowData, List<RowData>>> iterator = sortedEntries();
+        long curRank = 0L;
+        boolean findsSortKey = false;
+        RowData toCollect = null;
+        RowData toDelete = null;
+        while (iterator.hasNext() && isInRankEnd(curRank)) {
+            Map.Entry<RowData, List<RowData>> entry = iterator.next();
+            List<RowData> inputs = entry.getValue();
+            if (!findsSortKey && sortKeyComparator.compare(entry.getKey(), sortKey) == 0) {
+                curRank += inputs.size();
+                if (isInRankRange(curRank)) {
+                    toCollect = inputRow;
+                }
+                findsSortKey = true;
+            } else if (findsSortKey) {
+                // gets the rank of last record with same sortKey
+                long rankOfLastRecord = curRank + inputs.size();
+                // deletes the record if there is a record recently downgrades to Top-(N+1)
+                if (isInRankEnd(rankOfLastRecord)) {
+                    curRank = rankOfLastRecord;
+                } else {
+                    int index = Long.valueOf(rankEnd - curRank).intValue();
+                    toDelete = inputs.get(index);
+                    break;
+                }
+            } else {
+                curRank += inputs.size();
+            }
+        }
+        if (toDelete != null) {
+            collectDelete(out, toDelete);
+        }
+        if (toCollect != null) {
+            collectInsert(out, inputRow);
+        }
+    }
+
+    /**
+     * Retract the input record and emit updated records. This works for outputting with row_number.
+     * The input record must still be contained in the {@link #dataState}.
+     */
+    private void retractRecordWithRowNumber(
+            RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+        Iterator<Map.Entry<RowData, List<RowData>>> iterator = sortedEntries();
+        long currentRank = 0L;
+        RowData prevRow = null;
+        boolean findsSortKey = false;
+        while (iterator.hasNext() && isInRankEnd(currentRank)) {
+            Map.Entry<RowData, List<RowData>> entry = iterator.next();
+            List<RowData> inputs = entry.getValue();
+            if (!findsSortKey && sortKeyComparator.compare(entry.getKey(), sortKey) == 0) {
+                Iterator<RowData> inputIter = inputs.iterator();
+                while (inputIter.hasNext() && isInRankEnd(currentRank)) {
+                    RowData currentRow = inputIter.next();
+                    if (!findsSortKey && equaliser.equals(currentRow, inputRow)) {
+                        prevRow = currentRow;
+                        findsSortKey = true;
+                    } else if (findsSortKey) {
+                        collectUpdateBefore(out, prevRow, currentRank);
+                        collectUpdateAfter(out, currentRow, currentRank);
+                        prevRow = currentRow;
+                    }
+                    currentRank += 1;
+                }
+            } else if (findsSortKey) {
+                int i = 0;
+                while (i < inputs.size() && isInRankEnd(currentRank)) {
+                    RowData currentRow = inputs.get(i);
+                    collectUpdateBefore(out, prevRow, currentRank);
+                    collectUpdateAfter(out, currentRow, currentRank);
+                    prevRow = currentRow;
+                    currentRank += 1;
+                    i++;
+                }
+            } else {
+                currentRank += inputs.size();
+            }
+        }
+        if (isInRankEnd(currentRank)) {
+            // there is no enough elements in Top-N, emit DELETE message for the retract record.
+            collectDelete(out, prevRow, currentRank);
+        }
+    }
+
+    /**
+     * Retract the input record and emit updated records. This works for outputting without
+     * row_number. The input record must still be contained in the {@link #dataState}.
+     */
+    private void retractRecordWithoutRowNumber(
+            RowData sortKey, RowData inputRow, Collector<RowData> out) throws Exception {
+        Iterator<Map.Entry<RowData, List<RowData>>> iterator = sortedEntries();
+        long nextRank = 1L; // the next rank number, should be in the rank range
+        boolean findsSortKey = false;
+        while (iterator.hasNext() && isInRankEnd(nextRank)) {
+            Map.Entry<RowData, List<RowData>> entry = iterator.next();
+            List<RowData> inputs = entry.getValue();
+            if (!findsSortKey && sortKeyComparator.compare(entry.getKey(), sortKey) == 0) {
+                Iterator<RowData> inputIter = inputs.iterator();
+                while (inputIter.hasNext() && isInRankEnd(nextRank)) {
+                    RowData prevRow = inputIter.next();
+                    if (!findsSortKey && equaliser.equals(prevRow, inputRow)) {
+                        collectDelete(out, prevRow, nextRank);
+                        nextRank -= 1;
+                        findsSortKey = true;
+                    } else if (findsSortKey) {
+                        if (nextRank == rankEnd) {
+                            collectInsert(out, prevRow, nextRank);
+                        }
+                    }
+                    nextRank += 1;
+                }
+            } else if (findsSortKey) {
+                // gets the rank of last record with same sortKey
+                long rankOfLastRecord = nextRank + inputs.size() - 1;
+                if (rankOfLastRecord < rankEnd) {
+                    nextRank = rankOfLastRecord + 1;
+                } else {
+                    // sends the record if there is a record recently upgrades to Top-N
+                    int index = Long.valueOf(rankEnd - nextRank).intValue();
+                    collectInsert(out, inputs.get(index));
+                    break;
+                }
+            } else {
+                nextRank += inputs.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.runtimefilter;
+
+import org.apache.flink.runtime.operators.util.BloomFilter;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.util.StreamRecordCollector;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Global runtime filter builder operator, which merges the bloom filters of all {@link
+ * LocalRuntimeFilterBuilderOperator}s into a single one. It must run with parallelism 1.
+ */
+public class GlobalRuntimeFilterBuilderOperator extends TableStreamOperator<RowData>
+        implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(GlobalRuntimeFilterBuilderOperator.class);
+
+    private final int maxRowCount;
+
+    private transient byte[] serializedGlobalFilter;
+    private transient int globalRowCount;
+    private transient boolean filterDisabled;
+    private transient Collector<RowData> collector;
+
+    public GlobalRuntimeFilterBuilderOperator(int maxRowCount) {
+        checkArgument(maxRowCount > 0, "The max row count must be positive.");
+        this.maxRowCount = maxRowCount;
+    }
+
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.serializedGlobalFilter = null;
+        this.globalRowCount = 0;
+        this.filterDisabled = false;
+        this.collector = new StreamRecordCollector<>(output);
+    }
+
+    @Override
+    public void processElement(StreamRecord<RowData> element) throws Exception {
+        final RowData localFilter = element.getValue();
+        globalRowCount += localFilter.getInt(0);
+        if (filterDisabled) {
+            return;
+        }
+        if (localFilter.isNullAt(1) || globalRowCount > maxRowCount) {
+            LOG.info(
+                    "The number of rows of the runtime filter exceeds the max row count {}, "
+                            + "the runtime filter will be disabled.",
+                    maxRowCount);
+            filterDisabled = true;
+            serializedGlobalFilter = null;
+            return;
+        }
+        final byte[] serializedLocalFilter = localFilter.getBinary(1);
+        serializedGlobalFilter =
+                serializedGlobalFilter == null
+                        ? serializedLocalFilter
+                        : BloomFilter.mergeSerializedBloomFilters(
+                                serializedGlobalFilter, serializedLocalFilter);
+    }
+
+    @Override
+    public void endInput() throws Exception {
+        // every local builder emits a row, so the global filter is only null if it is disabled
+        collector.collect(
+                RuntimeFilterUtils.createOutputRow(globalRowCount, serializedGlobalFilter));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.runtimefilter;
+
+import org.apache.flink.runtime.operators.util.BloomFilter;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+import org.apache.flink.table.runtime.util.StreamRecordCollector;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Local runtime filter builder operator, which builds a {@link BloomFilter} from the join keys of
+ * the rows of one parallel instance of the build side of a join. The local bloom filters are
+ * merged by the {@link GlobalRuntimeFilterBuilderOperator}.
+ *
+ * <p>All local builders must use the same estimated row count, so that the bloom filters have the
+ * same size and can be merged.
+ */
+public class LocalRuntimeFilterBuilderOperator extends TableStreamOperator<RowData>
+        implements OneInputStreamOperator<RowData, RowData>, BoundedOneInput {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(LocalRuntimeFilterBuilderOperator.class);
+
+    private GeneratedProjection buildProjectionCode;
+    private final int estimatedRowCount;
+    private final int maxRowCount;
+
+    private transient Projection<RowData, BinaryRowData> buildSideProjection;
+    private transient BloomFilter filter;
+    private transient int actualRowCount;
+    private transient Collector<RowData> collector;
+
+    public LocalRuntimeFilterBuilderOperator(
+            GeneratedProjection buildProjectionCode, int estimatedRowCount, int maxRowCount) {
+        checkArgument(estimatedRowCount > 0, "The estimated row count must be positive.");
+        checkArgument(maxRowCount > 0, "The max row count must be positive.");
+        this.buildProjectionCode = buildProjectionCode;
+        this.estimatedRowCount = estimatedRowCount;
+        this.maxRowCount = maxRowCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.buildSideProjection = buildProjectionCode.newInstance(getUserCodeClassloader());
+        this.filter = RuntimeFilterUtils.createBloomFilter(estimatedRowCount);
+        this.actualRowCount = 0;
+        this.collector = new StreamRecordCollector<>(output);
+        this.buildProjectionCode = null;
+    }
+
+    @Override
+    public void processElement(StreamRecord<RowData> element) throws Exception {
+        if (filter != null) {
+            filter.addHash(buildSideProjection.apply(element.getValue()).hashCode());
+        }
+        actualRowCount++;
+        if (filter != null && actualRowCount > maxRowCount) {
+            LOG.info(
+                    "The number of rows of the runtime filter exceeds the max row count {}, "
+                            + "the runtime filter will be disabled.",
+                    maxRowCount);
+            filter = null;
+        }
+    }
+
+    @Override
+    public void endInput() throws Exception {
+        collector.collect(
+                RuntimeFilterUtils.createOutputRow(
+                        actualRowCount, filter == null ? null : BloomFilter.toBytes(filter)));
+    }
+}
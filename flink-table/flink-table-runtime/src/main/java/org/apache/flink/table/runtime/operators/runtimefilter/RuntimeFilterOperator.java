@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.runtimefilter;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.runtime.operators.util.BloomFilter;
+import org.apache.flink.streaming.api.operators.BoundedMultiInput;
+import org.apache.flink.streaming.api.operators.InputSelectable;
+import org.apache.flink.streaming.api.operators.InputSelection;
+import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.operators.TableStreamOperator;
+
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Runtime filter operator, which drops the rows of the probe side of a join whose join keys are not
+ * contained in the bloom filter built from the build side.
+ *
+ * <p>The first input is the single row produced by the {@link GlobalRuntimeFilterBuilderOperator},
+ * the second input is the probe side. The operator reads the first input before the second one.
+ */
+public class RuntimeFilterOperator extends TableStreamOperator<RowData>
+        implements TwoInputStreamOperator<RowData, RowData, RowData>,
+                InputSelectable,
+                BoundedMultiInput {
+
+    private static final long serialVersionUID = 1L;
+
+    private GeneratedProjection probeProjectionCode;
+
+    private transient Projection<RowData, BinaryRowData> probeSideProjection;
+    private transient BloomFilter filter;
+    private transient boolean filterReceived;
+    private transient boolean filterInputEnded;
+    private transient Counter numFilteredRows;
+
+    public RuntimeFilterOperator(GeneratedProjection probeProjectionCode) {
+        this.probeProjectionCode = probeProjectionCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void open() throws Exception {
+        super.open();
+        this.probeSideProjection = probeProjectionCode.newInstance(getUserCodeClassloader());
+        this.filter = null;
+        this.filterReceived = false;
+        this.filterInputEnded = false;
+        this.numFilteredRows = getMetricGroup().counter("numFilteredRows");
+        this.probeProjectionCode = null;
+    }
+
+    @Override
+    public void processElement1(StreamRecord<RowData> element) throws Exception {
+        checkState(!filterReceived, "The runtime filter must only be received once.");
+        final RowData filterRow = element.getValue();
+        if (!filterRow.isNullAt(1)) {
+            filter = BloomFilter.fromBytes(filterRow.getBinary(1));
+        }
+        filterReceived = true;
+    }
+
+    @Override
+    public void processElement2(StreamRecord<RowData> element) throws Exception {
+        checkState(filterInputEnded, "The runtime filter must be received before the probe side.");
+        if (filter == null
+                || filter.testHash(probeSideProjection.apply(element.getValue()).hashCode())) {
+            output.collect(element);
+        } else {
+            numFilteredRows.inc();
+        }
+    }
+
+    @Override
+    public InputSelection nextSelection() {
+        return filterInputEnded ? InputSelection.SECOND : InputSelection.FIRST;
+    }
+
+    @Override
+    public void endInput(int inputId) throws Exception {
+        if (inputId == 1) {
+            checkState(filterReceived, "The runtime filter was not received.");
+            filterInputEnded = true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.runtimefilter;
+
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.operators.util.BloomFilter;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+
+import javax.annotation.Nullable;
+
+/**
+ * Utilities for the runtime filter operators.
+ *
+ * <p>The runtime filter builders emit a single row of {@link #OUTPUT_TYPE}: the number of rows the
+ * filter was built from, and the serialized {@link BloomFilter}. The bloom filter is null if the
+ * number of rows exceeded the maximal row count, in which case the runtime filter lets all rows
+ * pass.
+ */
+public final class RuntimeFilterUtils {
+
+    /** The output type of the runtime filter builders. */
+    public static final RowType OUTPUT_TYPE =
+            RowType.of(
+                    new LogicalType[] {
+                        new IntType(false), new VarBinaryType(VarBinaryType.MAX_LENGTH)
+                    },
+                    new String[] {"actualRowCount", "serializedBloomFilter"});
+
+    /** The expected false positive probability of the bloom filters. */
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.05;
+
+    /** Creates an empty bloom filter sized for the given number of entries. */
+    public static BloomFilter createBloomFilter(int expectedEntries) {
+        final int entries = Math.max(expectedEntries, 1);
+        final int numBits = BloomFilter.optimalNumOfBits(entries, FALSE_POSITIVE_PROBABILITY);
+        // round up to whole longs, so that bloom filters can be merged word by word
+        final int byteSize = Math.max(((numBits + Long.SIZE - 1) / Long.SIZE) * Long.BYTES, 8);
+        final BloomFilter filter = new BloomFilter(entries, byteSize);
+        filter.setBitsLocation(MemorySegmentFactory.allocateUnpooledSegment(byteSize), 0);
+        return filter;
+    }
+
+    /** Creates an output row of the runtime filter builders. */
+    public static RowData createOutputRow(int actualRowCount, @Nullable byte[] serializedFilter) {
+        return GenericRowData.of(actualRowCount, serializedFilter);
+    }
+
+    private RuntimeFilterUtils() {}
+}
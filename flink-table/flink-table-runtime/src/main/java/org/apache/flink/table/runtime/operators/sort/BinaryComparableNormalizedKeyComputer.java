@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.sort;
+
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.utils.ProjectedRowData;
+import org.apache.flink.table.runtime.generated.NormalizedKeyComputer;
+import org.apache.flink.table.runtime.typeutils.BinaryComparableRowDataSerializer;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import java.io.IOException;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A {@link NormalizedKeyComputer} whose normalized keys are the sort keys serialized by a {@link
+ * BinaryComparableRowDataSerializer}. The serialized sort keys are ordered like the sort keys, with
+ * arbitrary orders and null orders of the fields, so that the normalized keys fully determine the
+ * order of the records and the records never need to be compared by a {@code RecordComparator}.
+ *
+ * <p>Only sort keys whose serialized bytes have a maximum length, i.e. without string and binary
+ * fields, are supported.
+ */
+public class BinaryComparableNormalizedKeyComputer implements NormalizedKeyComputer {
+
+    private final BinaryComparableRowDataSerializer keySerializer;
+    private final ProjectedRowData sortKey;
+    private final int numKeyBytes;
+    private final DataOutputSerializer keyBuffer;
+    private final byte[] swapBuffer;
+
+    /**
+     * Creates a {@link BinaryComparableNormalizedKeyComputer}.
+     *
+     * @param keySerializer the serializer of the sort keys
+     * @param keyFields the positions of the sort key fields in the records
+     */
+    public BinaryComparableNormalizedKeyComputer(
+            BinaryComparableRowDataSerializer keySerializer, int[] keyFields) {
+        this.numKeyBytes = keySerializer.getMaxSerializedLength();
+        checkArgument(numKeyBytes > 0, "The serialized sort keys must have a maximum length.");
+        this.keySerializer = keySerializer;
+        this.sortKey = ProjectedRowData.from(keyFields);
+        this.keyBuffer = new DataOutputSerializer(numKeyBytes);
+        this.swapBuffer = new byte[numKeyBytes];
+    }
+
+    @Override
+    public void putKey(RowData record, MemorySegment target, int offset) {
+        keyBuffer.clear();
+        try {
+            keySerializer.serialize(sortKey.replaceRow(record), keyBuffer);
+        } catch (IOException e) {
+            throw new FlinkRuntimeException("Could not serialize the sort key.", e);
+        }
+        int length = keyBuffer.length();
+        target.put(offset, keyBuffer.getSharedBuffer(), 0, length);
+        // null fields are shorter, the padding never decides the order as the null bytes differ
+        for (int i = length; i < numKeyBytes; i++) {
+            target.put(offset + i, (byte) 0);
+        }
+    }
+
+    @Override
+    public int compareKey(MemorySegment segI, int offsetI, MemorySegment segJ, int offsetJ) {
+        return segI.compare(segJ, offsetI, offsetJ, numKeyBytes);
+    }
+
+    @Override
+    public void swapKey(MemorySegment segI, int offsetI, MemorySegment segJ, int offsetJ) {
+        segI.swapBytes(swapBuffer, segJ, offsetI, offsetJ, numKeyBytes);
+    }
+
+    @Override
+    public int getNumKeyBytes() {
+        return numKeyBytes;
+    }
+
+    @Override
+    public boolean isKeyFullyDetermines() {
+        return true;
+    }
+
+    @Override
+    public boolean invertKey() {
+        return false;
+    }
+}
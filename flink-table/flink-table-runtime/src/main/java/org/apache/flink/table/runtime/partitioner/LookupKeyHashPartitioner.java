@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.partitioner;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.io.network.api.writer.SubtaskStateMapper;
+import org.apache.flink.runtime.plugable.SerializationDelegate;
+import org.apache.flink.streaming.runtime.partitioner.StreamPartitioner;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedHashFunction;
+import org.apache.flink.table.runtime.generated.HashFunction;
+import org.apache.flink.util.MathUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Hash partitioner for the input of a lookup join, which sends all the input rows with the same
+ * lookup key to the same subtask, so that the caches of the lookup join subtasks hold disjoint
+ * keys.
+ *
+ * <p>As the lookup join has no keyed state, the rows of a key don't have to be processed by the
+ * same subtask. To avoid overloading a subtask by a skewed key, a key is considered hot if it
+ * makes up more than the hot key ratio of the rows in a window of {@link
+ * #HOT_KEY_DETECTION_WINDOW} rows, and its rows are distributed round-robin to all subtasks until
+ * it stops being hot. The keys are counted by their hash code, so keys with the same hash code are
+ * counted together.
+ */
+public class LookupKeyHashPartitioner extends StreamPartitioner<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    @VisibleForTesting static final int HOT_KEY_DETECTION_WINDOW = 10_000;
+
+    private final GeneratedHashFunction genHashFunc;
+    private final String[] hashFieldNames;
+    private final double hotKeyRatio;
+
+    private transient HashFunction hashFunc;
+
+    /** The number of rows of each key hash in the current window, if hot keys are detected. */
+    private transient Map<Integer, Integer> keyCounts;
+
+    /** The key hashes which have been hot in the previous window. */
+    private transient Set<Integer> hotKeys;
+
+    private transient int numRowsInWindow;
+    private transient int nextHotKeyChannel;
+
+    /**
+     * Creates a LookupKeyHashPartitioner.
+     *
+     * @param genHashFunc the hash function of the lookup key fields of the input rows
+     * @param hashFieldNames the names of the lookup key fields of the input rows
+     * @param hotKeyRatio the fraction of the rows of a window above which a key is hot, 0 disables
+     *     the detection of hot keys
+     */
+    public LookupKeyHashPartitioner(
+            GeneratedHashFunction genHashFunc, String[] hashFieldNames, double hotKeyRatio) {
+        checkArgument(
+                hotKeyRatio >= 0 && hotKeyRatio <= 1, "The hot key ratio must be in [0, 1].");
+        this.genHashFunc = genHashFunc;
+        this.hashFieldNames = hashFieldNames;
+        this.hotKeyRatio = hotKeyRatio;
+    }
+
+    @Override
+    public void setup(int numberOfChannels) {
+        super.setup(numberOfChannels);
+        nextHotKeyChannel = ThreadLocalRandom.current().nextInt(numberOfChannels);
+    }
+
+    @Override
+    public StreamPartitioner<RowData> copy() {
+        // the hot keys are detected by each partitioner instance
+        return new LookupKeyHashPartitioner(genHashFunc, hashFieldNames, hotKeyRatio);
+    }
+
+    @Override
+    public int selectChannel(SerializationDelegate<StreamRecord<RowData>> record) {
+        int hash = getHashFunc().hashCode(record.getInstance().getValue());
+        if (hotKeyRatio > 0 && isHotKey(hash)) {
+            nextHotKeyChannel = (nextHotKeyChannel + 1) % numberOfChannels;
+            return nextHotKeyChannel;
+        }
+        return MathUtils.murmurHash(hash) % numberOfChannels;
+    }
+
+    private boolean isHotKey(int hash) {
+        if (keyCounts == null) {
+            keyCounts = new HashMap<>();
+            hotKeys = new HashSet<>();
+        }
+        int threshold = Math.max(1, (int) (hotKeyRatio * HOT_KEY_DETECTION_WINDOW));
+        int count = keyCounts.merge(hash, 1, Integer::sum);
+        boolean isHot = count > threshold || hotKeys.contains(hash);
+
+        if (++numRowsInWindow >= HOT_KEY_DETECTION_WINDOW) {
+            Set<Integer> newHotKeys = new HashSet<>();
+            for (Map.Entry<Integer, Integer> keyCount : keyCounts.entrySet()) {
+                if (keyCount.getValue() > threshold) {
+                    newHotKeys.add(keyCount.getKey());
+                }
+            }
+            hotKeys = newHotKeys;
+            keyCounts.clear();
+            numRowsInWindow = 0;
+        }
+        return isHot;
+    }
+
+    private HashFunction getHashFunc() {
+        if (hashFunc == null) {
+            try {
+                hashFunc = genHashFunc.newInstance(Thread.currentThread().getContextClassLoader());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return hashFunc;
+    }
+
+    @Override
+    public SubtaskStateMapper getDownstreamSubtaskStateMapper() {
+        return SubtaskStateMapper.FULL;
+    }
+
+    @Override
+    public boolean isPointwise() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "HASH" + Arrays.toString(hashFieldNames);
+    }
+}
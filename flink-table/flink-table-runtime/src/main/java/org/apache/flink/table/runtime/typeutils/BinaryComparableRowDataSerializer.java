@@ -0,0 +1,516 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.typeutils;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.api.java.typeutils.runtime.DataInputViewStream;
+import org.apache.flink.api.java.typeutils.runtime.DataOutputViewStream;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.apache.flink.table.types.logical.utils.LogicalTypeChecks.getPrecision;
+import static org.apache.flink.table.types.logical.utils.LogicalTypeChecks.getScale;
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Serializer for sort keys whose serialized bytes are ordered like the sort keys themselves, i.e.
+ * comparing the serialized bytes of two sort keys lexicographically as unsigned bytes gives the
+ * same result as comparing the sort keys with the given orders and null orders. The serialized
+ * bytes of a sort key are never a prefix of the serialized bytes of another sort key.
+ *
+ * <p>This allows to use sort keys as the keys of states which are iterated in the order of the
+ * serialized keys, e.g. the map states of the RocksDB state backend.
+ *
+ * <p>Every field is serialized to a null byte, which is followed by the value bytes of a non-null
+ * value. The value bytes are inverted for descending fields:
+ *
+ * <ul>
+ *   <li>integral numbers, temporal types and compact decimals are written big-endian with flipped
+ *       sign bits,
+ *   <li>floating point numbers are written big-endian with flipped sign bits if they are positive
+ *       and with all bits flipped if they are negative,
+ *   <li>non-compact decimals are written as 16 bytes two's complement with a flipped sign bit,
+ *   <li>strings and binaries are written with every 0x00 byte escaped as 0x00 0xFF and are
+ *       terminated by 0x00 0x00.
+ * </ul>
+ *
+ * <p>Use {@link #isSupported(LogicalType)} to check whether a type can be serialized.
+ */
+public final class BinaryComparableRowDataSerializer extends TypeSerializer<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int NULL_FIRST = 0x00;
+    private static final int NOT_NULL = 0x01;
+    private static final int NULL_LAST = 0x02;
+
+    private static final int DECIMAL_BYTES = 16;
+
+    private final LogicalType[] types;
+    private final boolean[] ascendingOrders;
+    private final boolean[] nullsIsLast;
+    private final RowData.FieldGetter[] fieldGetters;
+    private final RowDataSerializer rowSerializer;
+
+    public BinaryComparableRowDataSerializer(
+            LogicalType[] types, boolean[] ascendingOrders, boolean[] nullsIsLast) {
+        checkArgument(
+                types.length == ascendingOrders.length && types.length == nullsIsLast.length,
+                "The types, orders and null orders must have the same length.");
+        for (LogicalType type : types) {
+            checkArgument(
+                    isSupported(type), "Type %s is not supported as binary comparable key.", type);
+        }
+        this.types = types;
+        this.ascendingOrders = ascendingOrders;
+        this.nullsIsLast = nullsIsLast;
+        this.fieldGetters = new RowData.FieldGetter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            fieldGetters[i] = RowData.createFieldGetter(types[i], i);
+        }
+        this.rowSerializer = new RowDataSerializer(types);
+    }
+
+    /** Returns true if values of the given type can be serialized by this serializer. */
+    public static boolean isSupported(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+            case INTERVAL_DAY_TIME:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+            case CHAR:
+            case VARCHAR:
+            case BINARY:
+            case VARBINARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the maximum number of bytes of a serialized row, or -1 if the serialized rows have no
+     * maximum length, i.e. if there are string or binary fields.
+     */
+    public int getMaxSerializedLength() {
+        int length = 0;
+        for (LogicalType type : types) {
+            int fieldLength = getMaxSerializedValueLength(type);
+            if (fieldLength < 0) {
+                return -1;
+            }
+            // the null byte and the value bytes
+            length += 1 + fieldLength;
+        }
+        return length;
+    }
+
+    private static int getMaxSerializedValueLength(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+                return 1;
+            case SMALLINT:
+                return 2;
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+            case FLOAT:
+                return 4;
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+            case DOUBLE:
+                return 8;
+            case DECIMAL:
+                return DecimalData.isCompact(getPrecision(type)) ? 8 : DECIMAL_BYTES;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return TimestampData.isCompact(getPrecision(type)) ? 8 : 12;
+            default:
+                return -1;
+        }
+    }
+
+    @Override
+    public boolean isImmutableType() {
+        return false;
+    }
+
+    @Override
+    public TypeSerializer<RowData> duplicate() {
+        return new BinaryComparableRowDataSerializer(types, ascendingOrders, nullsIsLast);
+    }
+
+    @Override
+    public RowData createInstance() {
+        return rowSerializer.createInstance();
+    }
+
+    @Override
+    public RowData copy(RowData from) {
+        return rowSerializer.copy(from);
+    }
+
+    @Override
+    public RowData copy(RowData from, RowData reuse) {
+        return rowSerializer.copy(from, reuse);
+    }
+
+    @Override
+    public int getLength() {
+        return -1;
+    }
+
+    @Override
+    public void serialize(RowData record, DataOutputView target) throws IOException {
+        for (int i = 0; i < types.length; i++) {
+            if (record.isNullAt(i)) {
+                target.writeByte(nullsIsLast[i] ? NULL_LAST : NULL_FIRST);
+            } else {
+                target.writeByte(NOT_NULL);
+                serializeField(
+                        types[i],
+                        fieldGetters[i].getFieldOrNull(record),
+                        ascendingOrders[i] ? 0 : 0xFF,
+                        target);
+            }
+        }
+    }
+
+    private static void serializeField(LogicalType type, Object field, int mask, DataOutputView out)
+            throws IOException {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                out.writeByte(((Boolean) field ? 1 : 0) ^ mask);
+                break;
+            case TINYINT:
+                writeSigned((Byte) field, 1, mask, out);
+                break;
+            case SMALLINT:
+                writeSigned((Short) field, 2, mask, out);
+                break;
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+                writeSigned((Integer) field, 4, mask, out);
+                break;
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+                writeSigned((Long) field, 8, mask, out);
+                break;
+            case FLOAT:
+                float floatValue = (Float) field;
+                // -0.0 and 0.0 are equal in SQL
+                int intBits = Float.floatToIntBits(floatValue == 0.0f ? 0.0f : floatValue);
+                writeUnsigned(intBits ^ (intBits < 0 ? -1 : Integer.MIN_VALUE), 4, mask, out);
+                break;
+            case DOUBLE:
+                double doubleValue = (Double) field;
+                long longBits = Double.doubleToLongBits(doubleValue == 0.0d ? 0.0d : doubleValue);
+                writeUnsigned(longBits ^ (longBits < 0 ? -1L : Long.MIN_VALUE), 8, mask, out);
+                break;
+            case DECIMAL:
+                DecimalData decimal = (DecimalData) field;
+                if (DecimalData.isCompact(decimal.precision())) {
+                    writeSigned(decimal.toUnscaledLong(), 8, mask, out);
+                } else {
+                    byte[] unscaled = decimal.toUnscaledBytes();
+                    int signExtension = unscaled[0] < 0 ? 0xFF : 0;
+                    for (int i = unscaled.length; i < DECIMAL_BYTES; i++) {
+                        out.writeByte(
+                                (i == unscaled.length ? signExtension ^ 0x80 : signExtension)
+                                        ^ mask);
+                    }
+                    for (int i = 0; i < unscaled.length; i++) {
+                        int b = unscaled[i] & 0xFF;
+                        if (i == 0 && unscaled.length == DECIMAL_BYTES) {
+                            b ^= 0x80;
+                        }
+                        out.writeByte(b ^ mask);
+                    }
+                }
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                TimestampData timestamp = (TimestampData) field;
+                writeSigned(timestamp.getMillisecond(), 8, mask, out);
+                if (!TimestampData.isCompact(getPrecision(type))) {
+                    writeSigned(timestamp.getNanoOfMillisecond(), 4, mask, out);
+                }
+                break;
+            case CHAR:
+            case VARCHAR:
+                writeEscaped(((StringData) field).toBytes(), mask, out);
+                break;
+            case BINARY:
+            case VARBINARY:
+                writeEscaped((byte[]) field, mask, out);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + type);
+        }
+    }
+
+    private static void writeSigned(long value, int numBytes, int mask, DataOutputView out)
+            throws IOException {
+        writeUnsigned(value ^ (1L << (numBytes * 8 - 1)), numBytes, mask, out);
+    }
+
+    private static void writeUnsigned(long value, int numBytes, int mask, DataOutputView out)
+            throws IOException {
+        for (int i = numBytes - 1; i >= 0; i--) {
+            out.writeByte(((int) (value >>> (i * 8)) & 0xFF) ^ mask);
+        }
+    }
+
+    private static void writeEscaped(byte[] bytes, int mask, DataOutputView out)
+            throws IOException {
+        for (byte b : bytes) {
+            out.writeByte(b ^ mask);
+            if (b == 0) {
+                out.writeByte(0xFF ^ mask);
+            }
+        }
+        out.writeByte(mask);
+        out.writeByte(mask);
+    }
+
+    @Override
+    public RowData deserialize(DataInputView source) throws IOException {
+        GenericRowData row = new GenericRowData(types.length);
+        for (int i = 0; i < types.length; i++) {
+            if (source.readUnsignedByte() == NOT_NULL) {
+                row.setField(
+                        i, deserializeField(types[i], ascendingOrders[i] ? 0 : 0xFF, source));
+            }
+        }
+        return row;
+    }
+
+    private static Object deserializeField(LogicalType type, int mask, DataInputView in)
+            throws IOException {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return (in.readUnsignedByte() ^ mask) != 0;
+            case TINYINT:
+                return (byte) readSigned(1, mask, in);
+            case SMALLINT:
+                return (short) readSigned(2, mask, in);
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case INTERVAL_YEAR_MONTH:
+                return (int) readSigned(4, mask, in);
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+                return readSigned(8, mask, in);
+            case FLOAT:
+                int intBits = (int) readUnsigned(4, mask, in);
+                return Float.intBitsToFloat(intBits ^ (intBits < 0 ? Integer.MIN_VALUE : -1));
+            case DOUBLE:
+                long longBits = readUnsigned(8, mask, in);
+                return Double.longBitsToDouble(longBits ^ (longBits < 0 ? Long.MIN_VALUE : -1L));
+            case DECIMAL:
+                int precision = getPrecision(type);
+                int scale = getScale(type);
+                if (DecimalData.isCompact(precision)) {
+                    return DecimalData.fromUnscaledLong(readSigned(8, mask, in), precision, scale);
+                } else {
+                    byte[] unscaled = new byte[DECIMAL_BYTES];
+                    for (int i = 0; i < DECIMAL_BYTES; i++) {
+                        unscaled[i] = (byte) (in.readUnsignedByte() ^ mask);
+                    }
+                    unscaled[0] ^= (byte) 0x80;
+                    return DecimalData.fromUnscaledBytes(unscaled, precision, scale);
+                }
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                long millisecond = readSigned(8, mask, in);
+                if (TimestampData.isCompact(getPrecision(type))) {
+                    return TimestampData.fromEpochMillis(millisecond);
+                } else {
+                    return TimestampData.fromEpochMillis(
+                            millisecond, (int) readSigned(4, mask, in));
+                }
+            case CHAR:
+            case VARCHAR:
+                return StringData.fromBytes(readEscaped(mask, in));
+            case BINARY:
+            case VARBINARY:
+                return readEscaped(mask, in);
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + type);
+        }
+    }
+
+    private static long readSigned(int numBytes, int mask, DataInputView in) throws IOException {
+        long value = readUnsigned(numBytes, mask, in) ^ (1L << (numBytes * 8 - 1));
+        // sign extend the value
+        int shift = 64 - numBytes * 8;
+        return (value << shift) >> shift;
+    }
+
+    private static long readUnsigned(int numBytes, int mask, DataInputView in)
+            throws IOException {
+        long value = 0L;
+        for (int i = 0; i < numBytes; i++) {
+            value = (value << 8) | (in.readUnsignedByte() ^ mask);
+        }
+        return value;
+    }
+
+    private static byte[] readEscaped(int mask, DataInputView in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        while (true) {
+            int b = in.readUnsignedByte() ^ mask;
+            if (b == 0 && (in.readUnsignedByte() ^ mask) == 0) {
+                return bytes.toByteArray();
+            }
+            bytes.write(b);
+        }
+    }
+
+    @Override
+    public RowData deserialize(RowData reuse, DataInputView source) throws IOException {
+        return deserialize(source);
+    }
+
+    @Override
+    public void copy(DataInputView source, DataOutputView target) throws IOException {
+        serialize(deserialize(source), target);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BinaryComparableRowDataSerializer that = (BinaryComparableRowDataSerializer) o;
+        return Arrays.equals(types, that.types)
+                && Arrays.equals(ascendingOrders, that.ascendingOrders)
+                && Arrays.equals(nullsIsLast, that.nullsIsLast);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(types);
+        result = 31 * result + Arrays.hashCode(ascendingOrders);
+        result = 31 * result + Arrays.hashCode(nullsIsLast);
+        return result;
+    }
+
+    @Override
+    public TypeSerializerSnapshot<RowData> snapshotConfiguration() {
+        return new BinaryComparableRowDataSerializerSnapshot(types, ascendingOrders, nullsIsLast);
+    }
+
+    /** {@link TypeSerializerSnapshot} for {@link BinaryComparableRowDataSerializer}. */
+    public static final class BinaryComparableRowDataSerializerSnapshot
+            implements TypeSerializerSnapshot<RowData> {
+
+        private static final int CURRENT_VERSION = 1;
+
+        private LogicalType[] previousTypes;
+        private boolean[] previousAscendingOrders;
+        private boolean[] previousNullsIsLast;
+
+        @SuppressWarnings("unused")
+        public BinaryComparableRowDataSerializerSnapshot() {
+            // this constructor is used when restoring from a checkpoint/savepoint.
+        }
+
+        BinaryComparableRowDataSerializerSnapshot(
+                LogicalType[] types, boolean[] ascendingOrders, boolean[] nullsIsLast) {
+            this.previousTypes = types;
+            this.previousAscendingOrders = ascendingOrders;
+            this.previousNullsIsLast = nullsIsLast;
+        }
+
+        @Override
+        public int getCurrentVersion() {
+            return CURRENT_VERSION;
+        }
+
+        @Override
+        public void writeSnapshot(DataOutputView out) throws IOException {
+            DataOutputViewStream stream = new DataOutputViewStream(out);
+            InstantiationUtil.serializeObject(stream, previousTypes);
+            InstantiationUtil.serializeObject(stream, previousAscendingOrders);
+            InstantiationUtil.serializeObject(stream, previousNullsIsLast);
+        }
+
+        @Override
+        public void readSnapshot(int readVersion, DataInputView in, ClassLoader userCodeClassLoader)
+                throws IOException {
+            try {
+                DataInputViewStream stream = new DataInputViewStream(in);
+                previousTypes = InstantiationUtil.deserializeObject(stream, userCodeClassLoader);
+                previousAscendingOrders =
+                        InstantiationUtil.deserializeObject(stream, userCodeClassLoader);
+                previousNullsIsLast =
+                        InstantiationUtil.deserializeObject(stream, userCodeClassLoader);
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public TypeSerializer<RowData> restoreSerializer() {
+            return new BinaryComparableRowDataSerializer(
+                    previousTypes, previousAscendingOrders, previousNullsIsLast);
+        }
+
+        @Override
+        public TypeSerializerSchemaCompatibility<RowData> resolveSchemaCompatibility(
+                TypeSerializer<RowData> newSerializer) {
+            if (restoreSerializer().equals(newSerializer)) {
+                return TypeSerializerSchemaCompatibility.compatibleAsIs();
+            }
+            return TypeSerializerSchemaCompatibility.incompatible();
+        }
+    }
+}
@@ -38,4 +38,30 @@ public class StateConfigUtil {
             return StateTtlConfig.DISABLED;
         }
     }
+
+    /**
+     * Creates a {@link StateTtlConfig} depends on retentionTime parameter, whose expired state is
+     * cleaned up in the background as tuned by the given parameters.
+     *
+     * @param retentionTime State ttl time which unit is MILLISECONDS.
+     * @param compactFilterQueryTimeAfterNumEntries The number of state entries the compaction
+     *     filter of the RocksDB state backend processes before it updates the current timestamp.
+     * @param incrementalCleanupSize The number of state entries checked for expiration on every
+     *     state access of the heap state backend.
+     */
+    public static StateTtlConfig createTtlConfig(
+            long retentionTime,
+            long compactFilterQueryTimeAfterNumEntries,
+            int incrementalCleanupSize) {
+        if (retentionTime > 0) {
+            return StateTtlConfig.newBuilder(Time.milliseconds(retentionTime))
+                    .setUpdateType(StateTtlConfig.UpdateType.OnCreateAndWrite)
+                    .setStateVisibility(StateTtlConfig.StateVisibility.NeverReturnExpired)
+                    .cleanupInRocksdbCompactFilter(compactFilterQueryTimeAfterNumEntries)
+                    .cleanupIncrementally(incrementalCleanupSize, false)
+                    .build();
+        } else {
+            return StateTtlConfig.DISABLED;
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions.aggregate.sketch;
+
+import org.apache.flink.table.runtime.functions.aggregate.BitmapCountDistinctAggFunction;
+import org.apache.flink.table.runtime.functions.aggregate.BitmapCountDistinctAggFunction.BitmapCountDistinctAccumulator;
+import org.apache.flink.table.types.logical.BigIntType;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link BitmapContainer} and {@link BitmapCountDistinctAggFunction}. */
+public class BitmapContainerTest {
+
+    @Test
+    public void testArrayToBitmap() {
+        byte[] container = BitmapContainer.newContainer();
+        for (int i = 0; i <= BitmapContainer.MAX_ARRAY_CARDINALITY; i++) {
+            int low = (i * 7) & 0xFFFF;
+            assertFalse(BitmapContainer.contains(container, low));
+            container = BitmapContainer.add(container, low);
+            assertTrue(BitmapContainer.contains(container, low));
+            assertEquals(i + 1, BitmapContainer.cardinality(container));
+        }
+        assertEquals(BitmapContainer.BITMAP_SIZE_IN_BYTES, container.length);
+        assertFalse(BitmapContainer.contains(container, 1));
+        assertTrue(BitmapContainer.contains(container, 7));
+    }
+
+    @Test
+    public void testUnion() {
+        int[][] ranges = {{0, 10}, {5, 20}, {0, 3000}, {2000, 5000}, {0, 65536}};
+        for (int[] first : ranges) {
+            for (int[] second : ranges) {
+                byte[] container = newContainer(first[0], first[1]);
+                byte[] other = newContainer(second[0], second[1]);
+                byte[] otherCopy = other.clone();
+                byte[] union = BitmapContainer.union(container, other);
+                byte[] expected = BitmapContainer.newContainer();
+                for (int i = 0; i < 65536; i++) {
+                    if ((i >= first[0] && i < first[1]) || (i >= second[0] && i < second[1])) {
+                        expected = BitmapContainer.add(expected, i);
+                    }
+                }
+                assertArrayEquals(expected, union);
+                assertArrayEquals(otherCopy, other);
+            }
+        }
+    }
+
+    @Test
+    public void testCountDistinct() throws Exception {
+        BitmapCountDistinctAggFunction function =
+                new BitmapCountDistinctAggFunction(new BigIntType());
+        Random random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+        BitmapCountDistinctAccumulator first = function.createAccumulator();
+        BitmapCountDistinctAccumulator second = function.createAccumulator();
+        for (int i = 0; i < 100_000; i++) {
+            // dense and sparse chunks, negative values
+            long value = i % 2 == 0 ? random.nextInt(200_000) - 100_000 : random.nextLong();
+            expected.add(value);
+            function.accumulate(i % 3 == 0 ? first : second, value);
+        }
+        function.accumulate(first, null);
+        assertEquals(
+                expected.size(), function.getValue(first) + function.getValue(second), 5_000);
+
+        BitmapCountDistinctAccumulator merged = function.createAccumulator();
+        function.merge(merged, Arrays.asList(first, second));
+        assertEquals(expected.size(), function.getValue(merged).longValue());
+
+        // merging again doesn't change the result, and the merged accumulators are not changed
+        long firstCount = function.getValue(first);
+        function.merge(merged, Collections.singletonList(first));
+        assertEquals(expected.size(), function.getValue(merged).longValue());
+        assertEquals(firstCount, function.getValue(first).longValue());
+
+        function.resetAccumulator(merged);
+        assertEquals(0L, function.getValue(merged).longValue());
+    }
+
+    private static byte[] newContainer(int from, int to) {
+        byte[] container = BitmapContainer.newContainer();
+        for (int i = from; i < to; i++) {
+            container = BitmapContainer.add(container, i);
+        }
+        return container;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.functions.aggregate.sketch;
+
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.StringData;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link HyperLogLog}. */
+public class HyperLogLogTest {
+
+    @Test
+    public void testEmptySketch() {
+        assertEquals(0L, HyperLogLog.estimate(HyperLogLog.newSketch()));
+    }
+
+    @Test
+    public void testSmallCardinalityIsNearlyExact() {
+        byte[] sketch = HyperLogLog.newSketch();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                sketch = add(sketch, StringData.fromString("user-" + i));
+            }
+        }
+        assertEquals(100L, HyperLogLog.estimate(sketch));
+    }
+
+    @Test
+    public void testSparseToDense() {
+        byte[] sketch = HyperLogLog.newSketch();
+        for (long i = 0; i < HyperLogLog.MAX_SPARSE_REGISTERS * 4; i++) {
+            sketch = add(sketch, i);
+        }
+        assertEquals(HyperLogLog.NUM_REGISTERS + 1, sketch.length);
+        assertEstimate(HyperLogLog.MAX_SPARSE_REGISTERS * 4, HyperLogLog.estimate(sketch));
+    }
+
+    @Test
+    public void testLargeCardinality() {
+        Random random = new Random(42);
+        byte[] sketch = HyperLogLog.newSketch();
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch = add(sketch, random.nextLong());
+        }
+        assertEstimate(1_000_000, HyperLogLog.estimate(sketch));
+    }
+
+    @Test
+    public void testMerge() {
+        int[][] ranges = {{0, 100}, {50, 150}, {0, 50_000}, {25_000, 200_000}};
+        // merge all combinations of sparse and dense sketches
+        for (int[] first : ranges) {
+            for (int[] second : ranges) {
+                byte[] sketch = HyperLogLog.newSketch();
+                for (long i = first[0]; i < first[1]; i++) {
+                    sketch = add(sketch, i);
+                }
+                byte[] other = HyperLogLog.newSketch();
+                for (long i = second[0]; i < second[1]; i++) {
+                    other = add(other, i);
+                }
+                byte[] expected = HyperLogLog.newSketch();
+                for (long i = 0; i < 200_000; i++) {
+                    if ((i >= first[0] && i < first[1]) || (i >= second[0] && i < second[1])) {
+                        expected = add(expected, i);
+                    }
+                }
+                byte[] otherCopy = other.clone();
+                byte[] merged = HyperLogLog.merge(sketch, other);
+                assertEquals(HyperLogLog.estimate(expected), HyperLogLog.estimate(merged));
+                // the merged sketch is not changed
+                assertArrayEquals(otherCopy, other);
+            }
+        }
+    }
+
+    @Test
+    public void testHashOfEqualValues() {
+        assertEquals(
+                HyperLogLog.hash(StringData.fromString("flink")),
+                HyperLogLog.hash(StringData.fromBytes("flink".getBytes())));
+        assertEquals(HyperLogLog.hash(0.0), HyperLogLog.hash(-0.0));
+        assertEquals(
+                HyperLogLog.hash(DecimalData.fromBigDecimal(new BigDecimal("1.10"), 30, 2)),
+                HyperLogLog.hash(DecimalData.fromBigDecimal(new BigDecimal("1.1"), 30, 2)));
+        assertTrue(HyperLogLog.hash(1L) != HyperLogLog.hash(2L));
+    }
+
+    private static byte[] add(byte[] sketch, Object value) {
+        return HyperLogLog.add(sketch, HyperLogLog.hash(value));
+    }
+
+    private static void assertEstimate(long expected, long estimate) {
+        // about 4 times of the standard error
+        double error = Math.abs(estimate - expected) / (double) expected;
+        assertTrue("Estimate " + estimate + " of " + expected, error < 0.035);
+    }
+}
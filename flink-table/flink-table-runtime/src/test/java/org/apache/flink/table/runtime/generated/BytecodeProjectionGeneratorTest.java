@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.generated;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.data.writer.BinaryWriter;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link BytecodeProjectionGenerator} and {@link GeneratedBytecodeProjection}. */
+public class BytecodeProjectionGeneratorTest {
+
+    private static final RowType INPUT_TYPE =
+            RowType.of(
+                    new IntType(),
+                    new VarCharType(VarCharType.MAX_LENGTH),
+                    new BigIntType(false),
+                    new DecimalType(10, 2),
+                    new DecimalType(30, 5),
+                    new TimestampType(3),
+                    new TimestampType(9),
+                    new BooleanType(),
+                    new DoubleType(),
+                    new VarBinaryType(VarBinaryType.MAX_LENGTH));
+
+    @Before
+    public void before() {
+        CompileUtils.COMPILED_CACHE.invalidateAll();
+    }
+
+    @Test
+    public void testProjection() {
+        int[] mapping = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 1};
+        Projection<RowData, BinaryRowData> projection = newProjection(mapping);
+
+        GenericRowData input =
+                GenericRowData.of(
+                        7,
+                        StringData.fromString("hello"),
+                        42L,
+                        DecimalData.fromBigDecimal(new BigDecimal("12.34"), 10, 2),
+                        DecimalData.fromBigDecimal(new BigDecimal("123456789.12345"), 30, 5),
+                        TimestampData.fromEpochMillis(1000L),
+                        TimestampData.fromEpochMillis(2000L, 123),
+                        true,
+                        0.5d,
+                        new byte[] {1, 2, 3});
+        assertEquals(expected(input, mapping), projection.apply(input));
+
+        GenericRowData nulls = new GenericRowData(INPUT_TYPE.getFieldCount());
+        nulls.setField(2, 1L);
+        BinaryRowData result = projection.apply(nulls);
+        assertEquals(expected(nulls, mapping), result);
+        for (int i = 0; i < mapping.length; i++) {
+            assertEquals(mapping[i] != 2, result.isNullAt(i));
+        }
+    }
+
+    @Test
+    public void testOutputRowIsReused() {
+        Projection<RowData, BinaryRowData> projection = newProjection(new int[] {0, 1});
+        BinaryRowData first = projection.apply(GenericRowData.of(1, StringData.fromString("a")));
+        BinaryRowData second = projection.apply(GenericRowData.of(2, StringData.fromString("b")));
+        assertSame(first, second);
+        assertEquals(2, second.getInt(0));
+        assertEquals(StringData.fromString("b"), second.getString(1));
+    }
+
+    @Test
+    public void testMethodSplitting() throws Exception {
+        int numFields = 150;
+        LogicalType[] types = new LogicalType[numFields];
+        Arrays.fill(types, new BigIntType());
+        RowType inputType = RowType.of(types);
+        int[] mapping = new int[numFields];
+        GenericRowData input = new GenericRowData(numFields);
+        for (int i = 0; i < numFields; i++) {
+            mapping[i] = numFields - 1 - i;
+            input.setField(i, (long) i);
+        }
+
+        Class<Projection> clazz =
+                CompileUtils.defineClass(
+                        getClass().getClassLoader(),
+                        "WideProjection",
+                        BytecodeProjectionGenerator.generate(
+                                "WideProjection", inputType, mapping, 64));
+        long numProjectMethods =
+                Arrays.stream(clazz.getDeclaredMethods())
+                        .map(Method::getModifiers)
+                        .filter(Modifier::isPrivate)
+                        .count();
+        assertEquals(3, numProjectMethods);
+
+        @SuppressWarnings("unchecked")
+        Projection<RowData, BinaryRowData> projection =
+                clazz.getConstructor(Object[].class).newInstance(new Object[] {new Object[0]});
+        BinaryRowData result = projection.apply(input);
+        assertEquals(numFields, result.getArity());
+        for (int i = 0; i < numFields; i++) {
+            assertEquals(numFields - 1 - i, result.getLong(i));
+        }
+    }
+
+    @Test
+    public void testIsSupported() {
+        RowType keyType = RowType.of(new IntType(false), new BigIntType());
+        assertTrue(BytecodeProjectionGenerator.isSupported(INPUT_TYPE, keyType, new int[] {0, 2}));
+        // the output type doesn't match the input field
+        assertFalse(
+                BytecodeProjectionGenerator.isSupported(INPUT_TYPE, keyType, new int[] {2, 0}));
+        assertFalse(BytecodeProjectionGenerator.isSupported(INPUT_TYPE, keyType, new int[] {0}));
+        // nested types are not supported
+        RowType arrayType = RowType.of(new ArrayType(new IntType()));
+        assertFalse(BytecodeProjectionGenerator.isSupported(arrayType, arrayType, new int[] {0}));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Projection<RowData, BinaryRowData> newProjection(int[] mapping) {
+        return new GeneratedBytecodeProjection(
+                        "TestProjection", INPUT_TYPE, mapping, new Configuration())
+                .newInstance(BytecodeProjectionGeneratorTest.class.getClassLoader());
+    }
+
+    private static BinaryRowData expected(RowData input, int[] mapping) {
+        BinaryRowData row = new BinaryRowData(mapping.length);
+        BinaryRowWriter writer = new BinaryRowWriter(row);
+        for (int i = 0; i < mapping.length; i++) {
+            LogicalType type = INPUT_TYPE.getTypeAt(mapping[i]);
+            if (!input.isNullAt(mapping[i])) {
+                BinaryWriter.write(
+                        writer,
+                        i,
+                        RowData.createFieldGetter(type, mapping[i]).getFieldOrNull(input),
+                        type,
+                        null);
+            } else if (type instanceof DecimalType
+                    && !DecimalData.isCompact(((DecimalType) type).getPrecision())) {
+                writer.writeDecimal(i, null, ((DecimalType) type).getPrecision());
+            } else if (type instanceof TimestampType
+                    && !TimestampData.isCompact(((TimestampType) type).getPrecision())) {
+                writer.writeTimestamp(i, null, ((TimestampType) type).getPrecision());
+            } else {
+                writer.setNullAt(i);
+            }
+        }
+        writer.complete();
+        return row;
+    }
+}
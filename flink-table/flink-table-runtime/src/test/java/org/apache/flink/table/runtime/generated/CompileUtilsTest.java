@@ -25,11 +25,17 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
@@ -38,10 +44,13 @@ public class CompileUtilsTest {
 
     @Rule public ExpectedException thrown = ExpectedException.none();
 
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void before() {
         // cleanup cached class before tests
         CompileUtils.COMPILED_CACHE.invalidateAll();
+        CompileUtils.COMPILED_BYTECODE_CACHE.invalidateAll();
     }
 
     @Test
@@ -55,6 +64,107 @@ public class CompileUtilsTest {
         assertNotSame(class1, class3);
     }
 
+    @Test
+    public void testBytecodeReuse() throws Exception {
+        String code = "public class Main {\n" + "  int i;\n" + "  int j;\n" + "}";
+        String cacheDirPath = temporaryFolder.newFolder().toURI().toString();
+
+        Class<?> class1 =
+                CompileUtils.compile(this.getClass().getClassLoader(), "Main", code, cacheDirPath);
+        assertEquals(1, CompileUtils.COMPILED_BYTECODE_CACHE.size());
+        Class<?> class2 = CompileUtils.compile(new TestClassLoader(), "Main", code, cacheDirPath);
+        // the class is loaded by another class loader from the cached bytecode
+        assertEquals(1, CompileUtils.COMPILED_BYTECODE_CACHE.size());
+        assertNotSame(class1, class2);
+        assertEquals(class1.getName(), class2.getName());
+    }
+
+    @Test
+    public void testNoBytecodeReuseWithoutCacheDir() {
+        String code = "public class Main {\n" + "  int i;\n" + "  int j;\n" + "}";
+
+        // the bytecode is compiled against the classes of a class loader, so it is not shared
+        // with other class loaders by default
+        CompileUtils.compile(this.getClass().getClassLoader(), "Main", code);
+        CompileUtils.compile(new TestClassLoader(), "Main", code);
+        assertEquals(0, CompileUtils.COMPILED_BYTECODE_CACHE.size());
+    }
+
+    @Test
+    public void testBytecodeCacheDir() throws Exception {
+        String code =
+                "public class Main {\n"
+                        + "  public static class Inner {}\n"
+                        + "  int i;\n"
+                        + "  int j;\n"
+                        + "}";
+        File cacheDir = temporaryFolder.newFolder();
+        String cacheDirPath = cacheDir.toURI().toString();
+
+        Class<?> class1 =
+                CompileUtils.compile(this.getClass().getClassLoader(), "Main", code, cacheDirPath);
+        File[] files = cacheDir.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+
+        // the bytecode is read from the cache directory after the in-memory caches are lost
+        CompileUtils.COMPILED_CACHE.invalidateAll();
+        CompileUtils.COMPILED_BYTECODE_CACHE.invalidateAll();
+        long lastModified = files[0].lastModified();
+        Class<?> class2 = CompileUtils.compile(new TestClassLoader(), "Main", code, cacheDirPath);
+        assertNotSame(class1, class2);
+        assertEquals(lastModified, files[0].lastModified());
+        assertEquals(1, cacheDir.listFiles().length);
+        assertNotNull(class2.getClassLoader().loadClass("Main$Inner"));
+    }
+
+    @Test
+    public void testCorruptedBytecodeCacheFile() throws Exception {
+        String code = "public class Main {\n" + "  int i;\n" + "  int j;\n" + "}";
+        File cacheDir = temporaryFolder.newFolder();
+        String cacheDirPath = cacheDir.toURI().toString();
+
+        CompileUtils.compile(this.getClass().getClassLoader(), "Main", code, cacheDirPath);
+        File[] files = cacheDir.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        byte[] content = Files.readAllBytes(files[0].toPath());
+        // flip a byte of the bytecode at the end of the file
+        content[content.length - 1] ^= 1;
+        Files.write(files[0].toPath(), content);
+
+        // the corrupted file is ignored and the code is compiled again
+        CompileUtils.COMPILED_CACHE.invalidateAll();
+        CompileUtils.COMPILED_BYTECODE_CACHE.invalidateAll();
+        Class<?> clazz = CompileUtils.compile(new TestClassLoader(), "Main", code, cacheDirPath);
+        assertEquals("Main", clazz.getName());
+        assertNotNull(clazz.getDeclaredField("j"));
+    }
+
+    @Test
+    public void testMisplacedBytecodeCacheFile() throws Exception {
+        String code1 = "public class Main {\n" + "  int i;\n" + "}";
+        String code2 = "public class Main {\n" + "  int j;\n" + "}";
+        File cacheDir = temporaryFolder.newFolder();
+        String cacheDirPath = cacheDir.toURI().toString();
+
+        CompileUtils.compile(this.getClass().getClassLoader(), "Main", code1, cacheDirPath);
+        File file1 = cacheDir.listFiles()[0];
+        CompileUtils.compile(this.getClass().getClassLoader(), "Main", code2, cacheDirPath);
+        File file2 =
+                Arrays.stream(cacheDir.listFiles())
+                        .filter(f -> !f.equals(file1))
+                        .findFirst()
+                        .get();
+        // the file of the first code is placed at the path of the second code
+        Files.copy(file1.toPath(), file2.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        CompileUtils.COMPILED_CACHE.invalidateAll();
+        CompileUtils.COMPILED_BYTECODE_CACHE.invalidateAll();
+        Class<?> clazz = CompileUtils.compile(new TestClassLoader(), "Main", code2, cacheDirPath);
+        assertNotNull(clazz.getDeclaredField("j"));
+    }
+
     @Test
     public void testExpressionCacheReuse() {
         String code = "a + b";
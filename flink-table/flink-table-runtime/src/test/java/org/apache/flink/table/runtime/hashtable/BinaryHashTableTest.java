@@ -629,6 +629,76 @@ public class BinaryHashTableTest {
         table.free();
     }
 
+    @Test
+    public void testSortMergeJoinFallbackForTooManyRecursions() throws IOException {
+        final int repeatedValue = 40559;
+        final int repeatedValueCount = 300000;
+        final int numKeys = 1000;
+
+        // the repeated key can not be made memory resident by repartitioning
+        List<MutableObjectIterator<BinaryRowData>> builds = new ArrayList<>();
+        builds.add(new UniformBinaryRowGenerator(numKeys, 1, false));
+        builds.add(new ConstantsKeyValuePairsIterator(repeatedValue, 17, repeatedValueCount));
+        MutableObjectIterator<BinaryRowData> buildInput = new UnionIterator<>(builds);
+
+        List<MutableObjectIterator<BinaryRowData>> probes = new ArrayList<>();
+        probes.add(new UniformBinaryRowGenerator(numKeys, 1, true));
+        probes.add(new ConstantsKeyValuePairsIterator(repeatedValue, 23, 1));
+        MutableObjectIterator<BinaryRowData> probeInput = new UnionIterator<>(probes);
+
+        MemoryManager memManager =
+                MemoryManagerBuilder.newBuilder().setMemorySize(100 * PAGE_SIZE).build();
+        final BinaryHashTable table =
+                new BinaryHashTable(
+                        conf,
+                        new Object(),
+                        this.buildSideSerializer,
+                        this.probeSideSerializer,
+                        new MyProjection(),
+                        new MyProjection(),
+                        memManager,
+                        100 * PAGE_SIZE,
+                        ioManager,
+                        24,
+                        200000,
+                        true,
+                        HashJoinType.INNER,
+                        null,
+                        false,
+                        new boolean[] {true},
+                        false,
+                        true);
+
+        int numRecordsInJoinResult = join(table, buildInput, probeInput);
+
+        List<BinaryHashPartition> partitions = table.getPartitionsPendingForSMJ();
+        Assert.assertFalse(partitions.isEmpty());
+
+        // join the partitions which are left to the sort merge join by a nested map
+        for (BinaryHashPartition p : partitions) {
+            Map<Integer, Integer> buildCounts = new HashMap<>();
+            RowIterator<BinaryRowData> buildIter = table.getSpilledPartitionBuildSideIter(p);
+            while (buildIter.advanceNext()) {
+                buildCounts.merge(buildIter.getRow().getInt(0), 1, Integer::sum);
+            }
+            ProbeIterator probeIter = table.getSpilledPartitionProbeSideIter(p);
+            BinaryRowData probeRow;
+            while ((probeRow = probeIter.next()) != null) {
+                numRecordsInJoinResult += buildCounts.getOrDefault(probeRow.getInt(0), 0);
+            }
+        }
+
+        Assert.assertEquals(
+                "Wrong number of records in join result.",
+                numKeys + repeatedValueCount,
+                numRecordsInJoinResult);
+
+        table.close();
+        Assert.assertTrue(table.getPartitionsPendingForSMJ().isEmpty());
+
+        table.free();
+    }
+
     /*
      * Spills build records, so that probe records are also spilled. But only so
      * few probe records are used that some partitions remain empty.
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.aggregate.window.buffers;
+
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
+import org.apache.flink.runtime.io.disk.iomanager.IOManagerAsync;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.memory.MemoryManagerBuilder;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.operators.window.combines.RecordsCombiner;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.runtime.util.WindowKey;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.apache.flink.runtime.memory.MemoryManager.DEFAULT_PAGE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link SpillableRecordsWindowBuffer}. */
+public class SpillableRecordsWindowBufferTest {
+
+    private static final long MEMORY_SIZE = 64L * DEFAULT_PAGE_SIZE;
+    private static final long WINDOW = 1000L;
+
+    private final RowDataSerializer keySerializer = new RowDataSerializer(new BigIntType());
+    private final RowDataSerializer inputSerializer =
+            new RowDataSerializer(RowType.of(new BigIntType(), new BigIntType()));
+
+    private MemoryManager memoryManager;
+    private IOManager ioManager;
+    private SumCombiner combiner;
+
+    @Before
+    public void before() {
+        memoryManager = MemoryManagerBuilder.newBuilder().setMemorySize(MEMORY_SIZE).build();
+        ioManager = new IOManagerAsync();
+        combiner = new SumCombiner();
+    }
+
+    @After
+    public void after() throws Exception {
+        ioManager.close();
+        memoryManager.shutdown();
+    }
+
+    @Test
+    public void testCombineOncePerKeyAfterSpilling() throws Exception {
+        SpillableRecordsWindowBuffer buffer = createBuffer(MEMORY_SIZE);
+        int numKeys = 50_000;
+        for (int round = 0; round < 2; round++) {
+            for (long key = 0; key < numKeys; key++) {
+                addElement(buffer, key, key);
+            }
+        }
+        assertTrue(buffer.getNumSpillFiles() > 0);
+        assertEquals(0, combiner.numCombines);
+
+        buffer.flush();
+        assertEquals(numKeys, combiner.numCombines);
+        assertEquals(numKeys, combiner.sums.size());
+        for (long key = 0; key < numKeys; key++) {
+            assertEquals(Long.valueOf(2 * key), combiner.sums.get(key));
+        }
+
+        // the buffer can be used again after flushing
+        addElement(buffer, 1L, 10L);
+        buffer.flush();
+        assertEquals(numKeys + 1, combiner.numCombines);
+        assertEquals(Long.valueOf(12L), combiner.sums.get(1L));
+        buffer.close();
+    }
+
+    @Test
+    public void testFlushWithoutSpilling() throws Exception {
+        SpillableRecordsWindowBuffer buffer = createBuffer(MEMORY_SIZE);
+        for (long key = 0; key < 10; key++) {
+            addElement(buffer, key, 1L);
+            addElement(buffer, key, 2L);
+        }
+        buffer.advanceProgress(WINDOW - 2);
+        assertEquals(0, combiner.numCombines);
+
+        buffer.advanceProgress(WINDOW - 1);
+        assertEquals(0, buffer.getNumSpillFiles());
+        assertEquals(10, combiner.numCombines);
+        for (long key = 0; key < 10; key++) {
+            assertEquals(Long.valueOf(3L), combiner.sums.get(key));
+        }
+        buffer.close();
+    }
+
+    @Test
+    public void testPartitionLargerThanMemory() throws Exception {
+        SpillableRecordsWindowBuffer buffer = createBuffer(MEMORY_SIZE);
+        int numKeys = 20_000;
+        int numRounds = 40;
+        for (int round = 0; round < numRounds; round++) {
+            for (long key = 0; key < numKeys; key++) {
+                addElement(buffer, key, 1L);
+            }
+        }
+        buffer.flush();
+        // some partitions don't fit into memory, their keys are combined more than once
+        assertTrue(combiner.numCombines > numKeys);
+        assertEquals(numKeys, combiner.sums.size());
+        for (long key = 0; key < numKeys; key++) {
+            assertEquals(Long.valueOf(numRounds), combiner.sums.get(key));
+        }
+        buffer.close();
+    }
+
+    @Test
+    public void testCloseWithSpilledElements() throws Exception {
+        SpillableRecordsWindowBuffer buffer = createBuffer(MEMORY_SIZE);
+        for (long key = 0; key < 50_000; key++) {
+            addElement(buffer, key, key);
+        }
+        assertTrue(buffer.getNumSpillFiles() > 0);
+        buffer.close();
+        assertEquals(0, combiner.numCombines);
+        assertTrue(combiner.closed);
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private SpillableRecordsWindowBuffer createBuffer(long memorySize) {
+        return new SpillableRecordsWindowBuffer(
+                this,
+                memoryManager,
+                memorySize,
+                ioManager,
+                combiner,
+                keySerializer,
+                inputSerializer,
+                ZoneId.of("UTC"));
+    }
+
+    private void addElement(SpillableRecordsWindowBuffer buffer, long key, long value)
+            throws Exception {
+        RowData keyRow = keySerializer.toBinaryRow(GenericRowData.of(key)).copy();
+        buffer.addElement(keyRow, WINDOW, GenericRowData.of(key, value));
+    }
+
+    /** A {@link RecordsCombiner} which sums up the values of each key. */
+    private static class SumCombiner implements RecordsCombiner {
+
+        private final Map<Long, Long> sums = new HashMap<>();
+        private int numCombines;
+        private boolean closed;
+
+        @Override
+        public void combine(WindowKey windowKey, Iterator<RowData> records) {
+            assertEquals(WINDOW, windowKey.getWindow());
+            long key = windowKey.getKey().getLong(0);
+            long sum = sums.getOrDefault(key, 0L);
+            while (records.hasNext()) {
+                RowData record = records.next();
+                assertEquals(key, record.getLong(0));
+                sum += record.getLong(1);
+            }
+            sums.put(key, sum);
+            numCombines++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
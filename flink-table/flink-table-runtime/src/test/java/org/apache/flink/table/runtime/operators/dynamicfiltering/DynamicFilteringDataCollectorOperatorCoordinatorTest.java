@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.dynamicfiltering;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.CoordinatorStore;
+import org.apache.flink.runtime.operators.coordination.MockOperatorCoordinatorContext;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/** Tests for {@link DynamicFilteringDataCollectorOperatorCoordinator}. */
+public class DynamicFilteringDataCollectorOperatorCoordinatorTest {
+
+    private static final OperatorID OPERATOR_ID = new OperatorID();
+
+    @Test
+    public void testForwardEventToStartedListeners() throws Exception {
+        final MockOperatorCoordinatorContext context =
+                new MockOperatorCoordinatorContext(OPERATOR_ID, 1);
+        final CoordinatorStore store = context.getCoordinatorStore();
+        final EventRecordingCoordinator listener1 = new EventRecordingCoordinator();
+        final EventRecordingCoordinator listener2 = new EventRecordingCoordinator();
+        store.putIfAbsent("listener1", listener1);
+        store.putIfAbsent("listener2", listener2);
+
+        final OperatorCoordinator coordinator =
+                new DynamicFilteringDataCollectorOperatorCoordinator.Provider(
+                                OPERATOR_ID,
+                                new HashSet<>(Arrays.asList("listener1", "listener2")))
+                        .create(context);
+        final SourceEventWrapper event = createEvent();
+        coordinator.handleEventFromOperator(0, event);
+
+        assertEquals(Collections.singletonList(event), listener1.receivedEvents);
+        assertEquals(Collections.singletonList(event), listener2.receivedEvents);
+        assertSame(listener1, store.get("listener1"));
+        assertSame(listener2, store.get("listener2"));
+    }
+
+    @Test
+    public void testKeepEventForListenerNotStarted() throws Exception {
+        final MockOperatorCoordinatorContext context =
+                new MockOperatorCoordinatorContext(OPERATOR_ID, 1);
+        final OperatorCoordinator coordinator =
+                new DynamicFilteringDataCollectorOperatorCoordinator(
+                        context, Collections.singleton("listener"));
+        final SourceEventWrapper event = createEvent();
+        coordinator.handleEventFromOperator(0, event);
+
+        // the listener handles the event once it starts and finds it in the store
+        assertSame(event, context.getCoordinatorStore().get("listener"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectUnexpectedEvent() throws Exception {
+        final MockOperatorCoordinatorContext context =
+                new MockOperatorCoordinatorContext(OPERATOR_ID, 1);
+        new DynamicFilteringDataCollectorOperatorCoordinator(
+                        context, Collections.singleton("listener"))
+                .handleEventFromOperator(0, new SourceEventWrapper(new SourceEvent() {}));
+    }
+
+    private static SourceEventWrapper createEvent() {
+        final RowType rowType = RowType.of(new IntType());
+        return new SourceEventWrapper(
+                new DynamicFilteringEvent(
+                        new DynamicFilteringData(
+                                InternalTypeInfo.of(rowType),
+                                rowType,
+                                Collections.emptyList(),
+                                true)));
+    }
+
+    /** A listening coordinator that records the events it receives. */
+    private static class EventRecordingCoordinator implements OperatorCoordinator {
+
+        private final List<OperatorEvent> receivedEvents = new ArrayList<>();
+
+        @Override
+        public void start() {}
+
+        @Override
+        public void close() {}
+
+        @Override
+        public void handleEventFromOperator(int subtask, OperatorEvent event) {
+            receivedEvents.add(event);
+        }
+
+        @Override
+        public void checkpointCoordinator(long checkpointId, CompletableFuture<byte[]> result) {}
+
+        @Override
+        public void notifyCheckpointComplete(long checkpointId) {}
+
+        @Override
+        public void resetToCheckpoint(long checkpointId, byte[] checkpointData) {}
+
+        @Override
+        public void subtaskFailed(int subtask, Throwable reason) {}
+
+        @Override
+        public void subtaskReset(int subtask, long checkpointId) {}
+
+        @Override
+        public void subtaskReady(int subtask, SubtaskGateway gateway) {}
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.dynamicfiltering;
+
+import org.apache.flink.runtime.operators.coordination.MockOperatorEventGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.connector.source.DynamicFilteringData;
+import org.apache.flink.table.connector.source.DynamicFilteringEvent;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link DynamicFilteringDataCollectorOperator}. */
+public class DynamicFilteringDataCollectorOperatorTest {
+
+    private static final RowType FILTERING_FIELD_TYPE =
+            RowType.of(
+                    new LogicalType[] {new VarCharType(), new IntType()}, new String[] {"b", "c"});
+
+    @Test
+    public void testCollectDynamicFilteringData() throws Exception {
+        final MockOperatorEventGateway gateway = new MockOperatorEventGateway();
+        final DynamicFilteringDataCollectorOperator operator =
+                new DynamicFilteringDataCollectorOperator(
+                        FILTERING_FIELD_TYPE, new int[] {1, 2}, Long.MAX_VALUE, gateway);
+        final OneInputStreamOperatorTestHarness<RowData, RowData> harness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+        harness.setup();
+        harness.open();
+        harness.processElement(new StreamRecord<>(row(1L, "a", 1)));
+        harness.processElement(new StreamRecord<>(row(2L, "a", 1)));
+        harness.processElement(new StreamRecord<>(row(3L, "b", 2)));
+        harness.processElement(new StreamRecord<>(row(4L, null, 3)));
+        harness.close();
+        assertTrue(harness.getOutput().isEmpty());
+
+        final DynamicFilteringData data = getDynamicFilteringData(gateway.getEventsSent());
+        assertTrue(data.isFiltering());
+        assertTrue(data.contains(filterRow("a", 1)));
+        assertTrue(data.contains(filterRow("b", 2)));
+        assertTrue(data.contains(filterRow(null, 3)));
+        assertFalse(data.contains(filterRow("a", 2)));
+        assertFalse(data.contains(filterRow("c", 1)));
+    }
+
+    @Test
+    public void testExceedThreshold() throws Exception {
+        final MockOperatorEventGateway gateway = new MockOperatorEventGateway();
+        final DynamicFilteringDataCollectorOperator operator =
+                new DynamicFilteringDataCollectorOperator(
+                        FILTERING_FIELD_TYPE, new int[] {1, 2}, 10L, gateway);
+        try (OneInputStreamOperatorTestHarness<RowData, RowData> harness =
+                new OneInputStreamOperatorTestHarness<>(operator)) {
+            harness.setup();
+            harness.open();
+            for (int i = 0; i < 10; i++) {
+                harness.processElement(new StreamRecord<>(row(i, "value", i)));
+            }
+        }
+
+        final DynamicFilteringData data = getDynamicFilteringData(gateway.getEventsSent());
+        assertFalse(data.isFiltering());
+        // a non-filtering data accepts everything
+        assertTrue(data.contains(filterRow("other", 100)));
+    }
+
+    private static DynamicFilteringData getDynamicFilteringData(List<OperatorEvent> events) {
+        assertEquals(1, events.size());
+        final SourceEventWrapper wrapper = (SourceEventWrapper) events.get(0);
+        return ((DynamicFilteringEvent) wrapper.getSourceEvent()).getData();
+    }
+
+    private static RowData row(long a, String b, int c) {
+        return GenericRowData.of(a, b == null ? null : StringData.fromString(b), c);
+    }
+
+    private static RowData filterRow(String b, int c) {
+        return GenericRowData.of(b == null ? null : StringData.fromString(b), c);
+    }
+}
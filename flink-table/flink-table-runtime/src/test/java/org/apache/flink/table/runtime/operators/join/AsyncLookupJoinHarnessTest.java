@@ -35,19 +35,25 @@ import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.binary.BinaryStringData;
 import org.apache.flink.table.data.conversion.DataStructureConverter;
 import org.apache.flink.table.data.conversion.DataStructureConverters;
+import org.apache.flink.table.functions.AsyncBatchLookupFunction;
+import org.apache.flink.table.functions.AsyncTableFunction;
 import org.apache.flink.table.runtime.collector.TableFunctionCollector;
 import org.apache.flink.table.runtime.collector.TableFunctionResultFuture;
 import org.apache.flink.table.runtime.generated.GeneratedFunctionWrapper;
 import org.apache.flink.table.runtime.generated.GeneratedResultFutureWrapper;
+import org.apache.flink.table.runtime.operators.join.lookup.AsyncBatchLookupFetcher;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.GeneratedAsyncBatchLookupFetcher;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.LookupJoinCache;
 import org.apache.flink.table.runtime.typeutils.InternalSerializers;
 import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Collector;
 
 import org.junit.Test;
@@ -60,6 +66,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Supplier;
@@ -67,6 +74,7 @@ import java.util.function.Supplier;
 import static org.apache.flink.table.data.StringData.fromString;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.row;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
@@ -226,11 +234,99 @@ public class AsyncLookupJoinHarnessTest {
         assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
     }
 
+    @Test
+    public void testTemporalLeftAsyncJoinWithCache() throws Exception {
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                createHarness(
+                        JoinType.LEFT_JOIN,
+                        FilterOnTable.WITH_FILTER,
+                        LookupJoinHarnessTest.createCache());
+
+        testHarness.open();
+
+        List<Object> expectedOutput = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            synchronized (testHarness.getCheckpointLock()) {
+                testHarness.processElement(insertRecord(1, "a"));
+                testHarness.processElement(insertRecord(2, "b"));
+                testHarness.processElement(insertRecord(3, "c"));
+            }
+            expectedOutput.add(insertRecord(1, "a", 1, "Julian"));
+            expectedOutput.add(insertRecord(2, "b", null, null));
+            expectedOutput.add(insertRecord(3, "c", 3, "Jackson"));
+        }
+
+        // wait until all async collectors in the buffer have been emitted out.
+        synchronized (testHarness.getCheckpointLock()) {
+            testHarness.endInput();
+            testHarness.close();
+        }
+
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+    }
+
+    @Test
+    public void testTemporalLeftAsyncJoinWithBatchedLookup() throws Exception {
+        testTemporalLeftAsyncJoinWithBatchedLookup(AsyncDataStream.OutputMode.ORDERED);
+    }
+
+    @Test
+    public void testTemporalLeftAsyncJoinWithUnorderedBatchedLookup() throws Exception {
+        testTemporalLeftAsyncJoinWithBatchedLookup(AsyncDataStream.OutputMode.UNORDERED);
+    }
+
+    private void testTemporalLeftAsyncJoinWithBatchedLookup(AsyncDataStream.OutputMode outputMode)
+            throws Exception {
+        TestingBatchLookupFunction.BATCH_SIZES.clear();
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                createBatchedLookupHarness(outputMode);
+
+        testHarness.open();
+
+        synchronized (testHarness.getCheckpointLock()) {
+            testHarness.processElement(insertRecord(1, "a"));
+            testHarness.processElement(insertRecord(2, "b"));
+            testHarness.processElement(insertRecord(3, "c"));
+            testHarness.processElement(insertRecord(3, "d"));
+            testHarness.processElement(insertRecord(4, "e"));
+        }
+
+        // wait until all async collectors in the buffer have been emitted out.
+        synchronized (testHarness.getCheckpointLock()) {
+            testHarness.endInput();
+            testHarness.close();
+        }
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1, "a", 1, "Julian"));
+        expectedOutput.add(insertRecord(2, "b", null, null));
+        expectedOutput.add(insertRecord(3, "c", 3, "Jark"));
+        expectedOutput.add(insertRecord(3, "c", 3, "Jackson"));
+        expectedOutput.add(insertRecord(3, "d", 3, "Jark"));
+        expectedOutput.add(insertRecord(3, "d", 3, "Jackson"));
+        expectedOutput.add(insertRecord(4, "e", 4, "Fabian"));
+
+        if (outputMode == AsyncDataStream.OutputMode.ORDERED) {
+            assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        } else {
+            assertor.assertOutputEqualsSorted(
+                    "output wrong.", expectedOutput, testHarness.getOutput());
+        }
+        // the first batch is full, the key of the last row is looked up after the batch interval
+        assertEquals(Arrays.asList(3, 1), TestingBatchLookupFunction.BATCH_SIZES);
+    }
+
     // ---------------------------------------------------------------------------------
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
             JoinType joinType, FilterOnTable filterOnTable) throws Exception {
+        return createHarness(joinType, filterOnTable, null);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
+            JoinType joinType, FilterOnTable filterOnTable, LookupJoinCache cache)
+            throws Exception {
         RichAsyncFunction<RowData, RowData> joinRunner;
         boolean isLeftJoin = joinType == JoinType.LEFT_JOIN;
         if (filterOnTable == FilterOnTable.WITHOUT_FILTER) {
@@ -241,7 +337,8 @@ public class AsyncLookupJoinHarnessTest {
                             new GeneratedResultFutureWrapper<>(new TestingFetcherResultFuture()),
                             rightRowSerializer,
                             isLeftJoin,
-                            ASYNC_BUFFER_CAPACITY);
+                            ASYNC_BUFFER_CAPACITY,
+                            cache);
         } else {
             joinRunner =
                     new AsyncLookupJoinWithCalcRunner(
@@ -251,7 +348,8 @@ public class AsyncLookupJoinHarnessTest {
                             new GeneratedResultFutureWrapper<>(new TestingFetcherResultFuture()),
                             rightRowSerializer,
                             isLeftJoin,
-                            ASYNC_BUFFER_CAPACITY);
+                            ASYNC_BUFFER_CAPACITY,
+                            cache);
         }
 
         return new OneInputStreamOperatorTestHarness<>(
@@ -263,6 +361,32 @@ public class AsyncLookupJoinHarnessTest {
                 inSerializer);
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private OneInputStreamOperatorTestHarness<RowData, RowData> createBatchedLookupHarness(
+            AsyncDataStream.OutputMode outputMode) throws Exception {
+        AsyncBatchLookupFetcher fetcher =
+                new AsyncBatchLookupFetcher(
+                        new TestingBatchLookupFunction(),
+                        RowType.of(
+                                DataTypes.INT().getLogicalType(),
+                                DataTypes.STRING().getLogicalType()),
+                        new int[] {0},
+                        4,
+                        10L);
+        AsyncLookupJoinRunner joinRunner =
+                new AsyncLookupJoinRunner(
+                        new GeneratedAsyncBatchLookupFetcher(fetcher, new Configuration()),
+                        fetcherConverter,
+                        new GeneratedResultFutureWrapper<>(new TestingFetcherResultFuture()),
+                        rightRowSerializer,
+                        true,
+                        ASYNC_BUFFER_CAPACITY);
+        return new OneInputStreamOperatorTestHarness<>(
+                new AsyncWaitOperatorFactory<>(
+                        joinRunner, ASYNC_TIMEOUT_MS, ASYNC_BUFFER_CAPACITY, outputMode),
+                inSerializer);
+    }
+
     @Test
     public void testCloseAsyncLookupJoinRunner() throws Exception {
         final AsyncLookupJoinRunner joinRunner =
@@ -356,6 +480,34 @@ public class AsyncLookupJoinHarnessTest {
         }
     }
 
+    /**
+     * The {@link TestingBatchLookupFunction} looks up the same rows as the {@link
+     * TestingFetcherFunction}, but only in batches of keys. It records the size of each batch.
+     */
+    public static final class TestingBatchLookupFunction extends AsyncTableFunction<RowData>
+            implements AsyncBatchLookupFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final List<Integer> BATCH_SIZES = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<List<Collection<RowData>>> asyncLookupBatch(
+                List<RowData> keyRows) {
+            BATCH_SIZES.add(keyRows.size());
+            return CompletableFuture.supplyAsync(
+                    () -> {
+                        List<Collection<RowData>> results = new ArrayList<>();
+                        for (RowData key : keyRows) {
+                            results.add(
+                                    TestingFetcherFunction.data.getOrDefault(
+                                            key.getInt(0), Collections.emptyList()));
+                        }
+                        return results;
+                    });
+        }
+    }
+
     /**
      * The {@link TestingFetcherResultFuture} is a simple implementation of {@link
      * TableFunctionCollector} which forwards the collected collection.
@@ -22,6 +22,7 @@ import org.apache.flink.api.common.functions.AbstractRichFunction;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.core.memory.ManagedMemoryUseCase;
 import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.testutils.UnionIterator;
 import org.apache.flink.streaming.api.operators.StreamOperator;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -32,20 +33,31 @@ import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.data.utils.JoinedRowData;
 import org.apache.flink.table.data.writer.BinaryRowWriter;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.GeneratedNormalizedKeyComputer;
 import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
 import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.generated.NormalizedKeyComputer;
 import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.generated.RecordComparator;
+import org.apache.flink.table.runtime.hashtable.BinaryHashTableTest.ConstantsKeyValuePairsIterator;
+import org.apache.flink.table.runtime.operators.sort.IntNormalizedKeyComputer;
+import org.apache.flink.table.runtime.operators.sort.IntRecordComparator;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.runtime.util.UniformBinaryRowGenerator;
 import org.apache.flink.table.types.logical.IntType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.MutableObjectIterator;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
@@ -55,6 +67,10 @@ import static java.lang.Long.valueOf;
 /** Random test for {@link HashJoinOperator}. */
 public class Int2HashJoinOperatorTest implements Serializable {
 
+    private static final int REPEATED_KEY = 40559;
+    private static final int NUM_DUPLICATES = 200000;
+    private static final long FALLBACK_MEMORY_SIZE = 4 * 1024 * 1024;
+
     // ---------------------- build first inner join -----------------------------------------
     @Test
     public void testBuildFirstHashInnerJoin() throws Exception {
@@ -289,6 +305,207 @@ public class Int2HashJoinOperatorTest implements Serializable {
         joinAndAssert(operator, buildInput, probeInput, 10, 1, 45, true);
     }
 
+    // ---------------------- sort merge join fallback -----------------------------------------
+    @Test
+    public void testBuildFirstInnerJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.INNER, true);
+    }
+
+    @Test
+    public void testBuildSecondInnerJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.INNER, false);
+    }
+
+    @Test
+    public void testBuildFirstLeftOutJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.LEFT, true);
+    }
+
+    @Test
+    public void testBuildSecondLeftOutJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.LEFT, false);
+    }
+
+    @Test
+    public void testBuildFirstRightOutJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.RIGHT, true);
+    }
+
+    @Test
+    public void testBuildSecondRightOutJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.RIGHT, false);
+    }
+
+    @Test
+    public void testBuildFirstFullOutJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.FULL, true);
+    }
+
+    @Test
+    public void testBuildSecondFullOutJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.FULL, false);
+    }
+
+    @Test
+    public void testSemiJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.SEMI, false);
+    }
+
+    @Test
+    public void testAntiJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.ANTI, false);
+    }
+
+    @Test
+    public void testBuildLeftSemiJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.SEMI, true);
+    }
+
+    @Test
+    public void testBuildLeftAntiJoinFallbackToSortMergeJoin() throws Exception {
+        joinWithSortMergeJoinFallback(FlinkJoinType.ANTI, true);
+    }
+
+    @Test
+    public void testExceedMaxRecursionWithoutSortMergeJoinFallback() throws Exception {
+        Object operator =
+                newOperator(HashJoinType.INNER, false, new ValueEqualsCondition(), null);
+        try {
+            join(
+                    operator,
+                    toInput(duplicatedBuildRows()),
+                    toInput(duplicatedProbeRows()),
+                    FALLBACK_MEMORY_SIZE);
+            Assert.fail("The hash join should exceed the maximum number of recursions.");
+        } catch (Exception e) {
+            Assert.assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    e, "Hash join exceeded maximum number of recursions")
+                            .isPresent());
+        }
+    }
+
+    /**
+     * Joins inputs with too many duplicates of one key to be joined by hash within the maximum
+     * recursion depth, so that the partition of this key is joined by sort merge join with the
+     * memory released by the hash table.
+     */
+    private void joinWithSortMergeJoinFallback(FlinkJoinType joinType, boolean buildLeft)
+            throws Exception {
+        Map<List<Integer>, Integer> buildRows = duplicatedBuildRows();
+        Map<List<Integer>, Integer> probeRows = duplicatedProbeRows();
+
+        HashJoinType type =
+                HashJoinType.of(
+                        buildLeft,
+                        joinType.isLeftOuter(),
+                        joinType.isRightOuter(),
+                        joinType == FlinkJoinType.SEMI,
+                        joinType == FlinkJoinType.ANTI);
+        Object operator =
+                newOperator(
+                        type,
+                        !buildLeft,
+                        new ValueEqualsCondition(),
+                        newSortMergeJoinFunction(joinType, buildLeft));
+        Queue<Object> actual =
+                join(operator, toInput(buildRows), toInput(probeRows), FALLBACK_MEMORY_SIZE);
+
+        boolean semiOrAnti = joinType == FlinkJoinType.SEMI || joinType == FlinkJoinType.ANTI;
+        Map<String, Integer> actualCounts = new HashMap<>();
+        for (Object o : actual) {
+            @SuppressWarnings("unchecked")
+            RowData row = ((StreamRecord<RowData>) o).getValue();
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < (semiOrAnti ? 2 : 4); i++) {
+                builder.append(i == 0 ? "" : ",").append(row.isNullAt(i) ? null : row.getInt(i));
+            }
+            actualCounts.merge(builder.toString(), 1, Integer::sum);
+        }
+
+        Map<String, Integer> expected =
+                buildLeft
+                        ? expectedJoinResult(joinType, buildRows, probeRows)
+                        : expectedJoinResult(joinType, probeRows, buildRows);
+        Assert.assertEquals(expected, actualCounts);
+    }
+
+    /** Key and value of the build rows with the number of their occurrences. */
+    private static Map<List<Integer>, Integer> duplicatedBuildRows() {
+        Map<List<Integer>, Integer> rows = uniqueRows();
+        // the duplicates can not be made memory resident by repartitioning
+        rows.put(Arrays.asList(REPEATED_KEY, 1), NUM_DUPLICATES);
+        rows.put(Arrays.asList(REPEATED_KEY, 2), 1);
+        return rows;
+    }
+
+    /** Key and value of the probe rows with the number of their occurrences. */
+    private static Map<List<Integer>, Integer> duplicatedProbeRows() {
+        Map<List<Integer>, Integer> rows = uniqueRows();
+        rows.put(Arrays.asList(REPEATED_KEY, 1), 1);
+        rows.put(Arrays.asList(REPEATED_KEY, 3), 1);
+        return rows;
+    }
+
+    private static Map<List<Integer>, Integer> uniqueRows() {
+        Map<List<Integer>, Integer> rows = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.put(Arrays.asList(i, 0), 1);
+        }
+        return rows;
+    }
+
+    private static MutableObjectIterator<BinaryRowData> toInput(
+            Map<List<Integer>, Integer> rows) {
+        List<MutableObjectIterator<BinaryRowData>> inputs = new ArrayList<>();
+        rows.forEach(
+                (row, count) ->
+                        inputs.add(
+                                new ConstantsKeyValuePairsIterator(row.get(0), row.get(1), count)));
+        return new UnionIterator<>(inputs);
+    }
+
+    /**
+     * Computes the result of joining rows with equal key and value, which is what {@link
+     * ValueEqualsCondition} makes of the equi join on the key.
+     */
+    private static Map<String, Integer> expectedJoinResult(
+            FlinkJoinType joinType,
+            Map<List<Integer>, Integer> leftRows,
+            Map<List<Integer>, Integer> rightRows) {
+        Map<String, Integer> expected = new HashMap<>();
+        leftRows.forEach(
+                (row, count) -> {
+                    String left = row.get(0) + "," + row.get(1);
+                    Integer rightCount = rightRows.get(row);
+                    if (joinType == FlinkJoinType.SEMI) {
+                        if (rightCount != null) {
+                            expected.merge(left, count, Integer::sum);
+                        }
+                    } else if (joinType == FlinkJoinType.ANTI) {
+                        if (rightCount == null) {
+                            expected.merge(left, count, Integer::sum);
+                        }
+                    } else if (rightCount != null) {
+                        expected.merge(left + "," + left, count * rightCount, Integer::sum);
+                    } else if (joinType.isLeftOuter()) {
+                        expected.merge(left + ",null,null", count, Integer::sum);
+                    }
+                });
+        if (joinType.isRightOuter()) {
+            rightRows.forEach(
+                    (row, count) -> {
+                        if (!leftRows.containsKey(row)) {
+                            expected.merge(
+                                    "null,null," + row.get(0) + "," + row.get(1),
+                                    count,
+                                    Integer::sum);
+                        }
+                    });
+        }
+        return expected;
+    }
+
     private void buildJoin(
             MutableObjectIterator<BinaryRowData> buildInput,
             MutableObjectIterator<BinaryRowData> probeInput,
@@ -321,73 +538,7 @@ public class Int2HashJoinOperatorTest implements Serializable {
             int expectOutVal,
             boolean semiJoin)
             throws Exception {
-        InternalTypeInfo<RowData> typeInfo =
-                InternalTypeInfo.ofFields(new IntType(), new IntType());
-        InternalTypeInfo<RowData> rowDataTypeInfo =
-                InternalTypeInfo.ofFields(
-                        new IntType(), new IntType(), new IntType(), new IntType());
-        TwoInputStreamTaskTestHarness<BinaryRowData, BinaryRowData, JoinedRowData> testHarness =
-                new TwoInputStreamTaskTestHarness<>(
-                        TwoInputStreamTask::new,
-                        2,
-                        1,
-                        new int[] {1, 2},
-                        typeInfo,
-                        (TypeInformation) typeInfo,
-                        rowDataTypeInfo);
-        testHarness.memorySize = 36 * 1024 * 1024;
-        testHarness.getExecutionConfig().enableObjectReuse();
-        testHarness.setupOutputForSingletonOperatorChain();
-        if (operator instanceof StreamOperator) {
-            testHarness.getStreamConfig().setStreamOperator((StreamOperator<?>) operator);
-        } else {
-            testHarness
-                    .getStreamConfig()
-                    .setStreamOperatorFactory((StreamOperatorFactory<?>) operator);
-        }
-        testHarness.getStreamConfig().setOperatorID(new OperatorID());
-        testHarness
-                .getStreamConfig()
-                .setManagedMemoryFractionOperatorOfUseCase(ManagedMemoryUseCase.OPERATOR, 0.99);
-
-        testHarness.invoke();
-        testHarness.waitForTaskRunning();
-
-        Random random = new Random();
-        do {
-            BinaryRowData row1 = null;
-            BinaryRowData row2 = null;
-
-            if (random.nextInt(2) == 0) {
-                row1 = input1.next();
-                if (row1 == null) {
-                    row2 = input2.next();
-                }
-            } else {
-                row2 = input2.next();
-                if (row2 == null) {
-                    row1 = input1.next();
-                }
-            }
-
-            if (row1 == null && row2 == null) {
-                break;
-            }
-
-            if (row1 != null) {
-                testHarness.processElement(new StreamRecord<>(row1), 0, 0);
-            } else {
-                testHarness.processElement(new StreamRecord<>(row2), 1, 0);
-            }
-        } while (true);
-
-        testHarness.endInput(0, 0);
-        testHarness.endInput(1, 0);
-
-        testHarness.waitForInputProcessing();
-        testHarness.waitForTaskCompletion();
-
-        Queue<Object> actual = testHarness.getOutput();
+        Queue<Object> actual = join(operator, input1, input2, 36 * 1024 * 1024);
 
         Assert.assertEquals("Output was not correct.", expectOutSize, actual.size());
 
@@ -462,6 +613,83 @@ public class Int2HashJoinOperatorTest implements Serializable {
         }
     }
 
+    /** Runs the join operator with the given inputs and returns its output. */
+    @SuppressWarnings("unchecked")
+    static Queue<Object> join(
+            Object operator,
+            MutableObjectIterator<BinaryRowData> input1,
+            MutableObjectIterator<BinaryRowData> input2,
+            long memorySize)
+            throws Exception {
+        InternalTypeInfo<RowData> typeInfo =
+                InternalTypeInfo.ofFields(new IntType(), new IntType());
+        InternalTypeInfo<RowData> rowDataTypeInfo =
+                InternalTypeInfo.ofFields(
+                        new IntType(), new IntType(), new IntType(), new IntType());
+        TwoInputStreamTaskTestHarness<BinaryRowData, BinaryRowData, JoinedRowData> testHarness =
+                new TwoInputStreamTaskTestHarness<>(
+                        TwoInputStreamTask::new,
+                        2,
+                        1,
+                        new int[] {1, 2},
+                        typeInfo,
+                        (TypeInformation) typeInfo,
+                        rowDataTypeInfo);
+        testHarness.memorySize = memorySize;
+        testHarness.getExecutionConfig().enableObjectReuse();
+        testHarness.setupOutputForSingletonOperatorChain();
+        if (operator instanceof StreamOperator) {
+            testHarness.getStreamConfig().setStreamOperator((StreamOperator<?>) operator);
+        } else {
+            testHarness
+                    .getStreamConfig()
+                    .setStreamOperatorFactory((StreamOperatorFactory<?>) operator);
+        }
+        testHarness.getStreamConfig().setOperatorID(new OperatorID());
+        testHarness
+                .getStreamConfig()
+                .setManagedMemoryFractionOperatorOfUseCase(ManagedMemoryUseCase.OPERATOR, 0.99);
+
+        testHarness.invoke();
+        testHarness.waitForTaskRunning();
+
+        Random random = new Random();
+        do {
+            BinaryRowData row1 = null;
+            BinaryRowData row2 = null;
+
+            if (random.nextInt(2) == 0) {
+                row1 = input1.next();
+                if (row1 == null) {
+                    row2 = input2.next();
+                }
+            } else {
+                row2 = input2.next();
+                if (row2 == null) {
+                    row1 = input1.next();
+                }
+            }
+
+            if (row1 == null && row2 == null) {
+                break;
+            }
+
+            if (row1 != null) {
+                testHarness.processElement(new StreamRecord<>(row1), 0, 0);
+            } else {
+                testHarness.processElement(new StreamRecord<>(row2), 1, 0);
+            }
+        } while (true);
+
+        testHarness.endInput(0, 0);
+        testHarness.endInput(1, 0);
+
+        testHarness.waitForInputProcessing();
+        testHarness.waitForTaskCompletion();
+
+        return testHarness.getOutput();
+    }
+
     /** my projection. */
     public static final class MyProjection implements Projection<RowData, BinaryRowData> {
 
@@ -482,33 +710,80 @@ public class Int2HashJoinOperatorTest implements Serializable {
     }
 
     public Object newOperator(long memorySize, HashJoinType type, boolean reverseJoinFunction) {
+        return newOperator(type, reverseJoinFunction, new TrueCondition(), null);
+    }
+
+    private Object newOperator(
+            HashJoinType type,
+            boolean reverseJoinFunction,
+            JoinCondition condition,
+            SortMergeJoinFunction sortMergeJoinFunction) {
         return HashJoinOperator.newHashJoinOperator(
                 type,
-                new GeneratedJoinCondition("", "", new Object[0]) {
-                    @Override
-                    public JoinCondition newInstance(ClassLoader classLoader) {
-                        return new TrueCondition();
-                    }
-                },
+                newCondition(condition),
                 reverseJoinFunction,
                 new boolean[] {true},
-                new GeneratedProjection("", "", new Object[0]) {
-                    @Override
-                    public Projection newInstance(ClassLoader classLoader) {
-                        return new MyProjection();
-                    }
-                },
-                new GeneratedProjection("", "", new Object[0]) {
-                    @Override
-                    public Projection newInstance(ClassLoader classLoader) {
-                        return new MyProjection();
-                    }
-                },
+                newProjection(),
+                newProjection(),
                 false,
                 20,
                 10000,
                 10000,
-                RowType.of(new IntType()));
+                RowType.of(new IntType()),
+                sortMergeJoinFunction);
+    }
+
+    private SortMergeJoinFunction newSortMergeJoinFunction(
+            FlinkJoinType type, boolean leftIsSmaller) {
+        return new SortMergeJoinFunction(
+                0.25,
+                type,
+                leftIsSmaller,
+                newCondition(new ValueEqualsCondition()),
+                newProjection(),
+                newProjection(),
+                newKeyComputer(),
+                newComparator(),
+                newKeyComputer(),
+                newComparator(),
+                newComparator(),
+                new boolean[] {true});
+    }
+
+    private GeneratedJoinCondition newCondition(JoinCondition condition) {
+        return new GeneratedJoinCondition("", "", new Object[0]) {
+            @Override
+            public JoinCondition newInstance(ClassLoader classLoader) {
+                return condition;
+            }
+        };
+    }
+
+    private GeneratedProjection newProjection() {
+        return new GeneratedProjection("", "", new Object[0]) {
+            @Override
+            public Projection newInstance(ClassLoader classLoader) {
+                return new MyProjection();
+            }
+        };
+    }
+
+    private GeneratedNormalizedKeyComputer newKeyComputer() {
+        return new GeneratedNormalizedKeyComputer("", "") {
+            @Override
+            public NormalizedKeyComputer newInstance(ClassLoader classLoader) {
+                return new IntNormalizedKeyComputer();
+            }
+        };
+    }
+
+    private GeneratedRecordComparator newComparator() {
+        return new GeneratedRecordComparator("", "", new Object[0]) {
+            @Override
+            public RecordComparator newInstance(ClassLoader classLoader) {
+                return new IntRecordComparator();
+            }
+        };
     }
 
     /** Test util. */
@@ -519,4 +794,14 @@ public class Int2HashJoinOperatorTest implements Serializable {
             return true;
         }
     }
+
+    /** Join condition which only matches rows with equal values. */
+    public static class ValueEqualsCondition extends AbstractRichFunction
+            implements JoinCondition {
+
+        @Override
+        public boolean apply(RowData in1, RowData in2) {
+            return in1.getInt(1) == in2.getInt(1);
+        }
+    }
 }
@@ -33,9 +33,14 @@ import org.apache.flink.table.runtime.generated.GeneratedCollectorWrapper;
 import org.apache.flink.table.runtime.generated.GeneratedFunctionWrapper;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.LookupJoinWithCalcRunner;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.LookupJoinCache;
+import org.apache.flink.table.runtime.operators.join.lookup.cache.PartialLookupCache;
 import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.IntType;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
 import org.apache.flink.util.Collector;
 
 import org.junit.Test;
@@ -46,9 +51,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.flink.table.data.StringData.fromString;
 import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.junit.Assert.assertEquals;
 
 /** Harness tests for {@link LookupJoinRunner} and {@link LookupJoinWithCalcRunner}. */
 public class LookupJoinHarnessTest {
@@ -160,11 +167,42 @@ public class LookupJoinHarnessTest {
         testHarness.close();
     }
 
+    @Test
+    public void testTemporalLeftJoinWithCache() throws Exception {
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                createHarness(JoinType.LEFT_JOIN, FilterOnTable.WITH_FILTER, createCache());
+
+        testHarness.open();
+        TestingFetcherFunction.NUM_LOOKUPS.set(0);
+
+        List<Object> expectedOutput = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            testHarness.processElement(insertRecord(1, "a"));
+            testHarness.processElement(insertRecord(2, "b"));
+            testHarness.processElement(insertRecord(3, "c"));
+
+            expectedOutput.add(insertRecord(1, "a", 1, "Julian"));
+            expectedOutput.add(insertRecord(2, "b", null, null));
+            expectedOutput.add(insertRecord(3, "c", 3, "Jackson"));
+        }
+
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        // the repeated keys are served by the cache, including the missing key
+        assertEquals(3, TestingFetcherFunction.NUM_LOOKUPS.get());
+        testHarness.close();
+    }
+
     // ---------------------------------------------------------------------------------
 
-    @SuppressWarnings("unchecked")
     private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
             JoinType joinType, FilterOnTable filterOnTable) throws Exception {
+        return createHarness(joinType, filterOnTable, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OneInputStreamOperatorTestHarness<RowData, RowData> createHarness(
+            JoinType joinType, FilterOnTable filterOnTable, LookupJoinCache cache)
+            throws Exception {
         boolean isLeftJoin = joinType == JoinType.LEFT_JOIN;
         ProcessFunction<RowData, RowData> joinRunner;
         if (filterOnTable == FilterOnTable.WITHOUT_FILTER) {
@@ -173,7 +211,8 @@ public class LookupJoinHarnessTest {
                             new GeneratedFunctionWrapper<>(new TestingFetcherFunction()),
                             new GeneratedCollectorWrapper<>(new TestingFetcherCollector()),
                             isLeftJoin,
-                            2);
+                            2,
+                            cache);
         } else {
             joinRunner =
                     new LookupJoinWithCalcRunner(
@@ -181,13 +220,21 @@ public class LookupJoinHarnessTest {
                             new GeneratedFunctionWrapper<>(new CalculateOnTemporalTable()),
                             new GeneratedCollectorWrapper<>(new TestingFetcherCollector()),
                             isLeftJoin,
-                            2);
+                            2,
+                            cache);
         }
 
         ProcessOperator<RowData, RowData> operator = new ProcessOperator<>(joinRunner);
         return new OneInputStreamOperatorTestHarness<>(operator, inSerializer);
     }
 
+    /** Creates a cache of the rows looked up by the integer field of the input rows. */
+    static LookupJoinCache createCache() {
+        RowType rowType = RowType.of(new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+        return new LookupJoinCache(
+                new PartialLookupCache(100, null, null, true), rowType, new int[] {0}, rowType);
+    }
+
     /** Whether this is a inner join or left join. */
     private enum JoinType {
         INNER_JOIN,
@@ -212,6 +259,8 @@ public class LookupJoinHarnessTest {
 
         private static final Map<Integer, List<GenericRowData>> data = new HashMap<>();
 
+        private static final AtomicInteger NUM_LOOKUPS = new AtomicInteger();
+
         static {
             data.put(1, Collections.singletonList(GenericRowData.of(1, fromString("Julian"))));
             data.put(
@@ -224,6 +273,7 @@ public class LookupJoinHarnessTest {
 
         @Override
         public void flatMap(RowData value, Collector<RowData> out) throws Exception {
+            NUM_LOOKUPS.incrementAndGet();
             int id = value.getInt(0);
             List<GenericRowData> rows = data.get(id);
             if (rows != null) {
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncBatchLookupFunction;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.data.StringData.fromString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link AsyncBatchLookupFetcher}. */
+public class AsyncBatchLookupFetcherTest {
+
+    private static final RowType INPUT_TYPE =
+            RowType.of(new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+
+    @Test
+    public void testLookupFullBatch() throws Exception {
+        TestingBatchLookupFunction function = new TestingBatchLookupFunction();
+        AsyncBatchLookupFetcher fetcher = createFetcher(function, 3, 60_000L);
+
+        List<TestingResultFuture> futures = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            TestingResultFuture future = new TestingResultFuture();
+            fetcher.asyncInvoke(GenericRowData.of(i, fromString("a")), future);
+            futures.add(future);
+            assertEquals(i < 3 ? 0 : 1, function.batches.size());
+        }
+
+        assertEquals(Collections.singletonList(3), batchSizes(function));
+        for (int i = 0; i < 3; i++) {
+            List<RowData> rows = futures.get(i).result.get(10, TimeUnit.SECONDS);
+            assertEquals(1, rows.size());
+            assertEquals(i + 1, rows.get(0).getInt(0));
+        }
+        fetcher.close();
+    }
+
+    @Test
+    public void testLookupDistinctKeys() throws Exception {
+        TestingBatchLookupFunction function = new TestingBatchLookupFunction();
+        AsyncBatchLookupFetcher fetcher = createFetcher(function, 4, 60_000L);
+
+        List<TestingResultFuture> futures = new ArrayList<>();
+        for (int key : new int[] {1, 2, 1, 4}) {
+            TestingResultFuture future = new TestingResultFuture();
+            fetcher.asyncInvoke(GenericRowData.of(key, fromString("a")), future);
+            futures.add(future);
+        }
+
+        // the rows with the key 1 are joined by a single lookup of the key, 4 doesn't match
+        assertEquals(Collections.singletonList(3), batchSizes(function));
+        assertEquals(1, futures.get(0).result.get(10, TimeUnit.SECONDS).get(0).getInt(0));
+        assertEquals(1, futures.get(2).result.get(10, TimeUnit.SECONDS).get(0).getInt(0));
+        assertTrue(futures.get(3).result.get(10, TimeUnit.SECONDS).isEmpty());
+        fetcher.close();
+    }
+
+    @Test
+    public void testLookupBatchAfterInterval() throws Exception {
+        TestingBatchLookupFunction function = new TestingBatchLookupFunction();
+        AsyncBatchLookupFetcher fetcher = createFetcher(function, 100, 10L);
+
+        TestingResultFuture future = new TestingResultFuture();
+        fetcher.asyncInvoke(GenericRowData.of(2, fromString("a")), future);
+
+        // the batch isn't full, it is looked up when the interval has passed
+        List<RowData> rows = future.result.get(10, TimeUnit.SECONDS);
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.get(0).getInt(0));
+        assertEquals(Collections.singletonList(1), batchSizes(function));
+        fetcher.close();
+    }
+
+    @Test
+    public void testFailedBatchLookup() throws Exception {
+        TestingBatchLookupFunction function = new TestingBatchLookupFunction();
+        function.failure = new RuntimeException("Expected lookup failure.");
+        AsyncBatchLookupFetcher fetcher = createFetcher(function, 2, 60_000L);
+
+        TestingResultFuture first = new TestingResultFuture();
+        TestingResultFuture second = new TestingResultFuture();
+        fetcher.asyncInvoke(GenericRowData.of(1, fromString("a")), first);
+        fetcher.asyncInvoke(GenericRowData.of(2, fromString("b")), second);
+
+        assertTrue(first.result.isCompletedExceptionally());
+        assertTrue(second.result.isCompletedExceptionally());
+        assertFalse(function.batches.isEmpty());
+        fetcher.close();
+    }
+
+    @Test
+    public void testNoConcurrentBatchLookups() throws Exception {
+        TestingBatchLookupFunction function = new TestingBatchLookupFunction();
+        function.lookupMillis = 1L;
+        // full batches are looked up by this thread, expired ones by the batch timer
+        AsyncBatchLookupFetcher fetcher = createFetcher(function, 2, 1L);
+
+        List<TestingResultFuture> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            TestingResultFuture future = new TestingResultFuture();
+            fetcher.asyncInvoke(GenericRowData.of(i % 4, fromString("a")), future);
+            futures.add(future);
+            if (i % 3 == 0) {
+                Thread.sleep(1L);
+            }
+        }
+
+        for (TestingResultFuture future : futures) {
+            future.result.get(10, TimeUnit.SECONDS);
+        }
+        assertFalse(function.concurrentLookup);
+        fetcher.close();
+    }
+
+    private static AsyncBatchLookupFetcher createFetcher(
+            TestingBatchLookupFunction function, int batchSize, long batchInterval)
+            throws Exception {
+        AsyncBatchLookupFetcher fetcher =
+                new AsyncBatchLookupFetcher(
+                        function, INPUT_TYPE, new int[] {0}, batchSize, batchInterval);
+        fetcher.setRuntimeContext(new MockStreamingRuntimeContext(false, 1, 0));
+        fetcher.open(new Configuration());
+        return fetcher;
+    }
+
+    private static List<Integer> batchSizes(TestingBatchLookupFunction function) {
+        return function.batches.stream().map(List::size).collect(Collectors.toList());
+    }
+
+    // ---------------------------------------------------------------------------------
+
+    /** A batched lookup function which finds a row for every key less than 4. */
+    public static final class TestingBatchLookupFunction extends AsyncTableFunction<RowData>
+            implements AsyncBatchLookupFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<List<RowData>> batches = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean inLookup = new AtomicBoolean();
+        private RuntimeException failure;
+        private long lookupMillis;
+        private volatile boolean concurrentLookup;
+
+        @Override
+        public CompletableFuture<List<Collection<RowData>>> asyncLookupBatch(
+                List<RowData> keyRows) {
+            if (!inLookup.compareAndSet(false, true)) {
+                concurrentLookup = true;
+            }
+            try {
+                if (lookupMillis > 0) {
+                    Thread.sleep(lookupMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inLookup.set(false);
+            batches.add(keyRows);
+            CompletableFuture<List<Collection<RowData>>> future = new CompletableFuture<>();
+            if (failure != null) {
+                future.completeExceptionally(failure);
+                return future;
+            }
+            List<Collection<RowData>> results = new ArrayList<>();
+            for (RowData key : keyRows) {
+                int id = key.getInt(0);
+                results.add(
+                        id < 4
+                                ? Collections.singletonList(
+                                        GenericRowData.of(id, fromString("name-" + id)))
+                                : Collections.emptyList());
+            }
+            future.complete(results);
+            return future;
+        }
+    }
+
+    /** A {@link ResultFuture} which keeps the looked up rows. */
+    private static final class TestingResultFuture implements ResultFuture<Object> {
+
+        private final CompletableFuture<List<RowData>> result = new CompletableFuture<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void complete(Collection<Object> rows) {
+            result.complete(new ArrayList<>((Collection<RowData>) (Collection<?>) rows));
+        }
+
+        @Override
+        public void completeExceptionally(Throwable error) {
+            result.completeExceptionally(error);
+        }
+    }
+}
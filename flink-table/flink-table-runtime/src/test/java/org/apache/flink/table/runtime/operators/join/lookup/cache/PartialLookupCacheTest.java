@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.apache.flink.table.data.StringData.fromString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link PartialLookupCache}. */
+public class PartialLookupCacheTest {
+
+    @Test
+    public void testCacheMissingKey() throws Exception {
+        PartialLookupCache cache = new PartialLookupCache(10, null, null, true);
+        cache.open(new UnregisteredMetricsGroup());
+
+        cache.put(GenericRowData.of(1), Collections.emptyList());
+        cache.put(
+                GenericRowData.of(2),
+                Collections.singletonList(GenericRowData.of(2, fromString("Julian"))));
+
+        assertNotNull(cache.getIfPresent(GenericRowData.of(1)));
+        assertTrue(cache.getIfPresent(GenericRowData.of(1)).isEmpty());
+        assertEquals(
+                Collections.singletonList(GenericRowData.of(2, fromString("Julian"))),
+                cache.getIfPresent(GenericRowData.of(2)));
+        assertNull(cache.getIfPresent(GenericRowData.of(3)));
+        cache.close();
+    }
+
+    @Test
+    public void testNotCacheMissingKey() throws Exception {
+        PartialLookupCache cache = new PartialLookupCache(10, null, null, false);
+        cache.open(new UnregisteredMetricsGroup());
+
+        cache.put(GenericRowData.of(1), Collections.emptyList());
+
+        assertNull(cache.getIfPresent(GenericRowData.of(1)));
+        assertEquals(0, cache.size());
+        cache.close();
+    }
+
+    @Test
+    public void testMaxRows() throws Exception {
+        PartialLookupCache cache = new PartialLookupCache(2, null, null, true);
+        cache.open(new UnregisteredMetricsGroup());
+
+        for (int i = 0; i < 10; i++) {
+            RowData key = GenericRowData.of(i);
+            cache.put(key, Collections.singletonList(GenericRowData.of(i, fromString("row"))));
+        }
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getIfPresent(GenericRowData.of(9)));
+        assertNull(cache.getIfPresent(GenericRowData.of(0)));
+        cache.close();
+    }
+}
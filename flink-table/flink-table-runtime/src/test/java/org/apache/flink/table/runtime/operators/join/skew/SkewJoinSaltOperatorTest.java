@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.skew;
+
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SkewJoinSaltOperator}, {@link LocalHotKeyDetectorOperator}, {@link
+ * GlobalHotKeyDetectorOperator} and {@link HeavyHitterSketch}.
+ */
+public class SkewJoinSaltOperatorTest {
+
+    private static final double HOT_KEY_RATIO = 0.1;
+
+    @Test
+    public void testSketchKeepsHeavyHitters() {
+        final HeavyHitterSketch sketch = new HeavyHitterSketch(1, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(key(i % 2 == 0 ? 7 : i));
+        }
+        assertEquals(1000, sketch.getNumRows());
+        assertTrue(sketch.size() <= 4);
+        assertTrue(sketch.contains(key(7)));
+        // the count is underestimated by at most numRows / (capacity + 1)
+        assertTrue(sketch.getCount(key(7)) >= 500 - 1000 / 5);
+    }
+
+    @Test
+    public void testMergeSketches() throws Exception {
+        final HeavyHitterSketch sketch1 = new HeavyHitterSketch(1, 2);
+        final HeavyHitterSketch sketch2 = new HeavyHitterSketch(1, 2);
+        for (int i = 0; i < 10; i++) {
+            sketch1.add(key(1));
+            sketch2.add(key(2));
+            sketch2.add(key(1));
+        }
+        sketch1.add(key(3));
+        final HeavyHitterSketch merged =
+                HeavyHitterSketch.fromBytes(HeavyHitterSketch.toBytes(sketch1), 1, 2);
+        merged.merge(sketch2);
+        assertEquals(31, merged.getNumRows());
+        assertEquals(2, merged.size());
+        assertTrue(merged.getCount(key(1)) >= 19);
+        assertFalse(merged.contains(key(3)));
+    }
+
+    @Test
+    public void testDetectHotKeys() throws Exception {
+        final List<Integer> keys1 = new ArrayList<>();
+        final List<Integer> keys2 = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            keys1.add(i);
+            keys1.add(1000);
+            keys2.add(i + 500);
+        }
+        final HeavyHitterSketch hotKeys =
+                detectHotKeys(detectLocalKeys(keys1), detectLocalKeys(keys2));
+        assertEquals(1500, hotKeys.getNumRows());
+        assertEquals(1, hotKeys.size());
+        assertTrue(hotKeys.contains(key(1000)));
+    }
+
+    @Test
+    public void testSplitAndReplicateHotKeys() throws Exception {
+        final List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(i);
+            keys.add(1000);
+        }
+        final RowData hotKeys = detectGlobalKeys(detectLocalKeys(keys));
+
+        // the rows of the hot key are spread over all salts, all other rows get the salt 0
+        final Map<Integer, Set<Integer>> splitSalts =
+                salt(hotKeys, SkewJoinSaltOperator.Mode.SPLIT, keys);
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3)), splitSalts.get(1000));
+        assertEquals(new HashSet<>(Arrays.asList(0)), splitSalts.get(1));
+
+        // the rows of the hot key are replicated to all salts
+        final Map<Integer, Set<Integer>> replicatedSalts =
+                salt(hotKeys, SkewJoinSaltOperator.Mode.REPLICATE, Arrays.asList(1000, 1));
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3)), replicatedSalts.get(1000));
+        assertEquals(new HashSet<>(Arrays.asList(0)), replicatedSalts.get(1));
+    }
+
+    private static RowData detectLocalKeys(List<Integer> keys) throws Exception {
+        final LocalHotKeyDetectorOperator operator =
+                new LocalHotKeyDetectorOperator(createProjection(), 1, HOT_KEY_RATIO);
+        final OneInputStreamOperatorTestHarness<RowData, RowData> harness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+        harness.setup();
+        harness.open();
+        for (int key : keys) {
+            harness.processElement(new StreamRecord<>(GenericRowData.of(key, (long) key)));
+        }
+        harness.endInput();
+        final List<RowData> output = harness.extractOutputValues();
+        harness.close();
+        assertEquals(1, output.size());
+        return output.get(0);
+    }
+
+    private static RowData detectGlobalKeys(RowData... localKeys) throws Exception {
+        final GlobalHotKeyDetectorOperator operator =
+                new GlobalHotKeyDetectorOperator(1, HOT_KEY_RATIO);
+        final OneInputStreamOperatorTestHarness<RowData, RowData> harness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+        harness.setup();
+        harness.open();
+        for (RowData local : localKeys) {
+            harness.processElement(new StreamRecord<>(local));
+        }
+        harness.endInput();
+        final List<RowData> output = harness.extractOutputValues();
+        harness.close();
+        assertEquals(1, output.size());
+        return output.get(0);
+    }
+
+    private static HeavyHitterSketch detectHotKeys(RowData... localKeys) throws Exception {
+        return SkewJoinUtils.readSketch(detectGlobalKeys(localKeys), 1, Integer.MAX_VALUE);
+    }
+
+    private static Map<Integer, Set<Integer>> salt(
+            RowData hotKeys, SkewJoinSaltOperator.Mode mode, List<Integer> keys)
+            throws Exception {
+        final SkewJoinSaltOperator operator =
+                new SkewJoinSaltOperator(createProjection(), 1, mode, 4);
+        final TwoInputStreamOperatorTestHarness<RowData, RowData, RowData> harness =
+                new TwoInputStreamOperatorTestHarness<>(operator);
+        harness.setup(new RowDataSerializer(new IntType(), new BigIntType(), new IntType()));
+        harness.open();
+        harness.processElement1(new StreamRecord<>(hotKeys));
+        operator.endInput(1);
+        for (int key : keys) {
+            harness.processElement2(new StreamRecord<>(GenericRowData.of(key, (long) key)));
+        }
+        operator.endInput(2);
+        final Map<Integer, Set<Integer>> salts = new HashMap<>();
+        for (RowData row : harness.extractOutputValues()) {
+            assertEquals(row.getInt(0), row.getLong(1));
+            salts.computeIfAbsent(row.getInt(0), k -> new HashSet<>()).add(row.getInt(2));
+        }
+        harness.close();
+        return salts;
+    }
+
+    private static BinaryRowData key(int key) {
+        final BinaryRowData keyRow = new BinaryRowData(1);
+        final BinaryRowWriter writer = new BinaryRowWriter(keyRow);
+        writer.writeInt(0, key);
+        writer.complete();
+        return keyRow;
+    }
+
+    private static GeneratedProjection createProjection() {
+        return new GeneratedProjection("", "", new Object[0]) {
+            @Override
+            public Projection newInstance(ClassLoader classLoader) {
+                return new KeyProjection();
+            }
+        };
+    }
+
+    /** Projects the int key in the first field. */
+    private static final class KeyProjection implements Projection<RowData, BinaryRowData> {
+
+        private final BinaryRowData keyRow = new BinaryRowData(1);
+        private final BinaryRowWriter writer = new BinaryRowWriter(keyRow);
+
+        @Override
+        public BinaryRowData apply(RowData row) {
+            writer.reset();
+            writer.writeInt(0, row.getInt(0));
+            writer.complete();
+            return keyRow;
+        }
+    }
+}
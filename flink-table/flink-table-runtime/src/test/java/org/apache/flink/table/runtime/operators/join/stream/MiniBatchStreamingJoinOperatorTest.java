@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountCoBundleTrigger;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.utils.HandwrittenSelectorUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateAfterRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateBeforeRecord;
+
+/** Harness tests for {@link MiniBatchStreamingJoinOperator}. */
+public class MiniBatchStreamingJoinOperatorTest {
+
+    private final String funcCode =
+            "public class TrueJoinCondition extends org.apache.flink.api.common.functions.AbstractRichFunction "
+                    + "implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+                    + "\n"
+                    + "    public TrueJoinCondition(Object[] reference) {\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    @Override\n"
+                    + "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+                    + "        return true;\n"
+                    + "    }\n"
+                    + "}\n";
+    private final GeneratedJoinCondition joinCondition =
+            new GeneratedJoinCondition("TrueJoinCondition", funcCode, new Object[0]);
+    private final InternalTypeInfo<RowData> rowType =
+            InternalTypeInfo.ofFields(new BigIntType(), VarCharType.STRING_TYPE);
+    private final InternalTypeInfo<RowData> outputRowType =
+            InternalTypeInfo.ofFields(
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE,
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE);
+    private final RowDataHarnessAssertor assertor =
+            new RowDataHarnessAssertor(outputRowType.toRowFieldTypes());
+    private final RowDataKeySelector keySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, rowType.toRowFieldTypes());
+    private final TypeInformation<RowData> keyType = keySelector.getProducedType();
+
+    @Test
+    public void testInnerJoinFoldsRetractions() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, 100);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord(1L, "a1"));
+        testHarness.processElement2(insertRecord(1L, "b1"));
+        testHarness.processElement1(deleteRecord(1L, "a1"));
+        testHarness.processElement1(insertRecord(1L, "a2"));
+        testHarness.processElement2(updateBeforeRecord(1L, "b1"));
+        testHarness.processElement2(updateAfterRecord(1L, "b1"));
+        // nothing is emitted before the bundle is finished
+        assertor.assertOutputEquals("output wrong.", new ArrayList<>(), testHarness.getOutput());
+
+        testHarness.processWatermark1(new Watermark(1L));
+        testHarness.processWatermark2(new Watermark(1L));
+
+        // the -U of b1 folds the +I of b1, so only the +U of b1 is joined
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(updateAfterRecord(1L, "a2", 1L, "b1"));
+        expectedOutput.add(new Watermark(1L));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testFoldsLatestBufferedRecord() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, 100);
+        testHarness.open();
+
+        testHarness.processElement2(insertRecord(1L, "b1"));
+        testHarness.prepareSnapshotPreBarrier(1L);
+
+        testHarness.processElement1(insertRecord(1L, "a1"));
+        testHarness.processElement1(insertRecord(1L, "a2"));
+        testHarness.processElement1(insertRecord(1L, "a1"));
+        // folds the second +I of a1 only
+        testHarness.processElement1(deleteRecord(1L, "a1"));
+        // a retraction without a buffered accumulate message is buffered, and folded in turn
+        testHarness.processElement1(deleteRecord(1L, "a3"));
+        testHarness.processElement1(insertRecord(1L, "a3"));
+        testHarness.processElement1(insertRecord(1L, "a4"));
+        testHarness.prepareSnapshotPreBarrier(2L);
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1L, "a1", 1L, "b1"));
+        expectedOutput.add(insertRecord(1L, "a2", 1L, "b1"));
+        expectedOutput.add(insertRecord(1L, "a4", 1L, "b1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testLeftOuterJoin() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(true, 2);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord(1L, "a1"));
+        testHarness.processElement2(insertRecord(2L, "b2"));
+        // the -U/+U pair of the same record is folded
+        testHarness.processElement1(updateBeforeRecord(1L, "a1"));
+        testHarness.processElement1(updateAfterRecord(1L, "a1"));
+        testHarness.processElement2(insertRecord(1L, "b1"));
+        testHarness.processElement1(insertRecord(2L, "a2"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1L, "a1", null, null));
+        expectedOutput.add(deleteRecord(1L, "a1", null, null));
+        expectedOutput.add(insertRecord(1L, "a1", 1L, "b1"));
+        expectedOutput.add(insertRecord(2L, "a2", 2L, "b2"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testFinishBundleOnSnapshot() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, 100);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord(1L, "a1"));
+        testHarness.processElement2(insertRecord(1L, "b1"));
+        testHarness.prepareSnapshotPreBarrier(1L);
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1L, "a1", 1L, "b1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData>
+            createTestHarness(boolean leftIsOuter, long miniBatchSize) throws Exception {
+        MiniBatchStreamingJoinOperator operator =
+                new MiniBatchStreamingJoinOperator(
+                        rowType,
+                        rowType,
+                        joinCondition,
+                        JoinInputSideSpec.withoutUniqueKey(),
+                        JoinInputSideSpec.withoutUniqueKey(),
+                        leftIsOuter,
+                        false,
+                        new boolean[] {true},
+                        0L,
+                        new CountCoBundleTrigger<>(miniBatchSize));
+        return new KeyedTwoInputStreamOperatorTestHarness<>(
+                operator, keySelector, keySelector, keyType);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.utils.HandwrittenSelectorUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StateConfigUtil.createTtlConfig;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+
+/** Harness tests for {@link StreamingJoinOperator}. */
+public class StreamingJoinOperatorTest {
+
+    private final String funcCode =
+            "public class TrueJoinCondition extends org.apache.flink.api.common.functions.AbstractRichFunction "
+                    + "implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+                    + "\n"
+                    + "    public TrueJoinCondition(Object[] reference) {\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    @Override\n"
+                    + "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+                    + "        return true;\n"
+                    + "    }\n"
+                    + "}\n";
+    private final GeneratedJoinCondition joinCondition =
+            new GeneratedJoinCondition("TrueJoinCondition", funcCode, new Object[0]);
+    private final InternalTypeInfo<RowData> rowType =
+            InternalTypeInfo.ofFields(new BigIntType(), VarCharType.STRING_TYPE);
+    private final InternalTypeInfo<RowData> outputRowType =
+            InternalTypeInfo.ofFields(
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE,
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE);
+    private final RowDataHarnessAssertor assertor =
+            new RowDataHarnessAssertor(outputRowType.toRowFieldTypes());
+    private final RowDataKeySelector keySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, rowType.toRowFieldTypes());
+    private final TypeInformation<RowData> keyType = keySelector.getProducedType();
+
+    @Test
+    public void testStateTtlPerInput() throws Exception {
+        // only the records of the left input expire
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(createTtlConfig(1000L, 1000L, 5), StateTtlConfig.DISABLED);
+        testHarness.open();
+        testHarness.setStateTtlProcessingTime(0L);
+
+        testHarness.processElement1(insertRecord(1L, "a1"));
+        testHarness.processElement2(insertRecord(1L, "b1"));
+
+        testHarness.setStateTtlProcessingTime(2000L);
+        testHarness.processElement2(insertRecord(1L, "b2"));
+        testHarness.processElement1(insertRecord(1L, "a2"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1L, "a1", 1L, "b1"));
+        // a1 has expired when b2 arrives, b1 is still joined with a2
+        expectedOutput.add(insertRecord(1L, "a2", 1L, "b1"));
+        expectedOutput.add(insertRecord(1L, "a2", 1L, "b2"));
+        assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData>
+            createTestHarness(StateTtlConfig leftStateTtlConfig, StateTtlConfig rightStateTtlConfig)
+                    throws Exception {
+        StreamingJoinOperator operator =
+                new StreamingJoinOperator(
+                        rowType,
+                        rowType,
+                        joinCondition,
+                        JoinInputSideSpec.withoutUniqueKey(),
+                        JoinInputSideSpec.withoutUniqueKey(),
+                        false,
+                        false,
+                        new boolean[] {true},
+                        leftStateTtlConfig,
+                        rightStateTtlConfig);
+        return new KeyedTwoInputStreamOperatorTestHarness<>(
+                operator, keySelector, keySelector, keyType);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.streaming.util.KeyedMultiInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.utils.HandwrittenSelectorUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateAfterRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateBeforeRecord;
+
+/** Harness tests for {@link StreamingMultiJoinOperator}. */
+public class StreamingMultiJoinOperatorTest {
+
+    private static final String CONDITION_CODE =
+            "public class %s extends org.apache.flink.api.common.functions.AbstractRichFunction "
+                    + "implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+                    + "\n"
+                    + "    public %s(Object[] reference) {\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    @Override\n"
+                    + "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+                    + "        return %s;\n"
+                    + "    }\n"
+                    + "}\n";
+
+    private final InternalTypeInfo<RowData> rowType =
+            InternalTypeInfo.ofFields(new BigIntType(), VarCharType.STRING_TYPE);
+    private final InternalTypeInfo<RowData> outputRowType =
+            InternalTypeInfo.ofFields(
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE,
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE,
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE);
+    private final RowDataHarnessAssertor assertor =
+            new RowDataHarnessAssertor(outputRowType.toRowFieldTypes());
+    private final RowDataKeySelector keySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, rowType.toRowFieldTypes());
+
+    @Test
+    public void testJoinOfThreeInputs() throws Exception {
+        KeyedMultiInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                createTestHarness(condition("TrueCondition1", "true"));
+        testHarness.open();
+
+        testHarness.processElement(0, insertRecord(1L, "a1"));
+        testHarness.processElement(1, insertRecord(1L, "b1"));
+        testHarness.processElement(2, insertRecord(2L, "c2"));
+        testHarness.processElement(2, insertRecord(1L, "c1"));
+        testHarness.processElement(1, insertRecord(2L, "b2"));
+        testHarness.processElement(0, insertRecord(2L, "a2"));
+        testHarness.processElement(1, updateBeforeRecord(1L, "b1"));
+        testHarness.processElement(1, updateAfterRecord(1L, "b1'"));
+        testHarness.processElement(2, deleteRecord(2L, "c2"));
+        // there is no record of the third input anymore
+        testHarness.processElement(0, insertRecord(2L, "a2'"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1L, "a1", 1L, "b1", 1L, "c1"));
+        expectedOutput.add(insertRecord(2L, "a2", 2L, "b2", 2L, "c2"));
+        expectedOutput.add(updateBeforeRecord(1L, "a1", 1L, "b1", 1L, "c1"));
+        expectedOutput.add(updateAfterRecord(1L, "a1", 1L, "b1'", 1L, "c1"));
+        expectedOutput.add(deleteRecord(2L, "a2", 2L, "b2", 2L, "c2"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testJoinConditionOfJoinedInputs() throws Exception {
+        // the second condition compares the second input with the third input
+        KeyedMultiInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                createTestHarness(
+                        condition(
+                                "NotEqualsCondition",
+                                "!in1.getString(3).toString().equals(in2.getString(1).toString())"));
+        testHarness.open();
+
+        testHarness.processElement(0, insertRecord(1L, "a"));
+        testHarness.processElement(1, insertRecord(1L, "x"));
+        testHarness.processElement(2, insertRecord(1L, "x"));
+        testHarness.processElement(2, insertRecord(1L, "y"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord(1L, "a", 1L, "x", 1L, "y"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    private static GeneratedJoinCondition condition(String name, String expression) {
+        return new GeneratedJoinCondition(
+                name, String.format(CONDITION_CODE, name, name, expression), new Object[0]);
+    }
+
+    private KeyedMultiInputStreamOperatorTestHarness<RowData, RowData> createTestHarness(
+            GeneratedJoinCondition secondCondition) throws Exception {
+        StreamingMultiJoinOperatorFactory factory =
+                new StreamingMultiJoinOperatorFactory(
+                        Arrays.asList(rowType, rowType, rowType),
+                        Arrays.asList(
+                                JoinInputSideSpec.withoutUniqueKey(),
+                                JoinInputSideSpec.withoutUniqueKey(),
+                                JoinInputSideSpec.withoutUniqueKey()),
+                        Arrays.asList(condition("TrueCondition", "true"), secondCondition),
+                        Arrays.asList(new boolean[] {true}, new boolean[] {true}),
+                        0L);
+        KeyedMultiInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                new KeyedMultiInputStreamOperatorTestHarness<>(
+                        factory, keySelector.getProducedType());
+        for (int i = 0; i < 3; i++) {
+            testHarness.setKeySelector(i, keySelector);
+        }
+        testHarness.setup();
+        return testHarness;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.contrib.streaming.state.EmbeddedRocksDBStateBackend;
+import org.apache.flink.runtime.state.hashmap.HashMapStateBackend;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
+import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.typeutils.BinaryComparableRowDataSerializer;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link RetractableSortedStateTopNFunction}, which must behave like the {@link
+ * RetractableTopNFunction}.
+ */
+public class RetractableSortedStateTopNFunctionTest extends RetractableTopNFunctionTest {
+
+    // the records read from the RocksDB state backend are binary rows
+    private final GeneratedRecordEqualiser binaryEqualiser =
+            new GeneratedRecordEqualiser("", "", new Object[0]) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public RecordEqualiser newInstance(ClassLoader classLoader) {
+                    RowDataSerializer serializer = new RowDataSerializer(inputRowType.toRowType());
+                    return (row1, row2) ->
+                            serializer
+                                    .toBinaryRow(row1)
+                                    .copy()
+                                    .equals(serializer.toBinaryRow(row2).copy());
+                }
+            };
+
+    @Override
+    protected AbstractTopNFunction createFunction(
+            RankType rankType,
+            RankRange rankRange,
+            boolean generateUpdateBefore,
+            boolean outputRankNumber) {
+        return new RetractableSortedStateTopNFunction(
+                ttlConfig,
+                inputRowType,
+                generatedSortKeyComparator,
+                sortKeySelector,
+                new BinaryComparableRowDataSerializer(
+                        new LogicalType[] {new IntType()},
+                        new boolean[] {true},
+                        new boolean[] {true}),
+                rankType,
+                rankRange,
+                binaryEqualiser,
+                generateUpdateBefore,
+                outputRankNumber);
+    }
+
+    @Test
+    public void testRejectHeapStateBackend() throws Exception {
+        AbstractTopNFunction func =
+                createFunction(RankType.ROW_NUMBER, new ConstantRankRange(1, 2), true, false);
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                super.createTestHarness(func);
+        // the map state of the heap state backend is iterated in hash order
+        testHarness.setStateBackend(new HashMapStateBackend());
+        try {
+            testHarness.open();
+            fail("The function should fail on the heap state backend.");
+        } catch (TableException e) {
+            assertTrue(e.getMessage().contains("requires the RocksDB state backend"));
+        } finally {
+            testHarness.close();
+        }
+    }
+
+    @Override
+    OneInputStreamOperatorTestHarness<RowData, RowData> createTestHarness(
+            AbstractTopNFunction rankFunction) throws Exception {
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness =
+                super.createTestHarness(rankFunction);
+        // the map state of the RocksDB state backend is iterated in the order of the sort keys
+        testHarness.setStateBackend(new EmbeddedRocksDBStateBackend());
+        return testHarness;
+    }
+}
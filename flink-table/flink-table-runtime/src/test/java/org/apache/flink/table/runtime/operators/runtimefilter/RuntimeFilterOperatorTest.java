@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.runtimefilter;
+
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.runtime.generated.GeneratedProjection;
+import org.apache.flink.table.runtime.generated.Projection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RuntimeFilterOperator}, {@link LocalRuntimeFilterBuilderOperator} and {@link
+ * GlobalRuntimeFilterBuilderOperator}.
+ */
+public class RuntimeFilterOperatorTest {
+
+    @Test
+    public void testFilterProbeSide() throws Exception {
+        final RowData localFilter1 = buildLocalFilter(100, 1, 2, 3);
+        final RowData localFilter2 = buildLocalFilter(100, 4, 5);
+        final RowData globalFilter = buildGlobalFilter(100, localFilter1, localFilter2);
+        assertEquals(5, globalFilter.getInt(0));
+
+        final List<Integer> probeKeys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            probeKeys.add(i);
+        }
+        final List<Integer> result = filter(globalFilter, probeKeys);
+        // a bloom filter has no false negatives, and only a few false positives
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(result.contains(i));
+        }
+        assertTrue(result.size() < 100);
+    }
+
+    @Test
+    public void testDisableFilterIfExceedMaxRowCount() throws Exception {
+        final RowData localFilter1 = buildLocalFilter(3, 1, 2, 3);
+        final RowData localFilter2 = buildLocalFilter(3, 4, 5);
+        final RowData globalFilter = buildGlobalFilter(3, localFilter1, localFilter2);
+        assertEquals(5, globalFilter.getInt(0));
+        assertTrue(globalFilter.isNullAt(1));
+
+        final List<Integer> probeKeys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            probeKeys.add(i);
+        }
+        assertEquals(probeKeys, filter(globalFilter, probeKeys));
+    }
+
+    @Test
+    public void testDisableLocalFilterIfExceedMaxRowCount() throws Exception {
+        final RowData localFilter = buildLocalFilter(2, 1, 2, 3);
+        assertEquals(3, localFilter.getInt(0));
+        assertTrue(localFilter.isNullAt(1));
+    }
+
+    private static RowData buildLocalFilter(int maxRowCount, int... keys) throws Exception {
+        final LocalRuntimeFilterBuilderOperator operator =
+                new LocalRuntimeFilterBuilderOperator(createProjection(), 10, maxRowCount);
+        final OneInputStreamOperatorTestHarness<RowData, RowData> harness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+        harness.setup();
+        harness.open();
+        for (int key : keys) {
+            harness.processElement(new StreamRecord<>(GenericRowData.of(key, (long) key)));
+        }
+        harness.endInput();
+        final List<RowData> output = harness.extractOutputValues();
+        harness.close();
+        assertEquals(1, output.size());
+        return output.get(0);
+    }
+
+    private static RowData buildGlobalFilter(int maxRowCount, RowData... localFilters)
+            throws Exception {
+        final GlobalRuntimeFilterBuilderOperator operator =
+                new GlobalRuntimeFilterBuilderOperator(maxRowCount);
+        final OneInputStreamOperatorTestHarness<RowData, RowData> harness =
+                new OneInputStreamOperatorTestHarness<>(operator);
+        harness.setup();
+        harness.open();
+        for (RowData localFilter : localFilters) {
+            harness.processElement(new StreamRecord<>(localFilter));
+        }
+        harness.endInput();
+        final List<RowData> output = harness.extractOutputValues();
+        harness.close();
+        assertEquals(1, output.size());
+        return output.get(0);
+    }
+
+    private static List<Integer> filter(RowData globalFilter, List<Integer> probeKeys)
+            throws Exception {
+        final RuntimeFilterOperator operator = new RuntimeFilterOperator(createProjection());
+        final TwoInputStreamOperatorTestHarness<RowData, RowData, RowData> harness =
+                new TwoInputStreamOperatorTestHarness<>(operator);
+        harness.setup();
+        harness.open();
+        harness.processElement1(new StreamRecord<>(globalFilter));
+        operator.endInput(1);
+        for (int key : probeKeys) {
+            harness.processElement2(new StreamRecord<>(GenericRowData.of(key, (long) key)));
+        }
+        operator.endInput(2);
+        final List<Integer> result = new ArrayList<>();
+        for (RowData row : harness.extractOutputValues()) {
+            result.add(row.getInt(0));
+        }
+        harness.close();
+        return result;
+    }
+
+    private static GeneratedProjection createProjection() {
+        return new GeneratedProjection("", "", new Object[0]) {
+            @Override
+            public Projection newInstance(ClassLoader classLoader) {
+                return new KeyProjection();
+            }
+        };
+    }
+
+    /** Projects the int key in the first field. */
+    private static final class KeyProjection implements Projection<RowData, BinaryRowData> {
+
+        private final BinaryRowData keyRow = new BinaryRowData(1);
+        private final BinaryRowWriter writer = new BinaryRowWriter(keyRow);
+
+        @Override
+        public BinaryRowData apply(RowData row) {
+            writer.reset();
+            writer.writeInt(0, row.getInt(0));
+            writer.complete();
+            return keyRow;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.sort;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.BinaryComparableRowDataSerializer;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link BinaryComparableNormalizedKeyComputer}. */
+public class BinaryComparableNormalizedKeyComputerTest {
+
+    // sorts by "f2 DESC NULLS LAST, f0 ASC NULLS FIRST, f3 DESC", f1 is not a sort key
+    private final BinaryComparableNormalizedKeyComputer computer =
+            new BinaryComparableNormalizedKeyComputer(
+                    new BinaryComparableRowDataSerializer(
+                            new LogicalType[] {
+                                new BigIntType(), new IntType(), new DecimalType(30, 2)
+                            },
+                            new boolean[] {false, true, false},
+                            new boolean[] {true, false, true}),
+                    new int[] {2, 0, 3});
+
+    @Test
+    public void testKeyFullyDetermines() {
+        assertTrue(computer.isKeyFullyDetermines());
+        assertEquals(false, computer.invertKey());
+        // 9 bytes of the long, 5 bytes of the int and 17 bytes of the decimal
+        assertEquals(31, computer.getNumKeyBytes());
+    }
+
+    @Test
+    public void testCompareKey() {
+        RowData[] sortedRows =
+                new RowData[] {
+                    row(null, "a", 5L, "1.00"),
+                    row(1, "a", 5L, "1.00"),
+                    row(1, "b", 5L, "1.00"),
+                    row(2, "c", 5L, "100000000000000000000.00"),
+                    row(2, "c", 5L, "-1.00"),
+                    row(null, "d", 4L, "0.00"),
+                    row(null, "e", -4L, "0.00"),
+                    row(Integer.MIN_VALUE, "f", null, "0.00"),
+                    row(Integer.MAX_VALUE, "g", null, "0.00")
+                };
+        int numKeyBytes = computer.getNumKeyBytes();
+        MemorySegment segment = MemorySegmentFactory.wrap(new byte[numKeyBytes * (sortedRows.length + 1)]);
+        for (int i = 0; i < sortedRows.length; i++) {
+            computer.putKey(sortedRows[i], segment, i * numKeyBytes);
+        }
+        for (int i = 0; i + 1 < sortedRows.length; i++) {
+            int cmp = computer.compareKey(segment, i * numKeyBytes, segment, (i + 1) * numKeyBytes);
+            // the second row differs only in the field which is not a sort key
+            if (i == 1) {
+                assertEquals(0, cmp);
+            } else {
+                assertTrue(cmp < 0);
+            }
+        }
+
+        // swap the keys of the first and the last row
+        int last = (sortedRows.length - 1) * numKeyBytes;
+        computer.swapKey(segment, 0, segment, last);
+        assertTrue(computer.compareKey(segment, 0, segment, last) > 0);
+        int extra = sortedRows.length * numKeyBytes;
+        computer.putKey(sortedRows[0], segment, extra);
+        assertEquals(0, computer.compareKey(segment, last, segment, extra));
+    }
+
+    private static RowData row(Integer f0, String f1, Long f2, String f3) {
+        return GenericRowData.of(
+                f0,
+                StringData.fromString(f1),
+                f2,
+                DecimalData.fromBigDecimal(new BigDecimal(f3), 30, 2));
+    }
+}
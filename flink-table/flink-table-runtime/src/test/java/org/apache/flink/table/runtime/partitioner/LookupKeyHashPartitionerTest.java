@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.partitioner;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.plugable.SerializationDelegate;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedHashFunction;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link LookupKeyHashPartitioner}. */
+public class LookupKeyHashPartitionerTest {
+
+    private static final String HASH_FUNCTION_CODE =
+            "public class FirstFieldHash implements "
+                    + "org.apache.flink.table.runtime.generated.HashFunction {\n"
+                    + "  public FirstFieldHash(Object[] references) {}\n"
+                    + "  public int hashCode(org.apache.flink.table.data.RowData row) {\n"
+                    + "    return row.getInt(0);\n"
+                    + "  }\n"
+                    + "}\n";
+
+    @Test
+    public void testSameKeySameChannel() {
+        LookupKeyHashPartitioner partitioner = createPartitioner(0);
+        for (int key = 0; key < 100; key++) {
+            int channel = selectChannel(partitioner, key);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(channel, selectChannel(partitioner, key));
+            }
+        }
+    }
+
+    @Test
+    public void testDistributeHotKey() {
+        LookupKeyHashPartitioner partitioner = createPartitioner(0.1);
+        int threshold = (int) (0.1 * LookupKeyHashPartitioner.HOT_KEY_DETECTION_WINDOW);
+
+        Set<Integer> coldKeyChannels = new HashSet<>();
+        Set<Integer> hotKeyChannels = new HashSet<>();
+        for (int i = 0; i < LookupKeyHashPartitioner.HOT_KEY_DETECTION_WINDOW; i++) {
+            if (i % 2 == 0) {
+                coldKeyChannels.add(selectChannel(partitioner, i));
+                continue;
+            }
+            int channel = selectChannel(partitioner, 42);
+            if (i / 2 >= threshold) {
+                hotKeyChannels.add(channel);
+            }
+        }
+        // the key 42 is hot once it exceeds the threshold and is sent to all channels
+        assertEquals(4, hotKeyChannels.size());
+        assertTrue(coldKeyChannels.size() > 1);
+
+        // the key stays hot in the next window
+        Set<Integer> nextWindowChannels = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            nextWindowChannels.add(selectChannel(partitioner, 42));
+        }
+        assertEquals(4, nextWindowChannels.size());
+    }
+
+    @Test
+    public void testHotKeyBecomesCold() {
+        LookupKeyHashPartitioner partitioner = createPartitioner(0.5);
+        int window = LookupKeyHashPartitioner.HOT_KEY_DETECTION_WINDOW;
+        for (int i = 0; i < window; i++) {
+            selectChannel(partitioner, 42);
+        }
+        // the key 42 isn't hot anymore after a window in which it has been rare
+        for (int i = 0; i < window; i++) {
+            selectChannel(partitioner, i + 100);
+        }
+        int channel = selectChannel(partitioner, 42);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(channel, selectChannel(partitioner, 42));
+        }
+    }
+
+    private static LookupKeyHashPartitioner createPartitioner(double hotKeyRatio) {
+        LookupKeyHashPartitioner partitioner =
+                new LookupKeyHashPartitioner(
+                        new GeneratedHashFunction(
+                                "FirstFieldHash",
+                                HASH_FUNCTION_CODE,
+                                new Object[0],
+                                new Configuration()),
+                        new String[] {"id"},
+                        hotKeyRatio);
+        partitioner.setup(4);
+        return partitioner;
+    }
+
+    private static int selectChannel(LookupKeyHashPartitioner partitioner, int key) {
+        SerializationDelegate<StreamRecord<RowData>> delegate = new SerializationDelegate<>(null);
+        delegate.setInstance(new StreamRecord<>(GenericRowData.of(key)));
+        return partitioner.selectChannel(delegate);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.typeutils;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertTrue;
+
+/** A test for the {@link BinaryComparableRowDataSerializer}. */
+public class BinaryComparableRowDataSerializerTest extends SerializerTestBase<RowData> {
+
+    @Override
+    protected TypeSerializer<RowData> createSerializer() {
+        return new BinaryComparableRowDataSerializer(
+                new LogicalType[] {
+                    new IntType(),
+                    VarCharType.STRING_TYPE,
+                    new DoubleType(),
+                    new DecimalType(38, 2),
+                    new TimestampType(9),
+                    new VarBinaryType()
+                },
+                new boolean[] {true, false, true, false, true, true},
+                new boolean[] {false, true, false, true, true, false});
+    }
+
+    @Override
+    protected int getLength() {
+        return -1;
+    }
+
+    @Override
+    protected Class<RowData> getTypeClass() {
+        return RowData.class;
+    }
+
+    @Override
+    protected RowData[] getTestData() {
+        return new RowData[] {
+            createRow(null, null, null, null, null, null),
+            createRow(Integer.MIN_VALUE, "", -1.5d, "-12345678901234567890.12", 0L, new byte[0]),
+            createRow(-1, "a\u0000b", -0.5d, "-0.01", -1L, new byte[] {0, 0}),
+            createRow(0, "a", 0.0d, "0.00", 1L, new byte[] {-1, 0, 1}),
+            createRow(
+                    Integer.MAX_VALUE,
+                    "\u4e2d\u6587",
+                    Double.MAX_VALUE,
+                    "12345678901234567890.12",
+                    Long.MAX_VALUE,
+                    new byte[] {127})
+        };
+    }
+
+    /** Tests that the serialized rows are ordered like the rows, i.e. like the given arguments. */
+    @Test
+    public void testBinaryOrder() throws Exception {
+        // int ascending with nulls first
+        assertOrdered(createIntRow(null), createIntRow(Integer.MIN_VALUE), createIntRow(-1));
+        assertOrdered(createIntRow(-1), createIntRow(0), createIntRow(Integer.MAX_VALUE));
+        // string descending with nulls last
+        assertOrdered(
+                createStringRow("b"),
+                createStringRow("a\u0001"),
+                createStringRow("a\u0000b"),
+                createStringRow("a\u0000"),
+                createStringRow("a"),
+                createStringRow(""),
+                createStringRow(null));
+        // double ascending with nulls first
+        assertOrdered(
+                createDoubleRow(null),
+                createDoubleRow(Double.NEGATIVE_INFINITY),
+                createDoubleRow(-2.5d),
+                createDoubleRow(-0.5d),
+                createDoubleRow(0.0d),
+                createDoubleRow(Double.MIN_VALUE),
+                createDoubleRow(3.0d),
+                createDoubleRow(Double.POSITIVE_INFINITY));
+        // decimal descending with nulls last
+        assertOrdered(
+                createDecimalRow("12345678901234567890.12"),
+                createDecimalRow("256.00"),
+                createDecimalRow("255.99"),
+                createDecimalRow("0.00"),
+                createDecimalRow("-0.01"),
+                createDecimalRow("-256.00"),
+                createDecimalRow("-12345678901234567890.12"),
+                createDecimalRow(null));
+        // timestamp ascending with nulls last
+        assertOrdered(
+                createTimestampRow(TimestampData.fromEpochMillis(-1L, 999_999)),
+                createTimestampRow(TimestampData.fromEpochMillis(0L, 0)),
+                createTimestampRow(TimestampData.fromEpochMillis(0L, 1)),
+                createTimestampRow(TimestampData.fromEpochMillis(1L, 0)),
+                createTimestampRow(null));
+    }
+
+    private void assertOrdered(RowData... rows) throws Exception {
+        TypeSerializer<RowData> serializer = createSerializer();
+        byte[] previous = null;
+        for (RowData row : rows) {
+            DataOutputSerializer out = new DataOutputSerializer(64);
+            serializer.serialize(row, out);
+            byte[] current = out.getCopyOfBuffer();
+            if (previous != null) {
+                assertTrue(compareUnsigned(previous, current) < 0);
+            }
+            previous = current;
+        }
+    }
+
+    private static int compareUnsigned(byte[] a, byte[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static RowData createIntRow(Integer value) {
+        return createRow(value, "", 0.0d, "0.00", 0L, new byte[0]);
+    }
+
+    private static RowData createStringRow(String value) {
+        return createRow(0, value, 0.0d, "0.00", 0L, new byte[0]);
+    }
+
+    private static RowData createDoubleRow(Double value) {
+        return createRow(0, "", value, "0.00", 0L, new byte[0]);
+    }
+
+    private static RowData createDecimalRow(String value) {
+        return createRow(0, "", 0.0d, value, 0L, new byte[0]);
+    }
+
+    private static RowData createTimestampRow(TimestampData value) {
+        GenericRowData row = (GenericRowData) createRow(0, "", 0.0d, "0.00", 0L, new byte[0]);
+        row.setField(4, value);
+        return row;
+    }
+
+    private static RowData createRow(
+            Integer f0, String f1, Double f2, String f3, Long f4, byte[] f5) {
+        return GenericRowData.of(
+                f0,
+                f1 == null ? null : StringData.fromString(f1),
+                f2,
+                f3 == null ? null : DecimalData.fromBigDecimal(new BigDecimal(f3), 38, 2),
+                f4 == null ? null : TimestampData.fromEpochMillis(f4, 123_456),
+                f5);
+    }
+}